@@ -6,7 +6,9 @@ import org.springframework.boot.autoconfigure.SpringBootApplication;
 import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
 import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
 import uk.gov.companieshouse.search.api.interceptor.LoggingInterceptor;
+import uk.gov.companieshouse.search.api.interceptor.ReadYourWritesInterceptor;
 import uk.gov.companieshouse.search.api.interceptor.UserAuthorisationInterceptor;
+import uk.gov.companieshouse.search.api.interceptor.WorkloadBulkheadInterceptor;
 
 @SpringBootApplication
 public class SearchApiApplication implements WebMvcConfigurer {
@@ -19,6 +21,12 @@ public class SearchApiApplication implements WebMvcConfigurer {
     @Autowired
     private LoggingInterceptor loggingInterceptor;
 
+    @Autowired
+    private WorkloadBulkheadInterceptor workloadBulkheadInterceptor;
+
+    @Autowired
+    private ReadYourWritesInterceptor readYourWritesInterceptor;
+
     public static void main(String[] args) {
         SpringApplication.run(SearchApiApplication.class, args);
     }
@@ -26,12 +34,19 @@ public class SearchApiApplication implements WebMvcConfigurer {
     @Override
     public void addInterceptors(final InterceptorRegistry registry) {
         registry.addInterceptor(loggingInterceptor).excludePathPatterns("/search/healthcheck");
+        registry.addInterceptor(workloadBulkheadInterceptor).excludePathPatterns("/search/healthcheck");
+        registry.addInterceptor(readYourWritesInterceptor).excludePathPatterns("/search/healthcheck");
         registry.addInterceptor(authorisationInterceptor).addPathPatterns(
                 "/advanced-search/companies/{company_number}", 
                 "/alphabetical-search/companies/{company_number}",
                 "/officers-search/officers/{officer_id}",
+                "/officers-search/officers/{officer_id}/appointments/{appointment_id}",
+                "/officers-search/officers/{officer_id}/appointments/{appointment_id}/remove",
                 "/disqualified-search/disqualified-officers/{officer_id}",
                 "/disqualified-search/delete/{officer_id}",
-                "/company-search/companies/{company_number}");
+                "/company-search/companies/{company_number}",
+                "/search/batch-delete",
+                "/search/rebuild/{index}",
+                "/search/consistency-check");
     }
 }
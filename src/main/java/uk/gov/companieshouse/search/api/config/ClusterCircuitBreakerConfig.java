@@ -0,0 +1,68 @@
+package uk.gov.companieshouse.search.api.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import uk.gov.companieshouse.environment.EnvironmentReader;
+import uk.gov.companieshouse.search.api.service.rest.ClusterCircuitBreaker;
+
+@Configuration
+public class ClusterCircuitBreakerConfig {
+
+    @Qualifier("primaryCircuitBreaker")
+    @Bean
+    public ClusterCircuitBreaker primaryCircuitBreaker(EnvironmentReader environmentReader,
+            MeterRegistry meterRegistry) {
+        return new ClusterCircuitBreaker("primary", environmentReader, meterRegistry);
+    }
+
+    @Qualifier("alphabeticalCircuitBreaker")
+    @Bean
+    public ClusterCircuitBreaker alphabeticalCircuitBreaker(EnvironmentReader environmentReader,
+            MeterRegistry meterRegistry) {
+        return new ClusterCircuitBreaker("alphabetical", environmentReader, meterRegistry);
+    }
+
+    @Qualifier("dissolvedCircuitBreaker")
+    @Bean
+    public ClusterCircuitBreaker dissolvedCircuitBreaker(EnvironmentReader environmentReader,
+            MeterRegistry meterRegistry) {
+        return new ClusterCircuitBreaker("dissolved", environmentReader, meterRegistry);
+    }
+
+    @Qualifier("advancedCircuitBreaker")
+    @Bean
+    public ClusterCircuitBreaker advancedCircuitBreaker(EnvironmentReader environmentReader,
+            MeterRegistry meterRegistry) {
+        return new ClusterCircuitBreaker("advanced", environmentReader, meterRegistry);
+    }
+
+    @Qualifier("primaryWriteCircuitBreaker")
+    @Bean
+    public ClusterCircuitBreaker primaryWriteCircuitBreaker(EnvironmentReader environmentReader,
+            MeterRegistry meterRegistry) {
+        return new ClusterCircuitBreaker("primary-write", environmentReader, meterRegistry);
+    }
+
+    @Qualifier("alphabeticalWriteCircuitBreaker")
+    @Bean
+    public ClusterCircuitBreaker alphabeticalWriteCircuitBreaker(EnvironmentReader environmentReader,
+            MeterRegistry meterRegistry) {
+        return new ClusterCircuitBreaker("alphabetical-write", environmentReader, meterRegistry);
+    }
+
+    @Qualifier("dissolvedWriteCircuitBreaker")
+    @Bean
+    public ClusterCircuitBreaker dissolvedWriteCircuitBreaker(EnvironmentReader environmentReader,
+            MeterRegistry meterRegistry) {
+        return new ClusterCircuitBreaker("dissolved-write", environmentReader, meterRegistry);
+    }
+
+    @Qualifier("advancedWriteCircuitBreaker")
+    @Bean
+    public ClusterCircuitBreaker advancedWriteCircuitBreaker(EnvironmentReader environmentReader,
+            MeterRegistry meterRegistry) {
+        return new ClusterCircuitBreaker("advanced-write", environmentReader, meterRegistry);
+    }
+}
@@ -0,0 +1,68 @@
+package uk.gov.companieshouse.search.api.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import uk.gov.companieshouse.environment.EnvironmentReader;
+import uk.gov.companieshouse.search.api.service.rest.AdaptiveConcurrencyLimiter;
+
+@Configuration
+public class ConcurrencyLimiterConfig {
+
+    @Qualifier("primaryConcurrencyLimiter")
+    @Bean
+    public AdaptiveConcurrencyLimiter primaryConcurrencyLimiter(EnvironmentReader environmentReader,
+            MeterRegistry meterRegistry) {
+        return new AdaptiveConcurrencyLimiter("primary", environmentReader, meterRegistry);
+    }
+
+    @Qualifier("alphabeticalConcurrencyLimiter")
+    @Bean
+    public AdaptiveConcurrencyLimiter alphabeticalConcurrencyLimiter(EnvironmentReader environmentReader,
+            MeterRegistry meterRegistry) {
+        return new AdaptiveConcurrencyLimiter("alphabetical", environmentReader, meterRegistry);
+    }
+
+    @Qualifier("dissolvedConcurrencyLimiter")
+    @Bean
+    public AdaptiveConcurrencyLimiter dissolvedConcurrencyLimiter(EnvironmentReader environmentReader,
+            MeterRegistry meterRegistry) {
+        return new AdaptiveConcurrencyLimiter("dissolved", environmentReader, meterRegistry);
+    }
+
+    @Qualifier("advancedConcurrencyLimiter")
+    @Bean
+    public AdaptiveConcurrencyLimiter advancedConcurrencyLimiter(EnvironmentReader environmentReader,
+            MeterRegistry meterRegistry) {
+        return new AdaptiveConcurrencyLimiter("advanced", environmentReader, meterRegistry);
+    }
+
+    @Qualifier("primaryWriteConcurrencyLimiter")
+    @Bean
+    public AdaptiveConcurrencyLimiter primaryWriteConcurrencyLimiter(EnvironmentReader environmentReader,
+            MeterRegistry meterRegistry) {
+        return new AdaptiveConcurrencyLimiter("primary-write", environmentReader, meterRegistry);
+    }
+
+    @Qualifier("alphabeticalWriteConcurrencyLimiter")
+    @Bean
+    public AdaptiveConcurrencyLimiter alphabeticalWriteConcurrencyLimiter(EnvironmentReader environmentReader,
+            MeterRegistry meterRegistry) {
+        return new AdaptiveConcurrencyLimiter("alphabetical-write", environmentReader, meterRegistry);
+    }
+
+    @Qualifier("dissolvedWriteConcurrencyLimiter")
+    @Bean
+    public AdaptiveConcurrencyLimiter dissolvedWriteConcurrencyLimiter(EnvironmentReader environmentReader,
+            MeterRegistry meterRegistry) {
+        return new AdaptiveConcurrencyLimiter("dissolved-write", environmentReader, meterRegistry);
+    }
+
+    @Qualifier("advancedWriteConcurrencyLimiter")
+    @Bean
+    public AdaptiveConcurrencyLimiter advancedWriteConcurrencyLimiter(EnvironmentReader environmentReader,
+            MeterRegistry meterRegistry) {
+        return new AdaptiveConcurrencyLimiter("advanced-write", environmentReader, meterRegistry);
+    }
+}
@@ -0,0 +1,26 @@
+package uk.gov.companieshouse.search.api.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import uk.gov.companieshouse.environment.EnvironmentReader;
+import uk.gov.companieshouse.search.api.service.existence.DocumentIdFilter;
+
+@Configuration
+public class DocumentIdFilterConfig {
+
+    @Qualifier("primaryDocumentIdFilter")
+    @Bean
+    public DocumentIdFilter primaryDocumentIdFilter(EnvironmentReader environmentReader,
+            MeterRegistry meterRegistry) {
+        return new DocumentIdFilter("primary", environmentReader, meterRegistry);
+    }
+
+    @Qualifier("alphabeticalDocumentIdFilter")
+    @Bean
+    public DocumentIdFilter alphabeticalDocumentIdFilter(EnvironmentReader environmentReader,
+            MeterRegistry meterRegistry) {
+        return new DocumentIdFilter("alphabetical", environmentReader, meterRegistry);
+    }
+}
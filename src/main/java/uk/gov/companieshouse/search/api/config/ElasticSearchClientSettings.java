@@ -0,0 +1,247 @@
+package uk.gov.companieshouse.search.api.config;
+
+import java.util.Iterator;
+import java.util.Locale;
+import java.util.Optional;
+import org.elasticsearch.client.Node;
+import org.elasticsearch.client.NodeSelector;
+import uk.gov.companieshouse.environment.EnvironmentReader;
+import uk.gov.companieshouse.search.api.exception.EndpointException;
+
+/**
+ * The connection pool, IO thread, timeout and node selection settings of an Elasticsearch client.
+ *
+ * <p>Each setting is read from {@code <CLIENT>_SEARCH_CLIENT_<SETTING>}, falling back to
+ * {@code SEARCH_CLIENT_<SETTING>} and then to a default, so one client can be tuned without repeating the settings
+ * every client shares. A number that is not positive is taken as not set.</p>
+ */
+final class ElasticSearchClientSettings {
+
+    static final String PREFIX = "SEARCH_CLIENT_";
+    static final String MAX_CONNECTIONS = "MAX_CONNECTIONS";
+    static final String MAX_CONNECTIONS_PER_ROUTE = "MAX_CONNECTIONS_PER_ROUTE";
+    static final String IO_THREADS = "IO_THREADS";
+    static final String KEEP_ALIVE_SECONDS = "KEEP_ALIVE_SECONDS";
+    static final String CONNECT_TIMEOUT_MILLIS = "CONNECT_TIMEOUT_MILLIS";
+    static final String SOCKET_TIMEOUT_MILLIS = "SOCKET_TIMEOUT_MILLIS";
+    static final String LEASE_TIMEOUT_MILLIS = "LEASE_TIMEOUT_MILLIS";
+    static final String NODE_SELECTOR = "NODE_SELECTOR";
+    static final String SNIFF_INTERVAL_SECONDS = "SNIFF_INTERVAL_SECONDS";
+    static final String SNIFF_AFTER_FAILURE_SECONDS = "SNIFF_AFTER_FAILURE_SECONDS";
+    static final String WRITE_MAX_CONNECTIONS = "WRITE_MAX_CONNECTIONS";
+
+    private static final int DEFAULT_MAX_CONNECTIONS = 100;
+    private static final int DEFAULT_MAX_CONNECTIONS_PER_ROUTE = 100;
+    private static final int DEFAULT_KEEP_ALIVE_SECONDS = 60;
+    private static final int DEFAULT_CONNECT_TIMEOUT_MILLIS = 1000;
+    private static final int DEFAULT_SOCKET_TIMEOUT_MILLIS = 30000;
+    private static final int DEFAULT_LEASE_TIMEOUT_MILLIS = 1000;
+    private static final int DEFAULT_SNIFF_AFTER_FAILURE_SECONDS = 60;
+    private static final int DEFAULT_WRITE_MAX_CONNECTIONS = 20;
+
+    /**
+     * The nodes of a cluster requests are spread across, round-robin, in order of how many nodes they allow
+     */
+    enum NodeSelection {
+
+        /**
+         * Every node
+         */
+        ANY(NodeSelector.ANY),
+        /**
+         * Every node but those that are only master eligible
+         */
+        SKIP_DEDICATED_MASTERS(NodeSelector.SKIP_DEDICATED_MASTERS),
+        /**
+         * Only data nodes, once sniffing has found which nodes they are; configured hosts are used until then
+         */
+        DATA(new NodeSelector() {
+            @Override
+            public void select(Iterable<Node> nodes) {
+                for (Iterator<Node> node = nodes.iterator(); node.hasNext(); ) {
+                    Node.Roles roles = node.next().getRoles();
+                    if (roles != null && !roles.isData()) {
+                        node.remove();
+                    }
+                }
+            }
+
+            @Override
+            public String toString() {
+                return "DATA";
+            }
+        });
+
+        private final NodeSelector nodeSelector;
+
+        NodeSelection(NodeSelector nodeSelector) {
+            this.nodeSelector = nodeSelector;
+        }
+
+        NodeSelector getNodeSelector() {
+            return nodeSelector;
+        }
+    }
+
+    private final int maxConnections;
+    private final int maxConnectionsPerRoute;
+    private final int ioThreads;
+    private final int keepAliveSeconds;
+    private final int connectTimeoutMillis;
+    private final int socketTimeoutMillis;
+    private final int leaseTimeoutMillis;
+    private final NodeSelection nodeSelection;
+    private final int sniffIntervalSeconds;
+    private final int sniffAfterFailureSeconds;
+
+    ElasticSearchClientSettings(int maxConnections, int maxConnectionsPerRoute, int ioThreads, int keepAliveSeconds,
+            int connectTimeoutMillis, int socketTimeoutMillis, int leaseTimeoutMillis, NodeSelection nodeSelection,
+            int sniffIntervalSeconds, int sniffAfterFailureSeconds) {
+        this.maxConnections = maxConnections;
+        this.maxConnectionsPerRoute = maxConnectionsPerRoute;
+        this.ioThreads = ioThreads;
+        this.keepAliveSeconds = keepAliveSeconds;
+        this.connectTimeoutMillis = connectTimeoutMillis;
+        this.socketTimeoutMillis = socketTimeoutMillis;
+        this.leaseTimeoutMillis = leaseTimeoutMillis;
+        this.nodeSelection = nodeSelection;
+        this.sniffIntervalSeconds = sniffIntervalSeconds;
+        this.sniffAfterFailureSeconds = sniffAfterFailureSeconds;
+    }
+
+    /**
+     * @param client - the client the settings are for, such as PRIMARY, or null for the settings every client shares
+     */
+    static ElasticSearchClientSettings read(EnvironmentReader environmentReader, String client) {
+        return new ElasticSearchClientSettings(
+                read(environmentReader, client, MAX_CONNECTIONS, DEFAULT_MAX_CONNECTIONS),
+                read(environmentReader, client, MAX_CONNECTIONS_PER_ROUTE, DEFAULT_MAX_CONNECTIONS_PER_ROUTE),
+                read(environmentReader, client, IO_THREADS, Runtime.getRuntime().availableProcessors()),
+                read(environmentReader, client, KEEP_ALIVE_SECONDS, DEFAULT_KEEP_ALIVE_SECONDS),
+                read(environmentReader, client, CONNECT_TIMEOUT_MILLIS, DEFAULT_CONNECT_TIMEOUT_MILLIS),
+                read(environmentReader, client, SOCKET_TIMEOUT_MILLIS, DEFAULT_SOCKET_TIMEOUT_MILLIS),
+                read(environmentReader, client, LEASE_TIMEOUT_MILLIS, DEFAULT_LEASE_TIMEOUT_MILLIS),
+                nodeSelection(environmentReader, client),
+                read(environmentReader, client, SNIFF_INTERVAL_SECONDS, 0),
+                read(environmentReader, client, SNIFF_AFTER_FAILURE_SECONDS, DEFAULT_SNIFF_AFTER_FAILURE_SECONDS));
+    }
+
+    /**
+     * @param client - the client the settings are for, such as PRIMARY, or null for the settings every client shares
+     * @return these settings for the client's pool of write connections, which holds at most the client's write max
+     *      connections, so that indexing cannot put more requests on the cluster than it is sized for
+     */
+    ElasticSearchClientSettings forWrites(EnvironmentReader environmentReader, String client) {
+        int writeMaxConnections = Math.max(1,
+                read(environmentReader, client, WRITE_MAX_CONNECTIONS, DEFAULT_WRITE_MAX_CONNECTIONS));
+        return new ElasticSearchClientSettings(
+                Math.min(maxConnections, writeMaxConnections),
+                Math.min(maxConnectionsPerRoute, writeMaxConnections),
+                ioThreads, keepAliveSeconds, connectTimeoutMillis, socketTimeoutMillis, leaseTimeoutMillis,
+                nodeSelection, sniffIntervalSeconds, sniffAfterFailureSeconds);
+    }
+
+    private static NodeSelection nodeSelection(EnvironmentReader environmentReader, String client) {
+        String value = client == null ? null
+                : environmentReader.getOptionalString(client + "_" + PREFIX + NODE_SELECTOR);
+        String nodeSelection = Optional.ofNullable(value)
+                .or(() -> Optional.ofNullable(environmentReader.getOptionalString(PREFIX + NODE_SELECTOR)))
+                .orElse(NodeSelection.ANY.name());
+        try {
+            return NodeSelection.valueOf(nodeSelection.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new EndpointException(String.format("%s node selector [%s] is not one of ANY, "
+                    + "SKIP_DEDICATED_MASTERS or DATA", client == null ? "Search client" : client, nodeSelection));
+        }
+    }
+
+    private static int read(EnvironmentReader environmentReader, String client, String setting, int defaultValue) {
+        Integer value = client == null ? null
+                : environmentReader.getOptionalInteger(client + "_" + PREFIX + setting);
+        return Optional.ofNullable(value)
+                .filter(ElasticSearchClientSettings::isSet)
+                .or(() -> Optional.ofNullable(environmentReader.getOptionalInteger(PREFIX + setting))
+                        .filter(ElasticSearchClientSettings::isSet))
+                .orElse(defaultValue);
+    }
+
+    private static boolean isSet(int value) {
+        return value > 0;
+    }
+
+    /**
+     * Settings for a pool shared with another client: the larger of each pool size and thread count, the longer of
+     * each timeout, the node selection allowing more nodes and the more frequent sniffing, so that neither client is
+     * given less than it is configured for
+     */
+    ElasticSearchClientSettings merge(ElasticSearchClientSettings other) {
+        return new ElasticSearchClientSettings(
+                Math.max(maxConnections, other.maxConnections),
+                Math.max(maxConnectionsPerRoute, other.maxConnectionsPerRoute),
+                Math.max(ioThreads, other.ioThreads),
+                Math.max(keepAliveSeconds, other.keepAliveSeconds),
+                Math.max(connectTimeoutMillis, other.connectTimeoutMillis),
+                Math.max(socketTimeoutMillis, other.socketTimeoutMillis),
+                Math.max(leaseTimeoutMillis, other.leaseTimeoutMillis),
+                nodeSelection.compareTo(other.nodeSelection) <= 0 ? nodeSelection : other.nodeSelection,
+                sniffIntervalSeconds == 0 || other.sniffIntervalSeconds == 0
+                        ? Math.max(sniffIntervalSeconds, other.sniffIntervalSeconds)
+                        : Math.min(sniffIntervalSeconds, other.sniffIntervalSeconds),
+                Math.min(sniffAfterFailureSeconds, other.sniffAfterFailureSeconds));
+    }
+
+    int getMaxConnections() {
+        return maxConnections;
+    }
+
+    int getMaxConnectionsPerRoute() {
+        return maxConnectionsPerRoute;
+    }
+
+    int getIoThreads() {
+        return ioThreads;
+    }
+
+    int getKeepAliveSeconds() {
+        return keepAliveSeconds;
+    }
+
+    int getConnectTimeoutMillis() {
+        return connectTimeoutMillis;
+    }
+
+    int getSocketTimeoutMillis() {
+        return socketTimeoutMillis;
+    }
+
+    int getLeaseTimeoutMillis() {
+        return leaseTimeoutMillis;
+    }
+
+    NodeSelection getNodeSelection() {
+        return nodeSelection;
+    }
+
+    /**
+     * @return the seconds between refreshes of the cluster's nodes, or 0 if the configured hosts are used as they are
+     */
+    int getSniffIntervalSeconds() {
+        return sniffIntervalSeconds;
+    }
+
+    /**
+     * @return the seconds until the next refresh of the cluster's nodes once a request to a node has failed
+     */
+    int getSniffAfterFailureSeconds() {
+        return sniffAfterFailureSeconds;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("max connections [%d], per route [%d], io threads [%d], keep alive [%ds], "
+                        + "connect timeout [%dms], socket timeout [%dms], lease timeout [%dms], node selector [%s], "
+                        + "sniff interval [%ds], sniff after failure [%ds]",
+                maxConnections, maxConnectionsPerRoute, ioThreads, keepAliveSeconds, connectTimeoutMillis,
+                socketTimeoutMillis, leaseTimeoutMillis, nodeSelection, sniffIntervalSeconds, sniffAfterFailureSeconds);
+    }
+}
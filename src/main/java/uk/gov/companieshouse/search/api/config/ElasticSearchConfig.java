@@ -1,16 +1,40 @@
 package uk.gov.companieshouse.search.api.config;
 
+import static uk.gov.companieshouse.search.api.logging.LoggingUtils.getLogger;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
 import java.net.MalformedURLException;
 import java.net.URL;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.ToDoubleFunction;
+import java.util.stream.Collectors;
 import org.apache.http.HttpHost;
+import org.apache.http.impl.client.DefaultConnectionKeepAliveStrategy;
+import org.apache.http.impl.nio.conn.PoolingNHttpClientConnectionManager;
+import org.apache.http.impl.nio.reactor.DefaultConnectingIOReactor;
+import org.apache.http.impl.nio.reactor.IOReactorConfig;
+import org.apache.http.nio.reactor.IOReactorException;
+import org.apache.http.pool.PoolStats;
 import org.elasticsearch.client.RestClient;
+import org.elasticsearch.client.RestClientBuilder;
 import org.elasticsearch.client.RestHighLevelClient;
+import org.elasticsearch.client.sniff.ElasticsearchNodesSniffer;
+import org.elasticsearch.client.sniff.SniffOnFailureListener;
+import org.elasticsearch.client.sniff.Sniffer;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import uk.gov.companieshouse.environment.EnvironmentReader;
 import uk.gov.companieshouse.search.api.exception.EndpointException;
+import uk.gov.companieshouse.search.api.service.rest.Workload;
 
 @Configuration
 public class ElasticSearchConfig {
@@ -18,11 +42,32 @@ public class ElasticSearchConfig {
     @Autowired
     private EnvironmentReader environmentReader;
 
+    @Autowired
+    private MeterRegistry meterRegistry;
+
     // These are currently pointing at the existing ES instance, will need to be updated in the configs for both
     private static final String ALPHABETICAL_SEARCH_URL = "ELASTIC_SEARCH_URL";
     private static final String DISSOLVED_SEARCH_URL = "DISSOLVED_SEARCH_URL";
     private static final String ADVANCED_SEARCH_URL = "ADVANCED_SEARCH_URL";
     private static final String PRIMARY_SEARCH_URL = "PRIMARY_SEARCH_URL";
+    private static final String WRITE_URL_SUFFIX = "_SEARCH_WRITE_URL";
+
+    /**
+     * The client each URL environment variable is for, naming the client's own settings
+     */
+    private static final Map<String, String> CLIENTS = Map.of(
+            ALPHABETICAL_SEARCH_URL, "ALPHABETICAL",
+            DISSOLVED_SEARCH_URL, "DISSOLVED",
+            ADVANCED_SEARCH_URL, "ADVANCED",
+            PRIMARY_SEARCH_URL, "PRIMARY");
+
+    /**
+     * Clients of a workload pointing at the same hosts share one client, and so one connection pool. Reads and writes
+     * never share a pool, so indexing cannot take the connections or IO threads searches need.
+     */
+    private final Map<Workload, Map<List<HttpHost>, RestHighLevelClient>> clients = new EnumMap<>(Map.of(
+            Workload.READ, new ConcurrentHashMap<>(),
+            Workload.WRITE, new ConcurrentHashMap<>()));
 
     @Qualifier("alphabeticalClient")
     @Bean(destroyMethod = "close")
@@ -48,17 +93,202 @@ public class ElasticSearchConfig {
         return createClient(PRIMARY_SEARCH_URL);
     }
 
+    @Qualifier("alphabeticalWriteClient")
+    @Bean(destroyMethod = "close")
+    public RestHighLevelClient alphabeticalWriteClient() {
+        return createClient(ALPHABETICAL_SEARCH_URL, Workload.WRITE);
+    }
+
+    @Qualifier("advancedWriteClient")
+    @Bean(destroyMethod = "close")
+    public RestHighLevelClient advancedWriteClient() {
+        return createClient(ADVANCED_SEARCH_URL, Workload.WRITE);
+    }
+
+    @Qualifier("dissolvedWriteClient")
+    @Bean(destroyMethod = "close")
+    public RestHighLevelClient dissolvedWriteClient() {
+        return createClient(DISSOLVED_SEARCH_URL, Workload.WRITE);
+    }
+
+    @Qualifier("primaryWriteClient")
+    @Bean(destroyMethod = "close")
+    public RestHighLevelClient primaryWriteClient() {
+        return createClient(PRIMARY_SEARCH_URL, Workload.WRITE);
+    }
+
+    /**
+     * @param url - the environment variable holding the URL of the cluster, or a comma separated list of the URLs of
+     *      its nodes
+     * @return the client searches of the cluster are sent through, shared with every other client reading from the
+     *      same hosts
+     */
     public RestHighLevelClient createClient(String url) {
+        return createClient(url, Workload.READ);
+    }
+
+    /**
+     * @param url - the environment variable holding the URL of the cluster, or a comma separated list of the URLs of
+     *      its nodes
+     * @param workload - the requests the client is for
+     * @return the client of the cluster for the workload, shared with every other client of the workload pointing at
+     *      the same hosts
+     */
+    public RestHighLevelClient createClient(String url, Workload workload) {
+        return clients.get(workload).computeIfAbsent(hosts(url(url, workload)),
+                hosts -> createPooledClient(hosts, workload));
+    }
+
+    /**
+     * @return the environment variable holding the URL the client's requests of the workload go to: for writes, the
+     *      client's {@code <CLIENT>_SEARCH_WRITE_URL} if it is set, so that writes can go to a leader cluster while
+     *      searches are served by a follower
+     */
+    private String url(String url, Workload workload) {
+        String client = CLIENTS.get(url);
+        if (workload == Workload.WRITE && client != null
+                && environmentReader.getOptionalString(client + WRITE_URL_SUFFIX) != null) {
+            return client + WRITE_URL_SUFFIX;
+        }
+        return url;
+    }
 
-        URL endpoint;
+    private RestHighLevelClient createPooledClient(List<HttpHost> hosts, Workload workload) {
+        ElasticSearchClientSettings settings = CLIENTS.entrySet().stream()
+                .filter(client -> hosts.equals(hosts(url(client.getKey(), workload))))
+                .map(client -> settings(client.getValue(), workload))
+                .reduce(ElasticSearchClientSettings::merge)
+                .orElseGet(() -> settings(null, workload));
+        String sharedBy = CLIENTS.entrySet().stream()
+                .filter(client -> hosts.equals(hosts(url(client.getKey(), workload))))
+                .map(Map.Entry::getValue)
+                .sorted()
+                .collect(Collectors.joining(", "));
+        String pool = hosts.stream().map(HttpHost::toURI).collect(Collectors.joining(","));
+
+        String workloadName = workload.name().toLowerCase(Locale.ROOT);
+
+        PoolingNHttpClientConnectionManager connectionManager = connectionManager(pool, settings);
+        registerPoolGauges(pool, workloadName, connectionManager);
+        getLogger().info(String.format("Created Elasticsearch %s connection pool for [%s] shared by [%s]: %s",
+                workloadName, pool, sharedBy, settings));
+
+        long keepAliveMillis = settings.getKeepAliveSeconds() * 1000L;
+        RestClientBuilder builder = RestClient.builder(hosts.toArray(new HttpHost[0]))
+                .setNodeSelector(settings.getNodeSelection().getNodeSelector())
+                .setRequestConfigCallback(requestConfig -> requestConfig
+                        .setConnectTimeout(settings.getConnectTimeoutMillis())
+                        .setSocketTimeout(settings.getSocketTimeoutMillis())
+                        .setConnectionRequestTimeout(settings.getLeaseTimeoutMillis()))
+                .setHttpClientConfigCallback(httpClient -> httpClient
+                        .setConnectionManager(connectionManager)
+                        // close idle connections before a load balancer or the cluster silently drops them
+                        .setKeepAliveStrategy((response, context) -> {
+                            long keepAlive = DefaultConnectionKeepAliveStrategy.INSTANCE
+                                    .getKeepAliveDuration(response, context);
+                            return keepAlive > 0 ? Math.min(keepAlive, keepAliveMillis) : keepAliveMillis;
+                        }));
+        if (settings.getSniffIntervalSeconds() <= 0) {
+            return new RestHighLevelClient(builder);
+        }
+
+        SniffOnFailureListener sniffOnFailure = new SniffOnFailureListener();
+        RestClient restClient = builder.setFailureListener(sniffOnFailure).build();
+        Sniffer sniffer = Sniffer.builder(restClient)
+                .setNodesSniffer(new ElasticsearchNodesSniffer(restClient,
+                        ElasticsearchNodesSniffer.DEFAULT_SNIFF_REQUEST_TIMEOUT,
+                        "https".equals(hosts.get(0).getSchemeName())
+                                ? ElasticsearchNodesSniffer.Scheme.HTTPS : ElasticsearchNodesSniffer.Scheme.HTTP))
+                .setSniffIntervalMillis(settings.getSniffIntervalSeconds() * 1000)
+                .setSniffAfterFailureDelayMillis(settings.getSniffAfterFailureSeconds() * 1000)
+                .build();
+        sniffOnFailure.setSniffer(sniffer);
+        return new SniffingRestHighLevelClient(restClient, sniffer);
+    }
+
+    private ElasticSearchClientSettings settings(String client, Workload workload) {
+        ElasticSearchClientSettings settings = ElasticSearchClientSettings.read(environmentReader, client);
+        return workload == Workload.WRITE ? settings.forWrites(environmentReader, client) : settings;
+    }
+
+    /**
+     * A client whose nodes are refreshed by a sniffer, which is closed with it so it never sniffs through a closed
+     * client
+     */
+    private static final class SniffingRestHighLevelClient extends RestHighLevelClient {
+
+        SniffingRestHighLevelClient(RestClient restClient, Sniffer sniffer) {
+            super(restClient, client -> {
+                sniffer.close();
+                client.close();
+            }, Collections.emptyList());
+        }
+    }
+
+    private static PoolingNHttpClientConnectionManager connectionManager(String pool,
+            ElasticSearchClientSettings settings) {
+        IOReactorConfig ioReactorConfig = IOReactorConfig.custom()
+                .setIoThreadCount(settings.getIoThreads())
+                .setConnectTimeout(settings.getConnectTimeoutMillis())
+                .setSoTimeout(settings.getSocketTimeoutMillis())
+                .setSoKeepAlive(true)
+                .build();
+        PoolingNHttpClientConnectionManager connectionManager;
         try {
-            endpoint = new URL(environmentReader.getMandatoryString(url));
-        } catch (MalformedURLException e) {
-            throw new EndpointException(url + " environment variable is malformed; expected format is <protocol>://<host>[:port]");
+            connectionManager = new PoolingNHttpClientConnectionManager(
+                    new DefaultConnectingIOReactor(ioReactorConfig));
+        } catch (IOReactorException e) {
+            throw new EndpointException("Unable to start IO reactor for " + pool + ": " + e.getMessage());
         }
+        connectionManager.setMaxTotal(settings.getMaxConnections());
+        connectionManager.setDefaultMaxPerRoute(settings.getMaxConnectionsPerRoute());
+        return connectionManager;
+    }
 
-        return new RestHighLevelClient(
-                RestClient.builder(
-                        new HttpHost(endpoint.getHost(), endpoint.getPort(), endpoint.getProtocol())));
+    private void registerPoolGauges(String pool, String workload,
+            PoolingNHttpClientConnectionManager connectionManager) {
+        registerPoolGauge(pool, workload, connectionManager, "leased", PoolStats::getLeased);
+        registerPoolGauge(pool, workload, connectionManager, "pending", PoolStats::getPending);
+        registerPoolGauge(pool, workload, connectionManager, "available", PoolStats::getAvailable);
+        Gauge.builder("search.elasticsearch.pool.saturation", connectionManager, manager -> {
+                    PoolStats stats = manager.getTotalStats();
+                    return stats.getMax() == 0 ? 0 : (double) stats.getLeased() / stats.getMax();
+                })
+                .description("Share of the Elasticsearch connection pool's connections leased to requests")
+                .tag("pool", pool)
+                .tag("workload", workload)
+                .register(meterRegistry);
+    }
+
+    private void registerPoolGauge(String pool, String workload, PoolingNHttpClientConnectionManager connectionManager,
+            String state, ToDoubleFunction<PoolStats> connections) {
+        Gauge.builder("search.elasticsearch.pool.connections", connectionManager,
+                        manager -> connections.applyAsDouble(manager.getTotalStats()))
+                .description("Connections of the Elasticsearch connection pool leased to requests, requests pending "
+                        + "a connection, and idle connections available, by state")
+                .tag("pool", pool)
+                .tag("workload", workload)
+                .tag("state", state)
+                .register(meterRegistry);
+    }
+
+    private List<HttpHost> hosts(String url) {
+        String urls = environmentReader.getMandatoryString(url);
+        List<HttpHost> hosts = new ArrayList<>();
+        try {
+            for (String node : (urls == null ? "" : urls).split(",")) {
+                if (!node.isBlank()) {
+                    URL endpoint = new URL(node.trim());
+                    hosts.add(new HttpHost(endpoint.getHost(), endpoint.getPort(), endpoint.getProtocol()));
+                }
+            }
+        } catch (MalformedURLException e) {
+            hosts.clear();
+        }
+        if (hosts.isEmpty()) {
+            throw new EndpointException(url + " environment variable is malformed; expected format is "
+                    + "<protocol>://<host>[:port], or a comma separated list of them for the nodes of a cluster");
+        }
+        return hosts;
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,90 @@
+package uk.gov.companieshouse.search.api.config;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+import org.apache.kafka.clients.consumer.ConsumerConfig;
+import org.apache.kafka.common.serialization.StringDeserializer;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.kafka.core.DefaultKafkaConsumerFactory;
+import org.springframework.kafka.listener.ConcurrentMessageListenerContainer;
+import org.springframework.kafka.listener.ContainerProperties;
+import org.springframework.kafka.listener.ContainerProperties.AckMode;
+import org.springframework.kafka.listener.DefaultErrorHandler;
+import org.springframework.util.backoff.ExponentialBackOff;
+import uk.gov.companieshouse.environment.EnvironmentReader;
+import uk.gov.companieshouse.search.api.SearchApiApplication;
+import uk.gov.companieshouse.search.api.kafka.ChangeEventListener;
+
+/**
+ * Consumes change events from Kafka when KAFKA_INGESTION_ENABLED is true. The flag is read as a Spring property,
+ * which environment variables are, so that no Kafka client is created at all when ingestion is disabled.
+ */
+@Configuration
+@ConditionalOnProperty(name = "KAFKA_INGESTION_ENABLED", havingValue = "true")
+public class KafkaIngestionConfig {
+
+    private static final String BROKER_ADDRESS_ENVIRONMENT_VARIABLE = "KAFKA_BROKER_ADDR";
+    private static final String TOPICS_ENVIRONMENT_VARIABLE = "KAFKA_INGESTION_TOPICS";
+    private static final String GROUP_ID_ENVIRONMENT_VARIABLE = "KAFKA_INGESTION_GROUP_ID";
+    private static final String MAX_POLL_RECORDS_ENVIRONMENT_VARIABLE = "KAFKA_INGESTION_MAX_POLL_RECORDS";
+    private static final String CONCURRENCY_ENVIRONMENT_VARIABLE = "KAFKA_INGESTION_CONCURRENCY";
+    private static final String RETRY_MAX_BACKOFF_ENVIRONMENT_VARIABLE = "KAFKA_INGESTION_RETRY_MAX_BACKOFF_MS";
+    private static final int DEFAULT_MAX_POLL_RECORDS = 500;
+    private static final int DEFAULT_CONCURRENCY = 1;
+    private static final int DEFAULT_RETRY_MAX_BACKOFF_MS = 30000;
+    private static final long RETRY_INITIAL_BACKOFF_MS = 500;
+
+    private final EnvironmentReader environmentReader;
+
+    public KafkaIngestionConfig(EnvironmentReader environmentReader) {
+        this.environmentReader = environmentReader;
+    }
+
+    /**
+     * Container that polls the change event topics and hands each poll to the listener as one batch. Offsets are
+     * committed by the listener once the batch has been written; a batch that throws is retried with backoff
+     * until it succeeds, without committing anything in between. A number that is not positive is taken as not set.
+     */
+    @Bean
+    public ConcurrentMessageListenerContainer<String, String> changeEventListenerContainer(
+            ChangeEventListener changeEventListener) {
+        Map<String, Object> consumerProperties = new HashMap<>();
+        consumerProperties.put(ConsumerConfig.BOOTSTRAP_SERVERS_CONFIG,
+                environmentReader.getMandatoryString(BROKER_ADDRESS_ENVIRONMENT_VARIABLE));
+        consumerProperties.put(ConsumerConfig.GROUP_ID_CONFIG, Optional.ofNullable(
+                environmentReader.getOptionalString(GROUP_ID_ENVIRONMENT_VARIABLE))
+                .orElse(SearchApiApplication.APPLICATION_NAME_SPACE));
+        consumerProperties.put(ConsumerConfig.ENABLE_AUTO_COMMIT_CONFIG, false);
+        consumerProperties.put(ConsumerConfig.AUTO_OFFSET_RESET_CONFIG, "earliest");
+        consumerProperties.put(ConsumerConfig.MAX_POLL_RECORDS_CONFIG, Optional.ofNullable(
+                environmentReader.getOptionalInteger(MAX_POLL_RECORDS_ENVIRONMENT_VARIABLE))
+                .filter(value -> value > 0)
+                .orElse(DEFAULT_MAX_POLL_RECORDS));
+        consumerProperties.put(ConsumerConfig.KEY_DESERIALIZER_CLASS_CONFIG, StringDeserializer.class);
+        consumerProperties.put(ConsumerConfig.VALUE_DESERIALIZER_CLASS_CONFIG, StringDeserializer.class);
+
+        ContainerProperties containerProperties = new ContainerProperties(
+                environmentReader.getMandatoryString(TOPICS_ENVIRONMENT_VARIABLE).split(","));
+        containerProperties.setAckMode(AckMode.MANUAL_IMMEDIATE);
+        containerProperties.setMessageListener(changeEventListener);
+
+        ConcurrentMessageListenerContainer<String, String> container = new ConcurrentMessageListenerContainer<>(
+                new DefaultKafkaConsumerFactory<>(consumerProperties), containerProperties);
+        container.setConcurrency(Optional.ofNullable(
+                environmentReader.getOptionalInteger(CONCURRENCY_ENVIRONMENT_VARIABLE))
+                .filter(value -> value > 0)
+                .orElse(DEFAULT_CONCURRENCY));
+
+        ExponentialBackOff backOff = new ExponentialBackOff(RETRY_INITIAL_BACKOFF_MS,
+                ExponentialBackOff.DEFAULT_MULTIPLIER);
+        backOff.setMaxInterval(Optional.ofNullable(
+                environmentReader.getOptionalInteger(RETRY_MAX_BACKOFF_ENVIRONMENT_VARIABLE))
+                .filter(value -> value > 0)
+                .orElse(DEFAULT_RETRY_MAX_BACKOFF_MS));
+        container.setCommonErrorHandler(new DefaultErrorHandler(backOff));
+        return container;
+    }
+}
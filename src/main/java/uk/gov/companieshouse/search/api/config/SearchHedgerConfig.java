@@ -0,0 +1,36 @@
+package uk.gov.companieshouse.search.api.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import uk.gov.companieshouse.environment.EnvironmentReader;
+import uk.gov.companieshouse.search.api.service.rest.SearchHedger;
+
+@Configuration
+public class SearchHedgerConfig {
+
+    @Qualifier("primarySearchHedger")
+    @Bean
+    public SearchHedger primarySearchHedger(EnvironmentReader environmentReader, MeterRegistry meterRegistry) {
+        return new SearchHedger("primary", environmentReader, meterRegistry);
+    }
+
+    @Qualifier("alphabeticalSearchHedger")
+    @Bean
+    public SearchHedger alphabeticalSearchHedger(EnvironmentReader environmentReader, MeterRegistry meterRegistry) {
+        return new SearchHedger("alphabetical", environmentReader, meterRegistry);
+    }
+
+    @Qualifier("dissolvedSearchHedger")
+    @Bean
+    public SearchHedger dissolvedSearchHedger(EnvironmentReader environmentReader, MeterRegistry meterRegistry) {
+        return new SearchHedger("dissolved", environmentReader, meterRegistry);
+    }
+
+    @Qualifier("advancedSearchHedger")
+    @Bean
+    public SearchHedger advancedSearchHedger(EnvironmentReader environmentReader, MeterRegistry meterRegistry) {
+        return new SearchHedger("advanced", environmentReader, meterRegistry);
+    }
+}
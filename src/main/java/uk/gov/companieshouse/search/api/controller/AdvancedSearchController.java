@@ -8,6 +8,7 @@ import java.util.Date;
 import java.util.List;
 import java.util.Locale;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 import javax.validation.Valid;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
@@ -76,7 +77,8 @@ public class AdvancedSearchController {
 
     @GetMapping("/companies")
     @ResponseBody
-    public ResponseEntity<Object> search(@RequestParam(name = START_INDEX_QUERY_PARAM, required = false) Integer startIndex,
+    public CompletableFuture<ResponseEntity<Object>> search(
+                                         @RequestParam(name = START_INDEX_QUERY_PARAM, required = false) Integer startIndex,
                                          @RequestParam(name = COMPANY_NAME_QUERY_PARAM, required = false) String companyName,
                                          @RequestParam(name = LOCATION_QUERY_PARAM, required = false) String location,
                                          @RequestParam(name = INCORPORATED_FROM_QUERY_PARAMETER, required = false) String incorporatedFrom,
@@ -141,16 +143,18 @@ public class AdvancedSearchController {
                 .mapAdvancedQueryParameters(startIndex, companyName, location, incorporatedFrom,
                     incorporatedTo, companyStatusList, sicCodes, companyTypeList, companySubtypeList, dissolvedFrom, dissolvedTo, companyNameExcludes, size);
         } catch (DateFormatException dfe) {
-           return apiToResponseMapper.map(new ResponseObject(ResponseStatus.DATE_FORMAT_ERROR, null));
+           return CompletableFuture.completedFuture(
+                   apiToResponseMapper.map(new ResponseObject(ResponseStatus.DATE_FORMAT_ERROR, null)));
         } catch (MappingException me) {
-            return apiToResponseMapper.map(new ResponseObject(ResponseStatus.MAPPING_ERROR, null));
+            return CompletableFuture.completedFuture(
+                    apiToResponseMapper.map(new ResponseObject(ResponseStatus.MAPPING_ERROR, null)));
         } catch (SizeException se) {
-            return apiToResponseMapper.map(new ResponseObject(ResponseStatus.ADVANCED_SIZE_PARAMETER_ERROR, null));
+            return CompletableFuture.completedFuture(
+                    apiToResponseMapper.map(new ResponseObject(ResponseStatus.ADVANCED_SIZE_PARAMETER_ERROR, null)));
         }
 
-        ResponseObject responseObject = searchIndexService.searchAdvanced(advancedSearchQueryParams, requestId);
-
-        return apiToResponseMapper.map(responseObject);
+        return searchIndexService.searchAdvanced(advancedSearchQueryParams, requestId)
+                .thenApply(apiToResponseMapper::map);
     }
 
     @PutMapping("/companies/{company_number}")
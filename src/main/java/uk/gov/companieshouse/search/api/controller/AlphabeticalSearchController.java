@@ -3,6 +3,7 @@ package uk.gov.companieshouse.search.api.controller;
 import static uk.gov.companieshouse.search.api.logging.LoggingUtils.getLogger;
 
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 import javax.validation.Valid;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
@@ -64,7 +65,8 @@ public class AlphabeticalSearchController {
 
     @GetMapping("/companies")
     @ResponseBody
-    public ResponseEntity<Object> searchByCorporateName(@RequestParam(name = COMPANY_NAME_QUERY_PARAM) String companyName,
+    public CompletableFuture<ResponseEntity<Object>> searchByCorporateName(
+                                                   @RequestParam(name = COMPANY_NAME_QUERY_PARAM) String companyName,
                                                    @RequestParam(name = SEARCH_BEFORE_PARAM, required = false) String searchBefore,
                                                    @RequestParam(name = SEARCH_AFTER_PARAM, required = false) String searchAfter,
                                                    @RequestParam(name = SIZE_PARAM, required = false) Integer size,
@@ -86,14 +88,13 @@ public class AlphabeticalSearchController {
                     environmentReader.getMandatoryInteger(MAX_SIZE_PARAM));
         } catch (SizeException e) {
             getLogger().info(e.getMessage(), logMap);
-            return apiToResponseMapper
-                .map(new ResponseObject(ResponseStatus.SIZE_PARAMETER_ERROR, null));
+            return CompletableFuture.completedFuture(apiToResponseMapper
+                .map(new ResponseObject(ResponseStatus.SIZE_PARAMETER_ERROR, null)));
         }
 
-        ResponseObject responseObject = searchIndexService
-            .search(companyName, searchBefore, searchAfter, size, requestId);
-
-        return apiToResponseMapper.map(responseObject);
+        return searchIndexService
+            .search(companyName, searchBefore, searchAfter, size, requestId)
+            .thenApply(apiToResponseMapper::map);
     }
     
     @PutMapping("/companies/{company_number}")
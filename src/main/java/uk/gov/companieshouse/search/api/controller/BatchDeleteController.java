@@ -0,0 +1,43 @@
+package uk.gov.companieshouse.search.api.controller;
+
+import static uk.gov.companieshouse.search.api.logging.LoggingUtils.getLogger;
+
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RestController;
+import uk.gov.companieshouse.search.api.mapper.ApiToResponseMapper;
+import uk.gov.companieshouse.search.api.model.BatchDeleteRequest;
+import uk.gov.companieshouse.search.api.model.response.ResponseObject;
+import uk.gov.companieshouse.search.api.model.response.ResponseStatus;
+import uk.gov.companieshouse.search.api.service.delete.batch.BatchDeleteService;
+
+@RestController
+public class BatchDeleteController {
+
+    private final ApiToResponseMapper apiToResponseMapper;
+    private final BatchDeleteService batchDeleteService;
+
+    public BatchDeleteController(ApiToResponseMapper apiToResponseMapper, BatchDeleteService batchDeleteService) {
+        this.apiToResponseMapper = apiToResponseMapper;
+        this.batchDeleteService = batchDeleteService;
+    }
+
+    /**
+     * Delete companies from the alphabetical, advanced and primary indices and officers from the primary index.
+     * Responds 200 with the outcome for each id, as some deletes in a batch may succeed while others fail. This is a
+     * POST rather than a DELETE, as the ids are sent in the body.
+     */
+    @PostMapping(value = "/search/batch-delete", produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<Object> deleteBatch(@RequestBody BatchDeleteRequest request) {
+        if (request.size() == 0 || request.size() > batchDeleteService.getMaxSize()) {
+            getLogger().error(String.format("Batch delete of [%d] ids rejected, a batch must have between 1 and [%d]",
+                    request.size(), batchDeleteService.getMaxSize()));
+            return apiToResponseMapper.map(new ResponseObject(ResponseStatus.DELETE_REQUEST_ERROR));
+        }
+        getLogger().info(String.format("Attempting to batch delete [%d] company numbers and officer ids",
+                request.size()));
+        return ResponseEntity.ok(batchDeleteService.delete(request));
+    }
+}
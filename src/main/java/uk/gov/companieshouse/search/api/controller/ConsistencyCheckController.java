@@ -0,0 +1,45 @@
+package uk.gov.companieshouse.search.api.controller;
+
+import static uk.gov.companieshouse.search.api.logging.LoggingUtils.getLogger;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.PutMapping;
+import org.springframework.web.bind.annotation.RestController;
+import uk.gov.companieshouse.search.api.mapper.ApiToResponseMapper;
+import uk.gov.companieshouse.search.api.model.response.ResponseObject;
+import uk.gov.companieshouse.search.api.model.response.ResponseStatus;
+import uk.gov.companieshouse.search.api.service.consistency.ConsistencyCheckService;
+
+@RestController
+public class ConsistencyCheckController {
+
+    private final ApiToResponseMapper apiToResponseMapper;
+    private final ConsistencyCheckService consistencyCheckService;
+
+    public ConsistencyCheckController(ApiToResponseMapper apiToResponseMapper,
+            ConsistencyCheckService consistencyCheckService) {
+        this.apiToResponseMapper = apiToResponseMapper;
+        this.consistencyCheckService = consistencyCheckService;
+    }
+
+    /**
+     * Start checking that the alphabetical, advanced and primary indices agree on every company. Responds 202 with
+     * the check's progress, or 409 with the progress of the check already running.
+     */
+    @PutMapping(value = "/search/consistency-check", produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<Object> check() {
+        getLogger().info("Attempting to start a consistency check");
+
+        ResponseStatus status = consistencyCheckService.start();
+        switch (status) {
+            case CONSISTENCY_CHECK_STARTED:
+                return ResponseEntity.accepted().body(consistencyCheckService.getProgress());
+            case CONSISTENCY_CHECK_IN_PROGRESS:
+                return ResponseEntity.status(HttpStatus.CONFLICT).body(consistencyCheckService.getProgress());
+            default:
+                return apiToResponseMapper.map(new ResponseObject(status));
+        }
+    }
+}
@@ -4,6 +4,7 @@ import static uk.gov.companieshouse.search.api.logging.LoggingUtils.MESSAGE;
 import static uk.gov.companieshouse.search.api.logging.LoggingUtils.getLogger;
 
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -60,7 +61,8 @@ public class DissolvedSearchController {
 
     @GetMapping("/companies")
     @ResponseBody
-    public ResponseEntity<Object> searchCompanies(@RequestParam(name = COMPANY_NAME_QUERY_PARAM) String companyName,
+    public CompletableFuture<ResponseEntity<Object>> searchCompanies(
+            @RequestParam(name = COMPANY_NAME_QUERY_PARAM) String companyName,
             @RequestParam(name = SEARCH_TYPE_QUERY_PARAM) String searchType,
             @RequestParam(name = SEARCH_BEFORE_PARAM, required = false) String searchBefore,
             @RequestParam(name = SEARCH_AFTER_PARAM, required = false) String searchAfter,
@@ -91,8 +93,8 @@ public class DissolvedSearchController {
                         (size, defaultSize, environmentReader.getMandatoryInteger(MAX_SIZE_PARAM));
             } catch (SizeException e) {
                 getLogger().info(e.getMessage(), logMap);
-                return apiToResponseMapper
-                        .map(new ResponseObject(ResponseStatus.SIZE_PARAMETER_ERROR, null));
+                return CompletableFuture.completedFuture(apiToResponseMapper
+                        .map(new ResponseObject(ResponseStatus.SIZE_PARAMETER_ERROR, null)));
             }
 
             if (searchType.equals(ALPHABETICAL_SEARCH_TYPE)) {
@@ -109,11 +111,11 @@ public class DissolvedSearchController {
         }
         LoggingUtils.getLogger().error("The search_type parameter is incorrect, please try either "
                 + "'alphabetical', 'best-match' or 'previous-name-dissolved': ", logMap);
-        return apiToResponseMapper
-                .map(new ResponseObject(ResponseStatus.REQUEST_PARAMETER_ERROR, null));
+        return CompletableFuture.completedFuture(apiToResponseMapper
+                .map(new ResponseObject(ResponseStatus.REQUEST_PARAMETER_ERROR, null)));
     }
 
-    private ResponseEntity<Object> getBestMatchOrPreviousNamesSearch(
+    private CompletableFuture<ResponseEntity<Object>> getBestMatchOrPreviousNamesSearch(
             @RequestParam(name = COMPANY_NAME_QUERY_PARAM) String companyName,
             @RequestParam(name = SEARCH_TYPE_QUERY_PARAM) String searchType,
             Integer size,
@@ -124,23 +126,19 @@ public class DissolvedSearchController {
             startIndex = 0;
         }
 
-        ResponseObject responseObject = searchIndexService.searchBestMatch(companyName, requestId,
-                searchType, startIndex, size);
-
-        return apiToResponseMapper.map(responseObject);
+        return searchIndexService.searchBestMatch(companyName, requestId, searchType, startIndex, size)
+                .thenApply(apiToResponseMapper::map);
     }
 
-    private ResponseEntity<Object> getAlphabeticalSearch(
+    private CompletableFuture<ResponseEntity<Object>> getAlphabeticalSearch(
             @RequestParam(name = COMPANY_NAME_QUERY_PARAM) String companyName,
             @RequestParam(name = SEARCH_BEFORE_PARAM, required = false) String searchBefore,
             @RequestParam(name = SEARCH_AFTER_PARAM, required = false) String searchAfter,
             Integer size,
             @RequestHeader(REQUEST_ID_HEADER_NAME) String requestId) {
 
-        ResponseObject responseObject = searchIndexService.searchAlphabetical(companyName,
-                searchBefore, searchAfter, size, requestId);
-
-        return apiToResponseMapper.map(responseObject);
+        return searchIndexService.searchAlphabetical(companyName, searchBefore, searchAfter, size, requestId)
+                .thenApply(apiToResponseMapper::map);
     }
 
     private boolean checkSearchTypeParam(String searchType) {
@@ -0,0 +1,54 @@
+package uk.gov.companieshouse.search.api.controller;
+
+import static uk.gov.companieshouse.search.api.logging.LoggingUtils.getLogger;
+
+import java.util.Optional;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PutMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RestController;
+import uk.gov.companieshouse.search.api.mapper.ApiToResponseMapper;
+import uk.gov.companieshouse.search.api.model.RebuildRequest;
+import uk.gov.companieshouse.search.api.model.response.ResponseObject;
+import uk.gov.companieshouse.search.api.model.response.ResponseStatus;
+import uk.gov.companieshouse.search.api.service.rebuild.IndexRebuildService;
+import uk.gov.companieshouse.search.api.service.rebuild.RebuildTarget;
+
+@RestController
+public class IndexRebuildController {
+
+    private final ApiToResponseMapper apiToResponseMapper;
+    private final IndexRebuildService indexRebuildService;
+
+    public IndexRebuildController(ApiToResponseMapper apiToResponseMapper, IndexRebuildService indexRebuildService) {
+        this.apiToResponseMapper = apiToResponseMapper;
+        this.indexRebuildService = indexRebuildService;
+    }
+
+    /**
+     * Start rebuilding the alphabetical, dissolved, advanced or primary index from a dump. Responds 202 with the
+     * rebuild's progress, or 409 with the progress of the rebuild already running.
+     */
+    @PutMapping(value = "/search/rebuild/{index}", produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<Object> rebuild(@PathVariable("index") String index, @RequestBody RebuildRequest request) {
+        Optional<RebuildTarget> target = RebuildTarget.fromName(index);
+        if (target.isEmpty()) {
+            getLogger().error(String.format("Rebuild of unknown index [%s] rejected", index));
+            return apiToResponseMapper.map(new ResponseObject(ResponseStatus.REBUILD_REQUEST_ERROR));
+        }
+        getLogger().info(String.format("Attempting to rebuild %s index from [%s]", index, request.getDump()));
+
+        ResponseStatus status = indexRebuildService.start(target.get(), request.getDump());
+        switch (status) {
+            case REBUILD_STARTED:
+                return ResponseEntity.accepted().body(indexRebuildService.getProgress());
+            case REBUILD_IN_PROGRESS:
+                return ResponseEntity.status(HttpStatus.CONFLICT).body(indexRebuildService.getProgress());
+            default:
+                return apiToResponseMapper.map(new ResponseObject(status));
+        }
+    }
+}
@@ -46,6 +46,30 @@ public class OfficersSearchController {
         return apiToResponseMapper.map(responseObject);
     }
 
+    @PutMapping(value = "/officers-search/officers/{officer_id}/appointments/{appointment_id}")
+    public ResponseEntity<Object> upsertOfficerAppointment(@PathVariable("officer_id") String officerId,
+            @PathVariable("appointment_id") String appointmentId,
+            @Valid @RequestBody AppointmentList appointmentList) {
+
+        ResponseObject responseObject = upsertOfficersService.upsertAppointment(appointmentList, officerId,
+                appointmentId);
+        return apiToResponseMapper.map(responseObject);
+    }
+
+    /**
+     * Remove a single appointment from an officer's document. This is a PUT to a remove resource rather than a
+     * DELETE of the appointment, as the officer's appointment counts are needed in the body.
+     */
+    @PutMapping("/officers-search/officers/{officer_id}/appointments/{appointment_id}/remove")
+    public ResponseEntity<Object> removeOfficerAppointment(@PathVariable("officer_id") String officerId,
+            @PathVariable("appointment_id") String appointmentId,
+            @Valid @RequestBody AppointmentList appointmentList) {
+
+        ResponseObject responseObject = upsertOfficersService.removeAppointment(appointmentList, officerId,
+                appointmentId);
+        return apiToResponseMapper.map(responseObject);
+    }
+
     @DeleteMapping("/officers-search/officers/{officer_id}")
     public ResponseEntity<Object> deleteOfficer(@PathVariable("officer_id") String officerId) {
         Map<String, Object> logMap = LoggingUtils.setUpPrimarySearchDeleteLogging(officerId, indices);
@@ -1,7 +1,7 @@
 package uk.gov.companieshouse.search.api.elasticsearch;
 
-import java.io.IOException;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 
 import org.elasticsearch.action.search.SearchRequest;
 import org.elasticsearch.action.search.SearchResponse;
@@ -14,6 +14,7 @@ import org.springframework.beans.factory.annotation.Autowired;
 import uk.gov.companieshouse.environment.EnvironmentReader;
 import uk.gov.companieshouse.logging.util.DataMap;
 import uk.gov.companieshouse.search.api.logging.LoggingUtils;
+import uk.gov.companieshouse.search.api.service.rest.FreshReadRequests;
 import uk.gov.companieshouse.search.api.service.rest.RestClientService;
 
 public abstract class AbstractSearchRequest {
@@ -28,44 +29,48 @@ public abstract class AbstractSearchRequest {
     
     @Autowired
     private EnvironmentReader environmentReader;
+
+    @Autowired
+    private FreshReadRequests freshReadRequests;
+
+    @Autowired
+    private ShardPreference shardPreference;
     
     private static final String ORDERED_ALPHA_KEY_WITH_ID = "ordered_alpha_key_with_id";
     
 
-    public SearchHits getBestMatchResponse(String orderedAlphakey, String requestId) throws IOException {
+    public CompletableFuture<SearchHits> getBestMatchResponse(String orderedAlphakey, String requestId) {
         Map<String, Object> logMap = new DataMap.Builder()
                 .requestId(requestId)
                 .orderedAlphakey(orderedAlphakey)
                 .build().getLogMap();
         LoggingUtils.getLogger().info("Searching for best company match", logMap);
-        SearchRequest searchRequestBestMatch = createBaseSearchRequest(requestId);
+        SearchRequest searchRequestBestMatch = createBaseSearchRequest();
         searchRequestBestMatch.source(bestMatchSourceBuilder(
                 getSearchQuery().createOrderedAlphaKeySearchQuery(orderedAlphakey),
             ORDERED_ALPHA_KEY_WITH_ID, SortOrder.ASC));
 
-        SearchResponse searchResponse = getRestClientService().search(searchRequestBestMatch);
-        return searchResponse.getHits();
+        return search(searchRequestBestMatch, requestId);
     }
 
-    public SearchHits getStartsWithResponse(String orderedAlphakey, String requestId) throws IOException {
+    public CompletableFuture<SearchHits> getStartsWithResponse(String orderedAlphakey, String requestId) {
         Map<String, Object> logMap = new DataMap.Builder()
                 .requestId(requestId)
                 .orderedAlphakey(orderedAlphakey)
                 .build().getLogMap();
         LoggingUtils.getLogger().info("Searching using alphakey prefix", logMap);
         
-        SearchRequest searchRequestStartsWith = createBaseSearchRequest(requestId);
+        SearchRequest searchRequestStartsWith = createBaseSearchRequest();
 
         searchRequestStartsWith.source(bestMatchSourceBuilder(
                 getSearchQuery().createOrderedAlphaKeyKeywordQuery(orderedAlphakey),
             ORDERED_ALPHA_KEY_WITH_ID, SortOrder.ASC));
 
-        SearchResponse searchResponse = getRestClientService().search(searchRequestStartsWith);
-        return searchResponse.getHits();
+        return search(searchRequestStartsWith, requestId);
     }
 
-    public SearchHits getCorporateNameStartsWithResponse(String orderedAlphakey,
-        String requestId) throws IOException {
+    public CompletableFuture<SearchHits> getCorporateNameStartsWithResponse(String orderedAlphakey,
+        String requestId) {
 
         Map<String, Object> logMap = new DataMap.Builder()
                 .requestId(requestId)
@@ -73,7 +78,7 @@ public abstract class AbstractSearchRequest {
                 .build().getLogMap();
         LoggingUtils.getLogger().info("Searching using orderedAlphaKey", logMap);
 
-        SearchRequest searchRequestCorporateName = createBaseSearchRequest(requestId);
+        SearchRequest searchRequestCorporateName = createBaseSearchRequest();
 
         // Consider using corporateName instead of orderedAlphakey
         // Currently using same logic as python application
@@ -81,13 +86,12 @@ public abstract class AbstractSearchRequest {
                 getSearchQuery().createStartsWithQuery(orderedAlphakey),
             ORDERED_ALPHA_KEY_WITH_ID, SortOrder.ASC));
 
-        SearchResponse searchResponse = getRestClientService().search(searchRequestCorporateName);
-        return searchResponse.getHits();
+        return search(searchRequestCorporateName, requestId);
     }
 
-    public SearchHits getAboveResultsResponse(String requestId,
+    public CompletableFuture<SearchHits> getAboveResultsResponse(String requestId,
         String orderedAlphakeyWithId,
-        String topHitCompanyName, Integer size) throws IOException {
+        String topHitCompanyName, Integer size) {
 
         Map<String, Object> logMap = new DataMap.Builder()
                 .requestId(requestId)
@@ -97,17 +101,16 @@ public abstract class AbstractSearchRequest {
                 .build().getLogMap();
         LoggingUtils.getLogger().info("Retrieving the alphabetically descending results", logMap);
 
-        SearchRequest searchAlphabetic = createBaseSearchRequest(requestId);
+        SearchRequest searchAlphabetic = createBaseSearchRequest();
         searchAlphabetic.source(alphabeticalSourceBuilder(orderedAlphakeyWithId,
                 getSearchQuery().createMatchAllQuery(), SortOrder.DESC, size));
 
-        SearchResponse searchResponse = getRestClientService().search(searchAlphabetic);
-        return searchResponse.getHits();
+        return search(searchAlphabetic, requestId);
     }
 
-    public SearchHits getDescendingResultsResponse(String requestId,
+    public CompletableFuture<SearchHits> getDescendingResultsResponse(String requestId,
         String orderedAlphakeyWithId,
-        String topHitCompanyName, Integer size) throws IOException {
+        String topHitCompanyName, Integer size) {
 
         Map<String, Object> logMap = new DataMap.Builder()
                 .requestId(requestId)
@@ -117,18 +120,22 @@ public abstract class AbstractSearchRequest {
                 .build().getLogMap();
         LoggingUtils.getLogger().info("Retrieving the alphabetically ascending results", logMap);
 
-        SearchRequest searchAlphabetic = createBaseSearchRequest(requestId);
+        SearchRequest searchAlphabetic = createBaseSearchRequest();
         searchAlphabetic.source(alphabeticalSourceBuilder(orderedAlphakeyWithId,
                 getSearchQuery().createMatchAllQuery(), SortOrder.ASC, size));
 
-        SearchResponse searchResponse = getRestClientService().search(searchAlphabetic);
-        return searchResponse.getHits();
+        return search(searchAlphabetic, requestId);
+    }
+
+    private CompletableFuture<SearchHits> search(SearchRequest searchRequest, String requestId) {
+        shardPreference.apply(searchRequest, requestId);
+        return getRestClientService().searchAsync(searchRequest, freshReadRequests.consistency(requestId))
+                .thenApply(SearchResponse::getHits);
     }
 
-    private SearchRequest createBaseSearchRequest(String requestId) {
+    private SearchRequest createBaseSearchRequest() {
         SearchRequest searchRequest = new SearchRequest();
         searchRequest.indices(environmentReader.getMandatoryString(getIndex()));
-        searchRequest.preference(requestId);
 
         return searchRequest;
     }
@@ -143,6 +150,10 @@ public abstract class AbstractSearchRequest {
         return sourceBuilder;
     }
 
+    /**
+     * A page of the index in alphabetical order, starting after the given key. The total is not tracked, so that on an
+     * index sorted by the key a shard can stop collecting each segment once it has found the page.
+     */
     private SearchSourceBuilder alphabeticalSourceBuilder(String orderedAlphakeyWithId, QueryBuilder queryBuilder, SortOrder sortOrder, Integer size) {
 
         SearchSourceBuilder sourceBuilder = new SearchSourceBuilder();
@@ -154,6 +165,7 @@ public abstract class AbstractSearchRequest {
         sourceBuilder.query(queryBuilder);
         sourceBuilder.searchAfter(new Object[]{orderedAlphakeyWithId});
         sourceBuilder.sort(ORDERED_ALPHA_KEY_WITH_ID, sortOrder);
+        sourceBuilder.trackTotalHits(false);
 
         return sourceBuilder;
     }
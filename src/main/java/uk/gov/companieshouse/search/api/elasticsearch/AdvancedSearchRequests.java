@@ -8,27 +8,47 @@ import org.springframework.stereotype.Component;
 import uk.gov.companieshouse.logging.util.DataMap;
 import uk.gov.companieshouse.search.api.logging.LoggingUtils;
 import uk.gov.companieshouse.search.api.model.AdvancedSearchQueryParams;
+import uk.gov.companieshouse.search.api.service.rest.FreshReadRequests;
 import uk.gov.companieshouse.search.api.service.rest.impl.AdvancedSearchRestClientService;
 
-import java.io.IOException;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 import uk.gov.companieshouse.search.api.util.ConfiguredIndexNamesProvider;
 
 @Component
 public class AdvancedSearchRequests {
 
+    // only the fields read by ElasticSearchResponseMapper.mapAdvancedSearchResponse, which are stored in both the
+    // legacy and compact document formats
+    private static final String[] SOURCE_INCLUDES = {
+            "company_type",
+            "company_subtype",
+            "links.self",
+            "current_company.corporate_name",
+            "current_company.company_number",
+            "current_company.company_status",
+            "current_company.date_of_creation",
+            "current_company.date_of_cessation",
+            "current_company.sic_codes",
+            "current_company.address"};
+
     private final AdvancedSearchRestClientService restClientService;
     private final AdvancedSearchQueries advancedSearchQueries;
     private final ConfiguredIndexNamesProvider indices;
+    private final FreshReadRequests freshReadRequests;
+    private final ShardPreference shardPreference;
 
     public AdvancedSearchRequests(AdvancedSearchRestClientService restClientService,
-        AdvancedSearchQueries advancedSearchQueries, ConfiguredIndexNamesProvider indices) {
+        AdvancedSearchQueries advancedSearchQueries, ConfiguredIndexNamesProvider indices,
+        FreshReadRequests freshReadRequests, ShardPreference shardPreference) {
         this.restClientService = restClientService;
         this.advancedSearchQueries = advancedSearchQueries;
         this.indices = indices;
+        this.freshReadRequests = freshReadRequests;
+        this.shardPreference = shardPreference;
     }
 
-    public SearchHits getCompanies(AdvancedSearchQueryParams queryParams, String requestId) throws IOException {
+    public CompletableFuture<SearchHits> getCompanies(AdvancedSearchQueryParams queryParams, String requestId) {
         Map<String, Object> logMap = new DataMap.Builder()
                 .requestId(requestId)
                 .build().getLogMap();
@@ -42,11 +62,12 @@ public class AdvancedSearchRequests {
         sourceBuilder.size(queryParams.getSize());
         sourceBuilder.from(queryParams.getStartIndex());
         sourceBuilder.trackTotalHits(true);
+        sourceBuilder.fetchSource(SOURCE_INCLUDES, null);
 
         searchRequest.source(sourceBuilder.query(advancedSearchQueries.buildAdvancedSearchQuery(queryParams)));
+        shardPreference.apply(searchRequest, requestId);
 
-        SearchResponse searchResponse = restClientService.search(searchRequest);
-
-        return searchResponse.getHits();
+        return restClientService.searchAsync(searchRequest, freshReadRequests.consistency(requestId))
+                .thenApply(SearchResponse::getHits);
     }
 }
@@ -6,6 +6,7 @@ import org.elasticsearch.common.xcontent.XContentBuilder;
 import org.springframework.stereotype.Component;
 import uk.gov.companieshouse.api.model.company.CompanyProfileApi;
 import uk.gov.companieshouse.api.model.company.RegisteredOfficeAddressApi;
+import uk.gov.companieshouse.environment.EnvironmentReader;
 
 import java.io.IOException;
 import java.util.Map;
@@ -41,14 +42,32 @@ public class AdvancedSearchUpsertRequest {
     private static final String KIND_KEY = "kind";
     private static final String KIND_VALUE = "searchresults#company";
     private static final String SORT_KEY = "sort_key";
+    private static final String COMPACT_DOCUMENT_ENVIRONMENT_VARIABLE = "ADVANCED_SEARCH_COMPACT_DOCUMENT";
 
+    private final boolean compactDocument;
+
+    public AdvancedSearchUpsertRequest(EnvironmentReader environmentReader) {
+        this.compactDocument = Boolean.TRUE.equals(
+                environmentReader.getOptionalBoolean(COMPACT_DOCUMENT_ENVIRONMENT_VARIABLE));
+    }
+
+    /**
+     * Build the advanced index document for a company. When {@link #COMPACT_DOCUMENT_ENVIRONMENT_VARIABLE} is set
+     * each field is written once under current_company, and the index mapping derives full_address with copy_to;
+     * otherwise the legacy document duplicating current_company under items is written.
+     */
     public XContentBuilder buildRequest(
         CompanyProfileApi company,
         String orderedAlphaKey,
         String sameAsKey) throws IOException {
 
+        if (compactDocument) {
+            return buildCompactRequest(company, orderedAlphaKey, sameAsKey);
+        }
+
         RegisteredOfficeAddressApi registeredOfficeAddress = company.getRegisteredOfficeAddress();
         Map<String, String> links = company.getLinks();
+        String fullAddress = createFullAddress(registeredOfficeAddress);
 
         XContentBuilder jsonBuilder = jsonBuilder().startObject();
         jsonBuilder.field(COMPANY_TYPE_KEY, company.getType());
@@ -66,7 +85,7 @@ public class AdvancedSearchUpsertRequest {
                 if (company.getDateOfCessation() != null) {
                     jsonBuilder.field(DATE_OF_CESSATION_KEY, company.getDateOfCessation());
                 }
-                jsonBuilder.field(FULL_ADDRESS_KEY, createFullAddress(registeredOfficeAddress));
+                jsonBuilder.field(FULL_ADDRESS_KEY, fullAddress);
                 jsonBuilder.field(RECORD_TYPE_KEY, RECORD_TYPE_VALUE);
                 jsonBuilder.field(SAME_AS_KEY, sameAsKey);
             jsonBuilder.endObject();
@@ -82,7 +101,7 @@ public class AdvancedSearchUpsertRequest {
                 if (company.getDateOfCessation() != null) {
                     jsonBuilder.field(DATE_OF_CESSATION_KEY, company.getDateOfCessation());
                 }
-                jsonBuilder.field(FULL_ADDRESS_KEY, createFullAddress(registeredOfficeAddress));
+                jsonBuilder.field(FULL_ADDRESS_KEY, fullAddress);
                 jsonBuilder.field(SAME_AS_KEY, sameAsKey);
                 jsonBuilder.field(WILDCARD_KEY, orderedAlphaKey);
                 jsonBuilder.field(RECORD_TYPE_KEY, RECORD_TYPE_VALUE);
@@ -97,6 +116,39 @@ public class AdvancedSearchUpsertRequest {
         return jsonBuilder;
     }
 
+    private XContentBuilder buildCompactRequest(
+        CompanyProfileApi company,
+        String orderedAlphaKey,
+        String sameAsKey) throws IOException {
+
+        XContentBuilder jsonBuilder = jsonBuilder().startObject();
+        jsonBuilder.field(COMPANY_TYPE_KEY, company.getType());
+        jsonBuilder.field(COMPANY_SUBTYPE_KEY, company.getSubtype());
+            jsonBuilder.startObject(CURRENT_COMPANY_KEY);
+                jsonBuilder.field(CORPORATE_NAME_KEY, company.getCompanyName());
+                jsonBuilder.array(SIC_CODES_KEY, company.getSicCodes());
+                jsonBuilder.field(COMPANY_NUMBER_KEY, company.getCompanyNumber());
+                jsonBuilder.field(COMPANY_STATUS_KEY, company.getCompanyStatus());
+                jsonBuilder.startObject(ADDRESS_KEY);
+                    buildAddressJSON(jsonBuilder, company.getRegisteredOfficeAddress());
+                jsonBuilder.endObject();
+                jsonBuilder.field(WILDCARD_KEY, orderedAlphaKey);
+                jsonBuilder.field(DATE_OF_CREATION_KEY, company.getDateOfCreation());
+                if (company.getDateOfCessation() != null) {
+                    jsonBuilder.field(DATE_OF_CESSATION_KEY, company.getDateOfCessation());
+                }
+                jsonBuilder.field(SAME_AS_KEY, sameAsKey);
+            jsonBuilder.endObject();
+            jsonBuilder.field(KIND_KEY, KIND_VALUE);
+            jsonBuilder.startObject(LINKS_KEY);
+                jsonBuilder.field(SELF_KEY, company.getLinks().get(SELF_KEY));
+            jsonBuilder.endObject();
+            jsonBuilder.field(SORT_KEY, orderedAlphaKey + "0");
+        jsonBuilder.endObject();
+
+        return jsonBuilder;
+    }
+
     private void buildAddressJSON(XContentBuilder jsonBuilder, RegisteredOfficeAddressApi roa) throws IOException {
         jsonBuilder.field(PREMISES_KEY, roa.getPremises());
         jsonBuilder.field(ADDRESS_LINE_1_KEY, roa.getAddressLine1());
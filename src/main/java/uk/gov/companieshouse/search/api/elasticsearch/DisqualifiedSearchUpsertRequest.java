@@ -2,11 +2,9 @@ package uk.gov.companieshouse.search.api.elasticsearch;
 
 import java.io.IOException;
 
-import com.fasterxml.jackson.annotation.JsonInclude;
-import com.fasterxml.jackson.databind.ObjectMapper;
-
 import org.apache.commons.lang.StringUtils;
 import org.apache.commons.lang3.ObjectUtils;
+import org.elasticsearch.common.bytes.BytesReference;
 import org.springframework.stereotype.Component;
 
 import uk.gov.companieshouse.api.disqualification.Item;
@@ -18,16 +16,20 @@ public class DisqualifiedSearchUpsertRequest {
  
     private static final String KIND = "searchresults#disqualified-officer";
 
-    public String buildRequest(OfficerDisqualification officer) throws IOException {
+    private final IndexDocumentWriter documentWriter;
+
+    public DisqualifiedSearchUpsertRequest(IndexDocumentWriter documentWriter) {
+        this.documentWriter = documentWriter;
+    }
+
+    public BytesReference buildRequest(OfficerDisqualification officer) throws IOException {
         for (Item item : officer.getItems()) {
             if (ObjectUtils.isEmpty(item.getAddress())) {
                 throw new UpsertException("Missing or empty mandatory Address field");
             }
         }
         checkMandatoryValues(officer.getLinks().getSelf(), officer.getKind());
-        ObjectMapper mapper = new ObjectMapper();
-        mapper.setSerializationInclusion(JsonInclude.Include.NON_NULL);
-        return mapper.writeValueAsString(officer);
+        return documentWriter.write(officer);
     }
 
     private void checkMandatoryValues(String self, String kind) throws UpsertException {
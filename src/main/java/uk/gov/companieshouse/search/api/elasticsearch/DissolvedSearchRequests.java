@@ -10,11 +10,12 @@ import org.springframework.stereotype.Component;
 import uk.gov.companieshouse.environment.EnvironmentReader;
 import uk.gov.companieshouse.logging.util.DataMap;
 import uk.gov.companieshouse.search.api.logging.LoggingUtils;
+import uk.gov.companieshouse.search.api.service.rest.FreshReadRequests;
 import uk.gov.companieshouse.search.api.service.rest.RestClientService;
 import uk.gov.companieshouse.search.api.service.rest.impl.DissolvedSearchRestClientService;
 
-import java.io.IOException;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 
 @Component
 public class DissolvedSearchRequests extends AbstractSearchRequest {
@@ -28,6 +29,12 @@ public class DissolvedSearchRequests extends AbstractSearchRequest {
     @Autowired
     private EnvironmentReader environmentReader;
 
+    @Autowired
+    private FreshReadRequests freshReadRequests;
+
+    @Autowired
+    private ShardPreference shardPreference;
+
     private static final String INDEX = "DISSOLVED_SEARCH_INDEX";
     private static final String RESULTS_SIZE = "DISSOLVED_SEARCH_RESULT_MAX";
     private static final String BEST_MATCH_SEARCH_TYPE = "best-match";
@@ -52,18 +59,18 @@ public class DissolvedSearchRequests extends AbstractSearchRequest {
         return searchQueries;
     }
 
-    public SearchHits getDissolved(String companyName,
-                                   String requestId,
-                                   String searchType,
-                                   Integer startIndex,
-                                   Integer size) throws IOException {
+    public CompletableFuture<SearchHits> getDissolved(String companyName,
+                                                      String requestId,
+                                                      String searchType,
+                                                      Integer startIndex,
+                                                      Integer size) {
         Map<String, Object> logMap = new DataMap.Builder()
                 .requestId(requestId)
                 .companyName(companyName)
                 .build().getLogMap();
         LoggingUtils.getLogger().info("Searching for best dissolved company name " + searchType + " match", logMap);
 
-        SearchRequest searchRequest = getBaseSearchRequest(requestId);
+        SearchRequest searchRequest = getBaseSearchRequest();
 
         SearchSourceBuilder sourceBuilder = getBaseSourceBuilder(startIndex, size);
         if (searchType.equals(BEST_MATCH_SEARCH_TYPE)){
@@ -78,15 +85,15 @@ public class DissolvedSearchRequests extends AbstractSearchRequest {
         }
 
         searchRequest.source(sourceBuilder);
+        shardPreference.apply(searchRequest, requestId);
 
-        SearchResponse searchResponse = searchRestClient.search(searchRequest);
-        return searchResponse.getHits();
+        return searchRestClient.searchAsync(searchRequest, freshReadRequests.consistency(requestId))
+                .thenApply(SearchResponse::getHits);
     }
 
-    private SearchRequest getBaseSearchRequest(String requestId) {
+    private SearchRequest getBaseSearchRequest() {
         SearchRequest searchRequest = new SearchRequest();
         searchRequest.indices(environmentReader.getMandatoryString(getIndex()));
-        searchRequest.preference(requestId);
 
         return searchRequest;
     }
@@ -0,0 +1,53 @@
+package uk.gov.companieshouse.search.api.elasticsearch;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import java.io.IOException;
+import org.elasticsearch.common.bytes.BytesReference;
+import org.elasticsearch.common.io.stream.BytesStreamOutput;
+import org.springframework.stereotype.Component;
+import uk.gov.companieshouse.api.disqualification.OfficerDisqualification;
+import uk.gov.companieshouse.search.api.model.esdatamodel.CompanySearchDocument;
+import uk.gov.companieshouse.search.api.model.esdatamodel.OfficerSearchDocument;
+
+/**
+ * Writes primary index documents as UTF-8 JSON straight into the bytes sent to Elasticsearch, so each document is
+ * encoded once rather than via an intermediate {@link String}, and handed out without copying.
+ *
+ * <p>Each document gets its own output rather than a pooled buffer: a request may sit in a bulk, the write journal
+ * or a migration copy long after the next document is written, so its bytes must not be reused.</p>
+ */
+@Component
+public class IndexDocumentWriter {
+
+    // a company document with a few previous names is 2 to 3 KB, larger documents grow the buffer
+    private static final int INITIAL_BUFFER_SIZE = 4 * 1024;
+
+    private final ObjectWriter companyWriter;
+    private final ObjectWriter officerWriter;
+    private final ObjectWriter disqualificationWriter;
+
+    public IndexDocumentWriter(ObjectMapper mapper) {
+        this.companyWriter = mapper.writerFor(CompanySearchDocument.class);
+        this.officerWriter = mapper.writerFor(OfficerSearchDocument.class);
+        this.disqualificationWriter = mapper.writerFor(OfficerDisqualification.class);
+    }
+
+    public BytesReference write(CompanySearchDocument document) throws IOException {
+        return write(companyWriter, document);
+    }
+
+    public BytesReference write(OfficerSearchDocument document) throws IOException {
+        return write(officerWriter, document);
+    }
+
+    public BytesReference write(OfficerDisqualification officer) throws IOException {
+        return write(disqualificationWriter, officer);
+    }
+
+    private BytesReference write(ObjectWriter writer, Object document) throws IOException {
+        BytesStreamOutput output = new BytesStreamOutput(INITIAL_BUFFER_SIZE);
+        writer.writeValue(output, document);
+        return output.bytes();
+    }
+}
@@ -0,0 +1,74 @@
+package uk.gov.companieshouse.search.api.elasticsearch;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Locale;
+import java.util.Optional;
+import org.elasticsearch.action.search.SearchRequest;
+import org.elasticsearch.common.hash.MurmurHash3;
+import org.springframework.stereotype.Component;
+import uk.gov.companieshouse.environment.EnvironmentReader;
+
+/**
+ * Chooses the shard copies a search is sent to, and whether its results may be served from the shard request cache.
+ *
+ * <p>By default the preference is a hash of the normalised search, so every request for the same search lands on the
+ * same copy of each shard, whose caches are then warm for it. A search with no hits to fetch, such as a count, is
+ * also marked as cacheable, so repeats of it are answered from the shard request cache until the index next
+ * refreshes.</p>
+ */
+@Component
+public class ShardPreference {
+
+    private static final String STRATEGY_ENVIRONMENT_VARIABLE = "SEARCH_PREFERENCE_STRATEGY";
+
+    /**
+     * How the preference of a search is chosen
+     */
+    enum Strategy {
+
+        /**
+         * A hash of the indices and normalised source of the search, shared by every request for the same search
+         */
+        QUERY,
+        /**
+         * The id of the request, spreading the searches of different requests over every copy of each shard
+         */
+        REQUEST
+    }
+
+    private final Strategy strategy;
+
+    public ShardPreference(EnvironmentReader environmentReader) {
+        this.strategy = Strategy.valueOf(Optional.ofNullable(
+                environmentReader.getOptionalString(STRATEGY_ENVIRONMENT_VARIABLE))
+                .orElse(Strategy.QUERY.name()).trim().toUpperCase(Locale.ROOT));
+    }
+
+    /**
+     * Set the preference of a search and, if it fetches no hits, enable the request cache for it
+     *
+     * @param searchRequest - the search, with its indices and source already set
+     * @param requestId - the id of the request the search is made for
+     */
+    public void apply(SearchRequest searchRequest, String requestId) {
+        searchRequest.preference(strategy == Strategy.REQUEST ? requestId : queryHash(searchRequest));
+        if (searchRequest.source() != null && searchRequest.source().size() == 0) {
+            searchRequest.requestCache(true);
+        }
+    }
+
+    /**
+     * @return a hash of the search's indices and source, ignoring case and runs of whitespace so that searches
+     *      differing only in those share copies, in hex so that it never starts with the underscore of a built in
+     *      preference
+     */
+    static String queryHash(SearchRequest searchRequest) {
+        String normalised = (Arrays.toString(searchRequest.indices()) + searchRequest.source())
+                .toLowerCase(Locale.ROOT)
+                .replaceAll("\\s+", " ");
+        byte[] bytes = normalised.getBytes(StandardCharsets.UTF_8);
+        MurmurHash3.Hash128 hash = MurmurHash3.hash128(bytes, 0, bytes.length, 0, new MurmurHash3.Hash128());
+        return Long.toHexString(hash.h1);
+    }
+}
@@ -0,0 +1,29 @@
+package uk.gov.companieshouse.search.api.exception;
+
+/**
+ * ChangeEventBatchException is thrown when a batch of change events consumed
+ * from Kafka could not be written, so its offsets are not committed and the
+ * batch is consumed again.
+ */
+public class ChangeEventBatchException extends RuntimeException {
+
+    /**
+     * Constructs a new ChangeEventBatchException with a custom message.
+     *
+     * @param message a custom message
+     */
+    public ChangeEventBatchException(String message) {
+        super(message);
+    }
+
+    /**
+     * Constructs a new ChangeEventBatchException with a custom message and the
+     * specified cause.
+     *
+     * @param message a custom message
+     * @param cause the cause
+     */
+    public ChangeEventBatchException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
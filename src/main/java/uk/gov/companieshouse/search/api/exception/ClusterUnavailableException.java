@@ -0,0 +1,21 @@
+package uk.gov.companieshouse.search.api.exception;
+
+import java.io.IOException;
+
+/**
+ * ClusterUnavailableException is thrown instead of calling an Elasticsearch
+ * cluster that cannot take the call now, such as while the circuit breaker
+ * for that cluster is open. It is an IOException so that it is handled as
+ * the cluster being unreachable.
+ */
+public class ClusterUnavailableException extends IOException {
+
+    /**
+     * Constructs a new ClusterUnavailableException with a custom message.
+     *
+     * @param message a custom message
+     */
+    public ClusterUnavailableException(String message) {
+        super(message);
+    }
+}
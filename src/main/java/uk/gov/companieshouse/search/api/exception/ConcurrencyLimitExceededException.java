@@ -0,0 +1,18 @@
+package uk.gov.companieshouse.search.api.exception;
+
+/**
+ * ConcurrencyLimitExceededException is thrown instead of calling an
+ * Elasticsearch cluster when the calls already in flight to it have reached
+ * its concurrency limit and no call finished while this one was queued.
+ */
+public class ConcurrencyLimitExceededException extends ClusterUnavailableException {
+
+    /**
+     * Constructs a new ConcurrencyLimitExceededException with a custom message.
+     *
+     * @param message a custom message
+     */
+    public ConcurrencyLimitExceededException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,28 @@
+package uk.gov.companieshouse.search.api.exception;
+
+/**
+ * ConsistencyCheckException is thrown when a consistency check cannot read
+ * one of the indices it compares, so its repair list is incomplete.
+ */
+public class ConsistencyCheckException extends RuntimeException {
+
+    /**
+     * Constructs a new ConsistencyCheckException with a custom message.
+     *
+     * @param message a custom message
+     */
+    public ConsistencyCheckException(String message) {
+        super(message);
+    }
+
+    /**
+     * Constructs a new ConsistencyCheckException with a custom message and the
+     * specified cause.
+     *
+     * @param message a custom message
+     * @param cause the cause
+     */
+    public ConsistencyCheckException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
@@ -0,0 +1,28 @@
+package uk.gov.companieshouse.search.api.exception;
+
+/**
+ * IndexRebuildException is thrown when an index rebuild cannot continue, so
+ * the alias is left pointing at the index it was pointing at before.
+ */
+public class IndexRebuildException extends RuntimeException {
+
+    /**
+     * Constructs a new IndexRebuildException with a custom message.
+     *
+     * @param message a custom message
+     */
+    public IndexRebuildException(String message) {
+        super(message);
+    }
+
+    /**
+     * Constructs a new IndexRebuildException with a custom message and the
+     * specified cause.
+     *
+     * @param message a custom message
+     * @param cause the cause
+     */
+    public IndexRebuildException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
@@ -0,0 +1,19 @@
+package uk.gov.companieshouse.search.api.exception;
+
+/**
+ * WriteRejectedException is thrown when Elasticsearch keeps rejecting a write
+ * with 429 Too Many Requests until the retry budget is exhausted.
+ */
+public class WriteRejectedException extends RuntimeException {
+
+    /**
+     * Constructs a new WriteRejectedException with a custom message and the
+     * rejection that was last received.
+     *
+     * @param message a custom message
+     * @param cause the cause
+     */
+    public WriteRejectedException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
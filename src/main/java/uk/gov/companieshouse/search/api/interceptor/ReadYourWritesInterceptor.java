@@ -0,0 +1,97 @@
+package uk.gov.companieshouse.search.api.interceptor;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+import javax.servlet.AsyncEvent;
+import javax.servlet.AsyncListener;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.handler.HandlerInterceptorAdapter;
+import uk.gov.companieshouse.search.api.service.rest.FreshReadRequests;
+
+/**
+ * Marks a request sent with {@code X-Read-Your-Writes: true} as needing fresh data for as long as it is in progress,
+ * including while an asynchronous search is running off the request thread.
+ */
+@Component
+public class ReadYourWritesInterceptor extends HandlerInterceptorAdapter {
+
+    private static final String READ_YOUR_WRITES_HEADER_NAME = "X-Read-Your-Writes";
+    private static final String REQUEST_ID_HEADER_NAME = "X-Request-ID";
+    private static final String FRESH_READ_ATTRIBUTE = ReadYourWritesInterceptor.class.getName() + ".freshRead";
+
+    private final FreshReadRequests freshReadRequests;
+
+    public ReadYourWritesInterceptor(FreshReadRequests freshReadRequests) {
+        this.freshReadRequests = freshReadRequests;
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        if (request.getAttribute(FRESH_READ_ATTRIBUTE) == null
+                && Boolean.parseBoolean(request.getHeader(READ_YOUR_WRITES_HEADER_NAME))) {
+            String requestId = request.getHeader(REQUEST_ID_HEADER_NAME);
+            if (freshReadRequests.start(requestId)) {
+                request.setAttribute(FRESH_READ_ATTRIBUTE, new FreshRead(requestId));
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public void afterConcurrentHandlingStarted(HttpServletRequest request, HttpServletResponse response,
+            Object handler) {
+        FreshRead freshRead = (FreshRead) request.getAttribute(FRESH_READ_ATTRIBUTE);
+        if (freshRead != null) {
+            request.getAsyncContext().addListener(freshRead);
+        }
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler,
+            Exception ex) {
+        FreshRead freshRead = (FreshRead) request.getAttribute(FRESH_READ_ATTRIBUTE);
+        if (freshRead != null) {
+            freshRead.finish();
+        }
+    }
+
+    /**
+     * A request reading its own writes, finished exactly once however the request ends
+     */
+    private final class FreshRead implements AsyncListener {
+
+        private final String requestId;
+        private final AtomicBoolean finished = new AtomicBoolean();
+
+        FreshRead(String requestId) {
+            this.requestId = requestId;
+        }
+
+        void finish() {
+            if (finished.compareAndSet(false, true)) {
+                freshReadRequests.finish(requestId);
+            }
+        }
+
+        @Override
+        public void onComplete(AsyncEvent event) {
+            finish();
+        }
+
+        @Override
+        public void onTimeout(AsyncEvent event) {
+            // followed by onComplete
+        }
+
+        @Override
+        public void onError(AsyncEvent event) {
+            // followed by onComplete
+        }
+
+        @Override
+        public void onStartAsync(AsyncEvent event) {
+            // still in progress
+        }
+    }
+}
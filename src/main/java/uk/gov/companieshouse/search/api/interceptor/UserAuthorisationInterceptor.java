@@ -1,6 +1,7 @@
 package uk.gov.companieshouse.search.api.interceptor;
 
 import static org.springframework.http.HttpMethod.DELETE;
+import static org.springframework.http.HttpMethod.POST;
 import static org.springframework.http.HttpMethod.PUT;
 import static org.springframework.http.HttpStatus.UNAUTHORIZED;
 import static uk.gov.companieshouse.search.api.logging.LoggingUtils.REQUEST_ID_HEADER_NAME;
@@ -18,6 +19,8 @@ import uk.gov.companieshouse.search.api.util.EricHeaderHelper;
 @Component
 public class UserAuthorisationInterceptor extends HandlerInterceptorAdapter {
 
+    private static final String BATCH_DELETE_PATH = "/search/batch-delete";
+
     @Override
     public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
         final String identityType = EricHeaderHelper.getIdentityType(request);
@@ -38,7 +41,8 @@ public class UserAuthorisationInterceptor extends HandlerInterceptorAdapter {
                 .requestId(request.getHeader(REQUEST_ID_HEADER_NAME));
 
         if(AuthorisationUtil.hasInternalUserRole(request) &&
-                (PUT.matches(request.getMethod()) || DELETE.matches(request.getMethod()))) {
+                (PUT.matches(request.getMethod()) || DELETE.matches(request.getMethod())
+                        || isBatchDelete(request))) {
             getLogger().info("internal API is permitted to update the resource", builder.build().getLogMap());
             return true;
         } else {
@@ -48,4 +52,11 @@ public class UserAuthorisationInterceptor extends HandlerInterceptorAdapter {
             return false;
         }
     }
+
+    /**
+     * A batch delete is a POST, as its ids are sent in the body
+     */
+    private static boolean isBatchDelete(HttpServletRequest request) {
+        return POST.matches(request.getMethod()) && BATCH_DELETE_PATH.equals(request.getServletPath());
+    }
 }
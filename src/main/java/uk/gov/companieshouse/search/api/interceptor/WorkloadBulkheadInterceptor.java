@@ -0,0 +1,124 @@
+package uk.gov.companieshouse.search.api.interceptor;
+
+import java.io.IOException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import javax.servlet.AsyncEvent;
+import javax.servlet.AsyncListener;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.handler.HandlerInterceptorAdapter;
+import uk.gov.companieshouse.search.api.logging.LoggingUtils;
+import uk.gov.companieshouse.search.api.mapper.ApiToResponseMapper;
+import uk.gov.companieshouse.search.api.model.response.ResponseObject;
+import uk.gov.companieshouse.search.api.model.response.ResponseStatus;
+import uk.gov.companieshouse.search.api.service.rest.Workload;
+import uk.gov.companieshouse.search.api.service.rest.WorkloadBulkheads;
+
+/**
+ * Admits each request through the bulkhead of its workload, answering a write over its limit with a 429 and a
+ * search over its limit with a 503 before any work is done for it.
+ *
+ * <p>A request's place is held until the request is complete, including while an asynchronous search is running
+ * off the request thread, and is given back exactly once however the request ends.</p>
+ */
+@Component
+public class WorkloadBulkheadInterceptor extends HandlerInterceptorAdapter {
+
+    private static final String PERMIT_ATTRIBUTE = WorkloadBulkheadInterceptor.class.getName() + ".permit";
+
+    private final WorkloadBulkheads bulkheads;
+    private final ApiToResponseMapper apiToResponseMapper;
+
+    public WorkloadBulkheadInterceptor(WorkloadBulkheads bulkheads, ApiToResponseMapper apiToResponseMapper) {
+        this.bulkheads = bulkheads;
+        this.apiToResponseMapper = apiToResponseMapper;
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler)
+            throws IOException {
+        if (request.getAttribute(PERMIT_ATTRIBUTE) != null) {
+            // dispatched again to write the result of an asynchronous search, which already holds a place
+            return true;
+        }
+        Workload workload = Workload.of(request.getMethod());
+        if (!bulkheads.tryAcquire(workload)) {
+            LoggingUtils.getLogger().info(String.format("Rejected %s %s, the %s bulkhead is full",
+                    request.getMethod(), request.getRequestURI(), workload));
+            reject(workload, response);
+            return false;
+        }
+        request.setAttribute(PERMIT_ATTRIBUTE, new Permit(workload));
+        return true;
+    }
+
+    @Override
+    public void afterConcurrentHandlingStarted(HttpServletRequest request, HttpServletResponse response,
+            Object handler) {
+        Permit permit = (Permit) request.getAttribute(PERMIT_ATTRIBUTE);
+        if (permit != null) {
+            // the request may end without being dispatched again, such as when the client goes away
+            request.getAsyncContext().addListener(permit);
+        }
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler,
+            Exception ex) {
+        Permit permit = (Permit) request.getAttribute(PERMIT_ATTRIBUTE);
+        if (permit != null) {
+            permit.release();
+        }
+    }
+
+    private void reject(Workload workload, HttpServletResponse response) throws IOException {
+        ResponseEntity<Object> rejection = apiToResponseMapper.map(new ResponseObject(
+                workload == Workload.WRITE ? ResponseStatus.WRITE_REJECTED : ResponseStatus.SERVICE_UNAVAILABLE));
+        response.setStatus(rejection.getStatusCodeValue());
+        rejection.getHeaders().forEach((name, values) -> values.forEach(value -> response.addHeader(name, value)));
+        if (rejection.getBody() != null) {
+            response.getWriter().write(String.valueOf(rejection.getBody()));
+        }
+    }
+
+    /**
+     * A request's place in its workload's bulkhead
+     */
+    private final class Permit implements AsyncListener {
+
+        private final Workload workload;
+        private final AtomicBoolean released = new AtomicBoolean();
+
+        Permit(Workload workload) {
+            this.workload = workload;
+        }
+
+        void release() {
+            if (released.compareAndSet(false, true)) {
+                bulkheads.release(workload);
+            }
+        }
+
+        @Override
+        public void onComplete(AsyncEvent event) {
+            release();
+        }
+
+        @Override
+        public void onTimeout(AsyncEvent event) {
+            // followed by onComplete
+        }
+
+        @Override
+        public void onError(AsyncEvent event) {
+            // followed by onComplete
+        }
+
+        @Override
+        public void onStartAsync(AsyncEvent event) {
+            // the place is still held
+        }
+    }
+}
@@ -0,0 +1,115 @@
+package uk.gov.companieshouse.search.api.kafka;
+
+import static uk.gov.companieshouse.search.api.logging.LoggingUtils.getLogger;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+import javax.naming.ServiceUnavailableException;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.elasticsearch.ElasticsearchException;
+import org.elasticsearch.action.DocWriteRequest;
+import org.elasticsearch.action.bulk.BulkItemResponse;
+import org.elasticsearch.action.bulk.BulkRequest;
+import org.elasticsearch.action.bulk.BulkResponse;
+import org.elasticsearch.rest.RestStatus;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.kafka.listener.BatchAcknowledgingMessageListener;
+import org.springframework.kafka.support.Acknowledgment;
+import org.springframework.stereotype.Component;
+import uk.gov.companieshouse.logging.util.DataMap;
+import uk.gov.companieshouse.search.api.exception.ChangeEventBatchException;
+import uk.gov.companieshouse.search.api.service.journal.WriteJournal;
+import uk.gov.companieshouse.search.api.service.journal.WriteJournal.DocumentLock;
+import uk.gov.companieshouse.search.api.service.rest.impl.PrimarySearchRestClientService;
+import uk.gov.companieshouse.search.api.util.ConfiguredIndexNamesProvider;
+
+/**
+ * Writes each batch of change events polled from Kafka to the primary index as one bulk request, and only commits
+ * the batch's offsets once the bulk request has been applied.
+ *
+ * <p>The events of a partition arrive in offset order and are added to the bulk request in that order, and
+ * Elasticsearch applies the items of a bulk request for the same document in the order given, so changes to a
+ * document keyed to one partition are applied in the order they were produced. If the cluster cannot be reached or
+ * rejects any item with a retryable status, the whole batch is consumed again, which is safe as every write replaces
+ * or deletes the whole document.</p>
+ */
+@Component
+@ConditionalOnProperty(name = "KAFKA_INGESTION_ENABLED", havingValue = "true")
+public class ChangeEventListener implements BatchAcknowledgingMessageListener<String, String> {
+
+    private final ChangeEventRequestFactory changeEventRequestFactory;
+    private final PrimarySearchRestClientService primarySearchRestClientService;
+    private final WriteJournal writeJournal;
+    private final ConfiguredIndexNamesProvider indices;
+
+    public ChangeEventListener(ChangeEventRequestFactory changeEventRequestFactory,
+            PrimarySearchRestClientService primarySearchRestClientService, WriteJournal writeJournal,
+            ConfiguredIndexNamesProvider indices) {
+        this.changeEventRequestFactory = changeEventRequestFactory;
+        this.primarySearchRestClientService = primarySearchRestClientService;
+        this.writeJournal = writeJournal;
+        this.indices = indices;
+    }
+
+    @Override
+    public void onMessage(List<ConsumerRecord<String, String>> records, Acknowledgment acknowledgment) {
+        Map<String, Object> logMap = new DataMap.Builder().indexName(indices.primary()).build().getLogMap();
+
+        BulkRequest bulkRequest = new BulkRequest();
+        for (ConsumerRecord<String, String> consumerRecord : records) {
+            try {
+                changeEventRequestFactory.createRequest(consumerRecord.value()).ifPresent(bulkRequest::add);
+            } catch (ServiceUnavailableException e) {
+                throw new ChangeEventBatchException("Unable to create ordered alpha key", e);
+            }
+        }
+
+        try (DocumentLock lock = writeJournal.lock(bulkRequest.requests().stream()
+                .map(DocWriteRequest::id)
+                .collect(Collectors.toList()))) {
+            // writes accepted over HTTP while the cluster was unreachable are applied first
+            if (writeJournal.hasPendingEntries()) {
+                throw new ChangeEventBatchException("Write journal has pending entries");
+            }
+            if (bulkRequest.numberOfActions() > 0) {
+                flush(bulkRequest, logMap);
+            }
+        }
+        acknowledgment.acknowledge();
+        getLogger().info(String.format("Applied [%d] writes from [%d] change events to primary search index",
+                bulkRequest.numberOfActions(), records.size()), logMap);
+    }
+
+    private void flush(BulkRequest bulkRequest, Map<String, Object> logMap) {
+        BulkResponse bulkResponse;
+        try {
+            bulkResponse = primarySearchRestClientService.bulk(bulkRequest);
+        } catch (IOException | ElasticsearchException e) {
+            getLogger().error("Bulk write of change events failed, will retry: " + e.getMessage(), logMap);
+            throw new ChangeEventBatchException("Bulk write of change events failed", e);
+        }
+        if (!bulkResponse.hasFailures()) {
+            return;
+        }
+        for (BulkItemResponse item : bulkResponse.getItems()) {
+            if (item.isFailed() && isRetryable(item.getFailure().getStatus())) {
+                throw new ChangeEventBatchException(String.format("Write of change event for [%s] rejected with [%s]",
+                        item.getId(), item.getFailure().getStatus()));
+            }
+        }
+        for (BulkItemResponse item : bulkResponse.getItems()) {
+            if (item.isFailed()) {
+                getLogger().error(String.format("Discarding change event for [%s]: %s",
+                        item.getId(), item.getFailureMessage()), logMap);
+            }
+        }
+    }
+
+    private boolean isRetryable(RestStatus status) {
+        return status == RestStatus.TOO_MANY_REQUESTS
+                || status == RestStatus.SERVICE_UNAVAILABLE
+                || status == RestStatus.GATEWAY_TIMEOUT;
+    }
+}
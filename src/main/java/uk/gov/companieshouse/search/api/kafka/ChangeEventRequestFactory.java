@@ -0,0 +1,104 @@
+package uk.gov.companieshouse.search.api.kafka;
+
+import static uk.gov.companieshouse.search.api.logging.LoggingUtils.getLogger;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.IOException;
+import java.util.Map;
+import java.util.Optional;
+import javax.naming.ServiceUnavailableException;
+import org.elasticsearch.action.DocWriteRequest;
+import org.elasticsearch.action.delete.DeleteRequest;
+import org.springframework.stereotype.Component;
+import uk.gov.companieshouse.api.company.Data;
+import uk.gov.companieshouse.api.disqualification.OfficerDisqualification;
+import uk.gov.companieshouse.api.officer.AppointmentList;
+import uk.gov.companieshouse.logging.util.DataMap;
+import uk.gov.companieshouse.search.api.model.ChangeEvent;
+import uk.gov.companieshouse.search.api.service.upsert.company.CompanySearchUpsertRequestService;
+import uk.gov.companieshouse.search.api.service.upsert.disqualified.DisqualifiedUpsertRequestService;
+import uk.gov.companieshouse.search.api.service.upsert.officers.OfficersUpsertRequestService;
+import uk.gov.companieshouse.search.api.util.ConfiguredIndexNamesProvider;
+
+/**
+ * Turns a {@link ChangeEvent} consumed from Kafka into the write to the primary index that the matching PUT or
+ * DELETE endpoint would have made, using the same request services and so the same document converters.
+ */
+@Component
+public class ChangeEventRequestFactory {
+
+    private static final String TYPE = "primary_search";
+
+    private final ObjectMapper objectMapper;
+    private final CompanySearchUpsertRequestService companySearchUpsertRequestService;
+    private final OfficersUpsertRequestService officersUpsertRequestService;
+    private final DisqualifiedUpsertRequestService disqualifiedUpsertRequestService;
+    private final ConfiguredIndexNamesProvider indices;
+
+    public ChangeEventRequestFactory(ObjectMapper objectMapper,
+            CompanySearchUpsertRequestService companySearchUpsertRequestService,
+            OfficersUpsertRequestService officersUpsertRequestService,
+            DisqualifiedUpsertRequestService disqualifiedUpsertRequestService,
+            ConfiguredIndexNamesProvider indices) {
+        this.objectMapper = objectMapper;
+        this.companySearchUpsertRequestService = companySearchUpsertRequestService;
+        this.officersUpsertRequestService = officersUpsertRequestService;
+        this.disqualifiedUpsertRequestService = disqualifiedUpsertRequestService;
+        this.indices = indices;
+    }
+
+    /**
+     * @param value - the JSON change event
+     * @return the write to the primary index, or empty if the event cannot be applied and should be skipped
+     * @throws ServiceUnavailableException if the alpha key of a disqualified officer could not be created, in which
+     *      case the event should be consumed again later
+     */
+    public Optional<DocWriteRequest<?>> createRequest(String value) throws ServiceUnavailableException {
+        Map<String, Object> logMap = new DataMap.Builder().indexName(indices.primary()).build().getLogMap();
+
+        ChangeEvent event;
+        try {
+            event = objectMapper.readValue(value, ChangeEvent.class);
+        } catch (IOException e) {
+            getLogger().error("Skipping change event that is not valid JSON: " + e.getMessage(), logMap);
+            return Optional.empty();
+        }
+        String id = event.getResourceId();
+        if (id == null || id.isEmpty()) {
+            getLogger().error(String.format("Skipping [%s] change event without a resource id",
+                    event.getResourceKind()), logMap);
+            return Optional.empty();
+        }
+        if (ChangeEvent.DELETED.equals(event.getEventType())) {
+            return Optional.of(new DeleteRequest(indices.primary(), TYPE, id));
+        }
+        if (!ChangeEvent.CHANGED.equals(event.getEventType()) || event.getData() == null) {
+            getLogger().error(String.format("Skipping [%s] change event for [%s] of type [%s]",
+                    event.getResourceKind(), id, event.getEventType()), logMap);
+            return Optional.empty();
+        }
+
+        try {
+            switch (String.valueOf(event.getResourceKind())) {
+                case ChangeEvent.COMPANY_PROFILE:
+                    return Optional.of(companySearchUpsertRequestService.createUpdateRequest(id,
+                            objectMapper.treeToValue(event.getData(), Data.class)));
+                case ChangeEvent.OFFICER_APPOINTMENTS:
+                    return Optional.of(officersUpsertRequestService.createUpdateRequest(
+                            objectMapper.treeToValue(event.getData(), AppointmentList.class), id));
+                case ChangeEvent.DISQUALIFIED_OFFICER:
+                    return Optional.of(disqualifiedUpsertRequestService.createUpdateRequest(
+                            objectMapper.treeToValue(event.getData(), OfficerDisqualification.class), id));
+                default:
+                    getLogger().error(String.format("Skipping change event for [%s] of unknown kind [%s]",
+                            id, event.getResourceKind()), logMap);
+                    return Optional.empty();
+            }
+        } catch (IOException | RuntimeException e) {
+            // the same documents are rejected with a 4xx by the PUT endpoints, so retrying would never succeed
+            getLogger().error(String.format("Skipping [%s] change event for [%s] that cannot be converted: %s",
+                    event.getResourceKind(), id, e.getMessage()), logMap);
+            return Optional.empty();
+        }
+    }
+}
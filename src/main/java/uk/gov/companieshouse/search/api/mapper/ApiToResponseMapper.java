@@ -1,12 +1,17 @@
 package uk.gov.companieshouse.search.api.mapper;
 
+import static org.springframework.http.HttpStatus.ACCEPTED;
 import static org.springframework.http.HttpStatus.BAD_REQUEST;
+import static org.springframework.http.HttpStatus.CONFLICT;
 import static org.springframework.http.HttpStatus.INTERNAL_SERVER_ERROR;
 import static org.springframework.http.HttpStatus.NOT_FOUND;
 import static org.springframework.http.HttpStatus.OK;
 import static org.springframework.http.HttpStatus.SERVICE_UNAVAILABLE;
+import static org.springframework.http.HttpStatus.TOO_MANY_REQUESTS;
 import static org.springframework.http.HttpStatus.UNPROCESSABLE_ENTITY;
 
+import java.util.Optional;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Component;
 import uk.gov.companieshouse.environment.EnvironmentReader;
@@ -18,6 +23,8 @@ public class ApiToResponseMapper {
     private final EnvironmentReader environmentReader;
     private static final String MAX_SIZE_PARAM = "MAX_SIZE_PARAM";
     private static final String ADVANCED_SEARCH_MAX_SIZE = "ADVANCED_SEARCH_MAX_SIZE";
+    private static final String WRITE_RETRY_AFTER_SECONDS = "WRITE_RETRY_AFTER_SECONDS";
+    private static final int DEFAULT_WRITE_RETRY_AFTER_SECONDS = 5;
 
     public ApiToResponseMapper(EnvironmentReader environmentReader) {
         this.environmentReader = environmentReader;
@@ -30,6 +37,18 @@ public class ApiToResponseMapper {
             case DOCUMENT_UPSERTED:
             case DOCUMENT_DELETED:
                 return ResponseEntity.status(OK).body(responseObject.getData());
+            case DOCUMENT_JOURNALED:
+                return ResponseEntity.status(ACCEPTED).build();
+            case FULL_DOCUMENT_REQUIRED:
+                return ResponseEntity.status(CONFLICT)
+                        .body("Appointment cannot be updated individually, please upsert the officer's full "
+                            + "appointment list");
+            case WRITE_REJECTED:
+                return ResponseEntity.status(TOO_MANY_REQUESTS)
+                        .header(HttpHeaders.RETRY_AFTER, String.valueOf(Optional.ofNullable(
+                                environmentReader.getOptionalInteger(WRITE_RETRY_AFTER_SECONDS))
+                                .orElse(DEFAULT_WRITE_RETRY_AFTER_SECONDS)))
+                        .build();
             case SEARCH_NOT_FOUND:
             case DELETE_NOT_FOUND:
                 return ResponseEntity.status(NOT_FOUND).build();
@@ -45,6 +64,21 @@ public class ApiToResponseMapper {
                 return ResponseEntity.status(BAD_REQUEST)
                     .body("Error attempting to map request parameter values, please check the values of fields " +
                         "'company_status' or 'company_type' or 'company_subtype' contain accurate values");
+            case REBUILD_STARTED:
+                return ResponseEntity.status(ACCEPTED).build();
+            case REBUILD_IN_PROGRESS:
+                return ResponseEntity.status(CONFLICT).body("An index rebuild is already running");
+            case REBUILD_REQUEST_ERROR:
+                return ResponseEntity.status(BAD_REQUEST)
+                        .body("Rebuild requires an index of 'alphabetical', 'dissolved', 'advanced' or 'primary' and "
+                            + "the name of a dump file in the dump directory");
+            case CONSISTENCY_CHECK_STARTED:
+                return ResponseEntity.status(ACCEPTED).build();
+            case CONSISTENCY_CHECK_IN_PROGRESS:
+                return ResponseEntity.status(CONFLICT).body("A consistency check is already running");
+            case CONSISTENCY_CHECK_REQUEST_ERROR:
+                return ResponseEntity.status(BAD_REQUEST)
+                        .body("Consistency check requires a writable repair directory");
             case REQUEST_PARAMETER_ERROR:
                 return ResponseEntity.status(INTERNAL_SERVER_ERROR)
                         .body("Invalid url parameter for search_type, " +
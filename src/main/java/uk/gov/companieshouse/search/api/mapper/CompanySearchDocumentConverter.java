@@ -1,65 +1,80 @@
 package uk.gov.companieshouse.search.api.mapper;
 
+import static uk.gov.companieshouse.search.api.util.AddressUtils.getROAFullAddressString;
+import static uk.gov.companieshouse.search.api.util.OfficerNameUtils.getCorporateNameEndings;
+
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
-import java.util.stream.Collectors;
-import org.springframework.context.annotation.Lazy;
-import org.springframework.core.convert.ConversionService;
+import java.util.Objects;
+import java.util.Optional;
+import org.apache.commons.lang3.tuple.Pair;
 import org.springframework.core.convert.converter.Converter;
 import org.springframework.stereotype.Component;
 import uk.gov.companieshouse.api.company.Data;
+import uk.gov.companieshouse.api.company.PreviousCompanyNames;
 import uk.gov.companieshouse.search.api.model.esdatamodel.CompanySearchItemConverterModel;
 import uk.gov.companieshouse.search.api.model.esdatamodel.CompanySearchItem;
 import uk.gov.companieshouse.search.api.model.esdatamodel.CompanySearchDocument;
 import uk.gov.companieshouse.search.api.model.esdatamodel.CompanySearchLinks;
 import uk.gov.companieshouse.search.api.model.response.AlphaKeyResponse;
-import uk.gov.companieshouse.search.api.service.AlphaKeyService;
+import uk.gov.companieshouse.search.api.service.StoredAlphaKeyService;
+import uk.gov.companieshouse.search.api.service.StoredAlphaKeyService.StoredIndex;
 
 @Component
 public class CompanySearchDocumentConverter implements Converter<Data, CompanySearchDocument> {
 
-    private final ConversionService companySearchItemConverter;
+    private final CompanySearchItemConverter companySearchItemConverter;
 
-    private final AlphaKeyService alphaKeyService;
+    private final StoredAlphaKeyService storedAlphaKeyService;
 
-    public CompanySearchDocumentConverter(@Lazy ConversionService companySearchItemConverter,
-            AlphaKeyService alphaKeyService) {
+    public CompanySearchDocumentConverter(CompanySearchItemConverter companySearchItemConverter,
+            StoredAlphaKeyService storedAlphaKeyService) {
         this.companySearchItemConverter = companySearchItemConverter;
-        this.alphaKeyService = alphaKeyService;
+        this.storedAlphaKeyService = storedAlphaKeyService;
     }
 
     @Override
     public CompanySearchDocument convert(Data data) {
-        AlphaKeyResponse alphaKeyResponse = alphaKeyService.getAlphaKeyForCorporateName(data.getCompanyName());
+        AlphaKeyResponse alphaKeyResponse = storedAlphaKeyService.getAlphaKey(StoredIndex.PRIMARY,
+                data.getCompanyNumber(), data.getCompanyName());
         String alphaKey = alphaKeyResponse.getOrderedAlphaKey();
 
-        CompanySearchItem firstItem = companySearchItemConverter.convert(
+        // the registered office address and company name are rendered once and shared with the previous name items
+        String fullAddress = data.getRegisteredOfficeAddress() != null
+                ? getROAFullAddressString(data.getRegisteredOfficeAddress()) : null;
+        Pair<String, String> corporateNameEndings = getCorporateNameEndings(data.getCompanyName());
+
+        List<PreviousCompanyNames> previousNames = Optional.ofNullable(data.getPreviousCompanyNames())
+                .orElse(Collections.emptyList());
+        List<CompanySearchItem> items = new ArrayList<>(previousNames.size() + 1);
+
+        items.add(companySearchItemConverter.convert(
                 new CompanySearchItemConverterModel()
                         .partialData(false)
                         .companyName(data.getCompanyName())
+                        .corporateNameEndings(corporateNameEndings)
                         .dateOfCreation(data.getDateOfCreation())
                         .registeredOfficeAddress(data.getRegisteredOfficeAddress())
+                        .fullAddress(fullAddress)
                         .companyNumber(data.getCompanyNumber())
                         .externalRegistrationNumber(data.getExternalRegistrationNumber())
                         .dateOfCessation(data.getDateOfCessation())
                         .sicCodes(data.getSicCodes())
                         .companyStatus(data.getCompanyStatus())
-                        .alphaKey(alphaKey), CompanySearchItem.class);
-
-        List<CompanySearchItem> items = new ArrayList<>();
-        items.add(firstItem);
+                        .alphaKey(alphaKey)));
 
-        if (data.getPreviousCompanyNames() != null) {
-            items.addAll(data.getPreviousCompanyNames().stream().map(
-                    previousName -> companySearchItemConverter.convert(
-                            new CompanySearchItemConverterModel()
-                                    .partialData(true)
-                                    .companyName(previousName.getName())
-                                    .ceasedOn(previousName.getCeasedOn())
-                                    .dateOfCreation(data.getDateOfCreation())
-                                    .registeredOfficeAddress(data.getRegisteredOfficeAddress()),
-                            CompanySearchItem.class))
-                    .collect(Collectors.toList()));
+        for (PreviousCompanyNames previousName : previousNames) {
+            items.add(companySearchItemConverter.convert(
+                    new CompanySearchItemConverterModel()
+                            .partialData(true)
+                            .companyName(previousName.getName())
+                            .corporateNameEndings(Objects.equals(previousName.getName(), data.getCompanyName())
+                                    ? corporateNameEndings : null)
+                            .ceasedOn(previousName.getCeasedOn())
+                            .dateOfCreation(data.getDateOfCreation())
+                            .registeredOfficeAddress(data.getRegisteredOfficeAddress())
+                            .fullAddress(fullAddress)));
         }
 
         return CompanySearchDocument.Builder.builder()
@@ -24,8 +24,10 @@ public class CompanySearchItemConverter implements Converter<CompanySearchItemCo
 
     @Override
     public CompanySearchItem convert(CompanySearchItemConverterModel model) {
-        String renderedFullAddress = getROAFullAddressString(model.getRegisteredOfficeAddress());
-        Pair<String, String> corporateNameEndings = getCorporateNameEndings(model.getCompanyName());
+        String renderedFullAddress = model.getFullAddress() != null
+                ? model.getFullAddress() : getROAFullAddressString(model.getRegisteredOfficeAddress());
+        Pair<String, String> corporateNameEndings = model.getCorporateNameEndings() != null
+                ? model.getCorporateNameEndings() : getCorporateNameEndings(model.getCompanyName());
 
         if (!model.isPartialData() && model.getCeasedOn() == null) {
             return CompanySearchItem.Builder.builder()
@@ -21,6 +21,7 @@ public class OfficerAppointmentSummaryConverter implements
         OfficerAppointmentSummary appointment = converterModel.getOfficerAppointmentSummary();
 
         OfficerSearchAppointment searchAppointment = new OfficerSearchAppointment()
+                .appointmentId(getAppointmentId(appointment))
                 .officerRole(appointment.getOfficerRole().toString())
                 .fullAddress(getFullAddressString(appointment.getAddress()))
                 .appointedOn(appointment.getAppointedOn())
@@ -45,4 +46,16 @@ public class OfficerAppointmentSummaryConverter implements
 
         return searchAppointment;
     }
+
+    /**
+     * The appointment id is the last segment of the appointment's self link,
+     * /company/{company_number}/appointments/{appointment_id}
+     */
+    private static String getAppointmentId(OfficerAppointmentSummary appointment) {
+        return Optional.ofNullable(appointment.getLinks())
+                .map(links -> links.getSelf())
+                .map(self -> self.substring(self.lastIndexOf('/') + 1))
+                .filter(appointmentId -> !appointmentId.isEmpty())
+                .orElse(null);
+    }
 }
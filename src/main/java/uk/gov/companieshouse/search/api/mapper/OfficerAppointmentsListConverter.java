@@ -1,5 +1,7 @@
 package uk.gov.companieshouse.search.api.mapper;
 
+import static uk.gov.companieshouse.search.api.util.OfficerNameUtils.cleanNameElement;
+
 import com.google.common.collect.Iterables;
 import java.time.LocalDate;
 import java.util.Optional;
@@ -19,7 +21,6 @@ import uk.gov.companieshouse.search.api.util.AlphaKeyMapper;
 @Component
 public class OfficerAppointmentsListConverter implements Converter<AppointmentList, OfficerSearchDocument> {
 
-    private static final String CLEAN_NAME_ELEMENTS_REGEX = "^[\\W_]+";
     private final ConversionService officerAppointmentSummaryConverter;
     private final ConversionService appointmentAddressConverter;
     private final AlphaKeyMapper alphaKeyMapper;
@@ -44,13 +45,13 @@ public class OfficerAppointmentsListConverter implements Converter<AppointmentLi
                         .ifPresent(elements -> {
                             Optional.ofNullable(elements.getForename())
                                     .ifPresent(forename -> elements.setForename(
-                                            forename.replaceAll(CLEAN_NAME_ELEMENTS_REGEX, "")));
+                                            cleanNameElement(forename)));
                             Optional.ofNullable(elements.getOtherForenames())
                                     .ifPresent(otherForenames -> elements.setOtherForenames(
-                                            otherForenames.replaceAll(CLEAN_NAME_ELEMENTS_REGEX, "")));
+                                            cleanNameElement(otherForenames)));
                             Optional.ofNullable(elements.getSurname())
                                     .ifPresent(surname -> elements.setSurname(
-                                            surname.replaceAll(CLEAN_NAME_ELEMENTS_REGEX, "")));
+                                            cleanNameElement(surname)));
                         }));
 
         OfficerSearchDocument document = OfficerSearchDocument.Builder.builder()
@@ -0,0 +1,111 @@
+package uk.gov.companieshouse.search.api.mapper;
+
+import static uk.gov.companieshouse.search.api.util.OfficerNameUtils.cleanNameElement;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.google.common.collect.Iterables;
+import java.io.IOException;
+import java.time.LocalDate;
+import java.util.List;
+import org.elasticsearch.common.bytes.BytesReference;
+import org.elasticsearch.common.io.stream.BytesStreamOutput;
+import org.springframework.stereotype.Component;
+import uk.gov.companieshouse.api.officer.Address;
+import uk.gov.companieshouse.api.officer.AppointmentList;
+import uk.gov.companieshouse.api.officer.OfficerAppointmentSummary;
+import uk.gov.companieshouse.search.api.model.esdatamodel.OfficerAppointmentConverterModel;
+import uk.gov.companieshouse.search.api.model.esdatamodel.OfficerSearchAppointment;
+import uk.gov.companieshouse.search.api.model.esdatamodel.OfficerSearchDocument;
+import uk.gov.companieshouse.search.api.model.esdatamodel.OfficerSearchLinks;
+import uk.gov.companieshouse.search.api.util.AlphaKeyMapper;
+
+/**
+ * Converts an officer's appointment list straight into the JSON of its {@link OfficerSearchDocument}, writing each
+ * appointment as soon as it is converted rather than building the whole document first.
+ *
+ * <p>Only one converted appointment is held at a time and the JSON is written to paged bytes that are handed to the
+ * request as they are, so beyond the appointment list itself the memory used does not grow with the number of
+ * appointments. The JSON is the same as {@link OfficerAppointmentsListConverter} followed by serialising the
+ * document, and the appointment list is left unchanged.</p>
+ */
+@Component
+public class OfficerSearchDocumentStreamingConverter {
+
+    private final OfficerAppointmentSummaryConverter officerAppointmentSummaryConverter;
+    private final AppointmentAddressConverter appointmentAddressConverter;
+    private final AlphaKeyMapper alphaKeyMapper;
+    private final ObjectMapper objectMapper;
+    private final ObjectWriter appointmentWriter;
+
+    public OfficerSearchDocumentStreamingConverter(
+            OfficerAppointmentSummaryConverter officerAppointmentSummaryConverter,
+            AppointmentAddressConverter appointmentAddressConverter, AlphaKeyMapper alphaKeyMapper,
+            ObjectMapper objectMapper) {
+        this.officerAppointmentSummaryConverter = officerAppointmentSummaryConverter;
+        this.appointmentAddressConverter = appointmentAddressConverter;
+        this.alphaKeyMapper = alphaKeyMapper;
+        this.objectMapper = objectMapper;
+        this.appointmentWriter = objectMapper.writerFor(OfficerSearchAppointment.class)
+                .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+    }
+
+    /**
+     * @param appointmentList - the officer's appointments
+     * @return the officer search document as UTF-8 JSON
+     * @throws IOException if the document could not be written
+     * @throws java.util.NoSuchElementException if the officer has no appointments
+     */
+    public BytesReference convert(AppointmentList appointmentList) throws IOException {
+        String sortKey = alphaKeyMapper.makeSortKey(appointmentList);
+        List<OfficerAppointmentSummary> items = appointmentList.getItems();
+
+        // appointment list will have the most recently resigned appointment, if one exists, at the end of the list
+        LocalDate lastResignedOn = Iterables.getLast(items).getResignedOn();
+        boolean corporateOfficer = appointmentList.getIsCorporateOfficer();
+
+        BytesStreamOutput output = new BytesStreamOutput();
+        try (JsonGenerator generator = objectMapper.getFactory().createGenerator(output)) {
+            generator.writeStartObject();
+            generator.writeNumberField("active_count", appointmentList.getActiveCount());
+            if (appointmentList.getDateOfBirth() != null) {
+                generator.writeObjectField("date_of_birth", appointmentList.getDateOfBirth());
+            }
+            generator.writeNumberField("inactive_count", appointmentList.getInactiveCount());
+
+            generator.writeArrayFieldStart("items");
+            OfficerAppointmentConverterModel converterModel = new OfficerAppointmentConverterModel()
+                    .lastResignedOn(lastResignedOn)
+                    .corporateOfficer(corporateOfficer);
+            for (int i = 0; i < items.size(); i++) {
+                OfficerAppointmentSummary officerAppointmentSummary = items.get(i);
+                OfficerSearchAppointment appointment = officerAppointmentSummaryConverter.convert(
+                        converterModel.officerAppointmentSummary(officerAppointmentSummary));
+                if (!corporateOfficer && officerAppointmentSummary.getNameElements() != null) {
+                    appointment.forename(cleanNameElement(appointment.getForename()))
+                            .otherForenames(cleanNameElement(appointment.getOtherForenames()))
+                            .surname(cleanNameElement(appointment.getSurname()));
+                }
+                // set address and wildcard key on the first item in the list only
+                if (i == 0) {
+                    Address address = officerAppointmentSummary.getAddress();
+                    appointment.address(address == null ? null : appointmentAddressConverter.convert(address))
+                            .wildcardKey(sortKey);
+                }
+                appointmentWriter.writeValue(generator, appointment);
+            }
+            generator.writeEndArray();
+
+            generator.writeStringField("kind", OfficerSearchDocument.RESOURCE_KIND);
+            generator.writeObjectField("links", new OfficerSearchLinks(appointmentList.getLinks().getSelf()));
+            generator.writeNumberField("resigned_count", appointmentList.getResignedCount());
+            if (sortKey != null) {
+                generator.writeStringField("sort_key", sortKey);
+            }
+            generator.writeEndObject();
+        }
+        return output.bytes();
+    }
+}
@@ -0,0 +1,39 @@
+package uk.gov.companieshouse.search.api.model;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import java.util.ArrayList;
+import java.util.List;
+
+public class BatchDeleteRequest {
+
+    @JsonProperty("company_numbers")
+    private List<String> companyNumbers = new ArrayList<>();
+
+    @JsonProperty("officer_ids")
+    private List<String> officerIds = new ArrayList<>();
+
+    public List<String> getCompanyNumbers() {
+        return companyNumbers;
+    }
+
+    public BatchDeleteRequest companyNumbers(List<String> companyNumbers) {
+        this.companyNumbers = companyNumbers;
+        return this;
+    }
+
+    public List<String> getOfficerIds() {
+        return officerIds;
+    }
+
+    public BatchDeleteRequest officerIds(List<String> officerIds) {
+        this.officerIds = officerIds;
+        return this;
+    }
+
+    /**
+     * @return the number of company numbers and officer ids to delete
+     */
+    public int size() {
+        return (companyNumbers == null ? 0 : companyNumbers.size()) + (officerIds == null ? 0 : officerIds.size());
+    }
+}
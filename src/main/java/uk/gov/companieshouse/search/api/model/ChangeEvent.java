@@ -0,0 +1,68 @@
+package uk.gov.companieshouse.search.api.model;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.databind.JsonNode;
+
+/**
+ * A change to a company, an officer's appointments or a disqualified officer, consumed from Kafka. The data is the
+ * same body the matching PUT endpoint accepts, and is absent when the resource was deleted.
+ */
+@JsonIgnoreProperties(ignoreUnknown = true)
+public class ChangeEvent {
+
+    public static final String COMPANY_PROFILE = "company-profile";
+    public static final String OFFICER_APPOINTMENTS = "officer-appointments";
+    public static final String DISQUALIFIED_OFFICER = "disqualified-officer";
+
+    public static final String CHANGED = "changed";
+    public static final String DELETED = "deleted";
+
+    @JsonProperty("resource_kind")
+    private String resourceKind;
+
+    @JsonProperty("resource_id")
+    private String resourceId;
+
+    @JsonProperty("event_type")
+    private String eventType;
+
+    @JsonProperty("data")
+    private JsonNode data;
+
+    public String getResourceKind() {
+        return resourceKind;
+    }
+
+    public ChangeEvent resourceKind(String resourceKind) {
+        this.resourceKind = resourceKind;
+        return this;
+    }
+
+    public String getResourceId() {
+        return resourceId;
+    }
+
+    public ChangeEvent resourceId(String resourceId) {
+        this.resourceId = resourceId;
+        return this;
+    }
+
+    public String getEventType() {
+        return eventType;
+    }
+
+    public ChangeEvent eventType(String eventType) {
+        this.eventType = eventType;
+        return this;
+    }
+
+    public JsonNode getData() {
+        return data;
+    }
+
+    public ChangeEvent data(JsonNode data) {
+        this.data = data;
+        return this;
+    }
+}
@@ -0,0 +1,47 @@
+package uk.gov.companieshouse.search.api.model;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import java.util.List;
+
+/**
+ * A company the consistency check found missing from, or different in, some of the indices it is written to. Each
+ * repair is written as one line of the repair list, naming the indices the company should be upserted to again.
+ */
+@JsonInclude(JsonInclude.Include.NON_EMPTY)
+public class ConsistencyRepair {
+
+    @JsonProperty("company_number")
+    private final String companyNumber;
+
+    @JsonProperty("missing_from")
+    private final List<String> missingFrom;
+
+    @JsonProperty("mismatched_in")
+    private final List<String> mismatchedIn;
+
+    public ConsistencyRepair(String companyNumber, List<String> missingFrom, List<String> mismatchedIn) {
+        this.companyNumber = companyNumber;
+        this.missingFrom = missingFrom;
+        this.mismatchedIn = mismatchedIn;
+    }
+
+    public String getCompanyNumber() {
+        return companyNumber;
+    }
+
+    /**
+     * @return the indices that hold no document for the company
+     */
+    public List<String> getMissingFrom() {
+        return missingFrom;
+    }
+
+    /**
+     * @return the indices whose document disagrees with the majority of the others, or every index holding the
+     *      company when there is no majority
+     */
+    public List<String> getMismatchedIn() {
+        return mismatchedIn;
+    }
+}
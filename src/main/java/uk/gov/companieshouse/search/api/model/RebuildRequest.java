@@ -0,0 +1,21 @@
+package uk.gov.companieshouse.search.api.model;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+public class RebuildRequest {
+
+    @JsonProperty("dump")
+    private String dump;
+
+    /**
+     * @return the name of the NDJSON dump file, relative to the configured dump directory
+     */
+    public String getDump() {
+        return dump;
+    }
+
+    public RebuildRequest dump(String dump) {
+        this.dump = dump;
+        return this;
+    }
+}
@@ -4,6 +4,7 @@ import java.time.LocalDate;
 import java.util.List;
 
 import java.util.Objects;
+import org.apache.commons.lang3.tuple.Pair;
 import uk.gov.companieshouse.api.company.RegisteredOfficeAddress;
 
 public class CompanySearchItemConverterModel {
@@ -30,6 +31,10 @@ public class CompanySearchItemConverterModel {
 
     private String alphaKey;
 
+    private String fullAddress;
+
+    private Pair<String, String> corporateNameEndings;
+
     public boolean isPartialData() {
         return partialData;
     }
@@ -74,6 +79,14 @@ public class CompanySearchItemConverterModel {
         return alphaKey;
     }
 
+    public String getFullAddress() {
+        return fullAddress;
+    }
+
+    public Pair<String, String> getCorporateNameEndings() {
+        return corporateNameEndings;
+    }
+
     public CompanySearchItemConverterModel partialData(boolean partialData) {
         this.partialData = partialData;
         return this;
@@ -129,6 +142,22 @@ public class CompanySearchItemConverterModel {
         return this;
     }
 
+    /**
+     * @param fullAddress - the registered office address already rendered for another item of the same document
+     */
+    public CompanySearchItemConverterModel fullAddress(String fullAddress) {
+        this.fullAddress = fullAddress;
+        return this;
+    }
+
+    /**
+     * @param corporateNameEndings - the company name already split for another item of the same document
+     */
+    public CompanySearchItemConverterModel corporateNameEndings(Pair<String, String> corporateNameEndings) {
+        this.corporateNameEndings = corporateNameEndings;
+        return this;
+    }
+
     @Override
     public boolean equals(Object o) {
         if (this == o) {
@@ -144,13 +173,16 @@ public class CompanySearchItemConverterModel {
                 && Objects.equals(sicCodes, that.sicCodes) && Objects.equals(registeredOfficeAddress,
                 that.registeredOfficeAddress) && Objects.equals(ceasedOn, that.ceasedOn)
                 && Objects.equals(dateOfCessation, that.dateOfCessation) && Objects.equals(
-                dateOfCreation, that.dateOfCreation) && Objects.equals(alphaKey, that.alphaKey);
+                dateOfCreation, that.dateOfCreation) && Objects.equals(alphaKey, that.alphaKey)
+                && Objects.equals(fullAddress, that.fullAddress)
+                && Objects.equals(corporateNameEndings, that.corporateNameEndings);
     }
 
     @Override
     public int hashCode() {
         return Objects.hash(partialData, companyName, companyNumber, companyStatus, externalRegistrationNumber,
                 sicCodes,
-                registeredOfficeAddress, ceasedOn, dateOfCessation, dateOfCreation, alphaKey);
+                registeredOfficeAddress, ceasedOn, dateOfCessation, dateOfCreation, alphaKey, fullAddress,
+                corporateNameEndings);
     }
 }
@@ -9,6 +9,8 @@ public class OfficerSearchAppointment {
     private static final String RECORD_TYPE = "officers";
     @JsonProperty("address")
     private AppointmentAddress address;
+    @JsonProperty("appointment_id")
+    private String appointmentId;
     @JsonProperty("appointed_before")
     private LocalDate appointedBefore;
     @JsonProperty("appointed_on")
@@ -55,6 +57,15 @@ public class OfficerSearchAppointment {
         return this;
     }
 
+    public String getAppointmentId() {
+        return appointmentId;
+    }
+
+    public OfficerSearchAppointment appointmentId(String appointmentId) {
+        this.appointmentId = appointmentId;
+        return this;
+    }
+
     public LocalDate getAppointedBefore() {
         return appointedBefore;
     }
@@ -203,7 +214,8 @@ public class OfficerSearchAppointment {
             return false;
         }
         OfficerSearchAppointment that = (OfficerSearchAppointment) o;
-        return Objects.equals(address, that.address) && Objects.equals(appointedBefore,
+        return Objects.equals(address, that.address) && Objects.equals(appointmentId, that.appointmentId)
+                && Objects.equals(appointedBefore,
                 that.appointedBefore) && Objects.equals(appointedOn, that.appointedOn)
                 && Objects.equals(corporateNameStart, that.corporateNameStart) && Objects.equals(
                 corporateNameEnding, that.corporateNameEnding) && Objects.equals(forename, that.forename)
@@ -218,16 +230,16 @@ public class OfficerSearchAppointment {
 
     @Override
     public int hashCode() {
-        return Objects.hash(address, appointedBefore, appointedOn, corporateNameStart, corporateNameEnding, forename,
-                fullAddress, lastResignedOn, officerRole, otherForenames, personName, personTitleName, resignedOn,
-                surname,
-                title, wildcardKey, recordType);
+        return Objects.hash(address, appointmentId, appointedBefore, appointedOn, corporateNameStart,
+                corporateNameEnding, forename, fullAddress, lastResignedOn, officerRole, otherForenames, personName,
+                personTitleName, resignedOn, surname, title, wildcardKey, recordType);
     }
 
     @Override
     public String toString() {
         return "OfficerSearchAppointment{" +
                 "address=" + address +
+                ", appointmentId='" + appointmentId + '\'' +
                 ", appointedBefore=" + appointedBefore +
                 ", appointedOn=" + appointedOn +
                 ", corporateNameStart='" + corporateNameStart + '\'' +
@@ -0,0 +1,64 @@
+package uk.gov.companieshouse.search.api.model.response;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Outcome of a batch delete for each company number, per index, and for each officer id
+ */
+@JsonInclude(JsonInclude.Include.NON_EMPTY)
+public class BatchDeleteResults {
+
+    public static final String ALPHABETICAL = "alphabetical";
+    public static final String ADVANCED = "advanced";
+    public static final String PRIMARY = "primary";
+
+    @JsonProperty("companies")
+    private final Map<String, Map<String, ResponseStatus>> companies = new LinkedHashMap<>();
+
+    @JsonProperty("officers")
+    private final Map<String, ResponseStatus> officers = new LinkedHashMap<>();
+
+    public Map<String, Map<String, ResponseStatus>> getCompanies() {
+        return companies;
+    }
+
+    public Map<String, ResponseStatus> getOfficers() {
+        return officers;
+    }
+
+    public BatchDeleteResults company(String companyNumber, String index, ResponseStatus status) {
+        companies.computeIfAbsent(companyNumber, key -> new LinkedHashMap<>()).put(index, status);
+        return this;
+    }
+
+    public BatchDeleteResults officer(String officerId, ResponseStatus status) {
+        officers.put(officerId, status);
+        return this;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (o == null || getClass() != o.getClass()) {
+            return false;
+        }
+        BatchDeleteResults that = (BatchDeleteResults) o;
+        return Objects.equals(companies, that.companies) && Objects.equals(officers, that.officers);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(companies, officers);
+    }
+
+    @Override
+    public String toString() {
+        return "BatchDeleteResults{companies=" + companies + ", officers=" + officers + '}';
+    }
+}
@@ -0,0 +1,117 @@
+package uk.gov.companieshouse.search.api.model.response;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Progress of one consistency check, updated as it runs
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class ConsistencyCheckProgress {
+
+    public enum State {
+        RUNNING,
+        FINISHED,
+        FAILED
+    }
+
+    private final String repairList;
+    private final Instant startedAt = Instant.now();
+    private final Map<String, LongAdder> documentsRead = new ConcurrentHashMap<>();
+    private final AtomicLong companiesChecked = new AtomicLong();
+    private final AtomicLong repairs = new AtomicLong();
+
+    private volatile State state = State.RUNNING;
+    private volatile String message;
+    private volatile Instant finishedAt;
+
+    /**
+     * @param repairList - the name of the file the repairs are written to
+     */
+    public ConsistencyCheckProgress(String repairList) {
+        this.repairList = repairList;
+    }
+
+    @JsonProperty("repair_list")
+    public String getRepairList() {
+        return repairList;
+    }
+
+    @JsonProperty("state")
+    public State getState() {
+        return state;
+    }
+
+    @JsonProperty("message")
+    public String getMessage() {
+        return message;
+    }
+
+    @JsonProperty("started_at")
+    public String getStartedAt() {
+        return startedAt.toString();
+    }
+
+    /**
+     * @return the documents read from each index so far
+     */
+    @JsonProperty("documents_read")
+    public Map<String, Long> getDocumentsRead() {
+        Map<String, Long> read = new TreeMap<>();
+        documentsRead.forEach((index, documents) -> read.put(index, documents.sum()));
+        return read;
+    }
+
+    @JsonProperty("companies_checked")
+    public long getCompaniesChecked() {
+        return companiesChecked.get();
+    }
+
+    @JsonProperty("repairs")
+    public long getRepairs() {
+        return repairs.get();
+    }
+
+    /**
+     * @return companies checked per second since the check started, or until it finished
+     */
+    @JsonProperty("companies_per_second")
+    public long getCompaniesPerSecond() {
+        long millis = Duration.between(startedAt, finishedAt == null ? Instant.now() : finishedAt).toMillis();
+        return millis == 0 ? 0 : companiesChecked.get() * 1000 / millis;
+    }
+
+    /**
+     * @return the counter of the documents read from the given index, to be added to by the threads reading it
+     */
+    public LongAdder documentsRead(String index) {
+        return documentsRead.computeIfAbsent(index, name -> new LongAdder());
+    }
+
+    public void checked(long companies) {
+        companiesChecked.addAndGet(companies);
+    }
+
+    public void repaired(long companies) {
+        repairs.addAndGet(companies);
+    }
+
+    public void state(State state) {
+        this.state = state;
+        if (state != State.RUNNING) {
+            finishedAt = Instant.now();
+        }
+    }
+
+    public void fail(String message) {
+        this.message = message;
+        state(State.FAILED);
+    }
+}
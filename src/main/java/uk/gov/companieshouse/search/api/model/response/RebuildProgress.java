@@ -0,0 +1,143 @@
+package uk.gov.companieshouse.search.api.model.response;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Progress of one index rebuild, updated by the loader threads as it runs
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class RebuildProgress {
+
+    /**
+     * The steps of a rebuild, in order. A rebuild that fails stops at FAILED with the alias unchanged.
+     */
+    public enum State {
+        CREATING,
+        LOADING,
+        RESTORING,
+        CHECKING,
+        SWAPPED,
+        FAILED
+    }
+
+    private final String alias;
+    private final String dump;
+    private final Instant startedAt = Instant.now();
+    private final AtomicLong documentsRead = new AtomicLong();
+    private final AtomicLong documentsIndexed = new AtomicLong();
+    private final AtomicLong documentsFailed = new AtomicLong();
+    private final AtomicLong documentsReplaced = new AtomicLong();
+
+    private volatile State state = State.CREATING;
+    private volatile String index;
+    private volatile String message;
+    private volatile Instant finishedAt;
+
+    public RebuildProgress(String alias, String dump) {
+        this.alias = alias;
+        this.dump = dump;
+    }
+
+    @JsonProperty("alias")
+    public String getAlias() {
+        return alias;
+    }
+
+    @JsonProperty("dump")
+    public String getDump() {
+        return dump;
+    }
+
+    @JsonProperty("index")
+    public String getIndex() {
+        return index;
+    }
+
+    @JsonProperty("state")
+    public State getState() {
+        return state;
+    }
+
+    @JsonProperty("message")
+    public String getMessage() {
+        return message;
+    }
+
+    @JsonProperty("started_at")
+    public String getStartedAt() {
+        return startedAt.toString();
+    }
+
+    @JsonProperty("documents_read")
+    public long getDocumentsRead() {
+        return documentsRead.get();
+    }
+
+    @JsonProperty("documents_indexed")
+    public long getDocumentsIndexed() {
+        return documentsIndexed.get();
+    }
+
+    @JsonProperty("documents_failed")
+    public long getDocumentsFailed() {
+        return documentsFailed.get();
+    }
+
+    /**
+     * @return documents of the dump not loaded because the new index already held them, from earlier in the dump or
+     *      from a live write
+     */
+    @JsonProperty("documents_replaced")
+    public long getDocumentsReplaced() {
+        return documentsReplaced.get();
+    }
+
+    /**
+     * @return documents indexed per second since the rebuild started, or until it finished
+     */
+    @JsonProperty("documents_per_second")
+    public long getDocumentsPerSecond() {
+        long millis = Duration.between(startedAt, finishedAt == null ? Instant.now() : finishedAt).toMillis();
+        return millis == 0 ? 0 : documentsIndexed.get() * 1000 / millis;
+    }
+
+    public boolean isFinished() {
+        return state == State.SWAPPED || state == State.FAILED;
+    }
+
+    public void read(long documents) {
+        documentsRead.addAndGet(documents);
+    }
+
+    public void indexed(long documents) {
+        documentsIndexed.addAndGet(documents);
+    }
+
+    public void failed(long documents) {
+        documentsFailed.addAndGet(documents);
+    }
+
+    public void replaced(long documents) {
+        documentsReplaced.addAndGet(documents);
+    }
+
+    public void index(String index) {
+        this.index = index;
+    }
+
+    public void state(State state) {
+        this.state = state;
+        if (isFinished()) {
+            finishedAt = Instant.now();
+        }
+    }
+
+    public void fail(String message) {
+        this.message = message;
+        state(State.FAILED);
+    }
+}
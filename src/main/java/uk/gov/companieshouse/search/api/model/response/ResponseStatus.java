@@ -11,9 +11,18 @@ public enum ResponseStatus {
     DELETE_REQUEST_ERROR,
     DOCUMENT_UPSERTED,
     DOCUMENT_DELETED,
+    DOCUMENT_JOURNALED,
+    WRITE_REJECTED,
+    FULL_DOCUMENT_REQUIRED,
     DELETE_NOT_FOUND,
     SIZE_PARAMETER_ERROR,
     ADVANCED_SIZE_PARAMETER_ERROR,
     DATE_FORMAT_ERROR,
-    MAPPING_ERROR
+    MAPPING_ERROR,
+    REBUILD_STARTED,
+    REBUILD_IN_PROGRESS,
+    REBUILD_REQUEST_ERROR,
+    CONSISTENCY_CHECK_STARTED,
+    CONSISTENCY_CHECK_IN_PROGRESS,
+    CONSISTENCY_CHECK_REQUEST_ERROR
 }
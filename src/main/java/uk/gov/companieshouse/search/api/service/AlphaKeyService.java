@@ -10,6 +10,13 @@ import uk.gov.companieshouse.logging.util.DataMap;
 import uk.gov.companieshouse.search.api.logging.LoggingUtils;
 import uk.gov.companieshouse.search.api.model.response.AlphaKeyResponse;
 import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
 
 @Service
 public class AlphaKeyService {
@@ -21,6 +28,45 @@ public class AlphaKeyService {
     private EnvironmentReader environmentReader;
 
     private static final String ALPHAKEY_SERVICE_URL = "ALPHAKEY_SERVICE_URL";
+    private static final String ALPHAKEY_SERVICE_THREADS = "ALPHAKEY_SERVICE_THREADS";
+    private static final int DEFAULT_ALPHAKEY_SERVICE_THREADS = 16;
+
+    private ExecutorService executor;
+
+    /**
+     * Start the threads the alphakey service is called on for searches that do not block the request thread, as the
+     * rest template blocks until the alphakey service responds
+     */
+    @PostConstruct
+    public void start() {
+        int threads = Optional.ofNullable(environmentReader.getOptionalInteger(ALPHAKEY_SERVICE_THREADS))
+                .filter(value -> value > 0)
+                .orElse(DEFAULT_ALPHAKEY_SERVICE_THREADS);
+        AtomicInteger count = new AtomicInteger();
+        executor = Executors.newFixedThreadPool(threads, runnable -> {
+            Thread thread = new Thread(runnable, "alphakey-service-" + count.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @PreDestroy
+    public void stop() {
+        if (executor != null) {
+            executor.shutdownNow();
+        }
+    }
+
+    /**
+     * Get the alphakey for a corporate name on one of the alphakey service threads
+     *
+     * @param corporateName - the corporate name to get the alphakey for
+     * @return CompletableFuture - completed with the alphakey, or with null if the alphakey service could not be
+     *      called
+     */
+    public CompletableFuture<AlphaKeyResponse> getAlphaKeyForCorporateNameAsync(String corporateName) {
+        return CompletableFuture.supplyAsync(() -> getAlphaKeyForCorporateName(corporateName), executor);
+    }
 
     public AlphaKeyResponse getAlphaKeyForCorporateName(String corporateName){
         String alphaKeyUrl = environmentReader.getMandatoryString(ALPHAKEY_SERVICE_URL) + corporateName.replace("&", "AND");
@@ -0,0 +1,256 @@
+package uk.gov.companieshouse.search.api.service;
+
+import static uk.gov.companieshouse.search.api.util.OfficerNameUtils.getCorporateNameEndings;
+
+import java.io.IOException;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.stream.Collectors;
+import org.apache.commons.lang3.StringUtils;
+import org.apache.commons.lang3.tuple.Pair;
+import org.elasticsearch.ElasticsearchException;
+import org.elasticsearch.action.get.GetResponse;
+import org.elasticsearch.action.get.MultiGetItemResponse;
+import org.elasticsearch.action.get.MultiGetRequest;
+import org.elasticsearch.action.get.MultiGetResponse;
+import org.elasticsearch.search.fetch.subphase.FetchSourceContext;
+import org.springframework.stereotype.Service;
+import uk.gov.companieshouse.logging.util.DataMap;
+import uk.gov.companieshouse.search.api.logging.LoggingUtils;
+import uk.gov.companieshouse.search.api.model.response.AlphaKeyResponse;
+import uk.gov.companieshouse.search.api.service.rest.RestClientService;
+import uk.gov.companieshouse.search.api.service.rest.impl.AdvancedSearchRestClientService;
+import uk.gov.companieshouse.search.api.service.rest.impl.AlphabeticalSearchRestClientService;
+import uk.gov.companieshouse.search.api.service.rest.impl.PrimarySearchRestClientService;
+import uk.gov.companieshouse.search.api.util.ConfiguredIndexNamesProvider;
+
+/**
+ * Resolves the alpha keys for a company, reusing the keys already indexed against the company's document when the
+ * company name has not changed. The alpha key service is only called for new documents and for name changes.
+ */
+@Service
+public class StoredAlphaKeyService {
+
+    private static final String PRIMARY_TYPE = "primary_search";
+    private static final int MULTI_GET_BATCH_SIZE = 100;
+
+    private static final String ITEMS_KEY = "items";
+    private static final String CURRENT_COMPANY_KEY = "current_company";
+    private static final String CORPORATE_NAME_KEY = "corporate_name";
+    private static final String CORPORATE_NAME_START_KEY = "corporate_name_start";
+    private static final String CORPORATE_NAME_ENDING_KEY = "corporate_name_ending";
+    private static final String ORDERED_ALPHA_KEY_KEY = "ordered_alpha_key";
+    private static final String WILDCARD_KEY = "wildcard_key";
+    private static final String SAME_AS_KEY = "same_as_key";
+    private static final String SORT_KEY = "sort_key";
+
+    private static final String[] ALPHABETICAL_INCLUDES = {"items.corporate_name", "items.ordered_alpha_key"};
+    private static final String[] ADVANCED_INCLUDES = {"current_company.corporate_name",
+            "current_company.wildcard_key", "current_company.same_as_key"};
+    private static final String[] PRIMARY_INCLUDES = {"sort_key", "items.corporate_name_start",
+            "items.corporate_name_ending"};
+
+    /**
+     * The indices holding company documents from which stored alpha keys can be read.
+     */
+    public enum StoredIndex {
+        ALPHABETICAL,
+        ADVANCED,
+        PRIMARY
+    }
+
+    private final AlphaKeyService alphaKeyService;
+    private final AlphabeticalSearchRestClientService alphabeticalSearchRestClientService;
+    private final AdvancedSearchRestClientService advancedSearchRestClientService;
+    private final PrimarySearchRestClientService primarySearchRestClientService;
+    private final ConfiguredIndexNamesProvider indices;
+
+    public StoredAlphaKeyService(AlphaKeyService alphaKeyService,
+            AlphabeticalSearchRestClientService alphabeticalSearchRestClientService,
+            AdvancedSearchRestClientService advancedSearchRestClientService,
+            PrimarySearchRestClientService primarySearchRestClientService,
+            ConfiguredIndexNamesProvider indices) {
+        this.alphaKeyService = alphaKeyService;
+        this.alphabeticalSearchRestClientService = alphabeticalSearchRestClientService;
+        this.advancedSearchRestClientService = advancedSearchRestClientService;
+        this.primarySearchRestClientService = primarySearchRestClientService;
+        this.indices = indices;
+    }
+
+    /**
+     * Get the alpha keys for a single company document
+     *
+     * @param storedIndex - index the company document is stored in
+     * @param companyNumber - id of the company document
+     * @param companyName - incoming name of the company
+     * @return {@link AlphaKeyResponse} or null if the alpha key service could not be reached
+     */
+    public AlphaKeyResponse getAlphaKey(StoredIndex storedIndex, String companyNumber, String companyName) {
+        return getAlphaKeys(storedIndex, Collections.singletonMap(companyNumber, companyName)).get(companyNumber);
+    }
+
+    /**
+     * Get the alpha keys for several company documents, reading the stored documents in batched multi-gets
+     *
+     * @param storedIndex - index the company documents are stored in
+     * @param companyNamesById - incoming company names keyed by document id
+     * @return alpha keys keyed by document id, with no entry for ids the alpha key service could not resolve
+     */
+    public Map<String, AlphaKeyResponse> getAlphaKeys(StoredIndex storedIndex, Map<String, String> companyNamesById) {
+        Map<String, AlphaKeyResponse> alphaKeys = new HashMap<>();
+        List<String> ids = companyNamesById.keySet().stream()
+                .filter(Objects::nonNull)
+                .collect(Collectors.toList());
+
+        for (int from = 0; from < ids.size(); from += MULTI_GET_BATCH_SIZE) {
+            List<String> batch = ids.subList(from, Math.min(from + MULTI_GET_BATCH_SIZE, ids.size()));
+            alphaKeys.putAll(getStoredAlphaKeys(storedIndex, batch, companyNamesById));
+        }
+
+        companyNamesById.forEach((id, companyName) -> {
+            if (!alphaKeys.containsKey(id)) {
+                AlphaKeyResponse alphaKeyResponse = alphaKeyService.getAlphaKeyForCorporateName(companyName);
+                if (alphaKeyResponse != null) {
+                    alphaKeys.put(id, alphaKeyResponse);
+                }
+            }
+        });
+        return alphaKeys;
+    }
+
+    private Map<String, AlphaKeyResponse> getStoredAlphaKeys(StoredIndex storedIndex, List<String> ids,
+            Map<String, String> companyNamesById) {
+        Map<String, AlphaKeyResponse> storedAlphaKeys = new HashMap<>();
+
+        MultiGetRequest multiGetRequest = new MultiGetRequest();
+        ids.forEach(id -> multiGetRequest.add(createItem(storedIndex, id)));
+
+        MultiGetResponse multiGetResponse;
+        try {
+            multiGetResponse = getRestClientService(storedIndex).multiGet(multiGetRequest);
+        } catch (IOException | ElasticsearchException e) {
+            Map<String, Object> logMap = new DataMap.Builder()
+                    .indexName(getIndexName(storedIndex))
+                    .build().getLogMap();
+            LoggingUtils.getLogger().error("Unable to read stored alpha keys, falling back to alphakey service",
+                    logMap);
+            return storedAlphaKeys;
+        }
+
+        for (MultiGetItemResponse itemResponse : multiGetResponse.getResponses()) {
+            GetResponse getResponse = itemResponse.getResponse();
+            if (itemResponse.isFailed() || getResponse == null || !getResponse.isExists()) {
+                continue;
+            }
+            AlphaKeyResponse alphaKeyResponse = readStoredAlphaKey(storedIndex, getResponse.getSourceAsMap(),
+                    companyNamesById.get(itemResponse.getId()));
+            if (alphaKeyResponse != null) {
+                storedAlphaKeys.put(itemResponse.getId(), alphaKeyResponse);
+            }
+        }
+        return storedAlphaKeys;
+    }
+
+    private MultiGetRequest.Item createItem(StoredIndex storedIndex, String id) {
+        switch (storedIndex) {
+            case ALPHABETICAL:
+                return new MultiGetRequest.Item(indices.alphabetical(), id)
+                        .fetchSourceContext(new FetchSourceContext(true, ALPHABETICAL_INCLUDES, null));
+            case ADVANCED:
+                return new MultiGetRequest.Item(indices.advanced(), id)
+                        .fetchSourceContext(new FetchSourceContext(true, ADVANCED_INCLUDES, null));
+            default:
+                return new MultiGetRequest.Item(indices.primary(), PRIMARY_TYPE, id)
+                        .fetchSourceContext(new FetchSourceContext(true, PRIMARY_INCLUDES, null));
+        }
+    }
+
+    private RestClientService getRestClientService(StoredIndex storedIndex) {
+        switch (storedIndex) {
+            case ALPHABETICAL:
+                return alphabeticalSearchRestClientService;
+            case ADVANCED:
+                return advancedSearchRestClientService;
+            default:
+                return primarySearchRestClientService;
+        }
+    }
+
+    private String getIndexName(StoredIndex storedIndex) {
+        switch (storedIndex) {
+            case ALPHABETICAL:
+                return indices.alphabetical();
+            case ADVANCED:
+                return indices.advanced();
+            default:
+                return indices.primary();
+        }
+    }
+
+    /**
+     * Read the alpha keys from a stored document, returning null if the stored name differs from the incoming name
+     * or the stored keys are missing
+     */
+    private AlphaKeyResponse readStoredAlphaKey(StoredIndex storedIndex, Map<String, Object> source,
+            String companyName) {
+        if (source == null || companyName == null) {
+            return null;
+        }
+        switch (storedIndex) {
+            case ALPHABETICAL:
+                return readAlphabeticalAlphaKey(source, companyName);
+            case ADVANCED:
+                return readAdvancedAlphaKey(source, companyName);
+            default:
+                return readPrimaryAlphaKey(source, companyName);
+        }
+    }
+
+    private AlphaKeyResponse readAlphabeticalAlphaKey(Map<String, Object> source, String companyName) {
+        Map<String, Object> items = (Map<String, Object>) source.get(ITEMS_KEY);
+        if (items == null || !companyName.equals(items.get(CORPORATE_NAME_KEY))) {
+            return null;
+        }
+        return createResponse((String) items.get(ORDERED_ALPHA_KEY_KEY), null);
+    }
+
+    private AlphaKeyResponse readAdvancedAlphaKey(Map<String, Object> source, String companyName) {
+        Map<String, Object> currentCompany = (Map<String, Object>) source.get(CURRENT_COMPANY_KEY);
+        if (currentCompany == null || !companyName.equals(currentCompany.get(CORPORATE_NAME_KEY))) {
+            return null;
+        }
+        String sameAsKey = (String) currentCompany.get(SAME_AS_KEY);
+        if (StringUtils.isEmpty(sameAsKey)) {
+            return null;
+        }
+        return createResponse((String) currentCompany.get(WILDCARD_KEY), sameAsKey);
+    }
+
+    private AlphaKeyResponse readPrimaryAlphaKey(Map<String, Object> source, String companyName) {
+        List<Map<String, Object>> items = (List<Map<String, Object>>) source.get(ITEMS_KEY);
+        if (items == null || items.isEmpty()) {
+            return null;
+        }
+        // the current name is always the first item, split into its name start and corporate ending
+        Pair<String, String> nameEndings = getCorporateNameEndings(companyName);
+        Map<String, Object> currentItem = items.get(0);
+        if (!nameEndings.getLeft().equals(currentItem.get(CORPORATE_NAME_START_KEY))
+                || !nameEndings.getRight().equals(currentItem.get(CORPORATE_NAME_ENDING_KEY))) {
+            return null;
+        }
+        return createResponse(StringUtils.removeEnd((String) source.get(SORT_KEY), "0"), null);
+    }
+
+    private AlphaKeyResponse createResponse(String orderedAlphaKey, String sameAsAlphaKey) {
+        if (StringUtils.isEmpty(orderedAlphaKey)) {
+            return null;
+        }
+        AlphaKeyResponse alphaKeyResponse = new AlphaKeyResponse();
+        alphaKeyResponse.setOrderedAlphaKey(orderedAlphaKey);
+        alphaKeyResponse.setSameAsAlphaKey(sameAsAlphaKey);
+        return alphaKeyResponse;
+    }
+}
@@ -0,0 +1,48 @@
+package uk.gov.companieshouse.search.api.service.consistency;
+
+/**
+ * The company number of a document and a 64 bit hash of the fields every index holds for the company: its name,
+ * status and type. Two documents with the same fingerprint agree on all of those fields, barring a hash collision.
+ */
+final class CompanyFingerprint {
+
+    private static final long FNV_OFFSET_BASIS = 0xcbf29ce484222325L;
+    private static final long FNV_PRIME = 0x100000001b3L;
+    private static final char SEPARATOR = '\u0000';
+    private static final char ABSENT = '\u0001';
+
+    private final String companyNumber;
+    private final long fingerprint;
+
+    CompanyFingerprint(String companyNumber, long fingerprint) {
+        this.companyNumber = companyNumber;
+        this.fingerprint = fingerprint;
+    }
+
+    /**
+     * @param companyNumber - the company number the document is sorted by
+     * @param fields - the shared fields, in the same order for every index
+     */
+    static CompanyFingerprint of(String companyNumber, String... fields) {
+        long hash = FNV_OFFSET_BASIS;
+        for (String field : fields) {
+            if (field == null) {
+                hash = (hash ^ ABSENT) * FNV_PRIME;
+            } else {
+                for (int i = 0; i < field.length(); i++) {
+                    hash = (hash ^ field.charAt(i)) * FNV_PRIME;
+                }
+            }
+            hash = (hash ^ SEPARATOR) * FNV_PRIME;
+        }
+        return new CompanyFingerprint(companyNumber, hash);
+    }
+
+    String getCompanyNumber() {
+        return companyNumber;
+    }
+
+    long getFingerprint() {
+        return fingerprint;
+    }
+}
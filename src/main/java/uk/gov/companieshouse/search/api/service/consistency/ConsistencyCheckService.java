@@ -0,0 +1,277 @@
+package uk.gov.companieshouse.search.api.service.consistency;
+
+import static uk.gov.companieshouse.search.api.logging.LoggingUtils.getLogger;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.ToLongFunction;
+import org.springframework.stereotype.Service;
+import uk.gov.companieshouse.environment.EnvironmentReader;
+import uk.gov.companieshouse.search.api.model.ConsistencyRepair;
+import uk.gov.companieshouse.search.api.model.response.ConsistencyCheckProgress;
+import uk.gov.companieshouse.search.api.model.response.ConsistencyCheckProgress.State;
+import uk.gov.companieshouse.search.api.model.response.ResponseStatus;
+import uk.gov.companieshouse.search.api.service.rest.RestClientService;
+import uk.gov.companieshouse.search.api.service.rest.impl.AdvancedSearchRestClientService;
+import uk.gov.companieshouse.search.api.service.rest.impl.AlphabeticalSearchRestClientService;
+import uk.gov.companieshouse.search.api.service.rest.impl.PrimarySearchRestClientService;
+import uk.gov.companieshouse.search.api.util.ConfiguredIndexNamesProvider;
+
+/**
+ * Checks that every company is in the alphabetical, advanced and primary indices, with the same name, status and
+ * type in each, and writes a repair list of the companies that are not.
+ *
+ * <p>Each index is read in company number order by parallel sliced scrolls, and the three ordered streams of
+ * fingerprints are merge-joined, so memory use depends on the number of slices and the scroll size and not on the
+ * number of companies. The repair list is written to the repair directory as NDJSON, one
+ * {@link ConsistencyRepair} per line, naming the indices each company should be upserted to again.</p>
+ */
+@Service
+public class ConsistencyCheckService {
+
+    private static final String REPAIR_DIRECTORY_ENVIRONMENT_VARIABLE = "CONSISTENCY_CHECK_REPAIR_DIRECTORY";
+    private static final String SLICES_ENVIRONMENT_VARIABLE = "CONSISTENCY_CHECK_SLICES";
+    private static final String SCROLL_SIZE_ENVIRONMENT_VARIABLE = "CONSISTENCY_CHECK_SCROLL_SIZE";
+    private static final String PROGRESS_INTERVAL_ENVIRONMENT_VARIABLE = "CONSISTENCY_CHECK_LOG_INTERVAL_SECONDS";
+    private static final int DEFAULT_SLICES = 4;
+    private static final int DEFAULT_SCROLL_SIZE = 5000;
+    private static final int DEFAULT_PROGRESS_INTERVAL_SECONDS = 30;
+
+    private static final DateTimeFormatter REPAIR_LIST_SUFFIX = DateTimeFormatter.ofPattern("yyyyMMddHHmmss");
+
+    private final ConfiguredIndexNamesProvider indices;
+    private final Map<ConsistencyIndex, RestClientService> restClientServices = new EnumMap<>(ConsistencyIndex.class);
+    private final ObjectMapper objectMapper;
+    private final Path repairDirectory;
+    private final int slices;
+    private final int scrollSize;
+    private final int progressIntervalSeconds;
+    private final AtomicBoolean running = new AtomicBoolean();
+    private final AtomicReference<ConsistencyCheckProgress> progress = new AtomicReference<>();
+
+    public ConsistencyCheckService(ConfiguredIndexNamesProvider indices,
+            AlphabeticalSearchRestClientService alphabeticalSearchRestClientService,
+            AdvancedSearchRestClientService advancedSearchRestClientService,
+            PrimarySearchRestClientService primarySearchRestClientService,
+            ObjectMapper objectMapper, EnvironmentReader environmentReader, MeterRegistry meterRegistry) {
+        this.indices = indices;
+        restClientServices.put(ConsistencyIndex.ALPHABETICAL, alphabeticalSearchRestClientService);
+        restClientServices.put(ConsistencyIndex.ADVANCED, advancedSearchRestClientService);
+        restClientServices.put(ConsistencyIndex.PRIMARY, primarySearchRestClientService);
+        this.objectMapper = objectMapper;
+        this.repairDirectory = Optional.ofNullable(
+                environmentReader.getOptionalString(REPAIR_DIRECTORY_ENVIRONMENT_VARIABLE))
+                .map(directory -> Paths.get(directory).toAbsolutePath().normalize())
+                .orElse(null);
+        this.slices = Optional.ofNullable(environmentReader.getOptionalInteger(SLICES_ENVIRONMENT_VARIABLE))
+                .orElse(DEFAULT_SLICES);
+        this.scrollSize = Optional.ofNullable(environmentReader.getOptionalInteger(SCROLL_SIZE_ENVIRONMENT_VARIABLE))
+                .orElse(DEFAULT_SCROLL_SIZE);
+        this.progressIntervalSeconds = Optional.ofNullable(
+                environmentReader.getOptionalInteger(PROGRESS_INTERVAL_ENVIRONMENT_VARIABLE))
+                .orElse(DEFAULT_PROGRESS_INTERVAL_SECONDS);
+
+        registerCompanyGauge(meterRegistry, "checked", ConsistencyCheckProgress::getCompaniesChecked);
+        registerCompanyGauge(meterRegistry, "repair", ConsistencyCheckProgress::getRepairs);
+        Gauge.builder("search.consistency.running", running, value -> value.get() ? 1 : 0)
+                .description("Whether a consistency check is running")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Start a consistency check in the background, unless one is already running
+     *
+     * @return CONSISTENCY_CHECK_STARTED, CONSISTENCY_CHECK_IN_PROGRESS, or CONSISTENCY_CHECK_REQUEST_ERROR if there
+     *      is no repair directory to write the repair list to
+     */
+    public ResponseStatus start() {
+        if (repairDirectory == null || !Files.isDirectory(repairDirectory) || !Files.isWritable(repairDirectory)) {
+            getLogger().error(String.format("Consistency check refused, repair directory [%s] is not a writable "
+                    + "directory", repairDirectory));
+            return ResponseStatus.CONSISTENCY_CHECK_REQUEST_ERROR;
+        }
+        if (!running.compareAndSet(false, true)) {
+            return ResponseStatus.CONSISTENCY_CHECK_IN_PROGRESS;
+        }
+        Path repairList = repairDirectory.resolve(
+                "repairs-" + LocalDateTime.now().format(REPAIR_LIST_SUFFIX) + ".ndjson");
+        ConsistencyCheckProgress check = new ConsistencyCheckProgress(repairList.getFileName().toString());
+        progress.set(check);
+        Thread thread = new Thread(() -> run(repairList, check), "consistency-check");
+        thread.setDaemon(true);
+        thread.start();
+        return ResponseStatus.CONSISTENCY_CHECK_STARTED;
+    }
+
+    /**
+     * @return the progress of the running check or the last one to finish, or null if there has been none
+     */
+    public ConsistencyCheckProgress getProgress() {
+        return progress.get();
+    }
+
+    void run(Path repairList, ConsistencyCheckProgress check) {
+        ScheduledExecutorService reporter = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "consistency-check-progress");
+            thread.setDaemon(true);
+            return thread;
+        });
+        reporter.scheduleAtFixedRate(() -> logProgress(check), progressIntervalSeconds,
+                progressIntervalSeconds, TimeUnit.SECONDS);
+        AtomicInteger threads = new AtomicInteger();
+        ExecutorService scrolls = Executors.newFixedThreadPool(ConsistencyIndex.values().length * slices,
+                runnable -> {
+                    Thread thread = new Thread(runnable, "consistency-check-scroll-" + threads.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+        try (BufferedWriter writer = Files.newBufferedWriter(repairList, StandardCharsets.UTF_8)) {
+            check(scrolls, writer, check);
+            check.state(State.FINISHED);
+        } catch (IOException | RuntimeException e) {
+            check.fail(e.getMessage());
+            getLogger().error("Consistency check failed, repair list is incomplete: " + e.getMessage());
+        } catch (InterruptedException e) {
+            check.fail("Interrupted");
+            Thread.currentThread().interrupt();
+        } finally {
+            scrolls.shutdownNow();
+            reporter.shutdownNow();
+            logProgress(check);
+            running.set(false);
+        }
+    }
+
+    /**
+     * Merge-join the fingerprints of the indices in company number order, writing a repair for every company that is
+     * missing from an index or whose fingerprints differ
+     */
+    private void check(ExecutorService scrolls, BufferedWriter writer, ConsistencyCheckProgress check)
+            throws IOException, InterruptedException {
+        ConsistencyIndex[] consistencyIndices = ConsistencyIndex.values();
+        SortedFingerprintStream[] streams = new SortedFingerprintStream[consistencyIndices.length];
+        CompanyFingerprint[] heads = new CompanyFingerprint[consistencyIndices.length];
+        for (int i = 0; i < streams.length; i++) {
+            ConsistencyIndex index = consistencyIndices[i];
+            streams[i] = new SortedFingerprintStream(index, indexName(index), restClientServices.get(index), slices,
+                    scrollSize, scrolls, check.documentsRead(index.getName()));
+        }
+        for (int i = 0; i < streams.length; i++) {
+            heads[i] = streams[i].next();
+        }
+
+        CompanyFingerprint[] company = new CompanyFingerprint[consistencyIndices.length];
+        String companyNumber;
+        while ((companyNumber = lowest(heads)) != null) {
+            for (int i = 0; i < heads.length; i++) {
+                if (heads[i] != null && heads[i].getCompanyNumber().equals(companyNumber)) {
+                    company[i] = heads[i];
+                    heads[i] = streams[i].next();
+                } else {
+                    company[i] = null;
+                }
+            }
+            check.checked(1);
+            Optional<ConsistencyRepair> repair = compare(companyNumber, consistencyIndices, company);
+            if (repair.isPresent()) {
+                writer.write(objectMapper.writeValueAsString(repair.get()));
+                writer.newLine();
+                check.repaired(1);
+            }
+        }
+    }
+
+    /**
+     * @param consistencyIndices - the indices compared
+     * @param company - the fingerprint of the company in each index, or null where it is missing
+     * @return the repair the company needs, or empty if every index holds it with the same fingerprint
+     */
+    static Optional<ConsistencyRepair> compare(String companyNumber, ConsistencyIndex[] consistencyIndices,
+            CompanyFingerprint[] company) {
+        List<String> missingFrom = new ArrayList<>();
+        Map<Long, Integer> votes = new HashMap<>();
+        for (int i = 0; i < consistencyIndices.length; i++) {
+            if (company[i] == null) {
+                missingFrom.add(consistencyIndices[i].getName());
+            } else {
+                votes.merge(company[i].getFingerprint(), 1, Integer::sum);
+            }
+        }
+        int present = consistencyIndices.length - missingFrom.size();
+        Optional<Long> majority = votes.entrySet().stream()
+                .filter(vote -> vote.getValue() * 2 > present)
+                .map(Map.Entry::getKey)
+                .findFirst();
+
+        List<String> mismatchedIn = new ArrayList<>();
+        if (votes.size() > 1) {
+            for (int i = 0; i < consistencyIndices.length; i++) {
+                if (company[i] != null && (majority.isEmpty() || company[i].getFingerprint() != majority.get())) {
+                    mismatchedIn.add(consistencyIndices[i].getName());
+                }
+            }
+        }
+        if (missingFrom.isEmpty() && mismatchedIn.isEmpty()) {
+            return Optional.empty();
+        }
+        return Optional.of(new ConsistencyRepair(companyNumber, missingFrom, mismatchedIn));
+    }
+
+    private static String lowest(CompanyFingerprint[] heads) {
+        String lowest = null;
+        for (CompanyFingerprint head : heads) {
+            if (head != null && (lowest == null || head.getCompanyNumber().compareTo(lowest) < 0)) {
+                lowest = head.getCompanyNumber();
+            }
+        }
+        return lowest;
+    }
+
+    private String indexName(ConsistencyIndex index) {
+        switch (index) {
+            case ALPHABETICAL:
+                return indices.alphabetical();
+            case ADVANCED:
+                return indices.advanced();
+            default:
+                return indices.primary();
+        }
+    }
+
+    private void logProgress(ConsistencyCheckProgress check) {
+        getLogger().info(String.format("Consistency check %s: [%d] companies checked, [%d] repairs, documents read "
+                        + "%s, [%d] companies per second", check.getState(), check.getCompaniesChecked(),
+                check.getRepairs(), check.getDocumentsRead(), check.getCompaniesPerSecond()));
+    }
+
+    private void registerCompanyGauge(MeterRegistry meterRegistry, String outcome,
+            ToLongFunction<ConsistencyCheckProgress> companies) {
+        Gauge.builder("search.consistency.companies", progress, current -> Optional.ofNullable(current.get())
+                        .map(companies::applyAsLong).orElse(0L))
+                .description("Companies of the running or last consistency check, by outcome")
+                .tag("outcome", outcome)
+                .register(meterRegistry);
+    }
+}
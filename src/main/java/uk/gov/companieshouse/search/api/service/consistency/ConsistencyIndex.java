@@ -0,0 +1,103 @@
+package uk.gov.companieshouse.search.api.service.consistency;
+
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * The indices a company is written to, with the field each is sorted by and where each keeps the company's name,
+ * status and type.
+ */
+enum ConsistencyIndex {
+
+    ALPHABETICAL("alphabetical", "items.company_number",
+            new String[] {"items.corporate_name", "items.company_status", "company_type"},
+            source -> {
+                Map<String, Object> items = object(source.get("items"));
+                return new String[] {string(items.get("corporate_name")), string(items.get("company_status")),
+                        string(source.get("company_type"))};
+            }),
+    ADVANCED("advanced", "current_company.company_number",
+            new String[] {"current_company.corporate_name", "current_company.company_status", "company_type"},
+            source -> {
+                Map<String, Object> company = object(source.get("current_company"));
+                return new String[] {string(company.get("corporate_name")), string(company.get("company_status")),
+                        string(source.get("company_type"))};
+            }),
+    PRIMARY("primary", "items.company_number",
+            new String[] {"items.company_number", "items.corporate_name_start", "items.corporate_name_ending",
+                    "items.company_status", "company_type"},
+            source -> {
+                // previous names are items too, but only the current name has a company number
+                Map<String, Object> current = Map.of();
+                if (source.get("items") instanceof List) {
+                    for (Object item : (List<?>) source.get("items")) {
+                        if (object(item).get("company_number") != null) {
+                            current = object(item);
+                            break;
+                        }
+                    }
+                }
+                return new String[] {name(string(current.get("corporate_name_start")),
+                        string(current.get("corporate_name_ending"))),
+                        string(current.get("company_status")), string(source.get("company_type"))};
+            });
+
+    private final String name;
+    private final String sortField;
+    private final String[] includes;
+    private final Function<Map<String, Object>, String[]> sharedFields;
+
+    ConsistencyIndex(String name, String sortField, String[] includes,
+            Function<Map<String, Object>, String[]> sharedFields) {
+        this.name = name;
+        this.sortField = sortField;
+        this.includes = includes;
+        this.sharedFields = sharedFields;
+    }
+
+    String getName() {
+        return name;
+    }
+
+    /**
+     * @return the keyword field holding the company number, by which the documents are sorted
+     */
+    String getSortField() {
+        return sortField;
+    }
+
+    /**
+     * @return the source fields the fingerprint is taken from
+     */
+    String[] getIncludes() {
+        return includes;
+    }
+
+    /**
+     * @param companyNumber - the company number the document was sorted by
+     * @param source - the document's source, holding at least the included fields
+     */
+    CompanyFingerprint fingerprint(String companyNumber, Map<String, Object> source) {
+        return CompanyFingerprint.of(companyNumber, sharedFields.apply(source));
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Map<String, Object> object(Object value) {
+        return value instanceof Map ? (Map<String, Object>) value : Map.of();
+    }
+
+    private static String string(Object value) {
+        return value == null ? null : value.toString();
+    }
+
+    /**
+     * The primary index splits a company's name before any corporate name ending
+     */
+    private static String name(String start, String ending) {
+        if (start == null || ending == null || ending.isEmpty()) {
+            return start;
+        }
+        return start + " " + ending;
+    }
+}
@@ -0,0 +1,191 @@
+package uk.gov.companieshouse.search.api.service.consistency;
+
+import static org.elasticsearch.index.query.QueryBuilders.existsQuery;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+import org.elasticsearch.ElasticsearchException;
+import org.elasticsearch.action.search.ClearScrollRequest;
+import org.elasticsearch.action.search.SearchRequest;
+import org.elasticsearch.action.search.SearchResponse;
+import org.elasticsearch.action.search.SearchScrollRequest;
+import org.elasticsearch.common.unit.TimeValue;
+import org.elasticsearch.search.SearchHit;
+import org.elasticsearch.search.builder.SearchSourceBuilder;
+import org.elasticsearch.search.slice.SliceBuilder;
+import org.elasticsearch.search.sort.SortOrder;
+import uk.gov.companieshouse.search.api.exception.ConsistencyCheckException;
+import uk.gov.companieshouse.search.api.service.rest.RestClientService;
+
+/**
+ * The fingerprints of every company in one index, in company number order.
+ *
+ * <p>The index is read by parallel sliced scrolls, each sorted by company number and each on its own thread. A slice
+ * hands its pages to the reader through a queue holding at most two pages, and the reader merges the slices by always
+ * taking the lowest company number at the head of any slice, so no more than four pages of each slice, the one being
+ * merged, those queued and the one being read, are held in memory however large the index.</p>
+ */
+final class SortedFingerprintStream {
+
+    private static final TimeValue SCROLL_KEEP_ALIVE = TimeValue.timeValueMinutes(1);
+    private static final List<CompanyFingerprint> END = Collections.emptyList();
+    private static final int QUEUED_PAGES = 2;
+
+    private final ConsistencyIndex index;
+    private final String indexName;
+    private final RestClientService restClientService;
+    private final int scrollSize;
+    private final LongAdder read;
+    private final AtomicReference<Exception> failure = new AtomicReference<>();
+    private final List<Slice> slices = new ArrayList<>();
+    private PriorityQueue<Slice> heads;
+
+    /**
+     * A slice of the scroll and the page of it being merged
+     */
+    private final class Slice {
+
+        private final BlockingQueue<List<CompanyFingerprint>> pages = new ArrayBlockingQueue<>(QUEUED_PAGES);
+        private List<CompanyFingerprint> page = END;
+        private int position;
+
+        CompanyFingerprint head() {
+            return page.get(position);
+        }
+
+        /**
+         * @return false once the slice has been read to its end
+         */
+        boolean advance() throws InterruptedException {
+            String previous = page.isEmpty() ? null : head().getCompanyNumber();
+            if (++position >= page.size()) {
+                page = pages.take();
+                position = 0;
+                if (page == END) {
+                    if (failure.get() != null) {
+                        throw new ConsistencyCheckException(String.format("Unable to read %s index [%s]: %s",
+                                index.getName(), indexName, failure.get().getMessage()), failure.get());
+                    }
+                    return false;
+                }
+            }
+            if (previous != null && previous.compareTo(head().getCompanyNumber()) >= 0) {
+                throw new ConsistencyCheckException(String.format("%s index [%s] is not sorted by company number at "
+                        + "[%s], check that %s is a keyword field", index.getName(), indexName,
+                        head().getCompanyNumber(), index.getSortField()));
+            }
+            return true;
+        }
+    }
+
+    /**
+     * Start reading the index
+     *
+     * @param index - the index to read
+     * @param indexName - the configured name of the index
+     * @param restClientService - the client of the cluster holding the index
+     * @param sliceCount - the number of slices to read in parallel, each on a thread of the executor
+     * @param scrollSize - the number of documents in each page of a slice
+     * @param executor - an executor with a thread free for each slice
+     * @param read - counts the documents read
+     */
+    SortedFingerprintStream(ConsistencyIndex index, String indexName, RestClientService restClientService,
+            int sliceCount, int scrollSize, ExecutorService executor, LongAdder read) {
+        this.index = index;
+        this.indexName = indexName;
+        this.restClientService = restClientService;
+        this.scrollSize = scrollSize;
+        this.read = read;
+        for (int id = 0; id < sliceCount; id++) {
+            Slice slice = new Slice();
+            slices.add(slice);
+            SliceBuilder sliceBuilder = sliceCount > 1 ? new SliceBuilder(id, sliceCount) : null;
+            executor.execute(() -> scroll(sliceBuilder, slice.pages));
+        }
+    }
+
+    /**
+     * @return the fingerprint of the company with the next highest company number, or null once every slice has
+     *      been read
+     * @throws ConsistencyCheckException if a slice could not be read
+     */
+    CompanyFingerprint next() throws InterruptedException {
+        if (heads == null) {
+            heads = new PriorityQueue<>(Math.max(1, slices.size()),
+                    Comparator.comparing((Slice slice) -> slice.head().getCompanyNumber()));
+            for (Slice slice : slices) {
+                if (slice.advance()) {
+                    heads.add(slice);
+                }
+            }
+        }
+        Slice slice = heads.poll();
+        if (slice == null) {
+            return null;
+        }
+        CompanyFingerprint head = slice.head();
+        if (slice.advance()) {
+            heads.add(slice);
+        }
+        return head;
+    }
+
+    private void scroll(SliceBuilder slice, BlockingQueue<List<CompanyFingerprint>> pages) {
+        String scrollId = null;
+        try {
+            SearchResponse response = restClientService.search(new SearchRequest(indexName)
+                    .scroll(SCROLL_KEEP_ALIVE)
+                    .source(new SearchSourceBuilder()
+                            .query(existsQuery(index.getSortField()))
+                            .fetchSource(index.getIncludes(), null)
+                            .sort(index.getSortField(), SortOrder.ASC)
+                            .slice(slice)
+                            .size(scrollSize)));
+            scrollId = response.getScrollId();
+            while (response.getHits().getHits().length > 0) {
+                List<CompanyFingerprint> page = new ArrayList<>(response.getHits().getHits().length);
+                for (SearchHit hit : response.getHits().getHits()) {
+                    page.add(index.fingerprint(String.valueOf(hit.getSortValues()[0]), hit.getSourceAsMap()));
+                }
+                read.add(page.size());
+                pages.put(page);
+                response = restClientService.scroll(new SearchScrollRequest(scrollId).scroll(SCROLL_KEEP_ALIVE));
+                scrollId = response.getScrollId();
+            }
+        } catch (IOException | RuntimeException e) {
+            failure.compareAndSet(null, e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            clearScroll(scrollId);
+        }
+        try {
+            pages.put(END);
+        } catch (InterruptedException e) {
+            // the check has been abandoned, so nothing is left to take the end of the slice
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void clearScroll(String scrollId) {
+        if (scrollId == null) {
+            return;
+        }
+        try {
+            ClearScrollRequest clearScrollRequest = new ClearScrollRequest();
+            clearScrollRequest.addScrollId(scrollId);
+            restClientService.clearScroll(clearScrollRequest);
+        } catch (IOException | ElasticsearchException e) {
+            // the search contexts are released when the scroll expires
+        }
+    }
+}
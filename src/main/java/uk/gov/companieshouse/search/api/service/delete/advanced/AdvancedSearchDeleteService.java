@@ -6,6 +6,7 @@ import org.elasticsearch.action.delete.DeleteRequest;
 import org.elasticsearch.action.delete.DeleteResponse;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
+import uk.gov.companieshouse.search.api.exception.WriteRejectedException;
 import uk.gov.companieshouse.search.api.model.response.ResponseObject;
 import uk.gov.companieshouse.search.api.model.response.ResponseStatus;
 import uk.gov.companieshouse.search.api.service.rest.impl.AdvancedSearchRestClientService;
@@ -42,6 +43,10 @@ public class AdvancedSearchDeleteService {
             return new ResponseObject(ResponseStatus.SERVICE_UNAVAILABLE);
         } catch (ElasticsearchException e) {
             return new ResponseObject(ResponseStatus.DELETE_REQUEST_ERROR);
+        } catch (WriteRejectedException e) {
+            getLogger().error(String.format("Delete of Company Number [%s] rejected by the advanced search index",
+                    companyNumber));
+            return new ResponseObject(ResponseStatus.WRITE_REJECTED);
         }
 
         if (response.getResult() == DocWriteResponse.Result.NOT_FOUND) {
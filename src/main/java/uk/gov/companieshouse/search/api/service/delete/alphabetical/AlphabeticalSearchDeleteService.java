@@ -4,10 +4,13 @@ import org.elasticsearch.ElasticsearchException;
 import org.elasticsearch.action.DocWriteResponse;
 import org.elasticsearch.action.delete.DeleteRequest;
 import org.elasticsearch.action.delete.DeleteResponse;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.stereotype.Service;
+import uk.gov.companieshouse.search.api.exception.WriteRejectedException;
 import uk.gov.companieshouse.search.api.logging.LoggingUtils;
 import uk.gov.companieshouse.search.api.model.response.ResponseObject;
 import uk.gov.companieshouse.search.api.model.response.ResponseStatus;
+import uk.gov.companieshouse.search.api.service.existence.DocumentIdFilter;
 import uk.gov.companieshouse.search.api.service.rest.impl.AlphabeticalSearchRestClientService;
 
 import java.io.IOException;
@@ -23,10 +26,15 @@ public class AlphabeticalSearchDeleteService {
 
     private final ConfiguredIndexNamesProvider indices;
 
+    private final DocumentIdFilter documentIdFilter;
+
     public AlphabeticalSearchDeleteService(AlphabeticalSearchRestClientService alphabeticalSearchRestClientService,
-                                           ConfiguredIndexNamesProvider indices) {
+                                           ConfiguredIndexNamesProvider indices,
+                                           @Qualifier("alphabeticalDocumentIdFilter")
+                                           DocumentIdFilter documentIdFilter) {
         this.alphabeticalSearchRestClientService = alphabeticalSearchRestClientService;
         this.indices = indices;
+        this.documentIdFilter = documentIdFilter;
     }
 
     public ResponseObject deleteCompany(String companyNumber) {
@@ -34,6 +42,12 @@ public class AlphabeticalSearchDeleteService {
         Map<String, Object> logMap =
                 LoggingUtils.setUpAlphabeticalSearchDeleteLogging(companyNumber, indices);
 
+        if (documentIdFilter.definitelyAbsent(companyNumber)) {
+            getLogger().error(String.format("Document with id: [%s] not found in alphabetical document id filter",
+                    companyNumber), logMap);
+            return new ResponseObject(ResponseStatus.DELETE_NOT_FOUND);
+        }
+
         DeleteRequest deleteRequest = new DeleteRequest(indices.alphabetical(), companyNumber);
 
         DeleteResponse response;
@@ -45,9 +59,13 @@ public class AlphabeticalSearchDeleteService {
             return new ResponseObject(ResponseStatus.SERVICE_UNAVAILABLE);
         } catch (ElasticsearchException e) {
             return new ResponseObject(ResponseStatus.DELETE_REQUEST_ERROR);
+        } catch (WriteRejectedException e) {
+            getLogger().error("Delete rejected by the alphabetical search index", logMap);
+            return new ResponseObject(ResponseStatus.WRITE_REJECTED);
         }
 
         if (response.getResult() == DocWriteResponse.Result.NOT_FOUND) {
+            documentIdFilter.recordNotFound(companyNumber);
             getLogger().error(String.format("Document with id: [%s] not found in alphabetical search index",
                     companyNumber), logMap);
             return new ResponseObject(ResponseStatus.DELETE_NOT_FOUND);
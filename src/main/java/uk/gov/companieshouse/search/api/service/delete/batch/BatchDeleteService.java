@@ -0,0 +1,239 @@
+package uk.gov.companieshouse.search.api.service.delete.batch;
+
+import static uk.gov.companieshouse.search.api.logging.LoggingUtils.getLogger;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import javax.annotation.PreDestroy;
+import org.elasticsearch.ElasticsearchException;
+import org.elasticsearch.action.DocWriteResponse;
+import org.elasticsearch.action.bulk.BulkItemResponse;
+import org.elasticsearch.action.bulk.BulkRequest;
+import org.elasticsearch.action.bulk.BulkResponse;
+import org.elasticsearch.action.delete.DeleteRequest;
+import org.elasticsearch.rest.RestStatus;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.stereotype.Service;
+import uk.gov.companieshouse.environment.EnvironmentReader;
+import uk.gov.companieshouse.logging.util.DataMap;
+import uk.gov.companieshouse.search.api.model.BatchDeleteRequest;
+import uk.gov.companieshouse.search.api.model.response.BatchDeleteResults;
+import uk.gov.companieshouse.search.api.model.response.ResponseStatus;
+import uk.gov.companieshouse.search.api.service.existence.DocumentIdFilter;
+import uk.gov.companieshouse.search.api.service.journal.JournalEntry;
+import uk.gov.companieshouse.search.api.service.journal.WriteJournal;
+import uk.gov.companieshouse.search.api.service.journal.WriteJournal.DocumentLock;
+import uk.gov.companieshouse.search.api.service.rest.RestClientService;
+import uk.gov.companieshouse.search.api.service.rest.impl.AdvancedSearchRestClientService;
+import uk.gov.companieshouse.search.api.service.rest.impl.AlphabeticalSearchRestClientService;
+import uk.gov.companieshouse.search.api.service.rest.impl.PrimarySearchRestClientService;
+import uk.gov.companieshouse.search.api.util.ConfiguredIndexNamesProvider;
+
+/**
+ * Deletes many companies and officers in one call. Each cluster gets its deletes as bulk requests, and the
+ * alphabetical, advanced and primary clusters are written to at the same time. Ids the alphabetical or primary
+ * {@link DocumentIdFilter} reports as definitely absent are answered as not found without being sent.
+ */
+@Service
+public class BatchDeleteService {
+
+    private static final String MAX_SIZE_ENVIRONMENT_VARIABLE = "BATCH_DELETE_MAX_SIZE";
+    private static final String BULK_SIZE_ENVIRONMENT_VARIABLE = "BATCH_DELETE_BULK_SIZE";
+    private static final int DEFAULT_MAX_SIZE = 50000;
+    private static final int DEFAULT_BULK_SIZE = 1000;
+    private static final String PRIMARY_TYPE = "primary_search";
+
+    private final AlphabeticalSearchRestClientService alphabeticalSearchRestClientService;
+    private final AdvancedSearchRestClientService advancedSearchRestClientService;
+    private final PrimarySearchRestClientService primarySearchRestClientService;
+    private final ConfiguredIndexNamesProvider indices;
+    private final WriteJournal writeJournal;
+    private final DocumentIdFilter alphabeticalDocumentIdFilter;
+    private final DocumentIdFilter primaryDocumentIdFilter;
+    private final int maxSize;
+    private final int bulkSize;
+    private final ExecutorService executor;
+
+    public BatchDeleteService(AlphabeticalSearchRestClientService alphabeticalSearchRestClientService,
+            AdvancedSearchRestClientService advancedSearchRestClientService,
+            PrimarySearchRestClientService primarySearchRestClientService, ConfiguredIndexNamesProvider indices,
+            WriteJournal writeJournal,
+            @Qualifier("alphabeticalDocumentIdFilter") DocumentIdFilter alphabeticalDocumentIdFilter,
+            @Qualifier("primaryDocumentIdFilter") DocumentIdFilter primaryDocumentIdFilter,
+            EnvironmentReader environmentReader) {
+        this.alphabeticalSearchRestClientService = alphabeticalSearchRestClientService;
+        this.advancedSearchRestClientService = advancedSearchRestClientService;
+        this.primarySearchRestClientService = primarySearchRestClientService;
+        this.indices = indices;
+        this.writeJournal = writeJournal;
+        this.alphabeticalDocumentIdFilter = alphabeticalDocumentIdFilter;
+        this.primaryDocumentIdFilter = primaryDocumentIdFilter;
+        this.maxSize = Optional.ofNullable(environmentReader.getOptionalInteger(MAX_SIZE_ENVIRONMENT_VARIABLE))
+                .filter(size -> size > 0)
+                .orElse(DEFAULT_MAX_SIZE);
+        this.bulkSize = Optional.ofNullable(environmentReader.getOptionalInteger(BULK_SIZE_ENVIRONMENT_VARIABLE))
+                .filter(size -> size > 0)
+                .orElse(DEFAULT_BULK_SIZE);
+        AtomicInteger threads = new AtomicInteger();
+        this.executor = Executors.newFixedThreadPool(3, runnable -> {
+            Thread thread = new Thread(runnable, "batch-delete-" + threads.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @PreDestroy
+    public void stop() {
+        executor.shutdownNow();
+    }
+
+    /**
+     * @return the largest number of company numbers and officer ids accepted in one batch
+     */
+    public int getMaxSize() {
+        return maxSize;
+    }
+
+    /**
+     * Delete the given companies from the alphabetical, advanced and primary indices and the given officers from the
+     * primary index
+     *
+     * @param request - the company numbers and officer ids to delete
+     * @return the outcome for each company number in each index and for each officer id
+     */
+    public BatchDeleteResults delete(BatchDeleteRequest request) {
+        List<String> companyNumbers = distinct(request.getCompanyNumbers());
+        List<String> officerIds = distinct(request.getOfficerIds());
+        List<String> primaryIds = new ArrayList<>(companyNumbers);
+        primaryIds.addAll(officerIds);
+
+        String alphabeticalIndex = indices.alphabetical();
+        String advancedIndex = indices.advanced();
+        String primaryIndex = indices.primary();
+        CompletableFuture<Map<String, ResponseStatus>> alphabetical = CompletableFuture.supplyAsync(() ->
+                delete(alphabeticalSearchRestClientService, alphabeticalIndex, companyNumbers,
+                        id -> new DeleteRequest(alphabeticalIndex, id), alphabeticalDocumentIdFilter, false),
+                executor);
+        CompletableFuture<Map<String, ResponseStatus>> advanced = CompletableFuture.supplyAsync(() ->
+                delete(advancedSearchRestClientService, advancedIndex, companyNumbers,
+                        id -> new DeleteRequest(advancedIndex, id), null, false), executor);
+        CompletableFuture<Map<String, ResponseStatus>> primary = CompletableFuture.supplyAsync(() ->
+                delete(primarySearchRestClientService, primaryIndex, distinct(primaryIds),
+                        id -> new DeleteRequest(primaryIndex, PRIMARY_TYPE, id), primaryDocumentIdFilter, true),
+                executor);
+
+        BatchDeleteResults results = new BatchDeleteResults();
+        Map<String, ResponseStatus> alphabeticalResults = alphabetical.join();
+        Map<String, ResponseStatus> advancedResults = advanced.join();
+        Map<String, ResponseStatus> primaryResults = primary.join();
+        companyNumbers.forEach(companyNumber -> results
+                .company(companyNumber, BatchDeleteResults.ALPHABETICAL, alphabeticalResults.get(companyNumber))
+                .company(companyNumber, BatchDeleteResults.ADVANCED, advancedResults.get(companyNumber))
+                .company(companyNumber, BatchDeleteResults.PRIMARY, primaryResults.get(companyNumber)));
+        officerIds.forEach(officerId -> results.officer(officerId, primaryResults.get(officerId)));
+        return results;
+    }
+
+    private Map<String, ResponseStatus> delete(RestClientService restClientService, String index, List<String> ids,
+            Function<String, DeleteRequest> deleteRequest, DocumentIdFilter documentIdFilter, boolean journalled) {
+        Map<String, Object> logMap = new DataMap.Builder().indexName(index).build().getLogMap();
+        Map<String, ResponseStatus> results = new HashMap<>();
+        for (int from = 0; from < ids.size(); from += bulkSize) {
+            List<String> batch = ids.subList(from, Math.min(from + bulkSize, ids.size()));
+            BulkRequest bulkRequest = new BulkRequest();
+
+            // only the primary index's writes are journalled, so only they must be ordered with its replay
+            try (DocumentLock lock = writeJournal.lock(journalled ? batch : List.of())) {
+                if (journalled && writeJournal.hasPendingEntries()) {
+                    batch.forEach(id -> bulkRequest.add(deleteRequest.apply(id)));
+                    journal(bulkRequest, results, logMap);
+                    continue;
+                }
+                for (String id : batch) {
+                    if (documentIdFilter != null && documentIdFilter.definitelyAbsent(id)) {
+                        results.put(id, ResponseStatus.DELETE_NOT_FOUND);
+                    } else {
+                        bulkRequest.add(deleteRequest.apply(id));
+                    }
+                }
+                if (bulkRequest.numberOfActions() == 0) {
+                    continue;
+                }
+                try {
+                    BulkResponse bulkResponse = restClientService.bulk(bulkRequest);
+                    for (BulkItemResponse item : bulkResponse.getItems()) {
+                        ResponseStatus status = status(item);
+                        if (status == ResponseStatus.DELETE_NOT_FOUND && documentIdFilter != null) {
+                            documentIdFilter.recordNotFound(item.getId());
+                        }
+                        results.put(item.getId(), status);
+                    }
+                } catch (IOException e) {
+                    getLogger().error(String.format("IOException encountered when deleting [%d] documents from [%s]",
+                            bulkRequest.numberOfActions(), index), logMap);
+                    if (journalled && writeJournal.isEnabled()) {
+                        journal(bulkRequest, results, logMap);
+                    } else {
+                        bulkRequest.requests().forEach(request -> results.put(request.id(),
+                                ResponseStatus.SERVICE_UNAVAILABLE));
+                    }
+                } catch (ElasticsearchException e) {
+                    getLogger().error(String.format("Bulk delete of [%d] documents from [%s] failed: %s",
+                            bulkRequest.numberOfActions(), index, e.getMessage()), logMap);
+                    ResponseStatus status = e.status() == RestStatus.TOO_MANY_REQUESTS
+                            ? ResponseStatus.WRITE_REJECTED : ResponseStatus.DELETE_REQUEST_ERROR;
+                    bulkRequest.requests().forEach(request -> results.put(request.id(), status));
+                }
+            }
+        }
+        getLogger().info(String.format("Batch deleted [%d] of [%d] documents from [%s]",
+                results.values().stream().filter(ResponseStatus.DOCUMENT_DELETED::equals).count(), ids.size(),
+                index), logMap);
+        return results;
+    }
+
+    private void journal(BulkRequest bulkRequest, Map<String, ResponseStatus> results, Map<String, Object> logMap) {
+        bulkRequest.requests().forEach(request -> {
+            ResponseStatus status;
+            try {
+                writeJournal.append(JournalEntry.delete((DeleteRequest) request));
+                status = ResponseStatus.DOCUMENT_JOURNALED;
+            } catch (IOException e) {
+                getLogger().error(String.format("IOException encountered when journalling delete of [%s]",
+                        request.id()), logMap);
+                status = ResponseStatus.SERVICE_UNAVAILABLE;
+            }
+            results.put(request.id(), status);
+        });
+    }
+
+    private static ResponseStatus status(BulkItemResponse item) {
+        if (item.isFailed()) {
+            return item.getFailure().getStatus() == RestStatus.TOO_MANY_REQUESTS
+                    ? ResponseStatus.WRITE_REJECTED : ResponseStatus.DELETE_REQUEST_ERROR;
+        }
+        return item.getResponse().getResult() == DocWriteResponse.Result.NOT_FOUND
+                ? ResponseStatus.DELETE_NOT_FOUND : ResponseStatus.DOCUMENT_DELETED;
+    }
+
+    private static List<String> distinct(List<String> ids) {
+        Set<String> distinct = new LinkedHashSet<>();
+        if (ids != null) {
+            ids.stream()
+                    .filter(id -> id != null && !id.isEmpty())
+                    .forEach(distinct::add);
+        }
+        return new ArrayList<>(distinct);
+    }
+}
@@ -4,11 +4,17 @@ import org.elasticsearch.ElasticsearchException;
 import org.elasticsearch.action.DocWriteResponse;
 import org.elasticsearch.action.delete.DeleteRequest;
 import org.elasticsearch.action.delete.DeleteResponse;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.stereotype.Service;
+import uk.gov.companieshouse.search.api.exception.WriteRejectedException;
 import uk.gov.companieshouse.search.api.logging.LoggingUtils;
 import uk.gov.companieshouse.search.api.model.SearchType;
 import uk.gov.companieshouse.search.api.model.response.ResponseObject;
 import uk.gov.companieshouse.search.api.model.response.ResponseStatus;
+import uk.gov.companieshouse.search.api.service.existence.DocumentIdFilter;
+import uk.gov.companieshouse.search.api.service.journal.JournalEntry;
+import uk.gov.companieshouse.search.api.service.journal.WriteJournal;
+import uk.gov.companieshouse.search.api.service.journal.WriteJournal.DocumentLock;
 import uk.gov.companieshouse.search.api.service.rest.impl.PrimarySearchRestClientService;
 
 import java.io.IOException;
@@ -26,12 +32,19 @@ public class PrimarySearchDeleteService {
 
     private final ConfiguredIndexNamesProvider indices;
 
+    private final WriteJournal writeJournal;
+
+    private final DocumentIdFilter documentIdFilter;
+
     public PrimarySearchDeleteService(PrimarySearchRestClientService primarySearchRestClientService,
             PrimarySearchDeleteRequestService primarySearchDeleteRequestService,
-        ConfiguredIndexNamesProvider indices) {
+        ConfiguredIndexNamesProvider indices, WriteJournal writeJournal,
+        @Qualifier("primaryDocumentIdFilter") DocumentIdFilter documentIdFilter) {
         this.primarySearchRestClientService = primarySearchRestClientService;
         this.primarySearchDeleteRequestService = primarySearchDeleteRequestService;
         this.indices = indices;
+        this.writeJournal = writeJournal;
+        this.documentIdFilter = documentIdFilter;
     }
 
     public ResponseObject deleteOfficer(SearchType searchType) {
@@ -52,26 +65,57 @@ public class PrimarySearchDeleteService {
     }
 
     private ResponseObject deleteObject(DeleteRequest deleteRequest, String id, String entityType, Map<String, Object> logMap){
-        DeleteResponse response;
+        try (DocumentLock lock = writeJournal.lock(id)) {
+            if (writeJournal.hasPendingEntries()) {
+                return journal(deleteRequest, id, entityType, logMap);
+            }
+            if (documentIdFilter.definitelyAbsent(id)) {
+                getLogger().error(String.format("%s [%s] not found in document id filter",
+                        entityType, id),logMap);
+                return new ResponseObject(ResponseStatus.DELETE_NOT_FOUND);
+            }
+
+            DeleteResponse response;
+            try {
+                response = primarySearchRestClientService.delete(deleteRequest);
+            } catch (IOException e) {
+                getLogger().error(String
+                        .format("IOException encountered when deleting %s [%s] from primary search index",
+                                entityType, id),logMap);
+                if (writeJournal.isEnabled()) {
+                    return journal(deleteRequest, id, entityType, logMap);
+                }
+                return new ResponseObject(ResponseStatus.SERVICE_UNAVAILABLE);
+            } catch (ElasticsearchException e) {
+                return new ResponseObject(ResponseStatus.DELETE_REQUEST_ERROR);
+            } catch (WriteRejectedException e) {
+                getLogger().error("Delete rejected by the primary search index", logMap);
+                return new ResponseObject(ResponseStatus.WRITE_REJECTED);
+            }
+            if (response.getResult() == DocWriteResponse.Result.NOT_FOUND) {
+                documentIdFilter.recordNotFound(id);
+                getLogger().error(String.format("%s [%s] not found",
+                        entityType, id),logMap);
+                return new ResponseObject(ResponseStatus.DELETE_NOT_FOUND);
+            } else {
+                getLogger().info(String.format("Successfully deleted %s [%s] ",
+                        entityType, id),logMap);
+                return new ResponseObject(ResponseStatus.DOCUMENT_DELETED);
+            }
+        }
+    }
+
+    private ResponseObject journal(DeleteRequest deleteRequest, String id, String entityType,
+            Map<String, Object> logMap) {
         try {
-            response = primarySearchRestClientService.delete(deleteRequest);
+            writeJournal.append(JournalEntry.delete(deleteRequest));
         } catch (IOException e) {
-            getLogger().error(String
-                    .format("IOException encountered when deleting %s [%s] from primary search index",
-                            entityType, id),logMap);
+            getLogger().error(String.format("IOException encountered when journalling delete of %s [%s]",
+                    entityType, id), logMap);
             return new ResponseObject(ResponseStatus.SERVICE_UNAVAILABLE);
-        } catch (ElasticsearchException e) {
-            return new ResponseObject(ResponseStatus.DELETE_REQUEST_ERROR);
         }
-        if (response.getResult() == DocWriteResponse.Result.NOT_FOUND) {
-            getLogger().error(String.format("%s [%s] not found",
-                    entityType, id),logMap);
-            return new ResponseObject(ResponseStatus.DELETE_NOT_FOUND);
-        } else {
-            getLogger().info(String.format("Successfully deleted %s [%s] ",
-                    entityType, id),logMap);
-            return new ResponseObject(ResponseStatus.DOCUMENT_DELETED);
-        }
-
+        getLogger().info(String.format("Delete of %s [%s] journalled for replay to primary search index",
+                entityType, id), logMap);
+        return new ResponseObject(ResponseStatus.DOCUMENT_JOURNALED);
     }
 }
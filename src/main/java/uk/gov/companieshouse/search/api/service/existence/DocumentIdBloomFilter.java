@@ -0,0 +1,126 @@
+package uk.gov.companieshouse.search.api.service.existence;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Bloom filter of document ids held in a direct buffer outside the Java heap, so tens of millions of ids cost a
+ * few tens of megabytes that the garbage collector never has to scan or copy.
+ *
+ * <p>Bits are set with an atomic OR on each 64 bit word, so ids can be added from any number of threads while
+ * others check for them without locking. Ids cannot be removed; a filter only ever answers "definitely absent" or
+ * "possibly present".</p>
+ */
+final class DocumentIdBloomFilter {
+
+    private static final VarHandle WORDS =
+            MethodHandles.byteBufferViewVarHandle(long[].class, ByteOrder.nativeOrder());
+
+    private static final long FNV_OFFSET_BASIS = 0xcbf29ce484222325L;
+    private static final long FNV_PRIME = 0x100000001b3L;
+    private static final long GOLDEN_GAMMA = 0x9e3779b97f4a7c15L;
+
+    private final ByteBuffer words;
+    private final long bitSize;
+    private final int hashes;
+    private final AtomicLong bitCount = new AtomicLong();
+
+    /**
+     * @param expectedIds - the number of ids the filter is sized for
+     * @param bitsPerId - bits to allow for each expected id, 10 giving about a 1% false positive probability
+     */
+    DocumentIdBloomFilter(long expectedIds, int bitsPerId) {
+        if (expectedIds < 0 || bitsPerId < 1) {
+            throw new IllegalArgumentException(String.format(
+                    "Cannot size a filter for [%d] ids at [%d] bits per id", expectedIds, bitsPerId));
+        }
+        long wordCount = Math.max(1, (expectedIds * bitsPerId + Long.SIZE - 1) / Long.SIZE);
+        if (wordCount > (Integer.MAX_VALUE - Long.BYTES) / Long.BYTES) {
+            throw new IllegalArgumentException(String.format(
+                    "A filter for [%d] ids at [%d] bits per id is too large", expectedIds, bitsPerId));
+        }
+        this.bitSize = wordCount * Long.SIZE;
+        this.hashes = Math.max(1, (int) Math.round(bitsPerId * Math.log(2)));
+        // the atomic word operations need 8 byte alignment, which a direct buffer does not promise
+        this.words = ByteBuffer.allocateDirect((int) (wordCount * Long.BYTES) + Long.BYTES - 1)
+                .alignedSlice(Long.BYTES);
+    }
+
+    /**
+     * @param id - the document id to add
+     * @return true if adding the id set any bit, i.e. the filter did not already report it as possibly present
+     */
+    boolean put(String id) {
+        long hash1 = hash(id);
+        long hash2 = mix(hash1 + GOLDEN_GAMMA) | 1;
+        boolean changed = false;
+        long combined = hash1;
+        for (int i = 0; i < hashes; i++, combined += hash2) {
+            long bit = (combined & Long.MAX_VALUE) % bitSize;
+            long mask = 1L << bit;
+            long previous = (long) WORDS.getAndBitwiseOr(words, offset(bit), mask);
+            if ((previous & mask) == 0) {
+                bitCount.incrementAndGet();
+                changed = true;
+            }
+        }
+        return changed;
+    }
+
+    /**
+     * @param id - the document id to look for
+     * @return false if the id has definitely never been added, true if it may have been
+     */
+    boolean mightContain(String id) {
+        long hash1 = hash(id);
+        long hash2 = mix(hash1 + GOLDEN_GAMMA) | 1;
+        long combined = hash1;
+        for (int i = 0; i < hashes; i++, combined += hash2) {
+            long bit = (combined & Long.MAX_VALUE) % bitSize;
+            if (((long) WORDS.getVolatile(words, offset(bit)) & (1L << bit)) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * @return the probability that an id never added is reported as possibly present, given the bits now set
+     */
+    double expectedFalsePositiveProbability() {
+        return Math.pow((double) bitCount.get() / bitSize, hashes);
+    }
+
+    long bitSize() {
+        return bitSize;
+    }
+
+    int hashes() {
+        return hashes;
+    }
+
+    private static int offset(long bit) {
+        return (int) (bit >>> 6) * Long.BYTES;
+    }
+
+    /**
+     * FNV-1a over the UTF-16 code units of the id, finished with the SplitMix64 mixer so that ids differing only in
+     * their last characters, such as consecutive company numbers, spread over the whole filter
+     */
+    private static long hash(String id) {
+        long hash = FNV_OFFSET_BASIS;
+        for (int i = 0; i < id.length(); i++) {
+            hash = (hash ^ id.charAt(i)) * FNV_PRIME;
+        }
+        return mix(hash);
+    }
+
+    private static long mix(long value) {
+        value = (value ^ (value >>> 30)) * 0xbf58476d1ce4e5b9L;
+        value = (value ^ (value >>> 27)) * 0x94d049bb133111ebL;
+        return value ^ (value >>> 31);
+    }
+}
@@ -0,0 +1,174 @@
+package uk.gov.companieshouse.search.api.service.existence;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+import uk.gov.companieshouse.environment.EnvironmentReader;
+
+/**
+ * Remembers which document ids may be in one index, so that deletes of documents that were never indexed can be
+ * answered without a round trip to Elasticsearch.
+ *
+ * <p>The filter is built from a scroll over the index by {@link DocumentIdFilterLoader}, and every document upserted
+ * through this service is added before it is sent, so an id that is not in the filter is definitely not in the index.
+ * Until the first build completes, and whenever the filter is disabled, every id is treated as possibly present.
+ * Deleted ids stay in the filter until it is next rebuilt, which only makes the filter less useful, never wrong.</p>
+ *
+ * <p>Documents written by anything other than this instance are not seen until the next rebuild, so the filter should
+ * only be enabled where this instance is the only writer to the index.</p>
+ */
+public class DocumentIdFilter {
+
+    private static final String ENABLED_ENVIRONMENT_VARIABLE = "EXISTENCE_FILTER_ENABLED";
+    private static final String BITS_PER_ID_ENVIRONMENT_VARIABLE = "EXISTENCE_FILTER_BITS_PER_ID";
+    private static final String HEADROOM_PERCENT_ENVIRONMENT_VARIABLE = "EXISTENCE_FILTER_HEADROOM_PERCENT";
+    private static final int DEFAULT_BITS_PER_ID = 10;
+    private static final int DEFAULT_HEADROOM_PERCENT = 50;
+
+    private final String name;
+    private final boolean enabled;
+    private final int bitsPerId;
+    private final int headroomPercent;
+    private final AtomicLong definiteMisses = new AtomicLong();
+    private final AtomicLong falsePositives = new AtomicLong();
+
+    private volatile DocumentIdBloomFilter current;
+    private volatile DocumentIdBloomFilter building;
+
+    /**
+     * @param name - the name of the index, used to tag the filter's metrics
+     */
+    public DocumentIdFilter(String name, EnvironmentReader environmentReader, MeterRegistry meterRegistry) {
+        this.name = name;
+        this.enabled = Boolean.TRUE.equals(environmentReader.getOptionalBoolean(ENABLED_ENVIRONMENT_VARIABLE));
+        this.bitsPerId = Optional.ofNullable(environmentReader.getOptionalInteger(BITS_PER_ID_ENVIRONMENT_VARIABLE))
+                .filter(value -> value > 0)
+                .orElse(DEFAULT_BITS_PER_ID);
+        this.headroomPercent = Optional.ofNullable(
+                environmentReader.getOptionalInteger(HEADROOM_PERCENT_ENVIRONMENT_VARIABLE))
+                .filter(value -> value > 0)
+                .orElse(DEFAULT_HEADROOM_PERCENT);
+
+        Gauge.builder("search.existence.filter.false.positive.probability", this,
+                        DocumentIdFilter::getExpectedFalsePositiveProbability)
+                .description("Probability that an id never indexed is reported as possibly present")
+                .tag("index", name)
+                .register(meterRegistry);
+        Gauge.builder("search.existence.filter.false.positive.rate", this,
+                        DocumentIdFilter::getObservedFalsePositiveRate)
+                .description("Share of deletes of absent documents that the filter could not answer")
+                .tag("index", name)
+                .register(meterRegistry);
+        FunctionCounter.builder("search.existence.filter.definite.misses", definiteMisses, AtomicLong::get)
+                .description("Deletes answered as not found without calling Elasticsearch")
+                .tag("index", name)
+                .register(meterRegistry);
+        FunctionCounter.builder("search.existence.filter.false.positives", falsePositives, AtomicLong::get)
+                .description("Deletes the filter let through that Elasticsearch answered as not found")
+                .tag("index", name)
+                .register(meterRegistry);
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * @return true once the filter has been built and can report ids as definitely absent
+     */
+    public boolean isReady() {
+        return current != null;
+    }
+
+    /**
+     * Record that a document with the given id may be about to be indexed. Must be called before the write is sent.
+     *
+     * @param id - the document id
+     */
+    public void put(String id) {
+        if (!enabled || id == null) {
+            return;
+        }
+        // add to the filter being built first, so an id is never missed while it replaces the current one
+        DocumentIdBloomFilter next = building;
+        if (next != null) {
+            next.put(id);
+        }
+        DocumentIdBloomFilter filter = current;
+        if (filter != null) {
+            filter.put(id);
+        }
+    }
+
+    /**
+     * @param id - the document id
+     * @return true if no document with the given id is in the index, false if one may be
+     */
+    public boolean definitelyAbsent(String id) {
+        DocumentIdBloomFilter filter = current;
+        if (filter == null || filter.mightContain(id)) {
+            return false;
+        }
+        definiteMisses.incrementAndGet();
+        return true;
+    }
+
+    /**
+     * Record that Elasticsearch did not find a document the filter reported as possibly present
+     *
+     * @param id - the document id
+     */
+    public void recordNotFound(String id) {
+        if (current != null) {
+            falsePositives.incrementAndGet();
+        }
+    }
+
+    /**
+     * @return the false positive probability expected from the bits set in the filter, or NaN before it is built
+     */
+    public double getExpectedFalsePositiveProbability() {
+        DocumentIdBloomFilter filter = current;
+        return filter == null ? Double.NaN : filter.expectedFalsePositiveProbability();
+    }
+
+    /**
+     * @return the share of not found deletes the filter reported as possibly present, or NaN before there are any
+     */
+    public double getObservedFalsePositiveRate() {
+        long positives = falsePositives.get();
+        long absent = positives + definiteMisses.get();
+        return absent == 0 ? Double.NaN : (double) positives / absent;
+    }
+
+    /**
+     * Start a new filter sized for the given number of documents, to which ids are added alongside the current one
+     *
+     * @param documentCount - the number of documents in the index
+     * @return the new filter, to which the ids read from the index are added
+     */
+    DocumentIdBloomFilter startBuild(long documentCount) {
+        DocumentIdBloomFilter next = new DocumentIdBloomFilter(
+                documentCount + documentCount * headroomPercent / 100, bitsPerId);
+        building = next;
+        return next;
+    }
+
+    /**
+     * Replace the current filter with the one just built
+     */
+    void finishBuild() {
+        current = building;
+        building = null;
+    }
+
+    void abandonBuild() {
+        building = null;
+    }
+}
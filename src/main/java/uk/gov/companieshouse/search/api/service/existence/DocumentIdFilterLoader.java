@@ -0,0 +1,178 @@
+package uk.gov.companieshouse.search.api.service.existence;
+
+import static org.elasticsearch.index.query.QueryBuilders.matchAllQuery;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import org.elasticsearch.action.search.ClearScrollRequest;
+import org.elasticsearch.action.search.SearchRequest;
+import org.elasticsearch.action.search.SearchResponse;
+import org.elasticsearch.action.search.SearchScrollRequest;
+import org.elasticsearch.common.unit.TimeValue;
+import org.elasticsearch.search.SearchHit;
+import org.elasticsearch.search.builder.SearchSourceBuilder;
+import org.elasticsearch.search.sort.SortOrder;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.stereotype.Component;
+import uk.gov.companieshouse.environment.EnvironmentReader;
+import uk.gov.companieshouse.logging.util.DataMap;
+import uk.gov.companieshouse.search.api.logging.LoggingUtils;
+import uk.gov.companieshouse.search.api.service.rebuild.IndexAdministration;
+import uk.gov.companieshouse.search.api.service.rebuild.RebuildIndexClients;
+import uk.gov.companieshouse.search.api.service.rebuild.RebuildTarget;
+import uk.gov.companieshouse.search.api.service.rest.ReadConsistency;
+import uk.gov.companieshouse.search.api.service.rest.RestClientService;
+import uk.gov.companieshouse.search.api.service.rest.impl.AlphabeticalSearchRestClientService;
+import uk.gov.companieshouse.search.api.service.rest.impl.PrimarySearchRestClientService;
+import uk.gov.companieshouse.search.api.util.ConfiguredIndexNamesProvider;
+
+/**
+ * Builds the {@link DocumentIdFilter}s of the primary and alphabetical indices from a scroll over the ids of every
+ * document, once at startup and then again at a fixed interval so that deleted ids are dropped and the filters are
+ * resized as the indices grow.
+ *
+ * <p>Each rebuild starts the new filter before reading the index. Writes add their ids to the filters both before
+ * and once they have ended, so any write still in flight or made while the scroll is running is added to the new
+ * filter as well as to the filter in use. The index is then refreshed, so that every write that ended before the
+ * build started is in the snapshot the scroll takes. The index is read from the cluster writes go to, as a read
+ * cluster that lags it would leave out ids written since its last update.</p>
+ */
+@Component
+public class DocumentIdFilterLoader {
+
+    private static final String SCROLL_SIZE_ENVIRONMENT_VARIABLE = "EXISTENCE_FILTER_SCROLL_SIZE";
+    private static final String REBUILD_INTERVAL_ENVIRONMENT_VARIABLE = "EXISTENCE_FILTER_REBUILD_INTERVAL_MINUTES";
+    private static final int DEFAULT_SCROLL_SIZE = 5000;
+    private static final int DEFAULT_REBUILD_INTERVAL_MINUTES = 1440;
+    private static final TimeValue SCROLL_KEEP_ALIVE = TimeValue.timeValueMinutes(1);
+
+    private final DocumentIdFilter primaryFilter;
+    private final DocumentIdFilter alphabeticalFilter;
+    private final PrimarySearchRestClientService primarySearchRestClientService;
+    private final AlphabeticalSearchRestClientService alphabeticalSearchRestClientService;
+    private final RebuildIndexClients rebuildIndexClients;
+    private final ConfiguredIndexNamesProvider indices;
+    private final int scrollSize;
+    private final int rebuildIntervalMinutes;
+
+    private ScheduledExecutorService executor;
+
+    public DocumentIdFilterLoader(@Qualifier("primaryDocumentIdFilter") DocumentIdFilter primaryFilter,
+            @Qualifier("alphabeticalDocumentIdFilter") DocumentIdFilter alphabeticalFilter,
+            PrimarySearchRestClientService primarySearchRestClientService,
+            AlphabeticalSearchRestClientService alphabeticalSearchRestClientService,
+            RebuildIndexClients rebuildIndexClients, ConfiguredIndexNamesProvider indices,
+            EnvironmentReader environmentReader) {
+        this.primaryFilter = primaryFilter;
+        this.alphabeticalFilter = alphabeticalFilter;
+        this.primarySearchRestClientService = primarySearchRestClientService;
+        this.alphabeticalSearchRestClientService = alphabeticalSearchRestClientService;
+        this.rebuildIndexClients = rebuildIndexClients;
+        this.indices = indices;
+        this.scrollSize = Optional.ofNullable(environmentReader.getOptionalInteger(SCROLL_SIZE_ENVIRONMENT_VARIABLE))
+                .filter(value -> value > 0)
+                .orElse(DEFAULT_SCROLL_SIZE);
+        this.rebuildIntervalMinutes = Optional.ofNullable(
+                environmentReader.getOptionalInteger(REBUILD_INTERVAL_ENVIRONMENT_VARIABLE))
+                .filter(value -> value > 0)
+                .orElse(DEFAULT_REBUILD_INTERVAL_MINUTES);
+    }
+
+    @PostConstruct
+    public void start() {
+        if (!primaryFilter.isEnabled() && !alphabeticalFilter.isEnabled()) {
+            return;
+        }
+        executor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "document-id-filter-loader");
+            thread.setDaemon(true);
+            return thread;
+        });
+        executor.scheduleWithFixedDelay(this::rebuild, 0, rebuildIntervalMinutes, TimeUnit.MINUTES);
+    }
+
+    @PreDestroy
+    public void stop() {
+        if (executor != null) {
+            executor.shutdownNow();
+        }
+    }
+
+    /**
+     * Rebuild the filter of each index it is enabled for
+     */
+    public void rebuild() {
+        build(primaryFilter, primarySearchRestClientService,
+                rebuildIndexClients.administration(RebuildTarget.PRIMARY), indices.primary());
+        build(alphabeticalFilter, alphabeticalSearchRestClientService,
+                rebuildIndexClients.administration(RebuildTarget.ALPHABETICAL), indices.alphabetical());
+    }
+
+    /**
+     * Build the given filter from the ids of every document in the index. The filter in use, if any, is kept when the
+     * build fails.
+     *
+     * @param filter - the filter to rebuild
+     * @param restClientService - the client of the index, whose write cluster is read
+     * @param administration - the administration client of the index's write cluster, used to refresh it
+     * @param index - the name of the index
+     */
+    void build(DocumentIdFilter filter, RestClientService restClientService, IndexAdministration administration,
+            String index) {
+        if (!filter.isEnabled()) {
+            return;
+        }
+        Map<String, Object> logMap = new DataMap.Builder().indexName(index).build().getLogMap();
+        try {
+            SearchResponse count = restClientService.search(new SearchRequest(index)
+                    .source(new SearchSourceBuilder().size(0).trackTotalHits(true)), ReadConsistency.READ_YOUR_WRITES);
+            DocumentIdBloomFilter next = filter.startBuild(count.getHits().getTotalHits().value);
+            administration.refresh(index);
+
+            long ids = scroll(restClientService, index, next);
+            filter.finishBuild();
+            LoggingUtils.getLogger().info(String.format("Built %s document id filter of [%d] ids in [%d] bits with "
+                            + "expected false positive probability [%f]", filter.getName(), ids, next.bitSize(),
+                    next.expectedFalsePositiveProbability()), logMap);
+        } catch (IOException | RuntimeException e) {
+            filter.abandonBuild();
+            LoggingUtils.getLogger().error(String.format("Unable to build %s document id filter, will retry: %s",
+                    filter.getName(), e.getMessage()), logMap);
+        }
+    }
+
+    private long scroll(RestClientService restClientService, String index, DocumentIdBloomFilter next)
+            throws IOException {
+        SearchResponse response = restClientService.search(new SearchRequest(index)
+                .scroll(SCROLL_KEEP_ALIVE)
+                .source(new SearchSourceBuilder()
+                        .query(matchAllQuery())
+                        .fetchSource(false)
+                        .sort("_doc", SortOrder.ASC)
+                        .size(scrollSize)), ReadConsistency.READ_YOUR_WRITES);
+        String scrollId = response.getScrollId();
+        long ids = 0;
+        try {
+            while (response.getHits().getHits().length > 0) {
+                for (SearchHit hit : response.getHits().getHits()) {
+                    next.put(hit.getId());
+                }
+                ids += response.getHits().getHits().length;
+                response = restClientService.scroll(new SearchScrollRequest(scrollId).scroll(SCROLL_KEEP_ALIVE),
+                        ReadConsistency.READ_YOUR_WRITES);
+                scrollId = response.getScrollId();
+            }
+        } finally {
+            ClearScrollRequest clearScrollRequest = new ClearScrollRequest();
+            clearScrollRequest.addScrollId(scrollId);
+            restClientService.clearScroll(clearScrollRequest, ReadConsistency.READ_YOUR_WRITES);
+        }
+        return ids;
+    }
+}
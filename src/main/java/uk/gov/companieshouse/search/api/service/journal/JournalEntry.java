@@ -0,0 +1,100 @@
+package uk.gov.companieshouse.search.api.service.journal;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import org.elasticsearch.action.DocWriteRequest;
+import org.elasticsearch.action.delete.DeleteRequest;
+import org.elasticsearch.action.index.IndexRequest;
+import org.elasticsearch.action.update.UpdateRequest;
+import org.elasticsearch.common.bytes.BytesArray;
+import org.elasticsearch.common.bytes.BytesReference;
+import org.elasticsearch.common.xcontent.XContentType;
+
+/**
+ * A single write recorded in the {@link WriteJournal}: either a doc-as-upsert update carrying the JSON document, or
+ * a delete.
+ */
+public final class JournalEntry {
+
+    public enum Operation {
+        UPSERT,
+        DELETE
+    }
+
+    private final Operation operation;
+    private final String index;
+    private final String type;
+    private final String id;
+    private final byte[] source;
+
+    private JournalEntry(Operation operation, String index, String type, String id, byte[] source) {
+        this.operation = operation;
+        this.index = index;
+        this.type = type;
+        this.id = id;
+        this.source = source;
+    }
+
+    /**
+     * @param updateRequest - doc-as-upsert update request built by one of the upsert request services
+     * @return {@link JournalEntry} holding the request's JSON document
+     */
+    public static JournalEntry upsert(UpdateRequest updateRequest) {
+        byte[] source = BytesReference.toBytes(updateRequest.doc().source());
+        return new JournalEntry(Operation.UPSERT, updateRequest.index(), updateRequest.type(), updateRequest.id(),
+                source);
+    }
+
+    public static JournalEntry delete(DeleteRequest deleteRequest) {
+        return new JournalEntry(Operation.DELETE, deleteRequest.index(), deleteRequest.type(), deleteRequest.id(),
+                null);
+    }
+
+    /**
+     * @return the write request to replay against Elasticsearch
+     */
+    public DocWriteRequest<?> toRequest() {
+        if (operation == Operation.DELETE) {
+            return new DeleteRequest(index, type, id);
+        }
+        IndexRequest document = new IndexRequest().source(new BytesArray(source), XContentType.JSON);
+        return new UpdateRequest(index, type, id).docAsUpsert(true).doc(document);
+    }
+
+    void writeTo(DataOutput output) throws IOException {
+        output.writeByte(operation.ordinal());
+        output.writeUTF(index);
+        output.writeUTF(type);
+        output.writeUTF(id);
+        if (operation == Operation.UPSERT) {
+            output.writeInt(source.length);
+            output.write(source);
+        }
+    }
+
+    static JournalEntry readFrom(DataInput input) throws IOException {
+        Operation operation = Operation.values()[input.readByte()];
+        String index = input.readUTF();
+        String type = input.readUTF();
+        String id = input.readUTF();
+        byte[] source = null;
+        if (operation == Operation.UPSERT) {
+            source = new byte[input.readInt()];
+            input.readFully(source);
+        }
+        return new JournalEntry(operation, index, type, id, source);
+    }
+
+    public Operation getOperation() {
+        return operation;
+    }
+
+    public String getIndex() {
+        return index;
+    }
+
+    public String getId() {
+        return id;
+    }
+}
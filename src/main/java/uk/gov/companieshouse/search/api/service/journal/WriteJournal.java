@@ -0,0 +1,473 @@
+package uk.gov.companieshouse.search.api.service.journal;
+
+import java.io.BufferedInputStream;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.ClosedChannelException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import java.util.zip.CRC32;
+import javax.annotation.PreDestroy;
+import org.springframework.stereotype.Component;
+import uk.gov.companieshouse.environment.EnvironmentReader;
+import uk.gov.companieshouse.logging.util.DataMap;
+import uk.gov.companieshouse.search.api.logging.LoggingUtils;
+
+/**
+ * Append-only local journal of primary index writes accepted while Elasticsearch is unavailable.
+ *
+ * <p>Records are appended to numbered segment files, rolling to a new segment once
+ * {@link #SEGMENT_SIZE_ENVIRONMENT_VARIABLE} bytes is reached. Each append returns only once its record has been
+ * fsynced; appenders arriving while an fsync is in progress are covered by the next one, so concurrent writes share
+ * fsyncs. The {@link WriteJournalReplayer} reads records back in append order from the checkpoint, and segments are
+ * deleted once the checkpoint has moved past them.</p>
+ *
+ * <p>Writes of a document are serialised with the replay of its journalled writes by {@link #lock}: a write holds
+ * the document's lock from checking {@link #hasPendingEntries()} until it has been sent or journalled, and the
+ * replayer holds the locks of a batch's documents until the batch is committed, so a write sent directly is never
+ * overtaken by an older journalled write of the same document.</p>
+ *
+ * <p>The journal is disabled unless {@link #DIRECTORY_ENVIRONMENT_VARIABLE} is set.</p>
+ */
+@Component
+public class WriteJournal {
+
+    private static final String DIRECTORY_ENVIRONMENT_VARIABLE = "WRITE_JOURNAL_DIRECTORY";
+    private static final String SEGMENT_SIZE_ENVIRONMENT_VARIABLE = "WRITE_JOURNAL_SEGMENT_SIZE";
+    private static final int DEFAULT_SEGMENT_SIZE = 64 * 1024 * 1024;
+
+    private static final String SEGMENT_SUFFIX = ".journal";
+    private static final String CHECKPOINT_FILE = "checkpoint";
+    private static final String CHECKPOINT_TEMP_FILE = "checkpoint.tmp";
+    private static final int RECORD_HEADER_SIZE = 2 * Integer.BYTES;
+    private static final int DOCUMENT_LOCK_STRIPES = 1024;
+
+    private final Path directory;
+    private final long segmentSize;
+
+    private final Object appendLock = new Object();
+    private final Object syncLock = new Object();
+    private final ReentrantLock[] documentLocks = new ReentrantLock[DOCUMENT_LOCK_STRIPES];
+
+    // guarded by appendLock
+    private FileChannel segmentChannel;
+    private long segmentNumber;
+
+    private volatile Position writtenPosition;
+    private volatile Position syncedPosition;
+    private volatile Position checkpoint;
+    private volatile boolean pendingEntries;
+
+    public WriteJournal(EnvironmentReader environmentReader) {
+        String journalDirectory = environmentReader.getOptionalString(DIRECTORY_ENVIRONMENT_VARIABLE);
+        this.segmentSize = Optional.ofNullable(environmentReader.getOptionalInteger(SEGMENT_SIZE_ENVIRONMENT_VARIABLE))
+                .orElse(DEFAULT_SEGMENT_SIZE);
+        if (journalDirectory == null) {
+            this.directory = null;
+            return;
+        }
+        this.directory = Paths.get(journalDirectory);
+        for (int i = 0; i < documentLocks.length; i++) {
+            documentLocks[i] = new ReentrantLock();
+        }
+        try {
+            open();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Unable to open write journal in " + journalDirectory, e);
+        }
+    }
+
+    public boolean isEnabled() {
+        return directory != null;
+    }
+
+    /**
+     * @return true if the journal holds writes not yet replayed to Elasticsearch. While this is the case new writes
+     *     must also be journalled so that they are applied after the writes already recorded for the same document.
+     */
+    public boolean hasPendingEntries() {
+        return isEnabled() && pendingEntries;
+    }
+
+    /**
+     * Lock a document against the replay of its journalled writes and other writes that check the journal
+     *
+     * @param id - the id of the document
+     * @return the held lock, to be closed once the write has been sent or journalled
+     */
+    public DocumentLock lock(String id) {
+        return lock(List.of(id));
+    }
+
+    /**
+     * Lock several documents against the replay of their journalled writes and other writes that check the journal.
+     * Locks are taken in a fixed order so that callers locking overlapping documents cannot deadlock.
+     *
+     * @param ids - the ids of the documents
+     * @return the held locks, to be closed once the writes have been sent or journalled
+     */
+    public DocumentLock lock(Collection<String> ids) {
+        if (!isEnabled()) {
+            return new DocumentLock(List.of());
+        }
+        int[] stripes = ids.stream()
+                .mapToInt(id -> Math.floorMod(id.hashCode(), DOCUMENT_LOCK_STRIPES))
+                .distinct()
+                .sorted()
+                .toArray();
+        List<ReentrantLock> held = new ArrayList<>(stripes.length);
+        for (int stripe : stripes) {
+            documentLocks[stripe].lock();
+            held.add(documentLocks[stripe]);
+        }
+        return new DocumentLock(held);
+    }
+
+    /**
+     * Durably record a write, returning once it has been fsynced to disk
+     *
+     * @param entry - the write to record
+     * @throws IOException if the record could not be written or synced
+     */
+    public void append(JournalEntry entry) throws IOException {
+        ByteBuffer record = encode(entry);
+        Position end;
+        synchronized (appendLock) {
+            long position = segmentChannel.position();
+            if (position > 0 && position + record.remaining() > segmentSize) {
+                roll();
+            }
+            while (record.hasRemaining()) {
+                segmentChannel.write(record);
+            }
+            end = new Position(segmentNumber, segmentChannel.position());
+            writtenPosition = end;
+            pendingEntries = true;
+        }
+        sync(end);
+    }
+
+    /**
+     * Read durably recorded entries in append order, starting at the checkpoint
+     *
+     * @param maxEntries - maximum number of entries to read
+     * @return {@link Batch} of entries and the position following the last one read
+     * @throws IOException if a segment could not be read or a record is corrupt
+     */
+    public Batch read(int maxEntries) throws IOException {
+        Position position = checkpoint;
+        Position limit = syncedPosition;
+        List<JournalEntry> entries = new ArrayList<>();
+
+        while (entries.size() < maxEntries && position.compareTo(limit) < 0) {
+            Path segment = segmentPath(position.segment);
+            long end = position.segment == limit.segment ? limit.offset : Files.size(segment);
+            if (position.offset >= end) {
+                position = new Position(position.segment + 1, 0);
+                continue;
+            }
+            try (FileChannel channel = FileChannel.open(segment, StandardOpenOption.READ)) {
+                channel.position(position.offset);
+                DataInputStream input = new DataInputStream(new BufferedInputStream(Channels.newInputStream(channel)));
+                long offset = position.offset;
+                while (entries.size() < maxEntries && offset < end) {
+                    byte[] payload = readRecord(input, end - offset);
+                    if (payload == null) {
+                        throw new IOException("Corrupt write journal record in " + segment + " at " + offset);
+                    }
+                    entries.add(JournalEntry.readFrom(new DataInputStream(new ByteArrayInputStream(payload))));
+                    offset += RECORD_HEADER_SIZE + payload.length;
+                }
+                position = new Position(position.segment, offset);
+            }
+        }
+        return new Batch(entries, position);
+    }
+
+    /**
+     * Move the checkpoint past entries that have been applied to Elasticsearch, deleting fully applied segments
+     *
+     * @param position - the position following the last applied entry
+     * @throws IOException if the checkpoint could not be written
+     */
+    public void commit(Position position) throws IOException {
+        Path temp = directory.resolve(CHECKPOINT_TEMP_FILE);
+        try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING)) {
+            ByteBuffer buffer = ByteBuffer.allocate(2 * Long.BYTES)
+                    .putLong(position.segment)
+                    .putLong(position.offset);
+            buffer.flip();
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+            channel.force(true);
+        }
+        Files.move(temp, directory.resolve(CHECKPOINT_FILE), StandardCopyOption.ATOMIC_MOVE,
+                StandardCopyOption.REPLACE_EXISTING);
+        checkpoint = position;
+
+        for (long number : listSegments()) {
+            if (number < position.segment) {
+                Files.deleteIfExists(segmentPath(number));
+            }
+        }
+
+        synchronized (appendLock) {
+            if (position.compareTo(writtenPosition) >= 0) {
+                pendingEntries = false;
+            }
+        }
+    }
+
+    @PreDestroy
+    public void close() throws IOException {
+        if (!isEnabled()) {
+            return;
+        }
+        synchronized (appendLock) {
+            segmentChannel.force(false);
+            segmentChannel.close();
+        }
+    }
+
+    private void open() throws IOException {
+        Files.createDirectories(directory);
+        List<Long> segments = listSegments();
+        Path checkpointFile = directory.resolve(CHECKPOINT_FILE);
+
+        if (Files.exists(checkpointFile)) {
+            try (DataInputStream input = new DataInputStream(Files.newInputStream(checkpointFile))) {
+                checkpoint = new Position(input.readLong(), input.readLong());
+            }
+        } else {
+            checkpoint = new Position(segments.isEmpty() ? 1 : segments.get(0), 0);
+        }
+
+        segmentNumber = segments.isEmpty() ? checkpoint.segment : segments.get(segments.size() - 1);
+        segmentChannel = FileChannel.open(segmentPath(segmentNumber), StandardOpenOption.CREATE,
+                StandardOpenOption.READ, StandardOpenOption.WRITE);
+        truncateIncompleteRecords();
+        segmentChannel.position(segmentChannel.size());
+
+        writtenPosition = new Position(segmentNumber, segmentChannel.size());
+        syncedPosition = writtenPosition;
+        pendingEntries = checkpoint.compareTo(writtenPosition) < 0;
+
+        Map<String, Object> logMap = new DataMap.Builder().build().getLogMap();
+        LoggingUtils.getLogger().info(String.format("Opened write journal in [%s] with checkpoint [%s] and end [%s]",
+                directory, checkpoint, writtenPosition), logMap);
+    }
+
+    /**
+     * Drop a partially written record left at the end of the last segment by a crash mid-append
+     */
+    private void truncateIncompleteRecords() throws IOException {
+        long size = segmentChannel.size();
+        long validEnd = 0;
+        segmentChannel.position(0);
+        DataInputStream input = new DataInputStream(new BufferedInputStream(
+                Channels.newInputStream(segmentChannel)));
+        while (validEnd < size) {
+            byte[] payload = readRecord(input, size - validEnd);
+            if (payload == null) {
+                break;
+            }
+            validEnd += RECORD_HEADER_SIZE + payload.length;
+        }
+        if (validEnd < size) {
+            Map<String, Object> logMap = new DataMap.Builder().build().getLogMap();
+            LoggingUtils.getLogger().error(String.format("Truncating incomplete write journal record in [%s] at [%d]",
+                    segmentPath(segmentNumber), validEnd), logMap);
+            segmentChannel.truncate(validEnd);
+            segmentChannel.force(false);
+        }
+    }
+
+    private void roll() throws IOException {
+        segmentChannel.force(false);
+        segmentChannel.close();
+        segmentNumber++;
+        segmentChannel = FileChannel.open(segmentPath(segmentNumber), StandardOpenOption.CREATE_NEW,
+                StandardOpenOption.READ, StandardOpenOption.WRITE);
+    }
+
+    private void sync(Position end) throws IOException {
+        synchronized (syncLock) {
+            if (syncedPosition.compareTo(end) >= 0) {
+                return;
+            }
+            FileChannel channel;
+            Position target;
+            synchronized (appendLock) {
+                channel = segmentChannel;
+                target = writtenPosition;
+            }
+            try {
+                channel.force(false);
+            } catch (ClosedChannelException e) {
+                // the segment was rolled, which forces it before closing
+            }
+            syncedPosition = target;
+        }
+    }
+
+    private static ByteBuffer encode(JournalEntry entry) throws IOException {
+        ByteArrayOutputStream payload = new ByteArrayOutputStream();
+        entry.writeTo(new DataOutputStream(payload));
+        byte[] bytes = payload.toByteArray();
+
+        CRC32 crc = new CRC32();
+        crc.update(bytes);
+
+        ByteBuffer record = ByteBuffer.allocate(RECORD_HEADER_SIZE + bytes.length)
+                .putInt(bytes.length)
+                .putInt((int) crc.getValue())
+                .put(bytes);
+        record.flip();
+        return record;
+    }
+
+    /**
+     * @param remaining - bytes left in the segment from the start of the record
+     * @return the record payload, or null if the record is incomplete or fails its checksum
+     */
+    private static byte[] readRecord(DataInputStream input, long remaining) throws IOException {
+        if (remaining < RECORD_HEADER_SIZE) {
+            return null;
+        }
+        try {
+            int length = input.readInt();
+            int checksum = input.readInt();
+            if (length < 0 || length > remaining - RECORD_HEADER_SIZE) {
+                return null;
+            }
+            byte[] payload = new byte[length];
+            input.readFully(payload);
+            CRC32 crc = new CRC32();
+            crc.update(payload);
+            return (int) crc.getValue() == checksum ? payload : null;
+        } catch (EOFException e) {
+            return null;
+        }
+    }
+
+    private List<Long> listSegments() throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            List<Long> segments = files
+                    .map(path -> path.getFileName().toString())
+                    .filter(name -> name.endsWith(SEGMENT_SUFFIX))
+                    .map(name -> Long.parseLong(name.substring(0, name.length() - SEGMENT_SUFFIX.length())))
+                    .collect(Collectors.toList());
+            Collections.sort(segments);
+            return segments;
+        }
+    }
+
+    private Path segmentPath(long number) {
+        return directory.resolve(String.format("%020d%s", number, SEGMENT_SUFFIX));
+    }
+
+    /**
+     * A position in the journal: a segment number and a byte offset within that segment.
+     */
+    public static final class Position implements Comparable<Position> {
+
+        private final long segment;
+        private final long offset;
+
+        public Position(long segment, long offset) {
+            this.segment = segment;
+            this.offset = offset;
+        }
+
+        @Override
+        public int compareTo(Position other) {
+            int compare = Long.compare(segment, other.segment);
+            return compare != 0 ? compare : Long.compare(offset, other.offset);
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (o == null || getClass() != o.getClass()) {
+                return false;
+            }
+            Position position = (Position) o;
+            return segment == position.segment && offset == position.offset;
+        }
+
+        @Override
+        public int hashCode() {
+            return Long.hashCode(segment) * 31 + Long.hashCode(offset);
+        }
+
+        @Override
+        public String toString() {
+            return segment + ":" + offset;
+        }
+    }
+
+    /**
+     * Locks held on documents by {@link #lock}, released when closed.
+     */
+    public static final class DocumentLock implements AutoCloseable {
+
+        private final List<ReentrantLock> held;
+
+        private DocumentLock(List<ReentrantLock> held) {
+            this.held = held;
+        }
+
+        @Override
+        public void close() {
+            for (int i = held.size() - 1; i >= 0; i--) {
+                held.get(i).unlock();
+            }
+        }
+    }
+
+    /**
+     * Entries read from the journal and the position following the last of them.
+     */
+    public static final class Batch {
+
+        private final List<JournalEntry> entries;
+        private final Position end;
+
+        public Batch(List<JournalEntry> entries, Position end) {
+            this.entries = entries;
+            this.end = end;
+        }
+
+        public List<JournalEntry> getEntries() {
+            return entries;
+        }
+
+        public Position getEnd() {
+            return end;
+        }
+    }
+}
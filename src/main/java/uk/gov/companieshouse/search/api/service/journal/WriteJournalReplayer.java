@@ -0,0 +1,163 @@
+package uk.gov.companieshouse.search.api.service.journal;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.io.IOException;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import org.elasticsearch.ElasticsearchException;
+import org.elasticsearch.action.bulk.BulkItemResponse;
+import org.elasticsearch.action.bulk.BulkRequest;
+import org.elasticsearch.action.bulk.BulkResponse;
+import org.elasticsearch.rest.RestStatus;
+import org.springframework.stereotype.Component;
+import uk.gov.companieshouse.environment.EnvironmentReader;
+import uk.gov.companieshouse.logging.util.DataMap;
+import uk.gov.companieshouse.search.api.logging.LoggingUtils;
+import uk.gov.companieshouse.search.api.service.journal.WriteJournal.Batch;
+import uk.gov.companieshouse.search.api.service.journal.WriteJournal.DocumentLock;
+import uk.gov.companieshouse.search.api.service.rest.impl.PrimarySearchRestClientService;
+
+/**
+ * Drains the {@link WriteJournal} into the primary index with bulk requests once Elasticsearch is reachable again.
+ *
+ * <p>Batches are read and sent one at a time in journal order, and Elasticsearch applies the items of a bulk
+ * request for the same document in the order given, so writes to each document are applied in the order they were
+ * accepted. A batch is only committed once it has been applied; if it is rejected or the cluster is still
+ * unreachable, the whole batch is replayed on the next attempt, which is safe as replaying an in-order prefix of
+ * upserts and deletes leaves each document in the same final state. The documents of a batch are locked until it
+ * is committed, so that writes of them made meanwhile are journalled after it rather than sent ahead of it.</p>
+ *
+ * <p>Writes Elasticsearch refuses for good, such as those with a mapping error, are logged with their document id,
+ * counted in {@code search.write.journal.discarded} and dropped so that they do not hold up the rest.</p>
+ */
+@Component
+public class WriteJournalReplayer {
+
+    private static final String REPLAY_INTERVAL_ENVIRONMENT_VARIABLE = "WRITE_JOURNAL_REPLAY_INTERVAL_MS";
+    private static final String REPLAY_BATCH_SIZE_ENVIRONMENT_VARIABLE = "WRITE_JOURNAL_REPLAY_BATCH_SIZE";
+    private static final int DEFAULT_REPLAY_INTERVAL_MS = 5000;
+    private static final int DEFAULT_REPLAY_BATCH_SIZE = 500;
+
+    private final WriteJournal writeJournal;
+    private final PrimarySearchRestClientService primarySearchRestClientService;
+    private final int replayIntervalMs;
+    private final int replayBatchSize;
+    private final Counter discarded;
+
+    private ScheduledExecutorService executor;
+
+    public WriteJournalReplayer(WriteJournal writeJournal,
+            PrimarySearchRestClientService primarySearchRestClientService,
+            EnvironmentReader environmentReader, MeterRegistry meterRegistry) {
+        this.writeJournal = writeJournal;
+        this.primarySearchRestClientService = primarySearchRestClientService;
+        this.replayIntervalMs = Optional.ofNullable(
+                environmentReader.getOptionalInteger(REPLAY_INTERVAL_ENVIRONMENT_VARIABLE))
+                .filter(value -> value > 0)
+                .orElse(DEFAULT_REPLAY_INTERVAL_MS);
+        this.replayBatchSize = Optional.ofNullable(
+                environmentReader.getOptionalInteger(REPLAY_BATCH_SIZE_ENVIRONMENT_VARIABLE))
+                .filter(value -> value > 0)
+                .orElse(DEFAULT_REPLAY_BATCH_SIZE);
+        this.discarded = Counter.builder("search.write.journal.discarded")
+                .description("Journalled writes dropped as Elasticsearch refused them for good")
+                .register(meterRegistry);
+    }
+
+    @PostConstruct
+    public void start() {
+        if (!writeJournal.isEnabled()) {
+            return;
+        }
+        executor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "write-journal-replayer");
+            thread.setDaemon(true);
+            return thread;
+        });
+        executor.scheduleWithFixedDelay(this::replay, replayIntervalMs, replayIntervalMs, TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    public void stop() {
+        if (executor != null) {
+            executor.shutdownNow();
+        }
+    }
+
+    /**
+     * Replay journalled writes until the journal is drained or a batch cannot be applied
+     */
+    public void replay() {
+        Map<String, Object> logMap = new DataMap.Builder().build().getLogMap();
+        try {
+            while (writeJournal.hasPendingEntries()) {
+                Batch batch = writeJournal.read(replayBatchSize);
+                if (batch.getEntries().isEmpty()) {
+                    writeJournal.commit(batch.getEnd());
+                    return;
+                }
+                try (DocumentLock lock = writeJournal.lock(batch.getEntries().stream()
+                        .map(JournalEntry::getId)
+                        .collect(Collectors.toList()))) {
+                    if (!apply(batch, logMap)) {
+                        return;
+                    }
+                    writeJournal.commit(batch.getEnd());
+                }
+                LoggingUtils.getLogger().info(String.format("Replayed [%d] journalled writes to primary search index",
+                        batch.getEntries().size()), logMap);
+            }
+        } catch (IOException | RuntimeException e) {
+            LoggingUtils.getLogger().error("Unable to replay write journal, will retry: " + e.getMessage(), logMap);
+        }
+    }
+
+    private boolean apply(Batch batch, Map<String, Object> logMap) throws IOException {
+        BulkRequest bulkRequest = new BulkRequest();
+        batch.getEntries().forEach(entry -> bulkRequest.add(entry.toRequest()));
+
+        BulkResponse bulkResponse;
+        try {
+            bulkResponse = primarySearchRestClientService.bulk(bulkRequest);
+        } catch (ElasticsearchException e) {
+            LoggingUtils.getLogger().error("Bulk replay of write journal rejected: " + e.getMessage(), logMap);
+            return false;
+        }
+
+        if (!bulkResponse.hasFailures()) {
+            return true;
+        }
+        for (BulkItemResponse item : bulkResponse.getItems()) {
+            if (item.isFailed() && isRetryable(item.getFailure().getStatus())) {
+                LoggingUtils.getLogger().error(String.format("Journalled write for [%s] rejected with [%s], "
+                        + "will retry", item.getId(), item.getFailure().getStatus()), logMap);
+                return false;
+            }
+        }
+        int failed = 0;
+        for (BulkItemResponse item : bulkResponse.getItems()) {
+            if (item.isFailed()) {
+                LoggingUtils.getLogger().error(String.format("Discarding journalled write for [%s]: %s",
+                        item.getId(), item.getFailureMessage()), logMap);
+                failed++;
+            }
+        }
+        discarded.increment(failed);
+        LoggingUtils.getLogger().error(String.format("Discarded [%d] of [%d] journalled writes to primary search index",
+                failed, batch.getEntries().size()), logMap);
+        return true;
+    }
+
+    private boolean isRetryable(RestStatus status) {
+        return status == RestStatus.TOO_MANY_REQUESTS
+                || status == RestStatus.SERVICE_UNAVAILABLE
+                || status == RestStatus.GATEWAY_TIMEOUT;
+    }
+}
@@ -0,0 +1,45 @@
+package uk.gov.companieshouse.search.api.service.rebuild;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Spaces out the bulk requests of the loader threads so that together they write no more than a fixed number of
+ * documents per second. Each batch reserves the next free slot for its documents and waits until it is due, so
+ * the rate holds across threads without any thread holding a lock while it waits.
+ */
+final class DocumentRateLimiter {
+
+    private final long nanosPerDocument;
+    private long nextFreeNanos = System.nanoTime();
+
+    /**
+     * @param documentsPerSecond - the most documents to allow each second, or 0 for no limit
+     */
+    DocumentRateLimiter(int documentsPerSecond) {
+        this.nanosPerDocument = documentsPerSecond <= 0 ? 0 : TimeUnit.SECONDS.toNanos(1) / documentsPerSecond;
+    }
+
+    /**
+     * Wait until the given number of documents may be written
+     */
+    void acquire(int documents) throws InterruptedException {
+        long waitNanos = reserve(documents);
+        if (waitNanos > 0) {
+            TimeUnit.NANOSECONDS.sleep(waitNanos);
+        }
+    }
+
+    /**
+     * @return nanoseconds to wait before writing the documents
+     */
+    synchronized long reserve(int documents) {
+        if (nanosPerDocument == 0) {
+            return 0;
+        }
+        long now = System.nanoTime();
+        // a limiter left idle does not save up a burst
+        long start = Math.max(now, nextFreeNanos);
+        nextFreeNanos = start + documents * nanosPerDocument;
+        return start - now;
+    }
+}
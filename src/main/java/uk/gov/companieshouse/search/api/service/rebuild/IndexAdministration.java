@@ -0,0 +1,136 @@
+package uk.gov.companieshouse.search.api.service.rebuild;
+
+import static org.elasticsearch.client.RequestOptions.DEFAULT;
+
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import org.elasticsearch.action.admin.cluster.health.ClusterHealthRequest;
+import org.elasticsearch.action.admin.cluster.health.ClusterHealthResponse;
+import org.elasticsearch.action.admin.indices.alias.IndicesAliasesRequest;
+import org.elasticsearch.action.admin.indices.alias.IndicesAliasesRequest.AliasActions;
+import org.elasticsearch.action.admin.indices.alias.get.GetAliasesRequest;
+import org.elasticsearch.action.admin.indices.create.CreateIndexRequest;
+import org.elasticsearch.action.admin.indices.mapping.get.GetMappingsRequest;
+import org.elasticsearch.action.admin.indices.refresh.RefreshRequest;
+import org.elasticsearch.action.admin.indices.settings.get.GetSettingsRequest;
+import org.elasticsearch.action.admin.indices.settings.put.UpdateSettingsRequest;
+import org.elasticsearch.client.RestHighLevelClient;
+import org.elasticsearch.client.core.CountRequest;
+import org.elasticsearch.client.indices.PutIndexTemplateRequest;
+import org.elasticsearch.cluster.health.ClusterHealthStatus;
+import org.elasticsearch.cluster.metadata.MappingMetaData;
+import org.elasticsearch.common.collect.ImmutableOpenMap;
+import org.elasticsearch.common.settings.Settings;
+import org.elasticsearch.common.unit.TimeValue;
+import org.elasticsearch.common.xcontent.XContentType;
+import uk.gov.companieshouse.search.api.exception.IndexRebuildException;
+
+/**
+ * The index and alias operations a rebuild needs against one cluster.
+ *
+ * <p>Mappings are read and created with the typed APIs, as the primary index is mapped under the
+ * {@code primary_search} type and the rebuilt index must accept documents written with it.</p>
+ */
+public class IndexAdministration {
+
+    private final RestHighLevelClient client;
+
+    public IndexAdministration(RestHighLevelClient client) {
+        this.client = client;
+    }
+
+    /**
+     * @param alias - the alias
+     * @return the indices the alias points at, empty if there is no such alias
+     */
+    public Set<String> getAliasedIndices(String alias) throws IOException {
+        return new TreeSet<>(client.indices().getAlias(new GetAliasesRequest(alias), DEFAULT).getAliases().keySet());
+    }
+
+    public Settings getSettings(String index) throws IOException {
+        return client.indices().getSettings(new GetSettingsRequest().indices(index), DEFAULT)
+                .getIndexToSettings().get(index);
+    }
+
+    /**
+     * @param index - the index
+     * @return the index's mapping sources keyed by mapping type
+     */
+    @SuppressWarnings("deprecation")
+    public Map<String, Map<String, Object>> getMappings(String index) throws IOException {
+        ImmutableOpenMap<String, MappingMetaData> typeMappings = client.indices()
+                .getMapping(new GetMappingsRequest().indices(index), DEFAULT).mappings().get(index);
+        Map<String, Map<String, Object>> mappings = new HashMap<>();
+        typeMappings.forEach(mapping -> mappings.put(mapping.key, mapping.value.sourceAsMap()));
+        return mappings;
+    }
+
+    @SuppressWarnings("deprecation")
+    public void createIndex(String index, Settings settings, String type, Map<String, Object> mapping)
+            throws IOException {
+        if (!client.indices().create(new CreateIndexRequest(index).settings(settings).mapping(type, mapping),
+                DEFAULT).isAcknowledged()) {
+            throw new IndexRebuildException("Creation of index [" + index + "] was not acknowledged");
+        }
+    }
+
+    /**
+     * Install or replace an index template, applied to new indices matching the given patterns rather than those in
+     * its source
+     *
+     * @param source - the JSON body of the template
+     */
+    public void putTemplate(String name, List<String> patterns, byte[] source) throws IOException {
+        PutIndexTemplateRequest request = new PutIndexTemplateRequest(name)
+                .source(source, XContentType.JSON)
+                .patterns(patterns);
+        if (!client.indices().putTemplate(request, DEFAULT).isAcknowledged()) {
+            throw new IndexRebuildException("Installation of template [" + name + "] was not acknowledged");
+        }
+    }
+
+    public void updateSettings(String index, Settings settings) throws IOException {
+        if (!client.indices().putSettings(new UpdateSettingsRequest(index).settings(settings), DEFAULT)
+                .isAcknowledged()) {
+            throw new IndexRebuildException("Settings update of index [" + index + "] was not acknowledged");
+        }
+    }
+
+    public void refresh(String index) throws IOException {
+        client.indices().refresh(new RefreshRequest(index), DEFAULT);
+    }
+
+    /**
+     * Wait up to the given time for the index to reach the given health
+     *
+     * @return the health of the index when it reached the status or the wait timed out
+     */
+    public ClusterHealthStatus waitForHealth(String index, ClusterHealthStatus status, TimeValue timeout)
+            throws IOException {
+        ClusterHealthResponse response = client.cluster().health(new ClusterHealthRequest(index)
+                .waitForStatus(status).timeout(timeout), DEFAULT);
+        return response.getStatus();
+    }
+
+    public long count(String index) throws IOException {
+        return client.count(new CountRequest(index), DEFAULT).getCount();
+    }
+
+    /**
+     * Point the alias at the new index and away from the old ones in a single atomic update
+     */
+    public void swapAlias(String alias, String newIndex, Set<String> oldIndices) throws IOException {
+        IndicesAliasesRequest request = new IndicesAliasesRequest()
+                .addAliasAction(AliasActions.add().index(newIndex).alias(alias));
+        for (String oldIndex : oldIndices) {
+            request.addAliasAction(AliasActions.remove().index(oldIndex).alias(alias));
+        }
+        if (!client.indices().updateAliases(request, DEFAULT).isAcknowledged()) {
+            throw new IndexRebuildException("Swap of alias [" + alias + "] to [" + newIndex + "] was not acknowledged");
+        }
+    }
+}
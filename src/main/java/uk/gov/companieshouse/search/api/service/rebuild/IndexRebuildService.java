@@ -0,0 +1,557 @@
+package uk.gov.companieshouse.search.api.service.rebuild;
+
+import static uk.gov.companieshouse.search.api.logging.LoggingUtils.getLogger;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.ToLongFunction;
+import org.elasticsearch.ElasticsearchException;
+import org.elasticsearch.action.DocWriteRequest;
+import org.elasticsearch.action.bulk.BulkItemResponse;
+import org.elasticsearch.action.bulk.BulkRequest;
+import org.elasticsearch.action.bulk.BulkResponse;
+import org.elasticsearch.action.delete.DeleteRequest;
+import org.elasticsearch.action.index.IndexRequest;
+import org.elasticsearch.cluster.health.ClusterHealthStatus;
+import org.elasticsearch.common.settings.Settings;
+import org.elasticsearch.common.unit.TimeValue;
+import org.elasticsearch.rest.RestStatus;
+import org.springframework.stereotype.Service;
+import uk.gov.companieshouse.environment.EnvironmentReader;
+import uk.gov.companieshouse.logging.util.DataMap;
+import uk.gov.companieshouse.search.api.exception.IndexRebuildException;
+import uk.gov.companieshouse.search.api.model.response.RebuildProgress;
+import uk.gov.companieshouse.search.api.model.response.RebuildProgress.State;
+import uk.gov.companieshouse.search.api.model.response.ResponseStatus;
+import uk.gov.companieshouse.search.api.service.rebuild.RebuildDocumentConverter.Conversion;
+import uk.gov.companieshouse.search.api.service.rest.MigrationWrites.Tally;
+import uk.gov.companieshouse.search.api.service.rest.RestClientService;
+
+/**
+ * Rebuilds an index from an NDJSON dump without touching the index being searched until the new one is complete.
+ *
+ * <p>The configured index name must be an alias. A new index is created beside the one it points at, with the
+ * same settings and mapping but no replicas and no refreshes, and the dump is loaded into it by parallel bulk
+ * workers, no faster than the configured number of documents per second. The alphabetical and dissolved indices are
+ * also created with the settings of their template under {@code elasticsearch/}, such as the index sort, which is
+ * installed for the indices named after the alias first. The replicas and refresh interval are
+ * then restored, and once the new index is as healthy as the old one and holds every document loaded, the alias is
+ * swapped to it in one atomic update. The old index is kept, so a rebuild can be rolled back by pointing the alias
+ * back at it.</p>
+ *
+ * <p>From the moment the new index is created until the alias is swapped, writes through this instance to the alias
+ * are sent to the new index as well, while searches keep reading through the alias. The dump is loaded with create
+ * operations, so a document already written to the new index by a live write is newer than the dump's copy and is
+ * kept, and a document a live write deleted is not loaded. Live updates that apply to the document already held are
+ * deferred until the dump is loaded and then replayed. The alias is only swapped if every live write reached the new
+ * index. Writes through other instances are only sent to the new index if they are configured with its name as the
+ * migration index, and are neither deferred nor stop deleted documents being loaded.</p>
+ */
+@Service
+public class IndexRebuildService {
+
+    private static final String DUMP_DIRECTORY_ENVIRONMENT_VARIABLE = "INDEX_REBUILD_DUMP_DIRECTORY";
+    private static final String WORKERS_ENVIRONMENT_VARIABLE = "INDEX_REBUILD_WORKERS";
+    private static final String BATCH_SIZE_ENVIRONMENT_VARIABLE = "INDEX_REBUILD_BATCH_SIZE";
+    private static final String MAX_DOCUMENTS_PER_SECOND_ENVIRONMENT_VARIABLE =
+            "INDEX_REBUILD_MAX_DOCUMENTS_PER_SECOND";
+    private static final String MAX_FAILED_DOCUMENTS_ENVIRONMENT_VARIABLE = "INDEX_REBUILD_MAX_FAILED_DOCUMENTS";
+    private static final String HEALTH_TIMEOUT_ENVIRONMENT_VARIABLE = "INDEX_REBUILD_HEALTH_TIMEOUT_SECONDS";
+    private static final String PROGRESS_INTERVAL_ENVIRONMENT_VARIABLE = "INDEX_REBUILD_PROGRESS_INTERVAL_SECONDS";
+    private static final int DEFAULT_WORKERS = 4;
+    private static final int DEFAULT_BATCH_SIZE = 1000;
+    private static final int DEFAULT_MAX_DOCUMENTS_PER_SECOND = 5000;
+    private static final int DEFAULT_MAX_FAILED_DOCUMENTS = 0;
+    private static final int DEFAULT_HEALTH_TIMEOUT_SECONDS = 600;
+    private static final int DEFAULT_PROGRESS_INTERVAL_SECONDS = 30;
+
+    private static final int BULK_MAX_ATTEMPTS = 5;
+    private static final long BULK_INITIAL_BACKOFF_MS = 1000;
+    private static final TimeValue HEALTH_POLL = TimeValue.timeValueSeconds(20);
+    private static final DateTimeFormatter INDEX_SUFFIX = DateTimeFormatter.ofPattern("yyyyMMddHHmmss");
+    // settings such as the index sort can only be given when an index is created, so come from a template
+    private static final Map<RebuildTarget, String> TEMPLATES = Map.of(
+            RebuildTarget.ALPHABETICAL, "/elasticsearch/alphabetical-search-template.json",
+            RebuildTarget.DISSOLVED, "/elasticsearch/dissolved-search-template.json");
+
+    private static final String NUMBER_OF_REPLICAS = "index.number_of_replicas";
+    private static final String REFRESH_INTERVAL = "index.refresh_interval";
+    // settings Elasticsearch sets on an index itself, which cannot be given when creating one
+    private static final Set<String> GENERATED_SETTINGS = Set.of("index.uuid", "index.creation_date",
+            "index.provided_name", "index.version.created", "index.version.upgraded");
+    private static final List<String> GENERATED_SETTING_PREFIXES = List.of("index.resize.", "index.blocks.",
+            "index.routing.allocation.initial_recovery.");
+
+    private final RebuildIndexClients clients;
+    private final RebuildDocumentConverter converter;
+    private final Path dumpDirectory;
+    private final int workers;
+    private final int batchSize;
+    private final int maxFailedDocuments;
+    private final int healthTimeoutSeconds;
+    private final int progressIntervalSeconds;
+    private final DocumentRateLimiter rateLimiter;
+    private final AtomicBoolean running = new AtomicBoolean();
+    private final AtomicReference<RebuildProgress> progress = new AtomicReference<>();
+
+    public IndexRebuildService(RebuildIndexClients clients, RebuildDocumentConverter converter,
+            EnvironmentReader environmentReader, MeterRegistry meterRegistry) {
+        this.clients = clients;
+        this.converter = converter;
+        this.dumpDirectory = Optional.ofNullable(
+                environmentReader.getOptionalString(DUMP_DIRECTORY_ENVIRONMENT_VARIABLE))
+                .map(directory -> Paths.get(directory).toAbsolutePath().normalize())
+                .orElse(null);
+        this.workers = Optional.ofNullable(environmentReader.getOptionalInteger(WORKERS_ENVIRONMENT_VARIABLE))
+                .orElse(DEFAULT_WORKERS);
+        this.batchSize = Optional.ofNullable(environmentReader.getOptionalInteger(BATCH_SIZE_ENVIRONMENT_VARIABLE))
+                .orElse(DEFAULT_BATCH_SIZE);
+        this.maxFailedDocuments = Optional.ofNullable(
+                environmentReader.getOptionalInteger(MAX_FAILED_DOCUMENTS_ENVIRONMENT_VARIABLE))
+                .orElse(DEFAULT_MAX_FAILED_DOCUMENTS);
+        this.healthTimeoutSeconds = Optional.ofNullable(
+                environmentReader.getOptionalInteger(HEALTH_TIMEOUT_ENVIRONMENT_VARIABLE))
+                .orElse(DEFAULT_HEALTH_TIMEOUT_SECONDS);
+        this.progressIntervalSeconds = Optional.ofNullable(
+                environmentReader.getOptionalInteger(PROGRESS_INTERVAL_ENVIRONMENT_VARIABLE))
+                .orElse(DEFAULT_PROGRESS_INTERVAL_SECONDS);
+        this.rateLimiter = new DocumentRateLimiter(Optional.ofNullable(
+                environmentReader.getOptionalInteger(MAX_DOCUMENTS_PER_SECOND_ENVIRONMENT_VARIABLE))
+                .orElse(DEFAULT_MAX_DOCUMENTS_PER_SECOND));
+
+        registerDocumentGauge(meterRegistry, "read", RebuildProgress::getDocumentsRead);
+        registerDocumentGauge(meterRegistry, "indexed", RebuildProgress::getDocumentsIndexed);
+        registerDocumentGauge(meterRegistry, "failed", RebuildProgress::getDocumentsFailed);
+        Gauge.builder("search.rebuild.running", running, value -> value.get() ? 1 : 0)
+                .description("Whether an index rebuild is running")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Start rebuilding an index from a dump in the background, unless a rebuild is already running
+     *
+     * @param target - the index to rebuild
+     * @param dump - the name of the dump file in the dump directory
+     * @return REBUILD_STARTED, REBUILD_IN_PROGRESS, or REBUILD_REQUEST_ERROR if the dump cannot be read
+     */
+    public ResponseStatus start(RebuildTarget target, String dump) {
+        Optional<Path> path = resolveDump(dump);
+        if (path.isEmpty()) {
+            getLogger().error(String.format("Rebuild of %s index refused, dump [%s] is not a file in the dump "
+                    + "directory", target.getName(), dump));
+            return ResponseStatus.REBUILD_REQUEST_ERROR;
+        }
+        if (!running.compareAndSet(false, true)) {
+            return ResponseStatus.REBUILD_IN_PROGRESS;
+        }
+        RebuildProgress rebuild = new RebuildProgress(clients.alias(target), dump);
+        progress.set(rebuild);
+        Thread thread = new Thread(() -> run(target, path.get(), rebuild), "index-rebuild");
+        thread.setDaemon(true);
+        thread.start();
+        return ResponseStatus.REBUILD_STARTED;
+    }
+
+    /**
+     * @return the progress of the running rebuild or the last one to finish, or null if there has been none
+     */
+    public RebuildProgress getProgress() {
+        return progress.get();
+    }
+
+    void run(RebuildTarget target, Path dump, RebuildProgress rebuild) {
+        Map<String, Object> logMap = new DataMap.Builder().indexName(rebuild.getAlias()).build().getLogMap();
+        ScheduledExecutorService reporter = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "index-rebuild-progress");
+            thread.setDaemon(true);
+            return thread;
+        });
+        reporter.scheduleAtFixedRate(() -> logProgress(rebuild, logMap), progressIntervalSeconds,
+                progressIntervalSeconds, TimeUnit.SECONDS);
+        try {
+            rebuild(target, dump, rebuild);
+        } catch (IOException | RuntimeException e) {
+            rebuild.fail(e.getMessage());
+            getLogger().error(String.format("Rebuild of [%s] failed, alias left unchanged: %s",
+                    rebuild.getAlias(), e.getMessage()), logMap);
+        } catch (InterruptedException e) {
+            rebuild.fail("Interrupted");
+            Thread.currentThread().interrupt();
+        } finally {
+            reporter.shutdownNow();
+            logProgress(rebuild, logMap);
+            running.set(false);
+        }
+    }
+
+    private void rebuild(RebuildTarget target, Path dump, RebuildProgress rebuild)
+            throws IOException, InterruptedException {
+        String alias = rebuild.getAlias();
+        IndexAdministration administration = clients.administration(target);
+
+        Set<String> liveIndices = administration.getAliasedIndices(alias);
+        if (liveIndices.isEmpty()) {
+            throw new IndexRebuildException("[" + alias + "] is not an alias, so cannot be swapped to a new index");
+        }
+        String liveIndex = liveIndices.iterator().next();
+        Settings liveSettings = administration.getSettings(liveIndex);
+        Map<String, Map<String, Object>> mappings = administration.getMappings(liveIndex);
+        if (mappings.size() != 1) {
+            throw new IndexRebuildException("Index [" + liveIndex + "] has " + mappings.size() + " mapping types");
+        }
+        String type = mappings.keySet().iterator().next();
+
+        String index = alias + "-" + LocalDateTime.now().format(INDEX_SUFFIX);
+        rebuild.index(index);
+        installTemplate(target, administration, alias);
+        administration.createIndex(index, loadingSettings(liveSettings), type, mappings.get(type));
+        clients.startMigration(target, index);
+        try {
+            rebuild.state(State.LOADING);
+            load(target, dump, index, type, rebuild);
+            replayDeferredWrites(target, index);
+            if (rebuild.getDocumentsFailed() > maxFailedDocuments) {
+                throw new IndexRebuildException(String.format(
+                        "[%d] documents failed to load, more than the [%d] allowed",
+                        rebuild.getDocumentsFailed(), maxFailedDocuments));
+            }
+
+            rebuild.state(State.RESTORING);
+            administration.updateSettings(index, restoredSettings(liveSettings));
+
+            rebuild.state(State.CHECKING);
+            awaitHealth(administration, index, liveIndex);
+            replayDeferredWrites(target, index);
+            checkCount(administration, index, rebuild, clients.migrationTally(index));
+
+            administration.swapAlias(alias, index, liveIndices);
+            rebuild.state(State.SWAPPED);
+        } finally {
+            clients.finishMigration(target, index);
+        }
+        getLogger().info(String.format("Swapped [%s] from %s to [%s]", alias, liveIndices, index),
+                new DataMap.Builder().indexName(alias).build().getLogMap());
+    }
+
+    /**
+     * Install the template of the target, if it has one, for the indices rebuilt behind its alias. The live index's
+     * settings are given when the new index is created, so take precedence over the template's.
+     */
+    private static void installTemplate(RebuildTarget target, IndexAdministration administration, String alias)
+            throws IOException {
+        String resource = TEMPLATES.get(target);
+        if (resource == null) {
+            return;
+        }
+        try (InputStream template = IndexRebuildService.class.getResourceAsStream(resource)) {
+            if (template == null) {
+                throw new IndexRebuildException("Index template [" + resource + "] not found");
+            }
+            administration.putTemplate(alias, List.of(alias + "-*"), template.readAllBytes());
+        }
+    }
+
+    /**
+     * Check the new index holds every document loaded, plus those live writes created and less those they deleted.
+     * Live writes keep arriving while the index is counted, so the count must fall between what was expected before
+     * and after it was taken.
+     */
+    private void checkCount(IndexAdministration administration, String index, RebuildProgress rebuild, Tally live)
+            throws IOException {
+        long loaded = rebuild.getDocumentsIndexed() - rebuild.getDocumentsReplaced();
+        long createdBefore = live.getCreated();
+        long deletedBefore = live.getDeleted();
+        administration.refresh(index);
+        long count = administration.count(index);
+        long lowest = loaded + createdBefore - live.getDeleted();
+        long highest = loaded + live.getCreated() - deletedBefore;
+        if (count < lowest || count > highest) {
+            throw new IndexRebuildException(String.format("Index [%s] holds [%d] documents, expected [%s]",
+                    index, count, lowest == highest ? lowest : lowest + " to " + highest));
+        }
+        if (live.getFailed() > 0) {
+            throw new IndexRebuildException(String.format("[%d] live writes failed to reach index [%s]",
+                    live.getFailed(), index));
+        }
+        int deferred = clients.deferredWrites(index);
+        if (deferred > 0) {
+            throw new IndexRebuildException(String.format("[%d] live writes have yet to reach index [%s]",
+                    deferred, index));
+        }
+    }
+
+    /**
+     * Replay the live writes deferred while the new index was loading, in the order they were made for each
+     * document, until none are left. Writes rejected with 429 are deferred again and replayed after a back off.
+     */
+    private void replayDeferredWrites(RebuildTarget target, String index) throws InterruptedException {
+        RestClientService writer = clients.writer(target);
+        int attempt = 1;
+        List<DocWriteRequest<?>> deferred;
+        while (!(deferred = clients.takeDeferredWrites(index)).isEmpty()) {
+            BulkRequest bulkRequest = new BulkRequest();
+            deferred.forEach(bulkRequest::add);
+            int rejected;
+            for (; ; attempt++) {
+                try {
+                    rejected = clients.deferredWritesReplayed(index, bulkRequest, writer.bulk(bulkRequest));
+                    break;
+                } catch (IOException | ElasticsearchException e) {
+                    if (attempt == BULK_MAX_ATTEMPTS) {
+                        throw new IndexRebuildException("Replay of live writes failed: " + e.getMessage(), e);
+                    }
+                    backOff(attempt);
+                }
+            }
+            if (rejected > 0) {
+                if (attempt == BULK_MAX_ATTEMPTS) {
+                    throw new IndexRebuildException(String.format(
+                            "[%d] live writes were still rejected after [%d] attempts", rejected, attempt));
+                }
+                backOff(attempt++);
+            }
+        }
+    }
+
+    /**
+     * Read the dump in batches and hand each to the next free worker, holding no more batches in memory than
+     * twice the number of workers
+     */
+    private void load(RebuildTarget target, Path dump, String index, String type, RebuildProgress rebuild)
+            throws IOException, InterruptedException {
+        AtomicInteger threads = new AtomicInteger();
+        ExecutorService pool = Executors.newFixedThreadPool(workers, runnable -> {
+            Thread thread = new Thread(runnable, "index-rebuild-loader-" + threads.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        Semaphore batches = new Semaphore(workers * 2);
+        AtomicReference<RuntimeException> failure = new AtomicReference<>();
+        RestClientService writer = clients.writer(target);
+
+        try (BufferedReader reader = Files.newBufferedReader(dump, StandardCharsets.UTF_8)) {
+            List<String> batch = new ArrayList<>(batchSize);
+            String line;
+            while (failure.get() == null && (line = reader.readLine()) != null) {
+                if (line.isBlank()) {
+                    continue;
+                }
+                batch.add(line);
+                if (batch.size() == batchSize) {
+                    submit(pool, batches, failure, target, batch, index, type, writer, rebuild);
+                    batch = new ArrayList<>(batchSize);
+                }
+            }
+            if (!batch.isEmpty() && failure.get() == null) {
+                submit(pool, batches, failure, target, batch, index, type, writer, rebuild);
+            }
+            pool.shutdown();
+            pool.awaitTermination(Long.MAX_VALUE, TimeUnit.NANOSECONDS);
+        } finally {
+            pool.shutdownNow();
+        }
+        if (failure.get() != null) {
+            throw failure.get();
+        }
+    }
+
+    private void submit(ExecutorService pool, Semaphore batches, AtomicReference<RuntimeException> failure,
+            RebuildTarget target, List<String> batch, String index, String type, RestClientService writer,
+            RebuildProgress rebuild) throws InterruptedException {
+        batches.acquire();
+        rebuild.read(batch.size());
+        pool.execute(() -> {
+            try {
+                write(target, batch, index, type, writer, rebuild);
+            } catch (RuntimeException e) {
+                failure.compareAndSet(null, e);
+            } catch (InterruptedException e) {
+                failure.compareAndSet(null, new IndexRebuildException("Interrupted", e));
+                Thread.currentThread().interrupt();
+            } finally {
+                batches.release();
+            }
+        });
+    }
+
+    /**
+     * Convert a batch and create its documents in one bulk request, retrying the request if the cluster cannot be
+     * reached and the items it rejects with 429. A document that already exists, having been written while the dump
+     * was loading or earlier in the dump, is counted as replaced and any other failed item as a failed document. A
+     * document a live write deleted is skipped, or deleted again if the live write raced its creation.
+     */
+    private void write(RebuildTarget target, List<String> batch, String index, String type, RestClientService writer,
+            RebuildProgress rebuild) throws InterruptedException {
+        Conversion conversion = converter.convert(target, batch, index, type);
+        rebuild.failed(conversion.getFailed());
+        List<IndexRequest> pending = new ArrayList<>(conversion.getRequests());
+        pending.removeIf(request -> clients.deletedDuringMigration(index, request.id()));
+        if (pending.isEmpty()) {
+            return;
+        }
+        pending.forEach(request -> request.opType(DocWriteRequest.OpType.CREATE));
+        rateLimiter.acquire(pending.size());
+
+        for (int attempt = 1; ; attempt++) {
+            BulkRequest bulkRequest = new BulkRequest();
+            pending.forEach(bulkRequest::add);
+            BulkResponse bulkResponse;
+            try {
+                bulkResponse = writer.bulk(bulkRequest);
+            } catch (IOException | ElasticsearchException e) {
+                if (attempt == BULK_MAX_ATTEMPTS) {
+                    throw new IndexRebuildException("Bulk load failed: " + e.getMessage(), e);
+                }
+                backOff(attempt);
+                continue;
+            }
+
+            List<IndexRequest> rejected = new ArrayList<>();
+            List<String> deleted = new ArrayList<>();
+            long indexed = 0;
+            long replaced = 0;
+            long failed = 0;
+            for (BulkItemResponse item : bulkResponse.getItems()) {
+                if (!item.isFailed() && clients.deletedDuringMigration(index, item.getId())) {
+                    deleted.add(item.getId());
+                } else if (!item.isFailed()) {
+                    indexed++;
+                } else if (item.getFailure().getStatus() == RestStatus.CONFLICT) {
+                    indexed++;
+                    replaced++;
+                } else if (item.getFailure().getStatus() == RestStatus.TOO_MANY_REQUESTS
+                        && attempt < BULK_MAX_ATTEMPTS) {
+                    rejected.add(pending.get(item.getItemId()));
+                } else {
+                    failed++;
+                }
+            }
+            rebuild.indexed(indexed);
+            rebuild.replaced(replaced);
+            rebuild.failed(failed);
+            delete(deleted, index, type, writer, rebuild);
+            if (rejected.isEmpty()) {
+                return;
+            }
+            pending = rejected;
+            backOff(attempt);
+        }
+    }
+
+    /**
+     * Delete loaded documents that a live write deleted while they were being loaded, counting any that cannot be
+     * deleted as failed documents
+     */
+    private void delete(List<String> ids, String index, String type, RestClientService writer,
+            RebuildProgress rebuild) {
+        if (ids.isEmpty()) {
+            return;
+        }
+        BulkRequest bulkRequest = new BulkRequest();
+        ids.forEach(id -> bulkRequest.add(new DeleteRequest(index, type, id)));
+        try {
+            for (BulkItemResponse item : writer.bulk(bulkRequest).getItems()) {
+                if (item.isFailed()) {
+                    rebuild.failed(1);
+                }
+            }
+        } catch (IOException | ElasticsearchException e) {
+            rebuild.failed(ids.size());
+        }
+    }
+
+    /**
+     * Wait for the new index to be as healthy as the one it replaces, and at least yellow
+     */
+    private void awaitHealth(IndexAdministration administration, String index, String liveIndex)
+            throws IOException, InterruptedException {
+        ClusterHealthStatus required = administration.waitForHealth(liveIndex, ClusterHealthStatus.GREEN,
+                TimeValue.ZERO);
+        if (required == ClusterHealthStatus.RED) {
+            required = ClusterHealthStatus.YELLOW;
+        }
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(healthTimeoutSeconds);
+        ClusterHealthStatus status;
+        while ((status = administration.waitForHealth(index, required, HEALTH_POLL)).value() > required.value()) {
+            if (System.nanoTime() > deadline) {
+                throw new IndexRebuildException(String.format("Index [%s] is %s after [%d] seconds, expected %s",
+                        index, status, healthTimeoutSeconds, required));
+            }
+            if (Thread.interrupted()) {
+                throw new InterruptedException();
+            }
+        }
+    }
+
+    private Optional<Path> resolveDump(String dump) {
+        if (dumpDirectory == null || dump == null || dump.isBlank()) {
+            return Optional.empty();
+        }
+        Path path = dumpDirectory.resolve(dump).normalize();
+        return path.startsWith(dumpDirectory) && Files.isRegularFile(path) && Files.isReadable(path)
+                ? Optional.of(path) : Optional.empty();
+    }
+
+    private static Settings loadingSettings(Settings liveSettings) {
+        return Settings.builder()
+                .put(liveSettings.filter(key -> !GENERATED_SETTINGS.contains(key)
+                        && GENERATED_SETTING_PREFIXES.stream().noneMatch(key::startsWith)))
+                .put(NUMBER_OF_REPLICAS, 0)
+                .put(REFRESH_INTERVAL, "-1")
+                .build();
+    }
+
+    private static Settings restoredSettings(Settings liveSettings) {
+        Settings.Builder settings = Settings.builder()
+                .put(NUMBER_OF_REPLICAS, liveSettings.get(NUMBER_OF_REPLICAS, "1"));
+        String refreshInterval = liveSettings.get(REFRESH_INTERVAL);
+        if (refreshInterval == null) {
+            settings.putNull(REFRESH_INTERVAL);
+        } else {
+            settings.put(REFRESH_INTERVAL, refreshInterval);
+        }
+        return settings.build();
+    }
+
+    private static void backOff(int attempt) throws InterruptedException {
+        Thread.sleep(BULK_INITIAL_BACKOFF_MS << (attempt - 1));
+    }
+
+    private void logProgress(RebuildProgress rebuild, Map<String, Object> logMap) {
+        getLogger().info(String.format("Rebuild of [%s] into [%s] %s: [%d] read, [%d] indexed, [%d] failed, "
+                        + "[%d] documents per second", rebuild.getAlias(), rebuild.getIndex(), rebuild.getState(),
+                rebuild.getDocumentsRead(), rebuild.getDocumentsIndexed(), rebuild.getDocumentsFailed(),
+                rebuild.getDocumentsPerSecond()), logMap);
+    }
+
+    private void registerDocumentGauge(MeterRegistry meterRegistry, String outcome,
+            ToLongFunction<RebuildProgress> documents) {
+        Gauge.builder("search.rebuild.documents", progress, current -> Optional.ofNullable(current.get())
+                        .map(documents::applyAsLong).orElse(0L))
+                .description("Documents of the running or last index rebuild, by outcome")
+                .tag("outcome", outcome)
+                .register(meterRegistry);
+    }
+}
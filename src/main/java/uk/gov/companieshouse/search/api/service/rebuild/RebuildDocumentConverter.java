@@ -0,0 +1,182 @@
+package uk.gov.companieshouse.search.api.service.rebuild;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import javax.naming.ServiceUnavailableException;
+import org.elasticsearch.action.DocWriteRequest;
+import org.elasticsearch.action.index.IndexRequest;
+import org.elasticsearch.action.update.UpdateRequest;
+import org.elasticsearch.common.xcontent.XContentType;
+import org.springframework.stereotype.Component;
+import uk.gov.companieshouse.api.model.company.CompanyProfileApi;
+import uk.gov.companieshouse.search.api.elasticsearch.AdvancedSearchUpsertRequest;
+import uk.gov.companieshouse.search.api.elasticsearch.AlphabeticalSearchUpsertRequest;
+import uk.gov.companieshouse.search.api.exception.IndexRebuildException;
+import uk.gov.companieshouse.search.api.kafka.ChangeEventRequestFactory;
+import uk.gov.companieshouse.search.api.model.response.AlphaKeyResponse;
+import uk.gov.companieshouse.search.api.service.StoredAlphaKeyService;
+import uk.gov.companieshouse.search.api.service.StoredAlphaKeyService.StoredIndex;
+
+/**
+ * Converts the lines of an NDJSON dump into index requests against the index being rebuilt, using the same
+ * builders as the PUT endpoints so a rebuilt document is identical to one upserted over HTTP.
+ *
+ * <ul>
+ *     <li>alphabetical and advanced: each line is a {@link CompanyProfileApi}, as sent to the PUT endpoints. The
+ *     alpha keys of a batch are read together, from the documents in the index being replaced where the company
+ *     name is unchanged.</li>
+ *     <li>primary: each line is a {@code changed} change event, as consumed from Kafka, so one dump can hold
+ *     companies, officers and disqualified officers.</li>
+ *     <li>dissolved: each line is the document as stored, keyed by its company_number, as this service has no
+ *     builder for dissolved companies.</li>
+ * </ul>
+ *
+ * <p>Lines that cannot be converted are counted as failed rather than failing the rebuild.</p>
+ */
+@Component
+public class RebuildDocumentConverter {
+
+    private static final String COMPANY_NUMBER = "company_number";
+
+    private final ObjectMapper objectMapper;
+    private final AlphabeticalSearchUpsertRequest alphabeticalSearchUpsertRequest;
+    private final AdvancedSearchUpsertRequest advancedSearchUpsertRequest;
+    private final StoredAlphaKeyService storedAlphaKeyService;
+    private final ChangeEventRequestFactory changeEventRequestFactory;
+
+    public RebuildDocumentConverter(ObjectMapper objectMapper,
+            AlphabeticalSearchUpsertRequest alphabeticalSearchUpsertRequest,
+            AdvancedSearchUpsertRequest advancedSearchUpsertRequest, StoredAlphaKeyService storedAlphaKeyService,
+            ChangeEventRequestFactory changeEventRequestFactory) {
+        this.objectMapper = objectMapper;
+        this.alphabeticalSearchUpsertRequest = alphabeticalSearchUpsertRequest;
+        this.advancedSearchUpsertRequest = advancedSearchUpsertRequest;
+        this.storedAlphaKeyService = storedAlphaKeyService;
+        this.changeEventRequestFactory = changeEventRequestFactory;
+    }
+
+    /**
+     * A batch of converted lines
+     */
+    public static class Conversion {
+
+        private final List<IndexRequest> requests = new ArrayList<>();
+        private int failed;
+
+        public List<IndexRequest> getRequests() {
+            return requests;
+        }
+
+        /**
+         * @return the number of lines that could not be converted
+         */
+        public int getFailed() {
+            return failed;
+        }
+    }
+
+    /**
+     * @param target - the index the lines are for
+     * @param lines - lines of the dump
+     * @param index - the name of the index being built
+     * @param type - the mapping type of the index being built
+     * @return the index requests for the lines that could be converted
+     */
+    public Conversion convert(RebuildTarget target, List<String> lines, String index, String type) {
+        Conversion conversion = new Conversion();
+        switch (target) {
+            case ALPHABETICAL:
+            case ADVANCED:
+                convertCompanies(target, lines, index, type, conversion);
+                break;
+            case PRIMARY:
+                convertChangeEvents(lines, index, type, conversion);
+                break;
+            default:
+                convertDocuments(lines, index, type, conversion);
+        }
+        return conversion;
+    }
+
+    private void convertCompanies(RebuildTarget target, List<String> lines, String index, String type,
+            Conversion conversion) {
+        List<CompanyProfileApi> companies = new ArrayList<>();
+        for (String line : lines) {
+            try {
+                CompanyProfileApi company = objectMapper.readValue(line, CompanyProfileApi.class);
+                if (company.getCompanyNumber() == null) {
+                    conversion.failed++;
+                } else {
+                    companies.add(company);
+                }
+            } catch (IOException e) {
+                conversion.failed++;
+            }
+        }
+
+        // a company repeated in the batch takes the alpha key of its last line, which is the one left indexed
+        Map<String, String> companyNames = new LinkedHashMap<>();
+        companies.forEach(company -> companyNames.put(company.getCompanyNumber(), company.getCompanyName()));
+        Map<String, AlphaKeyResponse> alphaKeys = storedAlphaKeyService.getAlphaKeys(
+                target == RebuildTarget.ALPHABETICAL ? StoredIndex.ALPHABETICAL : StoredIndex.ADVANCED, companyNames);
+
+        for (CompanyProfileApi company : companies) {
+            AlphaKeyResponse alphaKey = alphaKeys.get(company.getCompanyNumber());
+            String orderedAlphaKey = alphaKey == null ? "" : alphaKey.getOrderedAlphaKey();
+            try {
+                IndexRequest request = new IndexRequest(index).type(type).id(company.getCompanyNumber());
+                if (target == RebuildTarget.ALPHABETICAL) {
+                    request.source(alphabeticalSearchUpsertRequest.buildRequest(company, orderedAlphaKey,
+                            alphaKey == null ? "" : orderedAlphaKey + ":" + company.getCompanyNumber()));
+                } else {
+                    request.source(advancedSearchUpsertRequest.buildRequest(company, orderedAlphaKey,
+                            alphaKey == null ? "" : alphaKey.getSameAsAlphaKey()));
+                }
+                conversion.requests.add(request);
+            } catch (IOException | RuntimeException e) {
+                conversion.failed++;
+            }
+        }
+    }
+
+    private void convertChangeEvents(List<String> lines, String index, String type, Conversion conversion) {
+        for (String line : lines) {
+            Optional<DocWriteRequest<?>> request;
+            try {
+                request = changeEventRequestFactory.createRequest(line);
+            } catch (ServiceUnavailableException e) {
+                throw new IndexRebuildException("Alpha key service unavailable", e);
+            }
+            if (request.isPresent() && request.get() instanceof UpdateRequest) {
+                IndexRequest document = ((UpdateRequest) request.get()).doc();
+                conversion.requests.add(new IndexRequest(index).type(type).id(request.get().id())
+                        .source(document.source(), document.getContentType()));
+            } else {
+                conversion.failed++;
+            }
+        }
+    }
+
+    private void convertDocuments(List<String> lines, String index, String type, Conversion conversion) {
+        for (String line : lines) {
+            try {
+                JsonNode companyNumber = objectMapper.readTree(line).get(COMPANY_NUMBER);
+                if (companyNumber == null || !companyNumber.isTextual()) {
+                    conversion.failed++;
+                    continue;
+                }
+                conversion.requests.add(new IndexRequest(index).type(type).id(companyNumber.asText())
+                        .source(line.getBytes(StandardCharsets.UTF_8), XContentType.JSON));
+            } catch (IOException e) {
+                conversion.failed++;
+            }
+        }
+    }
+}
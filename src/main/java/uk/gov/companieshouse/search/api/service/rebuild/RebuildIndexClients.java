@@ -0,0 +1,128 @@
+package uk.gov.companieshouse.search.api.service.rebuild;
+
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import org.elasticsearch.action.DocWriteRequest;
+import org.elasticsearch.action.bulk.BulkRequest;
+import org.elasticsearch.action.bulk.BulkResponse;
+import org.elasticsearch.client.RestHighLevelClient;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.stereotype.Component;
+import uk.gov.companieshouse.search.api.service.rest.MigrationWrites;
+import uk.gov.companieshouse.search.api.service.rest.MigrationWrites.Tally;
+import uk.gov.companieshouse.search.api.service.rest.RestClientService;
+import uk.gov.companieshouse.search.api.service.rest.impl.AdvancedSearchRestClientService;
+import uk.gov.companieshouse.search.api.service.rest.impl.AlphabeticalSearchRestClientService;
+import uk.gov.companieshouse.search.api.service.rest.impl.DissolvedSearchRestClientService;
+import uk.gov.companieshouse.search.api.service.rest.impl.PrimarySearchRestClientService;
+import uk.gov.companieshouse.search.api.util.ConfiguredIndexNamesProvider;
+
+/**
+ * The alias, writer and administration of the cluster of each index that can be rebuilt, and the migration of writes
+ * to the alias into the index being built
+ */
+@Component
+public class RebuildIndexClients {
+
+    private final ConfiguredIndexNamesProvider indices;
+    private final MigrationWrites migrationWrites;
+    private final Map<RebuildTarget, RestClientService> writers = new EnumMap<>(RebuildTarget.class);
+    private final Map<RebuildTarget, IndexAdministration> administrations = new EnumMap<>(RebuildTarget.class);
+
+    public RebuildIndexClients(ConfiguredIndexNamesProvider indices, MigrationWrites migrationWrites,
+            AlphabeticalSearchRestClientService alphabeticalSearchRestClientService,
+            DissolvedSearchRestClientService dissolvedSearchRestClientService,
+            AdvancedSearchRestClientService advancedSearchRestClientService,
+            PrimarySearchRestClientService primarySearchRestClientService,
+            @Qualifier("alphabeticalWriteClient") RestHighLevelClient alphabeticalClient,
+            @Qualifier("dissolvedWriteClient") RestHighLevelClient dissolvedClient,
+            @Qualifier("advancedWriteClient") RestHighLevelClient advancedClient,
+            @Qualifier("primaryWriteClient") RestHighLevelClient primaryClient) {
+        this.indices = indices;
+        this.migrationWrites = migrationWrites;
+        writers.put(RebuildTarget.ALPHABETICAL, alphabeticalSearchRestClientService);
+        writers.put(RebuildTarget.DISSOLVED, dissolvedSearchRestClientService);
+        writers.put(RebuildTarget.ADVANCED, advancedSearchRestClientService);
+        writers.put(RebuildTarget.PRIMARY, primarySearchRestClientService);
+        administrations.put(RebuildTarget.ALPHABETICAL, new IndexAdministration(alphabeticalClient));
+        administrations.put(RebuildTarget.DISSOLVED, new IndexAdministration(dissolvedClient));
+        administrations.put(RebuildTarget.ADVANCED, new IndexAdministration(advancedClient));
+        administrations.put(RebuildTarget.PRIMARY, new IndexAdministration(primaryClient));
+    }
+
+    /**
+     * @return the configured name of the index, which must be an alias for the index to be rebuilt
+     */
+    public String alias(RebuildTarget target) {
+        switch (target) {
+            case ALPHABETICAL:
+                return indices.alphabetical();
+            case DISSOLVED:
+                return indices.dissolved();
+            case ADVANCED:
+                return indices.advanced();
+            default:
+                return indices.primary();
+        }
+    }
+
+    public RestClientService writer(RebuildTarget target) {
+        return writers.get(target);
+    }
+
+    public IndexAdministration administration(RebuildTarget target) {
+        return administrations.get(target);
+    }
+
+    /**
+     * Send writes to the alias of the target to the given index as well, until {@link #finishMigration} is called
+     */
+    public void startMigration(RebuildTarget target, String index) {
+        indices.startMigration(alias(target), index);
+    }
+
+    /**
+     * Stop sending writes to the alias of the target to the index it was being migrated to
+     */
+    public void finishMigration(RebuildTarget target, String index) {
+        indices.finishMigration(alias(target));
+        migrationWrites.forget(index);
+    }
+
+    /**
+     * @return the outcomes of the writes to the alias copied to the given index so far
+     */
+    public Tally migrationTally(String index) {
+        return migrationWrites.tally(index);
+    }
+
+    /**
+     * @return whether a write to the alias deleted the document since the migration to the given index started
+     */
+    public boolean deletedDuringMigration(String index, String id) {
+        return migrationWrites.isDeleted(index, id);
+    }
+
+    /**
+     * @return the writes to the alias deferred until the given index is loaded, once there are none writes are
+     *      copied to it as they are made
+     */
+    public List<DocWriteRequest<?>> takeDeferredWrites(String index) {
+        return migrationWrites.takeDeferred(index);
+    }
+
+    /**
+     * @return the number of writes deferred again, having been rejected with 429
+     */
+    public int deferredWritesReplayed(String index, BulkRequest replayed, BulkResponse bulkResponse) {
+        return migrationWrites.replayed(index, replayed, bulkResponse);
+    }
+
+    /**
+     * @return the number of writes to the alias deferred for the given index and not yet replayed
+     */
+    public int deferredWrites(String index) {
+        return migrationWrites.deferred(index);
+    }
+}
@@ -0,0 +1,32 @@
+package uk.gov.companieshouse.search.api.service.rebuild;
+
+import java.util.Arrays;
+import java.util.Optional;
+
+/**
+ * The indices that can be rebuilt from a dump, named as in the path of the rebuild endpoint.
+ */
+public enum RebuildTarget {
+    ALPHABETICAL("alphabetical"),
+    DISSOLVED("dissolved"),
+    ADVANCED("advanced"),
+    PRIMARY("primary");
+
+    private final String name;
+
+    RebuildTarget(String name) {
+        this.name = name;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * @param name - the name of the index in the path of the rebuild endpoint
+     * @return the matching target, or empty if there is none
+     */
+    public static Optional<RebuildTarget> fromName(String name) {
+        return Arrays.stream(values()).filter(target -> target.name.equals(name)).findFirst();
+    }
+}
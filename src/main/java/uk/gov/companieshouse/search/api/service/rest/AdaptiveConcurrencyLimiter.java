@@ -0,0 +1,260 @@
+package uk.gov.companieshouse.search.api.service.rest;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+import org.elasticsearch.ElasticsearchException;
+import org.elasticsearch.rest.RestStatus;
+import uk.gov.companieshouse.environment.EnvironmentReader;
+import uk.gov.companieshouse.search.api.exception.ClusterUnavailableException;
+import uk.gov.companieshouse.search.api.exception.ConcurrencyLimitExceededException;
+import uk.gov.companieshouse.search.api.service.rest.ClusterCircuitBreaker.Call;
+
+/**
+ * Limits the calls in flight to one Elasticsearch cluster, adapting the limit to the cluster's latency.
+ *
+ * <p>The limit follows the gradient between the cluster's long term average latency and the latency of each call: a
+ * call as quick as usual lets the limit grow by about its square root, and a call slower than usual shrinks it, by
+ * at most half. The long term average drifts down while calls are much quicker than it, so that a cluster that has
+ * recovered is not held back by the latencies of an incident. A call that fails because the cluster is overloaded or
+ * unreachable cuts the limit by a tenth, and the limit only grows while at least half of it is in use.</p>
+ *
+ * <p>A call over the limit waits briefly for another to finish and is then shed with a
+ * {@link ConcurrencyLimitExceededException}. Asynchronous calls wait without holding a thread.</p>
+ */
+public class AdaptiveConcurrencyLimiter {
+
+    private static final String ENABLED_ENVIRONMENT_VARIABLE = "CONCURRENCY_LIMIT_ENABLED";
+    private static final String INITIAL_LIMIT_ENVIRONMENT_VARIABLE = "CONCURRENCY_LIMIT_INITIAL";
+    private static final String MIN_LIMIT_ENVIRONMENT_VARIABLE = "CONCURRENCY_LIMIT_MIN";
+    private static final String MAX_LIMIT_ENVIRONMENT_VARIABLE = "CONCURRENCY_LIMIT_MAX";
+    private static final String QUEUE_MS_ENVIRONMENT_VARIABLE = "CONCURRENCY_LIMIT_QUEUE_MS";
+    private static final String MAX_QUEUED_ENVIRONMENT_VARIABLE = "CONCURRENCY_LIMIT_MAX_QUEUED";
+    private static final int DEFAULT_INITIAL_LIMIT = 20;
+    private static final int DEFAULT_MIN_LIMIT = 4;
+    private static final int DEFAULT_MAX_LIMIT = 200;
+    private static final int DEFAULT_QUEUE_MS = 50;
+    private static final int DEFAULT_MAX_QUEUED = 100;
+
+    private static final double SMOOTHING = 0.2;
+    private static final double LATENCY_TOLERANCE = 1.5;
+    private static final double MIN_GRADIENT = 0.5;
+    private static final double BACKOFF = 0.9;
+    private static final int LONG_TERM_CALLS = 600;
+
+    private final String name;
+    private final boolean enabled;
+    private final int minLimit;
+    private final int maxLimit;
+    private final long queueMillis;
+    private final int maxQueued;
+    private final ArrayDeque<CompletableFuture<Void>> queued = new ArrayDeque<>();
+    private final Counter shed;
+
+    private double limit;
+    private double longTermLatency;
+    private int inFlight;
+
+    /**
+     * @param name - the name of the cluster's client, used to tag the limiter's metrics
+     */
+    public AdaptiveConcurrencyLimiter(String name, EnvironmentReader environmentReader, MeterRegistry meterRegistry) {
+        this.name = name;
+        this.enabled = Boolean.TRUE.equals(environmentReader.getOptionalBoolean(ENABLED_ENVIRONMENT_VARIABLE));
+        this.minLimit = Math.max(1, read(environmentReader, MIN_LIMIT_ENVIRONMENT_VARIABLE, DEFAULT_MIN_LIMIT));
+        this.maxLimit = Math.max(minLimit, read(environmentReader, MAX_LIMIT_ENVIRONMENT_VARIABLE, DEFAULT_MAX_LIMIT));
+        this.limit = Math.max(minLimit, Math.min(maxLimit,
+                read(environmentReader, INITIAL_LIMIT_ENVIRONMENT_VARIABLE, DEFAULT_INITIAL_LIMIT)));
+        this.queueMillis = read(environmentReader, QUEUE_MS_ENVIRONMENT_VARIABLE, DEFAULT_QUEUE_MS);
+        this.maxQueued = read(environmentReader, MAX_QUEUED_ENVIRONMENT_VARIABLE, DEFAULT_MAX_QUEUED);
+
+        Gauge.builder("search.concurrency.limit", this, AdaptiveConcurrencyLimiter::getLimit)
+                .description("Calls the cluster is currently allowed in flight")
+                .tag("client", name)
+                .register(meterRegistry);
+        Gauge.builder("search.concurrency.in.flight", this, AdaptiveConcurrencyLimiter::getInFlight)
+                .description("Calls in flight to the cluster")
+                .tag("client", name)
+                .register(meterRegistry);
+        this.shed = Counter.builder("search.concurrency.shed")
+                .description("Calls failed because the cluster stayed at its concurrency limit while they waited")
+                .tag("client", name)
+                .register(meterRegistry);
+    }
+
+    private static int read(EnvironmentReader environmentReader, String variable, int defaultValue) {
+        return Optional.ofNullable(environmentReader.getOptionalInteger(variable)).orElse(defaultValue);
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public synchronized int getLimit() {
+        return (int) limit;
+    }
+
+    public synchronized int getInFlight() {
+        return inFlight;
+    }
+
+    /**
+     * Call the cluster once the call is within its concurrency limit
+     *
+     * @param call - the call to make
+     * @return the call's result
+     * @throws ConcurrencyLimitExceededException if the cluster stayed at its limit while the call waited
+     * @throws IOException if the call could not reach the cluster
+     */
+    public <T> T execute(Call<T> call) throws IOException {
+        if (!enabled) {
+            return call.execute();
+        }
+        try {
+            acquire().join();
+        } catch (CompletionException e) {
+            throw (ConcurrencyLimitExceededException) e.getCause();
+        }
+        long start = System.nanoTime();
+        Throwable failure = null;
+        try {
+            return call.execute();
+        } catch (IOException | RuntimeException e) {
+            failure = e;
+            throw e;
+        } finally {
+            release(start, failure);
+        }
+    }
+
+    /**
+     * Call the cluster asynchronously once the call is within its concurrency limit
+     *
+     * @param call - starts the call
+     * @return the call's result, or a future failed with a {@link ConcurrencyLimitExceededException} if the cluster
+     *      stayed at its limit while the call waited
+     */
+    public <T> CompletableFuture<T> executeAsync(Supplier<CompletableFuture<T>> call) {
+        if (!enabled) {
+            return call.get();
+        }
+        return acquire().thenCompose(permit -> {
+            long start = System.nanoTime();
+            CompletableFuture<T> result;
+            try {
+                result = call.get();
+            } catch (RuntimeException e) {
+                release(start, e);
+                throw e;
+            }
+            return result.whenComplete((response, failure) -> release(start,
+                    failure instanceof CompletionException && failure.getCause() != null
+                            ? failure.getCause() : failure));
+        });
+    }
+
+    /**
+     * @return a future completed once the call may be made, having been counted as in flight, or failed with a
+     *      {@link ConcurrencyLimitExceededException} once it has waited too long
+     */
+    private CompletableFuture<Void> acquire() {
+        CompletableFuture<Void> permit = new CompletableFuture<>();
+        synchronized (this) {
+            if (inFlight < (int) limit && queued.isEmpty()) {
+                inFlight++;
+                return CompletableFuture.completedFuture(null);
+            }
+            if (queued.size() >= maxQueued || queueMillis <= 0) {
+                shed.increment();
+                return CompletableFuture.failedFuture(exceeded());
+            }
+            queued.add(permit);
+        }
+        return permit.orTimeout(queueMillis, TimeUnit.MILLISECONDS).handle((granted, failure) -> {
+            if (failure != null) {
+                synchronized (this) {
+                    queued.remove(permit);
+                }
+                shed.increment();
+                throw new CompletionException(exceeded());
+            }
+            return granted;
+        });
+    }
+
+    private ConcurrencyLimitExceededException exceeded() {
+        return new ConcurrencyLimitExceededException(String.format(
+                "The %s cluster is at its concurrency limit of %d calls", name, getLimit()));
+    }
+
+    private void release(long start, Throwable failure) {
+        long latency = System.nanoTime() - start;
+        synchronized (this) {
+            if (failure == null) {
+                adjust(latency);
+            } else if (isOverload(failure)) {
+                limit = Math.max(minLimit, limit * BACKOFF);
+            }
+            inFlight--;
+        }
+        grantQueued();
+    }
+
+    /**
+     * Let queued calls through while there is room for them. Each is granted outside the lock, as granting runs the
+     * call, which may finish at once and release its own permit.
+     */
+    private void grantQueued() {
+        while (true) {
+            CompletableFuture<Void> next;
+            synchronized (this) {
+                if (inFlight >= (int) limit || queued.isEmpty()) {
+                    return;
+                }
+                next = queued.poll();
+                inFlight++;
+            }
+            if (!next.complete(null)) {
+                // timed out while being granted
+                synchronized (this) {
+                    inFlight--;
+                }
+            }
+        }
+    }
+
+    private void adjust(long latency) {
+        double sample = Math.max(1, latency);
+        longTermLatency = longTermLatency == 0 ? sample
+                : longTermLatency + (sample - longTermLatency) / LONG_TERM_CALLS;
+        if (longTermLatency > sample * 2) {
+            longTermLatency *= 0.95;
+        }
+        if (inFlight < limit / 2) {
+            // the cluster is not being asked for enough to tell whether it could take more
+            return;
+        }
+        double gradient = Math.max(MIN_GRADIENT, Math.min(1.0, LATENCY_TOLERANCE * longTermLatency / sample));
+        double next = limit * gradient + Math.sqrt(limit);
+        limit = Math.max(minLimit, Math.min(maxLimit, limit * (1 - SMOOTHING) + next * SMOOTHING));
+    }
+
+    private static boolean isOverload(Throwable failure) {
+        if (failure instanceof ElasticsearchException) {
+            RestStatus status = ((ElasticsearchException) failure).status();
+            return status == RestStatus.TOO_MANY_REQUESTS || status.getStatus() >= 500;
+        }
+        return failure instanceof IOException && !(failure instanceof ClusterUnavailableException);
+    }
+}
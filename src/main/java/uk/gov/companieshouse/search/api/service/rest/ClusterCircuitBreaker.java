@@ -0,0 +1,253 @@
+package uk.gov.companieshouse.search.api.service.rest;
+
+import static uk.gov.companieshouse.search.api.logging.LoggingUtils.getLogger;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.io.IOException;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+import org.elasticsearch.ElasticsearchException;
+import uk.gov.companieshouse.environment.EnvironmentReader;
+import uk.gov.companieshouse.search.api.exception.ClusterUnavailableException;
+
+/**
+ * Stops calling an Elasticsearch cluster that is failing or slow, so that callers fail at once with a
+ * {@link ClusterUnavailableException} rather than each waiting for the cluster to time out.
+ *
+ * <p>While closed, the outcomes of the most recent calls are kept, and the breaker opens once enough calls have been
+ * seen and either the share that failed or the share that were slow reaches its threshold. A call fails if the
+ * cluster could not be reached or answered with a 5xx status; a 4xx answer is the caller's problem, not the
+ * cluster's. After the open duration the breaker half opens and lets a few probe calls through: it closes once they
+ * have all succeeded quickly, and opens again as soon as one fails or is slow.</p>
+ */
+public class ClusterCircuitBreaker {
+
+    private static final String ENABLED_ENVIRONMENT_VARIABLE = "CIRCUIT_BREAKER_ENABLED";
+    private static final String WINDOW_ENVIRONMENT_VARIABLE = "CIRCUIT_BREAKER_WINDOW";
+    private static final String MINIMUM_CALLS_ENVIRONMENT_VARIABLE = "CIRCUIT_BREAKER_MINIMUM_CALLS";
+    private static final String FAILURE_RATE_ENVIRONMENT_VARIABLE = "CIRCUIT_BREAKER_FAILURE_RATE_PERCENT";
+    private static final String SLOW_CALL_ENVIRONMENT_VARIABLE = "CIRCUIT_BREAKER_SLOW_CALL_MS";
+    private static final String SLOW_CALL_RATE_ENVIRONMENT_VARIABLE = "CIRCUIT_BREAKER_SLOW_CALL_RATE_PERCENT";
+    private static final String OPEN_DURATION_ENVIRONMENT_VARIABLE = "CIRCUIT_BREAKER_OPEN_MS";
+    private static final String PROBES_ENVIRONMENT_VARIABLE = "CIRCUIT_BREAKER_HALF_OPEN_PROBES";
+    private static final int DEFAULT_WINDOW = 100;
+    private static final int DEFAULT_MINIMUM_CALLS = 20;
+    private static final int DEFAULT_FAILURE_RATE_PERCENT = 50;
+    private static final int DEFAULT_SLOW_CALL_MS = 5000;
+    private static final int DEFAULT_SLOW_CALL_RATE_PERCENT = 80;
+    private static final int DEFAULT_OPEN_MS = 30000;
+    private static final int DEFAULT_PROBES = 5;
+
+    private static final byte FAILED = 1;
+    private static final byte SLOW = 2;
+
+    /**
+     * The states of the breaker, valued for its state gauge
+     */
+    public enum State {
+        CLOSED, HALF_OPEN, OPEN
+    }
+
+    /**
+     * A call to the cluster
+     */
+    @FunctionalInterface
+    public interface Call<T> {
+        T execute() throws IOException;
+    }
+
+    private final String name;
+    private final boolean enabled;
+    private final int minimumCalls;
+    private final int failureRatePercent;
+    private final long slowCallNanos;
+    private final int slowCallRatePercent;
+    private final long openNanos;
+    private final int probes;
+    private final byte[] outcomes;
+    private final Counter rejected;
+
+    private State state = State.CLOSED;
+    private long epoch;
+    private long openedAt;
+    private int position;
+    private int calls;
+    private int failures;
+    private int slowCalls;
+    private int probesAdmitted;
+    private int probesSucceeded;
+
+    /**
+     * @param name - the name of the cluster's client, used to tag the breaker's metrics
+     */
+    public ClusterCircuitBreaker(String name, EnvironmentReader environmentReader, MeterRegistry meterRegistry) {
+        this.name = name;
+        this.enabled = !Boolean.FALSE.equals(environmentReader.getOptionalBoolean(ENABLED_ENVIRONMENT_VARIABLE));
+        this.outcomes = new byte[Math.max(1, read(environmentReader, WINDOW_ENVIRONMENT_VARIABLE, DEFAULT_WINDOW))];
+        this.minimumCalls = Math.min(outcomes.length,
+                read(environmentReader, MINIMUM_CALLS_ENVIRONMENT_VARIABLE, DEFAULT_MINIMUM_CALLS));
+        this.failureRatePercent = read(environmentReader, FAILURE_RATE_ENVIRONMENT_VARIABLE,
+                DEFAULT_FAILURE_RATE_PERCENT);
+        this.slowCallNanos = TimeUnit.MILLISECONDS.toNanos(
+                read(environmentReader, SLOW_CALL_ENVIRONMENT_VARIABLE, DEFAULT_SLOW_CALL_MS));
+        this.slowCallRatePercent = read(environmentReader, SLOW_CALL_RATE_ENVIRONMENT_VARIABLE,
+                DEFAULT_SLOW_CALL_RATE_PERCENT);
+        this.openNanos = TimeUnit.MILLISECONDS.toNanos(
+                read(environmentReader, OPEN_DURATION_ENVIRONMENT_VARIABLE, DEFAULT_OPEN_MS));
+        this.probes = Math.max(1, read(environmentReader, PROBES_ENVIRONMENT_VARIABLE, DEFAULT_PROBES));
+
+        Gauge.builder("search.circuit.breaker.state", this, breaker -> breaker.getState().ordinal())
+                .description("State of the cluster's circuit breaker: 0 closed, 1 half open, 2 open")
+                .tag("client", name)
+                .register(meterRegistry);
+        this.rejected = Counter.builder("search.circuit.breaker.rejected")
+                .description("Calls failed at once because the cluster's circuit breaker was open")
+                .tag("client", name)
+                .register(meterRegistry);
+    }
+
+    private static int read(EnvironmentReader environmentReader, String variable, int defaultValue) {
+        return Optional.ofNullable(environmentReader.getOptionalInteger(variable)).orElse(defaultValue);
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public synchronized State getState() {
+        return state;
+    }
+
+    /**
+     * Call the cluster unless the breaker is open
+     *
+     * @param call - the call to make
+     * @return the call's result
+     * @throws ClusterUnavailableException if the breaker is open
+     * @throws IOException if the call could not reach the cluster
+     */
+    public <T> T execute(Call<T> call) throws IOException {
+        if (!enabled) {
+            return call.execute();
+        }
+        long callEpoch = acquire();
+        long start = System.nanoTime();
+        try {
+            T result = call.execute();
+            record(callEpoch, false, start);
+            return result;
+        } catch (IOException | RuntimeException e) {
+            record(callEpoch, isFailure(e), start);
+            throw e;
+        }
+    }
+
+    /**
+     * Call the cluster asynchronously unless the breaker is open
+     *
+     * @param call - starts the call
+     * @return the call's result, or a future failed with a {@link ClusterUnavailableException} if the breaker is open
+     */
+    public <T> CompletableFuture<T> executeAsync(Supplier<CompletableFuture<T>> call) {
+        if (!enabled) {
+            return call.get();
+        }
+        long callEpoch;
+        try {
+            callEpoch = acquire();
+        } catch (ClusterUnavailableException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+        long start = System.nanoTime();
+        return call.get().whenComplete((result, failure) -> record(callEpoch,
+                failure != null && isFailure(failure instanceof CompletionException && failure.getCause() != null
+                        ? failure.getCause() : failure), start));
+    }
+
+    private synchronized long acquire() throws ClusterUnavailableException {
+        if (state == State.OPEN) {
+            if (System.nanoTime() - openedAt < openNanos) {
+                throw reject();
+            }
+            transition(State.HALF_OPEN);
+        }
+        if (state == State.HALF_OPEN) {
+            if (probesAdmitted >= probes) {
+                throw reject();
+            }
+            probesAdmitted++;
+        }
+        return epoch;
+    }
+
+    private ClusterUnavailableException reject() {
+        rejected.increment();
+        return new ClusterUnavailableException(String.format("Circuit breaker for the %s cluster is %s", name,
+                state == State.OPEN ? "open" : "half open"));
+    }
+
+    private void record(long callEpoch, boolean failed, long start) {
+        boolean slow = System.nanoTime() - start >= slowCallNanos;
+        synchronized (this) {
+            if (callEpoch != epoch) {
+                // made before the breaker last changed state, so says nothing about the cluster as it is now
+                return;
+            }
+            if (state == State.HALF_OPEN) {
+                if (failed || slow) {
+                    transition(State.OPEN);
+                } else if (++probesSucceeded >= probes) {
+                    transition(State.CLOSED);
+                }
+                return;
+            }
+            if (calls == outcomes.length) {
+                failures -= outcomes[position] & FAILED;
+                slowCalls -= (outcomes[position] & SLOW) >> 1;
+            } else {
+                calls++;
+            }
+            outcomes[position] = (byte) ((failed ? FAILED : 0) | (slow ? SLOW : 0));
+            failures += failed ? 1 : 0;
+            slowCalls += slow ? 1 : 0;
+            position = (position + 1) % outcomes.length;
+            if (calls >= minimumCalls && (failures * 100L >= (long) failureRatePercent * calls
+                    || slowCalls * 100L >= (long) slowCallRatePercent * calls)) {
+                transition(State.OPEN);
+            }
+        }
+    }
+
+    private void transition(State next) {
+        state = next;
+        epoch++;
+        if (next == State.OPEN) {
+            openedAt = System.nanoTime();
+        } else if (next == State.HALF_OPEN) {
+            probesAdmitted = 0;
+            probesSucceeded = 0;
+        } else {
+            position = 0;
+            calls = 0;
+            failures = 0;
+            slowCalls = 0;
+        }
+        getLogger().info(String.format("Circuit breaker for the %s cluster is now %s", name, next));
+    }
+
+    private static boolean isFailure(Throwable failure) {
+        if (failure instanceof ElasticsearchException) {
+            return ((ElasticsearchException) failure).status().getStatus() >= 500;
+        }
+        return failure instanceof IOException;
+    }
+}
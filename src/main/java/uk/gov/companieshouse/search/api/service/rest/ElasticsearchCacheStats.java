@@ -0,0 +1,174 @@
+package uk.gov.companieshouse.search.api.service.rest;
+
+import static uk.gov.companieshouse.search.api.logging.LoggingUtils.getLogger;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import org.elasticsearch.client.Request;
+import org.elasticsearch.client.Response;
+import org.elasticsearch.client.RestHighLevelClient;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.stereotype.Component;
+import uk.gov.companieshouse.environment.EnvironmentReader;
+import uk.gov.companieshouse.search.api.util.ConfiguredIndexNamesProvider;
+
+/**
+ * Reports how often searches of each index are answered from the Elasticsearch shard request cache and node query
+ * cache, by polling the index stats at a fixed interval.
+ *
+ * <p>The stats hold running totals since each shard started, so the hits and misses counters are advanced by the
+ * change since the last poll, and the hit ratio gauge shows the share of lookups that hit over that interval. A
+ * total that falls, as it does when a shard moves or its cache is cleared, is taken as a new starting point.</p>
+ */
+@Component
+public class ElasticsearchCacheStats {
+
+    private static final String INTERVAL_ENVIRONMENT_VARIABLE = "SEARCH_CACHE_STATS_INTERVAL_SECONDS";
+    private static final int DEFAULT_INTERVAL_SECONDS = 60;
+    private static final String[] CACHES = {"request", "query"};
+
+    private final Map<String, RestHighLevelClient> clients = new LinkedHashMap<>();
+    private final Map<String, String> indexNames = new LinkedHashMap<>();
+    private final Map<String, CacheStats> stats = new LinkedHashMap<>();
+    private final ObjectMapper objectMapper;
+    private final int intervalSeconds;
+
+    private ScheduledExecutorService executor;
+
+    public ElasticsearchCacheStats(@Qualifier("alphabeticalClient") RestHighLevelClient alphabeticalClient,
+            @Qualifier("dissolvedClient") RestHighLevelClient dissolvedClient,
+            @Qualifier("advancedClient") RestHighLevelClient advancedClient,
+            @Qualifier("primaryClient") RestHighLevelClient primaryClient,
+            ConfiguredIndexNamesProvider indices, ObjectMapper objectMapper, EnvironmentReader environmentReader,
+            MeterRegistry meterRegistry) {
+        this.objectMapper = objectMapper;
+        this.intervalSeconds = Optional.ofNullable(environmentReader.getOptionalInteger(INTERVAL_ENVIRONMENT_VARIABLE))
+                .orElse(DEFAULT_INTERVAL_SECONDS);
+        add("alphabetical", alphabeticalClient, indices.alphabetical(), meterRegistry);
+        add("dissolved", dissolvedClient, indices.dissolved(), meterRegistry);
+        add("advanced", advancedClient, indices.advanced(), meterRegistry);
+        add("primary", primaryClient, indices.primary(), meterRegistry);
+    }
+
+    private void add(String index, RestHighLevelClient client, String indexName, MeterRegistry meterRegistry) {
+        clients.put(index, client);
+        indexNames.put(index, indexName);
+        for (String cache : CACHES) {
+            stats.put(key(index, cache), new CacheStats(index, cache, meterRegistry));
+        }
+    }
+
+    @PostConstruct
+    public void start() {
+        if (intervalSeconds <= 0) {
+            return;
+        }
+        executor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "elasticsearch-cache-stats");
+            thread.setDaemon(true);
+            return thread;
+        });
+        executor.scheduleWithFixedDelay(this::poll, intervalSeconds, intervalSeconds, TimeUnit.SECONDS);
+    }
+
+    @PreDestroy
+    public void stop() {
+        if (executor != null) {
+            executor.shutdownNow();
+        }
+    }
+
+    /**
+     * Read the cache stats of each index, skipping any whose cluster cannot be reached until the next poll
+     */
+    public void poll() {
+        for (Map.Entry<String, RestHighLevelClient> client : clients.entrySet()) {
+            String index = client.getKey();
+            Request request = new Request("GET", "/" + indexNames.get(index) + "/_stats/request_cache,query_cache");
+            try {
+                Response response = client.getValue().getLowLevelClient().performRequest(request);
+                try (InputStream body = response.getEntity().getContent()) {
+                    record(index, body);
+                }
+            } catch (IOException | RuntimeException e) {
+                getLogger().error(String.format("Unable to read the cache stats of the %s index: %s", index,
+                        e.getMessage()));
+            }
+        }
+    }
+
+    /**
+     * Record the cache stats of an index
+     *
+     * @param index - the index the stats are for
+     * @param body - the body of the index stats response
+     */
+    void record(String index, InputStream body) throws IOException {
+        JsonNode total = objectMapper.readTree(body).path("_all").path("total");
+        for (String cache : CACHES) {
+            JsonNode cacheStats = total.path(cache + "_cache");
+            stats.get(key(index, cache)).record(cacheStats.path("hit_count").asLong(),
+                    cacheStats.path("miss_count").asLong());
+        }
+    }
+
+    private static String key(String index, String cache) {
+        return index + "/" + cache;
+    }
+
+    /**
+     * The running hit and miss totals of one cache of one index
+     */
+    private static class CacheStats {
+
+        private final Counter hits;
+        private final Counter misses;
+
+        private long hitTotal = -1;
+        private long missTotal = -1;
+        private volatile double hitRatio = Double.NaN;
+
+        CacheStats(String index, String cache, MeterRegistry meterRegistry) {
+            this.hits = Counter.builder("search.elasticsearch.cache.hits")
+                    .description("Lookups answered from the Elasticsearch cache")
+                    .tag("index", index)
+                    .tag("cache", cache)
+                    .register(meterRegistry);
+            this.misses = Counter.builder("search.elasticsearch.cache.misses")
+                    .description("Lookups the Elasticsearch cache could not answer")
+                    .tag("index", index)
+                    .tag("cache", cache)
+                    .register(meterRegistry);
+            Gauge.builder("search.elasticsearch.cache.hit.ratio", this, stats -> stats.hitRatio)
+                    .description("Share of the Elasticsearch cache's lookups that hit since the last poll")
+                    .tag("index", index)
+                    .tag("cache", cache)
+                    .register(meterRegistry);
+        }
+
+        synchronized void record(long hitCount, long missCount) {
+            if (hitTotal >= 0 && hitCount >= hitTotal && missCount >= missTotal) {
+                long newHits = hitCount - hitTotal;
+                long newMisses = missCount - missTotal;
+                hits.increment(newHits);
+                misses.increment(newMisses);
+                hitRatio = newHits + newMisses == 0 ? Double.NaN : (double) newHits / (newHits + newMisses);
+            }
+            hitTotal = hitCount;
+            missTotal = missCount;
+        }
+    }
+}
@@ -0,0 +1,58 @@
+package uk.gov.companieshouse.search.api.service.rest;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import org.springframework.stereotype.Component;
+import uk.gov.companieshouse.environment.EnvironmentReader;
+
+/**
+ * The requests in progress that asked to read their own writes, by request id, so that the searches made for them
+ * are sent to the cluster writes go to rather than to a replica that may not have caught up yet.
+ *
+ * <p>Reading from the write cluster takes capacity from indexing, so it is only done when
+ * {@code READ_YOUR_WRITES_ENABLED} is set.</p>
+ */
+@Component
+public class FreshReadRequests {
+
+    private static final String ENABLED_ENVIRONMENT_VARIABLE = "READ_YOUR_WRITES_ENABLED";
+
+    private final boolean enabled;
+    private final Map<String, Integer> requests = new ConcurrentHashMap<>();
+    private final Counter freshRequests;
+
+    public FreshReadRequests(EnvironmentReader environmentReader, MeterRegistry meterRegistry) {
+        this.enabled = Boolean.TRUE.equals(environmentReader.getOptionalBoolean(ENABLED_ENVIRONMENT_VARIABLE));
+        this.freshRequests = Counter.builder("search.read.your.writes")
+                .description("Requests whose searches were sent to the cluster writes go to")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Read the searches of the request from the cluster writes go to until {@link #finish} is called for it
+     *
+     * @return whether the request will read its own writes
+     */
+    public boolean start(String requestId) {
+        if (!enabled || requestId == null) {
+            return false;
+        }
+        requests.merge(requestId, 1, Integer::sum);
+        freshRequests.increment();
+        return true;
+    }
+
+    public void finish(String requestId) {
+        requests.computeIfPresent(requestId, (id, count) -> count == 1 ? null : count - 1);
+    }
+
+    /**
+     * @return the consistency the searches of the request need
+     */
+    public ReadConsistency consistency(String requestId) {
+        return requestId != null && requests.containsKey(requestId)
+                ? ReadConsistency.READ_YOUR_WRITES : ReadConsistency.EVENTUAL;
+    }
+}
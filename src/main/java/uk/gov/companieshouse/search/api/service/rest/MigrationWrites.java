@@ -0,0 +1,369 @@
+package uk.gov.companieshouse.search.api.service.rest;
+
+import static uk.gov.companieshouse.search.api.logging.LoggingUtils.getLogger;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import org.elasticsearch.ElasticsearchException;
+import org.elasticsearch.ElasticsearchStatusException;
+import org.elasticsearch.action.DocWriteRequest;
+import org.elasticsearch.action.DocWriteResponse;
+import org.elasticsearch.action.bulk.BulkItemResponse;
+import org.elasticsearch.action.bulk.BulkRequest;
+import org.elasticsearch.action.bulk.BulkResponse;
+import org.elasticsearch.action.support.WriteRequest;
+import org.elasticsearch.action.update.UpdateRequest;
+import org.elasticsearch.common.io.stream.BytesStreamOutput;
+import org.elasticsearch.common.io.stream.StreamInput;
+import org.elasticsearch.rest.RestStatus;
+import org.springframework.stereotype.Component;
+import uk.gov.companieshouse.logging.util.DataMap;
+import uk.gov.companieshouse.search.api.util.ConfiguredIndexNamesProvider;
+
+/**
+ * Sends writes to an index that is being migrated to the index it is being migrated to as well.
+ *
+ * <p>A write to a migrating index is sent as one bulk request holding the write and a copy of it addressed to the
+ * migration index, so both indices are written concurrently in a single round trip and a write rejected with 429 is
+ * retried for both. Only the response to the original write is returned to the caller; copies that fail are logged
+ * and counted against the migration index, so a migration can refuse to complete when the new index missed a
+ * write.</p>
+ *
+ * <p>While the migration index is still being loaded, an update that applies to the document already held, such as
+ * a scripted update, is not copied, as the migration index may not hold the document yet. It is deferred, along
+ * with any copy rejected with 429, until {@link #takeDeferred} hands it to the loader to replay. A later write that
+ * replaces or deletes the whole document drops the writes deferred for it. The ids of documents deleted during the
+ * migration are kept so the loader can skip them.</p>
+ */
+@Component
+public class MigrationWrites {
+
+    private final ConfiguredIndexNamesProvider indices;
+    private final Map<String, Migration> migrations = new ConcurrentHashMap<>();
+
+    /**
+     * The outcomes of the copies written to one migration index
+     */
+    public static class Tally {
+
+        private final LongAdder created = new LongAdder();
+        private final LongAdder deleted = new LongAdder();
+        private final LongAdder failed = new LongAdder();
+
+        /**
+         * @return the number of copies that created a document the migration index did not hold
+         */
+        public long getCreated() {
+            return created.sum();
+        }
+
+        /**
+         * @return the number of copies that deleted a document from the migration index
+         */
+        public long getDeleted() {
+            return deleted.sum();
+        }
+
+        /**
+         * @return the number of copies the migration index did not apply
+         */
+        public long getFailed() {
+            return failed.sum();
+        }
+    }
+
+    /**
+     * The state of the writes copied to one migration index
+     */
+    private static class Migration {
+
+        private final Tally tally = new Tally();
+        private final Set<String> deleted = new HashSet<>();
+        private final Map<String, List<DocWriteRequest<?>>> deferred = new LinkedHashMap<>();
+        private boolean loaded;
+
+        /**
+         * @return whether the copy is to be sent now, rather than deferred
+         */
+        synchronized boolean send(DocWriteRequest<?> copy) {
+            if (copy.opType() == DocWriteRequest.OpType.DELETE) {
+                deleted.add(copy.id());
+                deferred.remove(copy.id());
+                return true;
+            }
+            if (appliesToDocument(copy)) {
+                if (loaded && !deferred.containsKey(copy.id())) {
+                    return true;
+                }
+                defer(copy);
+                return false;
+            }
+            deleted.remove(copy.id());
+            deferred.remove(copy.id());
+            return true;
+        }
+
+        synchronized void defer(DocWriteRequest<?> copy) {
+            deferred.computeIfAbsent(copy.id(), id -> new ArrayList<>()).add(copy);
+        }
+
+        /**
+         * Defer writes that were handed over again, ahead of those deferred since
+         */
+        synchronized void restore(List<DocWriteRequest<?>> writes) {
+            for (int write = writes.size() - 1; write >= 0; write--) {
+                DocWriteRequest<?> copy = writes.get(write);
+                deferred.computeIfAbsent(copy.id(), id -> new ArrayList<>()).add(0, copy);
+            }
+        }
+
+        synchronized List<DocWriteRequest<?>> take() {
+            List<DocWriteRequest<?>> writes = new ArrayList<>();
+            deferred.values().forEach(writes::addAll);
+            deferred.clear();
+            if (writes.isEmpty()) {
+                loaded = true;
+            }
+            return writes;
+        }
+
+        synchronized boolean isDeleted(String id) {
+            return deleted.contains(id);
+        }
+
+        synchronized int deferredWrites() {
+            return deferred.values().stream().mapToInt(List::size).sum();
+        }
+    }
+
+    public MigrationWrites(ConfiguredIndexNamesProvider indices) {
+        this.indices = indices;
+    }
+
+    /**
+     * @param request - a write to a single document
+     * @return a bulk request of the write followed by its copy unless the copy is deferred, or empty if its index is
+     *      not being migrated
+     */
+    public Optional<BulkRequest> fanOut(DocWriteRequest<?> request) {
+        return indices.migrationIndex(request.index()).map(migrationIndex -> {
+            BulkRequest bulkRequest = new BulkRequest();
+            if (request instanceof WriteRequest) {
+                // a refresh can only be asked of the bulk request as a whole
+                bulkRequest.setRefreshPolicy(((WriteRequest<?>) request).getRefreshPolicy());
+            }
+            bulkRequest.add(copy(request, request.index()));
+            DocWriteRequest<?> copy = copy(request, migrationIndex);
+            if (migration(migrationIndex).send(copy)) {
+                bulkRequest.add(copy);
+            }
+            return bulkRequest;
+        });
+    }
+
+    /**
+     * @param bulkRequest - writes to any number of documents
+     * @return the given request if none of its writes are to a migrating index, otherwise a new request of its
+     *      writes followed by a copy of each write to a migrating index that is not deferred
+     */
+    public BulkRequest fanOut(BulkRequest bulkRequest) {
+        Map<String, Optional<String>> migrationIndices = new HashMap<>();
+        BulkRequest fannedOut = null;
+        List<DocWriteRequest<?>> requests = bulkRequest.requests();
+        for (DocWriteRequest<?> request : requests) {
+            Optional<String> migrationIndex = migrationIndices.computeIfAbsent(request.index(),
+                    indices::migrationIndex);
+            if (migrationIndex.isEmpty()) {
+                continue;
+            }
+            if (fannedOut == null) {
+                fannedOut = new BulkRequest();
+                fannedOut.setRefreshPolicy(bulkRequest.getRefreshPolicy());
+                fannedOut.timeout(bulkRequest.timeout());
+                fannedOut.waitForActiveShards(bulkRequest.waitForActiveShards());
+                requests.forEach(fannedOut::add);
+            }
+            DocWriteRequest<?> copy = copy(request, migrationIndex.get());
+            if (migration(migrationIndex.get()).send(copy)) {
+                fannedOut.add(copy);
+            }
+        }
+        return fannedOut == null ? bulkRequest : fannedOut;
+    }
+
+    /**
+     * @param fannedOut - a request made by {@link #fanOut(DocWriteRequest)}
+     * @param bulkResponse - the response to it
+     * @return the response to the original write
+     * @throws ElasticsearchException with the status of the original write if it failed
+     */
+    @SuppressWarnings("unchecked")
+    public <T extends DocWriteResponse> T response(BulkRequest fannedOut, BulkResponse bulkResponse) {
+        BulkItemResponse[] items = bulkResponse.getItems();
+        record(fannedOut, items, 1);
+        BulkItemResponse original = items[0];
+        if (original.isFailed()) {
+            BulkItemResponse.Failure failure = original.getFailure();
+            throw new ElasticsearchStatusException(failure.getMessage(), failure.getStatus(), failure.getCause());
+        }
+        return (T) original.getResponse();
+    }
+
+    /**
+     * @param bulkRequest - the request given to {@link #fanOut(BulkRequest)}
+     * @param fannedOut - the request it returned
+     * @param bulkResponse - the response to that request
+     * @return the response to the writes of the given request
+     */
+    public BulkResponse response(BulkRequest bulkRequest, BulkRequest fannedOut, BulkResponse bulkResponse) {
+        BulkItemResponse[] items = bulkResponse.getItems();
+        int originals = bulkRequest.numberOfActions();
+        if (items.length == originals) {
+            return bulkResponse;
+        }
+        record(fannedOut, items, originals);
+        return new BulkResponse(Arrays.copyOf(items, originals), bulkResponse.getTook().getMillis());
+    }
+
+    /**
+     * Hand over the writes deferred for a migration index, in the order they were made for each document, to be
+     * replayed once the index is loaded. Once there are none, writes are copied as they are made.
+     *
+     * @param migrationIndex - the concrete index an index is being migrated to
+     * @return copies of the writes addressed to the migration index, or an empty list if there are none
+     */
+    public List<DocWriteRequest<?>> takeDeferred(String migrationIndex) {
+        return migration(migrationIndex).take();
+    }
+
+    /**
+     * @param migrationIndex - the concrete index an index is being migrated to
+     * @return the number of writes deferred for it and not yet handed over
+     */
+    public int deferred(String migrationIndex) {
+        return migration(migrationIndex).deferredWrites();
+    }
+
+    /**
+     * Record the outcomes of deferred writes replayed to a migration index, deferring those rejected again with 429
+     * ahead of any deferred since they were handed over
+     *
+     * @param migrationIndex - the concrete index an index is being migrated to
+     * @param replayed - the writes handed over by {@link #takeDeferred}
+     * @param bulkResponse - the response to them
+     * @return the number of writes deferred again
+     */
+    public int replayed(String migrationIndex, BulkRequest replayed, BulkResponse bulkResponse) {
+        List<DocWriteRequest<?>> rejected = new ArrayList<>();
+        BulkItemResponse[] items = bulkResponse.getItems();
+        for (int item = 0; item < items.length; item++) {
+            if (isRejected(items[item])) {
+                rejected.add(replayed.requests().get(item));
+            } else {
+                record(items[item]);
+            }
+        }
+        migration(migrationIndex).restore(rejected);
+        return rejected.size();
+    }
+
+    /**
+     * @param migrationIndex - the concrete index an index is being migrated to
+     * @param id - the id of a document
+     * @return whether a write to the migrated index deleted the document since the migration started, and did not
+     *      write it again
+     */
+    public boolean isDeleted(String migrationIndex, String id) {
+        return migration(migrationIndex).isDeleted(id);
+    }
+
+    /**
+     * @param migrationIndex - the concrete index an index is being migrated to
+     * @return the outcomes of the copies written to it so far
+     */
+    public Tally tally(String migrationIndex) {
+        return migration(migrationIndex).tally;
+    }
+
+    public void forget(String migrationIndex) {
+        migrations.remove(migrationIndex);
+    }
+
+    private Migration migration(String migrationIndex) {
+        return migrations.computeIfAbsent(migrationIndex, name -> new Migration());
+    }
+
+    /**
+     * Record the outcomes of the copies in a request, which start at the given item. A copy rejected with 429 is
+     * deferred to be replayed. A copy that found no document is not counted as failed, as the original is answered
+     * the same way when neither index holds it, and a document missing from the migration index alone is found by
+     * its document count.
+     */
+    private void record(BulkRequest bulkRequest, BulkItemResponse[] items, int firstCopy) {
+        for (int item = firstCopy; item < items.length; item++) {
+            if (isRejected(items[item])) {
+                migration(items[item].getIndex()).defer(bulkRequest.requests().get(item));
+            } else {
+                record(items[item]);
+            }
+        }
+    }
+
+    private void record(BulkItemResponse copy) {
+        Tally tally = tally(copy.getIndex());
+        if (copy.isFailed() && copy.getFailure().getStatus() == RestStatus.NOT_FOUND) {
+            getLogger().info(String.format("Write of [%s] to migration index found no document", copy.getId()),
+                    new DataMap.Builder().indexName(copy.getIndex()).build().getLogMap());
+        } else if (copy.isFailed()) {
+            tally.failed.increment();
+            getLogger().error(String.format("Write of [%s] to migration index failed: %s", copy.getId(),
+                    copy.getFailureMessage()),
+                    new DataMap.Builder().indexName(copy.getIndex()).build().getLogMap());
+        } else if (copy.getResponse().getResult() == DocWriteResponse.Result.CREATED) {
+            tally.created.increment();
+        } else if (copy.getResponse().getResult() == DocWriteResponse.Result.DELETED) {
+            tally.deleted.increment();
+        }
+    }
+
+    private static boolean isRejected(BulkItemResponse item) {
+        return item.isFailed() && item.getFailure().getStatus() == RestStatus.TOO_MANY_REQUESTS;
+    }
+
+    /**
+     * @return whether the write changes the document already held, rather than replacing or creating it
+     */
+    private static boolean appliesToDocument(DocWriteRequest<?> request) {
+        return request instanceof UpdateRequest && !((UpdateRequest) request).docAsUpsert();
+    }
+
+    /**
+     * @return a copy of the write addressed to the given index, without a refresh policy of its own
+     */
+    private static DocWriteRequest<?> copy(DocWriteRequest<?> request, String index) {
+        try (BytesStreamOutput out = new BytesStreamOutput()) {
+            DocWriteRequest.writeDocumentRequest(out, request);
+            try (StreamInput in = out.bytes().streamInput()) {
+                DocWriteRequest<?> copy = DocWriteRequest.readDocumentRequest(in);
+                copy.index(index);
+                if (copy instanceof WriteRequest) {
+                    ((WriteRequest<?>) copy).setRefreshPolicy(WriteRequest.RefreshPolicy.NONE);
+                }
+                return copy;
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Unable to copy write to [" + index + "]", e);
+        }
+    }
+}
@@ -0,0 +1,18 @@
+package uk.gov.companieshouse.search.api.service.rest;
+
+/**
+ * How up to date the results of a search must be, which decides the cluster it is sent to
+ */
+public enum ReadConsistency {
+
+    /**
+     * The results may lag the latest writes, so the search goes to the index type's read cluster, which may be a
+     * replica of the cluster writes go to
+     */
+    EVENTUAL,
+    /**
+     * The results must not lag replication to the read cluster, so the search goes to the cluster writes go to. A
+     * write is only seen once that cluster has refreshed after it, which takes up to its refresh interval
+     */
+    READ_YOUR_WRITES
+}
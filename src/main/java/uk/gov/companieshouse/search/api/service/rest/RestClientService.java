@@ -1,11 +1,19 @@
 package uk.gov.companieshouse.search.api.service.rest;
 
+import org.elasticsearch.action.bulk.BulkRequest;
+import org.elasticsearch.action.bulk.BulkResponse;
+import org.elasticsearch.action.get.MultiGetRequest;
+import org.elasticsearch.action.get.MultiGetResponse;
+import org.elasticsearch.action.search.ClearScrollRequest;
+import org.elasticsearch.action.search.ClearScrollResponse;
 import org.elasticsearch.action.search.SearchRequest;
 import org.elasticsearch.action.search.SearchResponse;
+import org.elasticsearch.action.search.SearchScrollRequest;
 import org.elasticsearch.action.update.UpdateRequest;
 import org.elasticsearch.action.update.UpdateResponse;
 
 import java.io.IOException;
+import java.util.concurrent.CompletableFuture;
 
 public interface RestClientService {
 
@@ -17,6 +25,27 @@ public interface RestClientService {
      */
     SearchResponse search(SearchRequest searchRequest) throws IOException;
 
+    /**
+     * interface for elastic search high level rest client used for search of the cluster the consistency asks for
+     *
+     * @param searchRequest - searchRequest containing search parameters
+     * @param consistency - how up to date the results must be, deciding whether the search goes to the read cluster
+     *      or the cluster writes go to
+     * @return SearchResponse - response from elastic search db
+     */
+    SearchResponse search(SearchRequest searchRequest, ReadConsistency consistency) throws IOException;
+
+    /**
+     * interface for elastic search high level rest client used for search without blocking the calling thread
+     *
+     * @param searchRequest - searchRequest containing search parameters
+     * @param consistency - how up to date the results must be, deciding whether the search goes to the read cluster
+     *      or the cluster writes go to
+     * @return CompletableFuture - completed with the response from elastic search db on one of the client's IO
+     *      threads, or exceptionally with the IOException or ElasticsearchException the blocking search would throw
+     */
+    CompletableFuture<SearchResponse> searchAsync(SearchRequest searchRequest, ReadConsistency consistency);
+
     /**
      * interface for elastic search high level rest client used in upsert
      *
@@ -24,4 +53,57 @@ public interface RestClientService {
      * @return UpdateResponse - response from elastic search db
      */
     UpdateResponse upsert(UpdateRequest updateRequest) throws IOException;
+
+    /**
+     * interface for elastic search high level rest client used to read several documents by id
+     *
+     * @param multiGetRequest - multiGetRequest containing the document ids to read
+     * @return MultiGetResponse - response from elastic search db
+     */
+    MultiGetResponse multiGet(MultiGetRequest multiGetRequest) throws IOException;
+
+    /**
+     * interface for elastic search high level rest client used to send several writes in one request
+     *
+     * @param bulkRequest - bulkRequest containing the index, update and delete requests
+     * @return BulkResponse - response from elastic search db
+     */
+    BulkResponse bulk(BulkRequest bulkRequest) throws IOException;
+
+    /**
+     * interface for elastic search high level rest client used to read the next page of a scroll
+     *
+     * @param searchScrollRequest - searchScrollRequest containing the scroll id and how long to keep it alive
+     * @return SearchResponse - response from elastic search db
+     */
+    SearchResponse scroll(SearchScrollRequest searchScrollRequest) throws IOException;
+
+    /**
+     * interface for elastic search high level rest client used to read the next page of a scroll opened by a search
+     * with the given consistency
+     *
+     * @param searchScrollRequest - searchScrollRequest containing the scroll id and how long to keep it alive
+     * @param consistency - the consistency of the search that opened the scroll
+     * @return SearchResponse - response from elastic search db
+     */
+    SearchResponse scroll(SearchScrollRequest searchScrollRequest, ReadConsistency consistency) throws IOException;
+
+    /**
+     * interface for elastic search high level rest client used to release the search contexts held by scrolls
+     *
+     * @param clearScrollRequest - clearScrollRequest containing the scroll ids to release
+     * @return ClearScrollResponse - response from elastic search db
+     */
+    ClearScrollResponse clearScroll(ClearScrollRequest clearScrollRequest) throws IOException;
+
+    /**
+     * interface for elastic search high level rest client used to release the search contexts held by scrolls opened
+     * by searches with the given consistency
+     *
+     * @param clearScrollRequest - clearScrollRequest containing the scroll ids to release
+     * @param consistency - the consistency of the searches that opened the scrolls
+     * @return ClearScrollResponse - response from elastic search db
+     */
+    ClearScrollResponse clearScroll(ClearScrollRequest clearScrollRequest, ReadConsistency consistency)
+            throws IOException;
 }
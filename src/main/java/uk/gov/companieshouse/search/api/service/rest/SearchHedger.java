@@ -0,0 +1,255 @@
+package uk.gov.companieshouse.search.api.service.rest;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.util.Arrays;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Function;
+import org.elasticsearch.action.search.SearchRequest;
+import org.elasticsearch.action.search.SearchResponse;
+import uk.gov.companieshouse.environment.EnvironmentReader;
+
+/**
+ * Hedges the searches of one cluster: a search that has not completed within the configured percentile of the
+ * cluster's recent search latencies is sent again with a different shard preference, so that it is likely to be
+ * answered by other copies of the shards, and whichever response arrives first is used.
+ *
+ * <p>Hedges are paid for from a budget that every search adds a share of a hedge to, so hedging never adds more than
+ * that share to the load on the cluster, however slow it becomes. No search is hedged until enough latencies have
+ * been seen to know the percentile, and scrolls are never hedged, as each would open a second search context.</p>
+ *
+ * <p>The search that loses the race is cancelled and its response discarded. The Elasticsearch 7.4 high level client
+ * cannot abort a request it has sent, so the loser still runs to completion on the cluster.</p>
+ */
+public class SearchHedger {
+
+    private static final String ENABLED_ENVIRONMENT_VARIABLE = "SEARCH_HEDGING_ENABLED";
+    private static final String PERCENTILE_ENVIRONMENT_VARIABLE = "SEARCH_HEDGE_PERCENTILE";
+    private static final String MIN_DELAY_ENVIRONMENT_VARIABLE = "SEARCH_HEDGE_MIN_DELAY_MS";
+    private static final String BUDGET_PERCENT_ENVIRONMENT_VARIABLE = "SEARCH_HEDGE_BUDGET_PERCENT";
+    private static final String LATENCY_WINDOW_ENVIRONMENT_VARIABLE = "SEARCH_HEDGE_LATENCY_WINDOW";
+    private static final int DEFAULT_PERCENTILE = 95;
+    private static final int DEFAULT_MIN_DELAY_MS = 10;
+    private static final int DEFAULT_BUDGET_PERCENT = 5;
+    private static final int DEFAULT_LATENCY_WINDOW = 1000;
+
+    /**
+     * The most hedges the budget saves up for a burst of slow searches
+     */
+    private static final int MAX_SAVED_HEDGES = 10;
+    private static final int HEDGE_COST = 100;
+    private static final String HEDGE_PREFERENCE_SUFFIX = "-hedge";
+
+    private final String name;
+    private final boolean enabled;
+    private final int percentile;
+    private final long minDelayNanos;
+    private final int budgetPercent;
+    private final long[] latencies;
+    private final int recalculateEvery;
+    private final AtomicLong budget = new AtomicLong();
+    private final Counter searches;
+    private final Counter hedges;
+    private final Counter wins;
+    private final Counter budgetExhausted;
+    private final ScheduledExecutorService scheduler;
+
+    private int latencyCount;
+    private int nextLatency;
+    private volatile long delayNanos;
+
+    /**
+     * @param name - the name of the cluster's client, used to tag the hedger's metrics
+     */
+    public SearchHedger(String name, EnvironmentReader environmentReader, MeterRegistry meterRegistry) {
+        this.name = name;
+        this.enabled = Boolean.TRUE.equals(environmentReader.getOptionalBoolean(ENABLED_ENVIRONMENT_VARIABLE));
+        this.percentile = Optional.ofNullable(environmentReader.getOptionalInteger(PERCENTILE_ENVIRONMENT_VARIABLE))
+                .orElse(DEFAULT_PERCENTILE);
+        this.minDelayNanos = TimeUnit.MILLISECONDS.toNanos(Optional.ofNullable(
+                environmentReader.getOptionalInteger(MIN_DELAY_ENVIRONMENT_VARIABLE))
+                .orElse(DEFAULT_MIN_DELAY_MS));
+        this.budgetPercent = Optional.ofNullable(
+                environmentReader.getOptionalInteger(BUDGET_PERCENT_ENVIRONMENT_VARIABLE))
+                .orElse(DEFAULT_BUDGET_PERCENT);
+        this.latencies = new long[Math.max(1, Optional.ofNullable(
+                environmentReader.getOptionalInteger(LATENCY_WINDOW_ENVIRONMENT_VARIABLE))
+                .orElse(DEFAULT_LATENCY_WINDOW))];
+        this.recalculateEvery = Math.max(1, latencies.length / 10);
+
+        this.searches = counter("search.hedge.searches", "Searches that could have been hedged", meterRegistry);
+        this.hedges = counter("search.hedge.sent", "Searches sent again with another shard preference",
+                meterRegistry);
+        this.wins = counter("search.hedge.wins", "Hedges that were answered before the search they hedged",
+                meterRegistry);
+        this.budgetExhausted = counter("search.hedge.budget.exhausted",
+                "Slow searches that were not hedged because the hedge budget was spent", meterRegistry);
+        Gauge.builder("search.hedge.delay", this, hedger -> TimeUnit.NANOSECONDS.toMillis(hedger.delayNanos))
+                .description("Milliseconds a search runs before it is hedged, or 0 until the percentile is known")
+                .baseUnit("milliseconds")
+                .tag("client", name)
+                .register(meterRegistry);
+
+        if (enabled) {
+            ScheduledThreadPoolExecutor executor = new ScheduledThreadPoolExecutor(1, runnable -> {
+                Thread thread = new Thread(runnable, "search-hedge-" + name);
+                thread.setDaemon(true);
+                return thread;
+            });
+            executor.setRemoveOnCancelPolicy(true);
+            this.scheduler = executor;
+        } else {
+            this.scheduler = null;
+        }
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Search, hedging the search if it is slow
+     *
+     * @param searchRequest - the search to send
+     * @param search - sends a search to the cluster
+     * @return the first response to the search or its hedge, or the failure of the search if its hedge failed too
+     */
+    public CompletableFuture<SearchResponse> search(SearchRequest searchRequest,
+            Function<SearchRequest, CompletableFuture<SearchResponse>> search) {
+        if (!enabled || searchRequest.scroll() != null) {
+            return search.apply(searchRequest);
+        }
+        searches.increment();
+        budget.getAndUpdate(saved -> Math.min(saved + budgetPercent, (long) MAX_SAVED_HEDGES * HEDGE_COST));
+
+        long start = System.nanoTime();
+        CompletableFuture<SearchResponse> response = new CompletableFuture<>();
+        AtomicInteger outstanding = new AtomicInteger(1);
+        AtomicReference<CompletableFuture<SearchResponse>> hedge = new AtomicReference<>();
+        CompletableFuture<SearchResponse> primary = search.apply(searchRequest);
+        primary.whenComplete((searchResponse, failure) -> {
+            if (failure == null) {
+                recordLatency(System.nanoTime() - start);
+            }
+            settle(response, searchResponse, failure, outstanding, hedge.get(), false);
+        });
+
+        long delay = delayNanos;
+        if (delay == 0 || response.isDone()) {
+            return response;
+        }
+        ScheduledFuture<?> timer = scheduler.schedule(() -> {
+            if (response.isDone()) {
+                return;
+            }
+            if (!spendBudget()) {
+                budgetExhausted.increment();
+                return;
+            }
+            if (outstanding.getAndUpdate(pending -> pending == 0 ? 0 : pending + 1) == 0) {
+                return;
+            }
+            hedges.increment();
+            CompletableFuture<SearchResponse> hedged;
+            try {
+                hedged = search.apply(hedgeRequest(searchRequest));
+            } catch (RuntimeException e) {
+                // the hedge was never sent, so the search is answered by the search alone
+                if (outstanding.decrementAndGet() == 0) {
+                    response.completeExceptionally(e);
+                }
+                return;
+            }
+            hedge.set(hedged);
+            hedged.whenComplete((searchResponse, failure) ->
+                    settle(response, searchResponse, failure, outstanding, primary, true));
+        }, delay, TimeUnit.NANOSECONDS);
+        response.whenComplete((searchResponse, failure) -> timer.cancel(false));
+        return response;
+    }
+
+    private void settle(CompletableFuture<SearchResponse> response, SearchResponse searchResponse,
+            Throwable failure, AtomicInteger outstanding, CompletableFuture<SearchResponse> other, boolean hedged) {
+        if (failure == null) {
+            if (response.complete(searchResponse)) {
+                if (hedged) {
+                    wins.increment();
+                }
+                if (other != null) {
+                    other.cancel(false);
+                }
+            }
+        } else if (outstanding.decrementAndGet() == 0) {
+            response.completeExceptionally(failure);
+        }
+    }
+
+    private boolean spendBudget() {
+        long saved = budget.get();
+        while (saved >= HEDGE_COST) {
+            if (budget.compareAndSet(saved, saved - HEDGE_COST)) {
+                return true;
+            }
+            saved = budget.get();
+        }
+        return false;
+    }
+
+    /**
+     * Keep a search's latency, recalculating the hedge delay from the window of latencies every tenth of a window
+     */
+    private synchronized void recordLatency(long latencyNanos) {
+        latencies[nextLatency] = latencyNanos;
+        nextLatency = (nextLatency + 1) % latencies.length;
+        latencyCount++;
+        if (latencyCount % recalculateEvery == 0) {
+            long[] window = Arrays.copyOf(latencies, Math.min(latencyCount, latencies.length));
+            Arrays.sort(window);
+            int rank = (int) Math.ceil(percentile / 100.0 * window.length) - 1;
+            delayNanos = Math.max(minDelayNanos, window[Math.max(0, Math.min(rank, window.length - 1))]);
+        }
+    }
+
+    /**
+     * A copy of the search with a different preference, so that its shards are likely to be searched on other copies
+     */
+    private SearchRequest hedgeRequest(SearchRequest searchRequest) {
+        // copies every field, sharing the source rather than serialising it, which would need the registry of the
+        // source's named writeables
+        SearchRequest hedgeRequest = new SearchRequest(searchRequest);
+        String preference = searchRequest.preference();
+        return hedgeRequest.preference(preference == null || preference.startsWith("_")
+                ? Long.toHexString(ThreadLocalRandom.current().nextLong()) + HEDGE_PREFERENCE_SUFFIX
+                : preference + HEDGE_PREFERENCE_SUFFIX);
+    }
+
+    private Counter counter(String counterName, String description, MeterRegistry meterRegistry) {
+        return Counter.builder(counterName)
+                .description(description)
+                .tag("client", name)
+                .register(meterRegistry);
+    }
+
+    /**
+     * Stop hedging, abandoning any hedges not yet sent
+     */
+    public void close() {
+        if (scheduler != null) {
+            scheduler.shutdownNow();
+        }
+    }
+}
@@ -0,0 +1,25 @@
+package uk.gov.companieshouse.search.api.service.rest;
+
+/**
+ * The kinds of traffic kept apart, each with its own bulkhead and its own connection pools to the clusters, so that
+ * a burst of one cannot starve the other
+ */
+public enum Workload {
+
+    /**
+     * Searches and lookups
+     */
+    READ,
+    /**
+     * Upserts, deletes, rebuilds and every other request that changes an index
+     */
+    WRITE;
+
+    /**
+     * @param method - the HTTP method of a request to the API
+     * @return the workload of the request: a read if it is safe, otherwise a write
+     */
+    public static Workload of(String method) {
+        return "GET".equals(method) || "HEAD".equals(method) || "OPTIONS".equals(method) ? READ : WRITE;
+    }
+}
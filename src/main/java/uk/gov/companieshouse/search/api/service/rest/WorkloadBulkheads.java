@@ -0,0 +1,90 @@
+package uk.gov.companieshouse.search.api.service.rest;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.util.EnumMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.springframework.stereotype.Component;
+import uk.gov.companieshouse.environment.EnvironmentReader;
+
+/**
+ * Caps the requests of each {@link Workload} the API handles at once, independently of each other. A request over
+ * its workload's cap is turned away at once rather than queued, so that a burst of writes is answered with a fast
+ * rejection instead of taking the threads and connections searches need.
+ */
+@Component
+public class WorkloadBulkheads {
+
+    private static final String READ_MAX_CONCURRENT_ENVIRONMENT_VARIABLE = "READ_BULKHEAD_MAX_CONCURRENT";
+    private static final String WRITE_MAX_CONCURRENT_ENVIRONMENT_VARIABLE = "WRITE_BULKHEAD_MAX_CONCURRENT";
+    private static final int DEFAULT_READ_MAX_CONCURRENT = 500;
+    private static final int DEFAULT_WRITE_MAX_CONCURRENT = 50;
+
+    private final Map<Workload, Bulkhead> bulkheads = new EnumMap<>(Workload.class);
+
+    public WorkloadBulkheads(EnvironmentReader environmentReader, MeterRegistry meterRegistry) {
+        bulkheads.put(Workload.READ, new Bulkhead(Workload.READ, Optional.ofNullable(
+                environmentReader.getOptionalInteger(READ_MAX_CONCURRENT_ENVIRONMENT_VARIABLE))
+                .orElse(DEFAULT_READ_MAX_CONCURRENT), meterRegistry));
+        bulkheads.put(Workload.WRITE, new Bulkhead(Workload.WRITE, Optional.ofNullable(
+                environmentReader.getOptionalInteger(WRITE_MAX_CONCURRENT_ENVIRONMENT_VARIABLE))
+                .orElse(DEFAULT_WRITE_MAX_CONCURRENT), meterRegistry));
+    }
+
+    /**
+     * Take a place in the workload's bulkhead, which must be given back with {@link #release} once the request has
+     * been handled
+     *
+     * @return whether there was a place for the request
+     */
+    public boolean tryAcquire(Workload workload) {
+        return bulkheads.get(workload).tryAcquire();
+    }
+
+    public void release(Workload workload) {
+        bulkheads.get(workload).inFlight.decrementAndGet();
+    }
+
+    public int getInFlight(Workload workload) {
+        return bulkheads.get(workload).inFlight.get();
+    }
+
+    private static final class Bulkhead {
+
+        private final int maxConcurrent;
+        private final AtomicInteger inFlight = new AtomicInteger();
+        private final Counter rejected;
+
+        /**
+         * @param maxConcurrent - the most requests handled at once, or zero or less for no limit
+         */
+        Bulkhead(Workload workload, int maxConcurrent, MeterRegistry meterRegistry) {
+            this.maxConcurrent = maxConcurrent;
+            Gauge.builder("search.bulkhead.in.flight", inFlight, AtomicInteger::get)
+                    .description("Requests of the workload being handled")
+                    .tag("workload", workload.name().toLowerCase(Locale.ROOT))
+                    .register(meterRegistry);
+            this.rejected = Counter.builder("search.bulkhead.rejected")
+                    .description("Requests turned away because their workload was at its concurrency limit")
+                    .tag("workload", workload.name().toLowerCase(Locale.ROOT))
+                    .register(meterRegistry);
+        }
+
+        boolean tryAcquire() {
+            while (true) {
+                int current = inFlight.get();
+                if (maxConcurrent > 0 && current >= maxConcurrent) {
+                    rejected.increment();
+                    return false;
+                }
+                if (inFlight.compareAndSet(current, current + 1)) {
+                    return true;
+                }
+            }
+        }
+    }
+}
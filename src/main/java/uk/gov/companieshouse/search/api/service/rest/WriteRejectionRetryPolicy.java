@@ -0,0 +1,93 @@
+package uk.gov.companieshouse.search.api.service.rest;
+
+import java.io.IOException;
+import java.util.Optional;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import org.elasticsearch.ElasticsearchException;
+import org.elasticsearch.rest.RestStatus;
+import org.springframework.stereotype.Component;
+import uk.gov.companieshouse.environment.EnvironmentReader;
+import uk.gov.companieshouse.search.api.exception.WriteRejectedException;
+
+/**
+ * Retries writes that Elasticsearch rejects with 429 Too Many Requests ({@code es_rejected_execution_exception}),
+ * backing off exponentially with full jitter until the retry budget is spent.
+ */
+@Component
+public class WriteRejectionRetryPolicy {
+
+    private static final String INITIAL_BACKOFF_ENVIRONMENT_VARIABLE = "WRITE_RETRY_INITIAL_BACKOFF_MS";
+    private static final String MAX_BACKOFF_ENVIRONMENT_VARIABLE = "WRITE_RETRY_MAX_BACKOFF_MS";
+    private static final String BUDGET_ENVIRONMENT_VARIABLE = "WRITE_RETRY_BUDGET_MS";
+    private static final int DEFAULT_INITIAL_BACKOFF_MS = 50;
+    private static final int DEFAULT_MAX_BACKOFF_MS = 1000;
+    private static final int DEFAULT_BUDGET_MS = 3000;
+
+    private static final String REJECTED_EXECUTION_TYPE = "es_rejected_execution_exception";
+
+    private final long initialBackoffMs;
+    private final long maxBackoffMs;
+    private final long budgetMs;
+
+    /**
+     * A write against Elasticsearch.
+     */
+    @FunctionalInterface
+    public interface Write<T> {
+        T execute() throws IOException;
+    }
+
+    public WriteRejectionRetryPolicy(EnvironmentReader environmentReader) {
+        this.initialBackoffMs = Optional.ofNullable(
+                environmentReader.getOptionalInteger(INITIAL_BACKOFF_ENVIRONMENT_VARIABLE))
+                .orElse(DEFAULT_INITIAL_BACKOFF_MS);
+        this.maxBackoffMs = Optional.ofNullable(environmentReader.getOptionalInteger(MAX_BACKOFF_ENVIRONMENT_VARIABLE))
+                .orElse(DEFAULT_MAX_BACKOFF_MS);
+        this.budgetMs = Optional.ofNullable(environmentReader.getOptionalInteger(BUDGET_ENVIRONMENT_VARIABLE))
+                .orElse(DEFAULT_BUDGET_MS);
+    }
+
+    /**
+     * Execute a write, retrying it while Elasticsearch rejects it and the retry budget allows
+     *
+     * @param write - the write to execute
+     * @return the write's response
+     * @throws WriteRejectedException if the write is still being rejected when the budget is spent
+     * @throws IOException if Elasticsearch could not be reached
+     */
+    public <T> T execute(Write<T> write) throws IOException {
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(budgetMs);
+        long backoffMs = initialBackoffMs;
+        while (true) {
+            try {
+                return write.execute();
+            } catch (ElasticsearchException e) {
+                if (!isRejection(e)) {
+                    throw e;
+                }
+                long sleepMs = ThreadLocalRandom.current().nextLong(backoffMs + 1);
+                long remainingMs = TimeUnit.NANOSECONDS.toMillis(deadline - System.nanoTime());
+                if (sleepMs >= remainingMs) {
+                    throw new WriteRejectedException("Write rejected by Elasticsearch, retry budget exhausted", e);
+                }
+                sleep(sleepMs, e);
+                backoffMs = Math.min(backoffMs * 2, maxBackoffMs);
+            }
+        }
+    }
+
+    private boolean isRejection(ElasticsearchException e) {
+        return e.status() == RestStatus.TOO_MANY_REQUESTS
+                || e.getDetailedMessage().contains(REJECTED_EXECUTION_TYPE);
+    }
+
+    private void sleep(long sleepMs, ElasticsearchException rejection) {
+        try {
+            Thread.sleep(sleepMs);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new WriteRejectedException("Interrupted while backing off from a rejected write", rejection);
+        }
+    }
+}
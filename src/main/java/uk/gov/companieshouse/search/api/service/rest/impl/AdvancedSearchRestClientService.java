@@ -2,20 +2,35 @@ package uk.gov.companieshouse.search.api.service.rest.impl;
 
 import static org.elasticsearch.client.RequestOptions.DEFAULT;
 
+import org.elasticsearch.action.ActionListener;
 import org.elasticsearch.action.delete.DeleteRequest;
 import org.elasticsearch.action.delete.DeleteResponse;
+import org.elasticsearch.action.bulk.BulkRequest;
+import org.elasticsearch.action.bulk.BulkResponse;
+import org.elasticsearch.action.get.MultiGetRequest;
+import org.elasticsearch.action.get.MultiGetResponse;
+import org.elasticsearch.action.search.ClearScrollRequest;
+import org.elasticsearch.action.search.ClearScrollResponse;
 import org.elasticsearch.action.search.SearchRequest;
 import org.elasticsearch.action.search.SearchResponse;
+import org.elasticsearch.action.search.SearchScrollRequest;
 import org.elasticsearch.action.update.UpdateRequest;
 import org.elasticsearch.action.update.UpdateResponse;
-import org.elasticsearch.client.RequestOptions;
 import org.elasticsearch.client.RestHighLevelClient;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.stereotype.Service;
+import uk.gov.companieshouse.search.api.service.rest.AdaptiveConcurrencyLimiter;
+import uk.gov.companieshouse.search.api.service.rest.ClusterCircuitBreaker;
+import uk.gov.companieshouse.search.api.service.rest.MigrationWrites;
+import uk.gov.companieshouse.search.api.service.rest.ReadConsistency;
 import uk.gov.companieshouse.search.api.service.rest.RestClientService;
+import uk.gov.companieshouse.search.api.service.rest.SearchHedger;
+import uk.gov.companieshouse.search.api.service.rest.WriteRejectionRetryPolicy;
 
 import java.io.IOException;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
 
 @Service
 public class AdvancedSearchRestClientService implements RestClientService {
@@ -24,17 +39,130 @@ public class AdvancedSearchRestClientService implements RestClientService {
     @Qualifier("advancedClient")
     private RestHighLevelClient advancedClient;
 
+    @Autowired
+    @Qualifier("advancedWriteClient")
+    private RestHighLevelClient advancedWriteClient;
+
+    @Autowired
+    private WriteRejectionRetryPolicy retryPolicy;
+
+    @Autowired
+    private MigrationWrites migrationWrites;
+
+    @Autowired
+    @Qualifier("advancedSearchHedger")
+    private SearchHedger searchHedger;
+
+    @Autowired
+    @Qualifier("advancedCircuitBreaker")
+    private ClusterCircuitBreaker circuitBreaker;
+
+    @Autowired
+    @Qualifier("advancedConcurrencyLimiter")
+    private AdaptiveConcurrencyLimiter concurrencyLimiter;
+
+    @Autowired
+    @Qualifier("advancedWriteCircuitBreaker")
+    private ClusterCircuitBreaker writeCircuitBreaker;
+
+    @Autowired
+    @Qualifier("advancedWriteConcurrencyLimiter")
+    private AdaptiveConcurrencyLimiter writeConcurrencyLimiter;
+
     @Override
     public SearchResponse search(SearchRequest searchRequest) throws IOException {
-        return advancedClient.search(searchRequest, DEFAULT);
+        return callCluster(() -> advancedClient.search(searchRequest, DEFAULT));
+    }
+
+    @Override
+    public SearchResponse search(SearchRequest searchRequest, ReadConsistency consistency) throws IOException {
+        if (consistency == ReadConsistency.READ_YOUR_WRITES) {
+            return callWriteCluster(() -> advancedWriteClient.search(searchRequest, DEFAULT));
+        }
+        return search(searchRequest);
+    }
+
+    @Override
+    public CompletableFuture<SearchResponse> searchAsync(SearchRequest searchRequest, ReadConsistency consistency) {
+        if (consistency == ReadConsistency.READ_YOUR_WRITES) {
+            return writeConcurrencyLimiter.executeAsync(() -> writeCircuitBreaker.executeAsync(
+                    () -> send(advancedWriteClient, searchRequest)));
+        }
+        return concurrencyLimiter.executeAsync(() -> circuitBreaker.executeAsync(
+                () -> searchHedger.search(searchRequest, request -> send(advancedClient, request))));
     }
 
     @Override
     public UpdateResponse upsert(UpdateRequest updateRequest) throws IOException {
-        return advancedClient.update(updateRequest, RequestOptions.DEFAULT);
+        Optional<BulkRequest> fanOut = migrationWrites.fanOut(updateRequest);
+        if (fanOut.isPresent()) {
+            return retryPolicy.execute(() -> migrationWrites.response(fanOut.get(),
+                    callWriteCluster(() -> advancedWriteClient.bulk(fanOut.get(), DEFAULT))));
+        }
+        return retryPolicy.execute(() -> callWriteCluster(() -> advancedWriteClient.update(updateRequest, DEFAULT)));
     }
 
     public DeleteResponse delete(DeleteRequest deleteRequest) throws IOException {
-        return advancedClient.delete(deleteRequest, DEFAULT);
+        Optional<BulkRequest> fanOut = migrationWrites.fanOut(deleteRequest);
+        if (fanOut.isPresent()) {
+            return retryPolicy.execute(() -> migrationWrites.response(fanOut.get(),
+                    callWriteCluster(() -> advancedWriteClient.bulk(fanOut.get(), DEFAULT))));
+        }
+        return retryPolicy.execute(() -> callWriteCluster(() -> advancedWriteClient.delete(deleteRequest, DEFAULT)));
+    }
+
+    @Override
+    public MultiGetResponse multiGet(MultiGetRequest multiGetRequest) throws IOException {
+        return callCluster(() -> advancedClient.mget(multiGetRequest, DEFAULT));
+    }
+
+    @Override
+    public BulkResponse bulk(BulkRequest bulkRequest) throws IOException {
+        BulkRequest fannedOut = migrationWrites.fanOut(bulkRequest);
+        BulkResponse bulkResponse = callWriteCluster(() -> advancedWriteClient.bulk(fannedOut, DEFAULT));
+        return migrationWrites.response(bulkRequest, fannedOut, bulkResponse);
+    }
+
+    @Override
+    public SearchResponse scroll(SearchScrollRequest searchScrollRequest) throws IOException {
+        return callCluster(() -> advancedClient.scroll(searchScrollRequest, DEFAULT));
+    }
+
+    @Override
+    public SearchResponse scroll(SearchScrollRequest searchScrollRequest, ReadConsistency consistency)
+            throws IOException {
+        if (consistency == ReadConsistency.READ_YOUR_WRITES) {
+            return callWriteCluster(() -> advancedWriteClient.scroll(searchScrollRequest, DEFAULT));
+        }
+        return scroll(searchScrollRequest);
+    }
+
+    @Override
+    public ClearScrollResponse clearScroll(ClearScrollRequest clearScrollRequest) throws IOException {
+        return callCluster(() -> advancedClient.clearScroll(clearScrollRequest, DEFAULT));
+    }
+
+    @Override
+    public ClearScrollResponse clearScroll(ClearScrollRequest clearScrollRequest, ReadConsistency consistency)
+            throws IOException {
+        if (consistency == ReadConsistency.READ_YOUR_WRITES) {
+            return callWriteCluster(() -> advancedWriteClient.clearScroll(clearScrollRequest, DEFAULT));
+        }
+        return clearScroll(clearScrollRequest);
+    }
+
+    private <T> T callCluster(ClusterCircuitBreaker.Call<T> call) throws IOException {
+        return concurrencyLimiter.execute(() -> circuitBreaker.execute(call));
+    }
+
+    private <T> T callWriteCluster(ClusterCircuitBreaker.Call<T> call) throws IOException {
+        return writeConcurrencyLimiter.execute(() -> writeCircuitBreaker.execute(call));
+    }
+
+    private CompletableFuture<SearchResponse> send(RestHighLevelClient client, SearchRequest searchRequest) {
+        CompletableFuture<SearchResponse> searchResponse = new CompletableFuture<>();
+        client.searchAsync(searchRequest, DEFAULT,
+                ActionListener.wrap(searchResponse::complete, searchResponse::completeExceptionally));
+        return searchResponse;
     }
 }
@@ -1,19 +1,36 @@
 package uk.gov.companieshouse.search.api.service.rest.impl;
 
+import org.elasticsearch.action.DocWriteRequest;
+import org.elasticsearch.action.ActionListener;
 import org.elasticsearch.action.delete.DeleteRequest;
 import org.elasticsearch.action.delete.DeleteResponse;
+import org.elasticsearch.action.bulk.BulkRequest;
+import org.elasticsearch.action.bulk.BulkResponse;
+import org.elasticsearch.action.get.MultiGetRequest;
+import org.elasticsearch.action.get.MultiGetResponse;
+import org.elasticsearch.action.search.ClearScrollRequest;
+import org.elasticsearch.action.search.ClearScrollResponse;
 import org.elasticsearch.action.search.SearchRequest;
 import org.elasticsearch.action.search.SearchResponse;
+import org.elasticsearch.action.search.SearchScrollRequest;
 import org.elasticsearch.action.update.UpdateRequest;
 import org.elasticsearch.action.update.UpdateResponse;
-import org.elasticsearch.client.RequestOptions;
 import org.elasticsearch.client.RestHighLevelClient;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.stereotype.Service;
+import uk.gov.companieshouse.search.api.service.existence.DocumentIdFilter;
+import uk.gov.companieshouse.search.api.service.rest.AdaptiveConcurrencyLimiter;
+import uk.gov.companieshouse.search.api.service.rest.ClusterCircuitBreaker;
+import uk.gov.companieshouse.search.api.service.rest.MigrationWrites;
+import uk.gov.companieshouse.search.api.service.rest.ReadConsistency;
 import uk.gov.companieshouse.search.api.service.rest.RestClientService;
+import uk.gov.companieshouse.search.api.service.rest.SearchHedger;
+import uk.gov.companieshouse.search.api.service.rest.WriteRejectionRetryPolicy;
 
 import java.io.IOException;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
 
 import static org.elasticsearch.client.RequestOptions.DEFAULT;
 
@@ -24,17 +41,156 @@ public class AlphabeticalSearchRestClientService implements RestClientService {
     @Qualifier("alphabeticalClient")
     private RestHighLevelClient alphabeticalClient;
 
+    @Autowired
+    @Qualifier("alphabeticalWriteClient")
+    private RestHighLevelClient alphabeticalWriteClient;
+
+    @Autowired
+    private WriteRejectionRetryPolicy retryPolicy;
+
+    @Autowired
+    private MigrationWrites migrationWrites;
+
+    @Autowired
+    @Qualifier("alphabeticalSearchHedger")
+    private SearchHedger searchHedger;
+
+    @Autowired
+    @Qualifier("alphabeticalCircuitBreaker")
+    private ClusterCircuitBreaker circuitBreaker;
+
+    @Autowired
+    @Qualifier("alphabeticalConcurrencyLimiter")
+    private AdaptiveConcurrencyLimiter concurrencyLimiter;
+
+    @Autowired
+    @Qualifier("alphabeticalWriteCircuitBreaker")
+    private ClusterCircuitBreaker writeCircuitBreaker;
+
+    @Autowired
+    @Qualifier("alphabeticalWriteConcurrencyLimiter")
+    private AdaptiveConcurrencyLimiter writeConcurrencyLimiter;
+
+    @Autowired
+    @Qualifier("alphabeticalDocumentIdFilter")
+    private DocumentIdFilter documentIdFilter;
+
     @Override
     public SearchResponse search(SearchRequest searchRequest) throws IOException {
-        return alphabeticalClient.search(searchRequest, DEFAULT);
+        return callCluster(() -> alphabeticalClient.search(searchRequest, DEFAULT));
+    }
+
+    @Override
+    public SearchResponse search(SearchRequest searchRequest, ReadConsistency consistency) throws IOException {
+        if (consistency == ReadConsistency.READ_YOUR_WRITES) {
+            return callWriteCluster(() -> alphabeticalWriteClient.search(searchRequest, DEFAULT));
+        }
+        return search(searchRequest);
+    }
+
+    @Override
+    public CompletableFuture<SearchResponse> searchAsync(SearchRequest searchRequest, ReadConsistency consistency) {
+        if (consistency == ReadConsistency.READ_YOUR_WRITES) {
+            return writeConcurrencyLimiter.executeAsync(() -> writeCircuitBreaker.executeAsync(
+                    () -> send(alphabeticalWriteClient, searchRequest)));
+        }
+        return concurrencyLimiter.executeAsync(() -> circuitBreaker.executeAsync(
+                () -> searchHedger.search(searchRequest, request -> send(alphabeticalClient, request))));
     }
 
     @Override
     public UpdateResponse upsert(UpdateRequest updateRequest) throws IOException {
-        return alphabeticalClient.update(updateRequest, RequestOptions.DEFAULT);
+        documentIdFilter.put(updateRequest.id());
+        try {
+            Optional<BulkRequest> fanOut = migrationWrites.fanOut(updateRequest);
+            if (fanOut.isPresent()) {
+                return retryPolicy.execute(() -> migrationWrites.response(fanOut.get(),
+                        callWriteCluster(() -> alphabeticalWriteClient.bulk(fanOut.get(), DEFAULT))));
+            }
+            return retryPolicy.execute(
+                    () -> callWriteCluster(() -> alphabeticalWriteClient.update(updateRequest, DEFAULT)));
+        } finally {
+            // again once the write has ended, for a filter whose rebuild started while it was in flight
+            documentIdFilter.put(updateRequest.id());
+        }
     }
 
     public DeleteResponse delete(DeleteRequest deleteRequest) throws IOException {
-        return alphabeticalClient.delete(deleteRequest, DEFAULT);
+        Optional<BulkRequest> fanOut = migrationWrites.fanOut(deleteRequest);
+        if (fanOut.isPresent()) {
+            return retryPolicy.execute(() -> migrationWrites.response(fanOut.get(),
+                    callWriteCluster(() -> alphabeticalWriteClient.bulk(fanOut.get(), DEFAULT))));
+        }
+        return retryPolicy.execute(
+                () -> callWriteCluster(() -> alphabeticalWriteClient.delete(deleteRequest, DEFAULT)));
+    }
+
+    @Override
+    public MultiGetResponse multiGet(MultiGetRequest multiGetRequest) throws IOException {
+        return callCluster(() -> alphabeticalClient.mget(multiGetRequest, DEFAULT));
+    }
+
+    @Override
+    public BulkResponse bulk(BulkRequest bulkRequest) throws IOException {
+        putIds(bulkRequest);
+        try {
+            BulkRequest fannedOut = migrationWrites.fanOut(bulkRequest);
+            BulkResponse bulkResponse = callWriteCluster(() -> alphabeticalWriteClient.bulk(fannedOut, DEFAULT));
+            return migrationWrites.response(bulkRequest, fannedOut, bulkResponse);
+        } finally {
+            // again once the writes have ended, for a filter whose rebuild started while they were in flight
+            putIds(bulkRequest);
+        }
+    }
+
+    @Override
+    public SearchResponse scroll(SearchScrollRequest searchScrollRequest) throws IOException {
+        return callCluster(() -> alphabeticalClient.scroll(searchScrollRequest, DEFAULT));
+    }
+
+    @Override
+    public SearchResponse scroll(SearchScrollRequest searchScrollRequest, ReadConsistency consistency)
+            throws IOException {
+        if (consistency == ReadConsistency.READ_YOUR_WRITES) {
+            return callWriteCluster(() -> alphabeticalWriteClient.scroll(searchScrollRequest, DEFAULT));
+        }
+        return scroll(searchScrollRequest);
+    }
+
+    @Override
+    public ClearScrollResponse clearScroll(ClearScrollRequest clearScrollRequest) throws IOException {
+        return callCluster(() -> alphabeticalClient.clearScroll(clearScrollRequest, DEFAULT));
+    }
+
+    @Override
+    public ClearScrollResponse clearScroll(ClearScrollRequest clearScrollRequest, ReadConsistency consistency)
+            throws IOException {
+        if (consistency == ReadConsistency.READ_YOUR_WRITES) {
+            return callWriteCluster(() -> alphabeticalWriteClient.clearScroll(clearScrollRequest, DEFAULT));
+        }
+        return clearScroll(clearScrollRequest);
+    }
+
+    private void putIds(BulkRequest bulkRequest) {
+        for (DocWriteRequest<?> request : bulkRequest.requests()) {
+            if (request.opType() != DocWriteRequest.OpType.DELETE) {
+                documentIdFilter.put(request.id());
+            }
+        }
+    }
+
+    private <T> T callCluster(ClusterCircuitBreaker.Call<T> call) throws IOException {
+        return concurrencyLimiter.execute(() -> circuitBreaker.execute(call));
+    }
+
+    private <T> T callWriteCluster(ClusterCircuitBreaker.Call<T> call) throws IOException {
+        return writeConcurrencyLimiter.execute(() -> writeCircuitBreaker.execute(call));
+    }
+
+    private CompletableFuture<SearchResponse> send(RestHighLevelClient client, SearchRequest searchRequest) {
+        CompletableFuture<SearchResponse> searchResponse = new CompletableFuture<>();
+        client.searchAsync(searchRequest, DEFAULT,
+                ActionListener.wrap(searchResponse::complete, searchResponse::completeExceptionally));
+        return searchResponse;
     }
 }
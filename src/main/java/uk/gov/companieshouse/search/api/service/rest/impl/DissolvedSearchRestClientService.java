@@ -3,18 +3,33 @@ package uk.gov.companieshouse.search.api.service.rest.impl;
 import static org.elasticsearch.client.RequestOptions.DEFAULT;
 
 import java.io.IOException;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
 
+import org.elasticsearch.action.ActionListener;
+import org.elasticsearch.action.bulk.BulkRequest;
+import org.elasticsearch.action.bulk.BulkResponse;
+import org.elasticsearch.action.get.MultiGetRequest;
+import org.elasticsearch.action.get.MultiGetResponse;
+import org.elasticsearch.action.search.ClearScrollRequest;
+import org.elasticsearch.action.search.ClearScrollResponse;
 import org.elasticsearch.action.search.SearchRequest;
 import org.elasticsearch.action.search.SearchResponse;
+import org.elasticsearch.action.search.SearchScrollRequest;
 import org.elasticsearch.action.update.UpdateRequest;
 import org.elasticsearch.action.update.UpdateResponse;
-import org.elasticsearch.client.RequestOptions;
 import org.elasticsearch.client.RestHighLevelClient;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Qualifier;
 
 import org.springframework.stereotype.Service;
+import uk.gov.companieshouse.search.api.service.rest.AdaptiveConcurrencyLimiter;
+import uk.gov.companieshouse.search.api.service.rest.ClusterCircuitBreaker;
+import uk.gov.companieshouse.search.api.service.rest.MigrationWrites;
+import uk.gov.companieshouse.search.api.service.rest.ReadConsistency;
 import uk.gov.companieshouse.search.api.service.rest.RestClientService;
+import uk.gov.companieshouse.search.api.service.rest.SearchHedger;
+import uk.gov.companieshouse.search.api.service.rest.WriteRejectionRetryPolicy;
 
 @Service
 public class DissolvedSearchRestClientService implements RestClientService {
@@ -23,13 +38,121 @@ public class DissolvedSearchRestClientService implements RestClientService {
     @Qualifier("dissolvedClient")
     private RestHighLevelClient dissolvedClient;
 
+    @Autowired
+    @Qualifier("dissolvedWriteClient")
+    private RestHighLevelClient dissolvedWriteClient;
+
+    @Autowired
+    private WriteRejectionRetryPolicy retryPolicy;
+
+    @Autowired
+    private MigrationWrites migrationWrites;
+
+    @Autowired
+    @Qualifier("dissolvedSearchHedger")
+    private SearchHedger searchHedger;
+
+    @Autowired
+    @Qualifier("dissolvedCircuitBreaker")
+    private ClusterCircuitBreaker circuitBreaker;
+
+    @Autowired
+    @Qualifier("dissolvedConcurrencyLimiter")
+    private AdaptiveConcurrencyLimiter concurrencyLimiter;
+
+    @Autowired
+    @Qualifier("dissolvedWriteCircuitBreaker")
+    private ClusterCircuitBreaker writeCircuitBreaker;
+
+    @Autowired
+    @Qualifier("dissolvedWriteConcurrencyLimiter")
+    private AdaptiveConcurrencyLimiter writeConcurrencyLimiter;
+
     @Override
     public SearchResponse search(SearchRequest searchRequest) throws IOException {
-        return dissolvedClient.search(searchRequest, DEFAULT);
+        return callCluster(() -> dissolvedClient.search(searchRequest, DEFAULT));
+    }
+
+    @Override
+    public SearchResponse search(SearchRequest searchRequest, ReadConsistency consistency) throws IOException {
+        if (consistency == ReadConsistency.READ_YOUR_WRITES) {
+            return callWriteCluster(() -> dissolvedWriteClient.search(searchRequest, DEFAULT));
+        }
+        return search(searchRequest);
+    }
+
+    @Override
+    public CompletableFuture<SearchResponse> searchAsync(SearchRequest searchRequest, ReadConsistency consistency) {
+        if (consistency == ReadConsistency.READ_YOUR_WRITES) {
+            return writeConcurrencyLimiter.executeAsync(() -> writeCircuitBreaker.executeAsync(
+                    () -> send(dissolvedWriteClient, searchRequest)));
+        }
+        return concurrencyLimiter.executeAsync(() -> circuitBreaker.executeAsync(
+                () -> searchHedger.search(searchRequest, request -> send(dissolvedClient, request))));
     }
 
     @Override
     public UpdateResponse upsert(UpdateRequest updateRequest) throws IOException {
-        return dissolvedClient.update(updateRequest, RequestOptions.DEFAULT);
+        Optional<BulkRequest> fanOut = migrationWrites.fanOut(updateRequest);
+        if (fanOut.isPresent()) {
+            return retryPolicy.execute(() -> migrationWrites.response(fanOut.get(),
+                    callWriteCluster(() -> dissolvedWriteClient.bulk(fanOut.get(), DEFAULT))));
+        }
+        return retryPolicy.execute(() -> callWriteCluster(() -> dissolvedWriteClient.update(updateRequest, DEFAULT)));
+    }
+
+    @Override
+    public MultiGetResponse multiGet(MultiGetRequest multiGetRequest) throws IOException {
+        return callCluster(() -> dissolvedClient.mget(multiGetRequest, DEFAULT));
+    }
+
+    @Override
+    public BulkResponse bulk(BulkRequest bulkRequest) throws IOException {
+        BulkRequest fannedOut = migrationWrites.fanOut(bulkRequest);
+        BulkResponse bulkResponse = callWriteCluster(() -> dissolvedWriteClient.bulk(fannedOut, DEFAULT));
+        return migrationWrites.response(bulkRequest, fannedOut, bulkResponse);
+    }
+
+    @Override
+    public SearchResponse scroll(SearchScrollRequest searchScrollRequest) throws IOException {
+        return callCluster(() -> dissolvedClient.scroll(searchScrollRequest, DEFAULT));
+    }
+
+    @Override
+    public SearchResponse scroll(SearchScrollRequest searchScrollRequest, ReadConsistency consistency)
+            throws IOException {
+        if (consistency == ReadConsistency.READ_YOUR_WRITES) {
+            return callWriteCluster(() -> dissolvedWriteClient.scroll(searchScrollRequest, DEFAULT));
+        }
+        return scroll(searchScrollRequest);
+    }
+
+    @Override
+    public ClearScrollResponse clearScroll(ClearScrollRequest clearScrollRequest) throws IOException {
+        return callCluster(() -> dissolvedClient.clearScroll(clearScrollRequest, DEFAULT));
+    }
+
+    @Override
+    public ClearScrollResponse clearScroll(ClearScrollRequest clearScrollRequest, ReadConsistency consistency)
+            throws IOException {
+        if (consistency == ReadConsistency.READ_YOUR_WRITES) {
+            return callWriteCluster(() -> dissolvedWriteClient.clearScroll(clearScrollRequest, DEFAULT));
+        }
+        return clearScroll(clearScrollRequest);
+    }
+
+    private <T> T callCluster(ClusterCircuitBreaker.Call<T> call) throws IOException {
+        return concurrencyLimiter.execute(() -> circuitBreaker.execute(call));
+    }
+
+    private <T> T callWriteCluster(ClusterCircuitBreaker.Call<T> call) throws IOException {
+        return writeConcurrencyLimiter.execute(() -> writeCircuitBreaker.execute(call));
+    }
+
+    private CompletableFuture<SearchResponse> send(RestHighLevelClient client, SearchRequest searchRequest) {
+        CompletableFuture<SearchResponse> searchResponse = new CompletableFuture<>();
+        client.searchAsync(searchRequest, DEFAULT,
+                ActionListener.wrap(searchResponse::complete, searchResponse::completeExceptionally));
+        return searchResponse;
     }
 }
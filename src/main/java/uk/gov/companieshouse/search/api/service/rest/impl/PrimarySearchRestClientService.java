@@ -1,17 +1,35 @@
 package uk.gov.companieshouse.search.api.service.rest.impl;
 
+import org.elasticsearch.action.DocWriteRequest;
+import org.elasticsearch.action.ActionListener;
 import org.elasticsearch.action.delete.DeleteRequest;
 import org.elasticsearch.action.delete.DeleteResponse;
+import org.elasticsearch.action.bulk.BulkRequest;
+import org.elasticsearch.action.bulk.BulkResponse;
+import org.elasticsearch.action.get.MultiGetRequest;
+import org.elasticsearch.action.get.MultiGetResponse;
+import org.elasticsearch.action.search.ClearScrollRequest;
+import org.elasticsearch.action.search.ClearScrollResponse;
 import org.elasticsearch.action.search.SearchRequest;
 import org.elasticsearch.action.search.SearchResponse;
+import org.elasticsearch.action.search.SearchScrollRequest;
 import org.elasticsearch.action.update.UpdateRequest;
 import org.elasticsearch.action.update.UpdateResponse;
 import org.elasticsearch.client.RestHighLevelClient;
 import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.stereotype.Service;
+import uk.gov.companieshouse.search.api.service.existence.DocumentIdFilter;
+import uk.gov.companieshouse.search.api.service.rest.AdaptiveConcurrencyLimiter;
+import uk.gov.companieshouse.search.api.service.rest.ClusterCircuitBreaker;
+import uk.gov.companieshouse.search.api.service.rest.MigrationWrites;
+import uk.gov.companieshouse.search.api.service.rest.ReadConsistency;
 import uk.gov.companieshouse.search.api.service.rest.RestClientService;
+import uk.gov.companieshouse.search.api.service.rest.SearchHedger;
+import uk.gov.companieshouse.search.api.service.rest.WriteRejectionRetryPolicy;
 
 import java.io.IOException;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
 
 import static org.elasticsearch.client.RequestOptions.DEFAULT;
 
@@ -20,21 +38,160 @@ public class PrimarySearchRestClientService implements RestClientService {
 
     private final RestHighLevelClient primaryClient;
 
-    public PrimarySearchRestClientService(@Qualifier("primaryClient") RestHighLevelClient primaryClient) {
+    private final RestHighLevelClient primaryWriteClient;
+
+    private final WriteRejectionRetryPolicy retryPolicy;
+
+    private final DocumentIdFilter documentIdFilter;
+
+    private final MigrationWrites migrationWrites;
+
+    private final SearchHedger searchHedger;
+
+    private final ClusterCircuitBreaker circuitBreaker;
+
+    private final AdaptiveConcurrencyLimiter concurrencyLimiter;
+
+    private final ClusterCircuitBreaker writeCircuitBreaker;
+
+    private final AdaptiveConcurrencyLimiter writeConcurrencyLimiter;
+
+    public PrimarySearchRestClientService(@Qualifier("primaryClient") RestHighLevelClient primaryClient,
+            @Qualifier("primaryWriteClient") RestHighLevelClient primaryWriteClient,
+            WriteRejectionRetryPolicy retryPolicy,
+            @Qualifier("primaryDocumentIdFilter") DocumentIdFilter documentIdFilter,
+            MigrationWrites migrationWrites,
+            @Qualifier("primarySearchHedger") SearchHedger searchHedger,
+            @Qualifier("primaryCircuitBreaker") ClusterCircuitBreaker circuitBreaker,
+            @Qualifier("primaryConcurrencyLimiter") AdaptiveConcurrencyLimiter concurrencyLimiter,
+            @Qualifier("primaryWriteCircuitBreaker") ClusterCircuitBreaker writeCircuitBreaker,
+            @Qualifier("primaryWriteConcurrencyLimiter") AdaptiveConcurrencyLimiter writeConcurrencyLimiter) {
         this.primaryClient = primaryClient;
+        this.primaryWriteClient = primaryWriteClient;
+        this.retryPolicy = retryPolicy;
+        this.documentIdFilter = documentIdFilter;
+        this.migrationWrites = migrationWrites;
+        this.searchHedger = searchHedger;
+        this.circuitBreaker = circuitBreaker;
+        this.concurrencyLimiter = concurrencyLimiter;
+        this.writeCircuitBreaker = writeCircuitBreaker;
+        this.writeConcurrencyLimiter = writeConcurrencyLimiter;
     }
 
     @Override
     public SearchResponse search(SearchRequest searchRequest) throws IOException {
-        return primaryClient.search(searchRequest, DEFAULT);
+        return callCluster(() -> primaryClient.search(searchRequest, DEFAULT));
+    }
+
+    @Override
+    public SearchResponse search(SearchRequest searchRequest, ReadConsistency consistency) throws IOException {
+        if (consistency == ReadConsistency.READ_YOUR_WRITES) {
+            return callWriteCluster(() -> primaryWriteClient.search(searchRequest, DEFAULT));
+        }
+        return search(searchRequest);
+    }
+
+    @Override
+    public CompletableFuture<SearchResponse> searchAsync(SearchRequest searchRequest, ReadConsistency consistency) {
+        if (consistency == ReadConsistency.READ_YOUR_WRITES) {
+            return writeConcurrencyLimiter.executeAsync(() -> writeCircuitBreaker.executeAsync(
+                    () -> send(primaryWriteClient, searchRequest)));
+        }
+        return concurrencyLimiter.executeAsync(() -> circuitBreaker.executeAsync(
+                () -> searchHedger.search(searchRequest, request -> send(primaryClient, request))));
     }
 
     @Override
     public UpdateResponse upsert(UpdateRequest updateRequest) throws IOException {
-        return primaryClient.update(updateRequest, DEFAULT);
+        documentIdFilter.put(updateRequest.id());
+        try {
+            Optional<BulkRequest> fanOut = migrationWrites.fanOut(updateRequest);
+            if (fanOut.isPresent()) {
+                return retryPolicy.execute(() -> migrationWrites.response(fanOut.get(),
+                        callWriteCluster(() -> primaryWriteClient.bulk(fanOut.get(), DEFAULT))));
+            }
+            return retryPolicy.execute(() -> callWriteCluster(() -> primaryWriteClient.update(updateRequest, DEFAULT)));
+        } finally {
+            // again once the write has ended, for a filter whose rebuild started while it was in flight
+            documentIdFilter.put(updateRequest.id());
+        }
     }
 
     public DeleteResponse delete(DeleteRequest deleteRequest) throws IOException {
-        return primaryClient.delete(deleteRequest, DEFAULT);
+        Optional<BulkRequest> fanOut = migrationWrites.fanOut(deleteRequest);
+        if (fanOut.isPresent()) {
+            return retryPolicy.execute(() -> migrationWrites.response(fanOut.get(),
+                    callWriteCluster(() -> primaryWriteClient.bulk(fanOut.get(), DEFAULT))));
+        }
+        return retryPolicy.execute(() -> callWriteCluster(() -> primaryWriteClient.delete(deleteRequest, DEFAULT)));
+    }
+
+    @Override
+    public MultiGetResponse multiGet(MultiGetRequest multiGetRequest) throws IOException {
+        return callCluster(() -> primaryClient.mget(multiGetRequest, DEFAULT));
+    }
+
+    @Override
+    public BulkResponse bulk(BulkRequest bulkRequest) throws IOException {
+        putIds(bulkRequest);
+        try {
+            BulkRequest fannedOut = migrationWrites.fanOut(bulkRequest);
+            BulkResponse bulkResponse = callWriteCluster(() -> primaryWriteClient.bulk(fannedOut, DEFAULT));
+            return migrationWrites.response(bulkRequest, fannedOut, bulkResponse);
+        } finally {
+            // again once the writes have ended, for a filter whose rebuild started while they were in flight
+            putIds(bulkRequest);
+        }
+    }
+
+    @Override
+    public SearchResponse scroll(SearchScrollRequest searchScrollRequest) throws IOException {
+        return callCluster(() -> primaryClient.scroll(searchScrollRequest, DEFAULT));
+    }
+
+    @Override
+    public SearchResponse scroll(SearchScrollRequest searchScrollRequest, ReadConsistency consistency)
+            throws IOException {
+        if (consistency == ReadConsistency.READ_YOUR_WRITES) {
+            return callWriteCluster(() -> primaryWriteClient.scroll(searchScrollRequest, DEFAULT));
+        }
+        return scroll(searchScrollRequest);
+    }
+
+    @Override
+    public ClearScrollResponse clearScroll(ClearScrollRequest clearScrollRequest) throws IOException {
+        return callCluster(() -> primaryClient.clearScroll(clearScrollRequest, DEFAULT));
+    }
+
+    @Override
+    public ClearScrollResponse clearScroll(ClearScrollRequest clearScrollRequest, ReadConsistency consistency)
+            throws IOException {
+        if (consistency == ReadConsistency.READ_YOUR_WRITES) {
+            return callWriteCluster(() -> primaryWriteClient.clearScroll(clearScrollRequest, DEFAULT));
+        }
+        return clearScroll(clearScrollRequest);
+    }
+
+    private void putIds(BulkRequest bulkRequest) {
+        for (DocWriteRequest<?> request : bulkRequest.requests()) {
+            if (request.opType() != DocWriteRequest.OpType.DELETE) {
+                documentIdFilter.put(request.id());
+            }
+        }
+    }
+
+    private <T> T callCluster(ClusterCircuitBreaker.Call<T> call) throws IOException {
+        return concurrencyLimiter.execute(() -> circuitBreaker.execute(call));
+    }
+
+    private <T> T callWriteCluster(ClusterCircuitBreaker.Call<T> call) throws IOException {
+        return writeConcurrencyLimiter.execute(() -> writeCircuitBreaker.execute(call));
+    }
+
+    private CompletableFuture<SearchResponse> send(RestHighLevelClient client, SearchRequest searchRequest) {
+        CompletableFuture<SearchResponse> searchResponse = new CompletableFuture<>();
+        client.searchAsync(searchRequest, DEFAULT,
+                ActionListener.wrap(searchResponse::complete, searchResponse::completeExceptionally));
+        return searchResponse;
     }
 }
@@ -1,5 +1,6 @@
 package uk.gov.companieshouse.search.api.service.search;
 
+import java.util.concurrent.CompletableFuture;
 import uk.gov.companieshouse.search.api.model.response.ResponseObject;
 
 public interface SearchIndexService {
@@ -8,8 +9,9 @@ public interface SearchIndexService {
      * Search Elastic search data base using search Param.
      *
      * @param searchParam - Value to search elastc search database with.
-     * @return {@link ResponseObject}
+     * @return {@link ResponseObject} - once the search has completed
      */    
-    ResponseObject search(String searchParam, String searchBefore, String searchAfter, Integer size, String requestId);
+    CompletableFuture<ResponseObject> search(String searchParam, String searchBefore, String searchAfter, Integer size,
+            String requestId);
 
 }
@@ -1,5 +1,6 @@
 package uk.gov.companieshouse.search.api.service.search;
 
+import java.util.concurrent.CompletableFuture;
 import uk.gov.companieshouse.search.api.exception.SearchException;
 import uk.gov.companieshouse.search.api.model.SearchResults;
 
@@ -12,10 +13,10 @@ public interface SearchRequestService<T> {
      * @param searchAfter   - param to search following results
      * @param size          - param to limit the number of results
      * @param requestId     - an identifier for the request
-     * @return {@link SearchResults}
-     * @throws SearchException
+     * @return {@link SearchResults} - once every search has completed, or exceptionally with a
+     *      {@link SearchException} if one could not be made
      */
-    SearchResults<T> getAlphabeticalSearchResults(String searchParam, String searchBefore, String searchAfter,
-            Integer size, String requestId) throws SearchException;
+    CompletableFuture<SearchResults<T>> getAlphabeticalSearchResults(String searchParam, String searchBefore,
+            String searchAfter, Integer size, String requestId);
 
 }
@@ -3,9 +3,14 @@ package uk.gov.companieshouse.search.api.service.search;
 import org.elasticsearch.search.SearchHit;
 import org.springframework.beans.factory.annotation.Autowired;
 import uk.gov.companieshouse.environment.EnvironmentReader;
+import uk.gov.companieshouse.search.api.exception.ClusterUnavailableException;
+import uk.gov.companieshouse.search.api.exception.SearchException;
 import uk.gov.companieshouse.search.api.exception.SizeException;
+import uk.gov.companieshouse.search.api.model.response.ResponseStatus;
 
+import java.io.IOException;
 import java.util.Map;
+import java.util.concurrent.CompletionException;
 
 public class SearchRequestUtils {
 
@@ -31,4 +36,50 @@ public class SearchRequestUtils {
 
         return size;
     }
+
+    /**
+     * @param failure - the failure of a search future, usually a CompletionException around the search's own failure
+     * @param message - describes the search that failed
+     * @return a CompletionException around a SearchException if the search failed with an IOException, as the
+     *      blocking search would have thrown, or around the search's own failure otherwise
+     */
+    public static CompletionException searchFailure(Throwable failure, String message) {
+        Throwable cause = unwrap(failure);
+        if (cause instanceof IOException && !(cause instanceof SearchException)) {
+            return new CompletionException(new SearchException(message, cause));
+        }
+        return failure instanceof CompletionException ? (CompletionException) failure : new CompletionException(cause);
+    }
+
+    /**
+     * @param failure - the failure of a search future
+     * @return the SearchException the search failed with
+     * @throws CompletionException - the failure, if the search failed with anything other than a SearchException
+     */
+    public static SearchException searchException(Throwable failure) {
+        Throwable cause = unwrap(failure);
+        if (cause instanceof SearchException) {
+            return (SearchException) cause;
+        }
+        throw failure instanceof CompletionException ? (CompletionException) failure : new CompletionException(cause);
+    }
+
+    /**
+     * @param failure - the failure of a search future
+     * @return SERVICE_UNAVAILABLE if the search was not sent because the cluster's circuit breaker is open, or
+     *      SEARCH_ERROR if it failed with any other SearchException
+     * @throws CompletionException - the failure, if the search failed with anything other than a SearchException
+     */
+    public static ResponseStatus searchErrorStatus(Throwable failure) {
+        for (Throwable cause = searchException(failure); cause != null; cause = cause.getCause()) {
+            if (cause instanceof ClusterUnavailableException) {
+                return ResponseStatus.SERVICE_UNAVAILABLE;
+            }
+        }
+        return ResponseStatus.SEARCH_ERROR;
+    }
+
+    private static Throwable unwrap(Throwable failure) {
+        return failure instanceof CompletionException && failure.getCause() != null ? failure.getCause() : failure;
+    }
 }
@@ -6,16 +6,15 @@ import static uk.gov.companieshouse.search.api.logging.LoggingUtils.STANDARD_ERR
 import static uk.gov.companieshouse.search.api.logging.LoggingUtils.SUCCESSFUL_SEARCH;
 import static uk.gov.companieshouse.search.api.logging.LoggingUtils.getAdvancedSearchLogMap;
 import static uk.gov.companieshouse.search.api.logging.LoggingUtils.getLogger;
+import static uk.gov.companieshouse.search.api.service.search.SearchRequestUtils.searchErrorStatus;
 
 import org.springframework.stereotype.Service;
-import uk.gov.companieshouse.search.api.exception.SearchException;
 import uk.gov.companieshouse.search.api.model.AdvancedSearchQueryParams;
-import uk.gov.companieshouse.search.api.model.SearchResults;
-import uk.gov.companieshouse.search.api.model.esdatamodel.Company;
 import uk.gov.companieshouse.search.api.model.response.ResponseObject;
 import uk.gov.companieshouse.search.api.model.response.ResponseStatus;
 
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 import uk.gov.companieshouse.search.api.util.ConfiguredIndexNamesProvider;
 
 @Service
@@ -30,26 +29,27 @@ public class AdvancedSearchIndexService {
         this.indices = indices;
     }
 
-    public ResponseObject searchAdvanced(AdvancedSearchQueryParams queryParams, String requestId) {
+    public CompletableFuture<ResponseObject> searchAdvanced(AdvancedSearchQueryParams queryParams,
+            String requestId) {
 
         Map<String, Object> logMap = getAdvancedSearchLogMap(queryParams, requestId, indices);
         logMap.remove(MESSAGE);
 
-        SearchResults<Company> searchResults;
-        try {
-            searchResults = advancedSearchRequestService.getSearchResults(queryParams, requestId);
-        } catch (SearchException se) {
-            getLogger()
-                    .error(STANDARD_ERROR_MESSAGE, logMap);
-            return new ResponseObject(ResponseStatus.SEARCH_ERROR, null);
-        }
-
-        if (searchResults.getItems() != null && !searchResults.getItems().isEmpty()) {
-            getLogger().info(SUCCESSFUL_SEARCH, logMap);
-            return new ResponseObject(ResponseStatus.SEARCH_FOUND, searchResults);
-        }
-
-        getLogger().info(NO_RESULTS_FOUND, logMap);
-        return new ResponseObject(ResponseStatus.SEARCH_NOT_FOUND, null);
+        return advancedSearchRequestService.getSearchResults(queryParams, requestId)
+                .thenApply(searchResults -> {
+                    if (searchResults.getItems() != null && !searchResults.getItems().isEmpty()) {
+                        getLogger().info(SUCCESSFUL_SEARCH, logMap);
+                        return new ResponseObject(ResponseStatus.SEARCH_FOUND, searchResults);
+                    }
+
+                    getLogger().info(NO_RESULTS_FOUND, logMap);
+                    return new ResponseObject(ResponseStatus.SEARCH_NOT_FOUND, null);
+                })
+                .exceptionally(failure -> {
+                    ResponseStatus status = searchErrorStatus(failure);
+                    getLogger()
+                            .error(STANDARD_ERROR_MESSAGE, logMap);
+                    return new ResponseObject(status, null);
+                });
     }
-}
\ No newline at end of file
+}
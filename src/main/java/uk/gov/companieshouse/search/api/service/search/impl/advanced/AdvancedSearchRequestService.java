@@ -3,12 +3,13 @@ package uk.gov.companieshouse.search.api.service.search.impl.advanced;
 import static uk.gov.companieshouse.search.api.logging.LoggingUtils.MESSAGE;
 import static uk.gov.companieshouse.search.api.logging.LoggingUtils.getAdvancedSearchLogMap;
 import static uk.gov.companieshouse.search.api.logging.LoggingUtils.getLogger;
+import static uk.gov.companieshouse.search.api.service.search.SearchRequestUtils.searchFailure;
 
-import java.io.IOException;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
-import org.elasticsearch.search.SearchHits;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 import org.springframework.stereotype.Service;
 import uk.gov.companieshouse.GenerateEtagUtil;
 import uk.gov.companieshouse.search.api.elasticsearch.AdvancedSearchRequests;
@@ -37,7 +38,8 @@ public class AdvancedSearchRequestService {
         this.indices = indices;
     }
 
-    public SearchResults<Company> getSearchResults(AdvancedSearchQueryParams queryParams, String requestId) throws SearchException {
+    public CompletableFuture<SearchResults<Company>> getSearchResults(AdvancedSearchQueryParams queryParams,
+            String requestId) {
 
         Map<String, Object> logMap = getAdvancedSearchLogMap(queryParams, requestId, indices);
 
@@ -45,34 +47,37 @@ public class AdvancedSearchRequestService {
         logMap.remove(MESSAGE);
 
         String etag = GenerateEtagUtil.generateEtag();
-        TopHit topHit = new TopHit();
-        List<Company> results = new ArrayList<>();
         String kind = "search#advanced-search";
-        long numberOfHits;
 
-        try {
-            SearchHits hits = advancedSearchRequests.getCompanies(queryParams, requestId);
-            numberOfHits = hits.getTotalHits().value;
+        return advancedSearchRequests.getCompanies(queryParams, requestId)
+                .thenApply(hits -> {
+                    TopHit topHit = new TopHit();
+                    List<Company> results = new ArrayList<>();
 
-            if (hits.getTotalHits().value > 0) {
-                getLogger().info(RESULT_FOUND, logMap);
+                    if (hits.getTotalHits().value > 0) {
+                        getLogger().info(RESULT_FOUND, logMap);
 
-                Company topHitCompany = elasticSearchResponseMapper
-                        .mapAdvancedSearchResponse(hits.getHits()[0]);
+                        Company topHitCompany = elasticSearchResponseMapper
+                                .mapAdvancedSearchResponse(hits.getHits()[0]);
 
-                topHit = elasticSearchResponseMapper.mapAdvancedTopHit(topHitCompany);
+                        topHit = elasticSearchResponseMapper.mapAdvancedTopHit(topHitCompany);
 
-                hits.forEach(h -> results.add(elasticSearchResponseMapper.mapAdvancedSearchResponse(h)));
-            }
-        } catch (IOException e) {
-            getLogger().error("failed to return a company using advanced search", logMap);
-            throw new SearchException("error occurred reading data from the search hits", e);
-        }
-        SearchResults<Company> advancedSearchResults =
-            new SearchResults<>(etag, topHit, results, kind);
+                        hits.forEach(h -> results.add(elasticSearchResponseMapper.mapAdvancedSearchResponse(h)));
+                    }
+                    SearchResults<Company> advancedSearchResults =
+                        new SearchResults<>(etag, topHit, results, kind);
 
-        advancedSearchResults.setHits(numberOfHits);
+                    advancedSearchResults.setHits(hits.getTotalHits().value);
 
-        return advancedSearchResults;
+                    return advancedSearchResults;
+                })
+                .exceptionally(failure -> {
+                    CompletionException searchFailure = searchFailure(failure,
+                            "error occurred reading data from the search hits");
+                    if (searchFailure.getCause() instanceof SearchException) {
+                        getLogger().error("failed to return a company using advanced search", logMap);
+                    }
+                    throw searchFailure;
+                });
     }
-}
\ No newline at end of file
+}
@@ -1,12 +1,12 @@
 package uk.gov.companieshouse.search.api.service.search.impl.alphabetical;
 
 import static uk.gov.companieshouse.search.api.logging.LoggingUtils.getLogger;
+import static uk.gov.companieshouse.search.api.service.search.SearchRequestUtils.searchErrorStatus;
 
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 import org.springframework.stereotype.Service;
 import uk.gov.companieshouse.logging.util.DataMap;
-import uk.gov.companieshouse.search.api.exception.SearchException;
-import uk.gov.companieshouse.search.api.model.SearchResults;
 import uk.gov.companieshouse.search.api.model.esdatamodel.Company;
 import uk.gov.companieshouse.search.api.model.response.ResponseObject;
 import uk.gov.companieshouse.search.api.model.response.ResponseStatus;
@@ -30,8 +30,8 @@ public class AlphabeticalSearchIndexService implements SearchIndexService {
      * {@inheritDoc}
      */
     @Override
-    public ResponseObject search(String corporateName, String searchBefore, String searchAfter, Integer size,
-            String requestId) {
+    public CompletableFuture<ResponseObject> search(String corporateName, String searchBefore, String searchAfter,
+            Integer size, String requestId) {
 
 
         Map<String, Object> logMap = new DataMap.Builder()
@@ -43,23 +43,22 @@ public class AlphabeticalSearchIndexService implements SearchIndexService {
                 .size(String.valueOf(size))
                 .build().getLogMap();
 
-        SearchResults<Company> searchResults;
+        getLogger().info("Search started ", logMap);
+        return searchRequestService.getAlphabeticalSearchResults(corporateName, searchBefore, searchAfter, size,
+                        requestId)
+                .thenApply(searchResults -> {
+                    if(searchResults.getItems() != null && !searchResults.getItems().isEmpty()) {
+                        getLogger().info("Search successful", logMap);
+                        return new ResponseObject(ResponseStatus.SEARCH_FOUND, searchResults);
+                    }
 
-        try {
-            getLogger().info("Search started ", logMap);
-            searchResults = searchRequestService.getAlphabeticalSearchResults(corporateName, searchBefore, searchAfter,
-                    size, requestId);
-        } catch (SearchException e) {
-            getLogger().error("SearchException when searching for company", logMap);
-            return new ResponseObject(ResponseStatus.SEARCH_ERROR, null);
-        }
-
-        if(searchResults.getItems() != null && !searchResults.getItems().isEmpty()) {
-            getLogger().info("Search successful", logMap);
-            return new ResponseObject(ResponseStatus.SEARCH_FOUND, searchResults);
-        }
-
-        getLogger().info("No results found", logMap);
-        return new ResponseObject(ResponseStatus.SEARCH_NOT_FOUND, null);
+                    getLogger().info("No results found", logMap);
+                    return new ResponseObject(ResponseStatus.SEARCH_NOT_FOUND, null);
+                })
+                .exceptionally(failure -> {
+                    ResponseStatus status = searchErrorStatus(failure);
+                    getLogger().error("SearchException when searching for company", logMap);
+                    return new ResponseObject(status, null);
+                });
     }
 }
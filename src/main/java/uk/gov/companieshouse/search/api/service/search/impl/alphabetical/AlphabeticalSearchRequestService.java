@@ -4,12 +4,14 @@ import static uk.gov.companieshouse.search.api.logging.LoggingUtils.MESSAGE;
 import static uk.gov.companieshouse.search.api.logging.LoggingUtils.ORDERED_ALPHAKEY;
 import static uk.gov.companieshouse.search.api.logging.LoggingUtils.ORDERED_ALPHAKEY_WITH_ID;
 import static uk.gov.companieshouse.search.api.logging.LoggingUtils.getLogger;
+import static uk.gov.companieshouse.search.api.service.search.SearchRequestUtils.searchFailure;
 
-import java.io.IOException;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 import org.elasticsearch.search.SearchHit;
 import org.elasticsearch.search.SearchHits;
 import org.springframework.stereotype.Service;
@@ -27,7 +29,7 @@ import uk.gov.companieshouse.search.api.service.search.SearchRequestService;
 import uk.gov.companieshouse.search.api.util.ConfiguredIndexNamesProvider;
 
 @Service
-public class AlphabeticalSearchRequestService implements SearchRequestService {
+public class AlphabeticalSearchRequestService implements SearchRequestService<Company> {
 
     private final AlphaKeyService alphaKeyService;
     private final AlphabeticalSearchRequests alphabeticalSearchRequests;
@@ -39,9 +41,6 @@ public class AlphabeticalSearchRequestService implements SearchRequestService {
     private static final String TOP_LEVEL_ALPHABETICAL_KIND = "search#alphabetical-search";
     private static final String ALPHABETICAL_FALLBACK_QUERY_LIMIT = "ALPHABETICAL_FALLBACK_QUERY_LIMIT";
 
-    private Integer sizeAbove;
-    private Integer sizeBelow;
-
     public AlphabeticalSearchRequestService(AlphaKeyService alphaKeyService,
         AlphabeticalSearchRequests alphabeticalSearchRequests,
         ElasticSearchResponseMapper elasticSearchResponseMapper,
@@ -57,8 +56,8 @@ public class AlphabeticalSearchRequestService implements SearchRequestService {
      * {@inheritDoc}
      */
     @Override
-    public SearchResults<Company> getAlphabeticalSearchResults(String corporateName, String searchBefore,
-            String searchAfter, Integer size, String requestId) throws SearchException {
+    public CompletableFuture<SearchResults<Company>> getAlphabeticalSearchResults(String corporateName,
+            String searchBefore, String searchAfter, Integer size, String requestId) {
         Map<String, Object> logMap = new DataMap.Builder()
                 .requestId(requestId)
                 .companyName(corporateName)
@@ -71,106 +70,128 @@ public class AlphabeticalSearchRequestService implements SearchRequestService {
         getLogger().info("Performing search request", logMap);
         logMap.remove(MESSAGE);
 
-        String orderedAlphakey = "";
-        TopHit topHitCompany = new TopHit();
-
-        List<Company> results = new ArrayList<>();
-        String kind = TOP_LEVEL_ALPHABETICAL_KIND;
+        return alphaKeyService.getAlphaKeyForCorporateNameAsync(corporateName)
+                .thenCompose(alphaKeyResponse -> getTopHits(alphaKeyResponse, requestId, logMap))
+                .thenCompose(hits -> getResults(hits, searchBefore, searchAfter, size, requestId, logMap))
+                .exceptionally(failure -> {
+                    CompletionException searchFailure = searchFailure(failure,
+                            "error occurred reading data for highest match from searchHits");
+                    if (searchFailure.getCause() instanceof SearchException) {
+                        getLogger().error("failed to map highest map to company object", logMap);
+                    }
+                    throw searchFailure;
+                });
+    }
 
-        AlphaKeyResponse alphaKeyResponse = alphaKeyService.getAlphaKeyForCorporateName(corporateName);
+    private CompletableFuture<SearchHits> getTopHits(AlphaKeyResponse alphaKeyResponse, String requestId,
+            Map<String, Object> logMap) {
+        String orderedAlphakey = "";
         if (alphaKeyResponse != null) {
             orderedAlphakey = alphaKeyResponse.getOrderedAlphaKey();
             logMap.put(ORDERED_ALPHAKEY, orderedAlphakey);
         }
 
-        try {
-            SearchHits hits = getSearchHits(orderedAlphakey, requestId);
-
+        String searchAlphakey = orderedAlphakey;
+        return getSearchHits(searchAlphakey, requestId).thenCompose(hits -> {
             if (hits.getTotalHits().value == 0) {
                 getLogger().info("A result was not found, reducing search term to find result", logMap);
                 logMap.remove(MESSAGE);
 
-                hits = peelbackSearchRequest(hits, orderedAlphakey, requestId);
+                return peelbackSearchRequest(hits, searchAlphakey, requestId);
             }
+            return CompletableFuture.completedFuture(hits);
+        });
+    }
 
-            if (hits.getTotalHits().value > 0) {
-                getLogger().info("A result has been found", logMap);
-                logMap.remove(MESSAGE);
+    private CompletableFuture<SearchResults<Company>> getResults(SearchHits hits, String searchBefore,
+            String searchAfter, Integer size, String requestId, Map<String, Object> logMap) {
+        if (hits.getTotalHits().value == 0) {
+            return CompletableFuture.completedFuture(
+                    new SearchResults<>("", new TopHit(), new ArrayList<>(), TOP_LEVEL_ALPHABETICAL_KIND));
+        }
 
-                String orderedAlphakeyWithId;
-                SearchHit topHit;
-                orderedAlphakeyWithId = getOrderedAlphaKeyWithId(hits.getHits()[0]);
-                topHit = hits.getHits()[0];
-
-                Company company = elasticSearchResponseMapper.mapAlphabeticalResponse(topHit);
-                topHitCompany = elasticSearchResponseMapper.mapAlphabeticalTopHit(company);
-
-                if ((searchBefore == null && searchAfter == null) || (searchBefore != null && searchAfter != null)) {
-                    results = prepareSearchResultsWithTopHit(size, requestId, logMap, topHitCompany, results,
-                            orderedAlphakeyWithId, company);
-                } else if (searchAfter != null) {
-                    getLogger().info("Searching alphabetical companies after", logMap);
-                    results.addAll(populateBelowResults(requestId, topHitCompany.getCompanyName(), searchAfter, size));
-                } else {
-                    getLogger().info("Searching alphabetical companies before", logMap);
-                    results.addAll(populateAboveResults(requestId, topHitCompany.getCompanyName(), searchBefore, size));
-                }
-            }
-        } catch (IOException e) {
-            getLogger().error("failed to map highest map to company object", logMap);
-            throw new SearchException("error occurred reading data for highest match from " + "searchHits", e);
+        getLogger().info("A result has been found", logMap);
+        logMap.remove(MESSAGE);
+
+        SearchHit topHit = hits.getHits()[0];
+        String orderedAlphakeyWithId = getOrderedAlphaKeyWithId(topHit);
+
+        Company company = elasticSearchResponseMapper.mapAlphabeticalResponse(topHit);
+        TopHit topHitCompany = elasticSearchResponseMapper.mapAlphabeticalTopHit(company);
+
+        CompletableFuture<List<Company>> results;
+        if ((searchBefore == null && searchAfter == null) || (searchBefore != null && searchAfter != null)) {
+            results = prepareSearchResultsWithTopHit(size, requestId, logMap, topHitCompany, orderedAlphakeyWithId,
+                    company);
+        } else if (searchAfter != null) {
+            getLogger().info("Searching alphabetical companies after", logMap);
+            results = populateBelowResults(requestId, topHitCompany.getCompanyName(), searchAfter, size);
+        } else {
+            getLogger().info("Searching alphabetical companies before", logMap);
+            results = populateAboveResults(requestId, topHitCompany.getCompanyName(), searchBefore, size);
         }
-        return new SearchResults<>("", topHitCompany, results, kind);
+        return results.thenApply(companies ->
+                new SearchResults<>("", topHitCompany, companies, TOP_LEVEL_ALPHABETICAL_KIND));
     }
 
-    private List<Company> prepareSearchResultsWithTopHit(Integer size, String requestId, Map<String, Object> logMap,
-            TopHit topHitCompany, List<Company> results, String orderedAlphakeyWithId, Company company)
-            throws IOException {
-        checkSize(size);
+    /**
+     * The results above and below the top hit are searched for at the same time
+     */
+    private CompletableFuture<List<Company>> prepareSearchResultsWithTopHit(Integer size, String requestId,
+            Map<String, Object> logMap, TopHit topHitCompany, String orderedAlphakeyWithId, Company company) {
+        int sizeAbove = Math.floorDiv(size, 2);
+        int sizeBelow = size % 2 == 0 ? (size / 2) - 1 : Math.floorDiv(size, 2);
         logMap.put(ORDERED_ALPHAKEY_WITH_ID, orderedAlphakeyWithId);
         getLogger().info("Default alphabetical search before and after tophit", logMap);
-        if (sizeAbove > 0) {
-            results = populateAboveResults(requestId, topHitCompany.getCompanyName(), orderedAlphakeyWithId,
-                    sizeAbove);
-        }
-        results.add(company);
-        if (sizeBelow > 0) {
-            results.addAll(populateBelowResults(requestId, topHitCompany.getCompanyName(),
-                    orderedAlphakeyWithId, sizeBelow));
-        }
-        return results;
+
+        CompletableFuture<List<Company>> above = sizeAbove > 0
+                ? populateAboveResults(requestId, topHitCompany.getCompanyName(), orderedAlphakeyWithId, sizeAbove)
+                : CompletableFuture.completedFuture(Collections.emptyList());
+        CompletableFuture<List<Company>> below = sizeBelow > 0
+                ? populateBelowResults(requestId, topHitCompany.getCompanyName(), orderedAlphakeyWithId, sizeBelow)
+                : CompletableFuture.completedFuture(Collections.emptyList());
+
+        return above.thenCombine(below, (aboveResults, belowResults) -> {
+            List<Company> results = new ArrayList<>(aboveResults.size() + 1 + belowResults.size());
+            results.addAll(aboveResults);
+            results.add(company);
+            results.addAll(belowResults);
+            return results;
+        });
     }
 
-    public SearchHits peelbackSearchRequest(SearchHits hits, String orderedAlphakey, String requestId)
-        throws IOException {
+    /**
+     * Search for ever shorter prefixes of the ordered alphakey until one is found or the fallback query limit is
+     * reached, each search made once the previous one has found nothing
+     */
+    public CompletableFuture<SearchHits> peelbackSearchRequest(SearchHits hits, String orderedAlphakey,
+            String requestId) {
 
         Integer fallbackQueryLimit = environmentReader.getMandatoryInteger(ALPHABETICAL_FALLBACK_QUERY_LIMIT);
 
-        for (int i = 0; i < orderedAlphakey.length(); i++) {
-
-            if (hits.getTotalHits().value > 0 || i == fallbackQueryLimit) {
-                return hits;
-            }
-
-            if (i != orderedAlphakey.length() - 1) {
-                String resultString = orderedAlphakey.substring(0, orderedAlphakey.length() - i);
-                hits = getSearchHits(resultString, requestId);
-            }
-        }
-        return hits;
+        return peelbackSearchRequest(hits, orderedAlphakey, requestId, 0, fallbackQueryLimit);
     }
 
-    private SearchHits getSearchHits(String orderedAlphakey, String requestId) throws IOException {
-        SearchHits hits = alphabeticalSearchRequests.getBestMatchResponse(orderedAlphakey, requestId);
+    private CompletableFuture<SearchHits> peelbackSearchRequest(SearchHits hits, String orderedAlphakey,
+            String requestId, int i, Integer fallbackQueryLimit) {
 
-        if (hits.getTotalHits().value == 0) {
-            hits = alphabeticalSearchRequests.getStartsWithResponse(orderedAlphakey, requestId);
+        if (i >= orderedAlphakey.length() - 1 || hits.getTotalHits().value > 0 || i == fallbackQueryLimit) {
+            return CompletableFuture.completedFuture(hits);
         }
 
-        if (hits.getTotalHits().value == 0) {
-            hits = alphabeticalSearchRequests.getCorporateNameStartsWithResponse(orderedAlphakey, requestId);
-        }
-        return hits;
+        String resultString = orderedAlphakey.substring(0, orderedAlphakey.length() - i);
+        return getSearchHits(resultString, requestId).thenCompose(nextHits ->
+                peelbackSearchRequest(nextHits, orderedAlphakey, requestId, i + 1, fallbackQueryLimit));
+    }
+
+    private CompletableFuture<SearchHits> getSearchHits(String orderedAlphakey, String requestId) {
+        return alphabeticalSearchRequests.getBestMatchResponse(orderedAlphakey, requestId)
+                .thenCompose(hits -> hits.getTotalHits().value == 0
+                        ? alphabeticalSearchRequests.getStartsWithResponse(orderedAlphakey, requestId)
+                        : CompletableFuture.completedFuture(hits))
+                .thenCompose(hits -> hits.getTotalHits().value == 0
+                        ? alphabeticalSearchRequests.getCorporateNameStartsWithResponse(orderedAlphakey, requestId)
+                        : CompletableFuture.completedFuture(hits));
     }
 
     /**
@@ -181,16 +202,15 @@ public class AlphabeticalSearchRequestService implements SearchRequestService {
      * @param orderedAlphakeyWithId
      * @param size
      * @return the list of company objects returned from ES
-     * @throws IOException
      */
-    private List<Company> populateBelowResults(String requestId, String topHitCompanyName, String orderedAlphakeyWithId,
-            Integer size) throws IOException {
-        List<Company> results = new ArrayList<>();
-        SearchHits hits;
-        hits = alphabeticalSearchRequests.getDescendingResultsResponse(requestId, orderedAlphakeyWithId,
-                topHitCompanyName, size);
-        hits.forEach(h -> results.add(elasticSearchResponseMapper.mapAlphabeticalResponse(h)));
-        return results;
+    private CompletableFuture<List<Company>> populateBelowResults(String requestId, String topHitCompanyName,
+            String orderedAlphakeyWithId, Integer size) {
+        return alphabeticalSearchRequests.getDescendingResultsResponse(requestId, orderedAlphakeyWithId,
+                topHitCompanyName, size).thenApply(hits -> {
+                    List<Company> results = new ArrayList<>();
+                    hits.forEach(h -> results.add(elasticSearchResponseMapper.mapAlphabeticalResponse(h)));
+                    return results;
+                });
     }
 
     /**
@@ -201,32 +221,21 @@ public class AlphabeticalSearchRequestService implements SearchRequestService {
      * @param orderedAlphakeyWithId
      * @param size
      * @return the list of company objects returned from ES
-     * @throws IOException
      */
-    private List<Company> populateAboveResults(String requestId, String topHitCompanyName, String orderedAlphakeyWithId,
-            Integer size) throws IOException {
-        List<Company> results = new ArrayList<>();
-        SearchHits hits;
-        hits = alphabeticalSearchRequests.getAboveResultsResponse(requestId, orderedAlphakeyWithId, topHitCompanyName,
-                size);
-        hits.forEach(h -> results.add(elasticSearchResponseMapper.mapAlphabeticalResponse(h)));
-
-        Collections.reverse(results);
-        return results;
+    private CompletableFuture<List<Company>> populateAboveResults(String requestId, String topHitCompanyName,
+            String orderedAlphakeyWithId, Integer size) {
+        return alphabeticalSearchRequests.getAboveResultsResponse(requestId, orderedAlphakeyWithId,
+                topHitCompanyName, size).thenApply(hits -> {
+                    List<Company> results = new ArrayList<>();
+                    hits.forEach(h -> results.add(elasticSearchResponseMapper.mapAlphabeticalResponse(h)));
+
+                    Collections.reverse(results);
+                    return results;
+                });
     }
 
     private String getOrderedAlphaKeyWithId(SearchHit hit) {
         Map<String, Object> sourceAsMap = hit.getSourceAsMap();
         return (String) sourceAsMap.get(ORDERED_ALPHA_KEY_WITH_ID);
     }
-
-    private void checkSize(Integer size) {
-        if ((size % 2) == 0) {
-            sizeAbove = (size / 2);
-            sizeBelow = (size / 2) - 1;
-        } else {
-            sizeAbove = Math.floorDiv(size, 2);
-            sizeBelow = Math.floorDiv(size, 2);
-        }
-    }
 }
@@ -3,11 +3,12 @@ package uk.gov.companieshouse.search.api.service.search.impl.dissolved;
 import static uk.gov.companieshouse.search.api.logging.LoggingUtils.DISSOLVED_SEARCH_ALPHABETICAL;
 import static uk.gov.companieshouse.search.api.logging.LoggingUtils.MESSAGE;
 import static uk.gov.companieshouse.search.api.logging.LoggingUtils.getLogger;
+import static uk.gov.companieshouse.search.api.service.search.SearchRequestUtils.searchErrorStatus;
 
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 import org.springframework.stereotype.Service;
 import uk.gov.companieshouse.logging.util.DataMap;
-import uk.gov.companieshouse.search.api.exception.SearchException;
 import uk.gov.companieshouse.search.api.model.SearchResults;
 import uk.gov.companieshouse.search.api.model.esdatamodel.Company;
 import uk.gov.companieshouse.search.api.model.response.ResponseObject;
@@ -31,8 +32,8 @@ public class DissolvedSearchIndexService {
         this.indices = indices;
     }
 
-    public ResponseObject searchAlphabetical(String companyName, String searchBefore, String searchAfter,
-            Integer size, String requestId) {
+    public CompletableFuture<ResponseObject> searchAlphabetical(String companyName, String searchBefore,
+            String searchAfter, Integer size, String requestId) {
         Map<String, Object> logMap = new DataMap.Builder()
                 .requestId(requestId)
                 .companyName(companyName)
@@ -44,27 +45,26 @@ public class DissolvedSearchIndexService {
                 .build().getLogMap();
 
         logMap.remove(MESSAGE);
-        SearchResults<Company> searchResults;
-        try {
-            getLogger().info("Searching using alphabetical search method", logMap);
-            searchResults = dissolvedSearchRequestService.getSearchResults(companyName, searchBefore, searchAfter, size,
-                    requestId);
-        } catch (SearchException e) {
-            getLogger().error(STANDARD_ERROR_MESSAGE + "alphabetical results on a dissolved company: ",
-                    logMap);
-            return new ResponseObject(ResponseStatus.SEARCH_ERROR, null);
-        }
-
-        if (searchResults.getItems() != null && !searchResults.getItems().isEmpty()) {
-            getLogger().info("successful alphabetical search for dissolved company", logMap);
-            return new ResponseObject(ResponseStatus.SEARCH_FOUND, searchResults);
-        }
+        getLogger().info("Searching using alphabetical search method", logMap);
+        return dissolvedSearchRequestService.getSearchResults(companyName, searchBefore, searchAfter, size, requestId)
+                .thenApply(searchResults -> {
+                    if (searchResults.getItems() != null && !searchResults.getItems().isEmpty()) {
+                        getLogger().info("successful alphabetical search for dissolved company", logMap);
+                        return new ResponseObject(ResponseStatus.SEARCH_FOUND, searchResults);
+                    }
 
-        getLogger().info(NO_RESULTS_FOUND + "alphabetical results on a dissolved company", logMap);
-        return new ResponseObject(ResponseStatus.SEARCH_NOT_FOUND, null);
+                    getLogger().info(NO_RESULTS_FOUND + "alphabetical results on a dissolved company", logMap);
+                    return new ResponseObject(ResponseStatus.SEARCH_NOT_FOUND, null);
+                })
+                .exceptionally(failure -> {
+                    ResponseStatus status = searchErrorStatus(failure);
+                    getLogger().error(STANDARD_ERROR_MESSAGE + "alphabetical results on a dissolved company: ",
+                            logMap);
+                    return new ResponseObject(status, null);
+                });
     }
 
-    public ResponseObject searchBestMatch(String companyName, String requestId, String searchType,
+    public CompletableFuture<ResponseObject> searchBestMatch(String companyName, String requestId, String searchType,
             Integer startIndex, Integer size) {
         Map<String, Object> logMap = new DataMap.Builder()
                 .requestId(requestId)
@@ -74,31 +74,34 @@ public class DissolvedSearchIndexService {
                 .startIndex(String.valueOf(startIndex))
                 .build().getLogMap();
         logMap.remove(MESSAGE);
-        SearchResults<?> searchResults;
-        try {
-            if (searchType.equals(BEST_MATCH_SEARCH_TYPE)) {
-                getLogger().info("Searching using Best Match", logMap);
-                searchResults = dissolvedSearchRequestService.getBestMatchSearchResults(companyName, requestId,
-                        searchType, startIndex, size);
-            } else {
-                getLogger().info("Searching previous names", logMap);
-                searchResults = dissolvedSearchRequestService.getPreviousNamesResults(companyName, requestId,
-                        searchType, startIndex, size);
-            }
-        } catch (SearchException e) {
-            getLogger()
-                    .error(STANDARD_ERROR_MESSAGE + "best matches on a " + searchType + " dissolved company: ", logMap);
-            return new ResponseObject(ResponseStatus.SEARCH_ERROR, null);
+        CompletableFuture<SearchResults<Company>> searchResults;
+        if (searchType.equals(BEST_MATCH_SEARCH_TYPE)) {
+            getLogger().info("Searching using Best Match", logMap);
+            searchResults = dissolvedSearchRequestService.getBestMatchSearchResults(companyName, requestId,
+                    searchType, startIndex, size);
+        } else {
+            getLogger().info("Searching previous names", logMap);
+            searchResults = dissolvedSearchRequestService.getPreviousNamesResults(companyName, requestId,
+                    searchType, startIndex, size);
         }
 
-        if (searchResults.getItems() != null && !searchResults.getItems().isEmpty()) {
-            getLogger().info("successful best match search for " + searchType + " dissolved company",
-                    logMap);
-            return new ResponseObject(ResponseStatus.SEARCH_FOUND, searchResults);
-        }
+        return searchResults
+                .thenApply(results -> {
+                    if (results.getItems() != null && !results.getItems().isEmpty()) {
+                        getLogger().info("successful best match search for " + searchType + " dissolved company",
+                                logMap);
+                        return new ResponseObject(ResponseStatus.SEARCH_FOUND, results);
+                    }
 
-        getLogger().info(NO_RESULTS_FOUND + "best match on a " + searchType + " dissolved company",
-                logMap);
-        return new ResponseObject(ResponseStatus.SEARCH_NOT_FOUND, null);
+                    getLogger().info(NO_RESULTS_FOUND + "best match on a " + searchType + " dissolved company",
+                            logMap);
+                    return new ResponseObject(ResponseStatus.SEARCH_NOT_FOUND, null);
+                })
+                .exceptionally(failure -> {
+                    ResponseStatus status = searchErrorStatus(failure);
+                    getLogger().error(STANDARD_ERROR_MESSAGE + "best matches on a " + searchType
+                            + " dissolved company: ", logMap);
+                    return new ResponseObject(status, null);
+                });
     }
 }
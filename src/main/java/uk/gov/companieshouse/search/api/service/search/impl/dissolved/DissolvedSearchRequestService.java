@@ -3,12 +3,14 @@ package uk.gov.companieshouse.search.api.service.search.impl.dissolved;
 import static uk.gov.companieshouse.search.api.logging.LoggingUtils.MESSAGE;
 import static uk.gov.companieshouse.search.api.logging.LoggingUtils.ORDERED_ALPHAKEY_WITH_ID;
 import static uk.gov.companieshouse.search.api.logging.LoggingUtils.getLogger;
+import static uk.gov.companieshouse.search.api.service.search.SearchRequestUtils.searchFailure;
 
-import java.io.IOException;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 import org.elasticsearch.search.SearchHit;
 import org.elasticsearch.search.SearchHits;
 import org.springframework.stereotype.Service;
@@ -40,9 +42,6 @@ public class DissolvedSearchRequestService {
     private static final String SEARCH_HITS = "searchHits";
     private static final String DISSOLVED_ALPHABETICAL_FALLBACK_QUERY_LIMIT = "DISSOLVED_ALPHABETICAL_FALLBACK_QUERY_LIMIT";
     
-    private Integer sizeAbove;
-    private Integer sizeBelow;
-
     public DissolvedSearchRequestService(AlphaKeyService alphaKeyService,
         DissolvedSearchRequests dissolvedSearchRequests,
         ElasticSearchResponseMapper elasticSearchResponseMapper,
@@ -54,8 +53,8 @@ public class DissolvedSearchRequestService {
         this.indices = indices;
     }
 
-    public SearchResults<Company> getSearchResults(String companyName, String searchBefore, String searchAfter,
-                                                   Integer size, String requestId) throws SearchException {
+    public CompletableFuture<SearchResults<Company>> getSearchResults(String companyName, String searchBefore,
+            String searchAfter, Integer size, String requestId) {
         Map<String, Object> logMap = new DataMap.Builder()
                 .requestId(requestId)
                 .companyName(companyName)
@@ -67,80 +66,96 @@ public class DissolvedSearchRequestService {
         getLogger().info("getting dissolved search results", logMap);
         logMap.remove(MESSAGE);
 
-        String orderedAlphaKey = "";
-        List<Company> results = new ArrayList<>();
-        TopHit topHit = new TopHit();
         String etag = GenerateEtagUtil.generateEtag();
-        String kind = TOP_KIND;
 
-        AlphaKeyResponse alphaKeyResponse = alphaKeyService.getAlphaKeyForCorporateName(companyName);
-        if (alphaKeyResponse != null) {
-            orderedAlphaKey = alphaKeyResponse.getOrderedAlphaKey();
-        }
+        return alphaKeyService.getAlphaKeyForCorporateNameAsync(companyName)
+                .thenCompose(alphaKeyResponse -> getTopHits(alphaKeyResponse, requestId, logMap))
+                .thenCompose(hits -> getResults(hits, etag, searchBefore, searchAfter, size, requestId, logMap))
+                .exceptionally(failure -> {
+                    CompletionException searchFailure = searchFailure(failure,
+                            "error occurred reading data for highest match from " + SEARCH_HITS);
+                    if (searchFailure.getCause() instanceof SearchException) {
+                        getLogger().error("failed to map highest map to company object", logMap);
+                    }
+                    throw searchFailure;
+                });
+    }
 
-        try {
-            SearchHits hits = getSearchHits(orderedAlphaKey, requestId);
+    private CompletableFuture<SearchHits> getTopHits(AlphaKeyResponse alphaKeyResponse, String requestId,
+            Map<String, Object> logMap) {
+        String orderedAlphaKey = alphaKeyResponse != null ? alphaKeyResponse.getOrderedAlphaKey() : "";
 
+        return getSearchHits(orderedAlphaKey, requestId).thenCompose(hits -> {
             if (hits.getTotalHits().value == 0) {
                 getLogger().info("A result was not found, reducing search term to find result", logMap);
 
-                hits = peelbackSearchRequest(hits, orderedAlphaKey, requestId);
+                return peelbackSearchRequest(hits, orderedAlphaKey, requestId);
             }
+            return CompletableFuture.completedFuture(hits);
+        });
+    }
 
-            if (hits.getTotalHits().value > 0) {
-                getLogger().info(RESULT_FOUND, logMap);
+    private CompletableFuture<SearchResults<Company>> getResults(SearchHits hits, String etag, String searchBefore,
+            String searchAfter, Integer size, String requestId, Map<String, Object> logMap) {
+        if (hits.getTotalHits().value == 0) {
+            return CompletableFuture.completedFuture(
+                    new SearchResults<>(etag, new TopHit(), new ArrayList<>(), TOP_KIND));
+        }
 
-                String orderedAlphaKeyWithId;
-                SearchHit bestMatch;
+        getLogger().info(RESULT_FOUND, logMap);
 
-                orderedAlphaKeyWithId = SearchRequestUtils.getOrderedAlphaKeyWithId(hits.getHits()[0]);
-                bestMatch = hits.getHits()[0];
+        SearchHit bestMatch = hits.getHits()[0];
+        String orderedAlphaKeyWithId = SearchRequestUtils.getOrderedAlphaKeyWithId(bestMatch);
 
-                Company topHitCompany = elasticSearchResponseMapper.mapDissolvedResponse(bestMatch);
+        Company topHitCompany = elasticSearchResponseMapper.mapDissolvedResponse(bestMatch);
 
-                topHit = elasticSearchResponseMapper.mapDissolvedTopHit(topHitCompany);
+        TopHit topHit = elasticSearchResponseMapper.mapDissolvedTopHit(topHitCompany);
 
-                if ((searchBefore == null && searchAfter == null) || (searchBefore != null && searchAfter != null)) {
-                    results = prepareSearchResultsWithTopHit(size, requestId, logMap, results, topHit,
-                            orderedAlphaKeyWithId, topHitCompany);
-                } else if (searchAfter != null) {
-                    getLogger().info("Searching dissolved companies after", logMap);
-                    results.addAll(populateBelowResults(requestId, topHit.getCompanyName(), searchAfter, size));
-                } else {
-                    getLogger().info("Searching dissolved companies before", logMap);
-                    results.addAll(populateAboveResults(requestId, topHit.getCompanyName(), searchBefore, size));
-                }
-            }
-        } catch (IOException e) {
-            getLogger().error("failed to map highest map to company object", logMap);
-            throw new SearchException("error occurred reading data for highest match from " + SEARCH_HITS, e);
+        CompletableFuture<List<Company>> results;
+        if ((searchBefore == null && searchAfter == null) || (searchBefore != null && searchAfter != null)) {
+            results = prepareSearchResultsWithTopHit(size, requestId, logMap, topHit, orderedAlphaKeyWithId,
+                    topHitCompany);
+        } else if (searchAfter != null) {
+            getLogger().info("Searching dissolved companies after", logMap);
+            results = populateBelowResults(requestId, topHit.getCompanyName(), searchAfter, size);
+        } else {
+            getLogger().info("Searching dissolved companies before", logMap);
+            results = populateAboveResults(requestId, topHit.getCompanyName(), searchBefore, size);
         }
-
-        return new SearchResults<>(etag, topHit, results, kind);
+        return results.thenApply(companies -> new SearchResults<>(etag, topHit, companies, TOP_KIND));
     }
 
-    private List<Company> prepareSearchResultsWithTopHit(Integer size, String requestId,
-            Map<String, Object> logMap, List<Company> results, TopHit topHit,
-            String orderedAlphaKeyWithId, Company topHitCompany) throws IOException {
-        checkSize(size);
+    /**
+     * The results above and below the top hit are searched for at the same time
+     */
+    private CompletableFuture<List<Company>> prepareSearchResultsWithTopHit(Integer size, String requestId,
+            Map<String, Object> logMap, TopHit topHit, String orderedAlphaKeyWithId, Company topHitCompany) {
+        int sizeAbove = Math.floorDiv(size, 2);
+        int sizeBelow = size % 2 == 0 ? (size / 2) - 1 : Math.floorDiv(size, 2);
         logMap.put(ORDERED_ALPHAKEY_WITH_ID, orderedAlphaKeyWithId);
         getLogger().info("Default dissolved search before and after tophit", logMap);
-        if (sizeAbove > 0) {
-            results = populateAboveResults(requestId, topHit.getCompanyName(), orderedAlphaKeyWithId, sizeAbove);
-        }
-        results.add(topHitCompany);
-        if (sizeBelow > 0) {
-            results.addAll(
-                    populateBelowResults(requestId, topHit.getCompanyName(), orderedAlphaKeyWithId, sizeBelow));
-        }
-        return results;
+
+        CompletableFuture<List<Company>> above = sizeAbove > 0
+                ? populateAboveResults(requestId, topHit.getCompanyName(), orderedAlphaKeyWithId, sizeAbove)
+                : CompletableFuture.completedFuture(Collections.emptyList());
+        CompletableFuture<List<Company>> below = sizeBelow > 0
+                ? populateBelowResults(requestId, topHit.getCompanyName(), orderedAlphaKeyWithId, sizeBelow)
+                : CompletableFuture.completedFuture(Collections.emptyList());
+
+        return above.thenCombine(below, (aboveResults, belowResults) -> {
+            List<Company> results = new ArrayList<>(aboveResults.size() + 1 + belowResults.size());
+            results.addAll(aboveResults);
+            results.add(topHitCompany);
+            results.addAll(belowResults);
+            return results;
+        });
     }
 
-    public SearchResults<Company> getBestMatchSearchResults(String companyName,
-                                                            String requestId,
-                                                            String searchType,
-                                                            Integer startIndex,
-                                                            Integer size) throws SearchException {
+    public CompletableFuture<SearchResults<Company>> getBestMatchSearchResults(String companyName,
+                                                                               String requestId,
+                                                                               String searchType,
+                                                                               Integer startIndex,
+                                                                               Integer size) {
         Map<String, Object> logMap = new DataMap.Builder()
                 .requestId(requestId)
                 .companyName(companyName)
@@ -152,41 +167,44 @@ public class DissolvedSearchRequestService {
         getLogger().info("getting dissolved " + searchType + " search results", logMap);
 
         String etag = GenerateEtagUtil.generateEtag();
-        TopHit topHit = new TopHit();
-        List<Company> results = new ArrayList<>();
         String kind = "search#dissolved";
-        long numberOfHits;
 
-        try {
-            SearchHits hits  = dissolvedSearchRequests.getDissolved(companyName, requestId, searchType, startIndex, size);
-            numberOfHits = hits.getTotalHits().value;
+        return dissolvedSearchRequests.getDissolved(companyName, requestId, searchType, startIndex, size)
+                .thenApply(hits -> {
+                    TopHit topHit = new TopHit();
+                    List<Company> results = new ArrayList<>();
 
-            if (hits.getTotalHits().value > 0) {
-                getLogger().info(RESULT_FOUND, logMap);
+                    if (hits.getTotalHits().value > 0) {
+                        getLogger().info(RESULT_FOUND, logMap);
 
-                Company topHitCompany = elasticSearchResponseMapper.mapDissolvedResponse(hits.getHits()[0]);
+                        Company topHitCompany = elasticSearchResponseMapper.mapDissolvedResponse(hits.getHits()[0]);
 
-                topHit = elasticSearchResponseMapper.mapDissolvedTopHit(topHitCompany);
+                        topHit = elasticSearchResponseMapper.mapDissolvedTopHit(topHitCompany);
 
-                hits.forEach(h -> results.add(elasticSearchResponseMapper.mapDissolvedResponse(h)));
-            }
-        } catch (IOException e) {
-            getLogger().error("failed to get best match for dissolved company", logMap);
-            throw new SearchException("error occurred reading data for best match from " + SEARCH_HITS, e);
-        }
+                        hits.forEach(h -> results.add(elasticSearchResponseMapper.mapDissolvedResponse(h)));
+                    }
 
-        SearchResults<Company> dissolvedSearchResults =
-                new SearchResults<>(etag, topHit, results, kind);
-        dissolvedSearchResults.setHits(numberOfHits);
+                    SearchResults<Company> dissolvedSearchResults =
+                            new SearchResults<>(etag, topHit, results, kind);
+                    dissolvedSearchResults.setHits(hits.getTotalHits().value);
 
-        return dissolvedSearchResults;
+                    return dissolvedSearchResults;
+                })
+                .exceptionally(failure -> {
+                    CompletionException searchFailure = searchFailure(failure,
+                            "error occurred reading data for best match from " + SEARCH_HITS);
+                    if (searchFailure.getCause() instanceof SearchException) {
+                        getLogger().error("failed to get best match for dissolved company", logMap);
+                    }
+                    throw searchFailure;
+                });
     }
 
-    public SearchResults<Company> getPreviousNamesResults(String companyName,
-                                                          String requestId,
-                                                          String searchType,
-                                                          Integer startIndex,
-                                                          Integer size) throws SearchException {
+    public CompletableFuture<SearchResults<Company>> getPreviousNamesResults(String companyName,
+                                                                             String requestId,
+                                                                             String searchType,
+                                                                             Integer startIndex,
+                                                                             Integer size) {
         Map<String, Object> logMap = new DataMap.Builder()
                 .requestId(requestId)
                 .companyName(companyName)
@@ -198,98 +216,92 @@ public class DissolvedSearchRequestService {
         getLogger().info("getting dissolved " + searchType + " search results", logMap);
 
         String etag = GenerateEtagUtil.generateEtag();
-        TopHit topHit = new TopHit();
-        List<Company> results = new ArrayList<>();
-        List<Company> resizedResults = new ArrayList<>();
         String kind = "search#previous-name-dissolved";
-        long numberOfHits;
 
-        try {
-            SearchHits hits  = dissolvedSearchRequests.getDissolved(companyName, requestId, searchType, startIndex, size);
-            numberOfHits = hits.getTotalHits().value;
-
-            if (hits.getTotalHits().value > 0) {
-                getLogger().info(RESULT_FOUND, logMap);
-
-                results = elasticSearchResponseMapper.mapPreviousNames(hits);
-                topHit = elasticSearchResponseMapper.mapDissolvedTopHit(results.get(0));
-
-                int finalSize = results.size() < size ? results.size() : size;
-                resizedResults = results.subList(0, finalSize);
-            }
-        } catch (IOException e) {
-            getLogger().error("failed to get previous names for dissolved company", logMap);
-            throw new SearchException("error occurred reading data for previous names from " + SEARCH_HITS, e);
-        }
-
-        SearchResults<Company> dissolvedSearchResults =
-                new SearchResults<>(etag, topHit, resizedResults, kind);
-        dissolvedSearchResults.setHits(numberOfHits);
-
-        return dissolvedSearchResults;
+        return dissolvedSearchRequests.getDissolved(companyName, requestId, searchType, startIndex, size)
+                .thenApply(hits -> {
+                    TopHit topHit = new TopHit();
+                    List<Company> resizedResults = new ArrayList<>();
+
+                    if (hits.getTotalHits().value > 0) {
+                        getLogger().info(RESULT_FOUND, logMap);
+
+                        List<Company> results = elasticSearchResponseMapper.mapPreviousNames(hits);
+                        topHit = elasticSearchResponseMapper.mapDissolvedTopHit(results.get(0));
+
+                        int finalSize = results.size() < size ? results.size() : size;
+                        resizedResults = results.subList(0, finalSize);
+                    }
+
+                    SearchResults<Company> dissolvedSearchResults =
+                            new SearchResults<>(etag, topHit, resizedResults, kind);
+                    dissolvedSearchResults.setHits(hits.getTotalHits().value);
+
+                    return dissolvedSearchResults;
+                })
+                .exceptionally(failure -> {
+                    CompletionException searchFailure = searchFailure(failure,
+                            "error occurred reading data for previous names from " + SEARCH_HITS);
+                    if (searchFailure.getCause() instanceof SearchException) {
+                        getLogger().error("failed to get previous names for dissolved company", logMap);
+                    }
+                    throw searchFailure;
+                });
     }
 
-    private SearchHits getSearchHits(String orderedAlphakey, String requestId) throws IOException {
-        SearchHits hits = dissolvedSearchRequests.getBestMatchResponse(orderedAlphakey, requestId);
-
-        if (hits.getTotalHits().value == 0) {
-            hits = dissolvedSearchRequests.getStartsWithResponse(orderedAlphakey, requestId);
-        }
-
-        if (hits.getTotalHits().value == 0) {
-            hits = dissolvedSearchRequests.getCorporateNameStartsWithResponse(orderedAlphakey, requestId);
-        }
-        return hits;
+    private CompletableFuture<SearchHits> getSearchHits(String orderedAlphakey, String requestId) {
+        return dissolvedSearchRequests.getBestMatchResponse(orderedAlphakey, requestId)
+                .thenCompose(hits -> hits.getTotalHits().value == 0
+                        ? dissolvedSearchRequests.getStartsWithResponse(orderedAlphakey, requestId)
+                        : CompletableFuture.completedFuture(hits))
+                .thenCompose(hits -> hits.getTotalHits().value == 0
+                        ? dissolvedSearchRequests.getCorporateNameStartsWithResponse(orderedAlphakey, requestId)
+                        : CompletableFuture.completedFuture(hits));
     }
 
-    public SearchHits peelbackSearchRequest(SearchHits hits, String orderedAlphaKey, String requestId)
-        throws IOException {
+    /**
+     * Search for ever shorter prefixes of the ordered alphakey until one is found or the fallback query limit is
+     * reached, each search made once the previous one has found nothing
+     */
+    public CompletableFuture<SearchHits> peelbackSearchRequest(SearchHits hits, String orderedAlphaKey,
+            String requestId) {
 
         Integer fallbackQueryLimit = environmentReader.getMandatoryInteger(DISSOLVED_ALPHABETICAL_FALLBACK_QUERY_LIMIT);
 
-        for (int i = 0; i < orderedAlphaKey.length(); i++) {
+        return peelbackSearchRequest(hits, orderedAlphaKey, requestId, 0, fallbackQueryLimit);
+    }
 
-            if (hits.getTotalHits().value > 0 || i == fallbackQueryLimit) {
-                return hits;
-            }
+    private CompletableFuture<SearchHits> peelbackSearchRequest(SearchHits hits, String orderedAlphaKey,
+            String requestId, int i, Integer fallbackQueryLimit) {
 
-            if (i != orderedAlphaKey.length() - 1) {
-                String resultString = orderedAlphaKey.substring(0, orderedAlphaKey.length() - i);
-                hits = getSearchHits(resultString, requestId);
-            }
+        if (i >= orderedAlphaKey.length() - 1 || hits.getTotalHits().value > 0 || i == fallbackQueryLimit) {
+            return CompletableFuture.completedFuture(hits);
         }
-        return hits;
+
+        String resultString = orderedAlphaKey.substring(0, orderedAlphaKey.length() - i);
+        return getSearchHits(resultString, requestId).thenCompose(nextHits ->
+                peelbackSearchRequest(nextHits, orderedAlphaKey, requestId, i + 1, fallbackQueryLimit));
     }
 
-    private List<Company> populateBelowResults(String requestId, String topHitCompanyName,
-            String orderedAlphaKeyWithId, Integer size) throws IOException {
-        List<Company> results = new ArrayList<>();
-        SearchHits hits;
-        hits = dissolvedSearchRequests.getDescendingResultsResponse(requestId, orderedAlphaKeyWithId, topHitCompanyName,
-                size);
-        hits.forEach(h -> results.add(elasticSearchResponseMapper.mapDissolvedResponse(h)));
-        return results;
+    private CompletableFuture<List<Company>> populateBelowResults(String requestId, String topHitCompanyName,
+            String orderedAlphaKeyWithId, Integer size) {
+        return dissolvedSearchRequests.getDescendingResultsResponse(requestId, orderedAlphaKeyWithId,
+                topHitCompanyName, size).thenApply(hits -> {
+                    List<Company> results = new ArrayList<>();
+                    hits.forEach(h -> results.add(elasticSearchResponseMapper.mapDissolvedResponse(h)));
+                    return results;
+                });
     }
 
-    private List<Company> populateAboveResults(String requestId, String topHitCompanyName,
-            String orderedAlphaKeyWithId, Integer size) throws IOException {
-        List<Company> results = new ArrayList<>();
-        SearchHits hits;
-        hits = dissolvedSearchRequests.getAboveResultsResponse(requestId, orderedAlphaKeyWithId, topHitCompanyName,
-                size);
-        hits.forEach(h -> results.add(elasticSearchResponseMapper.mapDissolvedResponse(h)));
+    private CompletableFuture<List<Company>> populateAboveResults(String requestId, String topHitCompanyName,
+            String orderedAlphaKeyWithId, Integer size) {
+        return dissolvedSearchRequests.getAboveResultsResponse(requestId, orderedAlphaKeyWithId,
+                topHitCompanyName, size).thenApply(hits -> {
+                    List<Company> results = new ArrayList<>();
+                    hits.forEach(h -> results.add(elasticSearchResponseMapper.mapDissolvedResponse(h)));
 
-        Collections.reverse(results);
-        return results;
-    }
-    
-    private void checkSize(Integer size) {
-        if((size % 2) == 0) {
-            sizeAbove = (size / 2);
-            sizeBelow = (size / 2) -1;
-        }else {
-            sizeAbove = Math.floorDiv(size, 2);
-            sizeBelow = Math.floorDiv(size, 2);         
-        }
+                    Collections.reverse(results);
+                    return results;
+                });
     }
 }
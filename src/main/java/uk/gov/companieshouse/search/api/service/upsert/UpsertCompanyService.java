@@ -12,11 +12,16 @@ import uk.gov.companieshouse.api.company.Data;
 import uk.gov.companieshouse.api.model.company.CompanyProfileApi;
 import uk.gov.companieshouse.logging.util.DataMap;
 import uk.gov.companieshouse.search.api.exception.UpsertException;
+import uk.gov.companieshouse.search.api.exception.WriteRejectedException;
 import uk.gov.companieshouse.search.api.logging.LoggingUtils;
 import uk.gov.companieshouse.search.api.model.response.AlphaKeyResponse;
 import uk.gov.companieshouse.search.api.model.response.ResponseObject;
 import uk.gov.companieshouse.search.api.model.response.ResponseStatus;
-import uk.gov.companieshouse.search.api.service.AlphaKeyService;
+import uk.gov.companieshouse.search.api.service.StoredAlphaKeyService;
+import uk.gov.companieshouse.search.api.service.StoredAlphaKeyService.StoredIndex;
+import uk.gov.companieshouse.search.api.service.journal.JournalEntry;
+import uk.gov.companieshouse.search.api.service.journal.WriteJournal;
+import uk.gov.companieshouse.search.api.service.journal.WriteJournal.DocumentLock;
 import uk.gov.companieshouse.search.api.service.rest.impl.AdvancedSearchRestClientService;
 import uk.gov.companieshouse.search.api.service.rest.impl.AlphabeticalSearchRestClientService;
 import uk.gov.companieshouse.search.api.service.rest.impl.PrimarySearchRestClientService;
@@ -37,8 +42,9 @@ public class UpsertCompanyService {
 
     private final PrimarySearchRestClientService primarySearchRestClientService;
     private final CompanySearchUpsertRequestService companySearchUpsertRequestService;
-    private final AlphaKeyService alphaKeyService;
+    private final StoredAlphaKeyService storedAlphaKeyService;
     private final ConfiguredIndexNamesProvider indices;
+    private final WriteJournal writeJournal;
 
     public UpsertCompanyService(
         AlphabeticalSearchRestClientService alphabeticalSearchRestClientService,
@@ -46,16 +52,19 @@ public class UpsertCompanyService {
         AlphabeticalUpsertRequestService alphabeticalUpsertRequestService,
         AdvancedUpsertRequestService advancedUpsertRequestService,
         PrimarySearchRestClientService primarySearchRestClientService,
-        CompanySearchUpsertRequestService companySearchUpsertRequestService, AlphaKeyService alphaKeyService,
-        ConfiguredIndexNamesProvider indices) {
+        CompanySearchUpsertRequestService companySearchUpsertRequestService,
+        StoredAlphaKeyService storedAlphaKeyService,
+        ConfiguredIndexNamesProvider indices,
+        WriteJournal writeJournal) {
         this.alphabeticalSearchRestClientService = alphabeticalSearchRestClientService;
         this.advancedSearchRestClientService = advancedSearchRestClientService;
         this.alphabeticalUpsertRequestService = alphabeticalUpsertRequestService;
         this.advancedUpsertRequestService = advancedUpsertRequestService;
         this.primarySearchRestClientService = primarySearchRestClientService;
         this.companySearchUpsertRequestService = companySearchUpsertRequestService;
-        this.alphaKeyService = alphaKeyService;
+        this.storedAlphaKeyService = storedAlphaKeyService;
         this.indices = indices;
+        this.writeJournal = writeJournal;
     }
 
     /**
@@ -77,9 +86,19 @@ public class UpsertCompanyService {
         IndexRequest indexRequest;
         UpdateRequest updateRequest;
 
+        String orderedAlphaKey = "";
+
+        AlphaKeyResponse alphaKeyResponse = storedAlphaKeyService.getAlphaKey(StoredIndex.ALPHABETICAL,
+                company.getCompanyNumber(), company.getCompanyName());
+        if (alphaKeyResponse != null) {
+            orderedAlphaKey = alphaKeyResponse.getOrderedAlphaKey();
+            logMap.put(LoggingUtils.ORDERED_ALPHAKEY, orderedAlphaKey);
+        }
+
         try {
-            indexRequest = alphabeticalUpsertRequestService.createIndexRequest(company);
-            updateRequest = alphabeticalUpsertRequestService.createUpdateRequest(company, indexRequest);
+            indexRequest = alphabeticalUpsertRequestService.createIndexRequest(company, orderedAlphaKey);
+            updateRequest = alphabeticalUpsertRequestService.createUpdateRequest(company, orderedAlphaKey,
+                    indexRequest);
         } catch (UpsertException e) {
             getLogger().error("An error occured attempting upsert the document", logMap);
             return new ResponseObject(ResponseStatus.UPSERT_ERROR);
@@ -90,6 +109,9 @@ public class UpsertCompanyService {
         } catch (IOException e) {
             getLogger().error("IOException when upserting company", logMap);
             return new ResponseObject(ResponseStatus.UPDATE_REQUEST_ERROR);
+        } catch (WriteRejectedException e) {
+            getLogger().error("Company upsert rejected by the alphabetical search index", logMap);
+            return new ResponseObject(ResponseStatus.WRITE_REJECTED);
         }
 
         getLogger().info("Upsert successful for ", logMap);
@@ -117,7 +139,8 @@ public class UpsertCompanyService {
         String orderedAlphaKey = "";
         String sameAsKey = "";
 
-        AlphaKeyResponse alphaKeyResponse = alphaKeyService.getAlphaKeyForCorporateName(company.getCompanyName());
+        AlphaKeyResponse alphaKeyResponse = storedAlphaKeyService.getAlphaKey(StoredIndex.ADVANCED,
+                company.getCompanyNumber(), company.getCompanyName());
         if (alphaKeyResponse != null) {
             orderedAlphaKey = alphaKeyResponse.getOrderedAlphaKey();
             sameAsKey = alphaKeyResponse.getSameAsAlphaKey();
@@ -137,6 +160,9 @@ public class UpsertCompanyService {
         } catch (IOException e) {
             getLogger().error("IOException when upserting a company to the advanced search index", logMap);
             return new ResponseObject(ResponseStatus.UPDATE_REQUEST_ERROR);
+        } catch (WriteRejectedException e) {
+            getLogger().error("Company upsert rejected by the advanced search index", logMap);
+            return new ResponseObject(ResponseStatus.WRITE_REJECTED);
         }
 
         getLogger().info("Upsert successful to advanced search index", logMap);
@@ -157,17 +183,40 @@ public class UpsertCompanyService {
             return new ResponseObject(ResponseStatus.UPSERT_ERROR);
         }
 
+        try (DocumentLock lock = writeJournal.lock(companyNumber)) {
+            if (writeJournal.hasPendingEntries()) {
+                return journal(updateRequest, logMap);
+            }
+
+            try {
+                primarySearchRestClientService.upsert(updateRequest);
+            } catch (IOException e) {
+                getLogger().error("IOException when upserting an company profile to primary search "
+                        + "index", logMap);
+                if (writeJournal.isEnabled()) {
+                    return journal(updateRequest, logMap);
+                }
+                return new ResponseObject(ResponseStatus.SERVICE_UNAVAILABLE);
+            } catch (ElasticsearchException e) {
+                return new ResponseObject(ResponseStatus.UPDATE_REQUEST_ERROR);
+            } catch (WriteRejectedException e) {
+                getLogger().error("Company profile upsert rejected by the primary search index", logMap);
+                return new ResponseObject(ResponseStatus.WRITE_REJECTED);
+            }
+
+            getLogger().info("Company profile Upsert successful to primary search index", logMap);
+            return new ResponseObject(ResponseStatus.DOCUMENT_UPSERTED);
+        }
+    }
+
+    private ResponseObject journal(UpdateRequest updateRequest, Map<String, Object> logMap) {
         try {
-            primarySearchRestClientService.upsert(updateRequest);
+            writeJournal.append(JournalEntry.upsert(updateRequest));
         } catch (IOException e) {
-            getLogger().error("IOException when upserting an company profile to primary search "
-                    + "index", logMap);
+            getLogger().error("IOException when journalling a company profile upsert", logMap);
             return new ResponseObject(ResponseStatus.SERVICE_UNAVAILABLE);
-        } catch (ElasticsearchException e) {
-            return new ResponseObject(ResponseStatus.UPDATE_REQUEST_ERROR);
         }
-
-        getLogger().info("Company profile Upsert successful to primary search index", logMap);
-        return new ResponseObject(ResponseStatus.DOCUMENT_UPSERTED);
+        getLogger().info("Company profile upsert journalled for replay to primary search index", logMap);
+        return new ResponseObject(ResponseStatus.DOCUMENT_JOURNALED);
     }
 }
@@ -12,23 +12,17 @@ import uk.gov.companieshouse.logging.util.DataMap;
 import uk.gov.companieshouse.search.api.elasticsearch.AlphabeticalSearchUpsertRequest;
 import uk.gov.companieshouse.search.api.exception.UpsertException;
 import uk.gov.companieshouse.search.api.logging.LoggingUtils;
-import uk.gov.companieshouse.search.api.model.response.AlphaKeyResponse;
-import uk.gov.companieshouse.search.api.service.AlphaKeyService;
 import uk.gov.companieshouse.search.api.util.ConfiguredIndexNamesProvider;
 
 @Service
 public class AlphabeticalUpsertRequestService {
 
-    private final AlphaKeyService alphaKeyService;
-
     private final AlphabeticalSearchUpsertRequest alphabeticalSearchUpsertRequest;
 
     private final ConfiguredIndexNamesProvider indices;
 
-    public AlphabeticalUpsertRequestService(AlphaKeyService alphaKeyService,
-        AlphabeticalSearchUpsertRequest alphabeticalSearchUpsertRequest,
+    public AlphabeticalUpsertRequestService(AlphabeticalSearchUpsertRequest alphabeticalSearchUpsertRequest,
         ConfiguredIndexNamesProvider indices) {
-        this.alphaKeyService = alphaKeyService;
         this.alphabeticalSearchUpsertRequest = alphabeticalSearchUpsertRequest;
         this.indices = indices;
     }
@@ -36,10 +30,12 @@ public class AlphabeticalUpsertRequestService {
     /**
      * Create an index request for document if it does not currently exist
      * @param company - Company sent over in REST call to be added/updated
+     * @param orderedAlphaKey - ordered alpha key of the company name, empty if it could not be resolved
      * @return {@link IndexRequest}
      * @throws UpsertException
      */
-    public IndexRequest createIndexRequest(CompanyProfileApi company) throws UpsertException {
+    public IndexRequest createIndexRequest(CompanyProfileApi company, String orderedAlphaKey)
+        throws UpsertException {
 
         Map<String, Object> logMap = new DataMap.Builder()
                 .companyName(company.getCompanyName())
@@ -47,15 +43,8 @@ public class AlphabeticalUpsertRequestService {
                 .indexName(indices.alphabetical())
                 .build().getLogMap();
 
-        String orderedAlphaKey = "";
-        String orderedAlphaKeyWithID = "";
-
-        AlphaKeyResponse alphaKeyResponse = alphaKeyService.getAlphaKeyForCorporateName(company.getCompanyName());
-        if (alphaKeyResponse != null) {
-            orderedAlphaKey = alphaKeyResponse.getOrderedAlphaKey();
-            orderedAlphaKeyWithID = alphaKeyResponse.getOrderedAlphaKey() + ":" + company.getCompanyNumber();
-            logMap.put(LoggingUtils.ORDERED_ALPHAKEY, orderedAlphaKey);
-        }
+        String orderedAlphaKeyWithID = orderedAlphaKeyWithId(company, orderedAlphaKey);
+        logMap.put(LoggingUtils.ORDERED_ALPHAKEY, orderedAlphaKey);
 
         try {
             LoggingUtils.getLogger().info("Preparing index request", logMap);
@@ -70,27 +59,21 @@ public class AlphabeticalUpsertRequestService {
     /**
      * If document already exists attempt to upsert the document
      * @param company - Company sent over in REST call to be added/updated
+     * @param orderedAlphaKey - ordered alpha key of the company name, empty if it could not be resolved
      * @param indexRequest
      * @return {@link UpdateRequest}
      * @throws UpsertException
      */
-    public UpdateRequest createUpdateRequest(CompanyProfileApi company, IndexRequest indexRequest)
-        throws UpsertException {
+    public UpdateRequest createUpdateRequest(CompanyProfileApi company, String orderedAlphaKey,
+        IndexRequest indexRequest) throws UpsertException {
         Map<String, Object> logMap = new DataMap.Builder()
                 .companyName(company.getCompanyName())
                 .companyNumber(company.getCompanyNumber())
                 .indexName(indices.alphabetical())
                 .build().getLogMap();
 
-        String orderedAlphaKey = "";
-        String orderedAlphaKeyWithID = "";
-
-        AlphaKeyResponse alphaKeyResponse = alphaKeyService.getAlphaKeyForCorporateName(company.getCompanyName());
-        if (alphaKeyResponse != null) {
-            orderedAlphaKey = alphaKeyResponse.getOrderedAlphaKey();
-            logMap.put(LoggingUtils.ORDERED_ALPHAKEY, orderedAlphaKey);
-            orderedAlphaKeyWithID = alphaKeyResponse.getOrderedAlphaKey() + ":" + company.getCompanyNumber();
-        }
+        String orderedAlphaKeyWithID = orderedAlphaKeyWithId(company, orderedAlphaKey);
+        logMap.put(LoggingUtils.ORDERED_ALPHAKEY, orderedAlphaKey);
 
         try {
             LoggingUtils.getLogger().info("Attempt to upsert document if it does not exist", logMap);
@@ -104,4 +87,8 @@ public class AlphabeticalUpsertRequestService {
             throw new UpsertException("Unable to create update request");
         }
     }
+
+    private static String orderedAlphaKeyWithId(CompanyProfileApi company, String orderedAlphaKey) {
+        return "".equals(orderedAlphaKey) ? "" : orderedAlphaKey + ":" + company.getCompanyNumber();
+    }
 }
@@ -1,15 +1,16 @@
 package uk.gov.companieshouse.search.api.service.upsert.company;
 
-import com.fasterxml.jackson.databind.ObjectMapper;
 import java.io.IOException;
 import java.util.Map;
 import java.util.Optional;
+import org.elasticsearch.action.index.IndexRequest;
 import org.elasticsearch.action.update.UpdateRequest;
 import org.elasticsearch.common.xcontent.XContentType;
 import org.springframework.context.annotation.Lazy;
 import org.springframework.core.convert.ConversionService;
 import org.springframework.stereotype.Service;
 import uk.gov.companieshouse.api.company.Data;
+import uk.gov.companieshouse.search.api.elasticsearch.IndexDocumentWriter;
 import uk.gov.companieshouse.search.api.exception.UpsertException;
 import uk.gov.companieshouse.search.api.logging.LoggingUtils;
 import uk.gov.companieshouse.search.api.model.esdatamodel.CompanySearchDocument;
@@ -22,14 +23,14 @@ public class CompanySearchUpsertRequestService {
 
     private final ConversionService companySearchDocumentConverter;
 
-    private final ObjectMapper mapper;
+    private final IndexDocumentWriter documentWriter;
 
     private final ConfiguredIndexNamesProvider indices;
 
     public CompanySearchUpsertRequestService(@Lazy ConversionService companySearchDocumentConverter,
-            ObjectMapper mapper, ConfiguredIndexNamesProvider indices) {
+            IndexDocumentWriter documentWriter, ConfiguredIndexNamesProvider indices) {
         this.companySearchDocumentConverter = companySearchDocumentConverter;
-        this.mapper = mapper;
+        this.documentWriter = documentWriter;
         this.indices = indices;
     }
 
@@ -42,9 +43,10 @@ public class CompanySearchUpsertRequestService {
                 companySearchDocumentConverter.convert(profileData, CompanySearchDocument.class)).orElseThrow();
 
         try {
-            String jsonString = mapper.writeValueAsString(documentToBeUpserted);
+            IndexRequest document = new IndexRequest()
+                    .source(documentWriter.write(documentToBeUpserted), XContentType.JSON);
             return new UpdateRequest(indices.primary(), TYPE, companyNumber)
-                    .docAsUpsert(true).doc(jsonString, XContentType.JSON);
+                    .docAsUpsert(true).doc(document);
         } catch (IOException e) {
             LoggingUtils.getLogger().error("Failed to update a document for company profile" + e.getMessage(), logMap);
             throw new UpsertException("Unable to create update request");
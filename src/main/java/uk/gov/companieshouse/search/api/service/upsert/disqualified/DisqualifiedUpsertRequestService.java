@@ -1,6 +1,7 @@
 package uk.gov.companieshouse.search.api.service.upsert.disqualified;
 
 import uk.gov.companieshouse.api.disqualification.Item;
+import org.elasticsearch.action.index.IndexRequest;
 import org.elasticsearch.action.update.UpdateRequest;
 import org.elasticsearch.common.xcontent.XContentType;
 import org.springframework.stereotype.Service;
@@ -52,8 +53,10 @@ public class DisqualifiedUpsertRequestService {
         }
 
         try {
+            IndexRequest document = new IndexRequest()
+                    .source(disqualifiedSearchUpsertRequest.buildRequest(officer), XContentType.JSON);
             UpdateRequest request = new UpdateRequest(indices.primary(), TYPE, officerId)
-                    .docAsUpsert(true).doc(disqualifiedSearchUpsertRequest.buildRequest(officer), XContentType.JSON);
+                    .docAsUpsert(true).doc(document);
 
             LoggingUtils.getLogger().info("Attempt to upsert document if it does not exist", logMap);
 
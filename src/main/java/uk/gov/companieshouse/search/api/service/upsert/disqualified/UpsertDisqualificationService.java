@@ -5,9 +5,13 @@ import org.elasticsearch.action.update.UpdateRequest;
 import org.springframework.stereotype.Service;
 import uk.gov.companieshouse.api.disqualification.OfficerDisqualification;
 import uk.gov.companieshouse.search.api.exception.UpsertException;
+import uk.gov.companieshouse.search.api.exception.WriteRejectedException;
 import uk.gov.companieshouse.search.api.logging.LoggingUtils;
 import uk.gov.companieshouse.search.api.model.response.ResponseObject;
 import uk.gov.companieshouse.search.api.model.response.ResponseStatus;
+import uk.gov.companieshouse.search.api.service.journal.JournalEntry;
+import uk.gov.companieshouse.search.api.service.journal.WriteJournal;
+import uk.gov.companieshouse.search.api.service.journal.WriteJournal.DocumentLock;
 import uk.gov.companieshouse.search.api.service.rest.impl.PrimarySearchRestClientService;
 
 import java.io.IOException;
@@ -24,13 +28,15 @@ public class UpsertDisqualificationService {
     private final PrimarySearchRestClientService primarySearchRestClientService;
     private final DisqualifiedUpsertRequestService disqualifiedUpsertRequestService;
     private final ConfiguredIndexNamesProvider indices;
+    private final WriteJournal writeJournal;
 
     public UpsertDisqualificationService(PrimarySearchRestClientService primarySearchRestClientService,
             DisqualifiedUpsertRequestService disqualifiedUpsertRequestService,
-        ConfiguredIndexNamesProvider indices) {
+        ConfiguredIndexNamesProvider indices, WriteJournal writeJournal) {
         this.primarySearchRestClientService = primarySearchRestClientService;
         this.disqualifiedUpsertRequestService = disqualifiedUpsertRequestService;
         this.indices = indices;
+        this.writeJournal = writeJournal;
     }
 
     /**
@@ -57,16 +63,39 @@ public class UpsertDisqualificationService {
             return new ResponseObject(ResponseStatus.SERVICE_UNAVAILABLE);
         }
 
+        try (DocumentLock lock = writeJournal.lock(updateRequest.id())) {
+            if (writeJournal.hasPendingEntries()) {
+                return journal(updateRequest, logMap);
+            }
+
+            try {
+                primarySearchRestClientService.upsert(updateRequest);
+            } catch (IOException e) {
+                getLogger().error("IOException when upserting a officer to the disqualified search index", logMap);
+                if (writeJournal.isEnabled()) {
+                    return journal(updateRequest, logMap);
+                }
+                return new ResponseObject(ResponseStatus.SERVICE_UNAVAILABLE);
+            } catch (ElasticsearchException e) {
+                return new ResponseObject(ResponseStatus.UPDATE_REQUEST_ERROR);
+            } catch (WriteRejectedException e) {
+                getLogger().error("Officer upsert rejected by the disqualified search index", logMap);
+                return new ResponseObject(ResponseStatus.WRITE_REJECTED);
+            }
+
+            getLogger().info("Upsert successful to disqualified search index", logMap);
+            return new ResponseObject(ResponseStatus.DOCUMENT_UPSERTED);
+        }
+    }
+
+    private ResponseObject journal(UpdateRequest updateRequest, Map<String, Object> logMap) {
         try {
-            primarySearchRestClientService.upsert(updateRequest);
+            writeJournal.append(JournalEntry.upsert(updateRequest));
         } catch (IOException e) {
-            getLogger().error("IOException when upserting a officer to the disqualified search index", logMap);
+            getLogger().error("IOException when journalling a disqualified officer upsert", logMap);
             return new ResponseObject(ResponseStatus.SERVICE_UNAVAILABLE);
-        } catch (ElasticsearchException e) {
-            return new ResponseObject(ResponseStatus.UPDATE_REQUEST_ERROR);
         }
-
-        getLogger().info("Upsert successful to disqualified search index", logMap);
-        return new ResponseObject(ResponseStatus.DOCUMENT_UPSERTED);
+        getLogger().info("Disqualified officer upsert journalled for replay to primary search index", logMap);
+        return new ResponseObject(ResponseStatus.DOCUMENT_JOURNALED);
     }
 }
@@ -1,17 +1,25 @@
 package uk.gov.companieshouse.search.api.service.upsert.officers;
 
+import com.fasterxml.jackson.core.type.TypeReference;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import java.io.IOException;
+import java.util.HashMap;
 import java.util.Map;
 import java.util.Optional;
+import org.elasticsearch.action.index.IndexRequest;
 import org.elasticsearch.action.update.UpdateRequest;
 import org.elasticsearch.common.xcontent.XContentType;
+import org.elasticsearch.script.Script;
+import org.elasticsearch.script.ScriptType;
 import org.springframework.context.annotation.Lazy;
 import org.springframework.core.convert.ConversionService;
 import org.springframework.stereotype.Service;
 import uk.gov.companieshouse.api.officer.AppointmentList;
+import uk.gov.companieshouse.search.api.elasticsearch.IndexDocumentWriter;
 import uk.gov.companieshouse.search.api.exception.UpsertException;
 import uk.gov.companieshouse.search.api.logging.LoggingUtils;
+import uk.gov.companieshouse.search.api.mapper.OfficerSearchDocumentStreamingConverter;
+import uk.gov.companieshouse.search.api.model.esdatamodel.OfficerSearchAppointment;
 import uk.gov.companieshouse.search.api.model.esdatamodel.OfficerSearchDocument;
 import uk.gov.companieshouse.search.api.util.ConfiguredIndexNamesProvider;
 
@@ -19,31 +27,114 @@ import uk.gov.companieshouse.search.api.util.ConfiguredIndexNamesProvider;
 public class OfficersUpsertRequestService {
 
     private static final String TYPE = "primary_search";
+    private static final String PAINLESS = "painless";
+
+    /**
+     * Puts the items in the order of the officer's appointment list, current appointments ahead of resigned ones and
+     * the most recently resigned appointment last, keeping the order of appointments that compare equal.
+     */
+    private static final String ORDER_ITEMS =
+            " items.sort((a, b) -> a.resigned_on == null ? (b.resigned_on == null ? 0 : -1)"
+            + " : (b.resigned_on == null ? 1 : a.resigned_on.compareTo(b.resigned_on)));";
+
+    /**
+     * Sets the address and wildcard key on the first item only, as the whole-list conversion does, which also never
+     * writes last_resigned_on.
+     */
+    private static final String SET_FIRST_ITEM =
+            " for (def item : items) {"
+            + "   item.remove('address'); item.remove('wildcard_key'); item.remove('last_resigned_on');"
+            + " }"
+            + " if (address != null) { items[0].address = address; }"
+            + " items[0].wildcard_key = ctx._source.sort_key;";
+
+    /**
+     * Finds the index of the appointment with the params' appointment_id, noting any item without an id
+     */
+    private static final String FIND_APPOINTMENT =
+            "def items = ctx._source.items; int index = -1; boolean legacy = false;"
+            + " for (int i = 0; i < items.size(); i++) {"
+            + "   def id = items[i].appointment_id;"
+            + "   if (id == null) { legacy = true; } else if (id == params.appointment_id) { index = i; }"
+            + " }";
+
+    /**
+     * Replaces the appointment with the same appointment_id, or adds it, and takes the officer level fields from the
+     * request. The first item keeps the officer's address unless the changed appointment becomes the first item, when
+     * it carries its own. Documents with an item that has no appointment id are left untouched (noop) and must be
+     * upserted in full.
+     */
+    static final String UPSERT_APPOINTMENT_SCRIPT = FIND_APPOINTMENT
+            + " if (legacy) { ctx.op = 'none'; } else {"
+            + "   def address = items[0].address;"
+            + "   def appointment = new HashMap(params.appointment);"
+            + "   if (index == -1) { items.add(appointment); } else { items[index] = appointment; }"
+            + "   ctx._source.active_count = params.active_count;"
+            + "   ctx._source.inactive_count = params.inactive_count;"
+            + "   ctx._source.resigned_count = params.resigned_count;"
+            + "   ctx._source.sort_key = params.sort_key;"
+            + ORDER_ITEMS
+            + "   if (items[0] === appointment && appointment.address != null) { address = appointment.address; }"
+            + SET_FIRST_ITEM
+            + " }";
+
+    /**
+     * Removes the appointment with the given appointment_id and takes the officer's counts from the request, moving
+     * the address and wildcard key to the new first item. The document is deleted with its last appointment.
+     */
+    static final String REMOVE_APPOINTMENT_SCRIPT = FIND_APPOINTMENT
+            + " if (legacy || index == -1) { ctx.op = 'none'; } else {"
+            + "   def address = items[0].address;"
+            + "   items.remove(index);"
+            + "   if (items.isEmpty()) { ctx.op = 'delete'; } else {"
+            + "     ctx._source.active_count = params.active_count;"
+            + "     ctx._source.inactive_count = params.inactive_count;"
+            + "     ctx._source.resigned_count = params.resigned_count;"
+            + ORDER_ITEMS
+            + SET_FIRST_ITEM
+            + "   }"
+            + " }";
+
+    private static final TypeReference<Map<String, Object>> APPOINTMENT_PARAMS = new TypeReference<>() {};
+
     private final ConversionService conversionService;
-    private final ObjectMapper mapper;
+    private final OfficerSearchDocumentStreamingConverter streamingConverter;
+    private final IndexDocumentWriter documentWriter;
     private final ConfiguredIndexNamesProvider indices;
+    private final ObjectMapper objectMapper;
 
-    public OfficersUpsertRequestService(@Lazy ConversionService conversionService, ObjectMapper mapper,
-        ConfiguredIndexNamesProvider indices) {
+    public OfficersUpsertRequestService(@Lazy ConversionService conversionService,
+        OfficerSearchDocumentStreamingConverter streamingConverter, IndexDocumentWriter documentWriter,
+        ConfiguredIndexNamesProvider indices, ObjectMapper objectMapper) {
         this.conversionService = conversionService;
-        this.mapper = mapper;
+        this.streamingConverter = streamingConverter;
+        this.documentWriter = documentWriter;
         this.indices = indices;
+        this.objectMapper = objectMapper;
     }
 
+    /**
+     * Create an update that replaces the officer's document with all of their appointments. The document is streamed
+     * to JSON one appointment at a time, so officers with thousands of appointments are never held as a whole
+     * {@link OfficerSearchDocument}.
+     *
+     * @param appointmentList - the officer's appointments
+     * @param officerId - the officer's id
+     * @return {@link UpdateRequest} that creates the document if it does not exist
+     * @throws UpsertException if the document could not be written
+     */
     public UpdateRequest createUpdateRequest(AppointmentList appointmentList, String officerId)
             throws UpsertException {
 
         Map<String, Object> logMap =
             LoggingUtils.setUpOfficersAppointmentsUpsertLogging(officerId, indices);
 
-        OfficerSearchDocument documentToBeUpserted = Optional.ofNullable(conversionService.convert(appointmentList, OfficerSearchDocument.class))
-                .orElseThrow();
-
         try {
-            String jsonString = mapper.writeValueAsString(documentToBeUpserted);
+            IndexRequest document = new IndexRequest()
+                    .source(streamingConverter.convert(appointmentList), XContentType.JSON);
 
             return new UpdateRequest(indices.primary(), TYPE, officerId)
-                    .docAsUpsert(true).doc(jsonString, XContentType.JSON);
+                    .docAsUpsert(true).doc(document);
 
         } catch (IOException e) {
             LoggingUtils.getLogger().error("Failed to update a document for appointmentList" + e.getMessage(), logMap);
@@ -51,4 +142,68 @@ public class OfficersUpsertRequestService {
         }
     }
 
+    /**
+     * Create a scripted update that adds or replaces a single appointment on an officer's document, rather than
+     * rewriting every appointment. The officer level counts and sort key are taken from the appointment list.
+     *
+     * @param appointmentList - the officer's details with the changed appointment as its only item
+     * @param officerId - the officer's id
+     * @param appointmentId - the id of the changed appointment
+     * @return {@link UpdateRequest} that creates the document from the single appointment if it does not exist
+     * @throws UpsertException if the document could not be written
+     */
+    public UpdateRequest createAppointmentUpsertRequest(AppointmentList appointmentList, String officerId,
+            String appointmentId) throws UpsertException {
+
+        Map<String, Object> logMap =
+            LoggingUtils.setUpOfficersAppointmentsUpsertLogging(officerId, indices);
+
+        OfficerSearchDocument document = Optional.ofNullable(
+                conversionService.convert(appointmentList, OfficerSearchDocument.class)).orElseThrow();
+        OfficerSearchAppointment appointment = document.getItems().get(0).appointmentId(appointmentId);
+
+        try {
+            IndexRequest upsert = new IndexRequest()
+                    .source(documentWriter.write(document), XContentType.JSON);
+
+            Map<String, Object> params = new HashMap<>();
+            params.put("appointment_id", appointmentId);
+            params.put("appointment", objectMapper.convertValue(appointment, APPOINTMENT_PARAMS));
+            params.put("active_count", document.getActiveCount());
+            params.put("inactive_count", document.getInactiveCount());
+            params.put("resigned_count", document.getResignedCount());
+            params.put("sort_key", document.getSortKey());
+
+            return new UpdateRequest(indices.primary(), TYPE, officerId)
+                    .script(new Script(ScriptType.INLINE, PAINLESS, UPSERT_APPOINTMENT_SCRIPT, params))
+                    .upsert(upsert);
+
+        } catch (IOException | IllegalArgumentException e) {
+            LoggingUtils.getLogger().error("Failed to update a document for appointment " + appointmentId + ": "
+                    + e.getMessage(), logMap);
+            throw new UpsertException("Unable to create update request");
+        }
+    }
+
+    /**
+     * Create a scripted update that removes a single appointment from an officer's document. The officer level
+     * counts are taken from the appointment list, as whether an appointment counted as active or inactive is not held
+     * on the document.
+     *
+     * @param appointmentList - the officer's details once the appointment is removed, its items are not used
+     * @param officerId - the officer's id
+     * @param appointmentId - the id of the appointment to remove
+     * @return {@link UpdateRequest} that fails with not found if the officer has no document
+     */
+    public UpdateRequest createAppointmentRemoveRequest(AppointmentList appointmentList, String officerId,
+            String appointmentId) {
+        Map<String, Object> params = new HashMap<>();
+        params.put("appointment_id", appointmentId);
+        params.put("active_count", appointmentList.getActiveCount());
+        params.put("inactive_count", appointmentList.getInactiveCount());
+        params.put("resigned_count", appointmentList.getResignedCount());
+
+        return new UpdateRequest(indices.primary(), TYPE, officerId)
+                .script(new Script(ScriptType.INLINE, PAINLESS, REMOVE_APPOINTMENT_SCRIPT, params));
+    }
 }
@@ -5,13 +5,20 @@ import static uk.gov.companieshouse.search.api.logging.LoggingUtils.getLogger;
 import java.io.IOException;
 import java.util.Map;
 import org.elasticsearch.ElasticsearchException;
+import org.elasticsearch.action.DocWriteResponse;
 import org.elasticsearch.action.update.UpdateRequest;
+import org.elasticsearch.action.update.UpdateResponse;
+import org.elasticsearch.rest.RestStatus;
 import org.springframework.stereotype.Service;
 import uk.gov.companieshouse.api.officer.AppointmentList;
 import uk.gov.companieshouse.search.api.exception.UpsertException;
+import uk.gov.companieshouse.search.api.exception.WriteRejectedException;
 import uk.gov.companieshouse.search.api.logging.LoggingUtils;
 import uk.gov.companieshouse.search.api.model.response.ResponseObject;
 import uk.gov.companieshouse.search.api.model.response.ResponseStatus;
+import uk.gov.companieshouse.search.api.service.journal.JournalEntry;
+import uk.gov.companieshouse.search.api.service.journal.WriteJournal;
+import uk.gov.companieshouse.search.api.service.journal.WriteJournal.DocumentLock;
 import uk.gov.companieshouse.search.api.service.rest.impl.PrimarySearchRestClientService;
 import uk.gov.companieshouse.search.api.util.ConfiguredIndexNamesProvider;
 
@@ -24,12 +31,15 @@ public class UpsertOfficersService {
 
     private final ConfiguredIndexNamesProvider indices;
 
+    private final WriteJournal writeJournal;
+
     public UpsertOfficersService(PrimarySearchRestClientService primarySearchRestClientService,
             OfficersUpsertRequestService officersUpsertRequestService,
-        ConfiguredIndexNamesProvider indices) {
+        ConfiguredIndexNamesProvider indices, WriteJournal writeJournal) {
         this.primarySearchRestClientService = primarySearchRestClientService;
         this.officersUpsertRequestService = officersUpsertRequestService;
         this.indices = indices;
+        this.writeJournal = writeJournal;
     }
 
     public ResponseObject upsertOfficers(AppointmentList appointmentList, String officerId) {
@@ -46,17 +56,120 @@ public class UpsertOfficersService {
             return new ResponseObject(ResponseStatus.UPSERT_ERROR);
         }
 
+        try (DocumentLock lock = writeJournal.lock(updateRequest.id())) {
+            if (writeJournal.hasPendingEntries()) {
+                return journal(updateRequest, logMap);
+            }
+
+            try {
+                primarySearchRestClientService.upsert(updateRequest);
+            } catch (IOException e) {
+                getLogger().error("IOException when upserting an officer to primary search "
+                        + "index", logMap);
+                if (writeJournal.isEnabled()) {
+                    return journal(updateRequest, logMap);
+                }
+                return new ResponseObject(ResponseStatus.SERVICE_UNAVAILABLE);
+            } catch (ElasticsearchException e) {
+                return new ResponseObject(ResponseStatus.UPDATE_REQUEST_ERROR);
+            } catch (WriteRejectedException e) {
+                getLogger().error("Officer upsert rejected by the primary search index", logMap);
+                return new ResponseObject(ResponseStatus.WRITE_REJECTED);
+            }
+
+            getLogger().info("Upsert successful to officers search index", logMap);
+            return new ResponseObject(ResponseStatus.DOCUMENT_UPSERTED);
+        }
+    }
+
+    /**
+     * Add or replace a single appointment on an officer's document. Documents with an appointment that has no id,
+     * such as those written before appointment ids were indexed, cannot be updated this way, so
+     * FULL_DOCUMENT_REQUIRED is returned and the caller falls back to upserting the whole appointment list. This is
+     * also returned while writes are being journalled, as a scripted update cannot be journalled.
+     */
+    public ResponseObject upsertAppointment(AppointmentList appointmentList, String officerId, String appointmentId) {
+        Map<String, Object> logMap =
+            LoggingUtils.setUpOfficersAppointmentsUpsertLogging(officerId, indices);
+        getLogger().info("Upserting a single officer appointment to primary index", logMap);
+
+        UpdateRequest updateRequest;
         try {
-            primarySearchRestClientService.upsert(updateRequest);
-        } catch (IOException e) {
-            getLogger().error("IOException when upserting an officer to primary search "
+            updateRequest = officersUpsertRequestService.createAppointmentUpsertRequest(appointmentList, officerId,
+                    appointmentId);
+        } catch (UpsertException e) {
+            getLogger().error("An error occurred attempting upsert the appointment to primary search "
                     + "index", logMap);
-            return new ResponseObject(ResponseStatus.SERVICE_UNAVAILABLE);
-        } catch (ElasticsearchException e) {
-            return new ResponseObject(ResponseStatus.UPDATE_REQUEST_ERROR);
+            return new ResponseObject(ResponseStatus.UPSERT_ERROR);
+        }
+
+        return updateAppointment(updateRequest, ResponseStatus.DOCUMENT_UPSERTED, ResponseStatus.UPDATE_REQUEST_ERROR,
+                logMap);
+    }
+
+    /**
+     * Remove a single appointment from an officer's document, deleting the document with its last appointment
+     */
+    public ResponseObject removeAppointment(AppointmentList appointmentList, String officerId,
+            String appointmentId) {
+        Map<String, Object> logMap =
+            LoggingUtils.setUpOfficersAppointmentsUpsertLogging(officerId, indices);
+        getLogger().info("Removing a single officer appointment from primary index", logMap);
+
+        UpdateRequest updateRequest = officersUpsertRequestService.createAppointmentRemoveRequest(appointmentList,
+                officerId, appointmentId);
+
+        return updateAppointment(updateRequest, ResponseStatus.DOCUMENT_DELETED, ResponseStatus.DELETE_REQUEST_ERROR,
+                logMap);
+    }
+
+    private ResponseObject updateAppointment(UpdateRequest updateRequest, ResponseStatus success,
+            ResponseStatus error, Map<String, Object> logMap) {
+        try (DocumentLock lock = writeJournal.lock(updateRequest.id())) {
+            if (writeJournal.hasPendingEntries()) {
+                return new ResponseObject(ResponseStatus.FULL_DOCUMENT_REQUIRED);
+            }
+
+            UpdateResponse response;
+            try {
+                response = primarySearchRestClientService.upsert(updateRequest);
+            } catch (IOException e) {
+                getLogger().error("IOException when updating an officer appointment in primary search "
+                        + "index", logMap);
+                if (writeJournal.isEnabled()) {
+                    return new ResponseObject(ResponseStatus.FULL_DOCUMENT_REQUIRED);
+                }
+                return new ResponseObject(ResponseStatus.SERVICE_UNAVAILABLE);
+            } catch (ElasticsearchException e) {
+                if (e.status() == RestStatus.NOT_FOUND) {
+                    getLogger().error("No officer document to remove the appointment from", logMap);
+                    return new ResponseObject(ResponseStatus.DELETE_NOT_FOUND);
+                }
+                return new ResponseObject(error);
+            } catch (WriteRejectedException e) {
+                getLogger().error("Officer appointment update rejected by the primary search index", logMap);
+                return new ResponseObject(ResponseStatus.WRITE_REJECTED);
+            }
+
+            if (response.getResult() == DocWriteResponse.Result.NOOP) {
+                getLogger().info("Officer document has no appointment ids or appointment not found, "
+                        + "full document required", logMap);
+                return new ResponseObject(ResponseStatus.FULL_DOCUMENT_REQUIRED);
+            }
+
+            getLogger().info("Officer appointment update successful to primary search index", logMap);
+            return new ResponseObject(success);
         }
+    }
 
-        getLogger().info("Upsert successful to officers search index", logMap);
-        return new ResponseObject(ResponseStatus.DOCUMENT_UPSERTED);
+    private ResponseObject journal(UpdateRequest updateRequest, Map<String, Object> logMap) {
+        try {
+            writeJournal.append(JournalEntry.upsert(updateRequest));
+        } catch (IOException e) {
+            getLogger().error("IOException when journalling an officer upsert", logMap);
+            return new ResponseObject(ResponseStatus.SERVICE_UNAVAILABLE);
+        }
+        getLogger().info("Officer upsert journalled for replay to primary search index", logMap);
+        return new ResponseObject(ResponseStatus.DOCUMENT_JOURNALED);
     }
 }
@@ -1,51 +1,71 @@
 package uk.gov.companieshouse.search.api.util;
 
-import java.util.stream.Collectors;
-import java.util.stream.Stream;
 import uk.gov.companieshouse.api.company.RegisteredOfficeAddress;
 import uk.gov.companieshouse.api.officer.Address;
 
 public class AddressUtils {
 
+    private static final String SEPARATOR = ", ";
+    private static final int FULL_ADDRESS_CAPACITY = 128;
+
     private AddressUtils() {
     }
 
     public static String getFullAddressString(Address address) {
-        return Stream.of(address.getCareOf(), address.getPoBox(), getPremisesOfficers(address), address.getAddressLine2(),
-                address.getLocality(), address.getRegion(), address.getCountry(), address.getPostalCode())
-                .filter(AddressUtils::checkString)
-                .collect(Collectors.joining(", "));
+        StringBuilder fullAddress = new StringBuilder(FULL_ADDRESS_CAPACITY);
+        append(fullAddress, address.getCareOf());
+        append(fullAddress, address.getPoBox());
+        appendPremises(fullAddress, address.getPremises(), address.getAddressLine1());
+        append(fullAddress, address.getAddressLine2());
+        append(fullAddress, address.getLocality());
+        append(fullAddress, address.getRegion());
+        append(fullAddress, address.getCountry());
+        append(fullAddress, address.getPostalCode());
+        return fullAddress.toString();
     }
 
     public static String getROAFullAddressString(RegisteredOfficeAddress address) {
-        return Stream.of(address.getCareOfName(), address.getPoBox(), getPremisesCompany(address), address.getAddressLine2(),
-                        address.getLocality(), address.getRegion(), address.getCountry(), address.getPostalCode())
-                .filter(AddressUtils::checkString)
-                .collect(Collectors.joining(", "));
+        StringBuilder fullAddress = new StringBuilder(FULL_ADDRESS_CAPACITY);
+        append(fullAddress, address.getCareOfName());
+        append(fullAddress, address.getPoBox());
+        appendPremises(fullAddress, address.getPremises(), address.getAddressLine1());
+        append(fullAddress, address.getAddressLine2());
+        append(fullAddress, address.getLocality());
+        append(fullAddress, address.getRegion());
+        append(fullAddress, address.getCountry());
+        append(fullAddress, address.getPostalCode());
+        return fullAddress.toString();
     }
 
-    private static String getPremisesOfficers(Address a) {
-        String premises = a.getPremises();
-        String addressLine1 = a.getAddressLine1();
-        return getPremiseAddressLine1(premises, addressLine1);
+    private static void appendPremises(StringBuilder fullAddress, String premises, String addressLine1) {
+        if (! checkString(premises)) append(fullAddress, addressLine1);
+        else if (! checkString(addressLine1)) append(fullAddress, premises);
+        else {
+            append(fullAddress, premises);
+            fullAddress.append(isNumeric(premises) ? " " : SEPARATOR).append(addressLine1);
+        }
     }
 
-    private static String getPremisesCompany(RegisteredOfficeAddress a) {
-        String premises = a.getPremises();
-        String addressLine1 = a.getAddressLine1();
-        return getPremiseAddressLine1(premises, addressLine1);
+    private static void append(StringBuilder fullAddress, String element) {
+        if (checkString(element)) {
+            if (fullAddress.length() > 0) {
+                fullAddress.append(SEPARATOR);
+            }
+            fullAddress.append(element);
+        }
     }
 
-    private static String getPremiseAddressLine1(String premises, String addressLine1) {
-        if (! checkString(premises)) return addressLine1;
-        else if (! checkString(addressLine1)) return premises;
-        else {
-            if (premises.matches("^\\d+$")) {
-                return premises + " " + addressLine1;
-            } else {
-                return premises + ", " + addressLine1;
+    /**
+     * Equivalent to matching {@code ^\d+$}, without compiling or allocating a matcher per address
+     */
+    private static boolean isNumeric(String premises) {
+        for (int i = 0; i < premises.length(); i++) {
+            char c = premises.charAt(i);
+            if (c < '0' || c > '9') {
+                return false;
             }
         }
+        return true;
     }
 
     private static boolean checkString(String s) {
@@ -1,8 +1,19 @@
 package uk.gov.companieshouse.search.api.util;
 
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
 import org.springframework.stereotype.Component;
 import uk.gov.companieshouse.environment.EnvironmentReader;
 
+/**
+ * Resolves the index names reads and writes go to.
+ *
+ * <p>Reads always go to the configured name, which should be an alias so that the concrete index behind it can be
+ * replaced without downtime. While an index is being migrated to a new concrete index, for example to roll out a
+ * mapping change, writes go to both the configured name and the new index, so the new index is kept up to date
+ * until the alias is swapped to it.</p>
+ */
 @Component
 public class ConfiguredIndexNamesProvider {
 
@@ -11,7 +22,14 @@ public class ConfiguredIndexNamesProvider {
     private static final String ADVANCED_SEARCH_INDEX_ENVIRONMENT_VARIABLE = "ADVANCED_SEARCH_INDEX";
     private static final String PRIMARY_SEARCH_INDEX_ENVIRONMENT_VARIABLE = "PRIMARY_SEARCH_INDEX";
 
+    private static final Map<String, String> MIGRATION_INDEX_ENVIRONMENT_VARIABLES = Map.of(
+            ALPHABETICAL_SEARCH_INDEX_ENVIRONMENT_VARIABLE, "ALPHABETICAL_SEARCH_MIGRATION_INDEX",
+            DISSOLVED_SEARCH_INDEX_ENVIRONMENT_VARIABLE, "DISSOLVED_SEARCH_MIGRATION_INDEX",
+            ADVANCED_SEARCH_INDEX_ENVIRONMENT_VARIABLE, "ADVANCED_SEARCH_MIGRATION_INDEX",
+            PRIMARY_SEARCH_INDEX_ENVIRONMENT_VARIABLE, "PRIMARY_SEARCH_MIGRATION_INDEX");
+
     private final EnvironmentReader environment;
+    private final Map<String, String> migrations = new ConcurrentHashMap<>();
 
     public ConfiguredIndexNamesProvider(EnvironmentReader environment) {
         this.environment = environment;
@@ -45,4 +63,36 @@ public class ConfiguredIndexNamesProvider {
         return environment.getMandatoryString(PRIMARY_SEARCH_INDEX_ENVIRONMENT_VARIABLE);
     }
 
+    /**
+     * @param index - a configured index name
+     * @return the concrete index the index is being migrated to, from a running rebuild or else the index's
+     *      migration index environment variable, e.g. ALPHABETICAL_SEARCH_MIGRATION_INDEX, or empty if there is none
+     */
+    public Optional<String> migrationIndex(String index) {
+        String migrationIndex = migrations.get(index);
+        if (migrationIndex != null) {
+            return Optional.of(migrationIndex);
+        }
+        for (Map.Entry<String, String> variables : MIGRATION_INDEX_ENVIRONMENT_VARIABLES.entrySet()) {
+            if (index.equals(environment.getOptionalString(variables.getKey()))) {
+                return Optional.ofNullable(environment.getOptionalString(variables.getValue()))
+                        .filter(name -> !name.isBlank() && !name.equals(index));
+            }
+        }
+        return Optional.empty();
+    }
+
+    /**
+     * Send writes to the given index to the migration index as well, until {@link #finishMigration} is called
+     *
+     * @param index - a configured index name
+     * @param migrationIndex - the concrete index it is being migrated to
+     */
+    public void startMigration(String index, String migrationIndex) {
+        migrations.put(index, migrationIndex);
+    }
+
+    public void finishMigration(String index) {
+        migrations.remove(index);
+    }
 }
@@ -0,0 +1,142 @@
+package uk.gov.companieshouse.search.api.util;
+
+import java.util.Arrays;
+import uk.gov.companieshouse.search.api.model.esdatamodel.CorporateNameEndingsEnum;
+
+/**
+ * Trie of the reversed {@link CorporateNameEndingsEnum} values, walked backwards from the end of a name to find every
+ * ending in one pass.
+ *
+ * <p>Matching is equivalent to testing each ending with {@code Pattern.compile("\\s" + ending + "$",
+ * CASE_INSENSITIVE).matcher(name).find()}: letters match ASCII case-insensitively, a '.' in an ending matches any
+ * character other than a line terminator, the ending must be preceded by whitespace, and it may end just before a
+ * trailing line terminator. Where several endings match, the one declared last in the enum is returned, as the
+ * regex loop this replaces let later matches overwrite earlier ones.</p>
+ */
+final class CorporateNameEndingTrie {
+
+    private static final char ANY_CHARACTER = '.';
+
+    private final CorporateNameEndingsEnum[] endings;
+    private final Node root = new Node();
+
+    CorporateNameEndingTrie(CorporateNameEndingsEnum[] endings) {
+        this.endings = endings.clone();
+        for (CorporateNameEndingsEnum ending : this.endings) {
+            String value = ending.getEnding();
+            if (value.isEmpty()) {
+                continue;
+            }
+            Node node = root;
+            for (int i = value.length() - 1; i >= 0; i--) {
+                node = node.add(value.charAt(i));
+            }
+            node.ordinal = Math.max(node.ordinal, ending.ordinal());
+        }
+    }
+
+    /**
+     * @param name - the name to match
+     * @return the matching ending with the highest precedence, or null if the name has no corporate ending
+     */
+    CorporateNameEndingsEnum find(String name) {
+        int length = name.length();
+        int best = match(name, root, length - 1, -1);
+        if (length >= 1 && isTerminatorBeforeEnd(name, length - 1)) {
+            best = match(name, root, length - 2, best);
+        }
+        if (length >= 2 && name.charAt(length - 2) == '\r' && name.charAt(length - 1) == '\n') {
+            best = match(name, root, length - 3, best);
+        }
+        return best < 0 ? null : endings[best];
+    }
+
+    /**
+     * Walk back from position, where node has matched the characters after it, keeping the highest ordinal found
+     */
+    private static int match(String name, Node node, int position, int best) {
+        if (position < 0) {
+            return best;
+        }
+        char character = name.charAt(position);
+        if (node.ordinal > best && isWhitespace(character)) {
+            best = node.ordinal;
+        }
+        Node next = node.get(fold(character));
+        if (next != null) {
+            best = match(name, next, position - 1, best);
+        }
+        if (node.any != null && !isLineTerminator(character)) {
+            best = match(name, node.any, position - 1, best);
+        }
+        return best;
+    }
+
+    /**
+     * Whether {@code $} matches before the final character of the name, as it does before a trailing line terminator
+     * other than the '\n' of a trailing "\r\n"
+     */
+    private static boolean isTerminatorBeforeEnd(String name, int position) {
+        char character = name.charAt(position);
+        if (character == '\n') {
+            return position == 0 || name.charAt(position - 1) != '\r';
+        }
+        return character == '\r' || character == '\u0085' || character == '\u2028' || character == '\u2029';
+    }
+
+    private static boolean isLineTerminator(char character) {
+        return character == '\n' || character == '\r' || character == '\u0085'
+                || character == '\u2028' || character == '\u2029';
+    }
+
+    /**
+     * Same characters as {@code \s} without UNICODE_CHARACTER_CLASS
+     */
+    private static boolean isWhitespace(char character) {
+        return character == ' ' || character == '\t' || character == '\n' || character == '\u000B'
+                || character == '\f' || character == '\r';
+    }
+
+    /**
+     * Fold ASCII lower case letters to upper case, as CASE_INSENSITIVE without UNICODE_CASE does
+     */
+    private static char fold(char character) {
+        return character >= 'a' && character <= 'z' ? (char) (character - ('a' - 'A')) : character;
+    }
+
+    private static final class Node {
+
+        private char[] keys = new char[0];
+        private Node[] children = new Node[0];
+        private Node any;
+        private int ordinal = -1;
+
+        private Node get(char key) {
+            for (int i = 0; i < keys.length; i++) {
+                if (keys[i] == key) {
+                    return children[i];
+                }
+            }
+            return null;
+        }
+
+        private Node add(char character) {
+            if (character == ANY_CHARACTER) {
+                if (any == null) {
+                    any = new Node();
+                }
+                return any;
+            }
+            char key = fold(character);
+            Node child = get(key);
+            if (child == null) {
+                child = new Node();
+                keys = Arrays.copyOf(keys, keys.length + 1);
+                children = Arrays.copyOf(children, children.length + 1);
+                keys[keys.length - 1] = key;
+                children[children.length - 1] = child;
+            }
+            return child;
+        }
+    }
+}
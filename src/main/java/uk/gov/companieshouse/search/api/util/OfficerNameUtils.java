@@ -9,20 +9,31 @@ import uk.gov.companieshouse.search.api.model.esdatamodel.CorporateNameEndingsEn
 public class OfficerNameUtils {
 
     private static final List<String> PERSON_TITLES = List.of("sir", "lord", "doctor", "dr");
+    private static final CorporateNameEndingTrie ENDINGS =
+            new CorporateNameEndingTrie(CorporateNameEndingsEnum.values());
+    private static final Pattern LEADING_NON_WORD_CHARACTERS = Pattern.compile("^[\\W_]+");
+
     private OfficerNameUtils() {
     }
 
     public static Pair<String, String> getCorporateNameEndings(String name) {
-        String corporateNameStart = name;
-        String corporateNameEnd = "";
-        for (CorporateNameEndingsEnum ending : CorporateNameEndingsEnum.values()) {
-            Pattern pattern = Pattern.compile("\\s" + ending.getEnding() + "$", Pattern.CASE_INSENSITIVE);
-            if (pattern.matcher(name).find() && ending.getEnding().length() > 0) {
-                corporateNameStart = name.substring(0, name.length() - ending.getEnding().length() - 1);
-                corporateNameEnd = name.substring(name.length() - ending.getEnding().length());
-            }
+        CorporateNameEndingsEnum ending = ENDINGS.find(name);
+        if (ending == null) {
+            return Pair.of(name, "");
         }
-        return Pair.of(corporateNameStart, corporateNameEnd);
+        int endingLength = ending.getEnding().length();
+        return Pair.of(name.substring(0, name.length() - endingLength - 1),
+                name.substring(name.length() - endingLength));
+    }
+
+    /**
+     * Remove leading punctuation, whitespace and underscores from a forename, other forenames or surname
+     *
+     * @param nameElement - the name element, may be null
+     * @return the cleaned name element, or null if it was null
+     */
+    public static String cleanNameElement(String nameElement) {
+        return nameElement == null ? null : LEADING_NON_WORD_CHARACTERS.matcher(nameElement).replaceFirst("");
     }
 
     public static String getPersonTitle(String title) {
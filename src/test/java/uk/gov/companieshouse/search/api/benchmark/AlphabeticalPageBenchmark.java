@@ -0,0 +1,149 @@
+package uk.gov.companieshouse.search.api.benchmark;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import org.apache.lucene.document.Document;
+import org.apache.lucene.document.SortedDocValuesField;
+import org.apache.lucene.index.DirectoryReader;
+import org.apache.lucene.index.IndexWriter;
+import org.apache.lucene.index.IndexWriterConfig;
+import org.apache.lucene.index.NoMergePolicy;
+import org.apache.lucene.search.FieldDoc;
+import org.apache.lucene.search.IndexSearcher;
+import org.apache.lucene.search.MatchAllDocsQuery;
+import org.apache.lucene.search.Sort;
+import org.apache.lucene.search.SortField;
+import org.apache.lucene.search.TopDocs;
+import org.apache.lucene.search.TopFieldCollector;
+import org.apache.lucene.store.ByteBuffersDirectory;
+import org.apache.lucene.store.Directory;
+import org.apache.lucene.util.BytesRef;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Cost on one shard of a page of the alphabetical browse, a match all query sorted on {@code ordered_alpha_key_with_id}
+ * after the key of the top hit, over a synthetic corpus of keys indexed in random order as companies are.
+ *
+ * <p>Each page is collected as Elasticsearch collects it on a shard: {@code trackTotalHits} counts every match, as
+ * the browse did, or stops at the page size, as it does now. {@code indexSorted} compares an index sorted on the key,
+ * as created from {@code elasticsearch/alphabetical-search-template.json}, with an unsorted one. Only an ascending
+ * page of a sorted index without total tracking can stop collecting each segment once it has the page; descending
+ * pages and the keys before the page must still be visited. Run from the IDE or with
+ * {@code mvn test-compile exec:java -Dexec.classpathScope=test
+ * -Dexec.mainClass=uk.gov.companieshouse.search.api.benchmark.AlphabeticalPageBenchmark}.</p>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class AlphabeticalPageBenchmark {
+
+    private static final String ORDERED_ALPHA_KEY_WITH_ID = "ordered_alpha_key_with_id";
+    private static final int PAGE_SIZE = 20;
+    private static final int SEGMENTS = 10;
+
+    @Param({"1000000"})
+    public int companies;
+
+    @Param({"true", "false"})
+    public boolean indexSorted;
+
+    @Param({"true", "false"})
+    public boolean trackTotalHits;
+
+    @Param({"true", "false"})
+    public boolean ascending;
+
+    /**
+     * How far through the alphabet the top hit is
+     */
+    @Param({"0.1", "0.5", "0.9"})
+    public double position;
+
+    private Directory directory;
+    private DirectoryReader reader;
+    private IndexSearcher searcher;
+    private Sort sort;
+    private FieldDoc after;
+
+    @Setup
+    public void setUp() throws IOException {
+        Random random = new Random(42);
+        String[] keys = new String[companies];
+        for (int i = 0; i < companies; i++) {
+            keys[i] = alphaKey(random) + String.format("%08d", i);
+        }
+
+        directory = new ByteBuffersDirectory();
+        IndexWriterConfig config = new IndexWriterConfig()
+                .setMaxBufferedDocs(companies / SEGMENTS + 1)
+                .setRAMBufferSizeMB(IndexWriterConfig.DISABLE_AUTO_FLUSH)
+                .setMergePolicy(NoMergePolicy.INSTANCE);
+        if (indexSorted) {
+            config.setIndexSort(new Sort(new SortField(ORDERED_ALPHA_KEY_WITH_ID, SortField.Type.STRING)));
+        }
+        try (IndexWriter writer = new IndexWriter(directory, config)) {
+            for (String key : keys) {
+                Document document = new Document();
+                document.add(new SortedDocValuesField(ORDERED_ALPHA_KEY_WITH_ID, new BytesRef(key)));
+                writer.addDocument(document);
+            }
+            writer.commit();
+        }
+        reader = DirectoryReader.open(directory);
+        searcher = new IndexSearcher(reader);
+        searcher.setQueryCache(null);
+
+        sort = new Sort(new SortField(ORDERED_ALPHA_KEY_WITH_ID, SortField.Type.STRING, !ascending));
+        Arrays.sort(keys);
+        // as Elasticsearch builds the field doc of search_after
+        after = new FieldDoc(Integer.MAX_VALUE, Float.NaN,
+                new Object[] {new BytesRef(keys[(int) (position * (companies - 1))])});
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        reader.close();
+        directory.close();
+    }
+
+    @Benchmark
+    public TopDocs page() throws IOException {
+        TopFieldCollector collector = TopFieldCollector.create(sort, PAGE_SIZE, after,
+                trackTotalHits ? Integer.MAX_VALUE : PAGE_SIZE);
+        searcher.search(new MatchAllDocsQuery(), collector);
+        return collector.topDocs();
+    }
+
+    private static String alphaKey(Random random) {
+        char[] key = new char[4 + random.nextInt(24)];
+        for (int i = 0; i < key.length; i++) {
+            key[i] = (char) ('A' + random.nextInt(26));
+        }
+        return new String(key);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(AlphabeticalPageBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
@@ -0,0 +1,198 @@
+package uk.gov.companieshouse.search.api.benchmark;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import org.apache.commons.lang3.tuple.Pair;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.core.convert.support.GenericConversionService;
+import uk.gov.companieshouse.api.company.Data;
+import uk.gov.companieshouse.api.company.Links;
+import uk.gov.companieshouse.api.company.PreviousCompanyNames;
+import uk.gov.companieshouse.api.company.RegisteredOfficeAddress;
+import uk.gov.companieshouse.search.api.mapper.CompanySearchAddressConverter;
+import uk.gov.companieshouse.search.api.mapper.CompanySearchDocumentConverter;
+import uk.gov.companieshouse.search.api.mapper.CompanySearchItemConverter;
+import uk.gov.companieshouse.search.api.model.esdatamodel.CompanySearchDocument;
+import uk.gov.companieshouse.search.api.model.esdatamodel.CompanySearchItem;
+import uk.gov.companieshouse.search.api.model.esdatamodel.CompanySearchLinks;
+import uk.gov.companieshouse.search.api.model.esdatamodel.CorporateNameEndingsEnum;
+import uk.gov.companieshouse.search.api.model.response.AlphaKeyResponse;
+import uk.gov.companieshouse.search.api.service.StoredAlphaKeyService;
+
+/**
+ * Throughput of converting a company profile {@link Data} payload into a primary index document, for payloads with
+ * an increasing number of previous names.
+ *
+ * <p>{@code legacyConversion} reproduces the previous pipeline, which rendered the registered office address with a
+ * stream and {@code String.matches} for every item and compiled every corporate name ending pattern for every name,
+ * as the baseline for {@code convert}. Run from the IDE or with {@code mvn test-compile exec:java
+ * -Dexec.classpathScope=test
+ * -Dexec.mainClass=uk.gov.companieshouse.search.api.benchmark.CompanySearchDocumentConverterBenchmark}.</p>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CompanySearchDocumentConverterBenchmark {
+
+    private static final String COMPANY_NUMBER = "00000006";
+    private static final String ALPHA_KEY = "TESTCOMPANYLIMITED";
+
+    @Param({"0", "5", "20"})
+    public int previousNames;
+
+    private CompanySearchDocumentConverter converter;
+    private CompanySearchAddressConverter addressConverter;
+    private Data data;
+
+    @Setup
+    public void setUp() {
+        addressConverter = new CompanySearchAddressConverter();
+        GenericConversionService conversionService = new GenericConversionService();
+        conversionService.addConverter(addressConverter);
+        converter = new CompanySearchDocumentConverter(new CompanySearchItemConverter(conversionService),
+                new FixedAlphaKeyService());
+        data = createData(previousNames);
+    }
+
+    @Benchmark
+    public CompanySearchDocument convert() {
+        return converter.convert(data);
+    }
+
+    @Benchmark
+    public CompanySearchDocument legacyConversion() {
+        List<CompanySearchItem> items = new ArrayList<>();
+        Pair<String, String> nameEndings = legacyCorporateNameEndings(data.getCompanyName());
+        items.add(CompanySearchItem.Builder.builder()
+                .corporateNameStart(nameEndings.getLeft())
+                .corporateNameEnding(nameEndings.getRight())
+                .dateOfCreation(data.getDateOfCreation())
+                .fullAddress(legacyFullAddress(data.getRegisteredOfficeAddress()))
+                .address(addressConverter.convert(data.getRegisteredOfficeAddress()))
+                .companyNumber(data.getCompanyNumber())
+                .sicCodes(data.getSicCodes())
+                .companyStatus(data.getCompanyStatus())
+                .sameAsKey(ALPHA_KEY)
+                .wildcardKey(ALPHA_KEY + "0")
+                .build());
+        items.addAll(data.getPreviousCompanyNames().stream()
+                .map(previousName -> {
+                    Pair<String, String> endings = legacyCorporateNameEndings(previousName.getName());
+                    return CompanySearchItem.Builder.builder()
+                            .corporateNameStart(endings.getLeft())
+                            .corporateNameEnding(endings.getRight())
+                            .dateOfCreation(data.getDateOfCreation())
+                            .fullAddress(legacyFullAddress(data.getRegisteredOfficeAddress()))
+                            .ceasedOn(previousName.getCeasedOn())
+                            .build();
+                })
+                .collect(Collectors.toList()));
+        return CompanySearchDocument.Builder.builder()
+                .items(items)
+                .companyType(data.getType())
+                .sortKey(ALPHA_KEY + "0")
+                .links(new CompanySearchLinks(data.getLinks().getSelf()))
+                .build();
+    }
+
+    private static String legacyFullAddress(RegisteredOfficeAddress address) {
+        String premises = address.getPremises();
+        String addressLine1 = address.getAddressLine1();
+        String premisesLine;
+        if (premises == null || premises.isEmpty()) {
+            premisesLine = addressLine1;
+        } else if (addressLine1 == null || addressLine1.isEmpty()) {
+            premisesLine = premises;
+        } else {
+            premisesLine = premises.matches("^\\d+$") ? premises + " " + addressLine1 : premises + ", " + addressLine1;
+        }
+        return Stream.of(address.getCareOfName(), address.getPoBox(), premisesLine, address.getAddressLine2(),
+                        address.getLocality(), address.getRegion(), address.getCountry(), address.getPostalCode())
+                .filter(element -> element != null && element.length() > 0)
+                .collect(Collectors.joining(", "));
+    }
+
+    private static Pair<String, String> legacyCorporateNameEndings(String name) {
+        String corporateNameStart = name;
+        String corporateNameEnd = "";
+        for (CorporateNameEndingsEnum ending : CorporateNameEndingsEnum.values()) {
+            Pattern pattern = Pattern.compile("\\s" + ending.getEnding() + "$", Pattern.CASE_INSENSITIVE);
+            if (pattern.matcher(name).find() && ending.getEnding().length() > 0) {
+                corporateNameStart = name.substring(0, name.length() - ending.getEnding().length() - 1);
+                corporateNameEnd = name.substring(name.length() - ending.getEnding().length());
+            }
+        }
+        return Pair.of(corporateNameStart, corporateNameEnd);
+    }
+
+    private static Data createData(int previousNames) {
+        List<PreviousCompanyNames> names = new ArrayList<>();
+        for (int i = 0; i < previousNames; i++) {
+            names.add(new PreviousCompanyNames()
+                    .name("PREVIOUS NAME NUMBER " + i + " LIMITED")
+                    .ceasedOn(LocalDate.of(2000, 1, 1).plusYears(i)));
+        }
+        return new Data()
+                .companyName("TEST COMPANY LIMITED")
+                .companyNumber(COMPANY_NUMBER)
+                .companyStatus("active")
+                .type("ltd")
+                .dateOfCreation(LocalDate.of(1990, 1, 1))
+                .sicCodes(List.of("62020", "62090"))
+                .registeredOfficeAddress(new RegisteredOfficeAddress()
+                        .premises("1")
+                        .addressLine1("Crown Way")
+                        .locality("Cardiff")
+                        .postalCode("CF14 3UZ"))
+                .previousCompanyNames(names)
+                .links(new Links().self("/company/" + COMPANY_NUMBER));
+    }
+
+    /**
+     * Returns the same alpha key without calling the alpha key service or Elasticsearch.
+     */
+    private static final class FixedAlphaKeyService extends StoredAlphaKeyService {
+
+        private final AlphaKeyResponse alphaKeyResponse = new AlphaKeyResponse();
+
+        private FixedAlphaKeyService() {
+            super(null, null, null, null, null);
+            alphaKeyResponse.setOrderedAlphaKey(ALPHA_KEY);
+            alphaKeyResponse.setSameAsAlphaKey(ALPHA_KEY);
+        }
+
+        @Override
+        public AlphaKeyResponse getAlphaKey(StoredIndex storedIndex, String companyNumber, String companyName) {
+            return alphaKeyResponse;
+        }
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(CompanySearchDocumentConverterBenchmark.class.getSimpleName())
+                .addProfiler(GCProfiler.class)
+                .build()).run();
+    }
+}
@@ -0,0 +1,91 @@
+package uk.gov.companieshouse.search.api.benchmark;
+
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Pattern;
+import org.apache.commons.lang3.tuple.Pair;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import uk.gov.companieshouse.search.api.model.esdatamodel.CorporateNameEndingsEnum;
+import uk.gov.companieshouse.search.api.util.OfficerNameUtils;
+
+/**
+ * Cost of splitting a name into its corporate name start and ending, for a name with a common ending, a name whose
+ * ending is declared late in {@link CorporateNameEndingsEnum} and a name with no ending.
+ *
+ * <p>{@code compiledPerCall} is the original loop, which compiled a pattern for every ending for every name, and
+ * {@code precompiledPatterns} tests the same patterns compiled once; both are baselines for {@code trie}. Run from the
+ * IDE or with {@code mvn test-compile exec:java -Dexec.classpathScope=test
+ * -Dexec.mainClass=uk.gov.companieshouse.search.api.benchmark.CorporateNameEndingsBenchmark}.</p>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CorporateNameEndingsBenchmark {
+
+    private static final CorporateNameEndingsEnum[] ENDINGS = CorporateNameEndingsEnum.values();
+    private static final Pattern[] ENDING_PATTERNS = new Pattern[ENDINGS.length];
+
+    static {
+        for (int i = 0; i < ENDINGS.length; i++) {
+            ENDING_PATTERNS[i] = Pattern.compile("\\s" + ENDINGS[i].getEnding() + "$", Pattern.CASE_INSENSITIVE);
+        }
+    }
+
+    @Param({"ACME TRADING LIMITED", "Acme Trading Unltd", "ACME TRADING AND SONS"})
+    public String name;
+
+    @Benchmark
+    public Pair<String, String> trie() {
+        return OfficerNameUtils.getCorporateNameEndings(name);
+    }
+
+    @Benchmark
+    public Pair<String, String> precompiledPatterns() {
+        String corporateNameStart = name;
+        String corporateNameEnd = "";
+        for (int i = 0; i < ENDINGS.length; i++) {
+            String ending = ENDINGS[i].getEnding();
+            if (ENDING_PATTERNS[i].matcher(name).find()) {
+                corporateNameStart = name.substring(0, name.length() - ending.length() - 1);
+                corporateNameEnd = name.substring(name.length() - ending.length());
+            }
+        }
+        return Pair.of(corporateNameStart, corporateNameEnd);
+    }
+
+    @Benchmark
+    public Pair<String, String> compiledPerCall() {
+        String corporateNameStart = name;
+        String corporateNameEnd = "";
+        for (CorporateNameEndingsEnum ending : CorporateNameEndingsEnum.values()) {
+            Pattern pattern = Pattern.compile("\\s" + ending.getEnding() + "$", Pattern.CASE_INSENSITIVE);
+            if (pattern.matcher(name).find() && ending.getEnding().length() > 0) {
+                corporateNameStart = name.substring(0, name.length() - ending.getEnding().length() - 1);
+                corporateNameEnd = name.substring(name.length() - ending.getEnding().length());
+            }
+        }
+        return Pair.of(corporateNameStart, corporateNameEnd);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(CorporateNameEndingsBenchmark.class.getSimpleName())
+                .addProfiler(GCProfiler.class)
+                .build()).run();
+    }
+}
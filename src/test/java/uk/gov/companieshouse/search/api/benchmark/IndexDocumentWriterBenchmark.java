@@ -0,0 +1,121 @@
+package uk.gov.companieshouse.search.api.benchmark;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import java.io.IOException;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.elasticsearch.action.index.IndexRequest;
+import org.elasticsearch.action.update.UpdateRequest;
+import org.elasticsearch.common.xcontent.XContentType;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import uk.gov.companieshouse.search.api.elasticsearch.IndexDocumentWriter;
+import uk.gov.companieshouse.search.api.model.esdatamodel.CompanySearchAddress;
+import uk.gov.companieshouse.search.api.model.esdatamodel.CompanySearchDocument;
+import uk.gov.companieshouse.search.api.model.esdatamodel.CompanySearchItem;
+import uk.gov.companieshouse.search.api.model.esdatamodel.CompanySearchLinks;
+
+/**
+ * Compares the CPU time and allocation per document of building a primary index update request via an intermediate
+ * JSON string against writing the document straight to bytes with {@link IndexDocumentWriter}.
+ *
+ * <p>Run from the IDE or with {@code mvn test-compile exec:java -Dexec.classpathScope=test
+ * -Dexec.mainClass=uk.gov.companieshouse.search.api.benchmark.IndexDocumentWriterBenchmark}; compare the
+ * {@code gc.alloc.rate.norm} column for bytes allocated per document.</p>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class IndexDocumentWriterBenchmark {
+
+    private static final String INDEX = "primary_search";
+    private static final String TYPE = "primary_search";
+    private static final String COMPANY_NUMBER = "00000006";
+
+    private ObjectMapper mapper;
+    private IndexDocumentWriter documentWriter;
+    private CompanySearchDocument document;
+
+    @Setup
+    public void setUp() {
+        mapper = new ObjectMapper()
+                .setSerializationInclusion(JsonInclude.Include.NON_NULL)
+                .registerModule(new JavaTimeModule())
+                .configure(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS, false);
+        documentWriter = new IndexDocumentWriter(mapper);
+        document = createDocument();
+    }
+
+    @Benchmark
+    public UpdateRequest writeValueAsString() throws IOException {
+        String jsonString = mapper.writeValueAsString(document);
+        return new UpdateRequest(INDEX, TYPE, COMPANY_NUMBER)
+                .docAsUpsert(true).doc(jsonString, XContentType.JSON);
+    }
+
+    @Benchmark
+    public UpdateRequest indexDocumentWriter() throws IOException {
+        IndexRequest source = new IndexRequest().source(documentWriter.write(document), XContentType.JSON);
+        return new UpdateRequest(INDEX, TYPE, COMPANY_NUMBER)
+                .docAsUpsert(true).doc(source);
+    }
+
+    private static CompanySearchDocument createDocument() {
+        List<CompanySearchItem> items = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            items.add(CompanySearchItem.Builder.builder()
+                    .companyNumber(COMPANY_NUMBER)
+                    .corporateNameStart("PREVIOUS NAME NUMBER " + i)
+                    .corporateNameEnding("LIMITED")
+                    .recordType(i == 0 ? "currentname" : "previousname")
+                    .companyStatus("active")
+                    .dateOfCreation(LocalDate.of(1990, 1, 1))
+                    .ceasedOn(i == 0 ? null : LocalDate.of(2000 + i, 1, 1))
+                    .sicCodes(List.of("62020", "62090"))
+                    .fullAddress("1 Crown Way, Cardiff, CF14 3UZ")
+                    .address(CompanySearchAddress.Builder.builder()
+                            .premises("1")
+                            .addressLine1("Crown Way")
+                            .locality("Cardiff")
+                            .postalCode("CF14 3UZ")
+                            .build())
+                    .sameAsKey("PREVIOUSNAMENUMBER" + i)
+                    .wildcardKey("PREVIOUSNAMENUMBER" + i)
+                    .build());
+        }
+        return CompanySearchDocument.Builder.builder()
+                .items(items)
+                .companyType("ltd")
+                .kind(CompanySearchDocument.RESOURCE_KIND)
+                .links(new CompanySearchLinks("/company/" + COMPANY_NUMBER))
+                .sortKey("PREVIOUSNAMENUMBER00")
+                .build();
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(IndexDocumentWriterBenchmark.class.getSimpleName())
+                .addProfiler(GCProfiler.class)
+                .build()).run();
+    }
+}
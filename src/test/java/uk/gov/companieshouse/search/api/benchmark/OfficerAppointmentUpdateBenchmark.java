@@ -0,0 +1,157 @@
+package uk.gov.companieshouse.search.api.benchmark;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import java.io.IOException;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.elasticsearch.action.update.UpdateRequest;
+import org.elasticsearch.common.bytes.BytesReference;
+import org.elasticsearch.common.xcontent.ToXContent;
+import org.elasticsearch.common.xcontent.XContentFactory;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.core.convert.support.GenericConversionService;
+import uk.gov.companieshouse.api.officer.AppointmentList;
+import uk.gov.companieshouse.search.api.elasticsearch.IndexDocumentWriter;
+import uk.gov.companieshouse.search.api.exception.UpsertException;
+import uk.gov.companieshouse.search.api.mapper.AppointmentAddressConverter;
+import uk.gov.companieshouse.search.api.mapper.OfficerAppointmentSummaryConverter;
+import uk.gov.companieshouse.search.api.mapper.OfficerSearchDocumentStreamingConverter;
+import uk.gov.companieshouse.search.api.model.esdatamodel.AppointmentAddress;
+import uk.gov.companieshouse.search.api.model.esdatamodel.OfficerSearchAppointment;
+import uk.gov.companieshouse.search.api.model.esdatamodel.OfficerSearchDocument;
+import uk.gov.companieshouse.search.api.model.esdatamodel.OfficerSearchLinks;
+import uk.gov.companieshouse.search.api.service.upsert.officers.OfficersUpsertRequestService;
+import uk.gov.companieshouse.search.api.util.AlphaKeyMapper;
+import uk.gov.companieshouse.search.api.util.ConfiguredIndexNamesProvider;
+
+/**
+ * Compares building the whole-document update for an officer with many appointments against the scripted update
+ * that adds or replaces a single appointment.
+ *
+ * <p>Run from the IDE or with {@code mvn test-compile exec:java -Dexec.classpathScope=test
+ * -Dexec.mainClass=uk.gov.companieshouse.search.api.benchmark.OfficerAppointmentUpdateBenchmark}. Before the
+ * benchmarks run, the request body bytes sent to Elasticsearch for each appointment count are printed; the
+ * benchmarks give the CPU time and allocation of building each request.</p>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class OfficerAppointmentUpdateBenchmark {
+
+    private static final String INDEX = "primary_search";
+    private static final String OFFICER_ID = "officerId";
+    private static final String APPOINTMENT_ID = "appointmentId";
+
+    @Param({"10", "100", "1000", "5000"})
+    public int appointments;
+
+    private OfficersUpsertRequestService fullDocumentService;
+    private OfficersUpsertRequestService singleAppointmentService;
+    private AppointmentList appointmentList;
+
+    @Setup
+    public void setUp() {
+        fullDocumentService = createService(appointments);
+        singleAppointmentService = createService(1);
+        appointmentList = OfficerDocumentStreamingBenchmark.createAppointmentList(appointments);
+    }
+
+    @Benchmark
+    public UpdateRequest fullDocument() throws UpsertException {
+        return fullDocumentService.createUpdateRequest(appointmentList, OFFICER_ID);
+    }
+
+    @Benchmark
+    public UpdateRequest singleAppointment() throws UpsertException {
+        return singleAppointmentService.createAppointmentUpsertRequest(appointmentList, OFFICER_ID, APPOINTMENT_ID);
+    }
+
+    private static OfficersUpsertRequestService createService(int appointments) {
+        ObjectMapper mapper = new ObjectMapper()
+                .setSerializationInclusion(JsonInclude.Include.NON_NULL)
+                .registerModule(new JavaTimeModule())
+                .configure(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS, false);
+        GenericConversionService conversionService = new GenericConversionService();
+        conversionService.addConverter(AppointmentList.class, OfficerSearchDocument.class,
+                appointmentList -> createDocument(appointments));
+        ConfiguredIndexNamesProvider indices = new ConfiguredIndexNamesProvider(null) {
+            @Override
+            public String primary() {
+                return INDEX;
+            }
+        };
+        OfficerSearchDocumentStreamingConverter streamingConverter = new OfficerSearchDocumentStreamingConverter(
+                new OfficerAppointmentSummaryConverter(), new AppointmentAddressConverter(), new AlphaKeyMapper(),
+                mapper);
+        return new OfficersUpsertRequestService(conversionService, streamingConverter, new IndexDocumentWriter(mapper),
+                indices, mapper);
+    }
+
+    private static OfficerSearchDocument createDocument(int appointments) {
+        List<OfficerSearchAppointment> items = new ArrayList<>();
+        for (int i = 0; i < appointments; i++) {
+            items.add(new OfficerSearchAppointment()
+                    .officerRole("director")
+                    .fullAddress(i + " Crown Way, Cardiff, CF14 3UZ")
+                    .appointedOn(LocalDate.of(2000, 1, 1).plusDays(i))
+                    .corporateNameStart("CORPORATE SECRETARIES")
+                    .corporateNameEnding("LIMITED"));
+        }
+        items.get(0)
+                .address(AppointmentAddress.Builder.builder()
+                        .premises("1")
+                        .addressLine1("Crown Way")
+                        .locality("Cardiff")
+                        .postalCode("CF14 3UZ")
+                        .build())
+                .wildcardKey("CORPORATESECRETARIES");
+        return OfficerSearchDocument.Builder.builder()
+                .activeCount(appointments)
+                .items(items)
+                .links(new OfficerSearchLinks("/officers/" + OFFICER_ID + "/appointments"))
+                .sortKey("CORPORATESECRETARIES0")
+                .build();
+    }
+
+    private static int requestBytes(UpdateRequest request) throws IOException {
+        return BytesReference.bytes(request.toXContent(XContentFactory.jsonBuilder(), ToXContent.EMPTY_PARAMS))
+                .length();
+    }
+
+    public static void main(String[] args) throws RunnerException, IOException {
+        for (int appointments : new int[]{10, 100, 1000, 5000}) {
+            AppointmentList appointmentList = OfficerDocumentStreamingBenchmark.createAppointmentList(appointments);
+            int full = requestBytes(createService(appointments).createUpdateRequest(appointmentList, OFFICER_ID));
+            int single = requestBytes(createService(1)
+                    .createAppointmentUpsertRequest(appointmentList, OFFICER_ID, APPOINTMENT_ID));
+            System.out.printf("%d appointments: full document %d bytes, single appointment %d bytes%n",
+                    appointments, full, single);
+        }
+        new Runner(new OptionsBuilder()
+                .include(OfficerAppointmentUpdateBenchmark.class.getSimpleName())
+                .addProfiler(GCProfiler.class)
+                .build()).run();
+    }
+}
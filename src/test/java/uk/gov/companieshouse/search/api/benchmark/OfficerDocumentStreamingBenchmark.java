@@ -0,0 +1,127 @@
+package uk.gov.companieshouse.search.api.benchmark;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import java.io.IOException;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.elasticsearch.common.bytes.BytesReference;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.core.convert.support.GenericConversionService;
+import uk.gov.companieshouse.api.officer.Address;
+import uk.gov.companieshouse.api.officer.AppointmentList;
+import uk.gov.companieshouse.api.officer.NameElements;
+import uk.gov.companieshouse.api.officer.OfficerAppointmentSummary;
+import uk.gov.companieshouse.api.officer.OfficerAppointmentSummary.OfficerRoleEnum;
+import uk.gov.companieshouse.api.officer.OfficerLinkTypes;
+import uk.gov.companieshouse.search.api.elasticsearch.IndexDocumentWriter;
+import uk.gov.companieshouse.search.api.mapper.AppointmentAddressConverter;
+import uk.gov.companieshouse.search.api.mapper.OfficerAppointmentSummaryConverter;
+import uk.gov.companieshouse.search.api.mapper.OfficerAppointmentsListConverter;
+import uk.gov.companieshouse.search.api.mapper.OfficerSearchDocumentStreamingConverter;
+import uk.gov.companieshouse.search.api.util.AlphaKeyMapper;
+
+/**
+ * Compares converting an officer's appointment list to the bytes of their primary index document by building the
+ * whole {@link uk.gov.companieshouse.search.api.model.esdatamodel.OfficerSearchDocument} and serialising it, against
+ * streaming each appointment straight to JSON.
+ *
+ * <p>Run from the IDE or with {@code mvn test-compile exec:java -Dexec.classpathScope=test
+ * -Dexec.mainClass=uk.gov.companieshouse.search.api.benchmark.OfficerDocumentStreamingBenchmark}. The GC profiler
+ * reports the bytes allocated per conversion.</p>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class OfficerDocumentStreamingBenchmark {
+
+    @Param({"10", "1000", "10000"})
+    public int appointments;
+
+    private OfficerAppointmentsListConverter listConverter;
+    private IndexDocumentWriter documentWriter;
+    private OfficerSearchDocumentStreamingConverter streamingConverter;
+    private AppointmentList appointmentList;
+
+    @Setup
+    public void setUp() {
+        ObjectMapper mapper = new ObjectMapper()
+                .setSerializationInclusion(JsonInclude.Include.NON_NULL)
+                .registerModule(new JavaTimeModule())
+                .configure(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS, false);
+        OfficerAppointmentSummaryConverter summaryConverter = new OfficerAppointmentSummaryConverter();
+        AppointmentAddressConverter addressConverter = new AppointmentAddressConverter();
+        GenericConversionService conversionService = new GenericConversionService();
+        conversionService.addConverter(summaryConverter);
+        conversionService.addConverter(addressConverter);
+        listConverter = new OfficerAppointmentsListConverter(conversionService, conversionService,
+                new AlphaKeyMapper());
+        documentWriter = new IndexDocumentWriter(mapper);
+        streamingConverter = new OfficerSearchDocumentStreamingConverter(summaryConverter, addressConverter,
+                new AlphaKeyMapper(), mapper);
+        appointmentList = createAppointmentList(appointments);
+    }
+
+    @Benchmark
+    public BytesReference convertAndWrite() throws IOException {
+        return documentWriter.write(listConverter.convert(appointmentList));
+    }
+
+    @Benchmark
+    public BytesReference stream() throws IOException {
+        return streamingConverter.convert(appointmentList);
+    }
+
+    static AppointmentList createAppointmentList(int appointments) {
+        List<OfficerAppointmentSummary> items = new ArrayList<>();
+        for (int i = 0; i < appointments; i++) {
+            items.add(new OfficerAppointmentSummary()
+                    .officerRole(OfficerRoleEnum.DIRECTOR)
+                    .appointedOn(LocalDate.of(2000, 1, 1).plusDays(i))
+                    .name("Forename Surname")
+                    .address(new Address()
+                            .premises(String.valueOf(i))
+                            .addressLine1("Crown Way")
+                            .locality("Cardiff")
+                            .postalCode("CF14 3UZ"))
+                    .nameElements(new NameElements()
+                            .forename("Forename")
+                            .surname("Surname")));
+        }
+        return new AppointmentList()
+                .isCorporateOfficer(false)
+                .activeCount(appointments)
+                .inactiveCount(0)
+                .resignedCount(0)
+                .links(new OfficerLinkTypes().self("/officers/officerId/appointments"))
+                .items(items);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(OfficerDocumentStreamingBenchmark.class.getSimpleName())
+                .addProfiler(GCProfiler.class)
+                .build()).run();
+    }
+}
@@ -0,0 +1,123 @@
+package uk.gov.companieshouse.search.api.config;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import org.apache.http.HttpHost;
+import org.elasticsearch.client.Node;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import uk.gov.companieshouse.environment.EnvironmentReader;
+import uk.gov.companieshouse.search.api.config.ElasticSearchClientSettings.NodeSelection;
+import uk.gov.companieshouse.search.api.exception.EndpointException;
+
+@ExtendWith(MockitoExtension.class)
+class ElasticSearchClientSettingsTest {
+
+    @Mock
+    private EnvironmentReader environmentReader;
+
+    @Test
+    @DisplayName("A client's own setting is used before the setting every client shares and the default")
+    void readsClientSettingBeforeSharedSetting() {
+        when(environmentReader.getOptionalInteger(anyString())).thenReturn(null);
+        when(environmentReader.getOptionalInteger("PRIMARY_SEARCH_CLIENT_MAX_CONNECTIONS")).thenReturn(200);
+        when(environmentReader.getOptionalInteger("SEARCH_CLIENT_SOCKET_TIMEOUT_MILLIS")).thenReturn(5000);
+
+        ElasticSearchClientSettings settings = ElasticSearchClientSettings.read(environmentReader, "PRIMARY");
+
+        assertEquals(200, settings.getMaxConnections());
+        assertEquals(5000, settings.getSocketTimeoutMillis());
+        assertEquals(100, settings.getMaxConnectionsPerRoute());
+        assertEquals(60, settings.getKeepAliveSeconds());
+        assertEquals(1000, settings.getConnectTimeoutMillis());
+        assertEquals(1000, settings.getLeaseTimeoutMillis());
+        assertEquals(Runtime.getRuntime().availableProcessors(), settings.getIoThreads());
+        verify(environmentReader, never()).getOptionalInteger("SEARCH_CLIENT_MAX_CONNECTIONS");
+    }
+
+    @Test
+    @DisplayName("A setting that is not positive is taken as not set")
+    void ignoresSettingsThatAreNotPositive() {
+        when(environmentReader.getOptionalInteger(anyString())).thenReturn(0);
+        when(environmentReader.getOptionalInteger("SEARCH_CLIENT_SOCKET_TIMEOUT_MILLIS")).thenReturn(5000);
+
+        ElasticSearchClientSettings settings = ElasticSearchClientSettings.read(environmentReader, "PRIMARY");
+
+        assertEquals(5000, settings.getSocketTimeoutMillis());
+        assertEquals(100, settings.getMaxConnections());
+        assertEquals(Runtime.getRuntime().availableProcessors(), settings.getIoThreads());
+        assertEquals(0, settings.getSniffIntervalSeconds());
+    }
+
+    @Test
+    @DisplayName("A pool shared by clients takes the larger pool sizes and longer timeouts of their settings")
+    void mergesSharedPoolSettings() {
+        ElasticSearchClientSettings merged = new ElasticSearchClientSettings(200, 20, 2, 30, 500, 60000, 100,
+                NodeSelection.DATA, 0, 60)
+                .merge(new ElasticSearchClientSettings(100, 50, 4, 90, 1000, 30000, 200,
+                        NodeSelection.SKIP_DEDICATED_MASTERS, 300, 30));
+
+        assertEquals(200, merged.getMaxConnections());
+        assertEquals(50, merged.getMaxConnectionsPerRoute());
+        assertEquals(4, merged.getIoThreads());
+        assertEquals(90, merged.getKeepAliveSeconds());
+        assertEquals(1000, merged.getConnectTimeoutMillis());
+        assertEquals(60000, merged.getSocketTimeoutMillis());
+        assertEquals(200, merged.getLeaseTimeoutMillis());
+        assertEquals(NodeSelection.SKIP_DEDICATED_MASTERS, merged.getNodeSelection());
+        assertEquals(300, merged.getSniffIntervalSeconds());
+        assertEquals(30, merged.getSniffAfterFailureSeconds());
+    }
+
+    @Test
+    @DisplayName("A client's node selector is read case insensitively and sniffing is off by default")
+    void readsNodeSelection() {
+        when(environmentReader.getOptionalInteger(anyString())).thenReturn(null);
+        when(environmentReader.getOptionalString(anyString())).thenReturn(null);
+        when(environmentReader.getOptionalString("SEARCH_CLIENT_NODE_SELECTOR")).thenReturn("skip_dedicated_masters");
+
+        ElasticSearchClientSettings settings = ElasticSearchClientSettings.read(environmentReader, "ADVANCED");
+
+        assertEquals(NodeSelection.SKIP_DEDICATED_MASTERS, settings.getNodeSelection());
+        assertEquals(0, settings.getSniffIntervalSeconds());
+        assertEquals(60, settings.getSniffAfterFailureSeconds());
+    }
+
+    @Test
+    @DisplayName("An unknown node selector is refused")
+    void refusesUnknownNodeSelection() {
+        when(environmentReader.getOptionalInteger(anyString())).thenReturn(null);
+        when(environmentReader.getOptionalString("PRIMARY_SEARCH_CLIENT_NODE_SELECTOR")).thenReturn("nearest");
+
+        assertThrows(EndpointException.class, () -> ElasticSearchClientSettings.read(environmentReader, "PRIMARY"));
+    }
+
+    @Test
+    @DisplayName("The data node selector drops sniffed nodes that hold no data but keeps configured hosts")
+    void dataNodeSelectorKeepsDataNodes() {
+        Node configured = new Node(new HttpHost("es-1", 9200));
+        Node master = node("es-2", new Node.Roles(true, false, false));
+        Node data = node("es-3", new Node.Roles(false, true, false));
+        List<Node> nodes = new ArrayList<>(List.of(configured, master, data));
+
+        NodeSelection.DATA.getNodeSelector().select(nodes);
+
+        assertEquals(List.of(configured, data), nodes);
+    }
+
+    private static Node node(String host, Node.Roles roles) {
+        return new Node(new HttpHost(host, 9200), Set.of(), host, "7.4.0", roles, Map.of());
+    }
+}
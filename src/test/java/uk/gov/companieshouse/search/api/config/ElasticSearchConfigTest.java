@@ -1,5 +1,7 @@
 package uk.gov.companieshouse.search.api.config;
 
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.elasticsearch.client.Node;
 import org.elasticsearch.client.RestHighLevelClient;
 import org.junit.jupiter.api.DisplayName;
@@ -8,9 +10,11 @@ import org.junit.jupiter.api.TestInstance;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 import uk.gov.companieshouse.environment.EnvironmentReader;
 import uk.gov.companieshouse.search.api.exception.EndpointException;
+import uk.gov.companieshouse.search.api.service.rest.Workload;
 
 import java.util.List;
 
@@ -28,6 +32,9 @@ class ElasticSearchConfigTest {
     @Mock
     private EnvironmentReader mockEnvironmentReader;
 
+    @Spy
+    private MeterRegistry meterRegistry = new SimpleMeterRegistry();
+
     private static final String ENV_READER_RESULT_ALPHABETICAL = "https://cluster-alphabetical.url.com";
     private static final String ENV_READER_RESULT_DISSOLVED = "https://cluster-dissolved.url.com";
     private static final String ENV_READER_RESULT_ADVANCED = "https://cluster-advanced.url.com";
@@ -112,4 +119,96 @@ class ElasticSearchConfigTest {
         assertThrows(EndpointException.class, () ->
                 elasticSearchConfig.createClient("test"));
     }
-}
\ No newline at end of file
+
+    @Test
+    @DisplayName("Test clients pointing at the same url share one client and connection pool")
+    void clientsWithSameUrlSharePool() throws Exception {
+
+        when(mockEnvironmentReader.getMandatoryString("ELASTIC_SEARCH_URL")).thenReturn("https://shared.url.com");
+        when(mockEnvironmentReader.getMandatoryString("DISSOLVED_SEARCH_URL")).thenReturn("https://shared.url.com");
+        when(mockEnvironmentReader.getMandatoryString("ADVANCED_SEARCH_URL")).thenReturn("https://own.url.com");
+        when(mockEnvironmentReader.getMandatoryString("PRIMARY_SEARCH_URL")).thenReturn("https://own.url.com:9243");
+
+        RestHighLevelClient alphabeticalClient = elasticSearchConfig.alphabeticalRestClient();
+        RestHighLevelClient dissolvedClient = elasticSearchConfig.dissolvedRestClient();
+        RestHighLevelClient advancedClient = elasticSearchConfig.advancedRestClient();
+        RestHighLevelClient primaryClient = elasticSearchConfig.primaryClient();
+
+        assertSame(alphabeticalClient, dissolvedClient);
+        assertNotSame(alphabeticalClient, advancedClient);
+        assertNotSame(advancedClient, primaryClient);
+        assertEquals(0.0, meterRegistry.get("search.elasticsearch.pool.connections")
+                .tag("pool", "https://shared.url.com").tag("state", "leased").gauge().value());
+        assertEquals(0.0, meterRegistry.get("search.elasticsearch.pool.saturation")
+                .tag("pool", "https://own.url.com:9243").gauge().value());
+
+        alphabeticalClient.close();
+        advancedClient.close();
+        primaryClient.close();
+    }
+
+    @Test
+    @DisplayName("Test reads and writes to the same url have their own clients and connection pools")
+    void readsAndWritesHaveOwnPools() throws Exception {
+
+        when(mockEnvironmentReader.getMandatoryString(anyString())).thenReturn("https://read-write.url.com");
+        when(mockEnvironmentReader.getOptionalInteger(anyString())).thenReturn(null);
+        when(mockEnvironmentReader.getOptionalInteger("PRIMARY_SEARCH_CLIENT_WRITE_MAX_CONNECTIONS")).thenReturn(10);
+
+        RestHighLevelClient primaryClient = elasticSearchConfig.primaryClient();
+        RestHighLevelClient primaryWriteClient = elasticSearchConfig.primaryWriteClient();
+
+        assertNotSame(primaryClient, primaryWriteClient);
+        assertSame(primaryWriteClient, elasticSearchConfig.createClient("PRIMARY_SEARCH_URL", Workload.WRITE));
+        assertEquals(0.0, meterRegistry.get("search.elasticsearch.pool.saturation")
+                .tag("pool", "https://read-write.url.com").tag("workload", "read").gauge().value());
+        assertEquals(0.0, meterRegistry.get("search.elasticsearch.pool.saturation")
+                .tag("pool", "https://read-write.url.com").tag("workload", "write").gauge().value());
+
+        primaryClient.close();
+        primaryWriteClient.close();
+    }
+
+    @Test
+    @DisplayName("Test writes go to the write url of a client when one is set")
+    void writesGoToWriteUrl() throws Exception {
+
+        when(mockEnvironmentReader.getMandatoryString(anyString())).thenReturn("https://other.url.com");
+        when(mockEnvironmentReader.getMandatoryString("DISSOLVED_SEARCH_URL")).thenReturn("https://follower.url.com");
+        when(mockEnvironmentReader.getOptionalString(anyString())).thenReturn(null);
+        when(mockEnvironmentReader.getOptionalString("DISSOLVED_SEARCH_WRITE_URL"))
+                .thenReturn("https://leader.url.com");
+        when(mockEnvironmentReader.getMandatoryString("DISSOLVED_SEARCH_WRITE_URL"))
+                .thenReturn("https://leader.url.com");
+
+        RestHighLevelClient dissolvedClient = elasticSearchConfig.dissolvedRestClient();
+        RestHighLevelClient dissolvedWriteClient = elasticSearchConfig.dissolvedWriteClient();
+
+        assertEquals("https://follower.url.com",
+                dissolvedClient.getLowLevelClient().getNodes().get(0).getHost().toString());
+        assertEquals("https://leader.url.com",
+                dissolvedWriteClient.getLowLevelClient().getNodes().get(0).getHost().toString());
+
+        dissolvedClient.close();
+        dissolvedWriteClient.close();
+    }
+
+    @Test
+    @DisplayName("Test a client is created with each node of a comma separated list of urls")
+    void clientWithEachNode() throws Exception {
+
+        when(mockEnvironmentReader.getMandatoryString(anyString()))
+                .thenReturn("https://node-1.url.com:9200, https://node-2.url.com:9200");
+        when(mockEnvironmentReader.getOptionalInteger(anyString())).thenReturn(null);
+        when(mockEnvironmentReader.getOptionalInteger("PRIMARY_SEARCH_CLIENT_SNIFF_INTERVAL_SECONDS")).thenReturn(300);
+
+        RestHighLevelClient restHighLevelClient = elasticSearchConfig.primaryClient();
+
+        List<Node> nodes = restHighLevelClient.getLowLevelClient().getNodes();
+        assertEquals(2, nodes.size());
+        assertEquals("https://node-1.url.com:9200", nodes.get(0).getHost().toString());
+        assertEquals("https://node-2.url.com:9200", nodes.get(1).getHost().toString());
+
+        restHighLevelClient.close();
+    }
+}
@@ -11,6 +11,7 @@ import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
+import static java.util.concurrent.CompletableFuture.completedFuture;
 import static org.hamcrest.Matchers.containsString;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.when;
@@ -64,6 +65,22 @@ class AdvancedSearchControllerCORSTest {
     @Qualifier("primaryClient")
     private RestHighLevelClient primaryClient;
 
+    @MockBean
+    @Qualifier("advancedWriteClient")
+    private RestHighLevelClient advancedWriteClient;
+
+    @MockBean
+    @Qualifier("alphabeticalWriteClient")
+    private RestHighLevelClient alphabeticalWriteClient;
+
+    @MockBean
+    @Qualifier("dissolvedWriteClient")
+    private RestHighLevelClient dissolvedWriteClient;
+
+    @MockBean
+    @Qualifier("primaryWriteClient")
+    private RestHighLevelClient primaryWriteClient;
+
     // Injected services
 
     @MockBean
@@ -106,6 +123,8 @@ class AdvancedSearchControllerCORSTest {
     @Test
     void getAdvancedSearchCORS() throws Exception {
 
+        when(searchIndexService.searchAdvanced(any(), any())).thenReturn(completedFuture(null));
+
         mockMvc.perform(get(GET_ADVANCED_SEARCH)
                         .header("Origin", "")
                         .header("ERIC-Allowed-Origin", "some-origin")
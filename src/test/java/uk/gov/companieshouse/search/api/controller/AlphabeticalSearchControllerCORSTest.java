@@ -11,6 +11,7 @@ import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
+import static java.util.concurrent.CompletableFuture.completedFuture;
 import static org.hamcrest.Matchers.containsString;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.when;
@@ -63,6 +64,22 @@ class AlphabeticalSearchControllerCORSTest {
     @Qualifier("primaryClient")
     private RestHighLevelClient primaryClient;
 
+    @MockBean
+    @Qualifier("advancedWriteClient")
+    private RestHighLevelClient advancedWriteClient;
+
+    @MockBean
+    @Qualifier("alphabeticalWriteClient")
+    private RestHighLevelClient alphabeticalWriteClient;
+
+    @MockBean
+    @Qualifier("dissolvedWriteClient")
+    private RestHighLevelClient dissolvedWriteClient;
+
+    @MockBean
+    @Qualifier("primaryWriteClient")
+    private RestHighLevelClient primaryWriteClient;
+
     // Injected services
 
     @MockBean
@@ -102,6 +119,8 @@ class AlphabeticalSearchControllerCORSTest {
     @Test
     void getAlphabeticalSearchCORS() throws Exception {
 
+        when(searchIndexService.search(any(), any(), any(), any(), any())).thenReturn(completedFuture(null));
+
         mockMvc.perform(get(GET_ALPHABETICAL_SEARCH)
                         .header("Origin", "")
                         .header("ERIC-Allowed-Origin", "some-origin")
@@ -1,5 +1,6 @@
 package uk.gov.companieshouse.search.api.controller;
 
+import static java.util.concurrent.CompletableFuture.completedFuture;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.mockito.ArgumentMatchers.any;
@@ -84,14 +85,15 @@ class AlphabeticalSearchControllerTest {
         ResponseObject responseObject =
             new ResponseObject(SEARCH_NOT_FOUND, null);
 
-        when(mockSearchIndexService.search(COMPANY_NAME, null, null, 20, REQUEST_ID)).thenReturn(responseObject);
+        when(mockSearchIndexService.search(COMPANY_NAME, null, null, 20, REQUEST_ID))
+                .thenReturn(completedFuture(responseObject));
         when(mockApiToResponseMapper.map(responseObject))
             .thenReturn(ResponseEntity.status(NOT_FOUND).build());
         doReturn(50).when(mockEnvironmentReader).getMandatoryInteger(MAX_SIZE_PARAM);
         doReturn(20).when(mockEnvironmentReader).getMandatoryInteger(ALPHABETICAL_SEARCH_RESULT_MAX);
 
         ResponseEntity<?> responseEntity =
-            alphabeticalSearchController.searchByCorporateName("test name", null, null, 20, REQUEST_ID);
+            alphabeticalSearchController.searchByCorporateName("test name", null, null, 20, REQUEST_ID).join();
 
         assertNotNull(responseEntity);
         assertEquals(NOT_FOUND, responseEntity.getStatusCode());
@@ -104,14 +106,15 @@ class AlphabeticalSearchControllerTest {
         ResponseObject responseObject =
             new ResponseObject(SEARCH_FOUND, createSearchResults());
 
-        when(mockSearchIndexService.search(COMPANY_NAME, null, null, 20, REQUEST_ID)).thenReturn(responseObject);
+        when(mockSearchIndexService.search(COMPANY_NAME, null, null, 20, REQUEST_ID))
+                .thenReturn(completedFuture(responseObject));
         when(mockApiToResponseMapper.map(responseObject))
             .thenReturn(ResponseEntity.status(FOUND).body(responseObject.getData()));
         doReturn(50).when(mockEnvironmentReader).getMandatoryInteger(MAX_SIZE_PARAM);
         doReturn(20).when(mockEnvironmentReader).getMandatoryInteger(ALPHABETICAL_SEARCH_RESULT_MAX);
 
         ResponseEntity<?> responseEntity =
-            alphabeticalSearchController.searchByCorporateName("test name", null, null, 20, REQUEST_ID);
+            alphabeticalSearchController.searchByCorporateName("test name", null, null, 20, REQUEST_ID).join();
 
         assertNotNull(responseEntity);
         assertEquals(FOUND, responseEntity.getStatusCode());
@@ -127,12 +130,13 @@ class AlphabeticalSearchControllerTest {
         doReturn(50).when(mockEnvironmentReader).getMandatoryInteger(MAX_SIZE_PARAM);
         doReturn(20).when(mockEnvironmentReader).getMandatoryInteger(ALPHABETICAL_SEARCH_RESULT_MAX);
 
-        when(mockSearchIndexService.search(COMPANY_NAME, null, null, 20, REQUEST_ID)).thenReturn(responseObject);
+        when(mockSearchIndexService.search(COMPANY_NAME, null, null, 20, REQUEST_ID))
+                .thenReturn(completedFuture(responseObject));
         when(mockApiToResponseMapper.map(responseObject))
             .thenReturn(ResponseEntity.status(FOUND).body(responseObject.getData()));
 
         ResponseEntity<?> responseEntity =
-            alphabeticalSearchController.searchByCorporateName("test name", null, null, null, REQUEST_ID);
+            alphabeticalSearchController.searchByCorporateName("test name", null, null, null, REQUEST_ID).join();
 
         assertNotNull(responseEntity);
         assertEquals(FOUND, responseEntity.getStatusCode());
@@ -347,6 +351,6 @@ class AlphabeticalSearchControllerTest {
         when(mockApiToResponseMapper.map(responseObjectCaptor.capture()))
             .thenReturn(ResponseEntity.status(UNPROCESSABLE_ENTITY).build());
 
-       return alphabeticalSearchController.searchByCorporateName("test name", null, null, size, REQUEST_ID);
+       return alphabeticalSearchController.searchByCorporateName("test name", null, null, size, REQUEST_ID).join();
     }
 }
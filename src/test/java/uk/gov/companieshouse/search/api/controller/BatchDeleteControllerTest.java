@@ -0,0 +1,103 @@
+package uk.gov.companieshouse.search.api.controller;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.springframework.http.HttpStatus.BAD_REQUEST;
+import static org.springframework.http.HttpStatus.OK;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+import static uk.gov.companieshouse.search.api.model.response.ResponseStatus.DELETE_REQUEST_ERROR;
+import static uk.gov.companieshouse.search.api.model.response.ResponseStatus.DOCUMENT_DELETED;
+
+import java.util.List;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Captor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import uk.gov.companieshouse.search.api.mapper.ApiToResponseMapper;
+import uk.gov.companieshouse.search.api.model.BatchDeleteRequest;
+import uk.gov.companieshouse.search.api.model.response.BatchDeleteResults;
+import uk.gov.companieshouse.search.api.model.response.ResponseObject;
+import uk.gov.companieshouse.search.api.service.delete.batch.BatchDeleteService;
+
+@ExtendWith(MockitoExtension.class)
+class BatchDeleteControllerTest {
+
+    @Mock
+    private ApiToResponseMapper apiToResponseMapper;
+
+    @Mock
+    private BatchDeleteService batchDeleteService;
+
+    @Captor
+    private ArgumentCaptor<ResponseObject> responseObjectCaptor;
+
+    @InjectMocks
+    private BatchDeleteController controller;
+
+    @Test
+    @DisplayName("Batch delete returns HTTP 200 OK with the outcome for each id")
+    void deleteBatchReturnsResults() {
+        BatchDeleteRequest request = new BatchDeleteRequest().officerIds(List.of("officerId"));
+        BatchDeleteResults results = new BatchDeleteResults().officer("officerId", DOCUMENT_DELETED);
+        when(batchDeleteService.getMaxSize()).thenReturn(10);
+        when(batchDeleteService.delete(request)).thenReturn(results);
+
+        ResponseEntity<Object> responseEntity = controller.deleteBatch(request);
+
+        assertEquals(OK, responseEntity.getStatusCode());
+        assertEquals(results, responseEntity.getBody());
+    }
+
+    @Test
+    @DisplayName("Batch delete returns HTTP 400 Bad Request when there is nothing to delete")
+    void deleteBatchRejectsEmptyBatch() {
+        when(batchDeleteService.getMaxSize()).thenReturn(10);
+        when(apiToResponseMapper.map(responseObjectCaptor.capture()))
+                .thenReturn(ResponseEntity.status(BAD_REQUEST).build());
+
+        ResponseEntity<Object> responseEntity = controller.deleteBatch(new BatchDeleteRequest());
+
+        assertEquals(BAD_REQUEST, responseEntity.getStatusCode());
+        assertEquals(DELETE_REQUEST_ERROR, responseObjectCaptor.getValue().getStatus());
+    }
+
+    @Test
+    @DisplayName("Batch delete returns HTTP 400 Bad Request when the batch is too large")
+    void deleteBatchRejectsLargeBatch() {
+        when(batchDeleteService.getMaxSize()).thenReturn(1);
+        when(apiToResponseMapper.map(any())).thenReturn(ResponseEntity.status(BAD_REQUEST).build());
+
+        ResponseEntity<Object> responseEntity = controller.deleteBatch(new BatchDeleteRequest()
+                .companyNumbers(List.of("00000006", "00000007")));
+
+        assertEquals(BAD_REQUEST, responseEntity.getStatusCode());
+        verify(batchDeleteService, never()).delete(any());
+    }
+
+    @Test
+    @DisplayName("Batch delete is a POST of the ids to delete, not a DELETE with a body")
+    void deleteBatchIsPost() throws Exception {
+        when(batchDeleteService.getMaxSize()).thenReturn(10);
+        when(batchDeleteService.delete(any())).thenReturn(new BatchDeleteResults());
+        MockMvc mockMvc = MockMvcBuilders.standaloneSetup(controller).build();
+        String body = "{\"company_numbers\":[\"00000006\"]}";
+
+        mockMvc.perform(post("/search/batch-delete").contentType(MediaType.APPLICATION_JSON).content(body))
+                .andExpect(status().isOk());
+        mockMvc.perform(delete("/search/batch-delete").contentType(MediaType.APPLICATION_JSON).content(body))
+                .andExpect(status().isMethodNotAllowed());
+    }
+}
@@ -0,0 +1,79 @@
+package uk.gov.companieshouse.search.api.controller;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.when;
+import static org.springframework.http.HttpStatus.ACCEPTED;
+import static org.springframework.http.HttpStatus.BAD_REQUEST;
+import static org.springframework.http.HttpStatus.CONFLICT;
+import static uk.gov.companieshouse.search.api.model.response.ResponseStatus.CONSISTENCY_CHECK_IN_PROGRESS;
+import static uk.gov.companieshouse.search.api.model.response.ResponseStatus.CONSISTENCY_CHECK_REQUEST_ERROR;
+import static uk.gov.companieshouse.search.api.model.response.ResponseStatus.CONSISTENCY_CHECK_STARTED;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Captor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.ResponseEntity;
+import uk.gov.companieshouse.search.api.mapper.ApiToResponseMapper;
+import uk.gov.companieshouse.search.api.model.response.ConsistencyCheckProgress;
+import uk.gov.companieshouse.search.api.model.response.ResponseObject;
+import uk.gov.companieshouse.search.api.service.consistency.ConsistencyCheckService;
+
+@ExtendWith(MockitoExtension.class)
+class ConsistencyCheckControllerTest {
+
+    @Mock
+    private ApiToResponseMapper apiToResponseMapper;
+
+    @Mock
+    private ConsistencyCheckService consistencyCheckService;
+
+    @Captor
+    private ArgumentCaptor<ResponseObject> responseObjectCaptor;
+
+    @InjectMocks
+    private ConsistencyCheckController controller;
+
+    private final ConsistencyCheckProgress progress = new ConsistencyCheckProgress("repairs-20240101000000.ndjson");
+
+    @Test
+    @DisplayName("Consistency check returns HTTP 202 Accepted with the progress of the check it started")
+    void checkStarted() {
+        when(consistencyCheckService.start()).thenReturn(CONSISTENCY_CHECK_STARTED);
+        when(consistencyCheckService.getProgress()).thenReturn(progress);
+
+        ResponseEntity<Object> responseEntity = controller.check();
+
+        assertEquals(ACCEPTED, responseEntity.getStatusCode());
+        assertEquals(progress, responseEntity.getBody());
+    }
+
+    @Test
+    @DisplayName("Consistency check returns HTTP 409 Conflict with the progress of the check already running")
+    void checkInProgress() {
+        when(consistencyCheckService.start()).thenReturn(CONSISTENCY_CHECK_IN_PROGRESS);
+        when(consistencyCheckService.getProgress()).thenReturn(progress);
+
+        ResponseEntity<Object> responseEntity = controller.check();
+
+        assertEquals(CONFLICT, responseEntity.getStatusCode());
+        assertEquals(progress, responseEntity.getBody());
+    }
+
+    @Test
+    @DisplayName("Consistency check returns HTTP 400 Bad Request without a repair directory")
+    void checkWithoutRepairDirectory() {
+        when(consistencyCheckService.start()).thenReturn(CONSISTENCY_CHECK_REQUEST_ERROR);
+        when(apiToResponseMapper.map(responseObjectCaptor.capture()))
+                .thenReturn(ResponseEntity.status(BAD_REQUEST).build());
+
+        ResponseEntity<Object> responseEntity = controller.check();
+
+        assertEquals(BAD_REQUEST, responseEntity.getStatusCode());
+        assertEquals(CONSISTENCY_CHECK_REQUEST_ERROR, responseObjectCaptor.getValue().getStatus());
+    }
+}
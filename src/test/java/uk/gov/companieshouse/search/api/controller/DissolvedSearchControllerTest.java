@@ -1,5 +1,6 @@
 package uk.gov.companieshouse.search.api.controller;
 
+import static java.util.concurrent.CompletableFuture.completedFuture;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.mockito.ArgumentMatchers.any;
@@ -73,14 +74,14 @@ class DissolvedSearchControllerTest {
         ResponseObject responseObject = new ResponseObject(SEARCH_FOUND, createSearchResults());
 
         when(mockSearchIndexService.searchAlphabetical(COMPANY_NAME, SEARCH_BEFORE, SEARCH_AFTER, SIZE, REQUEST_ID))
-                .thenReturn(responseObject);
+                .thenReturn(completedFuture(responseObject));
         when(mockApiToResponseMapper.map(responseObject))
                 .thenReturn(ResponseEntity.status(FOUND).body(responseObject.getData()));
         doReturn(100).when(mockEnvironmentReader).getMandatoryInteger(MAX_SIZE_PARAM);
         doReturn(40).when(mockEnvironmentReader).getMandatoryInteger(DISSOLVED_ALPHABETICAL_SEARCH_RESULT_MAX);
 
         ResponseEntity<?> responseEntity = dissolvedSearchController.searchCompanies(COMPANY_NAME,
-                SEARCH_TYPE_ALPHABETICAL, SEARCH_BEFORE, SEARCH_AFTER, SIZE, START_INDEX, REQUEST_ID);
+                SEARCH_TYPE_ALPHABETICAL, SEARCH_BEFORE, SEARCH_AFTER, SIZE, START_INDEX, REQUEST_ID).join();
 
         assertNotNull(responseEntity);
         assertEquals(FOUND, responseEntity.getStatusCode());
@@ -93,14 +94,14 @@ class DissolvedSearchControllerTest {
         ResponseObject responseObject = new ResponseObject(SEARCH_FOUND, createSearchResults());
 
         when(mockSearchIndexService.searchBestMatch(COMPANY_NAME, REQUEST_ID, SEARCH_TYPE_BEST_MATCH, START_INDEX, SIZE))
-                .thenReturn(responseObject);
+                .thenReturn(completedFuture(responseObject));
         when(mockApiToResponseMapper.map(responseObject))
                 .thenReturn(ResponseEntity.status(FOUND).body(responseObject.getData()));
         doReturn(100).when(mockEnvironmentReader).getMandatoryInteger(MAX_SIZE_PARAM);
         doReturn(20).when(mockEnvironmentReader).getMandatoryInteger(DISSOLVED_SEARCH_RESULT_MAX);
 
         ResponseEntity<?> responseEntity = dissolvedSearchController.searchCompanies(COMPANY_NAME, SEARCH_TYPE_BEST_MATCH,
-                SEARCH_BEFORE, SEARCH_AFTER, SIZE, START_INDEX, REQUEST_ID);
+                SEARCH_BEFORE, SEARCH_AFTER, SIZE, START_INDEX, REQUEST_ID).join();
 
         assertNotNull(responseEntity);
         assertEquals(FOUND, responseEntity.getStatusCode());
@@ -113,14 +114,14 @@ class DissolvedSearchControllerTest {
         ResponseObject responseObject = new ResponseObject(SEARCH_FOUND, createSearchResults());
 
         when(mockSearchIndexService.searchBestMatch(COMPANY_NAME, REQUEST_ID, SEARCH_TYPE_BEST_MATCH, START_INDEX, SIZE))
-                .thenReturn(responseObject);
+                .thenReturn(completedFuture(responseObject));
         when(mockApiToResponseMapper.map(responseObject))
                 .thenReturn(ResponseEntity.status(FOUND).body(responseObject.getData()));
         doReturn(100).when(mockEnvironmentReader).getMandatoryInteger(MAX_SIZE_PARAM);
         doReturn(20).when(mockEnvironmentReader).getMandatoryInteger(DISSOLVED_SEARCH_RESULT_MAX);
 
         ResponseEntity<?> responseEntity = dissolvedSearchController.searchCompanies(COMPANY_NAME, SEARCH_TYPE_BEST_MATCH,
-                SEARCH_BEFORE, SEARCH_AFTER, SIZE, null, REQUEST_ID);
+                SEARCH_BEFORE, SEARCH_AFTER, SIZE, null, REQUEST_ID).join();
 
         assertNotNull(responseEntity);
         assertEquals(FOUND, responseEntity.getStatusCode());
@@ -133,14 +134,14 @@ class DissolvedSearchControllerTest {
         ResponseObject responseObject = new ResponseObject(SEARCH_FOUND, createSearchResults());
 
         when(mockSearchIndexService.searchBestMatch(COMPANY_NAME, REQUEST_ID, SEARCH_TYPE_BEST_MATCH, START_INDEX, SIZE))
-                .thenReturn(responseObject);
+                .thenReturn(completedFuture(responseObject));
         when(mockApiToResponseMapper.map(responseObject))
                 .thenReturn(ResponseEntity.status(FOUND).body(responseObject.getData()));
         doReturn(100).when(mockEnvironmentReader).getMandatoryInteger(MAX_SIZE_PARAM);
         doReturn(20).when(mockEnvironmentReader).getMandatoryInteger(DISSOLVED_SEARCH_RESULT_MAX);
 
         ResponseEntity<?> responseEntity = dissolvedSearchController.searchCompanies(COMPANY_NAME, SEARCH_TYPE_BEST_MATCH,
-                SEARCH_BEFORE, SEARCH_AFTER, SIZE, -1, REQUEST_ID);
+                SEARCH_BEFORE, SEARCH_AFTER, SIZE, -1, REQUEST_ID).join();
 
         assertNotNull(responseEntity);
         assertEquals(FOUND, responseEntity.getStatusCode());
@@ -153,14 +154,15 @@ class DissolvedSearchControllerTest {
         ResponseObject responseObject = new ResponseObject(SEARCH_FOUND, createSearchResults());
 
         when(mockSearchIndexService.searchBestMatch(COMPANY_NAME, REQUEST_ID, SEARCH_TYPE_PREVIOUS_NAME_BEST_MATCH,
-                START_INDEX, SIZE)).thenReturn(responseObject);
+                START_INDEX, SIZE)).thenReturn(completedFuture(responseObject));
         when(mockApiToResponseMapper.map(responseObject))
                 .thenReturn(ResponseEntity.status(FOUND).body(responseObject.getData()));
         doReturn(100).when(mockEnvironmentReader).getMandatoryInteger(MAX_SIZE_PARAM);
         doReturn(20).when(mockEnvironmentReader).getMandatoryInteger(DISSOLVED_SEARCH_RESULT_MAX);
 
         ResponseEntity<?> responseEntity = dissolvedSearchController.searchCompanies(COMPANY_NAME,
-                SEARCH_TYPE_PREVIOUS_NAME_BEST_MATCH, SEARCH_BEFORE, SEARCH_AFTER, SIZE, START_INDEX, REQUEST_ID);
+                SEARCH_TYPE_PREVIOUS_NAME_BEST_MATCH, SEARCH_BEFORE, SEARCH_AFTER, SIZE, START_INDEX, REQUEST_ID)
+                .join();
 
         assertNotNull(responseEntity);
         assertEquals(FOUND, responseEntity.getStatusCode());
@@ -174,7 +176,7 @@ class DissolvedSearchControllerTest {
                 .body("Invalid url parameter for search_type, please try 'alphabetical' or 'best-match'"));
 
         ResponseEntity<?> responseEntity = dissolvedSearchController.searchCompanies(COMPANY_NAME, "aaa", SEARCH_BEFORE,
-                SEARCH_AFTER, SIZE, START_INDEX, REQUEST_ID);
+                SEARCH_AFTER, SIZE, START_INDEX, REQUEST_ID).join();
 
         assertNotNull(responseEntity);
         assertEquals(INTERNAL_SERVER_ERROR, responseEntity.getStatusCode());
@@ -190,13 +192,13 @@ class DissolvedSearchControllerTest {
         doReturn(40).when(mockEnvironmentReader).getMandatoryInteger(DISSOLVED_ALPHABETICAL_SEARCH_RESULT_MAX);
 
         when(mockSearchIndexService.searchAlphabetical(COMPANY_NAME, SEARCH_BEFORE, SEARCH_AFTER, 40, REQUEST_ID))
-            .thenReturn(responseObject);
+            .thenReturn(completedFuture(responseObject));
         when(mockApiToResponseMapper.map(responseObject))
             .thenReturn(ResponseEntity.status(FOUND).body(responseObject.getData()));
 
 
         ResponseEntity<?> responseEntity = dissolvedSearchController.searchCompanies(COMPANY_NAME,
-            SEARCH_TYPE_ALPHABETICAL, SEARCH_BEFORE, SEARCH_AFTER, null, START_INDEX, REQUEST_ID);
+            SEARCH_TYPE_ALPHABETICAL, SEARCH_BEFORE, SEARCH_AFTER, null, START_INDEX, REQUEST_ID).join();
 
         assertNotNull(responseEntity);
         assertEquals(FOUND, responseEntity.getStatusCode());
@@ -264,6 +266,7 @@ class DissolvedSearchControllerTest {
         when(mockApiToResponseMapper.map(responseObjectCaptor.capture()))
             .thenReturn(ResponseEntity.status(UNPROCESSABLE_ENTITY).build());
 
-        return dissolvedSearchController.searchCompanies("test name", "alphabetical", null, null, size, null, REQUEST_ID);
+        return dissolvedSearchController.searchCompanies("test name", "alphabetical", null, null, size, null, REQUEST_ID)
+                .join();
     }
 }
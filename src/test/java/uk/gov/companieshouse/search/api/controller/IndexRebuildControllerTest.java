@@ -0,0 +1,96 @@
+package uk.gov.companieshouse.search.api.controller;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+import static org.springframework.http.HttpStatus.ACCEPTED;
+import static org.springframework.http.HttpStatus.BAD_REQUEST;
+import static org.springframework.http.HttpStatus.CONFLICT;
+import static uk.gov.companieshouse.search.api.model.response.ResponseStatus.REBUILD_IN_PROGRESS;
+import static uk.gov.companieshouse.search.api.model.response.ResponseStatus.REBUILD_REQUEST_ERROR;
+import static uk.gov.companieshouse.search.api.model.response.ResponseStatus.REBUILD_STARTED;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Captor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.ResponseEntity;
+import uk.gov.companieshouse.search.api.mapper.ApiToResponseMapper;
+import uk.gov.companieshouse.search.api.model.RebuildRequest;
+import uk.gov.companieshouse.search.api.model.response.RebuildProgress;
+import uk.gov.companieshouse.search.api.model.response.ResponseObject;
+import uk.gov.companieshouse.search.api.service.rebuild.IndexRebuildService;
+import uk.gov.companieshouse.search.api.service.rebuild.RebuildTarget;
+
+@ExtendWith(MockitoExtension.class)
+class IndexRebuildControllerTest {
+
+    private static final String DUMP = "companies.ndjson";
+
+    @Mock
+    private ApiToResponseMapper apiToResponseMapper;
+
+    @Mock
+    private IndexRebuildService indexRebuildService;
+
+    @Captor
+    private ArgumentCaptor<ResponseObject> responseObjectCaptor;
+
+    @InjectMocks
+    private IndexRebuildController controller;
+
+    private final RebuildProgress progress = new RebuildProgress("alphabetical-search", DUMP);
+
+    @Test
+    @DisplayName("Rebuild returns HTTP 202 Accepted with the progress of the rebuild it started")
+    void rebuildStarted() {
+        when(indexRebuildService.start(RebuildTarget.ALPHABETICAL, DUMP)).thenReturn(REBUILD_STARTED);
+        when(indexRebuildService.getProgress()).thenReturn(progress);
+
+        ResponseEntity<Object> responseEntity = controller.rebuild("alphabetical", new RebuildRequest().dump(DUMP));
+
+        assertEquals(ACCEPTED, responseEntity.getStatusCode());
+        assertEquals(progress, responseEntity.getBody());
+    }
+
+    @Test
+    @DisplayName("Rebuild returns HTTP 409 Conflict with the progress of the rebuild already running")
+    void rebuildInProgress() {
+        when(indexRebuildService.start(RebuildTarget.PRIMARY, DUMP)).thenReturn(REBUILD_IN_PROGRESS);
+        when(indexRebuildService.getProgress()).thenReturn(progress);
+
+        ResponseEntity<Object> responseEntity = controller.rebuild("primary", new RebuildRequest().dump(DUMP));
+
+        assertEquals(CONFLICT, responseEntity.getStatusCode());
+        assertEquals(progress, responseEntity.getBody());
+    }
+
+    @Test
+    @DisplayName("Rebuild returns HTTP 400 Bad Request for an unknown index")
+    void rebuildUnknownIndex() {
+        when(apiToResponseMapper.map(responseObjectCaptor.capture()))
+                .thenReturn(ResponseEntity.status(BAD_REQUEST).build());
+
+        ResponseEntity<Object> responseEntity = controller.rebuild("officers", new RebuildRequest().dump(DUMP));
+
+        assertEquals(BAD_REQUEST, responseEntity.getStatusCode());
+        assertEquals(REBUILD_REQUEST_ERROR, responseObjectCaptor.getValue().getStatus());
+        verifyNoInteractions(indexRebuildService);
+    }
+
+    @Test
+    @DisplayName("Rebuild returns HTTP 400 Bad Request when the dump cannot be read")
+    void rebuildUnreadableDump() {
+        when(indexRebuildService.start(RebuildTarget.DISSOLVED, DUMP)).thenReturn(REBUILD_REQUEST_ERROR);
+        when(apiToResponseMapper.map(any())).thenReturn(ResponseEntity.status(BAD_REQUEST).build());
+
+        ResponseEntity<Object> responseEntity = controller.rebuild("dissolved", new RebuildRequest().dump(DUMP));
+
+        assertEquals(BAD_REQUEST, responseEntity.getStatusCode());
+    }
+}
@@ -31,6 +31,7 @@ import uk.gov.companieshouse.search.api.util.ConfiguredIndexNamesProvider;
 class OfficersSearchControllerTest {
 
     private final String OFFICER_ID = "ABCD1234";
+    private final String APPOINTMENT_ID = "EFGH5678";
     @Mock
     private ApiToResponseMapper apiToResponseMapper;
     @Captor
@@ -61,6 +62,37 @@ class OfficersSearchControllerTest {
         assertEquals(OK, responseEntity.getStatusCode());
     }
 
+    @Test
+    @DisplayName("Test appointment upsert returns HTTP 200 OK")
+    void testUpsertAppointmentReturnsOkRequest() {
+        when(upsertOfficersService.upsertAppointment(any(), anyString(), anyString()))
+                .thenReturn(new ResponseObject(DOCUMENT_UPSERTED));
+        when(apiToResponseMapper.map(responseObjectCaptor.capture()))
+                .thenReturn(ResponseEntity.status(OK).build());
+
+        ResponseEntity<?> responseEntity = officersSearchController.upsertOfficerAppointment(OFFICER_ID,
+                APPOINTMENT_ID, appointmentList);
+
+        assertEquals(DOCUMENT_UPSERTED, responseObjectCaptor.getValue().getStatus());
+        assertNotNull(responseEntity);
+        assertEquals(OK, responseEntity.getStatusCode());
+    }
+
+    @Test
+    @DisplayName("Test appointment removal returns HTTP 200 OK")
+    void testRemoveAppointmentReturnsOkRequest() {
+        when(upsertOfficersService.removeAppointment(appointmentList, OFFICER_ID, APPOINTMENT_ID))
+                .thenReturn(new ResponseObject(DOCUMENT_DELETED));
+        when(apiToResponseMapper.map(responseObjectCaptor.capture()))
+                .thenReturn(ResponseEntity.status(OK).build());
+
+        ResponseEntity<?> responseEntity = officersSearchController.removeOfficerAppointment(OFFICER_ID,
+                APPOINTMENT_ID, appointmentList);
+
+        assertEquals(DOCUMENT_DELETED, responseObjectCaptor.getValue().getStatus());
+        assertEquals(OK, responseEntity.getStatusCode());
+    }
+
     @Test
     @DisplayName("Test delete returns HTTP 200 OK given officer exist in index")
     void testDeleteWithCorrectOfficerIdReturnsOkRequest() {
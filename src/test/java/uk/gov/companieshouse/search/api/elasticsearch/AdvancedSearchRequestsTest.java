@@ -4,8 +4,10 @@ import static org.apache.lucene.search.TotalHits.Relation.GREATER_THAN_OR_EQUAL_
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.when;
 
+import java.util.concurrent.CompletableFuture;
 import org.apache.lucene.search.TotalHits;
 import org.elasticsearch.action.search.SearchRequest;
 import org.elasticsearch.action.search.SearchResponse;
@@ -17,17 +19,17 @@ import org.elasticsearch.search.SearchHit;
 import org.elasticsearch.search.SearchHits;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
-import org.junit.jupiter.api.TestInstance;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import uk.gov.companieshouse.search.api.model.AdvancedSearchQueryParams;
+import uk.gov.companieshouse.search.api.service.rest.FreshReadRequests;
+import uk.gov.companieshouse.search.api.service.rest.ReadConsistency;
 import uk.gov.companieshouse.search.api.service.rest.impl.AdvancedSearchRestClientService;
 import uk.gov.companieshouse.search.api.util.ConfiguredIndexNamesProvider;
 
 @ExtendWith(MockitoExtension.class)
-@TestInstance(TestInstance.Lifecycle.PER_CLASS)
 class AdvancedSearchRequestsTest {
 
     @InjectMocks
@@ -42,6 +44,12 @@ class AdvancedSearchRequestsTest {
     @Mock
     private ConfiguredIndexNamesProvider indices;
 
+    @Mock
+    private FreshReadRequests freshReadRequests;
+
+    @Mock
+    private ShardPreference shardPreference;
+
     private static final String COMPANY_NAME = "TEST COMPANY";
     private static final String ENV_READER_RESULT = "ADVANCED_SEARCH_INDEX";
     private static final String REQUEST_ID = "123456789";
@@ -49,15 +57,31 @@ class AdvancedSearchRequestsTest {
     @Test
     @DisplayName("Get company number (must contain) response")
     void getCompanyNumberMustContainSuccessful() throws Exception {
-        when(mockSearchRestClient.search(any(SearchRequest.class))).thenReturn(createSearchResponse());
+        when(mockSearchRestClient.searchAsync(any(SearchRequest.class), any()))
+                .thenReturn(CompletableFuture.completedFuture(createSearchResponse()));
         when(indices.advanced()).thenReturn(ENV_READER_RESULT);
 
-        SearchHits searchHits = advancedSearchRequests.getCompanies(createAdvancedSearchQueryParams(), REQUEST_ID);
+        SearchHits searchHits = advancedSearchRequests.getCompanies(createAdvancedSearchQueryParams(), REQUEST_ID)
+                .join();
 
         assertNotNull(searchHits);
         assertEquals(1, searchHits.getTotalHits().value);
     }
 
+    @Test
+    @DisplayName("A request reading its own writes searches the cluster writes go to")
+    void readYourWrites() {
+        when(freshReadRequests.consistency(REQUEST_ID)).thenReturn(ReadConsistency.READ_YOUR_WRITES);
+        when(mockSearchRestClient.searchAsync(any(SearchRequest.class), eq(ReadConsistency.READ_YOUR_WRITES)))
+                .thenReturn(CompletableFuture.completedFuture(createSearchResponse()));
+        when(indices.advanced()).thenReturn(ENV_READER_RESULT);
+
+        SearchHits searchHits = advancedSearchRequests.getCompanies(createAdvancedSearchQueryParams(), REQUEST_ID)
+                .join();
+
+        assertEquals(1, searchHits.getTotalHits().value);
+    }
+
     private SearchResponse createSearchResponse() {
         BytesReference source = new BytesArray("{test}");
         SearchHit hit = new SearchHit(1);
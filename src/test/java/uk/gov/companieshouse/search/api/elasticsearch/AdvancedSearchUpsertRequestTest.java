@@ -1,12 +1,21 @@
 package uk.gov.companieshouse.search.api.elasticsearch;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
 
+import org.elasticsearch.common.bytes.BytesReference;
 import org.elasticsearch.common.xcontent.XContentBuilder;
+import org.elasticsearch.common.xcontent.XContentHelper;
+import org.elasticsearch.common.xcontent.XContentType;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import uk.gov.companieshouse.api.model.company.CompanyProfileApi;
 import uk.gov.companieshouse.api.model.company.RegisteredOfficeAddressApi;
+import uk.gov.companieshouse.environment.EnvironmentReader;
 
 import java.time.LocalDate;
 import java.util.HashMap;
@@ -33,7 +42,7 @@ class AdvancedSearchUpsertRequestTest {
     @DisplayName("Test build request is successful")
     void testBuildRequestReturnsXContentBuilder() throws Exception{
 
-        AdvancedSearchUpsertRequest advancedSearchUpsertRequest = new AdvancedSearchUpsertRequest();
+        AdvancedSearchUpsertRequest advancedSearchUpsertRequest = new AdvancedSearchUpsertRequest(createEnvironmentReader(null));
         XContentBuilder xContentBuilder =
             advancedSearchUpsertRequest.buildRequest(createCompany(true), ALPHA_KEY, ALPHA_KEY);
 
@@ -44,13 +53,56 @@ class AdvancedSearchUpsertRequestTest {
     @DisplayName("Test build request is successful even when registered office address fields all empty")
     void testBuildRequestReturnsXContentBuilderWithEmptyRegisteredOfficeAddress() throws Exception{
 
-        AdvancedSearchUpsertRequest advancedSearchUpsertRequest = new AdvancedSearchUpsertRequest();
+        AdvancedSearchUpsertRequest advancedSearchUpsertRequest = new AdvancedSearchUpsertRequest(createEnvironmentReader(null));
         XContentBuilder xContentBuilder =
                 advancedSearchUpsertRequest.buildRequest(createCompany(false), ALPHA_KEY, ALPHA_KEY);
 
         assertNotNull(xContentBuilder);
     }
 
+    @Test
+    @DisplayName("Compact document stores each company field once")
+    void testBuildCompactRequestStoresFieldsOnce() throws Exception {
+
+        AdvancedSearchUpsertRequest advancedSearchUpsertRequest =
+                new AdvancedSearchUpsertRequest(createEnvironmentReader(true));
+        Map<String, Object> document = toMap(
+                advancedSearchUpsertRequest.buildRequest(createCompany(true), ALPHA_KEY, ALPHA_KEY));
+
+        Map<String, Object> currentCompany = (Map<String, Object>) document.get("current_company");
+        assertFalse(document.containsKey("items"));
+        assertFalse(currentCompany.containsKey("full_address"));
+        assertEquals(COMPANY_NAME, currentCompany.get("corporate_name"));
+        assertEquals(COMPANY_NUMBER, currentCompany.get("company_number"));
+        assertEquals(ALPHA_KEY, currentCompany.get("wildcard_key"));
+        assertEquals(ALPHA_KEY, currentCompany.get("same_as_key"));
+        assertEquals(COMPANY_TYPE, document.get("company_type"));
+        assertEquals(ALPHA_KEY + "0", document.get("sort_key"));
+    }
+
+    @Test
+    @DisplayName("Compact document is smaller than the legacy document")
+    void testCompactDocumentIsSmallerThanLegacyDocument() throws Exception {
+
+        CompanyProfileApi company = createCompany(true);
+        BytesReference legacy = BytesReference.bytes(new AdvancedSearchUpsertRequest(createEnvironmentReader(false))
+                .buildRequest(company, ALPHA_KEY, ALPHA_KEY));
+        BytesReference compact = BytesReference.bytes(new AdvancedSearchUpsertRequest(createEnvironmentReader(true))
+                .buildRequest(company, ALPHA_KEY, ALPHA_KEY));
+
+        assertTrue(compact.length() < legacy.length());
+    }
+
+    private EnvironmentReader createEnvironmentReader(Boolean compactDocument) {
+        EnvironmentReader environmentReader = mock(EnvironmentReader.class);
+        when(environmentReader.getOptionalBoolean("ADVANCED_SEARCH_COMPACT_DOCUMENT")).thenReturn(compactDocument);
+        return environmentReader;
+    }
+
+    private Map<String, Object> toMap(XContentBuilder xContentBuilder) {
+        return XContentHelper.convertToMap(BytesReference.bytes(xContentBuilder), false, XContentType.JSON).v2();
+    }
+
     private CompanyProfileApi createCompany(final boolean populateRegisteredAddressFields) {
         CompanyProfileApi company = new CompanyProfileApi();
         company.setType(COMPANY_TYPE);
@@ -1,5 +1,6 @@
 package uk.gov.companieshouse.search.api.elasticsearch;
 
+import java.util.concurrent.CompletableFuture;
 import org.apache.lucene.search.TotalHits;
 import org.elasticsearch.action.search.SearchRequest;
 import org.elasticsearch.action.search.SearchResponse;
@@ -9,14 +10,19 @@ import org.elasticsearch.common.bytes.BytesArray;
 import org.elasticsearch.common.bytes.BytesReference;
 import org.elasticsearch.search.SearchHit;
 import org.elasticsearch.search.SearchHits;
+import org.elasticsearch.search.internal.SearchContext;
+import org.elasticsearch.search.sort.FieldSortBuilder;
+import org.elasticsearch.search.sort.SortOrder;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.TestInstance;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import uk.gov.companieshouse.environment.EnvironmentReader;
+import uk.gov.companieshouse.search.api.service.rest.FreshReadRequests;
 import uk.gov.companieshouse.search.api.service.rest.impl.AlphabeticalSearchRestClientService;
 
 import static org.apache.lucene.search.TotalHits.Relation.GREATER_THAN_OR_EQUAL_TO;
@@ -24,6 +30,7 @@ import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 @ExtendWith(MockitoExtension.class)
@@ -41,6 +48,12 @@ class AlphabeticalSearchRequestsTest {
     @Mock
     private EnvironmentReader mockEnvironmentReader;
 
+    @Mock
+    private FreshReadRequests freshReadRequests;
+
+    @Mock
+    private ShardPreference shardPreference;
+
     private static final String ENV_READER_RESULT = "1";
     private static final Integer SIZE = 10;
 
@@ -49,10 +62,11 @@ class AlphabeticalSearchRequestsTest {
     void getBestMatchResponse() throws Exception {
 
         when(mockEnvironmentReader.getMandatoryString(anyString())).thenReturn(ENV_READER_RESULT);
-        when(mockSearchRestClient.search(any(SearchRequest.class))).thenReturn(createSearchResponse());
+        when(mockSearchRestClient.searchAsync(any(SearchRequest.class), any()))
+                .thenReturn(CompletableFuture.completedFuture(createSearchResponse()));
 
         SearchHits searchHits = alphabeticalSearchRequests
-            .getBestMatchResponse("orderedAlpha", "requestId");
+            .getBestMatchResponse("orderedAlpha", "requestId").join();
 
         assertNotNull(searchHits);
         assertEquals(1, searchHits.getTotalHits().value);
@@ -63,10 +77,11 @@ class AlphabeticalSearchRequestsTest {
     void getStartsWithResponse() throws Exception {
 
         when(mockEnvironmentReader.getMandatoryString(anyString())).thenReturn(ENV_READER_RESULT);
-        when(mockSearchRestClient.search(any(SearchRequest.class))).thenReturn(createSearchResponse());
+        when(mockSearchRestClient.searchAsync(any(SearchRequest.class), any()))
+                .thenReturn(CompletableFuture.completedFuture(createSearchResponse()));
 
         SearchHits searchHits = alphabeticalSearchRequests
-            .getStartsWithResponse("orderedAlpha", "requestId");
+            .getStartsWithResponse("orderedAlpha", "requestId").join();
 
         assertNotNull(searchHits);
         assertEquals(1, searchHits.getTotalHits().value);
@@ -77,10 +92,11 @@ class AlphabeticalSearchRequestsTest {
     void getCorporateNameStartsWithResponse() throws Exception {
 
         when(mockEnvironmentReader.getMandatoryString(anyString())).thenReturn(ENV_READER_RESULT);
-        when(mockSearchRestClient.search(any(SearchRequest.class))).thenReturn(createSearchResponse());
+        when(mockSearchRestClient.searchAsync(any(SearchRequest.class), any()))
+                .thenReturn(CompletableFuture.completedFuture(createSearchResponse()));
 
         SearchHits searchHits = alphabeticalSearchRequests
-            .getCorporateNameStartsWithResponse("orderedAlpha", "requestId");
+            .getCorporateNameStartsWithResponse("orderedAlpha", "requestId").join();
 
         assertNotNull(searchHits);
         assertEquals(1, searchHits.getTotalHits().value);
@@ -91,11 +107,12 @@ class AlphabeticalSearchRequestsTest {
     void getAboveResultsResponse() throws Exception {
 
         when(mockEnvironmentReader.getMandatoryString(anyString())).thenReturn(ENV_READER_RESULT);
-        when(mockSearchRestClient.search(any(SearchRequest.class))).thenReturn(createSearchResponse());
+        when(mockSearchRestClient.searchAsync(any(SearchRequest.class), any()))
+                .thenReturn(CompletableFuture.completedFuture(createSearchResponse()));
 
         SearchHits searchHits = alphabeticalSearchRequests
             .getAboveResultsResponse("requestId",
-                "orderedAlpha", "topHit", SIZE);
+                "orderedAlpha", "topHit", SIZE).join();
 
         assertNotNull(searchHits);
         assertEquals(1, searchHits.getTotalHits().value);
@@ -106,16 +123,36 @@ class AlphabeticalSearchRequestsTest {
     void getDescendingResultsResponse() throws Exception {
 
         when(mockEnvironmentReader.getMandatoryString(anyString())).thenReturn(ENV_READER_RESULT);
-        when(mockSearchRestClient.search(any(SearchRequest.class))).thenReturn(createSearchResponse());
+        when(mockSearchRestClient.searchAsync(any(SearchRequest.class), any()))
+                .thenReturn(CompletableFuture.completedFuture(createSearchResponse()));
 
         SearchHits searchHits = alphabeticalSearchRequests
             .getDescendingResultsResponse("requestId",
-                "orderedAlpha", "topHit", SIZE);
+                "orderedAlpha", "topHit", SIZE).join();
 
         assertNotNull(searchHits);
         assertEquals(1, searchHits.getTotalHits().value);
     }
 
+    @Test
+    @DisplayName("Alphabetical pages are sorted by the index sort and do not track the total")
+    void alphabeticalPagesTerminateEarly() {
+
+        when(mockEnvironmentReader.getMandatoryString(anyString())).thenReturn(ENV_READER_RESULT);
+        when(mockSearchRestClient.searchAsync(any(SearchRequest.class), any()))
+                .thenReturn(CompletableFuture.completedFuture(createSearchResponse()));
+
+        alphabeticalSearchRequests.getDescendingResultsResponse("requestId", "orderedAlpha", "topHit", SIZE).join();
+
+        ArgumentCaptor<SearchRequest> searchRequest = ArgumentCaptor.forClass(SearchRequest.class);
+        verify(mockSearchRestClient).searchAsync(searchRequest.capture(), any());
+        FieldSortBuilder sort = (FieldSortBuilder) searchRequest.getValue().source().sorts().get(0);
+        assertEquals("ordered_alpha_key_with_id", sort.getFieldName());
+        assertEquals(SortOrder.ASC, sort.order());
+        assertEquals(SearchContext.TRACK_TOTAL_HITS_DISABLED,
+                searchRequest.getValue().source().trackTotalHitsUpTo().intValue());
+    }
+
     private SearchResponse createSearchResponse() {
         BytesReference source = new BytesArray(
             "{test}" );
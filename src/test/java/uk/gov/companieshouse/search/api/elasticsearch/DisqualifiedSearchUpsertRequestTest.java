@@ -3,6 +3,7 @@ package uk.gov.companieshouse.search.api.elasticsearch;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.json.JSONArray;
@@ -22,11 +23,12 @@ public class DisqualifiedSearchUpsertRequestTest {
     private static final String SORT_KEY = "key";
     private static final String KIND = "searchresults#disqualified-officer";
 
-    private DisqualifiedSearchUpsertRequest request = new DisqualifiedSearchUpsertRequest();
+    private DisqualifiedSearchUpsertRequest request = new DisqualifiedSearchUpsertRequest(
+            new IndexDocumentWriter(new ObjectMapper().setSerializationInclusion(JsonInclude.Include.NON_NULL)));
 
     @Test
     void officerIsTransformedToJSONString() throws Exception {
-        String actual = request.buildRequest(createOfficer(true, true, true));
+        String actual = request.buildRequest(createOfficer(true, true, true)).utf8ToString();
 
         String expected = createExpectedJSON();
 
@@ -7,6 +7,7 @@ import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.Mockito.when;
 
+import java.util.concurrent.CompletableFuture;
 import org.apache.lucene.search.TotalHits;
 import org.elasticsearch.action.search.SearchRequest;
 import org.elasticsearch.action.search.SearchResponse;
@@ -24,6 +25,7 @@ import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import uk.gov.companieshouse.environment.EnvironmentReader;
+import uk.gov.companieshouse.search.api.service.rest.FreshReadRequests;
 import uk.gov.companieshouse.search.api.service.rest.impl.DissolvedSearchRestClientService;
 
 @ExtendWith(MockitoExtension.class)
@@ -42,6 +44,12 @@ class DissolvedSearchRequestsTest {
     @Mock
     private EnvironmentReader mockEnvironmentReader;
 
+    @Mock
+    private FreshReadRequests freshReadRequests;
+
+    @Mock
+    private ShardPreference shardPreference;
+
     private static final String ENV_READER_RESULT = "1";
     private static final Integer SIZE = 10;
     private static final Integer START_INDEX = 0;
@@ -51,10 +59,11 @@ class DissolvedSearchRequestsTest {
     void getBestMatchResponse() throws Exception {
 
         when(mockEnvironmentReader.getMandatoryString(anyString())).thenReturn(ENV_READER_RESULT);
-        when(mockSearchRestClient.search(any(SearchRequest.class))).thenReturn(createSearchResponse());
+        when(mockSearchRestClient.searchAsync(any(SearchRequest.class), any()))
+                .thenReturn(CompletableFuture.completedFuture(createSearchResponse()));
 
         SearchHits searchHits = dissolvedSearchRequests
-                .getBestMatchResponse("orderedAlpha", "requestId");
+                .getBestMatchResponse("orderedAlpha", "requestId").join();
 
         assertNotNull(searchHits);
         assertEquals(1, searchHits.getTotalHits().value);
@@ -65,10 +74,11 @@ class DissolvedSearchRequestsTest {
     void getStartsWithResponse() throws Exception {
 
         when(mockEnvironmentReader.getMandatoryString(anyString())).thenReturn(ENV_READER_RESULT);
-        when(mockSearchRestClient.search(any(SearchRequest.class))).thenReturn(createSearchResponse());
+        when(mockSearchRestClient.searchAsync(any(SearchRequest.class), any()))
+                .thenReturn(CompletableFuture.completedFuture(createSearchResponse()));
 
         SearchHits searchHits = dissolvedSearchRequests
-                .getStartsWithResponse("orderedAlpha", "requestId");
+                .getStartsWithResponse("orderedAlpha", "requestId").join();
 
         assertNotNull(searchHits);
         assertEquals(1, searchHits.getTotalHits().value);
@@ -79,10 +89,11 @@ class DissolvedSearchRequestsTest {
     void getCompanyNameStartsWithResponse() throws Exception {
 
         when(mockEnvironmentReader.getMandatoryString(anyString())).thenReturn(ENV_READER_RESULT);
-        when(mockSearchRestClient.search(any(SearchRequest.class))).thenReturn(createSearchResponse());
+        when(mockSearchRestClient.searchAsync(any(SearchRequest.class), any()))
+                .thenReturn(CompletableFuture.completedFuture(createSearchResponse()));
 
         SearchHits searchHits = dissolvedSearchRequests
-                .getCorporateNameStartsWithResponse("orderedAlpha", "requestId");
+                .getCorporateNameStartsWithResponse("orderedAlpha", "requestId").join();
 
         assertNotNull(searchHits);
         assertEquals(1, searchHits.getTotalHits().value);
@@ -93,11 +104,12 @@ class DissolvedSearchRequestsTest {
     void getAboveResultsResponse() throws Exception {
 
         when(mockEnvironmentReader.getMandatoryString(anyString())).thenReturn(ENV_READER_RESULT);
-        when(mockSearchRestClient.search(any(SearchRequest.class))).thenReturn(createSearchResponse());
+        when(mockSearchRestClient.searchAsync(any(SearchRequest.class), any()))
+                .thenReturn(CompletableFuture.completedFuture(createSearchResponse()));
 
         SearchHits searchHits = dissolvedSearchRequests
                 .getAboveResultsResponse("requestId",
-                        "orderedAlpha", "topHit", SIZE);
+                        "orderedAlpha", "topHit", SIZE).join();
 
         assertNotNull(searchHits);
         assertEquals(1, searchHits.getTotalHits().value);
@@ -108,11 +120,12 @@ class DissolvedSearchRequestsTest {
     void getDescendingResultsResponse() throws Exception {
 
         when(mockEnvironmentReader.getMandatoryString(anyString())).thenReturn(ENV_READER_RESULT);
-        when(mockSearchRestClient.search(any(SearchRequest.class))).thenReturn(createSearchResponse());
+        when(mockSearchRestClient.searchAsync(any(SearchRequest.class), any()))
+                .thenReturn(CompletableFuture.completedFuture(createSearchResponse()));
 
         SearchHits searchHits = dissolvedSearchRequests
                 .getDescendingResultsResponse("requestId",
-                        "orderedAlpha", "topHit", SIZE);
+                        "orderedAlpha", "topHit", SIZE).join();
 
         assertNotNull(searchHits);
         assertEquals(1, searchHits.getTotalHits().value);
@@ -123,10 +136,11 @@ class DissolvedSearchRequestsTest {
     void getDissolvedSearchBestMatchResponse() throws Exception {
 
         when(mockEnvironmentReader.getMandatoryString(anyString())).thenReturn(ENV_READER_RESULT);
-        when(mockSearchRestClient.search(any(SearchRequest.class))).thenReturn(createSearchResponse());
+        when(mockSearchRestClient.searchAsync(any(SearchRequest.class), any()))
+                .thenReturn(CompletableFuture.completedFuture(createSearchResponse()));
 
         SearchHits searchHits = dissolvedSearchRequests
-            .getDissolved("orderedAlpha", "requestId", "searchType", START_INDEX, SIZE);
+            .getDissolved("orderedAlpha", "requestId", "searchType", START_INDEX, SIZE).join();
 
         assertNotNull(searchHits);
         assertEquals(1, searchHits.getTotalHits().value);
@@ -137,10 +151,11 @@ class DissolvedSearchRequestsTest {
     void getDissolvedSearchPreviousNamesResponse() throws Exception {
 
         when(mockEnvironmentReader.getMandatoryString(anyString())).thenReturn(ENV_READER_RESULT);
-        when(mockSearchRestClient.search(any(SearchRequest.class))).thenReturn(createSearchResponse());
+        when(mockSearchRestClient.searchAsync(any(SearchRequest.class), any()))
+                .thenReturn(CompletableFuture.completedFuture(createSearchResponse()));
 
         SearchHits searchHits = dissolvedSearchRequests
-                .getDissolved("companyName", "requestId", "searchType", START_INDEX, SIZE);
+                .getDissolved("companyName", "requestId", "searchType", START_INDEX, SIZE).join();
 
         assertNotNull(searchHits);
         assertEquals(1, searchHits.getTotalHits().value);
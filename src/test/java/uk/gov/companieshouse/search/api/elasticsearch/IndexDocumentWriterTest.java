@@ -0,0 +1,47 @@
+package uk.gov.companieshouse.search.api.elasticsearch;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.apache.commons.lang3.StringUtils;
+import org.elasticsearch.common.bytes.BytesReference;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import uk.gov.companieshouse.search.api.model.esdatamodel.OfficerSearchDocument;
+
+class IndexDocumentWriterTest {
+
+    private final ObjectMapper mapper = new ObjectMapper().setSerializationInclusion(JsonInclude.Include.NON_NULL);
+
+    private final IndexDocumentWriter documentWriter = new IndexDocumentWriter(mapper);
+
+    @Test
+    @DisplayName("Document is written as the same JSON the object mapper produces")
+    void writesSameJsonAsObjectMapper() throws Exception {
+        OfficerSearchDocument document = OfficerSearchDocument.Builder.builder()
+                .sortKey("sort key")
+                .build();
+
+        BytesReference actual = documentWriter.write(document);
+
+        assertEquals(mapper.writeValueAsString(document), actual.utf8ToString());
+    }
+
+    @Test
+    @DisplayName("A document's bytes are not overwritten by the next document written")
+    void documentsDoNotShareBytes() throws Exception {
+        OfficerSearchDocument first = OfficerSearchDocument.Builder.builder()
+                .sortKey(StringUtils.repeat("A", 2 * 1024 * 1024))
+                .build();
+        OfficerSearchDocument second = OfficerSearchDocument.Builder.builder()
+                .sortKey("B")
+                .build();
+
+        BytesReference firstBytes = documentWriter.write(first);
+        BytesReference secondBytes = documentWriter.write(second);
+
+        assertEquals(mapper.writeValueAsString(first), firstBytes.utf8ToString());
+        assertEquals(mapper.writeValueAsString(second), secondBytes.utf8ToString());
+    }
+}
@@ -0,0 +1,87 @@
+package uk.gov.companieshouse.search.api.elasticsearch;
+
+import static org.elasticsearch.index.query.QueryBuilders.matchQuery;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.when;
+
+import org.elasticsearch.action.search.SearchRequest;
+import org.elasticsearch.search.builder.SearchSourceBuilder;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import uk.gov.companieshouse.environment.EnvironmentReader;
+
+@ExtendWith(MockitoExtension.class)
+class ShardPreferenceTest {
+
+    private static final String REQUEST_ID = "request-id";
+
+    @Mock
+    private EnvironmentReader environmentReader;
+
+    @Test
+    @DisplayName("Requests for the same search share a preference whatever their case and spacing")
+    void sameSearchSamePreference() {
+        ShardPreference shardPreference = createShardPreference(null);
+        SearchRequest first = searchRequest("TEST  COMPANY", 20);
+        SearchRequest second = searchRequest("test company", 20);
+
+        shardPreference.apply(first, REQUEST_ID);
+        shardPreference.apply(second, "other-request-id");
+
+        assertEquals(first.preference(), second.preference());
+        assertFalse(first.preference().startsWith("_"));
+        assertNull(first.requestCache());
+    }
+
+    @Test
+    @DisplayName("Different searches are spread over different preferences")
+    void differentSearchDifferentPreference() {
+        ShardPreference shardPreference = createShardPreference("query");
+        SearchRequest first = searchRequest("test company", 20);
+        SearchRequest second = searchRequest("other company", 20);
+
+        shardPreference.apply(first, REQUEST_ID);
+        shardPreference.apply(second, REQUEST_ID);
+
+        assertNotEquals(first.preference(), second.preference());
+    }
+
+    @Test
+    @DisplayName("Searches fetching no hits may be served from the request cache")
+    void countCached() {
+        ShardPreference shardPreference = createShardPreference(null);
+        SearchRequest count = searchRequest("test company", 0);
+
+        shardPreference.apply(count, REQUEST_ID);
+
+        assertTrue(count.requestCache());
+    }
+
+    @Test
+    @DisplayName("The request strategy keeps the preference of each request its own")
+    void requestStrategy() {
+        ShardPreference shardPreference = createShardPreference("REQUEST");
+        SearchRequest searchRequest = searchRequest("test company", 20);
+
+        shardPreference.apply(searchRequest, REQUEST_ID);
+
+        assertEquals(REQUEST_ID, searchRequest.preference());
+    }
+
+    private ShardPreference createShardPreference(String strategy) {
+        when(environmentReader.getOptionalString("SEARCH_PREFERENCE_STRATEGY")).thenReturn(strategy);
+        return new ShardPreference(environmentReader);
+    }
+
+    private static SearchRequest searchRequest(String companyName, int size) {
+        return new SearchRequest("alphabetical-search").source(
+                new SearchSourceBuilder().size(size).query(matchQuery("company_name", companyName)));
+    }
+}
@@ -0,0 +1,72 @@
+package uk.gov.companieshouse.search.api.interceptor;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.mock.web.MockAsyncContext;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import uk.gov.companieshouse.search.api.service.rest.FreshReadRequests;
+
+@ExtendWith(MockitoExtension.class)
+class ReadYourWritesInterceptorTest {
+
+    private static final String REQUEST_ID = "request-id";
+
+    @Mock
+    private FreshReadRequests freshReadRequests;
+
+    @InjectMocks
+    private ReadYourWritesInterceptor interceptor;
+
+    private final MockHttpServletResponse response = new MockHttpServletResponse();
+
+    @Test
+    @DisplayName("A flagged request reads its own writes until its asynchronous search completes")
+    void flaggedRequestReadsOwnWrites() {
+        MockHttpServletRequest request = request("true");
+        request.setAsyncSupported(true);
+        when(freshReadRequests.start(REQUEST_ID)).thenReturn(true);
+
+        assertTrue(interceptor.preHandle(request, response, new Object()));
+        request.startAsync();
+        interceptor.afterConcurrentHandlingStarted(request, response, new Object());
+        verify(freshReadRequests, never()).finish(REQUEST_ID);
+
+        assertTrue(interceptor.preHandle(request, response, new Object()));
+        ((MockAsyncContext) request.getAsyncContext()).complete();
+        interceptor.afterCompletion(request, response, new Object(), null);
+
+        verify(freshReadRequests, times(1)).start(REQUEST_ID);
+        verify(freshReadRequests, times(1)).finish(REQUEST_ID);
+    }
+
+    @Test
+    @DisplayName("A request that is not flagged reads from the read cluster")
+    void unflaggedRequest() {
+        MockHttpServletRequest request = request("false");
+
+        assertTrue(interceptor.preHandle(request, response, new Object()));
+        interceptor.afterCompletion(request, response, new Object(), null);
+
+        verify(freshReadRequests, never()).start(any());
+        verify(freshReadRequests, never()).finish(any());
+    }
+
+    private static MockHttpServletRequest request(String readYourWrites) {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/alphabetical-search/companies");
+        request.addHeader("X-Request-ID", REQUEST_ID);
+        request.addHeader("X-Read-Your-Writes", readYourWrites);
+        return request;
+    }
+}
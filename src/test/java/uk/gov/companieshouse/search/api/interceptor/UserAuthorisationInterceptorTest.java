@@ -3,6 +3,7 @@ package uk.gov.companieshouse.search.api.interceptor;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.when;
 import static uk.gov.companieshouse.search.api.util.EricHeaderHelper.ERIC_IDENTITY_TYPE;
 
@@ -108,4 +109,17 @@ class UserAuthorisationInterceptorTest {
         doReturn(SecurityConstants.INTERNAL_USER_ROLE).when(request).getHeader(EricConstants.ERIC_AUTHORISED_KEY_ROLES);
         assertFalse(userAuthorisationInterceptor.preHandle(request, response, null));
     }
+
+    @Test
+    @DisplayName("Authorise a batch delete POST if an internal API key is used")
+    void willAuthoriseBatchDeletePostWithInternalAPIKey() {
+        HttpServletRequest batchDelete = mock(HttpServletRequest.class);
+        when(batchDelete.getMethod()).thenReturn(HttpMethod.POST.toString());
+        when(batchDelete.getServletPath()).thenReturn("/search/batch-delete");
+        doReturn("request-id").when(batchDelete).getHeader("X-Request-ID");
+        doReturn(ERIC_IDENTITY_TYPE_API_KEY_VALUE).when(batchDelete).getHeader(ERIC_IDENTITY_TYPE);
+        doReturn(SecurityConstants.INTERNAL_USER_ROLE).when(batchDelete)
+                .getHeader(EricConstants.ERIC_AUTHORISED_KEY_ROLES);
+        assertTrue(userAuthorisationInterceptor.preHandle(batchDelete, response, null));
+    }
 }
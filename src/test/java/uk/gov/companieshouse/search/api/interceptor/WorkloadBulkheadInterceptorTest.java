@@ -0,0 +1,105 @@
+package uk.gov.companieshouse.search.api.interceptor;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.mock.web.MockAsyncContext;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import uk.gov.companieshouse.search.api.mapper.ApiToResponseMapper;
+import uk.gov.companieshouse.search.api.model.response.ResponseObject;
+import uk.gov.companieshouse.search.api.model.response.ResponseStatus;
+import uk.gov.companieshouse.search.api.service.rest.Workload;
+import uk.gov.companieshouse.search.api.service.rest.WorkloadBulkheads;
+
+@ExtendWith(MockitoExtension.class)
+class WorkloadBulkheadInterceptorTest {
+
+    @Mock
+    private WorkloadBulkheads bulkheads;
+
+    @Mock
+    private ApiToResponseMapper apiToResponseMapper;
+
+    @InjectMocks
+    private WorkloadBulkheadInterceptor interceptor;
+
+    private final MockHttpServletResponse response = new MockHttpServletResponse();
+
+    @Test
+    @DisplayName("A write over its limit is answered with a 429 at once")
+    void writeRejected() throws Exception {
+        when(bulkheads.tryAcquire(Workload.WRITE)).thenReturn(false);
+        when(apiToResponseMapper.map(any(ResponseObject.class))).thenAnswer(invocation -> {
+            assertEquals(ResponseStatus.WRITE_REJECTED, invocation.<ResponseObject>getArgument(0).getStatus());
+            return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS).header(HttpHeaders.RETRY_AFTER, "5").build();
+        });
+
+        assertFalse(interceptor.preHandle(new MockHttpServletRequest("PUT", "/companies/00006400"), response,
+                new Object()));
+
+        assertEquals(429, response.getStatus());
+        assertEquals("5", response.getHeader(HttpHeaders.RETRY_AFTER));
+    }
+
+    @Test
+    @DisplayName("A search over its limit is answered with a 503 at once")
+    void readRejected() throws Exception {
+        when(bulkheads.tryAcquire(Workload.READ)).thenReturn(false);
+        when(apiToResponseMapper.map(any(ResponseObject.class))).thenReturn(
+                ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).body("unavailable"));
+
+        assertFalse(interceptor.preHandle(new MockHttpServletRequest("GET", "/companies"), response, new Object()));
+
+        assertEquals(503, response.getStatus());
+        assertEquals("unavailable", response.getContentAsString());
+    }
+
+    @Test
+    @DisplayName("An admitted request gives its place back once it completes")
+    void placeReleasedOnCompletion() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("PUT", "/companies/00006400");
+        when(bulkheads.tryAcquire(Workload.WRITE)).thenReturn(true);
+
+        assertTrue(interceptor.preHandle(request, response, new Object()));
+        interceptor.afterCompletion(request, response, new Object(), null);
+        interceptor.afterCompletion(request, response, new Object(), null);
+
+        verify(bulkheads, times(1)).release(Workload.WRITE);
+    }
+
+    @Test
+    @DisplayName("An asynchronous search holds its place until the request completes, and is not admitted twice")
+    void placeHeldDuringAsyncSearch() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/companies");
+        request.setAsyncSupported(true);
+        when(bulkheads.tryAcquire(Workload.READ)).thenReturn(true);
+
+        assertTrue(interceptor.preHandle(request, response, new Object()));
+        request.startAsync();
+        interceptor.afterConcurrentHandlingStarted(request, response, new Object());
+        verify(bulkheads, never()).release(Workload.READ);
+
+        assertTrue(interceptor.preHandle(request, response, new Object()));
+        ((MockAsyncContext) request.getAsyncContext()).complete();
+        interceptor.afterCompletion(request, response, new Object(), null);
+
+        verify(bulkheads, times(1)).tryAcquire(Workload.READ);
+        verify(bulkheads, times(1)).release(Workload.READ);
+    }
+}
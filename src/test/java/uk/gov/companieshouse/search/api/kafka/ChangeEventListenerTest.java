@@ -0,0 +1,176 @@
+package uk.gov.companieshouse.search.api.kafka;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.when;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.stream.Collectors;
+import org.apache.kafka.clients.consumer.OffsetAndMetadata;
+import org.apache.kafka.clients.producer.KafkaProducer;
+import org.apache.kafka.clients.producer.Producer;
+import org.apache.kafka.clients.producer.ProducerRecord;
+import org.apache.kafka.common.serialization.StringSerializer;
+import org.elasticsearch.action.DocWriteRequest;
+import org.elasticsearch.action.bulk.BulkItemResponse;
+import org.elasticsearch.action.bulk.BulkRequest;
+import org.elasticsearch.action.bulk.BulkResponse;
+import org.elasticsearch.action.delete.DeleteRequest;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.kafka.listener.ConcurrentMessageListenerContainer;
+import org.springframework.kafka.test.EmbeddedKafkaBroker;
+import org.springframework.kafka.test.context.EmbeddedKafka;
+import org.springframework.kafka.test.utils.KafkaTestUtils;
+import uk.gov.companieshouse.environment.EnvironmentReader;
+import uk.gov.companieshouse.search.api.config.KafkaIngestionConfig;
+import uk.gov.companieshouse.search.api.service.journal.WriteJournal;
+import uk.gov.companieshouse.search.api.service.rest.impl.PrimarySearchRestClientService;
+import uk.gov.companieshouse.search.api.util.ConfiguredIndexNamesProvider;
+
+@ExtendWith(MockitoExtension.class)
+@EmbeddedKafka(partitions = 2, topics = {ChangeEventListenerTest.ORDERED_TOPIC, ChangeEventListenerTest.RETRY_TOPIC})
+class ChangeEventListenerTest {
+
+    static final String ORDERED_TOPIC = "search-changes-ordered";
+    static final String RETRY_TOPIC = "search-changes-retry";
+    private static final String INDEX = "primary_search";
+    private static final long WAIT_MS = 30000;
+
+    @Mock
+    private ChangeEventRequestFactory changeEventRequestFactory;
+
+    @Mock
+    private PrimarySearchRestClientService primarySearchRestClientService;
+
+    @Mock
+    private WriteJournal writeJournal;
+
+    @Mock
+    private ConfiguredIndexNamesProvider indices;
+
+    @Mock
+    private EnvironmentReader environmentReader;
+
+    private final List<List<String>> bulkIds = Collections.synchronizedList(new ArrayList<>());
+
+    @BeforeEach
+    void setUp() throws Exception {
+        when(indices.primary()).thenReturn(INDEX);
+        // each event's value is the id of the document it deletes
+        when(changeEventRequestFactory.createRequest(anyString())).thenAnswer(invocation ->
+                Optional.of(new DeleteRequest(INDEX, INDEX, invocation.getArgument(0))));
+    }
+
+    @Test
+    @DisplayName("Events are written in partition order and their offsets committed after the bulk write")
+    void writesEventsInPartitionOrder(EmbeddedKafkaBroker broker) throws Exception {
+        when(primarySearchRestClientService.bulk(any(BulkRequest.class))).thenAnswer(invocation -> {
+            bulkIds.add(ids(invocation.getArgument(0)));
+            return new BulkResponse(new BulkItemResponse[0], 1);
+        });
+
+        ConcurrentMessageListenerContainer<String, String> container =
+                container(broker, ORDERED_TOPIC, "ordered");
+        container.start();
+        try {
+            send(broker, ORDERED_TOPIC, 0, "a1", "a2", "a3");
+            send(broker, ORDERED_TOPIC, 1, "b1", "b2", "b3");
+
+            awaitCommitted(broker, "ordered", ORDERED_TOPIC, 3, 3);
+        } finally {
+            container.stop();
+        }
+
+        List<String> written = written();
+        assertEquals(List.of("a1", "a2", "a3"), only(written, "a"));
+        assertEquals(List.of("b1", "b2", "b3"), only(written, "b"));
+    }
+
+    @Test
+    @DisplayName("A batch whose bulk write fails is consumed again and only committed once written")
+    void retriesFailedBatch(EmbeddedKafkaBroker broker) throws Exception {
+        when(primarySearchRestClientService.bulk(any(BulkRequest.class))).thenAnswer(invocation -> {
+            bulkIds.add(ids(invocation.getArgument(0)));
+            if (bulkIds.size() == 1) {
+                throw new IOException("Connection refused");
+            }
+            return new BulkResponse(new BulkItemResponse[0], 1);
+        });
+
+        ConcurrentMessageListenerContainer<String, String> container = container(broker, RETRY_TOPIC, "retry");
+        send(broker, RETRY_TOPIC, 0, "c1", "c2");
+        container.start();
+        try {
+            awaitCommitted(broker, "retry", RETRY_TOPIC, 2, 0);
+        } finally {
+            container.stop();
+        }
+
+        assertTrue(bulkIds.size() >= 2);
+        assertEquals(bulkIds.get(0), bulkIds.get(1));
+        assertEquals(List.of("c1", "c2"), only(written(), "c").subList(0, 2));
+    }
+
+    private ConcurrentMessageListenerContainer<String, String> container(EmbeddedKafkaBroker broker, String topic,
+            String groupId) {
+        when(environmentReader.getMandatoryString("KAFKA_BROKER_ADDR")).thenReturn(broker.getBrokersAsString());
+        when(environmentReader.getMandatoryString("KAFKA_INGESTION_TOPICS")).thenReturn(topic);
+        when(environmentReader.getOptionalString("KAFKA_INGESTION_GROUP_ID")).thenReturn(groupId);
+        ChangeEventListener listener = new ChangeEventListener(changeEventRequestFactory,
+                primarySearchRestClientService, writeJournal, indices);
+        return new KafkaIngestionConfig(environmentReader).changeEventListenerContainer(listener);
+    }
+
+    private static void send(EmbeddedKafkaBroker broker, String topic, int partition, String... ids) {
+        Map<String, Object> properties = KafkaTestUtils.producerProps(broker);
+        try (Producer<String, String> producer =
+                new KafkaProducer<>(properties, new StringSerializer(), new StringSerializer())) {
+            for (String id : ids) {
+                producer.send(new ProducerRecord<>(topic, partition, id, id));
+            }
+        }
+    }
+
+    private static void awaitCommitted(EmbeddedKafkaBroker broker, String groupId, String topic,
+            long partition0, long partition1) throws Exception {
+        long deadline = System.currentTimeMillis() + WAIT_MS;
+        while (committed(broker, groupId, topic, 0) != partition0
+                || committed(broker, groupId, topic, 1) != partition1) {
+            assertTrue(System.currentTimeMillis() < deadline, "Offsets were not committed");
+            Thread.sleep(100);
+        }
+    }
+
+    private static long committed(EmbeddedKafkaBroker broker, String groupId, String topic, int partition)
+            throws Exception {
+        OffsetAndMetadata offset = KafkaTestUtils.getCurrentOffset(broker.getBrokersAsString(), groupId, topic,
+                partition);
+        return offset == null ? 0 : offset.offset();
+    }
+
+    private static List<String> ids(BulkRequest bulkRequest) {
+        return bulkRequest.requests().stream().map(DocWriteRequest::id).collect(Collectors.toList());
+    }
+
+    private List<String> written() {
+        synchronized (bulkIds) {
+            return bulkIds.stream().flatMap(List::stream).collect(Collectors.toList());
+        }
+    }
+
+    private static List<String> only(List<String> ids, String prefix) {
+        return ids.stream().filter(id -> id.startsWith(prefix)).collect(Collectors.toList());
+    }
+}
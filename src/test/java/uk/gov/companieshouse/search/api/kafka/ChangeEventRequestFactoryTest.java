@@ -0,0 +1,139 @@
+package uk.gov.companieshouse.search.api.kafka;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.util.Optional;
+import javax.naming.ServiceUnavailableException;
+import org.elasticsearch.action.DocWriteRequest;
+import org.elasticsearch.action.delete.DeleteRequest;
+import org.elasticsearch.action.update.UpdateRequest;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import uk.gov.companieshouse.api.company.Data;
+import uk.gov.companieshouse.api.disqualification.OfficerDisqualification;
+import uk.gov.companieshouse.api.officer.AppointmentList;
+import uk.gov.companieshouse.search.api.exception.UpsertException;
+import uk.gov.companieshouse.search.api.service.upsert.company.CompanySearchUpsertRequestService;
+import uk.gov.companieshouse.search.api.service.upsert.disqualified.DisqualifiedUpsertRequestService;
+import uk.gov.companieshouse.search.api.service.upsert.officers.OfficersUpsertRequestService;
+import uk.gov.companieshouse.search.api.util.ConfiguredIndexNamesProvider;
+
+@ExtendWith(MockitoExtension.class)
+class ChangeEventRequestFactoryTest {
+
+    private static final String INDEX = "primary_search";
+    private static final String ID = "00006400";
+
+    @Mock
+    private CompanySearchUpsertRequestService companySearchUpsertRequestService;
+
+    @Mock
+    private OfficersUpsertRequestService officersUpsertRequestService;
+
+    @Mock
+    private DisqualifiedUpsertRequestService disqualifiedUpsertRequestService;
+
+    @Mock
+    private ConfiguredIndexNamesProvider indices;
+
+    private ChangeEventRequestFactory factory;
+
+    private final UpdateRequest updateRequest = new UpdateRequest(INDEX, INDEX, ID);
+
+    @BeforeEach
+    void setUp() {
+        factory = new ChangeEventRequestFactory(new ObjectMapper(), companySearchUpsertRequestService,
+                officersUpsertRequestService, disqualifiedUpsertRequestService, indices);
+        when(indices.primary()).thenReturn(INDEX);
+    }
+
+    @Test
+    @DisplayName("A changed company profile is upserted with the company search request service")
+    void changedCompanyProfile() throws Exception {
+        when(companySearchUpsertRequestService.createUpdateRequest(eq(ID), any(Data.class)))
+                .thenReturn(updateRequest);
+
+        Optional<DocWriteRequest<?>> request = factory.createRequest(event("company-profile", "changed"));
+
+        assertSame(updateRequest, request.orElseThrow());
+    }
+
+    @Test
+    @DisplayName("Changed officer appointments are upserted with the officers request service")
+    void changedOfficerAppointments() throws Exception {
+        when(officersUpsertRequestService.createUpdateRequest(any(AppointmentList.class), eq(ID)))
+                .thenReturn(updateRequest);
+
+        Optional<DocWriteRequest<?>> request = factory.createRequest(event("officer-appointments", "changed"));
+
+        assertSame(updateRequest, request.orElseThrow());
+    }
+
+    @Test
+    @DisplayName("A changed disqualified officer is upserted with the disqualified request service")
+    void changedDisqualifiedOfficer() throws Exception {
+        when(disqualifiedUpsertRequestService.createUpdateRequest(any(OfficerDisqualification.class), eq(ID)))
+                .thenReturn(updateRequest);
+
+        Optional<DocWriteRequest<?>> request = factory.createRequest(event("disqualified-officer", "changed"));
+
+        assertSame(updateRequest, request.orElseThrow());
+    }
+
+    @Test
+    @DisplayName("A deleted resource is deleted from the primary index")
+    void deleted() throws Exception {
+        Optional<DocWriteRequest<?>> request = factory.createRequest(event("officer-appointments", "deleted"));
+
+        DeleteRequest deleteRequest = (DeleteRequest) request.orElseThrow();
+        assertEquals(INDEX, deleteRequest.index());
+        assertEquals(ID, deleteRequest.id());
+        verifyNoInteractions(officersUpsertRequestService);
+    }
+
+    @Test
+    @DisplayName("Events that cannot be applied are skipped")
+    void skipsUnusableEvents() throws Exception {
+        assertFalse(factory.createRequest("not json").isPresent());
+        assertFalse(factory.createRequest("{\"resource_kind\":\"company-profile\",\"event_type\":\"changed\"}")
+                .isPresent());
+        assertFalse(factory.createRequest(event("charges", "changed")).isPresent());
+        assertFalse(factory.createRequest(event("company-profile", "archived")).isPresent());
+    }
+
+    @Test
+    @DisplayName("An event whose document cannot be converted is skipped")
+    void skipsUnconvertibleDocument() throws Exception {
+        when(companySearchUpsertRequestService.createUpdateRequest(eq(ID), any(Data.class)))
+                .thenThrow(new UpsertException("Unable to create update request"));
+
+        assertFalse(factory.createRequest(event("company-profile", "changed")).isPresent());
+    }
+
+    @Test
+    @DisplayName("An event that cannot be converted while the alpha key service is unavailable is not skipped")
+    void alphaKeyServiceUnavailable() throws Exception {
+        when(disqualifiedUpsertRequestService.createUpdateRequest(any(OfficerDisqualification.class), eq(ID)))
+                .thenThrow(new ServiceUnavailableException());
+
+        assertThrows(ServiceUnavailableException.class,
+                () -> factory.createRequest(event("disqualified-officer", "changed")));
+    }
+
+    private static String event(String kind, String type) {
+        return String.format("{\"resource_kind\":\"%s\",\"resource_id\":\"%s\",\"event_type\":\"%s\","
+                + "\"data\":{},\"published_at\":\"2024-01-01T00:00:00Z\"}", kind, ID, type);
+    }
+}
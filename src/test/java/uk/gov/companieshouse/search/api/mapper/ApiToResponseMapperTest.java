@@ -4,15 +4,23 @@ import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.mockito.Mockito.when;
+import static org.springframework.http.HttpStatus.ACCEPTED;
 import static org.springframework.http.HttpStatus.BAD_REQUEST;
+import static org.springframework.http.HttpStatus.CONFLICT;
 import static org.springframework.http.HttpStatus.INTERNAL_SERVER_ERROR;
 import static org.springframework.http.HttpStatus.NOT_FOUND;
 import static org.springframework.http.HttpStatus.OK;
+import static org.springframework.http.HttpStatus.TOO_MANY_REQUESTS;
 import static org.springframework.http.HttpStatus.UNPROCESSABLE_ENTITY;
 import static uk.gov.companieshouse.search.api.model.response.ResponseStatus.ADVANCED_SIZE_PARAMETER_ERROR;
+import static uk.gov.companieshouse.search.api.model.response.ResponseStatus.CONSISTENCY_CHECK_IN_PROGRESS;
 import static uk.gov.companieshouse.search.api.model.response.ResponseStatus.DATE_FORMAT_ERROR;
+import static uk.gov.companieshouse.search.api.model.response.ResponseStatus.DOCUMENT_JOURNALED;
 import static uk.gov.companieshouse.search.api.model.response.ResponseStatus.DOCUMENT_UPSERTED;
+import static uk.gov.companieshouse.search.api.model.response.ResponseStatus.FULL_DOCUMENT_REQUIRED;
 import static uk.gov.companieshouse.search.api.model.response.ResponseStatus.MAPPING_ERROR;
+import static uk.gov.companieshouse.search.api.model.response.ResponseStatus.REBUILD_IN_PROGRESS;
+import static uk.gov.companieshouse.search.api.model.response.ResponseStatus.REBUILD_REQUEST_ERROR;
 import static uk.gov.companieshouse.search.api.model.response.ResponseStatus.REQUEST_PARAMETER_ERROR;
 import static uk.gov.companieshouse.search.api.model.response.ResponseStatus.SEARCH_ERROR;
 import static uk.gov.companieshouse.search.api.model.response.ResponseStatus.SEARCH_FOUND;
@@ -21,6 +29,7 @@ import static uk.gov.companieshouse.search.api.model.response.ResponseStatus.SER
 import static uk.gov.companieshouse.search.api.model.response.ResponseStatus.SIZE_PARAMETER_ERROR;
 import static uk.gov.companieshouse.search.api.model.response.ResponseStatus.UPDATE_REQUEST_ERROR;
 import static uk.gov.companieshouse.search.api.model.response.ResponseStatus.UPSERT_ERROR;
+import static uk.gov.companieshouse.search.api.model.response.ResponseStatus.WRITE_REJECTED;
 
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -28,6 +37,7 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import uk.gov.companieshouse.environment.EnvironmentReader;
@@ -74,6 +84,48 @@ class ApiToResponseMapperTest {
         assertEquals(OK, responseEntity.getStatusCode());
     }
 
+    @Test
+    @DisplayName("Test if Accepted returned")
+    void testAcceptedReturned() {
+
+        ResponseObject responseObject =
+            new ResponseObject(DOCUMENT_JOURNALED);
+
+        ResponseEntity<?> responseEntity = apiToResponseMapper.map(responseObject);
+
+        assertNotNull(responseEntity);
+        assertNull(responseEntity.getBody());
+        assertEquals(ACCEPTED, responseEntity.getStatusCode());
+    }
+
+    @Test
+    @DisplayName("Test if Conflict returned when the full document is required")
+    void testFullDocumentRequiredReturned() {
+
+        ResponseObject responseObject =
+            new ResponseObject(FULL_DOCUMENT_REQUIRED);
+
+        ResponseEntity<?> responseEntity = apiToResponseMapper.map(responseObject);
+
+        assertNotNull(responseEntity);
+        assertEquals(CONFLICT, responseEntity.getStatusCode());
+    }
+
+    @Test
+    @DisplayName("Test if Too Many Requests returned with Retry-After")
+    void testWriteRejectedReturned() {
+        when(mockEnvironmentReader.getOptionalInteger("WRITE_RETRY_AFTER_SECONDS")).thenReturn(10);
+
+        ResponseObject responseObject =
+            new ResponseObject(WRITE_REJECTED);
+
+        ResponseEntity<?> responseEntity = apiToResponseMapper.map(responseObject);
+
+        assertNotNull(responseEntity);
+        assertEquals(TOO_MANY_REQUESTS, responseEntity.getStatusCode());
+        assertEquals("10", responseEntity.getHeaders().getFirst(HttpHeaders.RETRY_AFTER));
+    }
+
     @Test
     @DisplayName("Test if Not Found returned")
     void testNotFoundReturned() {
@@ -163,6 +215,35 @@ class ApiToResponseMapperTest {
             responseEntity.getBody());
     }
 
+    @Test
+    @DisplayName("Test if Conflict returned when an index rebuild is already running")
+    void testRebuildInProgressReturned() {
+
+        ResponseEntity<?> responseEntity = apiToResponseMapper.map(new ResponseObject(REBUILD_IN_PROGRESS));
+
+        assertEquals(CONFLICT, responseEntity.getStatusCode());
+        assertEquals("An index rebuild is already running", responseEntity.getBody());
+    }
+
+    @Test
+    @DisplayName("Test if Bad Request returned when an index rebuild is refused")
+    void testRebuildRequestErrorReturned() {
+
+        ResponseEntity<?> responseEntity = apiToResponseMapper.map(new ResponseObject(REBUILD_REQUEST_ERROR));
+
+        assertEquals(BAD_REQUEST, responseEntity.getStatusCode());
+    }
+
+    @Test
+    @DisplayName("Test if Conflict returned when a consistency check is already running")
+    void testConsistencyCheckInProgressReturned() {
+
+        ResponseEntity<?> responseEntity = apiToResponseMapper.map(new ResponseObject(CONSISTENCY_CHECK_IN_PROGRESS));
+
+        assertEquals(CONFLICT, responseEntity.getStatusCode());
+        assertEquals("A consistency check is already running", responseEntity.getBody());
+    }
+
     @Test
     @DisplayName("Test if Request Parameter Error returned")
     void testRequestParamErrorReturned() {
@@ -1,6 +1,7 @@
 package uk.gov.companieshouse.search.api.mapper;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.ArgumentMatchers.eq;
@@ -12,21 +13,24 @@ import java.time.LocalDate;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
+import org.apache.commons.lang3.tuple.Pair;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
-import org.springframework.core.convert.ConversionService;
 import uk.gov.companieshouse.api.company.Data;
 import uk.gov.companieshouse.api.company.Links;
 import uk.gov.companieshouse.api.company.PreviousCompanyNames;
 import uk.gov.companieshouse.api.company.RegisteredOfficeAddress;
 import uk.gov.companieshouse.search.api.model.esdatamodel.CompanySearchDocument;
 import uk.gov.companieshouse.search.api.model.esdatamodel.CompanySearchItem;
+import uk.gov.companieshouse.search.api.model.esdatamodel.CompanySearchItemConverterModel;
 import uk.gov.companieshouse.search.api.model.esdatamodel.CompanySearchLinks;
 import uk.gov.companieshouse.search.api.model.response.AlphaKeyResponse;
-import uk.gov.companieshouse.search.api.service.AlphaKeyService;
+import uk.gov.companieshouse.search.api.service.StoredAlphaKeyService;
+import uk.gov.companieshouse.search.api.service.StoredAlphaKeyService.StoredIndex;
 
 @ExtendWith(MockitoExtension.class)
 class CompanySearchDocumentConverterTest {
@@ -34,17 +38,17 @@ class CompanySearchDocumentConverterTest {
     private CompanySearchDocumentConverter converter;
 
     @Mock
-    private ConversionService companySearchItemConverter;
+    private CompanySearchItemConverter companySearchItemConverter;
 
     @Mock
-    private AlphaKeyService alphaKeyService;
+    private StoredAlphaKeyService storedAlphaKeyService;
 
     @Mock
     private AlphaKeyResponse alphaKeyResponse;
 
     @BeforeEach
     void setUp() {
-        converter = new CompanySearchDocumentConverter(companySearchItemConverter, alphaKeyService);
+        converter = new CompanySearchDocumentConverter(companySearchItemConverter, storedAlphaKeyService);
     }
 
     @Test
@@ -63,9 +67,9 @@ class CompanySearchDocumentConverterTest {
                 .links(new CompanySearchLinks("/company/ABCD1234"))
                 .build();;
 
-        when(alphaKeyService.getAlphaKeyForCorporateName(anyString())).thenReturn(alphaKeyResponse);
+        when(storedAlphaKeyService.getAlphaKey(eq(StoredIndex.PRIMARY), any(), anyString())).thenReturn(alphaKeyResponse);
         when(alphaKeyResponse.getOrderedAlphaKey()).thenReturn("TESTCOMPANYPLC");
-        when(companySearchItemConverter.convert(any(), eq(CompanySearchItem.class)))
+        when(companySearchItemConverter.convert(any()))
                 .thenReturn(CompanySearchItem.Builder.builder().build());
 
         // when
@@ -73,9 +77,15 @@ class CompanySearchDocumentConverterTest {
 
         // then
         assertEquals(expected, actual);
-        verify(alphaKeyService).getAlphaKeyForCorporateName("TEST COMPANY PLC");
-        verify(companySearchItemConverter, times(4)).convert(any(),
-                eq(CompanySearchItem.class));
+        verify(storedAlphaKeyService).getAlphaKey(StoredIndex.PRIMARY, "ABCD1234", "TEST COMPANY PLC");
+        ArgumentCaptor<CompanySearchItemConverterModel> models =
+                ArgumentCaptor.forClass(CompanySearchItemConverterModel.class);
+        verify(companySearchItemConverter, times(4)).convert(models.capture());
+        String fullAddress = "care of name, po box, premises, address line 1, address line 2, locality, region, "
+                + "country, postal code";
+        models.getAllValues().forEach(model -> assertEquals(fullAddress, model.getFullAddress()));
+        assertEquals(Pair.of("TEST COMPANY", "PLC"), models.getAllValues().get(0).getCorporateNameEndings());
+        assertNull(models.getAllValues().get(1).getCorporateNameEndings());
     }
 
     @Test
@@ -93,7 +103,7 @@ class CompanySearchDocumentConverterTest {
                 .links(new CompanySearchLinks("links"))
                 .build();
 
-        when(alphaKeyService.getAlphaKeyForCorporateName(anyString())).thenReturn(alphaKeyResponse);
+        when(storedAlphaKeyService.getAlphaKey(eq(StoredIndex.PRIMARY), any(), anyString())).thenReturn(alphaKeyResponse);
         when(alphaKeyResponse.getOrderedAlphaKey()).thenReturn("TESTCOMPANYPLC");
 
         // when
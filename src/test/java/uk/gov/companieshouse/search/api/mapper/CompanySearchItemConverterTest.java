@@ -8,6 +8,7 @@ import static org.mockito.Mockito.when;
 
 import java.time.LocalDate;
 import java.util.Arrays;
+import org.apache.commons.lang3.tuple.Pair;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -127,6 +128,31 @@ class CompanySearchItemConverterTest {
         assertEquals(expected, actual);
     }
 
+    @Test
+    void convertPartialDataUsesSharedRendering() {
+        // given
+        CompanySearchItemConverterModel model = new CompanySearchItemConverterModel()
+                .partialData(true)
+                .companyName("PAST COMPANY PLC")
+                .corporateNameEndings(Pair.of("SHARED START", "LTD"))
+                .ceasedOn(LocalDate.of(2022, 6, 24))
+                .registeredOfficeAddress(getROAProperites())
+                .fullAddress("shared address");
+
+        CompanySearchItem expected = CompanySearchItem.Builder.builder()
+                .corporateNameStart("SHARED START")
+                .corporateNameEnding("LTD")
+                .fullAddress("shared address")
+                .ceasedOn(LocalDate.of(2022, 6, 24))
+                .build();
+
+        // when
+        CompanySearchItem actual = converter.convert(model);
+
+        //then
+        assertEquals(expected, actual);
+    }
+
     @Test
     void convertWithNullValues() {
         // given
@@ -8,6 +8,7 @@ import java.time.LocalDate;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import uk.gov.companieshouse.api.officer.Address;
+import uk.gov.companieshouse.api.officer.ItemLinkTypes;
 import uk.gov.companieshouse.api.officer.NameElements;
 import uk.gov.companieshouse.api.officer.OfficerAppointmentSummary;
 import uk.gov.companieshouse.search.api.model.esdatamodel.OfficerAppointmentConverterModel;
@@ -15,6 +16,7 @@ import uk.gov.companieshouse.search.api.model.esdatamodel.OfficerSearchAppointme
 
 class OfficerAppointmentSummaryConverterTest {
 
+    private static final String APPOINTMENT_ID = "appointmentId";
     private static final LocalDate DATE = LocalDate.of(2023, 7, 4);
     private static final String FULL_ADDRESS = "Care Of, PO BOX, 123 Address Line 1, Address Line 2, Locality, Region, Country, Postal Code";
     private OfficerAppointmentSummaryConverter converter;
@@ -47,7 +49,8 @@ class OfficerAppointmentSummaryConverterTest {
                         .otherForenames("Other Forenames")
                         .surname("Surname")
                         .title("Dr"))
-                .name("Forename Other Forenames Surname");
+                .name("Forename Other Forenames Surname")
+                .links(new ItemLinkTypes().self("/company/12345678/appointments/" + APPOINTMENT_ID));
 
         OfficerAppointmentConverterModel converterModel = new OfficerAppointmentConverterModel()
                 .officerAppointmentSummary(appointmentSummary)
@@ -55,6 +58,7 @@ class OfficerAppointmentSummaryConverterTest {
                 .corporateOfficer(false);
 
         OfficerSearchAppointment expected = new OfficerSearchAppointment()
+                        .appointmentId(APPOINTMENT_ID)
                         .officerRole(OfficerRoleEnum.DIRECTOR.toString())
                         .fullAddress(FULL_ADDRESS)
                         .forename("Forename")
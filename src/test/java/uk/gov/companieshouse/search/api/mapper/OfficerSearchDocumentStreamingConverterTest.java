@@ -0,0 +1,170 @@
+package uk.gov.companieshouse.search.api.mapper;
+
+import static java.util.Collections.emptyList;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.NoSuchElementException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.convert.support.GenericConversionService;
+import uk.gov.companieshouse.api.officer.Address;
+import uk.gov.companieshouse.api.officer.AppointmentList;
+import uk.gov.companieshouse.api.officer.DateOfBirth;
+import uk.gov.companieshouse.api.officer.ItemLinkTypes;
+import uk.gov.companieshouse.api.officer.NameElements;
+import uk.gov.companieshouse.api.officer.OfficerAppointmentSummary;
+import uk.gov.companieshouse.api.officer.OfficerAppointmentSummary.OfficerRoleEnum;
+import uk.gov.companieshouse.api.officer.OfficerLinkTypes;
+import uk.gov.companieshouse.search.api.util.AlphaKeyMapper;
+
+class OfficerSearchDocumentStreamingConverterTest {
+
+    private static final LocalDate DATE = LocalDate.of(2023, 7, 4);
+
+    private final ObjectMapper mapper = new ObjectMapper()
+            .setSerializationInclusion(JsonInclude.Include.NON_NULL)
+            .registerModule(new JavaTimeModule())
+            .configure(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS, false);
+
+    private OfficerSearchDocumentStreamingConverter converter;
+    private OfficerAppointmentsListConverter listConverter;
+
+    @BeforeEach
+    void setUp() {
+        OfficerAppointmentSummaryConverter summaryConverter = new OfficerAppointmentSummaryConverter();
+        AppointmentAddressConverter addressConverter = new AppointmentAddressConverter();
+        GenericConversionService conversionService = new GenericConversionService();
+        conversionService.addConverter(summaryConverter);
+        conversionService.addConverter(addressConverter);
+        converter = new OfficerSearchDocumentStreamingConverter(summaryConverter, addressConverter,
+                new AlphaKeyMapper(), mapper);
+        listConverter = new OfficerAppointmentsListConverter(conversionService, conversionService,
+                new AlphaKeyMapper());
+    }
+
+    @Test
+    @DisplayName("Natural officer is streamed as the same JSON as the converted and serialised document")
+    void convertNaturalOfficer() throws Exception {
+        // given
+        AppointmentList appointmentList = createAppointmentList(false, 3);
+
+        // when
+        String actual = converter.convert(appointmentList).utf8ToString();
+
+        // then
+        String expected = mapper.writeValueAsString(listConverter.convert(createAppointmentList(false, 3)));
+        assertEquals(expected, actual);
+    }
+
+    @Test
+    @DisplayName("Corporate officer is streamed as the same JSON as the converted and serialised document")
+    void convertCorporateOfficer() throws Exception {
+        // given
+        AppointmentList appointmentList = createAppointmentList(true, 3);
+
+        // when
+        String actual = converter.convert(appointmentList).utf8ToString();
+
+        // then
+        String expected = mapper.writeValueAsString(listConverter.convert(createAppointmentList(true, 3)));
+        assertEquals(expected, actual);
+    }
+
+    @Test
+    @DisplayName("Officer with thousands of appointments is streamed as the same JSON as the serialised document")
+    void convertManyAppointments() throws Exception {
+        // given
+        AppointmentList appointmentList = createAppointmentList(false, 5000);
+
+        // when
+        String actual = converter.convert(appointmentList).utf8ToString();
+
+        // then
+        String expected = mapper.writeValueAsString(listConverter.convert(createAppointmentList(false, 5000)));
+        assertEquals(expected, actual);
+    }
+
+    @Test
+    @DisplayName("Name elements are cleaned in the document without changing the appointment list")
+    void convertLeavesAppointmentListUnchanged() throws Exception {
+        // given
+        AppointmentList appointmentList = createAppointmentList(false, 1);
+
+        // when
+        String actual = converter.convert(appointmentList).utf8ToString();
+
+        // then
+        NameElements nameElements = appointmentList.getItems().get(0).getNameElements();
+        assertEquals("-%forename", nameElements.getForename());
+        assertEquals(" surname", nameElements.getSurname());
+        assertEquals("_john-tester", nameElements.getOtherForenames());
+        assertEquals("forename", mapper.readTree(actual).get("items").get(0).get("forename").asText());
+    }
+
+    @Test
+    @DisplayName("Each appointment is written with the id from its self link")
+    void convertWritesAppointmentIds() throws Exception {
+        // given
+        AppointmentList appointmentList = createAppointmentList(false, 2);
+
+        // when
+        String actual = converter.convert(appointmentList).utf8ToString();
+
+        // then
+        assertEquals("appointment0", mapper.readTree(actual).get("items").get(0).get("appointment_id").asText());
+        assertEquals("appointment1", mapper.readTree(actual).get("items").get(1).get("appointment_id").asText());
+    }
+
+    @Test
+    @DisplayName("Should throw no such element exception when appointment list has no items")
+    void convertEmptyItems() {
+        // given
+        AppointmentList appointmentList = new AppointmentList()
+                .isCorporateOfficer(true)
+                .items(emptyList());
+
+        // when/then
+        assertThrows(NoSuchElementException.class, () -> converter.convert(appointmentList));
+    }
+
+    private static AppointmentList createAppointmentList(boolean corporateOfficer, int appointments) {
+        List<OfficerAppointmentSummary> items = new ArrayList<>();
+        for (int i = 0; i < appointments; i++) {
+            items.add(new OfficerAppointmentSummary()
+                    .officerRole(corporateOfficer ? OfficerRoleEnum.CORPORATE_DIRECTOR : OfficerRoleEnum.DIRECTOR)
+                    .appointedOn(DATE.minusDays(i))
+                    .resignedOn(i % 2 == 0 ? null : DATE)
+                    .name(corporateOfficer ? "CORPORATE OFFICER LIMITED" : "Forename Surname")
+                    .address(new Address()
+                            .premises(String.valueOf(i))
+                            .addressLine1("Crown Way")
+                            .locality("Cardiff")
+                            .postalCode("CF14 3UZ"))
+                    .nameElements(corporateOfficer ? null : new NameElements()
+                            .title("Dr")
+                            .forename("-%forename")
+                            .surname(" surname")
+                            .otherForenames("_john-tester"))
+                    .links(new ItemLinkTypes().self("/company/00006400/appointments/appointment" + i)));
+        }
+        return new AppointmentList()
+                .isCorporateOfficer(corporateOfficer)
+                .activeCount(appointments / 2)
+                .inactiveCount(0)
+                .resignedCount(appointments - appointments / 2)
+                .dateOfBirth(corporateOfficer ? null : new DateOfBirth()
+                        .month(7)
+                        .year(1990))
+                .links(new OfficerLinkTypes().self("/officers/officerId/appointments"))
+                .items(items);
+    }
+}
@@ -17,6 +17,7 @@ import uk.gov.companieshouse.search.api.model.response.AlphaKeyResponse;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.when;
@@ -72,6 +73,30 @@ class AlphaKeyServiceTest {
 
     }
 
+    @Test
+    @DisplayName("Test alpha key response returned on an alphakey service thread")
+    void testAlphaKeyResponseReturnedAsynchronously() {
+
+        ResponseEntity<AlphaKeyResponse> response = new ResponseEntity<>(createAlphaKeyResponse(), HttpStatus.OK);
+
+        when(mockEnvironmentReader.getMandatoryString(anyString())).thenReturn(URL);
+
+        when(mockRestTemplate.getForEntity(anyString(), eq(AlphaKeyResponse.class))).thenAnswer(invocation -> {
+            assertTrue(Thread.currentThread().getName().startsWith("alphakey-service-"));
+            return response;
+        });
+
+        alphaKeyService.start();
+        try {
+            AlphaKeyResponse alphaKeyResponse =
+                    alphaKeyService.getAlphaKeyForCorporateNameAsync(CORPORATE_NAME).join();
+
+            assertEquals(ORDERED_ALPHA_KEY, alphaKeyResponse.getOrderedAlphaKey());
+        } finally {
+            alphaKeyService.stop();
+        }
+    }
+
     private AlphaKeyResponse createAlphaKeyResponse() {
         AlphaKeyResponse alphaKeyResponse = new AlphaKeyResponse();
 
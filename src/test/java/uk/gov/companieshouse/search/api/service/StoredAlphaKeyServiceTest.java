@@ -0,0 +1,184 @@
+package uk.gov.companieshouse.search.api.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.io.IOException;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import org.elasticsearch.action.get.GetResponse;
+import org.elasticsearch.action.get.MultiGetItemResponse;
+import org.elasticsearch.action.get.MultiGetRequest;
+import org.elasticsearch.action.get.MultiGetResponse;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import uk.gov.companieshouse.search.api.model.response.AlphaKeyResponse;
+import uk.gov.companieshouse.search.api.service.StoredAlphaKeyService.StoredIndex;
+import uk.gov.companieshouse.search.api.service.rest.impl.AdvancedSearchRestClientService;
+import uk.gov.companieshouse.search.api.service.rest.impl.AlphabeticalSearchRestClientService;
+import uk.gov.companieshouse.search.api.service.rest.impl.PrimarySearchRestClientService;
+import uk.gov.companieshouse.search.api.util.ConfiguredIndexNamesProvider;
+
+@ExtendWith(MockitoExtension.class)
+class StoredAlphaKeyServiceTest {
+
+    private static final String COMPANY_NUMBER = "12345678";
+    private static final String COMPANY_NAME = "TEST COMPANY LIMITED";
+    private static final String ORDERED_ALPHA_KEY = "TESTCOMPANY";
+    private static final String SAME_AS_ALPHA_KEY = "TESTCOMPANY";
+
+    @Mock
+    private AlphaKeyService alphaKeyService;
+
+    @Mock
+    private AlphabeticalSearchRestClientService alphabeticalSearchRestClientService;
+
+    @Mock
+    private AdvancedSearchRestClientService advancedSearchRestClientService;
+
+    @Mock
+    private PrimarySearchRestClientService primarySearchRestClientService;
+
+    @Mock
+    private ConfiguredIndexNamesProvider indices;
+
+    @Mock
+    private MultiGetResponse multiGetResponse;
+
+    @Mock
+    private MultiGetItemResponse itemResponse;
+
+    @Mock
+    private GetResponse getResponse;
+
+    @InjectMocks
+    private StoredAlphaKeyService storedAlphaKeyService;
+
+    @Test
+    @DisplayName("Stored advanced alpha keys are reused when the company name is unchanged")
+    void reusesStoredAdvancedAlphaKeys() throws Exception {
+        when(indices.advanced()).thenReturn("advanced_search");
+        when(advancedSearchRestClientService.multiGet(any())).thenReturn(multiGetResponse);
+        mockStoredDocument(advancedSource(COMPANY_NAME));
+
+        AlphaKeyResponse response = storedAlphaKeyService.getAlphaKey(StoredIndex.ADVANCED,
+                COMPANY_NUMBER, COMPANY_NAME);
+
+        assertEquals(ORDERED_ALPHA_KEY, response.getOrderedAlphaKey());
+        assertEquals(SAME_AS_ALPHA_KEY, response.getSameAsAlphaKey());
+        verify(alphaKeyService, never()).getAlphaKeyForCorporateName(anyString());
+    }
+
+    @Test
+    @DisplayName("Alpha key service is called when the company name has changed")
+    void callsAlphaKeyServiceWhenNameChanged() throws Exception {
+        AlphaKeyResponse alphaKeyResponse = new AlphaKeyResponse();
+        when(indices.advanced()).thenReturn("advanced_search");
+        when(advancedSearchRestClientService.multiGet(any())).thenReturn(multiGetResponse);
+        mockStoredDocument(advancedSource("OLD COMPANY NAME LIMITED"));
+        when(alphaKeyService.getAlphaKeyForCorporateName(COMPANY_NAME)).thenReturn(alphaKeyResponse);
+
+        AlphaKeyResponse response = storedAlphaKeyService.getAlphaKey(StoredIndex.ADVANCED,
+                COMPANY_NUMBER, COMPANY_NAME);
+
+        assertEquals(alphaKeyResponse, response);
+    }
+
+    @Test
+    @DisplayName("Alpha key service is called when the document is not yet indexed")
+    void callsAlphaKeyServiceWhenDocumentMissing() throws Exception {
+        AlphaKeyResponse alphaKeyResponse = new AlphaKeyResponse();
+        when(indices.alphabetical()).thenReturn("alpha_search");
+        when(alphabeticalSearchRestClientService.multiGet(any())).thenReturn(multiGetResponse);
+        when(multiGetResponse.getResponses()).thenReturn(new MultiGetItemResponse[]{itemResponse});
+        when(itemResponse.getResponse()).thenReturn(getResponse);
+        when(getResponse.isExists()).thenReturn(false);
+        when(alphaKeyService.getAlphaKeyForCorporateName(COMPANY_NAME)).thenReturn(alphaKeyResponse);
+
+        AlphaKeyResponse response = storedAlphaKeyService.getAlphaKey(StoredIndex.ALPHABETICAL,
+                COMPANY_NUMBER, COMPANY_NAME);
+
+        assertEquals(alphaKeyResponse, response);
+    }
+
+    @Test
+    @DisplayName("Alpha key service is called when stored keys cannot be read")
+    void fallsBackToAlphaKeyServiceOnIOException() throws Exception {
+        when(indices.alphabetical()).thenReturn("alpha_search");
+        when(alphabeticalSearchRestClientService.multiGet(any())).thenThrow(IOException.class);
+        when(alphaKeyService.getAlphaKeyForCorporateName(COMPANY_NAME)).thenReturn(null);
+
+        AlphaKeyResponse response = storedAlphaKeyService.getAlphaKey(StoredIndex.ALPHABETICAL,
+                COMPANY_NUMBER, COMPANY_NAME);
+
+        assertNull(response);
+        verify(alphaKeyService).getAlphaKeyForCorporateName(COMPANY_NAME);
+    }
+
+    @Test
+    @DisplayName("Stored primary alpha key is read from the sort key when the name is unchanged")
+    void reusesStoredPrimaryAlphaKey() throws Exception {
+        Map<String, Object> item = new HashMap<>();
+        item.put("corporate_name_start", "TEST COMPANY");
+        item.put("corporate_name_ending", "LIMITED");
+        Map<String, Object> source = new HashMap<>();
+        source.put("sort_key", ORDERED_ALPHA_KEY + "0");
+        source.put("items", List.of(item));
+
+        when(indices.primary()).thenReturn("primary_search");
+        when(primarySearchRestClientService.multiGet(any())).thenReturn(multiGetResponse);
+        mockStoredDocument(source);
+
+        AlphaKeyResponse response = storedAlphaKeyService.getAlphaKey(StoredIndex.PRIMARY,
+                COMPANY_NUMBER, COMPANY_NAME);
+
+        assertEquals(ORDERED_ALPHA_KEY, response.getOrderedAlphaKey());
+        verify(alphaKeyService, never()).getAlphaKeyForCorporateName(anyString());
+    }
+
+    @Test
+    @DisplayName("Stored documents are read in batches of one hundred")
+    void readsStoredDocumentsInBatches() throws Exception {
+        Map<String, String> companyNamesById = new HashMap<>();
+        for (int i = 0; i < 150; i++) {
+            companyNamesById.put(String.valueOf(i), COMPANY_NAME);
+        }
+        when(indices.alphabetical()).thenReturn("alpha_search");
+        when(alphabeticalSearchRestClientService.multiGet(any(MultiGetRequest.class))).thenReturn(multiGetResponse);
+        when(multiGetResponse.getResponses()).thenReturn(new MultiGetItemResponse[0]);
+
+        storedAlphaKeyService.getAlphaKeys(StoredIndex.ALPHABETICAL, companyNamesById);
+
+        verify(alphabeticalSearchRestClientService, times(2)).multiGet(any(MultiGetRequest.class));
+        verify(alphaKeyService, times(150)).getAlphaKeyForCorporateName(COMPANY_NAME);
+    }
+
+    private void mockStoredDocument(Map<String, Object> source) {
+        when(multiGetResponse.getResponses()).thenReturn(new MultiGetItemResponse[]{itemResponse});
+        when(itemResponse.getResponse()).thenReturn(getResponse);
+        when(itemResponse.isFailed()).thenReturn(false);
+        when(itemResponse.getId()).thenReturn(COMPANY_NUMBER);
+        when(getResponse.isExists()).thenReturn(true);
+        when(getResponse.getSourceAsMap()).thenReturn(source);
+    }
+
+    private Map<String, Object> advancedSource(String storedName) {
+        Map<String, Object> currentCompany = new HashMap<>();
+        currentCompany.put("corporate_name", storedName);
+        currentCompany.put("wildcard_key", ORDERED_ALPHA_KEY);
+        currentCompany.put("same_as_key", SAME_AS_ALPHA_KEY);
+        return Collections.singletonMap("current_company", currentCompany);
+    }
+}
@@ -0,0 +1,231 @@
+package uk.gov.companieshouse.search.api.service.consistency;
+
+import static org.apache.lucene.search.TotalHits.Relation.EQUAL_TO;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.when;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+import org.apache.lucene.search.TotalHits;
+import org.elasticsearch.action.search.SearchResponse;
+import org.elasticsearch.action.search.SearchResponseSections;
+import org.elasticsearch.action.search.ShardSearchFailure;
+import org.elasticsearch.common.bytes.BytesArray;
+import org.elasticsearch.search.DocValueFormat;
+import org.elasticsearch.search.SearchHit;
+import org.elasticsearch.search.SearchHits;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import uk.gov.companieshouse.environment.EnvironmentReader;
+import uk.gov.companieshouse.search.api.model.ConsistencyRepair;
+import uk.gov.companieshouse.search.api.model.response.ConsistencyCheckProgress;
+import uk.gov.companieshouse.search.api.model.response.ConsistencyCheckProgress.State;
+import uk.gov.companieshouse.search.api.model.response.ResponseStatus;
+import uk.gov.companieshouse.search.api.service.rest.impl.AdvancedSearchRestClientService;
+import uk.gov.companieshouse.search.api.service.rest.impl.AlphabeticalSearchRestClientService;
+import uk.gov.companieshouse.search.api.service.rest.impl.PrimarySearchRestClientService;
+import uk.gov.companieshouse.search.api.util.ConfiguredIndexNamesProvider;
+
+@ExtendWith(MockitoExtension.class)
+class ConsistencyCheckServiceTest {
+
+    private static final ConsistencyIndex[] INDICES = ConsistencyIndex.values();
+
+    @Mock
+    private ConfiguredIndexNamesProvider indices;
+
+    @Mock
+    private AlphabeticalSearchRestClientService alphabeticalSearchRestClientService;
+
+    @Mock
+    private AdvancedSearchRestClientService advancedSearchRestClientService;
+
+    @Mock
+    private PrimarySearchRestClientService primarySearchRestClientService;
+
+    @Mock
+    private EnvironmentReader environmentReader;
+
+    @TempDir
+    Path repairDirectory;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @Test
+    @DisplayName("A company every index holds with the same fingerprint needs no repair")
+    void noRepairWhenConsistent() {
+        assertTrue(ConsistencyCheckService.compare("00006400", INDICES,
+                fingerprints(company("ACME"), company("ACME"), company("ACME"))).isEmpty());
+    }
+
+    @Test
+    @DisplayName("A company missing from an index is repaired in that index")
+    void repairsMissingCompany() {
+        ConsistencyRepair repair = ConsistencyCheckService.compare("00006400", INDICES,
+                fingerprints(company("ACME"), null, company("ACME"))).orElseThrow();
+
+        assertEquals(List.of("advanced"), repair.getMissingFrom());
+        assertTrue(repair.getMismatchedIn().isEmpty());
+    }
+
+    @Test
+    @DisplayName("A company differing from the majority is repaired only in the odd index out")
+    void repairsOddOneOut() {
+        ConsistencyRepair repair = ConsistencyCheckService.compare("00006400", INDICES,
+                fingerprints(company("ACME"), company("ACME"), company("ACME HOLDINGS"))).orElseThrow();
+
+        assertTrue(repair.getMissingFrom().isEmpty());
+        assertEquals(List.of("primary"), repair.getMismatchedIn());
+    }
+
+    @Test
+    @DisplayName("A company without a majority fingerprint is repaired in every index holding it")
+    void repairsEveryIndexWithoutMajority() {
+        ConsistencyRepair repair = ConsistencyCheckService.compare("00006400", INDICES,
+                fingerprints(company("ACME"), company("ACME HOLDINGS"), null)).orElseThrow();
+
+        assertEquals(List.of("primary"), repair.getMissingFrom());
+        assertEquals(List.of("alphabetical", "advanced"), repair.getMismatchedIn());
+    }
+
+    @Test
+    @DisplayName("The primary index's split name is fingerprinted the same as the other indices' names")
+    void primaryNameMatchesOtherIndices() {
+        CompanyFingerprint alphabetical = ConsistencyIndex.ALPHABETICAL.fingerprint("00006400",
+                source(alphabeticalSource("00006400", "ACME LIMITED")));
+        CompanyFingerprint primary = ConsistencyIndex.PRIMARY.fingerprint("00006400",
+                source(primarySource("00006400", "ACME", "LIMITED")));
+
+        assertEquals(alphabetical.getFingerprint(), primary.getFingerprint());
+    }
+
+    @Test
+    @DisplayName("A consistency check is refused without a repair directory")
+    void refusedWithoutRepairDirectory() {
+        ConsistencyCheckService service = service(null);
+
+        assertEquals(ResponseStatus.CONSISTENCY_CHECK_REQUEST_ERROR, service.start());
+        assertNull(service.getProgress());
+    }
+
+    @Test
+    @DisplayName("A consistency check merges the indices and writes a repair for each inconsistent company")
+    void writesRepairList() throws Exception {
+        ConsistencyCheckService service = service(repairDirectory.toString());
+        when(indices.alphabetical()).thenReturn("alphabetical-search");
+        when(indices.advanced()).thenReturn("advanced-search");
+        when(indices.primary()).thenReturn("primary-search");
+        when(alphabeticalSearchRestClientService.search(any())).thenReturn(response(
+                hit("00000001", alphabeticalSource("00000001", "ACME LIMITED")),
+                hit("00000002", alphabeticalSource("00000002", "BETA LIMITED"))));
+        when(alphabeticalSearchRestClientService.scroll(any())).thenReturn(response());
+        when(advancedSearchRestClientService.search(any())).thenReturn(response(
+                hit("00000001", advancedSource("00000001", "ACME LIMITED")),
+                hit("00000002", advancedSource("00000002", "BETA HOLDINGS LIMITED"))));
+        when(advancedSearchRestClientService.scroll(any())).thenReturn(response());
+        when(primarySearchRestClientService.search(any())).thenReturn(response(
+                hit("00000001", primarySource("00000001", "ACME", "LIMITED")),
+                hit("00000003", primarySource("00000003", "GAMMA", "LIMITED"))));
+        when(primarySearchRestClientService.scroll(any())).thenReturn(response());
+        Path repairList = repairDirectory.resolve("repairs.ndjson");
+        ConsistencyCheckProgress progress = new ConsistencyCheckProgress("repairs.ndjson");
+
+        service.run(repairList, progress);
+
+        assertEquals(State.FINISHED, progress.getState());
+        assertEquals(3L, progress.getCompaniesChecked());
+        assertEquals(2L, progress.getRepairs());
+        assertEquals(2L, progress.getDocumentsRead().get("primary"));
+        assertEquals(List.of(
+                "{\"company_number\":\"00000002\",\"missing_from\":[\"primary\"],"
+                        + "\"mismatched_in\":[\"alphabetical\",\"advanced\"]}",
+                "{\"company_number\":\"00000003\",\"missing_from\":[\"alphabetical\",\"advanced\"]}"),
+                Files.readAllLines(repairList, StandardCharsets.UTF_8));
+    }
+
+    @Test
+    @DisplayName("A consistency check fails when an index is not sorted by company number")
+    void failsWhenIndexNotSorted() throws Exception {
+        ConsistencyCheckService service = service(repairDirectory.toString());
+        when(indices.alphabetical()).thenReturn("alphabetical-search");
+        when(indices.advanced()).thenReturn("advanced-search");
+        when(indices.primary()).thenReturn("primary-search");
+        when(alphabeticalSearchRestClientService.search(any())).thenReturn(response(
+                hit("00000002", alphabeticalSource("00000002", "BETA LIMITED")),
+                hit("00000001", alphabeticalSource("00000001", "ACME LIMITED"))));
+        when(advancedSearchRestClientService.search(any())).thenReturn(response());
+        when(primarySearchRestClientService.search(any())).thenReturn(response());
+        ConsistencyCheckProgress progress = new ConsistencyCheckProgress("repairs.ndjson");
+
+        service.run(repairDirectory.resolve("repairs.ndjson"), progress);
+
+        assertEquals(State.FAILED, progress.getState());
+        assertTrue(progress.getMessage().contains("not sorted by company number"));
+    }
+
+    private ConsistencyCheckService service(String directory) {
+        when(environmentReader.getOptionalString(anyString())).thenReturn(directory);
+        when(environmentReader.getOptionalInteger(anyString())).thenReturn(null);
+        when(environmentReader.getOptionalInteger("CONSISTENCY_CHECK_SLICES")).thenReturn(1);
+        return new ConsistencyCheckService(indices, alphabeticalSearchRestClientService,
+                advancedSearchRestClientService, primarySearchRestClientService, objectMapper, environmentReader,
+                new SimpleMeterRegistry());
+    }
+
+    private static CompanyFingerprint company(String name) {
+        return CompanyFingerprint.of("00006400", name, "active", "ltd");
+    }
+
+    private static CompanyFingerprint[] fingerprints(CompanyFingerprint... fingerprints) {
+        return fingerprints;
+    }
+
+    private static String alphabeticalSource(String companyNumber, String name) {
+        return "{\"company_type\":\"ltd\",\"items\":{\"company_number\":\"" + companyNumber + "\","
+                + "\"corporate_name\":\"" + name + "\",\"company_status\":\"active\"}}";
+    }
+
+    private static String advancedSource(String companyNumber, String name) {
+        return "{\"company_type\":\"ltd\",\"current_company\":{\"company_number\":\"" + companyNumber + "\","
+                + "\"corporate_name\":\"" + name + "\",\"company_status\":\"active\"}}";
+    }
+
+    private static String primarySource(String companyNumber, String nameStart, String nameEnding) {
+        return "{\"company_type\":\"ltd\",\"items\":[{\"company_number\":\"" + companyNumber + "\","
+                + "\"corporate_name_start\":\"" + nameStart + "\",\"corporate_name_ending\":\"" + nameEnding + "\","
+                + "\"company_status\":\"active\"},{\"corporate_name_start\":\"PREVIOUS\"}]}";
+    }
+
+    private static Map<String, Object> source(String json) {
+        SearchHit hit = new SearchHit(1);
+        hit.sourceRef(new BytesArray(json));
+        return hit.getSourceAsMap();
+    }
+
+    private static SearchHit hit(String companyNumber, String source) {
+        SearchHit hit = new SearchHit(1);
+        hit.sourceRef(new BytesArray(source));
+        hit.sortValues(new Object[] {companyNumber}, new DocValueFormat[] {DocValueFormat.RAW});
+        return hit;
+    }
+
+    private static SearchResponse response(SearchHit... hits) {
+        SearchHits searchHits = new SearchHits(hits, new TotalHits(hits.length, EQUAL_TO), 1);
+        SearchResponseSections sections = new SearchResponseSections(searchHits, null, null, false, null, null, 1);
+        return new SearchResponse(sections, "scroll-id", 1, 1, 0, 1, new ShardSearchFailure[] {},
+                new SearchResponse.Clusters(1, 1, 0));
+    }
+}
@@ -9,8 +9,10 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import uk.gov.companieshouse.search.api.exception.WriteRejectedException;
 import uk.gov.companieshouse.search.api.model.response.ResponseObject;
 import uk.gov.companieshouse.search.api.model.response.ResponseStatus;
+import uk.gov.companieshouse.search.api.service.existence.DocumentIdFilter;
 import uk.gov.companieshouse.search.api.service.rest.impl.AlphabeticalSearchRestClientService;
 import uk.gov.companieshouse.search.api.util.ConfiguredIndexNamesProvider;
 
@@ -18,6 +20,8 @@ import java.io.IOException;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 @ExtendWith(MockitoExtension.class)
@@ -33,6 +37,9 @@ public class AlphabeticalSearchDeleteServiceTest {
     @Mock
     private ConfiguredIndexNamesProvider indices;
 
+    @Mock
+    private DocumentIdFilter documentIdFilter;
+
     @InjectMocks
     AlphabeticalSearchDeleteService service;
 
@@ -63,6 +70,29 @@ public class AlphabeticalSearchDeleteServiceTest {
         assertEquals(ResponseStatus.DELETE_NOT_FOUND, response.getStatus());
     }
 
+    @Test
+    void returnsDeleteNotFoundWithoutCallingElasticsearchWhenFilterRulesCompanyOut() throws IOException {
+
+        when(documentIdFilter.definitelyAbsent(TEST_COMPANY_NUMBER)).thenReturn(true);
+
+        ResponseObject response = service.deleteCompany(TEST_COMPANY_NUMBER);
+
+        assertEquals(ResponseStatus.DELETE_NOT_FOUND, response.getStatus());
+        verify(alphabeticalSearchRestClientService, never()).delete(any());
+    }
+
+    @Test
+    void recordsFalsePositiveWhenCompanyPassedByFilterIsNotFound() throws IOException {
+        DeleteResponse deleteResponse = new DeleteResponse(
+                new ShardId(INDEX, INDEX, 1), INDEX, "1", 1, 1, 1, false);
+
+        when(alphabeticalSearchRestClientService.delete(any(DeleteRequest.class))).thenReturn(deleteResponse);
+
+        service.deleteCompany(TEST_COMPANY_NUMBER);
+
+        verify(documentIdFilter).recordNotFound(TEST_COMPANY_NUMBER);
+    }
+
     @Test
     void returnsServiceUnavailableOnIOException() throws IOException {
 
@@ -83,4 +113,15 @@ public class AlphabeticalSearchDeleteServiceTest {
         assertEquals(ResponseStatus.DELETE_REQUEST_ERROR, response.getStatus());
     }
 
+    @Test
+    void returnsWriteRejectedWhenRetryBudgetExhausted() throws Exception {
+
+        when(alphabeticalSearchRestClientService.delete(any(DeleteRequest.class)))
+                .thenThrow(new WriteRejectedException("", null));
+
+        ResponseObject response = service.deleteCompany(TEST_COMPANY_NUMBER);
+
+        assertEquals(ResponseStatus.WRITE_REJECTED, response.getStatus());
+    }
+
 }
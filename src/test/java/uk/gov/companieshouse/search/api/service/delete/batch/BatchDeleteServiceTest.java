@@ -0,0 +1,246 @@
+package uk.gov.companieshouse.search.api.service.delete.batch;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static uk.gov.companieshouse.search.api.model.response.ResponseStatus.DELETE_NOT_FOUND;
+import static uk.gov.companieshouse.search.api.model.response.ResponseStatus.DOCUMENT_DELETED;
+import static uk.gov.companieshouse.search.api.model.response.ResponseStatus.DOCUMENT_JOURNALED;
+import static uk.gov.companieshouse.search.api.model.response.ResponseStatus.SERVICE_UNAVAILABLE;
+import static uk.gov.companieshouse.search.api.model.response.ResponseStatus.WRITE_REJECTED;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import org.elasticsearch.action.DocWriteRequest;
+import org.elasticsearch.action.bulk.BulkItemResponse;
+import org.elasticsearch.action.bulk.BulkItemResponse.Failure;
+import org.elasticsearch.action.bulk.BulkRequest;
+import org.elasticsearch.action.bulk.BulkResponse;
+import org.elasticsearch.action.delete.DeleteResponse;
+import org.elasticsearch.common.util.concurrent.EsRejectedExecutionException;
+import org.elasticsearch.index.shard.ShardId;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.stubbing.Answer;
+import uk.gov.companieshouse.environment.EnvironmentReader;
+import uk.gov.companieshouse.search.api.model.BatchDeleteRequest;
+import uk.gov.companieshouse.search.api.model.response.BatchDeleteResults;
+import uk.gov.companieshouse.search.api.service.existence.DocumentIdFilter;
+import uk.gov.companieshouse.search.api.service.journal.WriteJournal;
+import uk.gov.companieshouse.search.api.service.rest.impl.AdvancedSearchRestClientService;
+import uk.gov.companieshouse.search.api.service.rest.impl.AlphabeticalSearchRestClientService;
+import uk.gov.companieshouse.search.api.service.rest.impl.PrimarySearchRestClientService;
+import uk.gov.companieshouse.search.api.util.ConfiguredIndexNamesProvider;
+
+@ExtendWith(MockitoExtension.class)
+class BatchDeleteServiceTest {
+
+    private static final String COMPANY_NUMBER = "00000006";
+    private static final String MISSING_COMPANY_NUMBER = "00000007";
+    private static final String OFFICER_ID = "officerId";
+
+    @Mock
+    private AlphabeticalSearchRestClientService alphabeticalSearchRestClientService;
+    @Mock
+    private AdvancedSearchRestClientService advancedSearchRestClientService;
+    @Mock
+    private PrimarySearchRestClientService primarySearchRestClientService;
+    @Mock
+    private ConfiguredIndexNamesProvider indices;
+    @Mock
+    private WriteJournal writeJournal;
+    @Mock
+    private DocumentIdFilter alphabeticalDocumentIdFilter;
+    @Mock
+    private DocumentIdFilter primaryDocumentIdFilter;
+    @Mock
+    private EnvironmentReader environmentReader;
+
+    private BatchDeleteService service;
+
+    private final BatchDeleteRequest request = new BatchDeleteRequest()
+            .companyNumbers(List.of(COMPANY_NUMBER, MISSING_COMPANY_NUMBER, COMPANY_NUMBER))
+            .officerIds(List.of(OFFICER_ID));
+
+    @BeforeEach
+    void setUp() {
+        when(indices.alphabetical()).thenReturn("alphabetical_search");
+        when(indices.advanced()).thenReturn("advanced_search");
+        when(indices.primary()).thenReturn("primary_search");
+    }
+
+    @AfterEach
+    void tearDown() {
+        service.stop();
+    }
+
+    @Test
+    @DisplayName("Companies are deleted from every index and officers from the primary index")
+    void deleteCompaniesAndOfficers() throws Exception {
+        createService();
+        Answer<BulkResponse> deleteAllButMissing = invocation -> respond(invocation.getArgument(0), Set.of());
+        when(alphabeticalSearchRestClientService.bulk(any())).thenAnswer(deleteAllButMissing);
+        when(advancedSearchRestClientService.bulk(any())).thenAnswer(deleteAllButMissing);
+        when(primarySearchRestClientService.bulk(any())).thenAnswer(deleteAllButMissing);
+
+        BatchDeleteResults results = service.delete(request);
+
+        BatchDeleteResults expected = new BatchDeleteResults()
+                .company(COMPANY_NUMBER, BatchDeleteResults.ALPHABETICAL, DOCUMENT_DELETED)
+                .company(COMPANY_NUMBER, BatchDeleteResults.ADVANCED, DOCUMENT_DELETED)
+                .company(COMPANY_NUMBER, BatchDeleteResults.PRIMARY, DOCUMENT_DELETED)
+                .company(MISSING_COMPANY_NUMBER, BatchDeleteResults.ALPHABETICAL, DELETE_NOT_FOUND)
+                .company(MISSING_COMPANY_NUMBER, BatchDeleteResults.ADVANCED, DELETE_NOT_FOUND)
+                .company(MISSING_COMPANY_NUMBER, BatchDeleteResults.PRIMARY, DELETE_NOT_FOUND)
+                .officer(OFFICER_ID, DOCUMENT_DELETED);
+        assertEquals(expected, results);
+        verify(alphabeticalSearchRestClientService).bulk(any());
+        verify(advancedSearchRestClientService).bulk(any());
+        verify(primarySearchRestClientService).bulk(any());
+    }
+
+    @Test
+    @DisplayName("A cluster that cannot be reached only fails the deletes sent to it")
+    void deleteWithUnavailableCluster() throws Exception {
+        createService();
+        Answer<BulkResponse> deleteAllButMissing = invocation -> respond(invocation.getArgument(0), Set.of());
+        when(alphabeticalSearchRestClientService.bulk(any())).thenAnswer(deleteAllButMissing);
+        when(advancedSearchRestClientService.bulk(any())).thenThrow(IOException.class);
+        when(primarySearchRestClientService.bulk(any())).thenAnswer(deleteAllButMissing);
+
+        BatchDeleteResults results = service.delete(request);
+
+        assertEquals(Map.of(BatchDeleteResults.ALPHABETICAL, DOCUMENT_DELETED,
+                BatchDeleteResults.ADVANCED, SERVICE_UNAVAILABLE,
+                BatchDeleteResults.PRIMARY, DOCUMENT_DELETED), results.getCompanies().get(COMPANY_NUMBER));
+        assertEquals(DOCUMENT_DELETED, results.getOfficers().get(OFFICER_ID));
+    }
+
+    @Test
+    @DisplayName("Deletes rejected by a busy cluster are reported as write rejected")
+    void deleteWithRejectedItems() throws Exception {
+        createService();
+        Answer<BulkResponse> deleteAllButMissing = invocation -> respond(invocation.getArgument(0), Set.of());
+        when(alphabeticalSearchRestClientService.bulk(any())).thenAnswer(deleteAllButMissing);
+        when(advancedSearchRestClientService.bulk(any())).thenAnswer(deleteAllButMissing);
+        when(primarySearchRestClientService.bulk(any())).thenAnswer(invocation ->
+                respond(invocation.getArgument(0), Set.of(OFFICER_ID)));
+
+        BatchDeleteResults results = service.delete(request);
+
+        assertEquals(WRITE_REJECTED, results.getOfficers().get(OFFICER_ID));
+        assertEquals(DOCUMENT_DELETED, results.getCompanies().get(COMPANY_NUMBER).get(BatchDeleteResults.PRIMARY));
+    }
+
+    @Test
+    @DisplayName("Primary deletes are journalled while the write journal has pending entries")
+    void deleteJournalsPrimaryDeletes() throws Exception {
+        createService();
+        Answer<BulkResponse> deleteAllButMissing = invocation -> respond(invocation.getArgument(0), Set.of());
+        when(alphabeticalSearchRestClientService.bulk(any())).thenAnswer(deleteAllButMissing);
+        when(advancedSearchRestClientService.bulk(any())).thenAnswer(deleteAllButMissing);
+        when(writeJournal.hasPendingEntries()).thenReturn(true);
+
+        BatchDeleteResults results = service.delete(request);
+
+        assertEquals(DOCUMENT_JOURNALED, results.getOfficers().get(OFFICER_ID));
+        assertEquals(DOCUMENT_JOURNALED, results.getCompanies().get(COMPANY_NUMBER).get(BatchDeleteResults.PRIMARY));
+        verify(writeJournal, times(3)).append(any());
+        verify(primarySearchRestClientService, never()).bulk(any());
+    }
+
+    @Test
+    @DisplayName("Ids the document id filters rule out are not found without being sent")
+    void deleteSkipsDefinitelyAbsentIds() throws Exception {
+        createService();
+        when(alphabeticalDocumentIdFilter.definitelyAbsent(anyString())).thenReturn(false);
+        when(alphabeticalDocumentIdFilter.definitelyAbsent(MISSING_COMPANY_NUMBER)).thenReturn(true);
+        when(primaryDocumentIdFilter.definitelyAbsent(anyString())).thenReturn(true);
+        Answer<BulkResponse> deleteAllButMissing = invocation -> respond(invocation.getArgument(0), Set.of());
+        when(alphabeticalSearchRestClientService.bulk(any())).thenAnswer(deleteAllButMissing);
+        when(advancedSearchRestClientService.bulk(any())).thenAnswer(deleteAllButMissing);
+
+        BatchDeleteResults results = service.delete(request);
+
+        assertEquals(Map.of(BatchDeleteResults.ALPHABETICAL, DELETE_NOT_FOUND,
+                BatchDeleteResults.ADVANCED, DELETE_NOT_FOUND,
+                BatchDeleteResults.PRIMARY, DELETE_NOT_FOUND), results.getCompanies().get(MISSING_COMPANY_NUMBER));
+        assertEquals(DOCUMENT_DELETED, results.getCompanies().get(COMPANY_NUMBER).get(BatchDeleteResults.ALPHABETICAL));
+        assertEquals(DELETE_NOT_FOUND, results.getOfficers().get(OFFICER_ID));
+        verify(primarySearchRestClientService, never()).bulk(any());
+        verify(alphabeticalDocumentIdFilter, never()).recordNotFound(any());
+        verify(advancedSearchRestClientService).bulk(any());
+    }
+
+    @Test
+    @DisplayName("Large batches are split into bulk requests of the configured size")
+    void deleteSplitsBulkRequests() throws Exception {
+        when(environmentReader.getOptionalInteger(anyString())).thenReturn(null);
+        when(environmentReader.getOptionalInteger("BATCH_DELETE_BULK_SIZE")).thenReturn(2);
+        createService();
+        Answer<BulkResponse> deleteAllButMissing = invocation -> respond(invocation.getArgument(0), Set.of());
+        when(alphabeticalSearchRestClientService.bulk(any())).thenAnswer(deleteAllButMissing);
+        when(advancedSearchRestClientService.bulk(any())).thenAnswer(deleteAllButMissing);
+        when(primarySearchRestClientService.bulk(any())).thenAnswer(deleteAllButMissing);
+
+        BatchDeleteResults results = service.delete(request);
+
+        assertEquals(2, results.getCompanies().size());
+        verify(alphabeticalSearchRestClientService, times(1)).bulk(any());
+        verify(primarySearchRestClientService, times(2)).bulk(any());
+    }
+
+    @Test
+    @DisplayName("Batch and bulk sizes that are not positive fall back to the defaults")
+    void nonPositiveSizesFallBackToDefaults() throws Exception {
+        when(environmentReader.getOptionalInteger("BATCH_DELETE_MAX_SIZE")).thenReturn(0);
+        when(environmentReader.getOptionalInteger("BATCH_DELETE_BULK_SIZE")).thenReturn(-1);
+        createService();
+        Answer<BulkResponse> deleteAllButMissing = invocation -> respond(invocation.getArgument(0), Set.of());
+        when(alphabeticalSearchRestClientService.bulk(any())).thenAnswer(deleteAllButMissing);
+        when(advancedSearchRestClientService.bulk(any())).thenAnswer(deleteAllButMissing);
+        when(primarySearchRestClientService.bulk(any())).thenAnswer(deleteAllButMissing);
+
+        service.delete(request);
+
+        assertEquals(50000, service.getMaxSize());
+        verify(primarySearchRestClientService, times(1)).bulk(any());
+    }
+
+    private void createService() {
+        service = new BatchDeleteService(alphabeticalSearchRestClientService, advancedSearchRestClientService,
+                primarySearchRestClientService, indices, writeJournal, alphabeticalDocumentIdFilter,
+                primaryDocumentIdFilter, environmentReader);
+    }
+
+    /**
+     * Respond to each delete as Elasticsearch would, with the missing company not found and the given ids rejected
+     */
+    private static BulkResponse respond(BulkRequest bulkRequest, Set<String> rejected) {
+        List<DocWriteRequest<?>> requests = bulkRequest.requests();
+        BulkItemResponse[] items = new BulkItemResponse[requests.size()];
+        for (int i = 0; i < items.length; i++) {
+            DocWriteRequest<?> request = requests.get(i);
+            if (rejected.contains(request.id())) {
+                items[i] = new BulkItemResponse(i, DocWriteRequest.OpType.DELETE, new Failure(request.index(),
+                        request.type(), request.id(), new EsRejectedExecutionException("rejected")));
+            } else {
+                items[i] = new BulkItemResponse(i, DocWriteRequest.OpType.DELETE, new DeleteResponse(
+                        new ShardId(request.index(), request.index(), 1), request.type(), request.id(), 1, 1, 1,
+                        !MISSING_COMPANY_NUMBER.equals(request.id())));
+            }
+        }
+        return new BulkResponse(items, 1);
+    }
+}
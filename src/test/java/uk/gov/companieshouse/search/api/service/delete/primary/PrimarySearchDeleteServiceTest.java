@@ -2,6 +2,8 @@ package uk.gov.companieshouse.search.api.service.delete.primary;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 import org.elasticsearch.ElasticsearchException;
@@ -17,6 +19,9 @@ import org.mockito.junit.jupiter.MockitoExtension;
 import uk.gov.companieshouse.search.api.model.SearchType;
 import uk.gov.companieshouse.search.api.model.response.ResponseObject;
 import uk.gov.companieshouse.search.api.model.response.ResponseStatus;
+import uk.gov.companieshouse.search.api.service.existence.DocumentIdFilter;
+import uk.gov.companieshouse.search.api.service.journal.JournalEntry;
+import uk.gov.companieshouse.search.api.service.journal.WriteJournal;
 import uk.gov.companieshouse.search.api.service.rest.impl.PrimarySearchRestClientService;
 
 import java.io.IOException;
@@ -34,6 +39,10 @@ class PrimarySearchDeleteServiceTest {
     PrimarySearchDeleteRequestService primarySearchDeleteRequestService;
     @Mock
     private ConfiguredIndexNamesProvider indices;
+    @Mock
+    private WriteJournal writeJournal;
+    @Mock
+    private DocumentIdFilter documentIdFilter;
 
     @InjectMocks
     PrimarySearchDeleteService service;
@@ -64,6 +73,29 @@ class PrimarySearchDeleteServiceTest {
         assertEquals(ResponseStatus.DELETE_NOT_FOUND, response.getStatus());
     }
 
+    @Test
+    void returnsDeleteNotFoundWithoutCallingElasticsearchWhenFilterRulesOfficerOut() throws Exception {
+        when(primarySearchDeleteRequestService.createDeleteRequest(searchType)).thenReturn(REQUEST);
+        when(documentIdFilter.definitelyAbsent("officerId")).thenReturn(true);
+
+        ResponseObject response = service.deleteOfficer(searchType);
+
+        assertEquals(ResponseStatus.DELETE_NOT_FOUND, response.getStatus());
+        verify(primarySearchRestClientService, never()).delete(any());
+    }
+
+    @Test
+    void recordsFalsePositiveWhenOfficerPassedByFilterIsNotFound() throws Exception {
+        DeleteResponse deleteResponse = new DeleteResponse(
+                new ShardId(INDEX, INDEX, 1), INDEX, "1", 1, 1, 1, false);
+        when(primarySearchDeleteRequestService.createDeleteRequest(searchType)).thenReturn(REQUEST);
+        when(primarySearchRestClientService.delete(REQUEST)).thenReturn(deleteResponse);
+
+        service.deleteOfficer(searchType);
+
+        verify(documentIdFilter).recordNotFound("officerId");
+    }
+
     @Test
     void returnsServiceUnavailableOnIOException() throws Exception {
 
@@ -134,4 +166,28 @@ class PrimarySearchDeleteServiceTest {
 
         assertEquals(ResponseStatus.DELETE_NOT_FOUND, response.getStatus());
     }
+
+    @Test
+    void journalsDeleteOnIOExceptionWhenJournalEnabled() throws Exception {
+        when(primarySearchDeleteRequestService.createDeleteRequest(searchType)).thenReturn(REQUEST);
+        when(primarySearchRestClientService.delete(REQUEST)).thenThrow(new IOException());
+        when(writeJournal.isEnabled()).thenReturn(true);
+
+        ResponseObject response = service.deleteOfficer(searchType);
+
+        assertEquals(ResponseStatus.DOCUMENT_JOURNALED, response.getStatus());
+        verify(writeJournal).append(any(JournalEntry.class));
+    }
+
+    @Test
+    void journalsDeleteWithoutCallingElasticsearchWhileJournalHasPendingEntries() throws Exception {
+        when(primarySearchDeleteRequestService.createDeleteRequest(searchType)).thenReturn(REQUEST);
+        when(writeJournal.hasPendingEntries()).thenReturn(true);
+
+        ResponseObject response = service.deleteOfficer(searchType);
+
+        assertEquals(ResponseStatus.DOCUMENT_JOURNALED, response.getStatus());
+        verify(primarySearchRestClientService, never()).delete(any());
+        verify(documentIdFilter, never()).definitelyAbsent(any());
+    }
 }
@@ -0,0 +1,94 @@
+package uk.gov.companieshouse.search.api.service.existence;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+class DocumentIdBloomFilterTest {
+
+    private static final int IDS = 100000;
+
+    @Test
+    @DisplayName("Every id added is reported as possibly present")
+    void noFalseNegatives() {
+        DocumentIdBloomFilter filter = new DocumentIdBloomFilter(IDS, 10);
+
+        for (int i = 0; i < IDS; i++) {
+            filter.put(companyNumber(i));
+        }
+
+        for (int i = 0; i < IDS; i++) {
+            assertTrue(filter.mightContain(companyNumber(i)));
+        }
+    }
+
+    @Test
+    @DisplayName("Ids never added are reported as possibly present at about the expected rate")
+    void falsePositiveRate() {
+        DocumentIdBloomFilter filter = new DocumentIdBloomFilter(IDS, 10);
+        for (int i = 0; i < IDS; i++) {
+            filter.put(companyNumber(i));
+        }
+
+        int falsePositives = 0;
+        for (int i = IDS; i < 2 * IDS; i++) {
+            if (filter.mightContain(companyNumber(i))) {
+                falsePositives++;
+            }
+        }
+
+        double expected = filter.expectedFalsePositiveProbability();
+        assertTrue(expected > 0.005 && expected < 0.015, "expected probability " + expected);
+        assertTrue(falsePositives < 2 * expected * IDS, "false positives " + falsePositives);
+    }
+
+    @Test
+    @DisplayName("An empty filter reports every id as definitely absent")
+    void emptyFilter() {
+        DocumentIdBloomFilter filter = new DocumentIdBloomFilter(0, 10);
+
+        assertFalse(filter.mightContain("00000006"));
+        assertEquals(0.0, filter.expectedFalsePositiveProbability());
+        assertTrue(filter.put("00000006"));
+        assertFalse(filter.put("00000006"));
+        assertTrue(filter.mightContain("00000006"));
+    }
+
+    @Test
+    @DisplayName("Ids added from several threads at once are all kept")
+    void concurrentPuts() {
+        DocumentIdBloomFilter filter = new DocumentIdBloomFilter(IDS, 10);
+
+        List<CompletableFuture<Void>> writers = new ArrayList<>();
+        for (int thread = 0; thread < 4; thread++) {
+            int first = thread;
+            writers.add(CompletableFuture.runAsync(() -> {
+                for (int i = first; i < IDS; i += 4) {
+                    filter.put(companyNumber(i));
+                }
+            }));
+        }
+        writers.forEach(CompletableFuture::join);
+
+        for (int i = 0; i < IDS; i++) {
+            assertTrue(filter.mightContain(companyNumber(i)));
+        }
+    }
+
+    @Test
+    @DisplayName("A filter too large for one buffer is refused")
+    void tooLarge() {
+        assertThrows(IllegalArgumentException.class, () -> new DocumentIdBloomFilter(Integer.MAX_VALUE, 10));
+    }
+
+    private static String companyNumber(int i) {
+        return String.format("%08d", i);
+    }
+}
@@ -0,0 +1,178 @@
+package uk.gov.companieshouse.search.api.service.existence;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static uk.gov.companieshouse.search.api.service.rest.ReadConsistency.READ_YOUR_WRITES;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.io.IOException;
+import java.util.Collections;
+import org.apache.lucene.search.TotalHits;
+import org.elasticsearch.action.search.SearchRequest;
+import org.elasticsearch.action.search.SearchResponse;
+import org.elasticsearch.search.SearchHit;
+import org.elasticsearch.search.SearchHits;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import uk.gov.companieshouse.environment.EnvironmentReader;
+import uk.gov.companieshouse.search.api.service.rebuild.IndexAdministration;
+import uk.gov.companieshouse.search.api.service.rebuild.RebuildIndexClients;
+import uk.gov.companieshouse.search.api.service.rest.impl.AlphabeticalSearchRestClientService;
+import uk.gov.companieshouse.search.api.service.rest.impl.PrimarySearchRestClientService;
+import uk.gov.companieshouse.search.api.util.ConfiguredIndexNamesProvider;
+
+@ExtendWith(MockitoExtension.class)
+class DocumentIdFilterLoaderTest {
+
+    private static final String SCROLL_ID = "scrollId";
+
+    @Mock
+    private PrimarySearchRestClientService primarySearchRestClientService;
+    @Mock
+    private AlphabeticalSearchRestClientService alphabeticalSearchRestClientService;
+    @Mock
+    private RebuildIndexClients rebuildIndexClients;
+    @Mock
+    private IndexAdministration administration;
+    @Mock
+    private ConfiguredIndexNamesProvider indices;
+    @Mock
+    private EnvironmentReader environmentReader;
+
+    private DocumentIdFilter primaryFilter;
+    private DocumentIdFilter alphabeticalFilter;
+    private DocumentIdFilterLoader loader;
+
+    @BeforeEach
+    void setUp() {
+        when(environmentReader.getOptionalInteger(anyString())).thenReturn(null);
+    }
+
+    @Test
+    @DisplayName("Filter is built from every page of a scroll of the refreshed index and the scroll is cleared")
+    void build() throws Exception {
+        createLoader(true);
+        SearchResponse count = count(3);
+        SearchResponse firstPage = page("00000001", "00000002");
+        SearchResponse secondPage = page("officerId");
+        SearchResponse lastPage = page();
+        when(primarySearchRestClientService.search(any(), eq(READ_YOUR_WRITES))).thenReturn(count, firstPage);
+        when(primarySearchRestClientService.scroll(any(), eq(READ_YOUR_WRITES))).thenReturn(secondPage, lastPage);
+
+        loader.build(primaryFilter, primarySearchRestClientService, administration, "primary_search");
+
+        InOrder order = inOrder(primarySearchRestClientService, administration);
+        order.verify(primarySearchRestClientService).search(any(), eq(READ_YOUR_WRITES));
+        order.verify(administration).refresh("primary_search");
+        order.verify(primarySearchRestClientService).search(any(), eq(READ_YOUR_WRITES));
+        assertTrue(primaryFilter.isReady());
+        assertFalse(primaryFilter.definitelyAbsent("00000001"));
+        assertFalse(primaryFilter.definitelyAbsent("00000002"));
+        assertFalse(primaryFilter.definitelyAbsent("officerId"));
+        assertTrue(primaryFilter.definitelyAbsent("00000003"));
+        verify(primarySearchRestClientService).clearScroll(any(), eq(READ_YOUR_WRITES));
+    }
+
+    @Test
+    @DisplayName("Filter is left unbuilt when the index cannot be read")
+    void buildFailure() throws Exception {
+        createLoader(true);
+        when(primarySearchRestClientService.search(any(), eq(READ_YOUR_WRITES))).thenThrow(IOException.class);
+
+        loader.build(primaryFilter, primarySearchRestClientService, administration, "primary_search");
+
+        assertFalse(primaryFilter.isReady());
+        assertFalse(primaryFilter.definitelyAbsent("00000003"));
+    }
+
+    @Test
+    @DisplayName("Filter is left unbuilt when the scroll fails part way through")
+    void buildRuntimeFailure() throws Exception {
+        createLoader(true);
+        SearchResponse count = count(3);
+        SearchResponse firstPage = page("00000001", "00000002");
+        when(primarySearchRestClientService.search(any(), eq(READ_YOUR_WRITES))).thenReturn(count, firstPage);
+        when(primarySearchRestClientService.scroll(any(), eq(READ_YOUR_WRITES)))
+                .thenThrow(new IllegalStateException("unexpected scroll response"));
+
+        loader.build(primaryFilter, primarySearchRestClientService, administration, "primary_search");
+
+        assertFalse(primaryFilter.isReady());
+        assertFalse(primaryFilter.definitelyAbsent("00000003"));
+    }
+
+    @Test
+    @DisplayName("A non-positive scroll size falls back to the default")
+    void nonPositiveScrollSizeFallsBackToDefault() throws Exception {
+        when(environmentReader.getOptionalInteger("EXISTENCE_FILTER_SCROLL_SIZE")).thenReturn(0);
+        createLoader(true);
+        SearchResponse count = count(0);
+        SearchResponse lastPage = page();
+        when(primarySearchRestClientService.search(any(), eq(READ_YOUR_WRITES))).thenReturn(count, lastPage);
+
+        loader.build(primaryFilter, primarySearchRestClientService, administration, "primary_search");
+
+        ArgumentCaptor<SearchRequest> requests = ArgumentCaptor.forClass(SearchRequest.class);
+        verify(primarySearchRestClientService, times(2)).search(requests.capture(), eq(READ_YOUR_WRITES));
+        assertEquals(5000, requests.getAllValues().get(1).source().size());
+        assertTrue(primaryFilter.isReady());
+    }
+
+    @Test
+    @DisplayName("Disabled filters are never built")
+    void disabled() throws Exception {
+        createLoader(false);
+        when(indices.primary()).thenReturn("primary_search");
+        when(indices.alphabetical()).thenReturn("alphabetical_search");
+
+        loader.start();
+        loader.rebuild();
+
+        assertFalse(primaryFilter.isReady());
+        verify(primarySearchRestClientService, never()).search(any(), any());
+        verify(alphabeticalSearchRestClientService, never()).search(any(), any());
+    }
+
+    private void createLoader(boolean enabled) {
+        when(environmentReader.getOptionalBoolean("EXISTENCE_FILTER_ENABLED")).thenReturn(enabled);
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        primaryFilter = new DocumentIdFilter("primary", environmentReader, meterRegistry);
+        alphabeticalFilter = new DocumentIdFilter("alphabetical", environmentReader, meterRegistry);
+        loader = new DocumentIdFilterLoader(primaryFilter, alphabeticalFilter, primarySearchRestClientService,
+                alphabeticalSearchRestClientService, rebuildIndexClients, indices, environmentReader);
+    }
+
+    private static SearchResponse count(long total) {
+        SearchResponse response = mock(SearchResponse.class);
+        when(response.getHits()).thenReturn(new SearchHits(new SearchHit[0],
+                new TotalHits(total, TotalHits.Relation.EQUAL_TO), 0));
+        return response;
+    }
+
+    private static SearchResponse page(String... ids) {
+        SearchHit[] hits = new SearchHit[ids.length];
+        for (int i = 0; i < ids.length; i++) {
+            hits[i] = new SearchHit(i, ids[i], null, Collections.emptyMap());
+        }
+        SearchResponse response = mock(SearchResponse.class);
+        when(response.getHits()).thenReturn(new SearchHits(hits, null, 0));
+        when(response.getScrollId()).thenReturn(SCROLL_ID);
+        return response;
+    }
+}
@@ -0,0 +1,119 @@
+package uk.gov.companieshouse.search.api.service.existence;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.when;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import uk.gov.companieshouse.environment.EnvironmentReader;
+
+@ExtendWith(MockitoExtension.class)
+class DocumentIdFilterTest {
+
+    private static final String INDEXED = "00000006";
+    private static final String MISSING = "00000007";
+
+    @Mock
+    private EnvironmentReader environmentReader;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @Test
+    @DisplayName("No id is ruled out before the filter is built")
+    void notReadyBeforeBuild() {
+        DocumentIdFilter filter = createFilter(true);
+
+        filter.put(INDEXED);
+
+        assertFalse(filter.isReady());
+        assertFalse(filter.definitelyAbsent(MISSING));
+    }
+
+    @Test
+    @DisplayName("Ids read while building and ids upserted while building are both kept")
+    void build() {
+        DocumentIdFilter filter = createFilter(true);
+
+        filter.startBuild(10).put(INDEXED);
+        filter.put("00000008");
+        filter.finishBuild();
+
+        assertTrue(filter.isReady());
+        assertFalse(filter.definitelyAbsent(INDEXED));
+        assertFalse(filter.definitelyAbsent("00000008"));
+        assertTrue(filter.definitelyAbsent(MISSING));
+    }
+
+    @Test
+    @DisplayName("A failed rebuild leaves the filter in use unchanged")
+    void abandonBuild() {
+        DocumentIdFilter filter = createFilter(true);
+        filter.startBuild(10).put(INDEXED);
+        filter.finishBuild();
+
+        filter.startBuild(10);
+        filter.abandonBuild();
+
+        assertFalse(filter.definitelyAbsent(INDEXED));
+        assertTrue(filter.definitelyAbsent(MISSING));
+    }
+
+    @Test
+    @DisplayName("A disabled filter ignores upserts")
+    void disabled() {
+        DocumentIdFilter filter = createFilter(false);
+        filter.startBuild(10);
+        filter.finishBuild();
+
+        filter.put(INDEXED);
+
+        assertFalse(filter.isEnabled());
+        assertTrue(filter.definitelyAbsent(INDEXED));
+    }
+
+    @Test
+    @DisplayName("False positive rates are published as metrics tagged with the index")
+    void metrics() {
+        DocumentIdFilter filter = createFilter(true);
+        assertTrue(Double.isNaN(gauge("search.existence.filter.false.positive.probability")));
+
+        filter.startBuild(10).put(INDEXED);
+        filter.finishBuild();
+        filter.definitelyAbsent(MISSING);
+        filter.definitelyAbsent("00000008");
+        filter.definitelyAbsent("00000009");
+        filter.recordNotFound(INDEXED);
+
+        assertTrue(gauge("search.existence.filter.false.positive.probability") > 0);
+        assertEquals(0.25, gauge("search.existence.filter.false.positive.rate"));
+        assertEquals(3.0, meterRegistry.get("search.existence.filter.definite.misses").tag("index", "primary")
+                .functionCounter().count());
+        assertEquals(1.0, meterRegistry.get("search.existence.filter.false.positives").tag("index", "primary")
+                .functionCounter().count());
+    }
+
+    @Test
+    @DisplayName("Non-positive sizing settings fall back to the defaults")
+    void nonPositiveSettingsFallBackToDefaults() {
+        when(environmentReader.getOptionalInteger("EXISTENCE_FILTER_BITS_PER_ID")).thenReturn(0);
+        when(environmentReader.getOptionalInteger("EXISTENCE_FILTER_HEADROOM_PERCENT")).thenReturn(-50);
+        DocumentIdFilter filter = createFilter(true);
+
+        assertEquals(new DocumentIdBloomFilter(150, 10).bitSize(), filter.startBuild(100).bitSize());
+    }
+
+    private DocumentIdFilter createFilter(boolean enabled) {
+        when(environmentReader.getOptionalBoolean("EXISTENCE_FILTER_ENABLED")).thenReturn(enabled);
+        return new DocumentIdFilter("primary", environmentReader, meterRegistry);
+    }
+
+    private double gauge(String name) {
+        return meterRegistry.get(name).tag("index", "primary").gauge().value();
+    }
+}
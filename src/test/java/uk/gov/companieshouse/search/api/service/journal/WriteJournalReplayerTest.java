@@ -0,0 +1,128 @@
+package uk.gov.companieshouse.search.api.service.journal;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.io.IOException;
+import java.util.List;
+import org.elasticsearch.action.DocWriteRequest;
+import org.elasticsearch.action.bulk.BulkItemResponse;
+import org.elasticsearch.action.bulk.BulkItemResponse.Failure;
+import org.elasticsearch.action.bulk.BulkRequest;
+import org.elasticsearch.action.bulk.BulkResponse;
+import org.elasticsearch.action.delete.DeleteRequest;
+import org.elasticsearch.action.update.UpdateRequest;
+import org.elasticsearch.common.util.concurrent.EsRejectedExecutionException;
+import org.elasticsearch.common.xcontent.XContentType;
+import org.elasticsearch.index.mapper.MapperParsingException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import uk.gov.companieshouse.environment.EnvironmentReader;
+import uk.gov.companieshouse.search.api.service.journal.WriteJournal.Batch;
+import uk.gov.companieshouse.search.api.service.journal.WriteJournal.Position;
+import uk.gov.companieshouse.search.api.service.rest.impl.PrimarySearchRestClientService;
+
+@ExtendWith(MockitoExtension.class)
+class WriteJournalReplayerTest {
+
+    private static final String INDEX = "primary_search";
+    private static final Position END = new Position(1, 100);
+
+    @Mock
+    private WriteJournal writeJournal;
+
+    @Mock
+    private PrimarySearchRestClientService primarySearchRestClientService;
+
+    @Mock
+    private EnvironmentReader environmentReader;
+
+    @Mock
+    private BulkResponse bulkResponse;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private WriteJournalReplayer replayer;
+
+    private final Batch batch = new Batch(List.of(
+            JournalEntry.upsert(new UpdateRequest(INDEX, INDEX, "1").docAsUpsert(true).doc("{}", XContentType.JSON)),
+            JournalEntry.delete(new DeleteRequest(INDEX, INDEX, "1"))), END);
+
+    @BeforeEach
+    void setUp() {
+        replayer = new WriteJournalReplayer(writeJournal, primarySearchRestClientService, environmentReader,
+                meterRegistry);
+    }
+
+    @Test
+    @DisplayName("Journalled writes are sent in order in one bulk request and committed")
+    void replaysEntriesInOrder() throws Exception {
+        when(writeJournal.hasPendingEntries()).thenReturn(true, false);
+        when(writeJournal.read(500)).thenReturn(batch);
+        when(primarySearchRestClientService.bulk(any())).thenReturn(bulkResponse);
+
+        replayer.replay();
+
+        ArgumentCaptor<BulkRequest> captor = ArgumentCaptor.forClass(BulkRequest.class);
+        verify(primarySearchRestClientService).bulk(captor.capture());
+        List<DocWriteRequest<?>> requests = captor.getValue().requests();
+        assertEquals(DocWriteRequest.OpType.UPDATE, requests.get(0).opType());
+        assertEquals(DocWriteRequest.OpType.DELETE, requests.get(1).opType());
+        verify(writeJournal).commit(END);
+    }
+
+    @Test
+    @DisplayName("Batch is not committed while Elasticsearch is unreachable")
+    void doesNotCommitWhenUnreachable() throws Exception {
+        when(writeJournal.hasPendingEntries()).thenReturn(true);
+        when(writeJournal.read(500)).thenReturn(batch);
+        when(primarySearchRestClientService.bulk(any())).thenThrow(IOException.class);
+
+        replayer.replay();
+
+        verify(writeJournal, never()).commit(any());
+    }
+
+    @Test
+    @DisplayName("Batch is not committed when a write is rejected")
+    void doesNotCommitWhenRejected() throws Exception {
+        BulkItemResponse rejected = new BulkItemResponse(0, DocWriteRequest.OpType.UPDATE,
+                new Failure(INDEX, INDEX, "1", new EsRejectedExecutionException("rejected")));
+        when(writeJournal.hasPendingEntries()).thenReturn(true);
+        when(writeJournal.read(500)).thenReturn(batch);
+        when(primarySearchRestClientService.bulk(any())).thenReturn(bulkResponse);
+        when(bulkResponse.hasFailures()).thenReturn(true);
+        when(bulkResponse.getItems()).thenReturn(new BulkItemResponse[]{rejected});
+
+        replayer.replay();
+
+        verify(writeJournal, never()).commit(any());
+    }
+
+    @Test
+    @DisplayName("Writes refused for good are counted and dropped, and the batch is committed")
+    void discardsWritesRefusedForGood() throws Exception {
+        BulkItemResponse refused = new BulkItemResponse(0, DocWriteRequest.OpType.UPDATE,
+                new Failure(INDEX, INDEX, "1", new MapperParsingException("failed to parse")));
+        when(writeJournal.hasPendingEntries()).thenReturn(true, false);
+        when(writeJournal.read(500)).thenReturn(batch);
+        when(primarySearchRestClientService.bulk(any())).thenReturn(bulkResponse);
+        when(bulkResponse.hasFailures()).thenReturn(true);
+        when(bulkResponse.getItems()).thenReturn(new BulkItemResponse[]{refused});
+
+        replayer.replay();
+
+        verify(writeJournal).lock(List.of("1", "1"));
+        verify(writeJournal).commit(END);
+        assertEquals(1.0, meterRegistry.counter("search.write.journal.discarded").count());
+    }
+}
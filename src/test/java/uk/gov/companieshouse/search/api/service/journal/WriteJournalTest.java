@@ -0,0 +1,176 @@
+package uk.gov.companieshouse.search.api.service.journal;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.when;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import org.elasticsearch.action.delete.DeleteRequest;
+import org.elasticsearch.action.update.UpdateRequest;
+import org.elasticsearch.common.xcontent.XContentType;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import uk.gov.companieshouse.environment.EnvironmentReader;
+import uk.gov.companieshouse.search.api.service.journal.JournalEntry.Operation;
+import uk.gov.companieshouse.search.api.service.journal.WriteJournal.Batch;
+import uk.gov.companieshouse.search.api.service.journal.WriteJournal.DocumentLock;
+
+@ExtendWith(MockitoExtension.class)
+class WriteJournalTest {
+
+    private static final String INDEX = "primary_search";
+    private static final String TYPE = "primary_search";
+    private static final String DOCUMENT = "{\"sort_key\":\"key\"}";
+
+    @TempDir
+    Path directory;
+
+    @Mock
+    private EnvironmentReader environmentReader;
+
+    @Test
+    @DisplayName("Journal is disabled when no directory is configured")
+    void journalIsDisabledWithoutDirectory() {
+        WriteJournal writeJournal = new WriteJournal(environmentReader);
+
+        assertFalse(writeJournal.isEnabled());
+        assertFalse(writeJournal.hasPendingEntries());
+    }
+
+    @Test
+    @DisplayName("Entries are read back in append order and cleared by commit")
+    void entriesAreReadInAppendOrder() throws Exception {
+        WriteJournal writeJournal = openJournal(null);
+
+        writeJournal.append(upsert("1"));
+        writeJournal.append(delete("1"));
+        writeJournal.append(upsert("2"));
+
+        assertTrue(writeJournal.hasPendingEntries());
+        Batch batch = writeJournal.read(10);
+        assertEquals(List.of("1", "1", "2"), ids(batch));
+        assertEquals(Operation.DELETE, batch.getEntries().get(1).getOperation());
+
+        writeJournal.commit(batch.getEnd());
+
+        assertFalse(writeJournal.hasPendingEntries());
+        assertTrue(writeJournal.read(10).getEntries().isEmpty());
+    }
+
+    @Test
+    @DisplayName("Reads are bounded by the maximum number of entries")
+    void readsAreBounded() throws Exception {
+        WriteJournal writeJournal = openJournal(null);
+        writeJournal.append(upsert("1"));
+        writeJournal.append(upsert("2"));
+        writeJournal.append(upsert("3"));
+
+        Batch first = writeJournal.read(2);
+        writeJournal.commit(first.getEnd());
+        Batch second = writeJournal.read(2);
+
+        assertEquals(List.of("1", "2"), ids(first));
+        assertEquals(List.of("3"), ids(second));
+        assertTrue(writeJournal.hasPendingEntries());
+    }
+
+    @Test
+    @DisplayName("Segments are rolled at the segment size and deleted once replayed")
+    void segmentsAreRolledAndDeleted() throws Exception {
+        WriteJournal writeJournal = openJournal(64);
+        for (int i = 0; i < 5; i++) {
+            writeJournal.append(upsert(String.valueOf(i)));
+        }
+        assertEquals(5, countSegments());
+
+        Batch batch = writeJournal.read(10);
+        writeJournal.commit(batch.getEnd());
+
+        assertEquals(List.of("0", "1", "2", "3", "4"), ids(batch));
+        assertEquals(1, countSegments());
+    }
+
+    @Test
+    @DisplayName("Pending entries survive a restart and an incomplete trailing record is dropped")
+    void pendingEntriesSurviveRestart() throws Exception {
+        WriteJournal writeJournal = openJournal(null);
+        writeJournal.append(upsert("1"));
+        writeJournal.append(upsert("2"));
+        writeJournal.commit(writeJournal.read(1).getEnd());
+        writeJournal.close();
+
+        Path segment = listSegments().get(0);
+        Files.write(segment, new byte[]{0, 0, 1, 0, 7}, StandardOpenOption.APPEND);
+
+        WriteJournal reopened = openJournal(null);
+
+        assertTrue(reopened.hasPendingEntries());
+        assertEquals(List.of("2"), ids(reopened.read(10)));
+        reopened.append(upsert("3"));
+        assertEquals(List.of("2", "3"), ids(reopened.read(10)));
+    }
+
+    @Test
+    @DisplayName("A document stays locked against other writers until its lock is closed")
+    void lockSerialisesWritesOfADocument() throws Exception {
+        WriteJournal writeJournal = openJournal(null);
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            Future<?> other;
+            try (DocumentLock lock = writeJournal.lock(List.of("1", "2"))) {
+                other = executor.submit(() -> writeJournal.lock("2").close());
+                assertThrows(TimeoutException.class, () -> other.get(100, TimeUnit.MILLISECONDS));
+            }
+            other.get(5, TimeUnit.SECONDS);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private WriteJournal openJournal(Integer segmentSize) {
+        when(environmentReader.getOptionalString("WRITE_JOURNAL_DIRECTORY")).thenReturn(directory.toString());
+        when(environmentReader.getOptionalInteger("WRITE_JOURNAL_SEGMENT_SIZE")).thenReturn(segmentSize);
+        return new WriteJournal(environmentReader);
+    }
+
+    private JournalEntry upsert(String id) {
+        return JournalEntry.upsert(new UpdateRequest(INDEX, TYPE, id)
+                .docAsUpsert(true).doc(DOCUMENT, XContentType.JSON));
+    }
+
+    private JournalEntry delete(String id) {
+        return JournalEntry.delete(new DeleteRequest(INDEX, TYPE, id));
+    }
+
+    private List<String> ids(Batch batch) {
+        return batch.getEntries().stream().map(JournalEntry::getId).collect(Collectors.toList());
+    }
+
+    private long countSegments() throws Exception {
+        return listSegments().size();
+    }
+
+    private List<Path> listSegments() throws Exception {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.filter(path -> path.toString().endsWith(".journal"))
+                    .sorted()
+                    .collect(Collectors.toList());
+        }
+    }
+}
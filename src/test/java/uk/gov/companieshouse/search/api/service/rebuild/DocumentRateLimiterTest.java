@@ -0,0 +1,31 @@
+package uk.gov.companieshouse.search.api.service.rebuild;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+class DocumentRateLimiterTest {
+
+    @Test
+    @DisplayName("Each batch waits until the batches before it have had their share of the second")
+    void spacesBatches() {
+        DocumentRateLimiter limiter = new DocumentRateLimiter(1000);
+
+        assertEquals(0L, limiter.reserve(500));
+        long wait = limiter.reserve(500);
+        assertTrue(wait > TimeUnit.MILLISECONDS.toNanos(400) && wait <= TimeUnit.MILLISECONDS.toNanos(500));
+        assertTrue(limiter.reserve(1) > TimeUnit.MILLISECONDS.toNanos(900));
+    }
+
+    @Test
+    @DisplayName("A limit of zero never waits")
+    void unlimited() {
+        DocumentRateLimiter limiter = new DocumentRateLimiter(0);
+
+        assertEquals(0L, limiter.reserve(1_000_000));
+        assertEquals(0L, limiter.reserve(1_000_000));
+    }
+}
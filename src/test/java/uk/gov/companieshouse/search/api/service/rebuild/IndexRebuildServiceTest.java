@@ -0,0 +1,336 @@
+package uk.gov.companieshouse.search.api.service.rebuild;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Predicate;
+import java.util.stream.Collectors;
+import org.elasticsearch.action.DocWriteRequest;
+import org.elasticsearch.action.DocWriteRequest.OpType;
+import org.elasticsearch.action.bulk.BulkItemResponse;
+import org.elasticsearch.action.bulk.BulkItemResponse.Failure;
+import org.elasticsearch.action.bulk.BulkRequest;
+import org.elasticsearch.action.bulk.BulkResponse;
+import org.elasticsearch.action.index.IndexRequest;
+import org.elasticsearch.action.index.IndexResponse;
+import org.elasticsearch.cluster.health.ClusterHealthStatus;
+import org.elasticsearch.common.settings.Settings;
+import org.elasticsearch.common.util.concurrent.EsRejectedExecutionException;
+import org.elasticsearch.index.engine.VersionConflictEngineException;
+import org.elasticsearch.index.shard.ShardId;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import uk.gov.companieshouse.environment.EnvironmentReader;
+import uk.gov.companieshouse.search.api.model.response.RebuildProgress;
+import uk.gov.companieshouse.search.api.model.response.RebuildProgress.State;
+import uk.gov.companieshouse.search.api.model.response.ResponseStatus;
+import uk.gov.companieshouse.search.api.service.rebuild.RebuildDocumentConverter.Conversion;
+import uk.gov.companieshouse.search.api.service.rest.MigrationWrites.Tally;
+import uk.gov.companieshouse.search.api.service.rest.RestClientService;
+
+@ExtendWith(MockitoExtension.class)
+class IndexRebuildServiceTest {
+
+    private static final String ALIAS = "alphabetical-search";
+    private static final String LIVE_INDEX = "alphabetical-search-20230101000000";
+    private static final String TYPE = "_doc";
+    private static final RebuildTarget TARGET = RebuildTarget.ALPHABETICAL;
+
+    @Mock
+    private RebuildIndexClients clients;
+
+    @Mock
+    private RebuildDocumentConverter converter;
+
+    @Mock
+    private IndexAdministration administration;
+
+    @Mock
+    private RestClientService writer;
+
+    @Mock
+    private EnvironmentReader environmentReader;
+
+    @TempDir
+    Path dumpDirectory;
+
+    private IndexRebuildService service;
+
+    @BeforeEach
+    void setUp() {
+        when(environmentReader.getOptionalString("INDEX_REBUILD_DUMP_DIRECTORY"))
+                .thenReturn(dumpDirectory.toString());
+        when(environmentReader.getOptionalInteger(anyString())).thenReturn(null);
+        when(environmentReader.getOptionalInteger("INDEX_REBUILD_BATCH_SIZE")).thenReturn(2);
+        when(environmentReader.getOptionalInteger("INDEX_REBUILD_MAX_DOCUMENTS_PER_SECOND")).thenReturn(0);
+        service = new IndexRebuildService(clients, converter, environmentReader, new SimpleMeterRegistry());
+    }
+
+    @Test
+    @DisplayName("A rebuild loads the dump into a new index, restores its settings and swaps the alias to it")
+    void rebuildsAndSwapsAlias() throws Exception {
+        Path dump = dump("00000001", "00000002", "00000003");
+        givenLiveIndex();
+        givenConversion();
+        when(writer.bulk(any(BulkRequest.class))).thenAnswer(invocation ->
+                respond(invocation.getArgument(0), id -> false));
+        when(administration.waitForHealth(anyString(), any(), any())).thenReturn(ClusterHealthStatus.GREEN);
+        when(administration.count(anyString())).thenReturn(3L);
+        when(clients.migrationTally(anyString())).thenReturn(new Tally());
+
+        RebuildProgress progress = new RebuildProgress(ALIAS, "companies.ndjson");
+        service.run(TARGET, dump, progress);
+
+        assertEquals(State.SWAPPED, progress.getState());
+        assertEquals(3, progress.getDocumentsRead());
+        assertEquals(3, progress.getDocumentsIndexed());
+
+        ArgumentCaptor<Settings> loading = ArgumentCaptor.forClass(Settings.class);
+        verify(administration).createIndex(eq(progress.getIndex()), loading.capture(), eq(TYPE), eq(Map.of()));
+        assertEquals("0", loading.getValue().get("index.number_of_replicas"));
+        assertEquals("-1", loading.getValue().get("index.refresh_interval"));
+        assertEquals("3", loading.getValue().get("index.number_of_shards"));
+        assertNull(loading.getValue().get("index.uuid"));
+
+        ArgumentCaptor<Settings> restored = ArgumentCaptor.forClass(Settings.class);
+        verify(administration).updateSettings(eq(progress.getIndex()), restored.capture());
+        assertEquals("2", restored.getValue().get("index.number_of_replicas"));
+        assertEquals("5s", restored.getValue().get("index.refresh_interval"));
+
+        ArgumentCaptor<BulkRequest> bulkRequests = ArgumentCaptor.forClass(BulkRequest.class);
+        verify(writer, times(2)).bulk(bulkRequests.capture());
+        bulkRequests.getAllValues().forEach(bulkRequest -> bulkRequest.requests()
+                .forEach(request -> assertEquals(OpType.CREATE, request.opType())));
+
+        ArgumentCaptor<byte[]> template = ArgumentCaptor.forClass(byte[].class);
+        verify(administration).putTemplate(eq(ALIAS), eq(List.of(ALIAS + "-*")), template.capture());
+        assertTrue(new String(template.getValue(), StandardCharsets.UTF_8).contains("ordered_alpha_key_with_id"));
+
+        InOrder order = inOrder(administration, clients);
+        order.verify(administration).putTemplate(eq(ALIAS), any(), any());
+        order.verify(administration).createIndex(eq(progress.getIndex()), any(), eq(TYPE), eq(Map.of()));
+        order.verify(clients).startMigration(TARGET, progress.getIndex());
+        order.verify(administration).swapAlias(ALIAS, progress.getIndex(), Set.of(LIVE_INDEX));
+        order.verify(clients).finishMigration(TARGET, progress.getIndex());
+    }
+
+    @Test
+    @DisplayName("Documents already written by live writes are kept and counted in the expected document count")
+    void keepsDocumentsWrittenByLiveWrites() throws Exception {
+        Path dump = dump("00000001", "00000002");
+        givenLiveIndex();
+        givenConversion();
+        when(writer.bulk(any(BulkRequest.class))).thenAnswer(invocation ->
+                respond(invocation.getArgument(0), id -> false, List.of(), List.of("00000002")));
+        when(administration.waitForHealth(anyString(), any(), any())).thenReturn(ClusterHealthStatus.GREEN);
+        // the dump's two documents, one of which a live write created first, and another created by a live write
+        when(administration.count(anyString())).thenReturn(3L);
+        Tally live = mock(Tally.class);
+        when(live.getCreated()).thenReturn(2L);
+        when(clients.migrationTally(anyString())).thenReturn(live);
+
+        RebuildProgress progress = new RebuildProgress(ALIAS, "companies.ndjson");
+        service.run(TARGET, dump, progress);
+
+        assertEquals(State.SWAPPED, progress.getState());
+        assertEquals(2, progress.getDocumentsIndexed());
+        assertEquals(1, progress.getDocumentsReplaced());
+        assertEquals(0, progress.getDocumentsFailed());
+    }
+
+    @Test
+    @DisplayName("The alias is not swapped when a live write did not reach the new index")
+    void failsWhenLiveWriteFailed() throws Exception {
+        Path dump = dump("00000001");
+        givenLiveIndex();
+        givenConversion();
+        when(writer.bulk(any(BulkRequest.class))).thenAnswer(invocation ->
+                respond(invocation.getArgument(0), id -> false));
+        when(administration.waitForHealth(anyString(), any(), any())).thenReturn(ClusterHealthStatus.GREEN);
+        when(administration.count(anyString())).thenReturn(1L);
+        Tally live = mock(Tally.class);
+        when(live.getFailed()).thenReturn(1L);
+        when(clients.migrationTally(anyString())).thenReturn(live);
+
+        RebuildProgress progress = new RebuildProgress(ALIAS, "companies.ndjson");
+        service.run(TARGET, dump, progress);
+
+        assertEquals(State.FAILED, progress.getState());
+        verify(administration, never()).swapAlias(anyString(), anyString(), any());
+        verify(clients).finishMigration(TARGET, progress.getIndex());
+    }
+
+    @Test
+    @DisplayName("Documents rejected with 429 are written again")
+    void retriesRejectedDocuments() throws Exception {
+        Path dump = dump("00000001");
+        givenLiveIndex();
+        givenConversion();
+        when(writer.bulk(any(BulkRequest.class)))
+                .thenAnswer(invocation -> respond(invocation.getArgument(0), id -> true))
+                .thenAnswer(invocation -> respond(invocation.getArgument(0), id -> false));
+        when(administration.waitForHealth(anyString(), any(), any())).thenReturn(ClusterHealthStatus.GREEN);
+        when(administration.count(anyString())).thenReturn(1L);
+        when(clients.migrationTally(anyString())).thenReturn(new Tally());
+
+        RebuildProgress progress = new RebuildProgress(ALIAS, "companies.ndjson");
+        service.run(TARGET, dump, progress);
+
+        assertEquals(State.SWAPPED, progress.getState());
+        assertEquals(1, progress.getDocumentsIndexed());
+        assertEquals(0, progress.getDocumentsFailed());
+        verify(writer, times(2)).bulk(any(BulkRequest.class));
+    }
+
+    @Test
+    @DisplayName("Documents deleted by live writes while the dump is loaded are not loaded")
+    void skipsDocumentsDeletedByLiveWrites() throws Exception {
+        Path dump = dump("00000001", "00000002");
+        givenLiveIndex();
+        givenConversion();
+        when(clients.deletedDuringMigration(anyString(), anyString()))
+                .thenAnswer(invocation -> "00000002".equals(invocation.getArgument(1)));
+        when(writer.bulk(any(BulkRequest.class))).thenAnswer(invocation ->
+                respond(invocation.getArgument(0), id -> false));
+        when(administration.waitForHealth(anyString(), any(), any())).thenReturn(ClusterHealthStatus.GREEN);
+        when(administration.count(anyString())).thenReturn(1L);
+        when(clients.migrationTally(anyString())).thenReturn(new Tally());
+
+        RebuildProgress progress = new RebuildProgress(ALIAS, "companies.ndjson");
+        service.run(TARGET, dump, progress);
+
+        assertEquals(State.SWAPPED, progress.getState());
+        assertEquals(1, progress.getDocumentsIndexed());
+        ArgumentCaptor<BulkRequest> bulkRequest = ArgumentCaptor.forClass(BulkRequest.class);
+        verify(writer).bulk(bulkRequest.capture());
+        assertEquals(List.of("00000001"), bulkRequest.getValue().requests().stream()
+                .map(DocWriteRequest::id).collect(Collectors.toList()));
+    }
+
+    @Test
+    @DisplayName("The alias is not swapped when more documents fail than allowed")
+    void failsWhenDocumentsFail() throws Exception {
+        Path dump = dump("00000001", "00000002");
+        givenLiveIndex();
+        givenConversion();
+        when(writer.bulk(any(BulkRequest.class))).thenAnswer(invocation ->
+                respond(invocation.getArgument(0), id -> false, List.of("00000002"), List.of()));
+
+        RebuildProgress progress = new RebuildProgress(ALIAS, "companies.ndjson");
+        service.run(TARGET, dump, progress);
+
+        assertEquals(State.FAILED, progress.getState());
+        assertEquals(1, progress.getDocumentsFailed());
+        verify(administration, never()).updateSettings(anyString(), any());
+        verify(administration, never()).swapAlias(anyString(), anyString(), any());
+        verify(clients).finishMigration(TARGET, progress.getIndex());
+    }
+
+    @Test
+    @DisplayName("A rebuild fails without creating an index when the configured name is not an alias")
+    void failsWhenNotAnAlias() throws Exception {
+        when(clients.administration(TARGET)).thenReturn(administration);
+        when(administration.getAliasedIndices(ALIAS)).thenReturn(Set.of());
+
+        RebuildProgress progress = new RebuildProgress(ALIAS, "companies.ndjson");
+        service.run(TARGET, dump("00000001"), progress);
+
+        assertEquals(State.FAILED, progress.getState());
+        verify(administration, never()).createIndex(anyString(), any(), anyString(), any());
+    }
+
+    @Test
+    @DisplayName("A rebuild is refused when the dump is not a file in the dump directory")
+    void refusesDumpOutsideDirectory() {
+        assertEquals(ResponseStatus.REBUILD_REQUEST_ERROR, service.start(TARGET, "../companies.ndjson"));
+        assertEquals(ResponseStatus.REBUILD_REQUEST_ERROR, service.start(TARGET, "missing.ndjson"));
+        assertNull(service.getProgress());
+    }
+
+    private void givenLiveIndex() throws Exception {
+        when(clients.administration(TARGET)).thenReturn(administration);
+        when(clients.writer(TARGET)).thenReturn(writer);
+        when(administration.getAliasedIndices(ALIAS)).thenReturn(Set.of(LIVE_INDEX));
+        when(administration.getSettings(LIVE_INDEX)).thenReturn(Settings.builder()
+                .put("index.number_of_shards", 3)
+                .put("index.number_of_replicas", 2)
+                .put("index.refresh_interval", "5s")
+                .put("index.uuid", "Mq8dQ0vAQ5yVvN3vR7fZ9w")
+                .build());
+        when(administration.getMappings(LIVE_INDEX)).thenReturn(Map.of(TYPE, Map.of()));
+    }
+
+    /**
+     * Convert each line into an index request with the line as its id
+     */
+    private void givenConversion() {
+        when(converter.convert(eq(TARGET), anyList(), anyString(), eq(TYPE))).thenAnswer(invocation -> {
+            Conversion conversion = new Conversion();
+            List<String> lines = invocation.getArgument(1);
+            for (String line : lines) {
+                conversion.getRequests().add(new IndexRequest(invocation.<String>getArgument(2)).type(TYPE).id(line)
+                        .source(Map.of("company_number", line)));
+            }
+            return conversion;
+        });
+    }
+
+    private Path dump(String... lines) throws Exception {
+        Path dump = dumpDirectory.resolve("companies.ndjson");
+        Files.write(dump, List.of(lines));
+        return dump;
+    }
+
+    private static BulkResponse respond(BulkRequest bulkRequest, Predicate<String> rejected) {
+        return respond(bulkRequest, rejected, List.of(), List.of());
+    }
+
+    private static BulkResponse respond(BulkRequest bulkRequest, Predicate<String> rejected, List<String> failed,
+            List<String> existing) {
+        List<DocWriteRequest<?>> requests = bulkRequest.requests();
+        BulkItemResponse[] items = new BulkItemResponse[requests.size()];
+        for (int i = 0; i < items.length; i++) {
+            DocWriteRequest<?> request = requests.get(i);
+            if (rejected.test(request.id())) {
+                items[i] = new BulkItemResponse(i, OpType.INDEX, new Failure(request.index(), TYPE, request.id(),
+                        new EsRejectedExecutionException("rejected execution")));
+            } else if (failed.contains(request.id())) {
+                items[i] = new BulkItemResponse(i, OpType.INDEX, new Failure(request.index(), TYPE, request.id(),
+                        new IllegalArgumentException("mapper_parsing_exception")));
+            } else if (existing.contains(request.id())) {
+                items[i] = new BulkItemResponse(i, OpType.CREATE, new Failure(request.index(), TYPE, request.id(),
+                        new VersionConflictEngineException(new ShardId(request.index(), request.index(), 0),
+                                request.id(), "document already exists")));
+            } else {
+                items[i] = new BulkItemResponse(i, OpType.INDEX, new IndexResponse(
+                        new ShardId(request.index(), request.index(), 0), TYPE, request.id(), 1, 1, 1, true));
+            }
+        }
+        return new BulkResponse(items, 1);
+    }
+}
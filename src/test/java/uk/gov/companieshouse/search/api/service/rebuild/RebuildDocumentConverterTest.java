@@ -0,0 +1,135 @@
+package uk.gov.companieshouse.search.api.service.rebuild;
+
+import static org.elasticsearch.common.xcontent.XContentFactory.jsonBuilder;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.when;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import javax.naming.ServiceUnavailableException;
+import org.elasticsearch.action.delete.DeleteRequest;
+import org.elasticsearch.action.index.IndexRequest;
+import org.elasticsearch.action.update.UpdateRequest;
+import org.elasticsearch.common.xcontent.XContentType;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import uk.gov.companieshouse.api.model.company.CompanyProfileApi;
+import uk.gov.companieshouse.search.api.elasticsearch.AdvancedSearchUpsertRequest;
+import uk.gov.companieshouse.search.api.elasticsearch.AlphabeticalSearchUpsertRequest;
+import uk.gov.companieshouse.search.api.exception.IndexRebuildException;
+import uk.gov.companieshouse.search.api.kafka.ChangeEventRequestFactory;
+import uk.gov.companieshouse.search.api.model.response.AlphaKeyResponse;
+import uk.gov.companieshouse.search.api.service.StoredAlphaKeyService;
+import uk.gov.companieshouse.search.api.service.StoredAlphaKeyService.StoredIndex;
+import uk.gov.companieshouse.search.api.service.rebuild.RebuildDocumentConverter.Conversion;
+
+@ExtendWith(MockitoExtension.class)
+class RebuildDocumentConverterTest {
+
+    private static final String INDEX = "search-20240101000000";
+    private static final String TYPE = "_doc";
+    private static final String COMPANY_NUMBER = "00006400";
+    private static final String COMPANY_NAME = "TEST COMPANY LIMITED";
+
+    @Mock
+    private AlphabeticalSearchUpsertRequest alphabeticalSearchUpsertRequest;
+
+    @Mock
+    private AdvancedSearchUpsertRequest advancedSearchUpsertRequest;
+
+    @Mock
+    private StoredAlphaKeyService storedAlphaKeyService;
+
+    @Mock
+    private ChangeEventRequestFactory changeEventRequestFactory;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    private RebuildDocumentConverter converter;
+
+    @BeforeEach
+    void setUp() {
+        converter = new RebuildDocumentConverter(objectMapper, alphabeticalSearchUpsertRequest,
+                advancedSearchUpsertRequest, storedAlphaKeyService, changeEventRequestFactory);
+    }
+
+    @Test
+    @DisplayName("Companies are built with the alpha keys read for the whole batch")
+    void convertsAlphabeticalCompanies() throws Exception {
+        AlphaKeyResponse alphaKey = new AlphaKeyResponse();
+        alphaKey.setOrderedAlphaKey("TESTCOMPANY");
+        when(storedAlphaKeyService.getAlphaKeys(StoredIndex.ALPHABETICAL, Map.of(COMPANY_NUMBER, COMPANY_NAME)))
+                .thenReturn(Map.of(COMPANY_NUMBER, alphaKey));
+        when(alphabeticalSearchUpsertRequest.buildRequest(any(CompanyProfileApi.class), eq("TESTCOMPANY"),
+                eq("TESTCOMPANY:" + COMPANY_NUMBER))).thenReturn(jsonBuilder().startObject().endObject());
+
+        Conversion conversion = converter.convert(RebuildTarget.ALPHABETICAL,
+                List.of(company(), "not json"), INDEX, TYPE);
+
+        assertEquals(1, conversion.getFailed());
+        IndexRequest request = conversion.getRequests().get(0);
+        assertEquals(INDEX, request.index());
+        assertEquals(TYPE, request.type());
+        assertEquals(COMPANY_NUMBER, request.id());
+    }
+
+    @Test
+    @DisplayName("Change events are written as the documents their upserts would create")
+    void convertsChangeEvents() throws Exception {
+        UpdateRequest updateRequest = new UpdateRequest("primary_search", "primary_search", COMPANY_NUMBER)
+                .docAsUpsert(true).doc("{\"company_number\":\"00006400\"}", XContentType.JSON);
+        when(changeEventRequestFactory.createRequest("changed")).thenReturn(Optional.of(updateRequest));
+        when(changeEventRequestFactory.createRequest("deleted"))
+                .thenReturn(Optional.of(new DeleteRequest("primary_search", "primary_search", COMPANY_NUMBER)));
+        when(changeEventRequestFactory.createRequest("unusable")).thenReturn(Optional.empty());
+
+        Conversion conversion = converter.convert(RebuildTarget.PRIMARY, List.of("changed", "deleted", "unusable"),
+                INDEX, "primary_search");
+
+        assertEquals(2, conversion.getFailed());
+        IndexRequest request = conversion.getRequests().get(0);
+        assertEquals(INDEX, request.index());
+        assertEquals("primary_search", request.type());
+        assertEquals(COMPANY_NUMBER, request.id());
+        assertEquals("{\"company_number\":\"00006400\"}", request.source().utf8ToString());
+    }
+
+    @Test
+    @DisplayName("A rebuild of the primary index stops when the alpha key service is unavailable")
+    void alphaKeyServiceUnavailable() throws Exception {
+        when(changeEventRequestFactory.createRequest("changed")).thenThrow(new ServiceUnavailableException());
+
+        assertThrows(IndexRebuildException.class,
+                () -> converter.convert(RebuildTarget.PRIMARY, List.of("changed"), INDEX, "primary_search"));
+    }
+
+    @Test
+    @DisplayName("Dissolved documents are written as they are, keyed by company number")
+    void convertsDissolvedDocuments() {
+        String document = "{\"company_number\":\"00006400\",\"company_name\":\"TEST COMPANY LIMITED\"}";
+
+        Conversion conversion = converter.convert(RebuildTarget.DISSOLVED,
+                List.of(document, "{\"company_name\":\"NO NUMBER LIMITED\"}"), INDEX, TYPE);
+
+        assertEquals(1, conversion.getFailed());
+        IndexRequest request = conversion.getRequests().get(0);
+        assertEquals(COMPANY_NUMBER, request.id());
+        assertEquals(document, request.source().utf8ToString());
+    }
+
+    private String company() throws Exception {
+        CompanyProfileApi company = new CompanyProfileApi();
+        company.setCompanyNumber(COMPANY_NUMBER);
+        company.setCompanyName(COMPANY_NAME);
+        return objectMapper.writeValueAsString(company);
+    }
+}
@@ -0,0 +1,141 @@
+package uk.gov.companieshouse.search.api.service.rest;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import uk.gov.companieshouse.environment.EnvironmentReader;
+import uk.gov.companieshouse.search.api.exception.ConcurrencyLimitExceededException;
+import uk.gov.companieshouse.search.api.service.rest.ClusterCircuitBreaker.Call;
+
+@ExtendWith(MockitoExtension.class)
+class AdaptiveConcurrencyLimiterTest {
+
+    private static final String RESPONSE = "response";
+
+    @Mock
+    private EnvironmentReader environmentReader;
+
+    @Mock
+    private Call<String> call;
+
+    @Mock
+    private Supplier<CompletableFuture<String>> asyncCall;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @Test
+    @DisplayName("Calls are made unlimited when the limiter is disabled")
+    void disabled() throws Exception {
+        AdaptiveConcurrencyLimiter limiter = createLimiter(false, 1, 1, 0);
+        CompletableFuture<String> pending = new CompletableFuture<>();
+        when(asyncCall.get()).thenReturn(pending);
+        when(call.execute()).thenReturn(RESPONSE);
+
+        assertSame(pending, limiter.executeAsync(asyncCall));
+        assertEquals(RESPONSE, limiter.execute(call));
+    }
+
+    @Test
+    @DisplayName("A call over the limit is shed once it has waited for the queue timeout")
+    void shedAfterQueueing() throws Exception {
+        AdaptiveConcurrencyLimiter limiter = createLimiter(true, 1, 1, 20);
+        limiter.executeAsync(CompletableFuture::new);
+
+        CompletableFuture<String> response = limiter.executeAsync(asyncCall);
+
+        ExecutionException exception = assertThrows(ExecutionException.class,
+                () -> response.get(5, TimeUnit.SECONDS));
+        assertInstanceOf(ConcurrencyLimitExceededException.class, exception.getCause());
+        verify(asyncCall, never()).get();
+        assertEquals(1, meterRegistry.get("search.concurrency.shed").tag("client", "advanced").counter().count());
+        assertEquals(1, limiter.getInFlight());
+    }
+
+    @Test
+    @DisplayName("A blocking call over the limit is shed at once when calls may not queue")
+    void shedWithoutQueueing() throws Exception {
+        AdaptiveConcurrencyLimiter limiter = createLimiter(true, 1, 1, 0);
+        limiter.executeAsync(CompletableFuture::new);
+
+        assertThrows(ConcurrencyLimitExceededException.class, () -> limiter.execute(call));
+        verify(call, never()).execute();
+    }
+
+    @Test
+    @DisplayName("A queued call is made once a call in flight finishes")
+    void queuedCallGranted() throws Exception {
+        AdaptiveConcurrencyLimiter limiter = createLimiter(true, 1, 1, 5000);
+        CompletableFuture<String> first = new CompletableFuture<>();
+        limiter.executeAsync(() -> first);
+        when(asyncCall.get()).thenReturn(CompletableFuture.completedFuture(RESPONSE));
+
+        CompletableFuture<String> second = limiter.executeAsync(asyncCall);
+        assertFalse(second.isDone());
+        first.complete(RESPONSE);
+
+        assertEquals(RESPONSE, second.get(5, TimeUnit.SECONDS));
+        assertEquals(0, limiter.getInFlight());
+    }
+
+    @Test
+    @DisplayName("Calls failing because the cluster is unreachable cut the limit")
+    void overloadCutsLimit() {
+        AdaptiveConcurrencyLimiter limiter = createLimiter(true, 20, 100, 0);
+        when(asyncCall.get()).thenReturn(CompletableFuture.failedFuture(new IOException("connection refused")));
+
+        for (int i = 0; i < 5; i++) {
+            assertTrue(limiter.executeAsync(asyncCall).isCompletedExceptionally());
+        }
+
+        assertEquals(11, limiter.getLimit());
+        assertEquals(11, meterRegistry.get("search.concurrency.limit").tag("client", "advanced").gauge().value());
+    }
+
+    @Test
+    @DisplayName("Calls as quick as usual raise the limit while it is in use")
+    void steadyLatencyRaisesLimit() throws Exception {
+        AdaptiveConcurrencyLimiter limiter = createLimiter(true, 10, 100, 0);
+        List<CompletableFuture<String>> calls = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            CompletableFuture<String> pending = new CompletableFuture<>();
+            calls.add(pending);
+            limiter.executeAsync(() -> pending);
+        }
+        TimeUnit.MILLISECONDS.sleep(20);
+
+        calls.forEach(pending -> pending.complete(RESPONSE));
+
+        assertTrue(limiter.getLimit() > 10);
+    }
+
+    private AdaptiveConcurrencyLimiter createLimiter(boolean enabled, int initialLimit, int maxLimit, int queueMs) {
+        when(environmentReader.getOptionalInteger(anyString())).thenReturn(null);
+        when(environmentReader.getOptionalBoolean("CONCURRENCY_LIMIT_ENABLED")).thenReturn(enabled);
+        when(environmentReader.getOptionalInteger("CONCURRENCY_LIMIT_INITIAL")).thenReturn(initialLimit);
+        when(environmentReader.getOptionalInteger("CONCURRENCY_LIMIT_MIN")).thenReturn(1);
+        when(environmentReader.getOptionalInteger("CONCURRENCY_LIMIT_MAX")).thenReturn(maxLimit);
+        when(environmentReader.getOptionalInteger("CONCURRENCY_LIMIT_QUEUE_MS")).thenReturn(queueMs);
+        return new AdaptiveConcurrencyLimiter("advanced", environmentReader, meterRegistry);
+    }
+}
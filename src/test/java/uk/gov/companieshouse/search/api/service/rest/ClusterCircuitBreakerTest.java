@@ -0,0 +1,192 @@
+package uk.gov.companieshouse.search.api.service.rest;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.io.IOException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+import org.elasticsearch.ElasticsearchStatusException;
+import org.elasticsearch.rest.RestStatus;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import uk.gov.companieshouse.environment.EnvironmentReader;
+import uk.gov.companieshouse.search.api.exception.ClusterUnavailableException;
+import uk.gov.companieshouse.search.api.service.rest.ClusterCircuitBreaker.Call;
+import uk.gov.companieshouse.search.api.service.rest.ClusterCircuitBreaker.State;
+
+@ExtendWith(MockitoExtension.class)
+class ClusterCircuitBreakerTest {
+
+    private static final String RESPONSE = "response";
+    private static final int OPEN_MS = 50;
+
+    @Mock
+    private EnvironmentReader environmentReader;
+
+    @Mock
+    private Call<String> call;
+
+    @Mock
+    private Supplier<CompletableFuture<String>> asyncCall;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @Test
+    @DisplayName("Breaker opens once the failure rate threshold is reached and then fails calls at once")
+    void opensOnFailureRate() throws Exception {
+        ClusterCircuitBreaker breaker = createBreaker(true, 1000);
+        open(breaker);
+
+        assertEquals(State.OPEN, breaker.getState());
+        assertThrows(ClusterUnavailableException.class, () -> breaker.execute(call));
+        verify(call, times(4)).execute();
+        assertEquals(1, meterRegistry.get("search.circuit.breaker.rejected").tag("client", "dissolved")
+                .counter().count());
+        assertEquals(2, meterRegistry.get("search.circuit.breaker.state").tag("client", "dissolved")
+                .gauge().value());
+    }
+
+    @Test
+    @DisplayName("Client errors are not failures of the cluster")
+    void clientErrorsDoNotOpen() {
+        ClusterCircuitBreaker breaker = createBreaker(true, 1000);
+
+        for (int i = 0; i < 4; i++) {
+            assertThrows(ElasticsearchStatusException.class, () -> breaker.execute(() -> {
+                throw new ElasticsearchStatusException("not found", RestStatus.NOT_FOUND);
+            }));
+        }
+
+        assertEquals(State.CLOSED, breaker.getState());
+    }
+
+    @Test
+    @DisplayName("Server errors are failures of the cluster")
+    void serverErrorsOpen() {
+        ClusterCircuitBreaker breaker = createBreaker(true, 1000);
+
+        for (int i = 0; i < 4; i++) {
+            assertThrows(ElasticsearchStatusException.class, () -> breaker.execute(() -> {
+                throw new ElasticsearchStatusException("unavailable", RestStatus.SERVICE_UNAVAILABLE);
+            }));
+        }
+
+        assertEquals(State.OPEN, breaker.getState());
+    }
+
+    @Test
+    @DisplayName("Breaker opens once the slow call rate threshold is reached")
+    void opensOnSlowCallRate() throws Exception {
+        ClusterCircuitBreaker breaker = createBreaker(true, 0);
+        when(call.execute()).thenReturn(RESPONSE);
+
+        for (int i = 0; i < 4; i++) {
+            assertEquals(RESPONSE, breaker.execute(call));
+        }
+
+        assertEquals(State.OPEN, breaker.getState());
+    }
+
+    @Test
+    @DisplayName("Half open breaker closes once its probes succeed")
+    void halfOpenClosesAfterProbes() throws Exception {
+        ClusterCircuitBreaker breaker = createBreaker(true, 1000);
+        open(breaker);
+        TimeUnit.MILLISECONDS.sleep(OPEN_MS * 2);
+        doReturn(RESPONSE).when(call).execute();
+
+        assertEquals(RESPONSE, breaker.execute(call));
+        assertEquals(State.HALF_OPEN, breaker.getState());
+        assertEquals(RESPONSE, breaker.execute(call));
+
+        assertEquals(State.CLOSED, breaker.getState());
+    }
+
+    @Test
+    @DisplayName("Half open breaker opens again when a probe fails")
+    void halfOpenReopensOnFailure() throws Exception {
+        ClusterCircuitBreaker breaker = createBreaker(true, 1000);
+        open(breaker);
+        TimeUnit.MILLISECONDS.sleep(OPEN_MS * 2);
+        doThrow(new IOException("timed out")).when(call).execute();
+
+        assertThrows(IOException.class, () -> breaker.execute(call));
+
+        assertEquals(State.OPEN, breaker.getState());
+        assertThrows(ClusterUnavailableException.class, () -> breaker.execute(call));
+    }
+
+    @Test
+    @DisplayName("Asynchronous calls fail at once while the breaker is open")
+    void asyncFailsFastWhenOpen() throws Exception {
+        ClusterCircuitBreaker breaker = createBreaker(true, 1000);
+        open(breaker);
+
+        CompletableFuture<String> response = breaker.executeAsync(asyncCall);
+
+        ExecutionException exception = assertThrows(ExecutionException.class, response::get);
+        assertInstanceOf(ClusterUnavailableException.class, exception.getCause());
+        verify(asyncCall, never()).get();
+    }
+
+    @Test
+    @DisplayName("Failed asynchronous calls open the breaker")
+    void asyncFailuresOpen() {
+        ClusterCircuitBreaker breaker = createBreaker(true, 1000);
+        when(asyncCall.get()).thenReturn(CompletableFuture.failedFuture(new IOException("connection refused")));
+
+        for (int i = 0; i < 4; i++) {
+            assertTrue(breaker.executeAsync(asyncCall).isCompletedExceptionally());
+        }
+
+        assertEquals(State.OPEN, breaker.getState());
+    }
+
+    @Test
+    @DisplayName("Disabled breaker never opens")
+    void disabled() throws Exception {
+        ClusterCircuitBreaker breaker = createBreaker(false, 1000);
+        when(call.execute()).thenThrow(new IOException("connection refused"));
+
+        for (int i = 0; i < 10; i++) {
+            assertThrows(IOException.class, () -> breaker.execute(call));
+        }
+
+        assertEquals(State.CLOSED, breaker.getState());
+    }
+
+    private void open(ClusterCircuitBreaker breaker) throws Exception {
+        when(call.execute()).thenReturn(RESPONSE, RESPONSE).thenThrow(new IOException("connection refused"));
+        breaker.execute(call);
+        breaker.execute(call);
+        assertThrows(IOException.class, () -> breaker.execute(call));
+        assertThrows(IOException.class, () -> breaker.execute(call));
+    }
+
+    private ClusterCircuitBreaker createBreaker(boolean enabled, int slowCallMs) {
+        when(environmentReader.getOptionalInteger(anyString())).thenReturn(null);
+        when(environmentReader.getOptionalBoolean("CIRCUIT_BREAKER_ENABLED")).thenReturn(enabled);
+        when(environmentReader.getOptionalInteger("CIRCUIT_BREAKER_WINDOW")).thenReturn(4);
+        when(environmentReader.getOptionalInteger("CIRCUIT_BREAKER_MINIMUM_CALLS")).thenReturn(4);
+        when(environmentReader.getOptionalInteger("CIRCUIT_BREAKER_SLOW_CALL_MS")).thenReturn(slowCallMs);
+        when(environmentReader.getOptionalInteger("CIRCUIT_BREAKER_OPEN_MS")).thenReturn(OPEN_MS);
+        when(environmentReader.getOptionalInteger("CIRCUIT_BREAKER_HALF_OPEN_PROBES")).thenReturn(2);
+        return new ClusterCircuitBreaker("dissolved", environmentReader, meterRegistry);
+    }
+}
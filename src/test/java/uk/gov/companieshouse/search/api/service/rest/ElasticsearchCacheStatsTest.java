@@ -0,0 +1,98 @@
+package uk.gov.companieshouse.search.api.service.rest;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.when;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import org.elasticsearch.client.RestHighLevelClient;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import uk.gov.companieshouse.environment.EnvironmentReader;
+import uk.gov.companieshouse.search.api.util.ConfiguredIndexNamesProvider;
+
+@ExtendWith(MockitoExtension.class)
+class ElasticsearchCacheStatsTest {
+
+    @Mock
+    private RestHighLevelClient client;
+
+    @Mock
+    private ConfiguredIndexNamesProvider indices;
+
+    @Mock
+    private EnvironmentReader environmentReader;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private ElasticsearchCacheStats cacheStats;
+
+    @BeforeEach
+    void setUp() {
+        when(indices.alphabetical()).thenReturn("alphabetical-search");
+        when(indices.dissolved()).thenReturn("dissolved-search");
+        when(indices.advanced()).thenReturn("advanced-search");
+        when(indices.primary()).thenReturn("primary-search");
+        cacheStats = new ElasticsearchCacheStats(client, client, client, client, indices, new ObjectMapper(),
+                environmentReader, meterRegistry);
+    }
+
+    @Test
+    @DisplayName("The first poll only sets the starting totals")
+    void firstPollSetsStartingTotals() throws Exception {
+        record(10, 5, 100, 50);
+
+        assertEquals(0, count("search.elasticsearch.cache.hits", "request"));
+        assertTrue(Double.isNaN(ratio("request")));
+    }
+
+    @Test
+    @DisplayName("Hits and misses since the last poll are counted and give the hit ratio")
+    void countsChangeSinceLastPoll() throws Exception {
+        record(10, 5, 100, 50);
+        record(40, 15, 100, 60);
+
+        assertEquals(30, count("search.elasticsearch.cache.hits", "request"));
+        assertEquals(10, count("search.elasticsearch.cache.misses", "request"));
+        assertEquals(0.75, ratio("request"));
+        assertEquals(0, count("search.elasticsearch.cache.hits", "query"));
+        assertEquals(0, ratio("query"));
+    }
+
+    @Test
+    @DisplayName("Totals that fall are taken as a new starting point")
+    void fallingTotalsRestart() throws Exception {
+        record(40, 15, 100, 60);
+        record(2, 1, 100, 60);
+        record(6, 1, 100, 60);
+
+        assertEquals(4, count("search.elasticsearch.cache.hits", "request"));
+        assertEquals(1.0, ratio("request"));
+        assertTrue(Double.isNaN(ratio("query")));
+    }
+
+    private void record(long requestHits, long requestMisses, long queryHits, long queryMisses) throws IOException {
+        String body = String.format("{\"_all\":{\"total\":{"
+                        + "\"request_cache\":{\"hit_count\":%d,\"miss_count\":%d},"
+                        + "\"query_cache\":{\"hit_count\":%d,\"miss_count\":%d}}}}",
+                requestHits, requestMisses, queryHits, queryMisses);
+        cacheStats.record("dissolved", new ByteArrayInputStream(body.getBytes(StandardCharsets.UTF_8)));
+    }
+
+    private double count(String counterName, String cache) {
+        return meterRegistry.get(counterName).tag("index", "dissolved").tag("cache", cache).counter().count();
+    }
+
+    private double ratio(String cache) {
+        return meterRegistry.get("search.elasticsearch.cache.hit.ratio").tag("index", "dissolved").tag("cache", cache)
+                .gauge().value();
+    }
+}
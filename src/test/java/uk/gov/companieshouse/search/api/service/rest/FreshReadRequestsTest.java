@@ -0,0 +1,66 @@
+package uk.gov.companieshouse.search.api.service.rest;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.when;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import uk.gov.companieshouse.environment.EnvironmentReader;
+
+@ExtendWith(MockitoExtension.class)
+class FreshReadRequestsTest {
+
+    private static final String REQUEST_ID = "request-id";
+
+    @Mock
+    private EnvironmentReader environmentReader;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @Test
+    @DisplayName("A request reads its own writes until it is finished")
+    void readsOwnWritesUntilFinished() {
+        FreshReadRequests freshReadRequests = createFreshReadRequests(true);
+
+        assertTrue(freshReadRequests.start(REQUEST_ID));
+        assertEquals(ReadConsistency.READ_YOUR_WRITES, freshReadRequests.consistency(REQUEST_ID));
+        assertEquals(ReadConsistency.EVENTUAL, freshReadRequests.consistency("other-request-id"));
+
+        freshReadRequests.finish(REQUEST_ID);
+
+        assertEquals(ReadConsistency.EVENTUAL, freshReadRequests.consistency(REQUEST_ID));
+        assertEquals(1, meterRegistry.get("search.read.your.writes").counter().count());
+    }
+
+    @Test
+    @DisplayName("Requests sharing an id read their own writes until the last of them is finished")
+    void sharedRequestId() {
+        FreshReadRequests freshReadRequests = createFreshReadRequests(true);
+        freshReadRequests.start(REQUEST_ID);
+        freshReadRequests.start(REQUEST_ID);
+
+        freshReadRequests.finish(REQUEST_ID);
+
+        assertEquals(ReadConsistency.READ_YOUR_WRITES, freshReadRequests.consistency(REQUEST_ID));
+    }
+
+    @Test
+    @DisplayName("No request reads its own writes unless enabled")
+    void disabled() {
+        FreshReadRequests freshReadRequests = createFreshReadRequests(false);
+
+        assertFalse(freshReadRequests.start(REQUEST_ID));
+        assertEquals(ReadConsistency.EVENTUAL, freshReadRequests.consistency(REQUEST_ID));
+    }
+
+    private FreshReadRequests createFreshReadRequests(boolean enabled) {
+        when(environmentReader.getOptionalBoolean("READ_YOUR_WRITES_ENABLED")).thenReturn(enabled);
+        return new FreshReadRequests(environmentReader, meterRegistry);
+    }
+}
@@ -0,0 +1,277 @@
+package uk.gov.companieshouse.search.api.service.rest;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.when;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import org.elasticsearch.ElasticsearchStatusException;
+import org.elasticsearch.action.DocWriteRequest;
+import org.elasticsearch.action.DocWriteRequest.OpType;
+import org.elasticsearch.action.DocWriteResponse.Result;
+import org.elasticsearch.action.bulk.BulkItemResponse;
+import org.elasticsearch.action.bulk.BulkItemResponse.Failure;
+import org.elasticsearch.action.bulk.BulkRequest;
+import org.elasticsearch.action.bulk.BulkResponse;
+import org.elasticsearch.action.delete.DeleteRequest;
+import org.elasticsearch.action.delete.DeleteResponse;
+import org.elasticsearch.action.index.IndexRequest;
+import org.elasticsearch.action.support.WriteRequest.RefreshPolicy;
+import org.elasticsearch.action.update.UpdateRequest;
+import org.elasticsearch.action.update.UpdateResponse;
+import org.elasticsearch.common.util.concurrent.EsRejectedExecutionException;
+import org.elasticsearch.index.engine.DocumentMissingException;
+import org.elasticsearch.index.mapper.MapperParsingException;
+import org.elasticsearch.index.shard.ShardId;
+import org.elasticsearch.rest.RestStatus;
+import org.elasticsearch.script.Script;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import uk.gov.companieshouse.search.api.util.ConfiguredIndexNamesProvider;
+
+@ExtendWith(MockitoExtension.class)
+class MigrationWritesTest {
+
+    private static final String INDEX = "primary-search";
+    private static final String MIGRATION_INDEX = "primary-search-20240101000000";
+    private static final String OTHER_INDEX = "alphabetical-search";
+    private static final String TYPE = "primary_search";
+
+    @Mock
+    private ConfiguredIndexNamesProvider indices;
+
+    private MigrationWrites migrationWrites;
+
+    @BeforeEach
+    void setUp() {
+        migrationWrites = new MigrationWrites(indices);
+    }
+
+    @Test
+    @DisplayName("A write to a migrating index is sent with a copy addressed to the migration index")
+    void fansOutWriteToMigratingIndex() {
+        when(indices.migrationIndex(INDEX)).thenReturn(Optional.of(MIGRATION_INDEX));
+        UpdateRequest updateRequest = new UpdateRequest(INDEX, TYPE, "00006400")
+                .doc(Map.of("company_name", "ACME LIMITED"))
+                .docAsUpsert(true)
+                .setRefreshPolicy(RefreshPolicy.WAIT_UNTIL);
+
+        BulkRequest bulkRequest = migrationWrites.fanOut(updateRequest).orElseThrow();
+
+        assertEquals(2, bulkRequest.numberOfActions());
+        assertEquals(RefreshPolicy.WAIT_UNTIL, bulkRequest.getRefreshPolicy());
+        UpdateRequest original = (UpdateRequest) bulkRequest.requests().get(0);
+        UpdateRequest copy = (UpdateRequest) bulkRequest.requests().get(1);
+        assertEquals(INDEX, original.index());
+        assertEquals(MIGRATION_INDEX, copy.index());
+        assertEquals("00006400", copy.id());
+        assertTrue(copy.docAsUpsert());
+        assertEquals(Map.of("company_name", "ACME LIMITED"), copy.doc().sourceAsMap());
+        assertEquals(RefreshPolicy.NONE, copy.getRefreshPolicy());
+        assertEquals(RefreshPolicy.WAIT_UNTIL, updateRequest.getRefreshPolicy());
+    }
+
+    @Test
+    @DisplayName("A write to an index that is not migrating is not fanned out")
+    void doesNotFanOutWithoutMigration() {
+        when(indices.migrationIndex(INDEX)).thenReturn(Optional.empty());
+
+        assertTrue(migrationWrites.fanOut(new DeleteRequest(INDEX, TYPE, "00006400")).isEmpty());
+    }
+
+    @Test
+    @DisplayName("A bulk request is sent unchanged when none of its writes are to a migrating index")
+    void bulkRequestUnchangedWithoutMigration() {
+        when(indices.migrationIndex(anyString())).thenReturn(Optional.empty());
+        BulkRequest bulkRequest = new BulkRequest()
+                .add(new DeleteRequest(INDEX, TYPE, "00006400"))
+                .add(new DeleteRequest(OTHER_INDEX, TYPE, "00006400"));
+
+        assertSame(bulkRequest, migrationWrites.fanOut(bulkRequest));
+    }
+
+    @Test
+    @DisplayName("The writes of a bulk request to a migrating index are copied after the original writes")
+    void fansOutBulkRequest() {
+        when(indices.migrationIndex(INDEX)).thenReturn(Optional.of(MIGRATION_INDEX));
+        when(indices.migrationIndex(OTHER_INDEX)).thenReturn(Optional.empty());
+        BulkRequest bulkRequest = new BulkRequest()
+                .add(new IndexRequest(INDEX, TYPE, "00006400").source(Map.of("company_number", "00006400")))
+                .add(new DeleteRequest(OTHER_INDEX, TYPE, "00006401"))
+                .add(new DeleteRequest(INDEX, TYPE, "00006402"));
+
+        BulkRequest fannedOut = migrationWrites.fanOut(bulkRequest);
+
+        List<DocWriteRequest<?>> requests = fannedOut.requests();
+        assertEquals(5, requests.size());
+        assertEquals(bulkRequest.requests(), requests.subList(0, 3));
+        assertEquals(MIGRATION_INDEX, requests.get(3).index());
+        assertEquals("00006400", requests.get(3).id());
+        assertEquals(Map.of("company_number", "00006400"), ((IndexRequest) requests.get(3)).sourceAsMap());
+        assertEquals(MIGRATION_INDEX, requests.get(4).index());
+        assertEquals(OpType.DELETE, requests.get(4).opType());
+        assertEquals(3, bulkRequest.numberOfActions());
+    }
+
+    @Test
+    @DisplayName("Only the responses to the original writes are returned and the copies are tallied")
+    void stripsAndTalliesCopies() {
+        BulkRequest bulkRequest = new BulkRequest()
+                .add(new UpdateRequest(INDEX, TYPE, "00006400"))
+                .add(new DeleteRequest(INDEX, TYPE, "00006401"));
+        BulkRequest fannedOut = new BulkRequest()
+                .add(bulkRequest.requests().toArray(new DocWriteRequest<?>[0]))
+                .add(new UpdateRequest(MIGRATION_INDEX, TYPE, "00006400"))
+                .add(new DeleteRequest(MIGRATION_INDEX, TYPE, "00006401"))
+                .add(new UpdateRequest(MIGRATION_INDEX, TYPE, "00006402"))
+                .add(new UpdateRequest(MIGRATION_INDEX, TYPE, "00006403"))
+                .add(new UpdateRequest(MIGRATION_INDEX, TYPE, "00006404"));
+        BulkItemResponse[] items = {
+                updated(0, INDEX, "00006400", Result.UPDATED),
+                deleted(1, INDEX, "00006401", true),
+                updated(2, MIGRATION_INDEX, "00006400", Result.CREATED),
+                deleted(3, MIGRATION_INDEX, "00006401", true),
+                updated(4, MIGRATION_INDEX, "00006402", Result.CREATED),
+                failed(5, MIGRATION_INDEX, "00006403", new MapperParsingException("failed to parse")),
+                failed(6, MIGRATION_INDEX, "00006404", new DocumentMissingException(null, TYPE, "00006404"))};
+
+        BulkResponse response = migrationWrites.response(bulkRequest, fannedOut, new BulkResponse(items, 5));
+
+        assertEquals(2, response.getItems().length);
+        assertSame(items[1], response.getItems()[1]);
+        MigrationWrites.Tally tally = migrationWrites.tally(MIGRATION_INDEX);
+        assertEquals(2L, tally.getCreated());
+        assertEquals(1L, tally.getDeleted());
+        assertEquals(1L, tally.getFailed());
+
+        migrationWrites.forget(MIGRATION_INDEX);
+        assertEquals(0L, migrationWrites.tally(MIGRATION_INDEX).getCreated());
+    }
+
+    @Test
+    @DisplayName("The response to a single write is its own item's response")
+    void returnsOriginalResponse() {
+        BulkRequest fannedOut = new BulkRequest()
+                .add(new DeleteRequest(INDEX, TYPE, "00006400"))
+                .add(new DeleteRequest(MIGRATION_INDEX, TYPE, "00006400"));
+        BulkItemResponse[] items = {
+                deleted(0, INDEX, "00006400", false),
+                deleted(1, MIGRATION_INDEX, "00006400", true)};
+
+        DeleteResponse response = migrationWrites.response(fannedOut, new BulkResponse(items, 1));
+
+        assertEquals(Result.NOT_FOUND, response.getResult());
+        assertEquals(1L, migrationWrites.tally(MIGRATION_INDEX).getDeleted());
+    }
+
+    @Test
+    @DisplayName("A single write that failed throws with its status so rejections are retried")
+    void failedOriginalThrowsWithStatus() {
+        BulkRequest fannedOut = new BulkRequest()
+                .add(new UpdateRequest(INDEX, TYPE, "00006400"))
+                .add(new UpdateRequest(MIGRATION_INDEX, TYPE, "00006400"));
+        BulkItemResponse[] items = {
+                rejected(0, INDEX, "00006400"),
+                updated(1, MIGRATION_INDEX, "00006400", Result.CREATED)};
+
+        ElasticsearchStatusException exception = assertThrows(ElasticsearchStatusException.class,
+                () -> migrationWrites.response(fannedOut, new BulkResponse(items, 1)));
+        assertEquals(RestStatus.TOO_MANY_REQUESTS, exception.status());
+    }
+
+    @Test
+    @DisplayName("A scripted update is deferred until the migration index is loaded, then copied as it is made")
+    void defersScriptedUpdateUntilLoaded() {
+        when(indices.migrationIndex(INDEX)).thenReturn(Optional.of(MIGRATION_INDEX));
+
+        BulkRequest whileLoading = migrationWrites.fanOut(scriptedUpdate("00006400")).orElseThrow();
+
+        assertEquals(1, whileLoading.numberOfActions());
+        assertEquals(1, migrationWrites.deferred(MIGRATION_INDEX));
+        List<DocWriteRequest<?>> deferred = migrationWrites.takeDeferred(MIGRATION_INDEX);
+        assertEquals(1, deferred.size());
+        assertEquals(MIGRATION_INDEX, deferred.get(0).index());
+        assertEquals("00006400", deferred.get(0).id());
+        assertTrue(migrationWrites.takeDeferred(MIGRATION_INDEX).isEmpty());
+
+        BulkRequest loaded = migrationWrites.fanOut(scriptedUpdate("00006400")).orElseThrow();
+
+        assertEquals(2, loaded.numberOfActions());
+        assertEquals(0, migrationWrites.deferred(MIGRATION_INDEX));
+    }
+
+    @Test
+    @DisplayName("A delete drops the writes deferred for the document and is kept until it is written again")
+    void deleteDropsDeferredWrites() {
+        when(indices.migrationIndex(INDEX)).thenReturn(Optional.of(MIGRATION_INDEX));
+        migrationWrites.fanOut(scriptedUpdate("00006400"));
+
+        migrationWrites.fanOut(new DeleteRequest(INDEX, TYPE, "00006400"));
+
+        assertEquals(0, migrationWrites.deferred(MIGRATION_INDEX));
+        assertTrue(migrationWrites.isDeleted(MIGRATION_INDEX, "00006400"));
+
+        migrationWrites.fanOut(new UpdateRequest(INDEX, TYPE, "00006400")
+                .doc(Map.of("company_name", "ACME LIMITED"))
+                .docAsUpsert(true));
+
+        assertFalse(migrationWrites.isDeleted(MIGRATION_INDEX, "00006400"));
+    }
+
+    @Test
+    @DisplayName("A copy rejected with 429 is deferred rather than failed, and deferred again if replaying it is")
+    void defersRejectedCopies() {
+        BulkRequest fannedOut = new BulkRequest()
+                .add(new DeleteRequest(INDEX, TYPE, "00006400"))
+                .add(new DeleteRequest(MIGRATION_INDEX, TYPE, "00006400"));
+        BulkItemResponse[] items = {
+                deleted(0, INDEX, "00006400", true),
+                rejected(1, MIGRATION_INDEX, "00006400")};
+
+        migrationWrites.response(fannedOut, new BulkResponse(items, 1));
+
+        assertEquals(0L, migrationWrites.tally(MIGRATION_INDEX).getFailed());
+        List<DocWriteRequest<?>> deferred = migrationWrites.takeDeferred(MIGRATION_INDEX);
+        assertEquals(List.of(fannedOut.requests().get(1)), deferred);
+        BulkRequest replayed = new BulkRequest().add(deferred.get(0));
+
+        int rejected = migrationWrites.replayed(MIGRATION_INDEX, replayed,
+                new BulkResponse(new BulkItemResponse[] {rejected(0, MIGRATION_INDEX, "00006400")}, 1));
+
+        assertEquals(1, rejected);
+        assertEquals(deferred, migrationWrites.takeDeferred(MIGRATION_INDEX));
+    }
+
+    private static BulkItemResponse updated(int itemId, String index, String id, Result result) {
+        return new BulkItemResponse(itemId, OpType.UPDATE,
+                new UpdateResponse(new ShardId(index, index, 0), TYPE, id, 1, 1, 1, result));
+    }
+
+    private static BulkItemResponse deleted(int itemId, String index, String id, boolean found) {
+        return new BulkItemResponse(itemId, OpType.DELETE,
+                new DeleteResponse(new ShardId(index, index, 0), TYPE, id, 1, 1, 1, found));
+    }
+
+    private static UpdateRequest scriptedUpdate(String id) {
+        return new UpdateRequest(INDEX, TYPE, id).script(new Script("ctx._source.counter += 1"));
+    }
+
+    private static BulkItemResponse failed(int itemId, String index, String id, Exception cause) {
+        return new BulkItemResponse(itemId, OpType.UPDATE, new Failure(index, TYPE, id, cause));
+    }
+
+    private static BulkItemResponse rejected(int itemId, String index, String id) {
+        return new BulkItemResponse(itemId, OpType.UPDATE,
+                new Failure(index, TYPE, id, new EsRejectedExecutionException("rejected execution")));
+    }
+}
@@ -0,0 +1,248 @@
+package uk.gov.companieshouse.search.api.service.rest;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import org.elasticsearch.action.search.SearchRequest;
+import org.elasticsearch.action.search.SearchResponse;
+import org.elasticsearch.common.unit.TimeValue;
+import org.elasticsearch.index.query.QueryBuilders;
+import org.elasticsearch.search.builder.SearchSourceBuilder;
+import org.elasticsearch.search.sort.SortOrder;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import uk.gov.companieshouse.environment.EnvironmentReader;
+
+@ExtendWith(MockitoExtension.class)
+class SearchHedgerTest {
+
+    private static final String PREFERENCE = "request-id";
+    private static final String ROUTING = "routing";
+
+    @Mock
+    private EnvironmentReader environmentReader;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private final List<SearchRequest> sent = new ArrayList<>();
+
+    private final Queue<CompletableFuture<SearchResponse>> responses = new LinkedList<>();
+
+    private final Function<SearchRequest, CompletableFuture<SearchResponse>> search = request -> {
+        synchronized (sent) {
+            sent.add(request);
+            return responses.remove();
+        }
+    };
+
+    private SearchHedger searchHedger;
+
+    @AfterEach
+    void tearDown() {
+        searchHedger.close();
+    }
+
+    @Test
+    @DisplayName("Searches are sent unchanged when hedging is disabled")
+    void disabled() {
+        searchHedger = createHedger(false, 100);
+        CompletableFuture<SearchResponse> response = new CompletableFuture<>();
+        responses.add(response);
+
+        assertSame(response, searchHedger.search(searchRequest(), search));
+        assertEquals(0, count("search.hedge.searches"));
+    }
+
+    @Test
+    @DisplayName("No search is hedged until the latency percentile is known")
+    void notHedgedUntilDelayKnown() throws Exception {
+        searchHedger = createHedger(true, 100);
+        CompletableFuture<SearchResponse> slow = new CompletableFuture<>();
+        responses.add(slow);
+
+        CompletableFuture<SearchResponse> response = searchHedger.search(searchRequest(), search);
+        TimeUnit.MILLISECONDS.sleep(50);
+
+        assertEquals(1, sent.size());
+        SearchResponse searchResponse = mock(SearchResponse.class);
+        slow.complete(searchResponse);
+        assertSame(searchResponse, response.get());
+    }
+
+    @Test
+    @DisplayName("A slow search is hedged with another preference and the first response wins")
+    void hedgeWins() throws Exception {
+        searchHedger = createHedger(true, 100);
+        warmUp();
+        CompletableFuture<SearchResponse> slow = new CompletableFuture<>();
+        SearchResponse hedgeResponse = mock(SearchResponse.class);
+        responses.add(slow);
+        responses.add(CompletableFuture.completedFuture(hedgeResponse));
+
+        SearchResponse searchResponse = searchHedger.search(searchRequest(), search).get(5, TimeUnit.SECONDS);
+
+        assertSame(hedgeResponse, searchResponse);
+        // the search is cancelled once the hedge has answered
+        for (int i = 0; i < 500 && !slow.isCancelled(); i++) {
+            TimeUnit.MILLISECONDS.sleep(10);
+        }
+        assertTrue(slow.isCancelled());
+        SearchRequest hedgeRequest = sent.get(3);
+        assertEquals(PREFERENCE + "-hedge", hedgeRequest.preference());
+        assertArrayEquals(sent.get(2).indices(), hedgeRequest.indices());
+        assertEquals(sent.get(2).source(), hedgeRequest.source());
+        assertEquals(ROUTING, hedgeRequest.routing());
+        assertEquals(1, count("search.hedge.sent"));
+        assertEquals(1, count("search.hedge.wins"));
+    }
+
+    @Test
+    @DisplayName("A search that fails is answered by its hedge")
+    void hedgeAnswersFailedSearch() throws Exception {
+        searchHedger = createHedger(true, 100);
+        warmUp();
+        CompletableFuture<SearchResponse> slow = new CompletableFuture<>();
+        CompletableFuture<SearchResponse> hedge = new CompletableFuture<>();
+        responses.add(slow);
+        responses.add(hedge);
+
+        CompletableFuture<SearchResponse> response = searchHedger.search(searchRequest(), search);
+        awaitSent(4);
+        slow.completeExceptionally(new IOException("node down"));
+        SearchResponse hedgeResponse = mock(SearchResponse.class);
+        hedge.complete(hedgeResponse);
+
+        assertSame(hedgeResponse, response.get(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    @DisplayName("The search fails once both it and its hedge have failed")
+    void searchAndHedgeFail() throws Exception {
+        searchHedger = createHedger(true, 100);
+        warmUp();
+        CompletableFuture<SearchResponse> slow = new CompletableFuture<>();
+        CompletableFuture<SearchResponse> hedge = new CompletableFuture<>();
+        responses.add(slow);
+        responses.add(hedge);
+
+        CompletableFuture<SearchResponse> response = searchHedger.search(searchRequest(), search);
+        awaitSent(4);
+        slow.completeExceptionally(new IOException("node down"));
+        IOException failure = new IOException("other node down");
+        hedge.completeExceptionally(failure);
+
+        ExecutionException exception = assertThrows(ExecutionException.class,
+                () -> response.get(5, TimeUnit.SECONDS));
+        assertSame(failure, exception.getCause());
+        assertEquals(0, count("search.hedge.wins"));
+    }
+
+    @Test
+    @DisplayName("The search fails if it fails after its hedge could not be sent")
+    void hedgeNotSent() throws Exception {
+        searchHedger = createHedger(true, 100);
+        warmUp();
+        CompletableFuture<SearchResponse> slow = new CompletableFuture<>();
+        // no response is queued for the hedge, so sending it throws
+        responses.add(slow);
+
+        CompletableFuture<SearchResponse> response = searchHedger.search(searchRequest(), search);
+        awaitSent(4);
+        slow.completeExceptionally(new IOException("node down"));
+
+        assertThrows(ExecutionException.class, () -> response.get(5, TimeUnit.SECONDS));
+        assertEquals(1, count("search.hedge.sent"));
+    }
+
+    @Test
+    @DisplayName("A slow search is not hedged once the hedge budget is spent")
+    void budgetExhausted() throws Exception {
+        searchHedger = createHedger(true, 0);
+        warmUp();
+        responses.add(new CompletableFuture<>());
+
+        searchHedger.search(searchRequest(), search);
+        for (int i = 0; i < 500 && count("search.hedge.budget.exhausted") == 0; i++) {
+            TimeUnit.MILLISECONDS.sleep(10);
+        }
+
+        assertEquals(1, count("search.hedge.budget.exhausted"));
+        assertEquals(3, sent.size());
+        assertEquals(0, count("search.hedge.sent"));
+    }
+
+    @Test
+    @DisplayName("Scrolls are never hedged")
+    void scrollNotHedged() {
+        searchHedger = createHedger(true, 100);
+        CompletableFuture<SearchResponse> response = new CompletableFuture<>();
+        responses.add(response);
+
+        assertSame(response, searchHedger.search(searchRequest().scroll(TimeValue.timeValueMinutes(1)), search));
+        assertEquals(0, count("search.hedge.searches"));
+    }
+
+    private SearchHedger createHedger(boolean enabled, int budgetPercent) {
+        when(environmentReader.getOptionalInteger(anyString())).thenReturn(null);
+        when(environmentReader.getOptionalBoolean("SEARCH_HEDGING_ENABLED")).thenReturn(enabled);
+        when(environmentReader.getOptionalInteger("SEARCH_HEDGE_MIN_DELAY_MS")).thenReturn(1);
+        when(environmentReader.getOptionalInteger("SEARCH_HEDGE_BUDGET_PERCENT")).thenReturn(budgetPercent);
+        when(environmentReader.getOptionalInteger("SEARCH_HEDGE_LATENCY_WINDOW")).thenReturn(1);
+        return new SearchHedger("primary", environmentReader, meterRegistry);
+    }
+
+    /**
+     * Complete a search at once, so the hedge delay becomes known, and save up the budget for a hedge
+     */
+    private void warmUp() throws Exception {
+        responses.add(CompletableFuture.completedFuture(mock(SearchResponse.class)));
+        searchHedger.search(searchRequest(), search).get();
+        responses.add(CompletableFuture.completedFuture(mock(SearchResponse.class)));
+        searchHedger.search(searchRequest(), search).get();
+    }
+
+    private void awaitSent(int searches) throws InterruptedException {
+        for (int i = 0; i < 500; i++) {
+            synchronized (sent) {
+                if (sent.size() >= searches) {
+                    return;
+                }
+            }
+            TimeUnit.MILLISECONDS.sleep(10);
+        }
+    }
+
+    private double count(String counterName) {
+        return meterRegistry.get(counterName).tag("client", "primary").counter().count();
+    }
+
+    private static SearchRequest searchRequest() {
+        return new SearchRequest("index")
+                .source(new SearchSourceBuilder()
+                        .query(QueryBuilders.matchQuery("full_name", "smith"))
+                        .sort("sort_key", SortOrder.ASC)
+                        .size(20))
+                .routing(ROUTING)
+                .preference(PREFERENCE);
+    }
+}
@@ -0,0 +1,75 @@
+package uk.gov.companieshouse.search.api.service.rest;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.when;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import uk.gov.companieshouse.environment.EnvironmentReader;
+
+@ExtendWith(MockitoExtension.class)
+class WorkloadBulkheadsTest {
+
+    @Mock
+    private EnvironmentReader environmentReader;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @Test
+    @DisplayName("Writes over their limit are rejected while reads are still admitted")
+    void writesRejectedIndependentlyOfReads() {
+        WorkloadBulkheads bulkheads = createBulkheads(2, 1);
+
+        assertTrue(bulkheads.tryAcquire(Workload.WRITE));
+        assertFalse(bulkheads.tryAcquire(Workload.WRITE));
+        assertTrue(bulkheads.tryAcquire(Workload.READ));
+        assertTrue(bulkheads.tryAcquire(Workload.READ));
+        assertFalse(bulkheads.tryAcquire(Workload.READ));
+
+        assertEquals(1, meterRegistry.get("search.bulkhead.rejected").tag("workload", "write").counter().count());
+        assertEquals(2, meterRegistry.get("search.bulkhead.in.flight").tag("workload", "read").gauge().value());
+    }
+
+    @Test
+    @DisplayName("A released place can be taken by the next request")
+    void releasedPlaceReused() {
+        WorkloadBulkheads bulkheads = createBulkheads(1, 1);
+        bulkheads.tryAcquire(Workload.WRITE);
+
+        bulkheads.release(Workload.WRITE);
+
+        assertTrue(bulkheads.tryAcquire(Workload.WRITE));
+        assertEquals(1, bulkheads.getInFlight(Workload.WRITE));
+    }
+
+    @Test
+    @DisplayName("A limit of zero admits every request")
+    void zeroLimitUnlimited() {
+        WorkloadBulkheads bulkheads = createBulkheads(1, 0);
+
+        for (int i = 0; i < 100; i++) {
+            assertTrue(bulkheads.tryAcquire(Workload.WRITE));
+        }
+    }
+
+    @Test
+    @DisplayName("Safe methods are reads and every other method is a write")
+    void workloadOfMethod() {
+        assertEquals(Workload.READ, Workload.of("GET"));
+        assertEquals(Workload.READ, Workload.of("HEAD"));
+        assertEquals(Workload.WRITE, Workload.of("PUT"));
+        assertEquals(Workload.WRITE, Workload.of("DELETE"));
+    }
+
+    private WorkloadBulkheads createBulkheads(int readLimit, int writeLimit) {
+        when(environmentReader.getOptionalInteger("READ_BULKHEAD_MAX_CONCURRENT")).thenReturn(readLimit);
+        when(environmentReader.getOptionalInteger("WRITE_BULKHEAD_MAX_CONCURRENT")).thenReturn(writeLimit);
+        return new WorkloadBulkheads(environmentReader, meterRegistry);
+    }
+}
@@ -0,0 +1,86 @@
+package uk.gov.companieshouse.search.api.service.rest;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import org.elasticsearch.ElasticsearchException;
+import org.elasticsearch.ElasticsearchStatusException;
+import org.elasticsearch.rest.RestStatus;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import uk.gov.companieshouse.environment.EnvironmentReader;
+import uk.gov.companieshouse.search.api.exception.WriteRejectedException;
+import uk.gov.companieshouse.search.api.service.rest.WriteRejectionRetryPolicy.Write;
+
+@ExtendWith(MockitoExtension.class)
+class WriteRejectionRetryPolicyTest {
+
+    private static final String RESPONSE = "response";
+
+    @Mock
+    private EnvironmentReader environmentReader;
+
+    @Mock
+    private Write<String> write;
+
+    private WriteRejectionRetryPolicy retryPolicy;
+
+    @BeforeEach
+    void setUp() {
+        when(environmentReader.getOptionalInteger("WRITE_RETRY_INITIAL_BACKOFF_MS")).thenReturn(1);
+        when(environmentReader.getOptionalInteger("WRITE_RETRY_MAX_BACKOFF_MS")).thenReturn(4);
+        when(environmentReader.getOptionalInteger("WRITE_RETRY_BUDGET_MS")).thenReturn(200);
+        retryPolicy = new WriteRejectionRetryPolicy(environmentReader);
+    }
+
+    @Test
+    @DisplayName("Rejected write is retried until it succeeds")
+    void rejectedWriteIsRetried() throws Exception {
+        when(write.execute()).thenThrow(rejection(), rejection()).thenReturn(RESPONSE);
+
+        assertEquals(RESPONSE, retryPolicy.execute(write));
+        verify(write, times(3)).execute();
+    }
+
+    @Test
+    @DisplayName("Rejected execution reported with another status is retried")
+    void rejectedExecutionIsRetried() throws Exception {
+        when(write.execute())
+                .thenThrow(new ElasticsearchException("type=es_rejected_execution_exception"))
+                .thenReturn(RESPONSE);
+
+        assertEquals(RESPONSE, retryPolicy.execute(write));
+    }
+
+    @Test
+    @DisplayName("WriteRejectedException thrown once the retry budget is spent")
+    void budgetIsBounded() throws Exception {
+        when(write.execute()).thenThrow(rejection());
+
+        assertThrows(WriteRejectedException.class, () -> retryPolicy.execute(write));
+    }
+
+    @Test
+    @DisplayName("Other Elasticsearch errors are not retried")
+    void otherErrorsAreNotRetried() throws Exception {
+        ElasticsearchException badRequest = new ElasticsearchStatusException("bad request", RestStatus.BAD_REQUEST);
+        when(write.execute()).thenThrow(badRequest);
+
+        ElasticsearchException thrown = assertThrows(ElasticsearchException.class, () -> retryPolicy.execute(write));
+
+        assertSame(badRequest, thrown);
+        verify(write).execute();
+    }
+
+    private ElasticsearchException rejection() {
+        return new ElasticsearchStatusException("rejected", RestStatus.TOO_MANY_REQUESTS);
+    }
+}
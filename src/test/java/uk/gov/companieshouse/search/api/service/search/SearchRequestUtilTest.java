@@ -2,7 +2,12 @@ package uk.gov.companieshouse.search.api.service.search;
 
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
+import uk.gov.companieshouse.search.api.exception.ClusterUnavailableException;
+import uk.gov.companieshouse.search.api.exception.SearchException;
 import uk.gov.companieshouse.search.api.exception.SizeException;
+import uk.gov.companieshouse.search.api.model.response.ResponseStatus;
+
+import java.util.concurrent.CompletionException;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertThrows;
@@ -44,4 +49,21 @@ class SearchRequestUtilTest {
     void checkValueIsReturnedIfSizeIsValid() throws SizeException {
         assertEquals(new Integer(30), SearchRequestUtils.checkResultsSize(30, 20, 50));
     }
+
+    @Test
+    @DisplayName("Checks that a search the circuit breaker refused to send is reported as service unavailable")
+    void checkOpenCircuitBreakerIsServiceUnavailable() {
+        CompletionException failure = new CompletionException(new SearchException("search failed",
+                new ClusterUnavailableException("Circuit breaker for the alphabetical cluster is open")));
+
+        assertEquals(ResponseStatus.SERVICE_UNAVAILABLE, SearchRequestUtils.searchErrorStatus(failure));
+    }
+
+    @Test
+    @DisplayName("Checks that any other failed search is reported as a search error")
+    void checkOtherSearchFailureIsSearchError() {
+        CompletionException failure = new CompletionException(new SearchException("search failed"));
+
+        assertEquals(ResponseStatus.SEARCH_ERROR, SearchRequestUtils.searchErrorStatus(failure));
+    }
 }
@@ -1,5 +1,7 @@
 package uk.gov.companieshouse.search.api.service.search.advanced;
 
+import static java.util.concurrent.CompletableFuture.completedFuture;
+import static java.util.concurrent.CompletableFuture.failedFuture;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.mockito.ArgumentMatchers.any;
@@ -52,8 +54,9 @@ class AdvancedSearchIndexServiceTest {
         advancedSearchQueryParams.setSicCodes(SIC_CODES_LIST);
 
         when(mockAdvancedSearchRequestService.getSearchResults(advancedSearchQueryParams, "request id"))
-                .thenReturn(createSearchResults(true, false));;
-        ResponseObject responseObject = searchIndexService.searchAdvanced(advancedSearchQueryParams, "request id");
+                .thenReturn(completedFuture(createSearchResults(true, false)));;
+        ResponseObject responseObject = searchIndexService
+                .searchAdvanced(advancedSearchQueryParams, "request id").join();
 
         assertNotNull(responseObject);
         assertEquals(ResponseStatus.SEARCH_FOUND, responseObject.getStatus());
@@ -67,9 +70,9 @@ class AdvancedSearchIndexServiceTest {
         advancedSearchQueryParams.setCompanyNameIncludes(COMPANY_NAME);
 
         when(mockAdvancedSearchRequestService.getSearchResults(any(), anyString()))
-                .thenThrow(SearchException.class);
+                .thenReturn(failedFuture(new SearchException("search failed")));
 
-        ResponseObject responseObject = searchIndexService.searchAdvanced(advancedSearchQueryParams, REQUEST_ID);
+        ResponseObject responseObject = searchIndexService.searchAdvanced(advancedSearchQueryParams, REQUEST_ID).join();
 
         assertNotNull(responseObject);
         assertEquals(ResponseStatus.SEARCH_ERROR, responseObject.getStatus());
@@ -82,8 +85,8 @@ class AdvancedSearchIndexServiceTest {
         advancedSearchQueryParams.setCompanyNameIncludes(COMPANY_NAME);
 
         when(mockAdvancedSearchRequestService.getSearchResults(any(), anyString()))
-                .thenReturn(createSearchResults(false, false));
-        ResponseObject responseObject = searchIndexService.searchAdvanced(advancedSearchQueryParams, REQUEST_ID);
+                .thenReturn(completedFuture(createSearchResults(false, false)));
+        ResponseObject responseObject = searchIndexService.searchAdvanced(advancedSearchQueryParams, REQUEST_ID).join();
 
         assertNotNull(responseObject);
         assertEquals(ResponseStatus.SEARCH_NOT_FOUND, responseObject.getStatus());
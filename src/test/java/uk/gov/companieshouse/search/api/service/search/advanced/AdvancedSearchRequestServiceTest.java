@@ -1,8 +1,11 @@
 package uk.gov.companieshouse.search.api.service.search.advanced;
 
+import static java.util.concurrent.CompletableFuture.completedFuture;
+import static java.util.concurrent.CompletableFuture.failedFuture;
 import static org.apache.lucene.search.TotalHits.Relation.EQUAL_TO;
 import static org.apache.lucene.search.TotalHits.Relation.GREATER_THAN_OR_EQUAL_TO;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.Mockito.when;
@@ -10,6 +13,7 @@ import static org.mockito.Mockito.when;
 import java.io.IOException;
 import java.util.Arrays;
 import java.util.List;
+import java.util.concurrent.CompletionException;
 import org.apache.lucene.search.TotalHits;
 import org.elasticsearch.common.bytes.BytesArray;
 import org.elasticsearch.common.bytes.BytesReference;
@@ -66,12 +70,13 @@ class AdvancedSearchRequestServiceTest {
         AdvancedSearchQueryParams advancedSearchQueryParams = new AdvancedSearchQueryParams();
         advancedSearchQueryParams.setCompanyNameIncludes(COMPANY_NAME);
 
-        when(mockAdvancedSearchRequests.getCompanies(advancedSearchQueryParams, REQUEST_ID)).thenReturn(createSearchHits());
+        when(mockAdvancedSearchRequests.getCompanies(advancedSearchQueryParams, REQUEST_ID))
+                .thenReturn(completedFuture(createSearchHits()));
         when(mockElasticSearchResponseMapper.mapAdvancedSearchResponse(createSearchHits().getAt(0))).thenReturn(company);
         when(mockElasticSearchResponseMapper.mapAdvancedTopHit(company)).thenReturn(createTopHit());
 
         SearchResults<Company> searchResults =
-                searchRequestService.getSearchResults(advancedSearchQueryParams, REQUEST_ID);
+                searchRequestService.getSearchResults(advancedSearchQueryParams, REQUEST_ID).join();
 
         assertNotNull(searchResults);
         assertEquals(COMPANY_NAME, searchResults.getTopHit().getCompanyName());
@@ -87,10 +92,11 @@ class AdvancedSearchRequestServiceTest {
 
         AdvancedSearchQueryParams advancedSearchQueryParams = new AdvancedSearchQueryParams();
 
-        when(mockAdvancedSearchRequests.getCompanies(advancedSearchQueryParams, REQUEST_ID)).thenReturn(createEmptySearchHits());
+        when(mockAdvancedSearchRequests.getCompanies(advancedSearchQueryParams, REQUEST_ID))
+                .thenReturn(completedFuture(createEmptySearchHits()));
 
         SearchResults<Company> searchResults =
-                searchRequestService.getSearchResults(advancedSearchQueryParams, REQUEST_ID);
+                searchRequestService.getSearchResults(advancedSearchQueryParams, REQUEST_ID).join();
 
         assertNotNull(searchResults);
         assertNotNull(searchResults.getItems());
@@ -104,10 +110,11 @@ class AdvancedSearchRequestServiceTest {
         advancedSearchQueryParams.setCompanyNameIncludes(COMPANY_NAME);
 
         when(mockAdvancedSearchRequests.getCompanies(advancedSearchQueryParams, REQUEST_ID)).
-                thenThrow(IOException.class);
+                thenReturn(failedFuture(new IOException()));
 
-        assertThrows(SearchException.class,
-                () -> searchRequestService.getSearchResults(advancedSearchQueryParams, REQUEST_ID));
+        CompletionException exception = assertThrows(CompletionException.class,
+                () -> searchRequestService.getSearchResults(advancedSearchQueryParams, REQUEST_ID).join());
+        assertInstanceOf(SearchException.class, exception.getCause());
     }
 
     private SearchHits createSearchHits() {
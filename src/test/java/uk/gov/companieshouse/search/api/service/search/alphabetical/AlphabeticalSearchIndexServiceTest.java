@@ -1,5 +1,7 @@
 package uk.gov.companieshouse.search.api.service.search.alphabetical;
 
+import static java.util.concurrent.CompletableFuture.completedFuture;
+import static java.util.concurrent.CompletableFuture.failedFuture;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.mockito.Mockito.when;
@@ -50,8 +52,8 @@ class AlphabeticalSearchIndexServiceTest {
     @DisplayName("Test search request returns successfully")
     void searchRequestSuccessful() throws Exception {
         when(mockSearchRequestService.getAlphabeticalSearchResults(CORPORATE_NAME, null, null, null, REQUEST_ID))
-            .thenReturn(createSearchResults(true, false));
-        ResponseObject responseObject = searchIndexService.search(CORPORATE_NAME, null, null, null, REQUEST_ID);
+            .thenReturn(completedFuture(createSearchResults(true, false)));
+        ResponseObject responseObject = searchIndexService.search(CORPORATE_NAME, null, null, null, REQUEST_ID).join();
 
         assertNotNull(responseObject);
         assertEquals(ResponseStatus.SEARCH_FOUND, responseObject.getStatus());
@@ -61,9 +63,9 @@ class AlphabeticalSearchIndexServiceTest {
     @DisplayName("Test search returns an error")
     void searchRequestReturnsError() throws Exception {
         when(mockSearchRequestService.getAlphabeticalSearchResults(CORPORATE_NAME, null, null, null, REQUEST_ID))
-            .thenThrow(SearchException.class);
+            .thenReturn(failedFuture(new SearchException("search failed")));
 
-        ResponseObject responseObject = searchIndexService.search(CORPORATE_NAME, null, null, null, REQUEST_ID);
+        ResponseObject responseObject = searchIndexService.search(CORPORATE_NAME, null, null, null, REQUEST_ID).join();
 
         assertNotNull(responseObject);
         assertEquals(ResponseStatus.SEARCH_ERROR, responseObject.getStatus());
@@ -73,8 +75,8 @@ class AlphabeticalSearchIndexServiceTest {
     @DisplayName("Test search returns no results")
     void searchRequestReturnsNoResults() throws Exception {
         when(mockSearchRequestService.getAlphabeticalSearchResults(CORPORATE_NAME, null, null, null, REQUEST_ID))
-            .thenReturn(createSearchResults(false, false));
-        ResponseObject responseObject = searchIndexService.search(CORPORATE_NAME, null, null, null, REQUEST_ID);
+            .thenReturn(completedFuture(createSearchResults(false, false)));
+        ResponseObject responseObject = searchIndexService.search(CORPORATE_NAME, null, null, null, REQUEST_ID).join();
 
         assertNotNull(responseObject);
         assertEquals(ResponseStatus.SEARCH_NOT_FOUND, responseObject.getStatus());
@@ -84,8 +86,8 @@ class AlphabeticalSearchIndexServiceTest {
     @DisplayName("Test search returns empty results")
     void emptySearchRequestReturnsNoResults() throws Exception {
         when(mockSearchRequestService.getAlphabeticalSearchResults(CORPORATE_NAME, null, null, null, REQUEST_ID))
-            .thenReturn(createSearchResults(false, true));
-        ResponseObject responseObject = searchIndexService.search(CORPORATE_NAME, null, null, null, REQUEST_ID);
+            .thenReturn(completedFuture(createSearchResults(false, true)));
+        ResponseObject responseObject = searchIndexService.search(CORPORATE_NAME, null, null, null, REQUEST_ID).join();
 
         assertNotNull(responseObject);
         assertEquals(ResponseStatus.SEARCH_NOT_FOUND, responseObject.getStatus());
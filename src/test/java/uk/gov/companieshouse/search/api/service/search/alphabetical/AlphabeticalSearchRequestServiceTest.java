@@ -1,14 +1,18 @@
 package uk.gov.companieshouse.search.api.service.search.alphabetical;
 
+import static java.util.concurrent.CompletableFuture.completedFuture;
+import static java.util.concurrent.CompletableFuture.failedFuture;
 import static org.apache.lucene.search.TotalHits.Relation.EQUAL_TO;
 import static org.apache.lucene.search.TotalHits.Relation.GREATER_THAN_OR_EQUAL_TO;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.Mockito.doReturn;
 import static org.mockito.Mockito.when;
 
 import java.io.IOException;
+import java.util.concurrent.CompletionException;
 import org.apache.lucene.search.TotalHits;
 import org.elasticsearch.common.bytes.BytesArray;
 import org.elasticsearch.common.bytes.BytesReference;
@@ -73,7 +77,8 @@ class AlphabeticalSearchRequestServiceTest {
     @DisplayName("Test search request returns results successfully with best match query")
     void testBestMatchSuccessful() throws Exception {
 
-        when(mockAlphaKeyService.getAlphaKeyForCorporateName(CORPORATE_NAME)).thenReturn(createAlphaKeyResponse());
+        when(mockAlphaKeyService.getAlphaKeyForCorporateNameAsync(CORPORATE_NAME))
+                .thenReturn(completedFuture(createAlphaKeyResponse()));
 
         Company company = createCompany();
 
@@ -82,16 +87,16 @@ class AlphabeticalSearchRequestServiceTest {
         when(mockElasticSearchResponseMapper.mapAlphabeticalTopHit(company)).thenReturn(createTopHit());
 
         when(mockAlphabeticalSearchRequests.getBestMatchResponse(ORDERED_ALPHA_KEY, REQUEST_ID))
-                .thenReturn(createSearchHits());
+                .thenReturn(completedFuture(createSearchHits()));
 
         when(mockAlphabeticalSearchRequests.getAboveResultsResponse(REQUEST_ID, ORDERED_ALPHA_KEY_WITH_ID, TOP_HIT,
-                10)).thenReturn(createSearchHits());
+                10)).thenReturn(completedFuture(createSearchHits()));
 
         when(mockAlphabeticalSearchRequests.getDescendingResultsResponse(REQUEST_ID, ORDERED_ALPHA_KEY_WITH_ID, TOP_HIT,
-                9)).thenReturn(createSearchHits());
+                9)).thenReturn(completedFuture(createSearchHits()));
 
         SearchResults<Company> searchResults =
-            searchRequestService.getAlphabeticalSearchResults(CORPORATE_NAME, null, null, 20, REQUEST_ID);
+            searchRequestService.getAlphabeticalSearchResults(CORPORATE_NAME, null, null, 20, REQUEST_ID).join();
 
         assertNotNull(searchResults);
         assertEquals( TOP_HIT, searchResults.getTopHit().getCompanyName());
@@ -102,7 +107,8 @@ class AlphabeticalSearchRequestServiceTest {
     @DisplayName("Test search request returns results successfully with best match query and a size of 1")
     void testBestMatchSuccessfulWithSizeOne() throws Exception {
 
-        when(mockAlphaKeyService.getAlphaKeyForCorporateName(CORPORATE_NAME)).thenReturn(createAlphaKeyResponse());
+        when(mockAlphaKeyService.getAlphaKeyForCorporateNameAsync(CORPORATE_NAME))
+                .thenReturn(completedFuture(createAlphaKeyResponse()));
 
         Company company = createCompany();
 
@@ -111,10 +117,10 @@ class AlphabeticalSearchRequestServiceTest {
         when(mockElasticSearchResponseMapper.mapAlphabeticalTopHit(company)).thenReturn(createTopHit());
 
         when(mockAlphabeticalSearchRequests.getBestMatchResponse(ORDERED_ALPHA_KEY, REQUEST_ID))
-                .thenReturn(createSearchHits());
+                .thenReturn(completedFuture(createSearchHits()));
 
         SearchResults<Company> searchResults =
-            searchRequestService.getAlphabeticalSearchResults(CORPORATE_NAME, null, null, 1, REQUEST_ID);
+            searchRequestService.getAlphabeticalSearchResults(CORPORATE_NAME, null, null, 1, REQUEST_ID).join();
 
         assertNotNull(searchResults);
         assertEquals( TOP_HIT, searchResults.getTopHit().getCompanyName());
@@ -125,7 +131,8 @@ class AlphabeticalSearchRequestServiceTest {
     @DisplayName("Test search request returns results successfully with starts with query")
     void testStartsWithSuccessful() throws Exception {
 
-        when(mockAlphaKeyService.getAlphaKeyForCorporateName(CORPORATE_NAME)).thenReturn(createAlphaKeyResponse());
+        when(mockAlphaKeyService.getAlphaKeyForCorporateNameAsync(CORPORATE_NAME))
+                .thenReturn(completedFuture(createAlphaKeyResponse()));
 
         Company company = createCompany();
 
@@ -134,19 +141,19 @@ class AlphabeticalSearchRequestServiceTest {
         when(mockElasticSearchResponseMapper.mapAlphabeticalTopHit(company)).thenReturn(createTopHit());
 
         when(mockAlphabeticalSearchRequests.getBestMatchResponse(ORDERED_ALPHA_KEY, REQUEST_ID))
-                .thenReturn(createEmptySearchHits());
+                .thenReturn(completedFuture(createEmptySearchHits()));
 
         when(mockAlphabeticalSearchRequests.getStartsWithResponse(ORDERED_ALPHA_KEY, REQUEST_ID))
-                .thenReturn(createSearchHits());
+                .thenReturn(completedFuture(createSearchHits()));
 
         when(mockAlphabeticalSearchRequests.getAboveResultsResponse(REQUEST_ID, ORDERED_ALPHA_KEY_WITH_ID, TOP_HIT,
-                10)).thenReturn(createSearchHits());
+                10)).thenReturn(completedFuture(createSearchHits()));
 
         when(mockAlphabeticalSearchRequests.getDescendingResultsResponse(REQUEST_ID, ORDERED_ALPHA_KEY_WITH_ID, TOP_HIT,
-                9)).thenReturn(createSearchHits());
+                9)).thenReturn(completedFuture(createSearchHits()));
 
         SearchResults<Company> searchResults =
-            searchRequestService.getAlphabeticalSearchResults(CORPORATE_NAME, null, null, 20, REQUEST_ID);
+            searchRequestService.getAlphabeticalSearchResults(CORPORATE_NAME, null, null, 20, REQUEST_ID).join();
 
         assertNotNull(searchResults);
         assertEquals(TOP_HIT, searchResults.getTopHit().getCompanyName());
@@ -157,7 +164,8 @@ class AlphabeticalSearchRequestServiceTest {
     @DisplayName("Test search request returns results successfully with corporate name starts with query")
     void testCorporateNameStartsWithSuccessful() throws Exception {
 
-        when(mockAlphaKeyService.getAlphaKeyForCorporateName(CORPORATE_NAME)).thenReturn(createAlphaKeyResponse());
+        when(mockAlphaKeyService.getAlphaKeyForCorporateNameAsync(CORPORATE_NAME))
+                .thenReturn(completedFuture(createAlphaKeyResponse()));
 
         Company company = createCompany();
 
@@ -166,22 +174,22 @@ class AlphabeticalSearchRequestServiceTest {
         when(mockElasticSearchResponseMapper.mapAlphabeticalTopHit(company)).thenReturn(createTopHit());
 
         when(mockAlphabeticalSearchRequests.getBestMatchResponse(ORDERED_ALPHA_KEY, REQUEST_ID))
-                .thenReturn(createEmptySearchHits());
+                .thenReturn(completedFuture(createEmptySearchHits()));
 
         when(mockAlphabeticalSearchRequests.getStartsWithResponse(ORDERED_ALPHA_KEY, REQUEST_ID))
-                .thenReturn(createEmptySearchHits());
+                .thenReturn(completedFuture(createEmptySearchHits()));
 
         when(mockAlphabeticalSearchRequests.getCorporateNameStartsWithResponse(ORDERED_ALPHA_KEY, REQUEST_ID))
-                .thenReturn(createSearchHits());
+                .thenReturn(completedFuture(createSearchHits()));
 
         when(mockAlphabeticalSearchRequests.getAboveResultsResponse(REQUEST_ID, ORDERED_ALPHA_KEY_WITH_ID, TOP_HIT,
-                5)).thenReturn(createSearchHits());
+                5)).thenReturn(completedFuture(createSearchHits()));
 
         when(mockAlphabeticalSearchRequests.getDescendingResultsResponse(REQUEST_ID, ORDERED_ALPHA_KEY_WITH_ID, TOP_HIT,
-                5)).thenReturn(createSearchHits());
+                5)).thenReturn(completedFuture(createSearchHits()));
 
         SearchResults<Company> searchResults =
-            searchRequestService.getAlphabeticalSearchResults(CORPORATE_NAME, null, null, 11, REQUEST_ID);
+            searchRequestService.getAlphabeticalSearchResults(CORPORATE_NAME, null, null, 11, REQUEST_ID).join();
 
         assertNotNull(searchResults);
         assertEquals(TOP_HIT, searchResults.getTopHit().getCompanyName());
@@ -192,13 +200,16 @@ class AlphabeticalSearchRequestServiceTest {
     @DisplayName("Test search request throws exception")
     void testThrowException() throws Exception {
 
-        when(mockAlphaKeyService.getAlphaKeyForCorporateName(CORPORATE_NAME)).thenReturn(createAlphaKeyResponse());
+        when(mockAlphaKeyService.getAlphaKeyForCorporateNameAsync(CORPORATE_NAME))
+                .thenReturn(completedFuture(createAlphaKeyResponse()));
 
         when(mockAlphabeticalSearchRequests.getBestMatchResponse(ORDERED_ALPHA_KEY, REQUEST_ID))
-                .thenThrow(IOException.class);
+                .thenReturn(failedFuture(new IOException()));
 
-        assertThrows(SearchException.class,
-                () -> searchRequestService.getAlphabeticalSearchResults(CORPORATE_NAME, null, null, null, REQUEST_ID));
+        CompletionException exception = assertThrows(CompletionException.class,
+                () -> searchRequestService
+                        .getAlphabeticalSearchResults(CORPORATE_NAME, null, null, null, REQUEST_ID).join());
+        assertInstanceOf(SearchException.class, exception.getCause());
     }
 
     @Test
@@ -206,11 +217,11 @@ class AlphabeticalSearchRequestServiceTest {
     void testPeelbackSearchRequestSuccessful() throws Exception {
 
         when(mockAlphabeticalSearchRequests.getBestMatchResponse(ORDERED_ALPHA_KEY, REQUEST_ID))
-                .thenReturn(createSearchHits());
+                .thenReturn(completedFuture(createSearchHits()));
         doReturn(25).when(mockEnvironmentReader).getMandatoryInteger(ALPHABETICAL_FALLBACK_QUERY_LIMIT);
 
         SearchHits searchHits = searchRequestService.peelbackSearchRequest(createEmptySearchHits(), ORDERED_ALPHA_KEY,
-                REQUEST_ID);
+                REQUEST_ID).join();
 
         assertEquals(1L, searchHits.getTotalHits().value);
     }
@@ -219,7 +230,8 @@ class AlphabeticalSearchRequestServiceTest {
     @DisplayName("Test search request returns results successfully when search_before is not null")
     void testSearchUsinfSearchBefore() throws Exception {
 
-        when(mockAlphaKeyService.getAlphaKeyForCorporateName(CORPORATE_NAME)).thenReturn(createAlphaKeyResponse());
+        when(mockAlphaKeyService.getAlphaKeyForCorporateNameAsync(CORPORATE_NAME))
+                .thenReturn(completedFuture(createAlphaKeyResponse()));
 
         Company company = createCompany();
 
@@ -228,13 +240,13 @@ class AlphabeticalSearchRequestServiceTest {
         when(mockElasticSearchResponseMapper.mapAlphabeticalTopHit(company)).thenReturn(createTopHit());
 
         when(mockAlphabeticalSearchRequests.getBestMatchResponse(ORDERED_ALPHA_KEY, REQUEST_ID))
-                .thenReturn(createSearchHits());
+                .thenReturn(completedFuture(createSearchHits()));
 
         when(mockAlphabeticalSearchRequests.getAboveResultsResponse(REQUEST_ID, SEARCH_BEFORE_VALUE, TOP_HIT, null))
-                .thenReturn(createSearchHits());
+                .thenReturn(completedFuture(createSearchHits()));
 
         SearchResults<Company> searchResults = searchRequestService.getAlphabeticalSearchResults(CORPORATE_NAME,
-                SEARCH_BEFORE_VALUE, null, null, REQUEST_ID);
+                SEARCH_BEFORE_VALUE, null, null, REQUEST_ID).join();
 
         assertNotNull(searchResults);
         assertEquals(TOP_HIT, searchResults.getTopHit().getCompanyName());
@@ -245,7 +257,8 @@ class AlphabeticalSearchRequestServiceTest {
     @DisplayName("Test search request returns results successfully when search_after is not null")
     void testSearchUsinfSearchAfter() throws Exception {
 
-        when(mockAlphaKeyService.getAlphaKeyForCorporateName(CORPORATE_NAME)).thenReturn(createAlphaKeyResponse());
+        when(mockAlphaKeyService.getAlphaKeyForCorporateNameAsync(CORPORATE_NAME))
+                .thenReturn(completedFuture(createAlphaKeyResponse()));
 
         Company company = createCompany();
 
@@ -254,13 +267,13 @@ class AlphabeticalSearchRequestServiceTest {
         when(mockElasticSearchResponseMapper.mapAlphabeticalTopHit(company)).thenReturn(createTopHit());
 
         when(mockAlphabeticalSearchRequests.getBestMatchResponse(ORDERED_ALPHA_KEY, REQUEST_ID))
-                .thenReturn(createSearchHits());
+                .thenReturn(completedFuture(createSearchHits()));
 
         when(mockAlphabeticalSearchRequests.getDescendingResultsResponse(REQUEST_ID, SEARCH_AFTER_VALUE, TOP_HIT, null))
-                .thenReturn(createSearchHits());
+                .thenReturn(completedFuture(createSearchHits()));
 
         SearchResults<Company> searchResults = searchRequestService.getAlphabeticalSearchResults(CORPORATE_NAME,
-                null, SEARCH_AFTER_VALUE, null, REQUEST_ID);
+                null, SEARCH_AFTER_VALUE, null, REQUEST_ID).join();
 
         assertNotNull(searchResults);
         assertEquals(TOP_HIT, searchResults.getTopHit().getCompanyName());
@@ -271,7 +284,8 @@ class AlphabeticalSearchRequestServiceTest {
     @DisplayName("Test search uses default behaviour when both search_before and search after are provided")
     void testSearchWhenBothSearchBeforeAndSearchAfterProvided() throws Exception {
 
-        when(mockAlphaKeyService.getAlphaKeyForCorporateName(CORPORATE_NAME)).thenReturn(createAlphaKeyResponse());
+        when(mockAlphaKeyService.getAlphaKeyForCorporateNameAsync(CORPORATE_NAME))
+                .thenReturn(completedFuture(createAlphaKeyResponse()));
 
         Company company = createCompany();
 
@@ -280,16 +294,16 @@ class AlphabeticalSearchRequestServiceTest {
         when(mockElasticSearchResponseMapper.mapAlphabeticalTopHit(company)).thenReturn(createTopHit());
 
         when(mockAlphabeticalSearchRequests.getBestMatchResponse(ORDERED_ALPHA_KEY, REQUEST_ID))
-                .thenReturn(createSearchHits());
+                .thenReturn(completedFuture(createSearchHits()));
 
         when(mockAlphabeticalSearchRequests.getAboveResultsResponse(REQUEST_ID, ORDERED_ALPHA_KEY_WITH_ID, TOP_HIT,
-                10)).thenReturn(createSearchHits());
+                10)).thenReturn(completedFuture(createSearchHits()));
 
         when(mockAlphabeticalSearchRequests.getDescendingResultsResponse(REQUEST_ID, ORDERED_ALPHA_KEY_WITH_ID, TOP_HIT,
-                9)).thenReturn(createSearchHits());
+                9)).thenReturn(completedFuture(createSearchHits()));
 
         SearchResults<Company> searchResults = searchRequestService.getAlphabeticalSearchResults(CORPORATE_NAME,
-                SEARCH_BEFORE_VALUE, SEARCH_AFTER_VALUE, 20, REQUEST_ID);
+                SEARCH_BEFORE_VALUE, SEARCH_AFTER_VALUE, 20, REQUEST_ID).join();
 
         assertNotNull(searchResults);
         assertEquals(TOP_HIT, searchResults.getTopHit().getCompanyName());
@@ -1,5 +1,7 @@
 package uk.gov.companieshouse.search.api.service.search.dissolved;
 
+import static java.util.concurrent.CompletableFuture.completedFuture;
+import static java.util.concurrent.CompletableFuture.failedFuture;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.mockito.Mockito.when;
@@ -60,9 +62,9 @@ class DissolvedSearchIndexServiceTest {
     @DisplayName("Test dissolved alphabetical search request returns successfully")
     void searchDissolvedAlphabeticalRequestSuccessful() throws Exception {
         when(mockDissolvedSearchRequestService.getSearchResults(COMPANY_NAME, SEARCH_BEFORE, SEARCH_AFTER, SIZE,
-                REQUEST_ID)).thenReturn(createSearchResults(true, false));
+                REQUEST_ID)).thenReturn(completedFuture(createSearchResults(true, false)));
         ResponseObject responseObject = searchIndexService.searchAlphabetical(COMPANY_NAME, SEARCH_BEFORE,
-                SEARCH_AFTER, SIZE, REQUEST_ID);
+                SEARCH_AFTER, SIZE, REQUEST_ID).join();
 
         assertNotNull(responseObject);
         assertEquals(ResponseStatus.SEARCH_FOUND, responseObject.getStatus());
@@ -72,10 +74,10 @@ class DissolvedSearchIndexServiceTest {
     @DisplayName("Test dissolved alphabetical search returns an error")
     void searchDissolvedAlphabeticalRequestReturnsError() throws Exception {
         when(mockDissolvedSearchRequestService.getSearchResults(COMPANY_NAME, SEARCH_BEFORE, SEARCH_AFTER, SIZE,
-                REQUEST_ID)).thenThrow(SearchException.class);
+                REQUEST_ID)).thenReturn(failedFuture(new SearchException("search failed")));
 
         ResponseObject responseObject = searchIndexService.searchAlphabetical(COMPANY_NAME, SEARCH_BEFORE,
-                SEARCH_AFTER, SIZE, REQUEST_ID);
+                SEARCH_AFTER, SIZE, REQUEST_ID).join();
 
         assertNotNull(responseObject);
         assertEquals(ResponseStatus.SEARCH_ERROR, responseObject.getStatus());
@@ -85,9 +87,9 @@ class DissolvedSearchIndexServiceTest {
     @DisplayName("Test dissolved alphabetical search returns no results")
     void searchDissolvedAlphabeticalRequestReturnsNoResults() throws Exception {
         when(mockDissolvedSearchRequestService.getSearchResults(COMPANY_NAME, null, null, null, REQUEST_ID))
-                .thenReturn(createSearchResults(false, false));
+                .thenReturn(completedFuture(createSearchResults(false, false)));
         ResponseObject responseObject = searchIndexService.searchAlphabetical(COMPANY_NAME, SEARCH_BEFORE,
-                SEARCH_AFTER, null, REQUEST_ID);
+                SEARCH_AFTER, null, REQUEST_ID).join();
 
         assertNotNull(responseObject);
         assertEquals(ResponseStatus.SEARCH_NOT_FOUND, responseObject.getStatus());
@@ -97,9 +99,9 @@ class DissolvedSearchIndexServiceTest {
     @DisplayName("Test dissolved alphabetical search returns no results when response object is empty")
     void emptySearchDissolvedAlphabeticalRequestReturnsNoResults() throws Exception {
         when(mockDissolvedSearchRequestService.getSearchResults(COMPANY_NAME, null, null, null, REQUEST_ID))
-            .thenReturn(createSearchResults(false, true));
+            .thenReturn(completedFuture(createSearchResults(false, true)));
         ResponseObject responseObject = searchIndexService.searchAlphabetical(COMPANY_NAME, SEARCH_BEFORE,
-            SEARCH_AFTER, null, REQUEST_ID);
+            SEARCH_AFTER, null, REQUEST_ID).join();
 
         assertNotNull(responseObject);
         assertEquals(ResponseStatus.SEARCH_NOT_FOUND, responseObject.getStatus());
@@ -109,9 +111,10 @@ class DissolvedSearchIndexServiceTest {
     @DisplayName("Test best match dissolved search request returns successfully")
     void searchBestMatchDissolvedRequestSuccessful() throws Exception {
         when(mockDissolvedSearchRequestService.getBestMatchSearchResults(COMPANY_NAME, REQUEST_ID,
-                SEARCH_TYPE_BEST_MATCH, START_INDEX, SIZE)).thenReturn(createSearchResults(true, false));
+                SEARCH_TYPE_BEST_MATCH, START_INDEX, SIZE))
+                .thenReturn(completedFuture(createSearchResults(true, false)));
         ResponseObject responseObject = searchIndexService.searchBestMatch(COMPANY_NAME, REQUEST_ID,
-                SEARCH_TYPE_BEST_MATCH, START_INDEX, SIZE);
+                SEARCH_TYPE_BEST_MATCH, START_INDEX, SIZE).join();
 
         assertNotNull(responseObject);
         assertEquals(ResponseStatus.SEARCH_FOUND, responseObject.getStatus());
@@ -121,10 +124,11 @@ class DissolvedSearchIndexServiceTest {
     @DisplayName("Test best match dissolved search returns an error")
     void searchBestMatchDissolvedRequestReturnsError() throws Exception {
         when(mockDissolvedSearchRequestService.getBestMatchSearchResults(COMPANY_NAME, REQUEST_ID,
-                SEARCH_TYPE_BEST_MATCH, START_INDEX, SIZE)).thenThrow(SearchException.class);
+                SEARCH_TYPE_BEST_MATCH, START_INDEX, SIZE))
+                .thenReturn(failedFuture(new SearchException("search failed")));
 
         ResponseObject responseObject = searchIndexService.searchBestMatch(COMPANY_NAME, REQUEST_ID,
-                SEARCH_TYPE_BEST_MATCH, START_INDEX, SIZE);
+                SEARCH_TYPE_BEST_MATCH, START_INDEX, SIZE).join();
 
         assertNotNull(responseObject);
         assertEquals(ResponseStatus.SEARCH_ERROR, responseObject.getStatus());
@@ -134,9 +138,10 @@ class DissolvedSearchIndexServiceTest {
     @DisplayName("Test best match dissolved search returns no results")
     void searchBestMatchDissolvedRequestReturnsNoResults() throws Exception {
         when(mockDissolvedSearchRequestService.getBestMatchSearchResults(COMPANY_NAME, REQUEST_ID,
-                SEARCH_TYPE_BEST_MATCH, START_INDEX, SIZE)).thenReturn(createSearchResults(false, false));
+                SEARCH_TYPE_BEST_MATCH, START_INDEX, SIZE))
+                .thenReturn(completedFuture(createSearchResults(false, false)));
         ResponseObject responseObject = searchIndexService.searchBestMatch(COMPANY_NAME, REQUEST_ID,
-                SEARCH_TYPE_BEST_MATCH, START_INDEX, SIZE);
+                SEARCH_TYPE_BEST_MATCH, START_INDEX, SIZE).join();
 
         assertNotNull(responseObject);
         assertEquals(ResponseStatus.SEARCH_NOT_FOUND, responseObject.getStatus());
@@ -147,9 +152,10 @@ class DissolvedSearchIndexServiceTest {
     @DisplayName("Test best match for previous company names on a dissolved search request returns successfully")
     void searchBestMatchPreviousNamesDissolvedRequestSuccessful() throws Exception {
         when(mockDissolvedSearchRequestService.getPreviousNamesResults(COMPANY_NAME, REQUEST_ID,
-                SEARCH_TYPE_PREVIOUS_NAME_BEST_MATCH, START_INDEX, SIZE)).thenReturn(createSearchResults(true, false));
+                SEARCH_TYPE_PREVIOUS_NAME_BEST_MATCH, START_INDEX, SIZE))
+                .thenReturn(completedFuture(createSearchResults(true, false)));
         ResponseObject responseObject = searchIndexService.searchBestMatch(COMPANY_NAME, REQUEST_ID,
-                SEARCH_TYPE_PREVIOUS_NAME_BEST_MATCH, START_INDEX, SIZE);
+                SEARCH_TYPE_PREVIOUS_NAME_BEST_MATCH, START_INDEX, SIZE).join();
 
         assertNotNull(responseObject);
         assertEquals(ResponseStatus.SEARCH_FOUND, responseObject.getStatus());
@@ -159,10 +165,11 @@ class DissolvedSearchIndexServiceTest {
     @DisplayName("Test best match for previous company names on a dissolved search returns an error")
     void searchBestMatchPreviousNamesDissolvedRequestReturnsError() throws Exception {
         when(mockDissolvedSearchRequestService.getPreviousNamesResults(COMPANY_NAME, REQUEST_ID,
-                SEARCH_TYPE_PREVIOUS_NAME_BEST_MATCH, START_INDEX, SIZE)).thenThrow(SearchException.class);
+                SEARCH_TYPE_PREVIOUS_NAME_BEST_MATCH, START_INDEX, SIZE))
+                .thenReturn(failedFuture(new SearchException("search failed")));
 
         ResponseObject responseObject = searchIndexService.searchBestMatch(COMPANY_NAME, REQUEST_ID,
-                SEARCH_TYPE_PREVIOUS_NAME_BEST_MATCH, START_INDEX, SIZE);
+                SEARCH_TYPE_PREVIOUS_NAME_BEST_MATCH, START_INDEX, SIZE).join();
 
         assertNotNull(responseObject);
         assertEquals(ResponseStatus.SEARCH_ERROR, responseObject.getStatus());
@@ -172,9 +179,10 @@ class DissolvedSearchIndexServiceTest {
     @DisplayName("Test best match for previous company names on a dissolved search returns no results")
     void searchBestMatchPreviousNamesDissolvedRequestReturnsNoResults() throws Exception {
         when(mockDissolvedSearchRequestService.getPreviousNamesResults(COMPANY_NAME, REQUEST_ID,
-                SEARCH_TYPE_PREVIOUS_NAME_BEST_MATCH, START_INDEX, SIZE)).thenReturn(createSearchResults(false, false));
+                SEARCH_TYPE_PREVIOUS_NAME_BEST_MATCH, START_INDEX, SIZE))
+                .thenReturn(completedFuture(createSearchResults(false, false)));
         ResponseObject responseObject = searchIndexService.searchBestMatch(COMPANY_NAME, REQUEST_ID,
-                SEARCH_TYPE_PREVIOUS_NAME_BEST_MATCH, START_INDEX, SIZE);
+                SEARCH_TYPE_PREVIOUS_NAME_BEST_MATCH, START_INDEX, SIZE).join();
 
         assertNotNull(responseObject);
         assertEquals(ResponseStatus.SEARCH_NOT_FOUND, responseObject.getStatus());
@@ -184,9 +192,10 @@ class DissolvedSearchIndexServiceTest {
     @DisplayName("Test best match for previous company names on a dissolved search returns no results when result is empty")
     void emptySearchBestMatchPreviousNamesDissolvedRequestReturnsNoResults() throws Exception {
         when(mockDissolvedSearchRequestService.getPreviousNamesResults(COMPANY_NAME, REQUEST_ID,
-            SEARCH_TYPE_PREVIOUS_NAME_BEST_MATCH, START_INDEX, SIZE)).thenReturn(createSearchResults(false, true));
+            SEARCH_TYPE_PREVIOUS_NAME_BEST_MATCH, START_INDEX, SIZE))
+            .thenReturn(completedFuture(createSearchResults(false, true)));
         ResponseObject responseObject = searchIndexService.searchBestMatch(COMPANY_NAME, REQUEST_ID,
-            SEARCH_TYPE_PREVIOUS_NAME_BEST_MATCH, START_INDEX, SIZE);
+            SEARCH_TYPE_PREVIOUS_NAME_BEST_MATCH, START_INDEX, SIZE).join();
 
         assertNotNull(responseObject);
         assertEquals(ResponseStatus.SEARCH_NOT_FOUND, responseObject.getStatus());
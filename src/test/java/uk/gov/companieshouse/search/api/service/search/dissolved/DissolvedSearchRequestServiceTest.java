@@ -1,8 +1,11 @@
 package uk.gov.companieshouse.search.api.service.search.dissolved;
 
+import static java.util.concurrent.CompletableFuture.completedFuture;
+import static java.util.concurrent.CompletableFuture.failedFuture;
 import static org.apache.lucene.search.TotalHits.Relation.EQUAL_TO;
 import static org.apache.lucene.search.TotalHits.Relation.GREATER_THAN_OR_EQUAL_TO;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.ArgumentMatchers.any;
@@ -15,6 +18,7 @@ import java.time.format.DateTimeFormatter;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Locale;
+import java.util.concurrent.CompletionException;
 import org.apache.lucene.search.TotalHits;
 import org.elasticsearch.common.bytes.BytesArray;
 import org.elasticsearch.common.bytes.BytesReference;
@@ -92,22 +96,24 @@ class DissolvedSearchRequestServiceTest {
         Company topHitCompany = createCompany();
         TopHit topHit = createTopHit();
 
-        when(mockAlphaKeyService.getAlphaKeyForCorporateName(COMPANY_NAME)).thenReturn(createAlphaKeyResponse());
+        when(mockAlphaKeyService.getAlphaKeyForCorporateNameAsync(COMPANY_NAME))
+                .thenReturn(completedFuture(createAlphaKeyResponse()));
 
-        when(mockDissolvedSearchRequests.getBestMatchResponse(ORDERED_ALPHA_KEY, REQUEST_ID)).thenReturn(searchHits);
+        when(mockDissolvedSearchRequests.getBestMatchResponse(ORDERED_ALPHA_KEY, REQUEST_ID))
+                .thenReturn(completedFuture(searchHits));
 
         when(mockElasticSearchResponseMapper.mapDissolvedResponse(any(SearchHit.class))).thenReturn(topHitCompany);
 
         when(mockElasticSearchResponseMapper.mapDissolvedTopHit(topHitCompany)).thenReturn(topHit);
 
         when(mockDissolvedSearchRequests.getAboveResultsResponse(REQUEST_ID, ORDERED_ALPHA_KEY_WITH_ID, COMPANY_NAME,
-                10)).thenReturn(searchHits);
+                10)).thenReturn(completedFuture(searchHits));
 
         when(mockDissolvedSearchRequests.getDescendingResultsResponse(REQUEST_ID, ORDERED_ALPHA_KEY_WITH_ID,
-                COMPANY_NAME, 9)).thenReturn(searchHits);
+                COMPANY_NAME, 9)).thenReturn(completedFuture(searchHits));
 
         SearchResults<Company> dissolvedSearchResults = dissolvedSearchRequestService
-                .getSearchResults(COMPANY_NAME, null, null, SIZE, REQUEST_ID);
+                .getSearchResults(COMPANY_NAME, null, null, SIZE, REQUEST_ID).join();
 
         assertNotNull(dissolvedSearchResults);
         assertEquals(COMPANY_NAME, dissolvedSearchResults.getTopHit().getCompanyName());
@@ -123,16 +129,18 @@ class DissolvedSearchRequestServiceTest {
         Company topHitCompany = createCompany();
         TopHit topHit = createTopHit();
 
-        when(mockAlphaKeyService.getAlphaKeyForCorporateName(COMPANY_NAME)).thenReturn(createAlphaKeyResponse());
+        when(mockAlphaKeyService.getAlphaKeyForCorporateNameAsync(COMPANY_NAME))
+                .thenReturn(completedFuture(createAlphaKeyResponse()));
 
-        when(mockDissolvedSearchRequests.getBestMatchResponse(ORDERED_ALPHA_KEY, REQUEST_ID)).thenReturn(searchHits);
+        when(mockDissolvedSearchRequests.getBestMatchResponse(ORDERED_ALPHA_KEY, REQUEST_ID))
+                .thenReturn(completedFuture(searchHits));
 
         when(mockElasticSearchResponseMapper.mapDissolvedResponse(any(SearchHit.class))).thenReturn(topHitCompany);
 
         when(mockElasticSearchResponseMapper.mapDissolvedTopHit(topHitCompany)).thenReturn(topHit);
 
         SearchResults<Company> dissolvedSearchResults = dissolvedSearchRequestService
-                .getSearchResults(COMPANY_NAME, null, null, 1, REQUEST_ID);
+                .getSearchResults(COMPANY_NAME, null, null, 1, REQUEST_ID).join();
 
         assertNotNull(dissolvedSearchResults);
         assertEquals(COMPANY_NAME, dissolvedSearchResults.getTopHit().getCompanyName());
@@ -148,22 +156,24 @@ class DissolvedSearchRequestServiceTest {
         Company topHitCompany = createCompany();
         TopHit topHit = createTopHit();
 
-        when(mockAlphaKeyService.getAlphaKeyForCorporateName(COMPANY_NAME)).thenReturn(createAlphaKeyResponse());
+        when(mockAlphaKeyService.getAlphaKeyForCorporateNameAsync(COMPANY_NAME))
+                .thenReturn(completedFuture(createAlphaKeyResponse()));
 
-        when(mockDissolvedSearchRequests.getBestMatchResponse(ORDERED_ALPHA_KEY, REQUEST_ID)).thenReturn(searchHits);
+        when(mockDissolvedSearchRequests.getBestMatchResponse(ORDERED_ALPHA_KEY, REQUEST_ID))
+                .thenReturn(completedFuture(searchHits));
 
         when(mockElasticSearchResponseMapper.mapDissolvedResponse(any(SearchHit.class))).thenReturn(topHitCompany);
 
         when(mockElasticSearchResponseMapper.mapDissolvedTopHit(topHitCompany)).thenReturn(topHit);
 
         when(mockDissolvedSearchRequests.getAboveResultsResponse(REQUEST_ID, ORDERED_ALPHA_KEY_WITH_ID, COMPANY_NAME,
-                1)).thenReturn(searchHits);
+                1)).thenReturn(completedFuture(searchHits));
 
         when(mockDissolvedSearchRequests.getDescendingResultsResponse(REQUEST_ID, ORDERED_ALPHA_KEY_WITH_ID,
-                COMPANY_NAME, 1)).thenReturn(searchHits);
+                COMPANY_NAME, 1)).thenReturn(completedFuture(searchHits));
 
         SearchResults<Company> dissolvedSearchResults = dissolvedSearchRequestService
-                .getSearchResults(COMPANY_NAME, null, null, 3, REQUEST_ID);
+                .getSearchResults(COMPANY_NAME, null, null, 3, REQUEST_ID).join();
 
         assertNotNull(dissolvedSearchResults);
         assertEquals(COMPANY_NAME, dissolvedSearchResults.getTopHit().getCompanyName());
@@ -179,25 +189,27 @@ class DissolvedSearchRequestServiceTest {
         Company topHitCompany = createCompany();
         TopHit topHit = createTopHit();
 
-        when(mockAlphaKeyService.getAlphaKeyForCorporateName(COMPANY_NAME)).thenReturn(createAlphaKeyResponse());
+        when(mockAlphaKeyService.getAlphaKeyForCorporateNameAsync(COMPANY_NAME))
+                .thenReturn(completedFuture(createAlphaKeyResponse()));
 
         when(mockDissolvedSearchRequests.getBestMatchResponse(ORDERED_ALPHA_KEY, REQUEST_ID))
-                .thenReturn(createEmptySearchHits());
+                .thenReturn(completedFuture(createEmptySearchHits()));
 
-        when(mockDissolvedSearchRequests.getStartsWithResponse(ORDERED_ALPHA_KEY, REQUEST_ID)).thenReturn(searchHits);
+        when(mockDissolvedSearchRequests.getStartsWithResponse(ORDERED_ALPHA_KEY, REQUEST_ID))
+                .thenReturn(completedFuture(searchHits));
 
         when(mockElasticSearchResponseMapper.mapDissolvedResponse(any(SearchHit.class))).thenReturn(topHitCompany);
 
         when(mockElasticSearchResponseMapper.mapDissolvedTopHit(topHitCompany)).thenReturn(topHit);
 
         when(mockDissolvedSearchRequests.getAboveResultsResponse(REQUEST_ID, ORDERED_ALPHA_KEY_WITH_ID, COMPANY_NAME,
-                10)).thenReturn(searchHits);
+                10)).thenReturn(completedFuture(searchHits));
 
         when(mockDissolvedSearchRequests.getDescendingResultsResponse(REQUEST_ID, ORDERED_ALPHA_KEY_WITH_ID,
-                COMPANY_NAME, 9)).thenReturn(searchHits);
+                COMPANY_NAME, 9)).thenReturn(completedFuture(searchHits));
 
         SearchResults<Company> dissolvedSearchResults = dissolvedSearchRequestService
-                .getSearchResults(COMPANY_NAME, null, null, SIZE, REQUEST_ID);
+                .getSearchResults(COMPANY_NAME, null, null, SIZE, REQUEST_ID).join();
 
         assertNotNull(dissolvedSearchResults);
         assertNotNull(dissolvedSearchResults.getEtag());
@@ -214,29 +226,30 @@ class DissolvedSearchRequestServiceTest {
         Company topHitCompany = createCompany();
         TopHit topHit = createTopHit();
 
-        when(mockAlphaKeyService.getAlphaKeyForCorporateName(COMPANY_NAME)).thenReturn(createAlphaKeyResponse());
+        when(mockAlphaKeyService.getAlphaKeyForCorporateNameAsync(COMPANY_NAME))
+                .thenReturn(completedFuture(createAlphaKeyResponse()));
 
         when(mockDissolvedSearchRequests.getBestMatchResponse(ORDERED_ALPHA_KEY, REQUEST_ID))
-                .thenReturn(createEmptySearchHits());
+                .thenReturn(completedFuture(createEmptySearchHits()));
 
         when(mockDissolvedSearchRequests.getStartsWithResponse(ORDERED_ALPHA_KEY, REQUEST_ID))
-                .thenReturn(createEmptySearchHits());
+                .thenReturn(completedFuture(createEmptySearchHits()));
 
         when(mockDissolvedSearchRequests.getCorporateNameStartsWithResponse(ORDERED_ALPHA_KEY, REQUEST_ID))
-                .thenReturn(searchHits);
+                .thenReturn(completedFuture(searchHits));
 
         when(mockElasticSearchResponseMapper.mapDissolvedResponse(any(SearchHit.class))).thenReturn(topHitCompany);
 
         when(mockElasticSearchResponseMapper.mapDissolvedTopHit(topHitCompany)).thenReturn(topHit);
 
         when(mockDissolvedSearchRequests.getAboveResultsResponse(REQUEST_ID, ORDERED_ALPHA_KEY_WITH_ID, COMPANY_NAME,
-                10)).thenReturn(searchHits);
+                10)).thenReturn(completedFuture(searchHits));
 
         when(mockDissolvedSearchRequests.getDescendingResultsResponse(REQUEST_ID, ORDERED_ALPHA_KEY_WITH_ID,
-                COMPANY_NAME, 9)).thenReturn(searchHits);
+                COMPANY_NAME, 9)).thenReturn(completedFuture(searchHits));
 
         SearchResults<Company> dissolvedSearchResults = dissolvedSearchRequestService
-                .getSearchResults(COMPANY_NAME, null, null, SIZE, REQUEST_ID);
+                .getSearchResults(COMPANY_NAME, null, null, SIZE, REQUEST_ID).join();
 
         assertNotNull(dissolvedSearchResults);
         assertEquals(COMPANY_NAME, dissolvedSearchResults.getTopHit().getCompanyName());
@@ -252,29 +265,30 @@ class DissolvedSearchRequestServiceTest {
         Company topHitCompany = createCompany();
         TopHit topHit = createTopHit();
 
-        when(mockAlphaKeyService.getAlphaKeyForCorporateName(COMPANY_NAME)).thenReturn(createAlphaKeyResponse());
+        when(mockAlphaKeyService.getAlphaKeyForCorporateNameAsync(COMPANY_NAME))
+                .thenReturn(completedFuture(createAlphaKeyResponse()));
 
         when(mockDissolvedSearchRequests.getBestMatchResponse(ORDERED_ALPHA_KEY, REQUEST_ID))
-                .thenReturn(createEmptySearchHits());
+                .thenReturn(completedFuture(createEmptySearchHits()));
 
         when(mockDissolvedSearchRequests.getStartsWithResponse(ORDERED_ALPHA_KEY, REQUEST_ID))
-                .thenReturn(createEmptySearchHits());
+                .thenReturn(completedFuture(createEmptySearchHits()));
 
         when(mockDissolvedSearchRequests.getCorporateNameStartsWithResponse(ORDERED_ALPHA_KEY, REQUEST_ID))
-                .thenReturn(searchHits);
+                .thenReturn(completedFuture(searchHits));
 
         when(mockElasticSearchResponseMapper.mapDissolvedResponse(any(SearchHit.class))).thenReturn(topHitCompany);
 
         when(mockElasticSearchResponseMapper.mapDissolvedTopHit(topHitCompany)).thenReturn(topHit);
 
         when(mockDissolvedSearchRequests.getAboveResultsResponse(REQUEST_ID, ORDERED_ALPHA_KEY_WITH_ID, COMPANY_NAME,
-                10)).thenReturn(searchHits);
+                10)).thenReturn(completedFuture(searchHits));
 
         when(mockDissolvedSearchRequests.getDescendingResultsResponse(REQUEST_ID, ORDERED_ALPHA_KEY_WITH_ID,
-                COMPANY_NAME, 9)).thenReturn(searchHits);
+                COMPANY_NAME, 9)).thenReturn(completedFuture(searchHits));
 
         SearchResults<Company> dissolvedSearchResults = dissolvedSearchRequestService
-                .getSearchResults(COMPANY_NAME, null, null, SIZE, REQUEST_ID);
+                .getSearchResults(COMPANY_NAME, null, null, SIZE, REQUEST_ID).join();
 
         assertNotNull(dissolvedSearchResults);
         assertEquals(COMPANY_NAME, dissolvedSearchResults.getTopHit().getCompanyName());
@@ -290,29 +304,30 @@ class DissolvedSearchRequestServiceTest {
         Company topHitCompany = createCompany();
         TopHit topHit = createTopHit();
 
-        when(mockAlphaKeyService.getAlphaKeyForCorporateName(COMPANY_NAME)).thenReturn(createAlphaKeyResponse());
+        when(mockAlphaKeyService.getAlphaKeyForCorporateNameAsync(COMPANY_NAME))
+                .thenReturn(completedFuture(createAlphaKeyResponse()));
 
         when(mockDissolvedSearchRequests.getBestMatchResponse(ORDERED_ALPHA_KEY, REQUEST_ID))
-                .thenReturn(createEmptySearchHits());
+                .thenReturn(completedFuture(createEmptySearchHits()));
 
         when(mockDissolvedSearchRequests.getStartsWithResponse(ORDERED_ALPHA_KEY, REQUEST_ID))
-                .thenReturn(createEmptySearchHits());
+                .thenReturn(completedFuture(createEmptySearchHits()));
 
         when(mockDissolvedSearchRequests.getCorporateNameStartsWithResponse(ORDERED_ALPHA_KEY, REQUEST_ID))
-                .thenReturn(searchHits);
+                .thenReturn(completedFuture(searchHits));
 
         when(mockElasticSearchResponseMapper.mapDissolvedResponse(any(SearchHit.class))).thenReturn(topHitCompany);
 
         when(mockElasticSearchResponseMapper.mapDissolvedTopHit(topHitCompany)).thenReturn(topHit);
 
         when(mockDissolvedSearchRequests.getAboveResultsResponse(REQUEST_ID, ORDERED_ALPHA_KEY_WITH_ID, COMPANY_NAME,
-                10)).thenReturn(searchHits);
+                10)).thenReturn(completedFuture(searchHits));
 
         when(mockDissolvedSearchRequests.getDescendingResultsResponse(REQUEST_ID, ORDERED_ALPHA_KEY_WITH_ID,
-                COMPANY_NAME, 9)).thenReturn(searchHits);
+                COMPANY_NAME, 9)).thenReturn(completedFuture(searchHits));
 
         SearchResults<Company> dissolvedSearchResults = dissolvedSearchRequestService
-                .getSearchResults(COMPANY_NAME, null, null, SIZE, REQUEST_ID);
+                .getSearchResults(COMPANY_NAME, null, null, SIZE, REQUEST_ID).join();
 
         assertNotNull(dissolvedSearchResults);
         assertEquals(COMPANY_NAME, dissolvedSearchResults.getTopHit().getCompanyName());
@@ -328,29 +343,30 @@ class DissolvedSearchRequestServiceTest {
         Company topHitCompany = createCompany();
         TopHit topHit = createTopHit();
 
-        when(mockAlphaKeyService.getAlphaKeyForCorporateName(COMPANY_NAME)).thenReturn(createAlphaKeyResponse());
+        when(mockAlphaKeyService.getAlphaKeyForCorporateNameAsync(COMPANY_NAME))
+                .thenReturn(completedFuture(createAlphaKeyResponse()));
 
         when(mockDissolvedSearchRequests.getBestMatchResponse(ORDERED_ALPHA_KEY, REQUEST_ID))
-                .thenReturn(createEmptySearchHits());
+                .thenReturn(completedFuture(createEmptySearchHits()));
 
         when(mockDissolvedSearchRequests.getStartsWithResponse(ORDERED_ALPHA_KEY, REQUEST_ID))
-                .thenReturn(createEmptySearchHits());
+                .thenReturn(completedFuture(createEmptySearchHits()));
 
         when(mockDissolvedSearchRequests.getCorporateNameStartsWithResponse(ORDERED_ALPHA_KEY, REQUEST_ID))
-                .thenReturn(searchHits);
+                .thenReturn(completedFuture(searchHits));
 
         when(mockElasticSearchResponseMapper.mapDissolvedResponse(any(SearchHit.class))).thenReturn(topHitCompany);
 
         when(mockElasticSearchResponseMapper.mapDissolvedTopHit(topHitCompany)).thenReturn(topHit);
 
         when(mockDissolvedSearchRequests.getAboveResultsResponse(REQUEST_ID, ORDERED_ALPHA_KEY_WITH_ID, COMPANY_NAME,
-                10)).thenReturn(searchHits);
+                10)).thenReturn(completedFuture(searchHits));
 
         when(mockDissolvedSearchRequests.getDescendingResultsResponse(REQUEST_ID, ORDERED_ALPHA_KEY_WITH_ID,
-                COMPANY_NAME, 9)).thenReturn(searchHits);
+                COMPANY_NAME, 9)).thenReturn(completedFuture(searchHits));
 
         SearchResults<Company> dissolvedSearchResults = dissolvedSearchRequestService
-                .getSearchResults(COMPANY_NAME, null, null, SIZE, REQUEST_ID);
+                .getSearchResults(COMPANY_NAME, null, null, SIZE, REQUEST_ID).join();
 
         assertNotNull(dissolvedSearchResults);
         assertEquals(COMPANY_NAME, dissolvedSearchResults.getTopHit().getCompanyName());
@@ -362,13 +378,16 @@ class DissolvedSearchRequestServiceTest {
     @DisplayName("Test search request throws exception")
     void testThrowException() throws Exception {
 
-        when(mockAlphaKeyService.getAlphaKeyForCorporateName(COMPANY_NAME)).thenReturn(createAlphaKeyResponse());
+        when(mockAlphaKeyService.getAlphaKeyForCorporateNameAsync(COMPANY_NAME))
+                .thenReturn(completedFuture(createAlphaKeyResponse()));
 
         when(mockDissolvedSearchRequests.getBestMatchResponse(ORDERED_ALPHA_KEY, REQUEST_ID))
-                .thenThrow(IOException.class);
+                .thenReturn(failedFuture(new IOException()));
 
-        assertThrows(SearchException.class,
-                () -> dissolvedSearchRequestService.getSearchResults(COMPANY_NAME, null, null, null, REQUEST_ID));
+        CompletionException exception = assertThrows(CompletionException.class,
+                () -> dissolvedSearchRequestService
+                        .getSearchResults(COMPANY_NAME, null, null, null, REQUEST_ID).join());
+        assertInstanceOf(SearchException.class, exception.getCause());
     }
 
     @Test
@@ -379,14 +398,14 @@ class DissolvedSearchRequestServiceTest {
         TopHit topHit = createTopHit();
 
         when(mockDissolvedSearchRequests.getDissolved(COMPANY_NAME, REQUEST_ID, SEARCH_TYPE_BEST_MATCH, START_INDEX, SIZE))
-                .thenReturn(createSearchHits(true, true, true, true));
+                .thenReturn(completedFuture(createSearchHits(true, true, true, true)));
 
         when(mockElasticSearchResponseMapper.mapDissolvedResponse(any(SearchHit.class))).thenReturn(topHitCompany);
 
         when(mockElasticSearchResponseMapper.mapDissolvedTopHit(topHitCompany)).thenReturn(topHit);
 
         SearchResults<Company> dissolvedSearchResults = dissolvedSearchRequestService
-                .getBestMatchSearchResults(COMPANY_NAME, REQUEST_ID, SEARCH_TYPE_BEST_MATCH, START_INDEX, SIZE);
+                .getBestMatchSearchResults(COMPANY_NAME, REQUEST_ID, SEARCH_TYPE_BEST_MATCH, START_INDEX, SIZE).join();
 
         assertEquals(COMPANY_NAME, dissolvedSearchResults.getTopHit().getCompanyName());
         assertEquals(BEST_MATCH_KIND, dissolvedSearchResults.getKind());
@@ -397,10 +416,12 @@ class DissolvedSearchRequestServiceTest {
     void testBestMatchThrowException() throws Exception {
 
         when(mockDissolvedSearchRequests.getDissolved(COMPANY_NAME, REQUEST_ID, SEARCH_TYPE_BEST_MATCH, START_INDEX, SIZE))
-                .thenThrow(IOException.class);
+                .thenReturn(failedFuture(new IOException()));
 
-        assertThrows(SearchException.class, () -> dissolvedSearchRequestService.getBestMatchSearchResults(COMPANY_NAME,
-                REQUEST_ID, SEARCH_TYPE_BEST_MATCH, START_INDEX, SIZE));
+        CompletionException exception = assertThrows(CompletionException.class,
+                () -> dissolvedSearchRequestService.getBestMatchSearchResults(COMPANY_NAME,
+                REQUEST_ID, SEARCH_TYPE_BEST_MATCH, START_INDEX, SIZE).join());
+        assertInstanceOf(SearchException.class, exception.getCause());
     }
 
     @Test
@@ -412,14 +433,15 @@ class DissolvedSearchRequestServiceTest {
         TopHit topHit = createTopHit();
 
         when(mockDissolvedSearchRequests.getDissolved(COMPANY_NAME, REQUEST_ID, SEARCH_TYPE_PREVIOUS_NAME_BEST_MATCH,
-                START_INDEX, SIZE)).thenReturn(createSearchHits(true, true, true, true));
+                START_INDEX, SIZE)).thenReturn(completedFuture(createSearchHits(true, true, true, true)));
 
         when(mockElasticSearchResponseMapper.mapPreviousNames(any(SearchHits.class))).thenReturn(results);
 
         when(mockElasticSearchResponseMapper.mapDissolvedTopHit(results.get(0))).thenReturn(topHit);
 
         SearchResults<Company> dissolvedSearchResults = dissolvedSearchRequestService
-                .getPreviousNamesResults(COMPANY_NAME, REQUEST_ID, SEARCH_TYPE_PREVIOUS_NAME_BEST_MATCH, START_INDEX, SIZE);
+                .getPreviousNamesResults(COMPANY_NAME, REQUEST_ID, SEARCH_TYPE_PREVIOUS_NAME_BEST_MATCH, START_INDEX, SIZE)
+                .join();
 
         assertEquals(COMPANY_NAME, dissolvedSearchResults.getTopHit().getCompanyName());
         assertEquals(PREVIOUS_NAME_KIND, dissolvedSearchResults.getKind());
@@ -430,10 +452,12 @@ class DissolvedSearchRequestServiceTest {
     void testPreviousNamesBestMatchThrowException() throws Exception {
 
         when(mockDissolvedSearchRequests.getDissolved(COMPANY_NAME, REQUEST_ID, SEARCH_TYPE_PREVIOUS_NAME_BEST_MATCH,
-                START_INDEX, SIZE)).thenThrow(IOException.class);
+                START_INDEX, SIZE)).thenReturn(failedFuture(new IOException()));
 
-        assertThrows(SearchException.class, () -> dissolvedSearchRequestService.getPreviousNamesResults(COMPANY_NAME,
-                REQUEST_ID, SEARCH_TYPE_PREVIOUS_NAME_BEST_MATCH, START_INDEX, SIZE));
+        CompletionException exception = assertThrows(CompletionException.class,
+                () -> dissolvedSearchRequestService.getPreviousNamesResults(COMPANY_NAME,
+                REQUEST_ID, SEARCH_TYPE_PREVIOUS_NAME_BEST_MATCH, START_INDEX, SIZE).join());
+        assertInstanceOf(SearchException.class, exception.getCause());
     }
 
     @Test
@@ -441,10 +465,12 @@ class DissolvedSearchRequestServiceTest {
     void testBestMatchPreviousNamesThrowException() throws Exception {
 
         when(mockDissolvedSearchRequests.getDissolved(COMPANY_NAME, REQUEST_ID, SEARCH_TYPE_PREVIOUS_NAME_BEST_MATCH,
-                START_INDEX, SIZE)).thenThrow(IOException.class);
+                START_INDEX, SIZE)).thenReturn(failedFuture(new IOException()));
 
-        assertThrows(SearchException.class, () -> dissolvedSearchRequestService.getBestMatchSearchResults(COMPANY_NAME,
-                REQUEST_ID, SEARCH_TYPE_PREVIOUS_NAME_BEST_MATCH, START_INDEX, SIZE));
+        CompletionException exception = assertThrows(CompletionException.class,
+                () -> dissolvedSearchRequestService.getBestMatchSearchResults(COMPANY_NAME,
+                REQUEST_ID, SEARCH_TYPE_PREVIOUS_NAME_BEST_MATCH, START_INDEX, SIZE).join());
+        assertInstanceOf(SearchException.class, exception.getCause());
     }
 
     @Test
@@ -452,11 +478,11 @@ class DissolvedSearchRequestServiceTest {
     void testPeelbackSearchRequestSuccessful() throws Exception {
 
         when(mockDissolvedSearchRequests.getBestMatchResponse(ORDERED_ALPHA_KEY, REQUEST_ID))
-                .thenReturn(createSearchHits(true, true, true, true));
+                .thenReturn(completedFuture(createSearchHits(true, true, true, true)));
         doReturn(25).when(mockEnvironmentReader).getMandatoryInteger(DISSOLVED_ALPHABETICAL_FALLBACK_QUERY_LIMIT);
 
         SearchHits searchHits = dissolvedSearchRequestService.peelbackSearchRequest(createEmptySearchHits(),
-                ORDERED_ALPHA_KEY, REQUEST_ID);
+                ORDERED_ALPHA_KEY, REQUEST_ID).join();
 
         assertEquals(1L, searchHits.getTotalHits().value);
     }
@@ -469,19 +495,21 @@ class DissolvedSearchRequestServiceTest {
         Company topHitCompany = createCompany();
         TopHit topHit = createTopHit();
 
-        when(mockAlphaKeyService.getAlphaKeyForCorporateName(COMPANY_NAME)).thenReturn(createAlphaKeyResponse());
+        when(mockAlphaKeyService.getAlphaKeyForCorporateNameAsync(COMPANY_NAME))
+                .thenReturn(completedFuture(createAlphaKeyResponse()));
 
-        when(mockDissolvedSearchRequests.getBestMatchResponse(ORDERED_ALPHA_KEY, REQUEST_ID)).thenReturn(searchHits);
+        when(mockDissolvedSearchRequests.getBestMatchResponse(ORDERED_ALPHA_KEY, REQUEST_ID))
+                .thenReturn(completedFuture(searchHits));
 
         when(mockElasticSearchResponseMapper.mapDissolvedResponse(any(SearchHit.class))).thenReturn(topHitCompany);
 
         when(mockElasticSearchResponseMapper.mapDissolvedTopHit(topHitCompany)).thenReturn(topHit);
 
         when(mockDissolvedSearchRequests.getAboveResultsResponse(REQUEST_ID, SEARCH_BEFORE_VALUE, COMPANY_NAME, SIZE))
-                .thenReturn(searchHits);
+                .thenReturn(completedFuture(searchHits));
 
         SearchResults<Company> dissolvedSearchResults = dissolvedSearchRequestService
-                .getSearchResults(COMPANY_NAME, SEARCH_BEFORE_VALUE, null, SIZE, REQUEST_ID);
+                .getSearchResults(COMPANY_NAME, SEARCH_BEFORE_VALUE, null, SIZE, REQUEST_ID).join();
 
         assertNotNull(dissolvedSearchResults);
         assertEquals(COMPANY_NAME, dissolvedSearchResults.getTopHit().getCompanyName());
@@ -497,19 +525,21 @@ class DissolvedSearchRequestServiceTest {
         Company topHitCompany = createCompany();
         TopHit topHit = createTopHit();
 
-        when(mockAlphaKeyService.getAlphaKeyForCorporateName(COMPANY_NAME)).thenReturn(createAlphaKeyResponse());
+        when(mockAlphaKeyService.getAlphaKeyForCorporateNameAsync(COMPANY_NAME))
+                .thenReturn(completedFuture(createAlphaKeyResponse()));
 
-        when(mockDissolvedSearchRequests.getBestMatchResponse(ORDERED_ALPHA_KEY, REQUEST_ID)).thenReturn(searchHits);
+        when(mockDissolvedSearchRequests.getBestMatchResponse(ORDERED_ALPHA_KEY, REQUEST_ID))
+                .thenReturn(completedFuture(searchHits));
 
         when(mockElasticSearchResponseMapper.mapDissolvedResponse(any(SearchHit.class))).thenReturn(topHitCompany);
 
         when(mockElasticSearchResponseMapper.mapDissolvedTopHit(topHitCompany)).thenReturn(topHit);
 
         when(mockDissolvedSearchRequests.getDescendingResultsResponse(REQUEST_ID, SEARCH_AFTER_VALUE, COMPANY_NAME,
-                SIZE)).thenReturn(searchHits);
+                SIZE)).thenReturn(completedFuture(searchHits));
 
         SearchResults<Company> dissolvedSearchResults = dissolvedSearchRequestService
-                .getSearchResults(COMPANY_NAME, null, SEARCH_AFTER_VALUE, SIZE, REQUEST_ID);
+                .getSearchResults(COMPANY_NAME, null, SEARCH_AFTER_VALUE, SIZE, REQUEST_ID).join();
 
         assertNotNull(dissolvedSearchResults);
         assertEquals(COMPANY_NAME, dissolvedSearchResults.getTopHit().getCompanyName());
@@ -525,22 +555,24 @@ class DissolvedSearchRequestServiceTest {
         Company topHitCompany = createCompany();
         TopHit topHit = createTopHit();
 
-        when(mockAlphaKeyService.getAlphaKeyForCorporateName(COMPANY_NAME)).thenReturn(createAlphaKeyResponse());
+        when(mockAlphaKeyService.getAlphaKeyForCorporateNameAsync(COMPANY_NAME))
+                .thenReturn(completedFuture(createAlphaKeyResponse()));
 
-        when(mockDissolvedSearchRequests.getBestMatchResponse(ORDERED_ALPHA_KEY, REQUEST_ID)).thenReturn(searchHits);
+        when(mockDissolvedSearchRequests.getBestMatchResponse(ORDERED_ALPHA_KEY, REQUEST_ID))
+                .thenReturn(completedFuture(searchHits));
 
         when(mockElasticSearchResponseMapper.mapDissolvedResponse(any(SearchHit.class))).thenReturn(topHitCompany);
 
         when(mockElasticSearchResponseMapper.mapDissolvedTopHit(topHitCompany)).thenReturn(topHit);
 
         when(mockDissolvedSearchRequests.getAboveResultsResponse(REQUEST_ID, ORDERED_ALPHA_KEY_WITH_ID, COMPANY_NAME,
-                10)).thenReturn(searchHits);
+                10)).thenReturn(completedFuture(searchHits));
 
         when(mockDissolvedSearchRequests.getDescendingResultsResponse(REQUEST_ID, ORDERED_ALPHA_KEY_WITH_ID,
-                COMPANY_NAME, 9)).thenReturn(searchHits);
+                COMPANY_NAME, 9)).thenReturn(completedFuture(searchHits));
 
         SearchResults<Company> dissolvedSearchResults = dissolvedSearchRequestService
-                .getSearchResults(COMPANY_NAME, SEARCH_BEFORE_VALUE, SEARCH_AFTER_VALUE, SIZE, REQUEST_ID);
+                .getSearchResults(COMPANY_NAME, SEARCH_BEFORE_VALUE, SEARCH_AFTER_VALUE, SIZE, REQUEST_ID).join();
 
         assertNotNull(dissolvedSearchResults);
         assertEquals(COMPANY_NAME, dissolvedSearchResults.getTopHit().getCompanyName());
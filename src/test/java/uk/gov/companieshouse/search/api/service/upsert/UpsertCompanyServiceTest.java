@@ -4,6 +4,8 @@ import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static uk.gov.companieshouse.search.api.model.response.ResponseStatus.DOCUMENT_UPSERTED;
@@ -11,24 +13,35 @@ import static uk.gov.companieshouse.search.api.model.response.ResponseStatus.UPD
 import static uk.gov.companieshouse.search.api.model.response.ResponseStatus.UPSERT_ERROR;
 
 import java.io.IOException;
+import java.nio.file.Path;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.stream.Collectors;
 import org.elasticsearch.ElasticsearchException;
+import org.elasticsearch.action.delete.DeleteRequest;
 import org.elasticsearch.action.index.IndexRequest;
 import org.elasticsearch.action.update.UpdateRequest;
+import org.elasticsearch.common.xcontent.XContentType;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import uk.gov.companieshouse.api.company.Data;
 import uk.gov.companieshouse.api.model.company.CompanyProfileApi;
+import uk.gov.companieshouse.environment.EnvironmentReader;
 import uk.gov.companieshouse.search.api.exception.UpsertException;
 import uk.gov.companieshouse.search.api.model.response.AlphaKeyResponse;
 import uk.gov.companieshouse.search.api.model.response.ResponseObject;
 import uk.gov.companieshouse.search.api.model.response.ResponseStatus;
-import uk.gov.companieshouse.search.api.service.AlphaKeyService;
+import uk.gov.companieshouse.search.api.service.StoredAlphaKeyService;
+import uk.gov.companieshouse.search.api.service.StoredAlphaKeyService.StoredIndex;
+import uk.gov.companieshouse.search.api.service.journal.JournalEntry;
+import uk.gov.companieshouse.search.api.service.journal.JournalEntry.Operation;
+import uk.gov.companieshouse.search.api.service.journal.WriteJournal;
 import uk.gov.companieshouse.search.api.service.rest.impl.AdvancedSearchRestClientService;
 import uk.gov.companieshouse.search.api.service.rest.impl.AlphabeticalSearchRestClientService;
 import uk.gov.companieshouse.search.api.service.rest.impl.PrimarySearchRestClientService;
@@ -58,7 +71,7 @@ class UpsertCompanyServiceTest {
     private CompanySearchUpsertRequestService companySearchUpsertRequestService;
 
     @Mock
-    private AlphaKeyService mockAlphaKeyService;
+    private StoredAlphaKeyService mockStoredAlphaKeyService;
 
     @Mock
     private ConfiguredIndexNamesProvider indices;
@@ -69,6 +82,15 @@ class UpsertCompanyServiceTest {
     @Mock
     private Data profileData;
 
+    @Mock
+    private WriteJournal writeJournal;
+
+    @Mock
+    private EnvironmentReader environmentReader;
+
+    @TempDir
+    Path journalDirectory;
+
     @InjectMocks
     private UpsertCompanyService upsertCompanyService;
 
@@ -82,14 +104,18 @@ class UpsertCompanyServiceTest {
         CompanyProfileApi company = createCompany();
         IndexRequest indexRequest = new IndexRequest("alpha_search");
 
-        when(mockAlphabeticalUpsertRequestService.createIndexRequest(company)).thenReturn(indexRequest);
+        when(mockStoredAlphaKeyService.getAlphaKey(StoredIndex.ALPHABETICAL, company.getCompanyNumber(),
+            company.getCompanyName())).thenReturn(createResponse());
+        when(mockAlphabeticalUpsertRequestService.createIndexRequest(company, ORDERED_ALPHA_KEY_FIELD))
+            .thenReturn(indexRequest);
         when(mockAlphabeticalUpsertRequestService.createUpdateRequest(
-            company, indexRequest)).thenReturn(updateRequest);
+            company, ORDERED_ALPHA_KEY_FIELD, indexRequest)).thenReturn(updateRequest);
 
         ResponseObject responseObject = upsertCompanyService.upsert(company);
 
         assertNotNull(responseObject);
         assertEquals(DOCUMENT_UPSERTED, responseObject.getStatus());
+        verify(mockStoredAlphaKeyService).getAlphaKey(eq(StoredIndex.ALPHABETICAL), anyString(), anyString());
     }
 
     @Test
@@ -99,7 +125,7 @@ class UpsertCompanyServiceTest {
         CompanyProfileApi company = createCompany();
         IndexRequest indexRequest = new IndexRequest("advanced_search");
 
-        when(mockAlphaKeyService.getAlphaKeyForCorporateName(anyString())).thenReturn(createResponse());
+        when(mockStoredAlphaKeyService.getAlphaKey(eq(StoredIndex.ADVANCED), anyString(), anyString())).thenReturn(createResponse());
         when(mockAdvancedUpsertRequestService.createUpdateRequest(
             company, ORDERED_ALPHA_KEY_FIELD, SAME_AS_ALPHA_KEY_FIELD)).thenReturn(updateRequest);
 
@@ -116,7 +142,7 @@ class UpsertCompanyServiceTest {
         CompanyProfileApi company = createCompany();
         IndexRequest indexRequest = new IndexRequest("advanced_search");
 
-        when(mockAlphaKeyService.getAlphaKeyForCorporateName(anyString())).thenReturn(null);
+        when(mockStoredAlphaKeyService.getAlphaKey(eq(StoredIndex.ADVANCED), anyString(), anyString())).thenReturn(null);
         when(mockAdvancedUpsertRequestService.createUpdateRequest(
             company, "", "")).thenReturn(updateRequest);
 
@@ -132,7 +158,7 @@ class UpsertCompanyServiceTest {
 
         CompanyProfileApi company = createCompany();
 
-        when(mockAlphabeticalUpsertRequestService.createIndexRequest(company)).thenThrow(UpsertException.class);
+        when(mockAlphabeticalUpsertRequestService.createIndexRequest(company, "")).thenThrow(UpsertException.class);
 
         ResponseObject responseObject = upsertCompanyService.upsert(company);
 
@@ -147,9 +173,9 @@ class UpsertCompanyServiceTest {
         CompanyProfileApi company = createCompany();
         IndexRequest indexRequest = new IndexRequest("alpha_search");
 
-        when(mockAlphabeticalUpsertRequestService.createIndexRequest(company)).thenReturn(indexRequest);
+        when(mockAlphabeticalUpsertRequestService.createIndexRequest(company, "")).thenReturn(indexRequest);
         when(mockAlphabeticalUpsertRequestService.createUpdateRequest(
-            company, indexRequest)).thenThrow(UpsertException.class);
+            company, "", indexRequest)).thenThrow(UpsertException.class);
 
         ResponseObject responseObject = upsertCompanyService.upsert(company);
 
@@ -164,7 +190,7 @@ class UpsertCompanyServiceTest {
         CompanyProfileApi company = createCompany();
         IndexRequest indexRequest = new IndexRequest("advanced_search");
 
-        when(mockAlphaKeyService.getAlphaKeyForCorporateName(anyString())).thenReturn(createResponse());
+        when(mockStoredAlphaKeyService.getAlphaKey(eq(StoredIndex.ADVANCED), anyString(), anyString())).thenReturn(createResponse());
         when(mockAdvancedUpsertRequestService.createUpdateRequest(
             company, ORDERED_ALPHA_KEY_FIELD, SAME_AS_ALPHA_KEY_FIELD)).thenThrow(UpsertException.class);
 
@@ -183,9 +209,9 @@ class UpsertCompanyServiceTest {
         IndexRequest indexRequest = new IndexRequest("alpha_search");
         UpdateRequest updateRequest = new UpdateRequest("alpha_search", company.getCompanyNumber());
 
-        when(mockAlphabeticalUpsertRequestService.createIndexRequest(company)).thenReturn(indexRequest);
+        when(mockAlphabeticalUpsertRequestService.createIndexRequest(company, "")).thenReturn(indexRequest);
         when(mockAlphabeticalUpsertRequestService.createUpdateRequest(
-            company, indexRequest)).thenReturn(updateRequest);
+            company, "", indexRequest)).thenReturn(updateRequest);
 
         when(mockAlphabeticalRestClientService.upsert(updateRequest)).thenThrow(IOException.class);
 
@@ -203,7 +229,7 @@ class UpsertCompanyServiceTest {
         IndexRequest indexRequest = new IndexRequest("advanced_search");
         UpdateRequest updateRequest = new UpdateRequest("advanced_search", company.getCompanyNumber());
 
-        when(mockAlphaKeyService.getAlphaKeyForCorporateName(anyString())).thenReturn(createResponse());
+        when(mockStoredAlphaKeyService.getAlphaKey(eq(StoredIndex.ADVANCED), anyString(), anyString())).thenReturn(createResponse());
         when(mockAdvancedUpsertRequestService.createUpdateRequest(
             company, ORDERED_ALPHA_KEY_FIELD, SAME_AS_ALPHA_KEY_FIELD)).thenReturn(updateRequest);
 
@@ -257,6 +283,50 @@ class UpsertCompanyServiceTest {
         assertEquals(ResponseStatus.UPDATE_REQUEST_ERROR, response.getStatus());
     }
 
+    @Test
+    void primarySearchCompanyIsJournalledIfIOExceptionAndJournalEnabled() throws Exception {
+        UpdateRequest companyRequest = companyRequest();
+        when(companySearchUpsertRequestService.createUpdateRequest(COMPANY_NUMBER, profileData))
+                .thenReturn(companyRequest);
+        when(primarySearchRestClientService.upsert(companyRequest)).thenThrow(new IOException(""));
+        when(writeJournal.isEnabled()).thenReturn(true);
+
+        ResponseObject response = upsertCompanyService.upsertCompany(COMPANY_NUMBER, profileData);
+
+        assertEquals(ResponseStatus.DOCUMENT_JOURNALED, response.getStatus());
+        verify(writeJournal).append(any(JournalEntry.class));
+    }
+
+    @Test
+    @DisplayName("A company upsert made while a delete of the company is journalled is journalled after it")
+    void primarySearchCompanyIsJournalledBehindPendingDelete() throws Exception {
+        when(environmentReader.getOptionalString("WRITE_JOURNAL_DIRECTORY")).thenReturn(journalDirectory.toString());
+        WriteJournal journal = new WriteJournal(environmentReader);
+        journal.append(JournalEntry.delete(new DeleteRequest("primary_search", "primary_search", COMPANY_NUMBER)));
+        UpsertCompanyService service = new UpsertCompanyService(mockAlphabeticalRestClientService,
+                mockAdvancedRestClientService, mockAlphabeticalUpsertRequestService, mockAdvancedUpsertRequestService,
+                primarySearchRestClientService, companySearchUpsertRequestService, mockStoredAlphaKeyService, indices,
+                journal);
+        when(companySearchUpsertRequestService.createUpdateRequest(COMPANY_NUMBER, profileData))
+                .thenReturn(companyRequest());
+
+        ResponseObject response = service.upsertCompany(COMPANY_NUMBER, profileData);
+
+        assertEquals(ResponseStatus.DOCUMENT_JOURNALED, response.getStatus());
+        verify(primarySearchRestClientService, never()).upsert(any());
+        List<JournalEntry> entries = journal.read(10).getEntries();
+        assertEquals(List.of(Operation.DELETE, Operation.UPSERT),
+                entries.stream().map(JournalEntry::getOperation).collect(Collectors.toList()));
+        assertEquals(List.of(COMPANY_NUMBER, COMPANY_NUMBER),
+                entries.stream().map(JournalEntry::getId).collect(Collectors.toList()));
+        journal.close();
+    }
+
+    private UpdateRequest companyRequest() {
+        return new UpdateRequest("primary_search", "primary_search", COMPANY_NUMBER)
+                .docAsUpsert(true).doc("{}", XContentType.JSON);
+    }
+
     private AlphaKeyResponse createResponse() {
         AlphaKeyResponse alphaKeyResponse = new AlphaKeyResponse();
         alphaKeyResponse.setOrderedAlphaKey(ORDERED_ALPHA_KEY_FIELD);
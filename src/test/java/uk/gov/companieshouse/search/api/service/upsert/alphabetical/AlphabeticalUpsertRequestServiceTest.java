@@ -4,7 +4,6 @@ import static org.elasticsearch.common.xcontent.XContentFactory.jsonBuilder;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
-import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.Mockito.when;
 
 import java.io.IOException;
@@ -23,8 +22,6 @@ import org.mockito.junit.jupiter.MockitoExtension;
 import uk.gov.companieshouse.api.model.company.CompanyProfileApi;
 import uk.gov.companieshouse.search.api.elasticsearch.AlphabeticalSearchUpsertRequest;
 import uk.gov.companieshouse.search.api.exception.UpsertException;
-import uk.gov.companieshouse.search.api.model.response.AlphaKeyResponse;
-import uk.gov.companieshouse.search.api.service.AlphaKeyService;
 import uk.gov.companieshouse.search.api.util.ConfiguredIndexNamesProvider;
 
 @ExtendWith(MockitoExtension.class)
@@ -33,9 +30,6 @@ class AlphabeticalUpsertRequestServiceTest {
     @InjectMocks
     private AlphabeticalUpsertRequestService alphabeticalUpsertRequestService;
 
-    @Mock
-    private AlphaKeyService mockAlphaKeyService;
-
     @Mock
     private AlphabeticalSearchUpsertRequest mockAlphabeticalSearchUpsertRequest;
 
@@ -62,7 +56,6 @@ class AlphabeticalUpsertRequestServiceTest {
 
     @BeforeEach
     void init() {
-        when(mockAlphaKeyService.getAlphaKeyForCorporateName(anyString())).thenReturn(createResponse());
         when(indices.alphabetical()).thenReturn(ALPHA_SEARCH);
     }
 
@@ -77,8 +70,8 @@ class AlphabeticalUpsertRequestServiceTest {
             .thenReturn(createRequest(company, ORDERED_ALPHA_KEY_FIELD,
                 ORDERED_ALPHA_KEY_WITH_ID_FIELD));
 
-        IndexRequest indexRequest = alphabeticalUpsertRequestService.createIndexRequest(company);
-        UpdateRequest updateRequest = alphabeticalUpsertRequestService.createUpdateRequest(company, indexRequest);
+        IndexRequest indexRequest = alphabeticalUpsertRequestService.createIndexRequest(company, ORDERED_ALPHA_KEY_FIELD);
+        UpdateRequest updateRequest = alphabeticalUpsertRequestService.createUpdateRequest(company, ORDERED_ALPHA_KEY_FIELD, indexRequest);
 
         assertNotNull(indexRequest);
         assertNotNull(updateRequest);
@@ -96,7 +89,7 @@ class AlphabeticalUpsertRequestServiceTest {
             ORDERED_ALPHA_KEY_WITH_ID_FIELD)).thenThrow(IOException.class);
 
         assertThrows(UpsertException.class,
-            () -> alphabeticalUpsertRequestService.createIndexRequest(company));
+            () -> alphabeticalUpsertRequestService.createIndexRequest(company, ORDERED_ALPHA_KEY_FIELD));
     }
 
     @Test
@@ -110,7 +103,7 @@ class AlphabeticalUpsertRequestServiceTest {
             ORDERED_ALPHA_KEY_WITH_ID_FIELD)).thenThrow(IOException.class);
 
         assertThrows(UpsertException.class,
-            () -> alphabeticalUpsertRequestService.createUpdateRequest(company, indexRequest));
+            () -> alphabeticalUpsertRequestService.createUpdateRequest(company, ORDERED_ALPHA_KEY_FIELD, indexRequest));
     }
 
     private CompanyProfileApi createCompany() {
@@ -127,13 +120,6 @@ class AlphabeticalUpsertRequestServiceTest {
         return company;
     }
 
-    private AlphaKeyResponse createResponse() {
-        AlphaKeyResponse alphaKeyResponse = new AlphaKeyResponse();
-        alphaKeyResponse.setOrderedAlphaKey(ORDERED_ALPHA_KEY_FIELD);
-
-        return alphaKeyResponse;
-    }
-
     private XContentBuilder createRequest(CompanyProfileApi company, String orderedAlphaKey,
                                           String orderedAlphaKeyWithID) throws Exception{
         return jsonBuilder()
@@ -6,10 +6,10 @@ import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.when;
 
-import com.fasterxml.jackson.core.JsonProcessingException;
-import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.IOException;
 import java.util.NoSuchElementException;
 import org.elasticsearch.action.update.UpdateRequest;
+import org.elasticsearch.common.bytes.BytesArray;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -18,6 +18,7 @@ import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.core.convert.ConversionService;
 import uk.gov.companieshouse.api.company.Data;
+import uk.gov.companieshouse.search.api.elasticsearch.IndexDocumentWriter;
 import uk.gov.companieshouse.search.api.exception.UpsertException;
 import uk.gov.companieshouse.search.api.model.esdatamodel.CompanySearchDocument;
 import uk.gov.companieshouse.search.api.util.ConfiguredIndexNamesProvider;
@@ -41,7 +42,7 @@ class CompanySearchUpsertRequestServiceTest {
     private CompanySearchUpsertRequestService service;
 
     @Mock
-    private ObjectMapper mapper;
+    private IndexDocumentWriter documentWriter;
 
     @Mock
     private Data profileData;
@@ -51,7 +52,7 @@ class CompanySearchUpsertRequestServiceTest {
 
     @BeforeEach
     void setUp() {
-        service = new CompanySearchUpsertRequestService(companySearchDocumentConverter, mapper, indices);
+        service = new CompanySearchUpsertRequestService(companySearchDocumentConverter, documentWriter, indices);
     }
 
     @Test
@@ -60,7 +61,7 @@ class CompanySearchUpsertRequestServiceTest {
         when(indices.primary()).thenReturn(PRIMARY);
         when(companySearchDocumentConverter.convert(any(),
                 eq(CompanySearchDocument.class))).thenReturn(companySearchDocument);
-        when(mapper.writeValueAsString(any())).thenReturn(UPDATE_JSON);
+        when(documentWriter.write(any(CompanySearchDocument.class))).thenReturn(new BytesArray(UPDATE_JSON));
 
         // when
         UpdateRequest request = service.createUpdateRequest(COMPANY_NUMBER, profileData);
@@ -74,7 +75,7 @@ class CompanySearchUpsertRequestServiceTest {
     }
 
     @Test
-    void serviceThrowsNoSuchElementException() throws JsonProcessingException {
+    void serviceThrowsNoSuchElementException() {
         // given
 
         // when
@@ -90,7 +91,7 @@ class CompanySearchUpsertRequestServiceTest {
         when(indices.primary()).thenReturn(PRIMARY);
         when(companySearchDocumentConverter.convert(any(), eq(CompanySearchDocument.class)))
                 .thenReturn(companySearchDocument);
-        when(mapper.writeValueAsString(any())).thenThrow(JsonProcessingException.class);
+        when(documentWriter.write(any(CompanySearchDocument.class))).thenThrow(IOException.class);
 
         // when
         Executable executable = () -> service.createUpdateRequest(COMPANY_NUMBER, profileData);
@@ -7,6 +7,7 @@ import static org.mockito.Mockito.when;
 
 import javax.naming.ServiceUnavailableException;
 import org.elasticsearch.action.update.UpdateRequest;
+import org.elasticsearch.common.bytes.BytesArray;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
@@ -41,7 +42,7 @@ public class DisqualifiedUpsertRequestServiceTest {
     void serviceCreatesUpdateRequest() throws Exception {
         OfficerDisqualification officer = createOfficer(true);
         when(indices.primary()).thenReturn(PRIMARY);
-        when(disqualifiedSearchUpsertRequest.buildRequest(officer)).thenReturn(UPDATE_JSON);
+        when(disqualifiedSearchUpsertRequest.buildRequest(officer)).thenReturn(new BytesArray(UPDATE_JSON));
 
         UpdateRequest request = service.createUpdateRequest(officer, OFFICER_ID);
 
@@ -68,7 +69,7 @@ public class DisqualifiedUpsertRequestServiceTest {
     void serviceWithCorporateCreatesUpdateRequest() throws Exception {
         OfficerDisqualification officer = createOfficer(false);
         when(indices.primary()).thenReturn(PRIMARY);
-        when(disqualifiedSearchUpsertRequest.buildRequest(officer)).thenReturn(UPDATE_JSON);
+        when(disqualifiedSearchUpsertRequest.buildRequest(officer)).thenReturn(new BytesArray(UPDATE_JSON));
         AlphaKeyResponse response = new AlphaKeyResponse();
         response.setOrderedAlphaKey("abc");
         when(alphaKeyService.getAlphaKeyForCorporateName(officer.getItems().get(0).getCorporateName())).thenReturn(response);
@@ -16,6 +16,7 @@ import uk.gov.companieshouse.api.disqualification.OfficerDisqualification;
 import uk.gov.companieshouse.search.api.exception.UpsertException;
 import uk.gov.companieshouse.search.api.model.response.ResponseObject;
 import uk.gov.companieshouse.search.api.model.response.ResponseStatus;
+import uk.gov.companieshouse.search.api.service.journal.WriteJournal;
 import uk.gov.companieshouse.search.api.service.rest.impl.PrimarySearchRestClientService;
 
 import java.io.IOException;
@@ -35,6 +36,8 @@ public class UpsertDisqualificationServiceTest {
     private DisqualifiedUpsertRequestService disqualifiedUpsertRequestService;
     @Mock
     private ConfiguredIndexNamesProvider indices;
+    @Mock
+    private WriteJournal writeJournal;
     @InjectMocks
     private UpsertDisqualificationService service;
 
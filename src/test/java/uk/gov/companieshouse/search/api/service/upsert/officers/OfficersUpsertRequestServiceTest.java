@@ -1,15 +1,24 @@
 package uk.gov.companieshouse.search.api.service.upsert.officers;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.when;
 
-import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.annotation.JsonInclude;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import java.io.IOException;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
 import java.util.NoSuchElementException;
 import org.elasticsearch.action.update.UpdateRequest;
+import org.elasticsearch.common.bytes.BytesArray;
+import org.elasticsearch.script.Script;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -18,7 +27,10 @@ import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.core.convert.ConversionService;
 import uk.gov.companieshouse.api.officer.AppointmentList;
+import uk.gov.companieshouse.search.api.elasticsearch.IndexDocumentWriter;
 import uk.gov.companieshouse.search.api.exception.UpsertException;
+import uk.gov.companieshouse.search.api.mapper.OfficerSearchDocumentStreamingConverter;
+import uk.gov.companieshouse.search.api.model.esdatamodel.OfficerSearchAppointment;
 import uk.gov.companieshouse.search.api.model.esdatamodel.OfficerSearchDocument;
 import uk.gov.companieshouse.search.api.util.ConfiguredIndexNamesProvider;
 
@@ -29,31 +41,33 @@ class OfficersUpsertRequestServiceTest {
     private static final String OFFICER_ID = "testid";
     private static final String INDEX = "PRIMARY_SEARCH_INDEX";
     private static final String PRIMARY = "primary_search2";
+    private static final String APPOINTMENT_ID = "appointmentId";
 
     @Mock
     private ConversionService converter;
     @Mock
-    private ObjectMapper mapper;
+    private OfficerSearchDocumentStreamingConverter streamingConverter;
+    @Mock
+    private IndexDocumentWriter documentWriter;
     @Mock
     private ConfiguredIndexNamesProvider indices;
     private OfficersUpsertRequestService service;
     @Mock
     private AppointmentList appointmentList;
 
-    private final OfficerSearchDocument officerSearchDocument = OfficerSearchDocument.Builder.builder()
-            .sortKey("sort key")
-            .build();
-
     @BeforeEach
     void setUp() {
-        service = new OfficersUpsertRequestService(converter, mapper, indices);
+        ObjectMapper mapper = new ObjectMapper()
+                .setSerializationInclusion(JsonInclude.Include.NON_NULL)
+                .registerModule(new JavaTimeModule())
+                .configure(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS, false);
+        service = new OfficersUpsertRequestService(converter, streamingConverter, documentWriter, indices, mapper);
     }
 
     @Test
     void serviceCreatesUpdateRequest() throws Exception {
         when(indices.primary()).thenReturn(PRIMARY);
-        when(converter.convert(any(), eq(OfficerSearchDocument.class))).thenReturn(officerSearchDocument);
-        when(mapper.writeValueAsString(any())).thenReturn(UPDATE_JSON);
+        when(streamingConverter.convert(appointmentList)).thenReturn(new BytesArray(UPDATE_JSON));
 
         UpdateRequest request = service.createUpdateRequest(appointmentList, OFFICER_ID);
 
@@ -65,8 +79,9 @@ class OfficersUpsertRequestServiceTest {
     }
 
     @Test
-    void serviceThrowsNoSuchElementException() {
+    void serviceThrowsNoSuchElementException() throws Exception {
         when(indices.primary()).thenReturn(PRIMARY);
+        when(streamingConverter.convert(appointmentList)).thenThrow(NoSuchElementException.class);
 
         assertThrows(NoSuchElementException.class, () -> service.createUpdateRequest(appointmentList, OFFICER_ID));
     }
@@ -74,11 +89,57 @@ class OfficersUpsertRequestServiceTest {
     @Test
     void serviceCatchesIOException() throws Exception {
         when(indices.primary()).thenReturn(PRIMARY);
-        when(converter.convert(any(), eq(OfficerSearchDocument.class))).thenReturn(officerSearchDocument);
-        when(mapper.writeValueAsString(any())).thenThrow(JsonProcessingException.class);
+        when(streamingConverter.convert(appointmentList)).thenThrow(IOException.class);
 
         Executable executable = () -> service.createUpdateRequest(appointmentList, OFFICER_ID);
 
         assertThrows(UpsertException.class, executable);
     }
+
+    @Test
+    void serviceCreatesAppointmentUpsertRequest() throws Exception {
+        OfficerSearchDocument document = OfficerSearchDocument.Builder.builder()
+                .activeCount(2)
+                .resignedCount(1)
+                .sortKey("sort key")
+                .items(List.of(new OfficerSearchAppointment()
+                        .officerRole("director")
+                        .appointedOn(LocalDate.of(2020, 1, 31))
+                        .wildcardKey("sort key")))
+                .build();
+        when(indices.primary()).thenReturn(PRIMARY);
+        when(converter.convert(any(), eq(OfficerSearchDocument.class))).thenReturn(document);
+        when(documentWriter.write(any(OfficerSearchDocument.class))).thenReturn(new BytesArray(UPDATE_JSON));
+
+        UpdateRequest request = service.createAppointmentUpsertRequest(appointmentList, OFFICER_ID, APPOINTMENT_ID);
+
+        assertEquals(OFFICER_ID, request.id());
+        assertEquals(APPOINTMENT_ID, document.getItems().get(0).getAppointmentId());
+        assertNotNull(request.upsertRequest());
+        Script script = request.script();
+        assertEquals(OfficersUpsertRequestService.UPSERT_APPOINTMENT_SCRIPT, script.getIdOrCode());
+        assertEquals(APPOINTMENT_ID, script.getParams().get("appointment_id"));
+        assertEquals(2L, script.getParams().get("active_count"));
+        assertEquals(1L, script.getParams().get("resigned_count"));
+        assertEquals("sort key", script.getParams().get("sort_key"));
+        Map<?, ?> appointment = (Map<?, ?>) script.getParams().get("appointment");
+        assertEquals(APPOINTMENT_ID, appointment.get("appointment_id"));
+        assertEquals("2020-01-31", appointment.get("appointed_on"));
+        assertEquals("officers", appointment.get("record_type"));
+    }
+
+    @Test
+    void serviceCreatesAppointmentRemoveRequest() {
+        when(indices.primary()).thenReturn(PRIMARY);
+        when(appointmentList.getActiveCount()).thenReturn(1);
+        when(appointmentList.getInactiveCount()).thenReturn(2);
+        when(appointmentList.getResignedCount()).thenReturn(3);
+
+        UpdateRequest request = service.createAppointmentRemoveRequest(appointmentList, OFFICER_ID, APPOINTMENT_ID);
+
+        assertEquals(PRIMARY, request.index());
+        assertEquals(OfficersUpsertRequestService.REMOVE_APPOINTMENT_SCRIPT, request.script().getIdOrCode());
+        assertEquals(Map.of("appointment_id", APPOINTMENT_ID, "active_count", 1, "inactive_count", 2,
+                "resigned_count", 3), request.script().getParams());
+    }
 }
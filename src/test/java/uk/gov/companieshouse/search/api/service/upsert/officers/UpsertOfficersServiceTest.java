@@ -3,12 +3,19 @@ package uk.gov.companieshouse.search.api.service.upsert.officers;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 import java.io.IOException;
 import org.elasticsearch.ElasticsearchException;
+import org.elasticsearch.ElasticsearchStatusException;
+import org.elasticsearch.action.DocWriteResponse.Result;
 import org.elasticsearch.action.update.UpdateRequest;
+import org.elasticsearch.action.update.UpdateResponse;
+import org.elasticsearch.common.xcontent.XContentType;
+import org.elasticsearch.index.shard.ShardId;
+import org.elasticsearch.rest.RestStatus;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
@@ -16,8 +23,11 @@ import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import uk.gov.companieshouse.api.officer.AppointmentList;
 import uk.gov.companieshouse.search.api.exception.UpsertException;
+import uk.gov.companieshouse.search.api.exception.WriteRejectedException;
 import uk.gov.companieshouse.search.api.model.response.ResponseObject;
 import uk.gov.companieshouse.search.api.model.response.ResponseStatus;
+import uk.gov.companieshouse.search.api.service.journal.JournalEntry;
+import uk.gov.companieshouse.search.api.service.journal.WriteJournal;
 import uk.gov.companieshouse.search.api.service.rest.impl.PrimarySearchRestClientService;
 import uk.gov.companieshouse.search.api.util.ConfiguredIndexNamesProvider;
 
@@ -25,6 +35,8 @@ import uk.gov.companieshouse.search.api.util.ConfiguredIndexNamesProvider;
 class UpsertOfficersServiceTest {
 
     private static final String OFFICER_ID = "officerId";
+    private static final String APPOINTMENT_ID = "appointmentId";
+    private static final String INDEX = "primary_search";
 
     @Mock
     private PrimarySearchRestClientService primarySearchRestClientService;
@@ -38,6 +50,11 @@ class UpsertOfficersServiceTest {
     private UpdateRequest request;
     @Mock
     private ConfiguredIndexNamesProvider indices;
+    @Mock
+    private WriteJournal writeJournal;
+
+    private final UpdateRequest journalledRequest = new UpdateRequest("primary_search", "primary_search", OFFICER_ID)
+            .docAsUpsert(true).doc("{}", XContentType.JSON);
 
     @Test
     void officerIsUpsertedCorrectly() throws Exception {
@@ -77,4 +94,100 @@ class UpsertOfficersServiceTest {
 
         assertEquals(ResponseStatus.UPDATE_REQUEST_ERROR, response.getStatus());
     }
+
+    @Test
+    void officerReturnsWriteRejectedIfRetryBudgetExhausted() throws Exception {
+        when(officersUpsertRequestService.createUpdateRequest(appointmentList, OFFICER_ID)).thenReturn(request);
+        when(primarySearchRestClientService.upsert(request)).thenThrow(new WriteRejectedException("", null));
+
+        ResponseObject response = service.upsertOfficers(appointmentList, OFFICER_ID);
+
+        assertEquals(ResponseStatus.WRITE_REJECTED, response.getStatus());
+    }
+
+    @Test
+    void officerIsJournalledIfIOExceptionAndJournalEnabled() throws Exception {
+        when(officersUpsertRequestService.createUpdateRequest(appointmentList, OFFICER_ID))
+                .thenReturn(journalledRequest);
+        when(primarySearchRestClientService.upsert(journalledRequest)).thenThrow(new IOException(""));
+        when(writeJournal.isEnabled()).thenReturn(true);
+
+        ResponseObject response = service.upsertOfficers(appointmentList, OFFICER_ID);
+
+        assertEquals(ResponseStatus.DOCUMENT_JOURNALED, response.getStatus());
+        verify(writeJournal).append(any(JournalEntry.class));
+    }
+
+    @Test
+    void officerIsJournalledWithoutUpsertWhileJournalHasPendingEntries() throws Exception {
+        when(officersUpsertRequestService.createUpdateRequest(appointmentList, OFFICER_ID))
+                .thenReturn(journalledRequest);
+        when(writeJournal.hasPendingEntries()).thenReturn(true);
+
+        ResponseObject response = service.upsertOfficers(appointmentList, OFFICER_ID);
+
+        assertEquals(ResponseStatus.DOCUMENT_JOURNALED, response.getStatus());
+        verify(primarySearchRestClientService, never()).upsert(any());
+    }
+
+    @Test
+    void appointmentIsUpsertedCorrectly() throws Exception {
+        when(officersUpsertRequestService.createAppointmentUpsertRequest(appointmentList, OFFICER_ID, APPOINTMENT_ID))
+                .thenReturn(request);
+        when(primarySearchRestClientService.upsert(request)).thenReturn(updateResponse(Result.UPDATED));
+
+        ResponseObject response = service.upsertAppointment(appointmentList, OFFICER_ID, APPOINTMENT_ID);
+
+        assertEquals(ResponseStatus.DOCUMENT_UPSERTED, response.getStatus());
+    }
+
+    @Test
+    void appointmentUpsertRequiresFullDocumentIfNoop() throws Exception {
+        when(officersUpsertRequestService.createAppointmentUpsertRequest(appointmentList, OFFICER_ID, APPOINTMENT_ID))
+                .thenReturn(request);
+        when(primarySearchRestClientService.upsert(request)).thenReturn(updateResponse(Result.NOOP));
+
+        ResponseObject response = service.upsertAppointment(appointmentList, OFFICER_ID, APPOINTMENT_ID);
+
+        assertEquals(ResponseStatus.FULL_DOCUMENT_REQUIRED, response.getStatus());
+    }
+
+    @Test
+    void appointmentUpsertRequiresFullDocumentWhileJournalHasPendingEntries() throws Exception {
+        when(officersUpsertRequestService.createAppointmentUpsertRequest(appointmentList, OFFICER_ID, APPOINTMENT_ID))
+                .thenReturn(request);
+        when(writeJournal.hasPendingEntries()).thenReturn(true);
+
+        ResponseObject response = service.upsertAppointment(appointmentList, OFFICER_ID, APPOINTMENT_ID);
+
+        assertEquals(ResponseStatus.FULL_DOCUMENT_REQUIRED, response.getStatus());
+        verify(primarySearchRestClientService, never()).upsert(any());
+    }
+
+    @Test
+    void appointmentIsRemovedCorrectly() throws Exception {
+        when(officersUpsertRequestService.createAppointmentRemoveRequest(appointmentList, OFFICER_ID, APPOINTMENT_ID))
+                .thenReturn(request);
+        when(primarySearchRestClientService.upsert(request)).thenReturn(updateResponse(Result.UPDATED));
+
+        ResponseObject response = service.removeAppointment(appointmentList, OFFICER_ID, APPOINTMENT_ID);
+
+        assertEquals(ResponseStatus.DOCUMENT_DELETED, response.getStatus());
+    }
+
+    @Test
+    void appointmentRemoveReturnsNotFoundIfNoOfficerDocument() throws Exception {
+        when(officersUpsertRequestService.createAppointmentRemoveRequest(appointmentList, OFFICER_ID, APPOINTMENT_ID))
+                .thenReturn(request);
+        when(primarySearchRestClientService.upsert(request))
+                .thenThrow(new ElasticsearchStatusException("document missing", RestStatus.NOT_FOUND));
+
+        ResponseObject response = service.removeAppointment(appointmentList, OFFICER_ID, APPOINTMENT_ID);
+
+        assertEquals(ResponseStatus.DELETE_NOT_FOUND, response.getStatus());
+    }
+
+    private UpdateResponse updateResponse(Result result) {
+        return new UpdateResponse(new ShardId(INDEX, INDEX, 1), INDEX, OFFICER_ID, 1, 1, 1, result);
+    }
 }
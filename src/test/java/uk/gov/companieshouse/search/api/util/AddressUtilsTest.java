@@ -121,6 +121,25 @@ class AddressUtilsTest {
                 + ", " + COUNTRY + ", " + POSTAL_CODE);
     }
 
+    @Test
+    void getROAAsStringReturnAddressStringMixedPremiseAndMissingLeadingElements() {
+        String premises = "12A";
+        RegisteredOfficeAddress address = getROAddress()
+                .careOfName(null)
+                .poBox("")
+                .premises(premises);
+
+        String addressLine = getROAFullAddressString(address);
+
+        assertThat(addressLine).isEqualTo(premises + ", " + ADDRESS_LINE_1 + ", " + ADDRESS_LINE_2 + ", "
+                + LOCALITY + ", " + REGION + ", " + COUNTRY + ", " + POSTAL_CODE);
+    }
+
+    @Test
+    void getROAAsStringReturnsEmptyStringForEmptyAddress() {
+        assertThat(getROAFullAddressString(new RegisteredOfficeAddress())).isEmpty();
+    }
+
     private Address getAddress() {
         return new Address()
                 .addressLine1(ADDRESS_LINE_1)
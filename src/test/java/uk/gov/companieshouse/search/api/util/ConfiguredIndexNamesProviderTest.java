@@ -2,8 +2,10 @@ package uk.gov.companieshouse.search.api.util;
 
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.is;
+import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.Mockito.when;
 
+import java.util.Optional;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -45,6 +47,44 @@ class ConfiguredIndexNamesProviderTest {
         assertExpectedIndexNameGot(() -> indices.primary(), "PRIMARY_SEARCH_INDEX");
     }
 
+    @Test
+    @DisplayName("The migration index is got from the index's migration index environment variable")
+    void migrationIndexConfiguredForIndex() {
+        givenIndex("ALPHABETICAL_SEARCH_INDEX", "alphabetical-search");
+        when(environment.getOptionalString("ALPHABETICAL_SEARCH_MIGRATION_INDEX"))
+                .thenReturn("alphabetical-search-20240101000000");
+
+        assertThat(indices.migrationIndex("alphabetical-search"),
+                is(Optional.of("alphabetical-search-20240101000000")));
+    }
+
+    @Test
+    @DisplayName("There is no migration index when none is configured")
+    void noMigrationIndex() {
+        givenIndex("PRIMARY_SEARCH_INDEX", "primary-search");
+
+        assertThat(indices.migrationIndex("primary-search"), is(Optional.empty()));
+        assertThat(indices.migrationIndex("unknown-index"), is(Optional.empty()));
+    }
+
+    @Test
+    @DisplayName("A migration started at runtime takes precedence over the configured migration index until finished")
+    void startedMigrationTakesPrecedence() {
+        givenIndex("DISSOLVED_SEARCH_INDEX", "dissolved-search");
+        when(environment.getOptionalString("DISSOLVED_SEARCH_MIGRATION_INDEX")).thenReturn("dissolved-search-v2");
+
+        indices.startMigration("dissolved-search", "dissolved-search-20240101000000");
+        assertThat(indices.migrationIndex("dissolved-search"), is(Optional.of("dissolved-search-20240101000000")));
+
+        indices.finishMigration("dissolved-search");
+        assertThat(indices.migrationIndex("dissolved-search"), is(Optional.of("dissolved-search-v2")));
+    }
+
+    private void givenIndex(String indexEnvironmentVariableName, String index) {
+        when(environment.getOptionalString(anyString())).thenReturn(null);
+        when(environment.getOptionalString(indexEnvironmentVariableName)).thenReturn(index);
+    }
+
     interface StringValueProvider {
         String getValue();
     }
@@ -0,0 +1,223 @@
+package uk.gov.companieshouse.search.api.util;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Random;
+import java.util.regex.Pattern;
+import org.apache.commons.lang3.tuple.Pair;
+import org.junit.jupiter.api.Test;
+import uk.gov.companieshouse.search.api.model.esdatamodel.CorporateNameEndingsEnum;
+
+class CorporateNameEndingTrieTest {
+
+    private static final CorporateNameEndingsEnum[] ENDINGS = CorporateNameEndingsEnum.values();
+    private static final Pattern[] ENDING_PATTERNS = new Pattern[ENDINGS.length];
+    private static final String[] PREFIXES = {"", "ACME", "acme", "ACME ", "ACME-", "ACME."};
+    private static final String[] SEPARATORS = {" ", "\t", "\n", "\u000B", "\f", "\r", "", "-", "\u00A0"};
+    private static final String[] SUFFIXES = {"", "\n", "\r", "\r\n", "\n\r", "\u0085", "\u2028", "\u2029", "\n\n",
+            " ", "x"};
+    private static final String[] DOT_REPLACEMENTS = {".", " ", "x", "-", "\u00E9", "\n", "\r", "\u0085", "\u2028"};
+    private static final char[] ALPHABET =
+            " \t\n\r.-x\u00E9\u0085\u2028ABCDEGHILMNOPRSTUVWYabcdeilmnoprtuy".toCharArray();
+
+    static {
+        for (int i = 0; i < ENDINGS.length; i++) {
+            ENDING_PATTERNS[i] = Pattern.compile("\\s" + ENDINGS[i].getEnding() + "$", Pattern.CASE_INSENSITIVE);
+        }
+    }
+
+    private final CorporateNameEndingTrie trie = new CorporateNameEndingTrie(ENDINGS);
+
+    @Test
+    void shouldFindLastDeclaredMatchingEnding() {
+        // given
+
+        // when
+        CorporateNameEndingsEnum actual = trie.find("ACME PCC LIMITED");
+
+        // then
+        assertEquals(CorporateNameEndingsEnum.PCC_LIMITED, actual);
+    }
+
+    @Test
+    void shouldMatchEndingsCaseInsensitively() {
+        // given
+
+        // when
+        CorporateNameEndingsEnum actual = trie.find("acme Community Interest Company");
+
+        // then
+        assertEquals(CorporateNameEndingsEnum.COMMUNITY_INTEREST_COMPANY, actual);
+    }
+
+    @Test
+    void shouldMatchAnyCharacterForDotInEnding() {
+        // given
+
+        // when
+        CorporateNameEndingsEnum actual = trie.find("ACME LTD-THE");
+
+        // then
+        assertEquals(CorporateNameEndingsEnum.LTD_THE_ONE_DOT, actual);
+    }
+
+    @Test
+    void shouldReturnNullWhenEndingNotPrecededByWhitespace() {
+        // given
+
+        // when
+        CorporateNameEndingsEnum actual = trie.find("ACMELTD");
+
+        // then
+        assertNull(actual);
+    }
+
+    @Test
+    void shouldThrowForNullName() {
+        assertThrows(NullPointerException.class, () -> trie.find(null));
+    }
+
+    @Test
+    void shouldMatchLegacyPatternsForEveryEnding() {
+        // given
+        List<String> names = new ArrayList<>();
+        for (CorporateNameEndingsEnum ending : ENDINGS) {
+            for (String value : variants(ending.getEnding())) {
+                for (String prefix : PREFIXES) {
+                    for (String separator : SEPARATORS) {
+                        for (String suffix : SUFFIXES) {
+                            names.add(prefix + separator + value + suffix);
+                        }
+                    }
+                }
+            }
+        }
+
+        // when/then
+        names.forEach(this::assertMatchesLegacy);
+    }
+
+    @Test
+    void shouldMatchLegacyPatternsForPairsOfEndings() {
+        // given
+        List<String> names = new ArrayList<>();
+        for (CorporateNameEndingsEnum first : ENDINGS) {
+            for (CorporateNameEndingsEnum second : ENDINGS) {
+                names.add("ACME " + first.getEnding() + " " + second.getEnding());
+                names.add(first.getEnding() + second.getEnding());
+                names.add(" " + first.getEnding() + "." + second.getEnding() + "\n");
+            }
+        }
+
+        // when/then
+        names.forEach(this::assertMatchesLegacy);
+    }
+
+    @Test
+    void shouldMatchLegacyPatternsForShortNames() {
+        // given
+        List<String> names = new ArrayList<>();
+        names.add("");
+        for (char first : ALPHABET) {
+            names.add(String.valueOf(first));
+            for (char second : ALPHABET) {
+                names.add(new String(new char[]{first, second}));
+            }
+        }
+
+        // when/then
+        names.forEach(this::assertMatchesLegacy);
+    }
+
+    @Test
+    void shouldMatchLegacyPatternsForRandomNames() {
+        // given
+        Random random = new Random(20240101L);
+        List<String> names = new ArrayList<>();
+        for (int i = 0; i < 20000; i++) {
+            StringBuilder name = new StringBuilder();
+            if (random.nextBoolean()) {
+                String ending = ENDINGS[random.nextInt(ENDINGS.length)].getEnding();
+                name.append(ending, 0, random.nextInt(ending.length() + 1));
+            }
+            int length = random.nextInt(12);
+            for (int j = 0; j < length; j++) {
+                name.append(ALPHABET[random.nextInt(ALPHABET.length)]);
+            }
+            if (random.nextBoolean()) {
+                String ending = ENDINGS[random.nextInt(ENDINGS.length)].getEnding();
+                name.append(random.nextBoolean() ? ending : ending.toLowerCase(Locale.UK));
+            }
+            if (random.nextInt(4) == 0) {
+                name.append(SUFFIXES[random.nextInt(SUFFIXES.length)]);
+            }
+            names.add(name.toString());
+        }
+
+        // when/then
+        names.forEach(this::assertMatchesLegacy);
+    }
+
+    private void assertMatchesLegacy(String name) {
+        CorporateNameEndingsEnum expected = null;
+        for (int i = 0; i < ENDINGS.length; i++) {
+            if (ENDING_PATTERNS[i].matcher(name).find()) {
+                expected = ENDINGS[i];
+            }
+        }
+        assertEquals(expected, trie.find(name), () -> "name: " + escape(name));
+        assertEquals(legacyCorporateNameEndings(name), OfficerNameUtils.getCorporateNameEndings(name),
+                () -> "name: " + escape(name));
+    }
+
+    private static Pair<String, String> legacyCorporateNameEndings(String name) {
+        String corporateNameStart = name;
+        String corporateNameEnd = "";
+        for (int i = 0; i < ENDINGS.length; i++) {
+            CorporateNameEndingsEnum ending = ENDINGS[i];
+            if (ENDING_PATTERNS[i].matcher(name).find() && ending.getEnding().length() > 0) {
+                corporateNameStart = name.substring(0, name.length() - ending.getEnding().length() - 1);
+                corporateNameEnd = name.substring(name.length() - ending.getEnding().length());
+            }
+        }
+        return Pair.of(corporateNameStart, corporateNameEnd);
+    }
+
+    /**
+     * The ending as declared, in lower and mixed case, and with each dot replaced
+     */
+    private static List<String> variants(String ending) {
+        List<String> variants = new ArrayList<>();
+        variants.add(ending);
+        variants.add(ending.toLowerCase(Locale.UK));
+        StringBuilder mixed = new StringBuilder(ending.length());
+        for (int i = 0; i < ending.length(); i++) {
+            char character = ending.charAt(i);
+            mixed.append(i % 2 == 0 ? Character.toLowerCase(character) : character);
+        }
+        variants.add(mixed.toString());
+        if (ending.indexOf('.') >= 0) {
+            for (String replacement : DOT_REPLACEMENTS) {
+                variants.add(ending.replace(".", replacement));
+            }
+        }
+        return variants;
+    }
+
+    private static String escape(String name) {
+        StringBuilder escaped = new StringBuilder();
+        for (char character : name.toCharArray()) {
+            if (character < 0x20 || character > 0x7E) {
+                escaped.append(String.format("\\u%04X", (int) character));
+            } else {
+                escaped.append(character);
+            }
+        }
+        return escaped.toString();
+    }
+}